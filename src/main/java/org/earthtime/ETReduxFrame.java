@@ -1408,6 +1408,21 @@ public class ETReduxFrame extends javax.swing.JFrame implements ReportPainterI,
      */
     @Override
     public void updateReportTable(boolean performReduction) {
+        updateReportTable(performReduction, null);
+    }
+
+    /**
+     * Updates the report table after a change to <code>fraction</code> alone,
+     * such as toggling its rejected status, preparing the report views again
+     * only if the change alters more than the fraction's row.
+     *
+     * @param fraction
+     */
+    public void updateReportTableForFraction(Fraction fraction) {
+        updateReportTable(false, fraction);
+    }
+
+    private void updateReportTable(boolean performReduction, Fraction changedFraction) {
 
 //        System.out.println("performreduction = " + performReduction);
         // march 2013
@@ -1424,7 +1439,9 @@ public class ETReduxFrame extends javax.swing.JFrame implements ReportPainterI,
         ((UPbFractionTableModel) getTheFractionTable().getModel()).//
                 refreshTableData();
 
-        loadAndShowReportTableData();
+        if ((changedFraction == null) || !((TabbedReportViews) getReportTableTabbedPane()).updateFractionRows(changedFraction)) {
+            loadAndShowReportTableData();
+        }
 
         // oct 2014
         // removed next line nov 2014
@@ -1706,6 +1723,15 @@ public class ETReduxFrame extends javax.swing.JFrame implements ReportPainterI,
      * @param isNumeric
      */
     public void produceExcelReport(boolean isNumeric) {
+        if (isNumeric) {
+            // oct 2026 numeric reports are streamed a fraction at a time
+            ExcelResultsTable.produceExcelResultsTable(//
+                    theSample, theSample.getUpbFractionsActive(), //
+                    ((TabbedReportViews) getReportTableTabbedPane()).getActiveFractionsSortedColumn(),//
+                    ((TabbedReportViews) getReportTableTabbedPane()).getActiveFractionsSortedColumnDirection());
+            return;
+        }
+
         String[][] reportFractions = theSample.reportActiveFractionsByNumberStyle(isNumeric);
         ReportAliquotFractionsView.sortReportColumn(//
                 reportFractions, //
@@ -1721,15 +1747,11 @@ public class ETReduxFrame extends javax.swing.JFrame implements ReportPainterI,
      *
      */
     public void produceCSVReport() {
-        String[][] reportFractions = theSample.reportActiveFractionsByNumberStyle(true);
-        ReportAliquotFractionsView.sortReportColumn(//
-                reportFractions, //
+        // generate csv report a fraction at a time
+        CsvResultsTable.produceCSVResultsTable(//
+                theSample, theSample.getUpbFractionsActive(), //
                 ((TabbedReportViews) getReportTableTabbedPane()).getActiveFractionsSortedColumn(),//
                 ((TabbedReportViews) getReportTableTabbedPane()).getActiveFractionsSortedColumnDirection());
-
-        // generate csv report
-        CsvResultsTable.produceCSVResultsTable(//
-                theSample.getSampleName(), reportFractions);
     }
 
     /**
@@ -271,7 +271,7 @@ public class DownholeFractionationDataModel implements Serializable, DataModelFi
                     activeDataMap, //
                     activeXvalues, //
                     averageAlphas,//
-                    null, //
+                    (Matrix) null, //
                     false);
 
             downholeStandardsFitFunctionsNoOD.put(FitFunctionTypeEnum.MEAN.getName(), fOfX_MEAN);
@@ -0,0 +1,301 @@
+/*
+ * FittingInstrumentation.java
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.dataModels;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in measurement of the bytes allocated and the wall time spent in the
+ * uncertainty propagation and fitting of each fraction, isotope or ratio and
+ * fit type. Disabled by default; enable with the system property
+ * <code>org.earthtime.Tripoli.fittingInstrumentation=true</code> or with
+ * setEnabled. When disabled, start returns null and stop does nothing.
+ *
+ * Measurements are kept per fraction from beginFraction to the matching
+ * endFraction; calls may nest on one thread, and only the outermost
+ * endFraction closes the fraction. Closed fractions are printed once, in a
+ * single summary, at endRefit, or at once if no refit is open.
+ *
+ * Bytes are counted per thread, so the figures are correct when fractions are
+ * processed concurrently; they are reported as -1 where the JVM cannot count
+ * allocations.
+ *
+ * @author James F. Bowring
+ */
+public final class FittingInstrumentation {
+
+    /**
+     * System property that enables the instrumentation at startup.
+     */
+    public static final String ENABLED_PROPERTY = "org.earthtime.Tripoli.fittingInstrumentation";
+
+    private static final FittingInstrumentation instance = new FittingInstrumentation();
+
+    private volatile boolean enabled;
+    private final com.sun.management.ThreadMXBean allocationMXBean;
+    private final ThreadLocal<FractionScope> currentFraction;
+    // keyed by fractionID, then by model name and operation
+    private final ConcurrentMap<String, ConcurrentMap<String, Statistic>> openFractions;
+    private final ConcurrentMap<String, ConcurrentMap<String, Statistic>> closedFractions;
+    private final AtomicInteger refitDepth;
+
+    private FittingInstrumentation() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if ((threadMXBean instanceof com.sun.management.ThreadMXBean)//
+                && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()) {
+            this.allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        } else {
+            this.allocationMXBean = null;
+        }
+
+        this.currentFraction = new ThreadLocal<>();
+        this.openFractions = new ConcurrentHashMap<>();
+        this.closedFractions = new ConcurrentHashMap<>();
+        this.refitDepth = new AtomicInteger();
+
+        setEnabled(Boolean.getBoolean(ENABLED_PROPERTY));
+    }
+
+    /**
+     *
+     * @return
+     */
+    public static FittingInstrumentation getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return the enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled the enabled to set
+     */
+    public void setEnabled(boolean enabled) {
+        if (enabled && (allocationMXBean != null) && !allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+            allocationMXBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * Opens a refit of many fractions, possibly on many threads, so that
+     * their measurements are printed together by endRefit.
+     */
+    public void beginRefit() {
+        refitDepth.incrementAndGet();
+    }
+
+    /**
+     * Closes the refit opened by beginRefit and, when it is the outermost,
+     * prints and discards the measurements of the fractions it closed.
+     */
+    public void endRefit() {
+        if (refitDepth.decrementAndGet() <= 0) {
+            refitDepth.set(0);
+            printClosedFractions(System.out);
+        }
+    }
+
+    /**
+     * Names the fraction that the measurements made on this thread belong to,
+     * until the matching endFraction is called. A nested call for another
+     * fraction is measured under the outer fraction.
+     *
+     * @param fractionID
+     */
+    public void beginFraction(String fractionID) {
+        FractionScope scope = currentFraction.get();
+        if (scope == null) {
+            currentFraction.set(new FractionScope(fractionID));
+            openFractions.remove(fractionID);
+        } else {
+            scope.depth++;
+        }
+    }
+
+    /**
+     * Ends the innermost beginFraction on this thread. The outermost call
+     * clears the fraction for this thread and closes its measurements, which
+     * are printed now if enabled and no refit is open.
+     */
+    public void endFraction() {
+        FractionScope scope = currentFraction.get();
+        if (scope == null) {
+            return;
+        }
+        if (scope.depth > 0) {
+            scope.depth--;
+            return;
+        }
+        currentFraction.remove();
+
+        ConcurrentMap<String, Statistic> fractionStatistics = openFractions.remove(scope.fractionID);
+        if (enabled && (fractionStatistics != null)) {
+            closedFractions.put(scope.fractionID, fractionStatistics);
+            if (refitDepth.get() == 0) {
+                printClosedFractions(System.out);
+            }
+        }
+    }
+
+    /**
+     *
+     * @param modelName isotope or ratio name, or the fractionID for whole
+     * fraction measurements
+     * @param operation
+     * @return a measurement to pass to stop, or null if disabled
+     */
+    public Measurement start(String modelName, String operation) {
+        Measurement measurement = null;
+        if (enabled) {
+            FractionScope scope = currentFraction.get();
+            measurement = new Measurement(//
+                    (scope == null) ? "" : scope.fractionID, modelName + "\t" + operation,//
+                    allocatedBytes(), System.nanoTime());
+        }
+        return measurement;
+    }
+
+    /**
+     *
+     * @param measurement may be null
+     */
+    public void stop(Measurement measurement) {
+        if (measurement != null) {
+            long nanos = System.nanoTime() - measurement.startNanos;
+            long bytes = 0;
+            if (measurement.startBytes >= 0) {
+                bytes = allocatedBytes() - measurement.startBytes;
+            }
+            openFractions.computeIfAbsent(measurement.fractionID, (String k) -> new ConcurrentHashMap<>())//
+                    .computeIfAbsent(measurement.key, (String k) -> new Statistic()).add(bytes, nanos);
+        }
+    }
+
+    private long allocatedBytes() {
+        long bytes = -1;
+        if (allocationMXBean != null) {
+            bytes = allocationMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return bytes;
+    }
+
+    private void printClosedFractions(PrintStream out) {
+        if (!closedFractions.isEmpty()) {
+            SortedMap<String, Map<String, Statistic>> summary = new TreeMap<>();
+            for (String fractionID : closedFractions.keySet()) {
+                Map<String, Statistic> fractionStatistics = closedFractions.remove(fractionID);
+                if (fractionStatistics != null) {
+                    summary.put(fractionID, fractionStatistics);
+                }
+            }
+            printStatistics(out, summary);
+        }
+    }
+
+    /**
+     *
+     * @param out
+     * @param fractionID only this fraction, or all if null
+     */
+    public void printStatistics(PrintStream out, String fractionID) {
+        SortedMap<String, Map<String, Statistic>> selected = new TreeMap<>();
+        for (Map.Entry<String, ConcurrentMap<String, Statistic>> entry : openFractions.entrySet()) {
+            if ((fractionID == null) || entry.getKey().equals(fractionID)) {
+                selected.put(entry.getKey(), entry.getValue());
+            }
+        }
+        printStatistics(out, selected);
+    }
+
+    private void printStatistics(PrintStream out, SortedMap<String, Map<String, Statistic>> fractions) {
+        out.println("FRACTION\tMODEL\tOPERATION\tCOUNT\tBYTES\tMILLISECONDS");
+        for (Map.Entry<String, Map<String, Statistic>> fraction : fractions.entrySet()) {
+            SortedMap<String, Statistic> sortedStatistics = new TreeMap<>(fraction.getValue());
+            for (Map.Entry<String, Statistic> entry : sortedStatistics.entrySet()) {
+                Statistic statistic = entry.getValue();
+                out.println(fraction.getKey() + "\t" + entry.getKey() //
+                        + "\t" + statistic.count.sum() //
+                        + "\t" + ((allocationMXBean == null) ? -1 : statistic.bytes.sum()) //
+                        + "\t" + (statistic.nanos.sum() / 1000000L));
+            }
+        }
+    }
+
+    /**
+     * Discards all measurements.
+     */
+    public void reset() {
+        openFractions.clear();
+        closedFractions.clear();
+    }
+
+    /**
+     * An open measurement returned by start.
+     */
+    public static final class Measurement {
+
+        private final String fractionID;
+        private final String key;
+        private final long startBytes;
+        private final long startNanos;
+
+        private Measurement(String fractionID, String key, long startBytes, long startNanos) {
+            this.fractionID = fractionID;
+            this.key = key;
+            this.startBytes = startBytes;
+            this.startNanos = startNanos;
+        }
+    }
+
+    private static final class FractionScope {
+
+        private final String fractionID;
+        // count of nested beginFraction calls still open inside the outermost
+        private int depth;
+
+        FractionScope(String fractionID) {
+            this.fractionID = fractionID;
+        }
+    }
+
+    private static final class Statistic {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        void add(long measuredBytes, long measuredNanos) {
+            count.increment();
+            bytes.add(measuredBytes);
+            nanos.add(measuredNanos);
+        }
+    }
+}
@@ -28,6 +28,7 @@ import java.util.TreeMap;
 import org.earthtime.Tripoli.dataModels.collectorModels.AbstractCollectorModel;
 import org.earthtime.Tripoli.fitFunctions.AbstractFunctionOfX;
 import org.earthtime.Tripoli.fitFunctions.ConstantFitFunctionWithCovS;
+import org.earthtime.Tripoli.fitFunctions.algorithms.StructuredCovariance;
 import org.earthtime.UPb_Redux.utilities.comparators.IntuitiveStringComparator;
 import org.earthtime.dataDictionaries.FitFunctionTypeEnum;
 import org.earthtime.dataDictionaries.IsotopeNames;
@@ -62,9 +63,10 @@ public class RawIntensityDataModel //
     // only need for calculations
     private transient Matrix matrixSiCovarianceIntensities;
     private transient Matrix matrixSibCovarianceBackgroundIntensities;
-    // June 2013 used for fast processing (will temporarily be inside square matrices)
-    private transient Matrix vectorSviVarianceIntensities;
-    private transient Matrix vectorSviVarianceBackgroundIntensities;
+    // June 2013 used for fast processing
+    // oct 2026 held as diagonal (plus rank one for ion counters and Pb204) rather than square matrices
+    private transient StructuredCovariance vectorSviVarianceIntensities;
+    private transient StructuredCovariance vectorSviVarianceBackgroundIntensities;
     // used for individual background fitting
     private final Map<String, AbstractFunctionOfX> backgroundFitFunctionsNoOD;
     private final Map<String, AbstractFunctionOfX> backgroundFitFunctionsWithOD;
@@ -82,9 +84,13 @@ public class RawIntensityDataModel //
     private transient Matrix Jlogr;
     private transient Matrix Jmat;
     private transient Matrix Sopbclr;
+    // oct 2026 fast propagation keeps these structured and materializes Sopbc and Sopbclr only on request
+    private transient StructuredCovariance structuredSopbc;
+    private transient StructuredCovariance structuredSopbclr;
     private boolean calculatedInitialFitFunctions;
     // june 2013 - only not null for Pb204
     private Matrix correctedHg202Si;
+    private transient StructuredCovariance correctedHg202StructuredSi;
     private double[] diagonalOfMatrixSIntensities;
     private double[] allItensities;
     // nov 2014 - see validateOnPeakBaselineCorrectedIsotope inn abstractMassSpecSetup
@@ -128,6 +134,8 @@ public class RawIntensityDataModel //
         this.belowDetection = false;
 
         this.Sopbclr = null;
+        this.structuredSopbc = null;
+        this.structuredSopbclr = null;
 
         this.calculatedInitialFitFunctions = false;
 
@@ -135,6 +143,7 @@ public class RawIntensityDataModel //
         this.backgroundFitFunctionsWithOD = new TreeMap<String, AbstractFunctionOfX>();
 
         this.correctedHg202Si = null;
+        this.correctedHg202StructuredSi = null;
         this.forceMeanForCommonLeadRatios = false;
     }
 
@@ -763,6 +772,14 @@ public class RawIntensityDataModel //
         return collectorModel.buildMatrixSi(diagonalOfMatrixSIntensities, allItensities);
     }
 
+    /**
+     *
+     * @return
+     */
+    public StructuredCovariance specialBuildStructuredSiForHg202() {
+        return collectorModel.buildStructuredSi(diagonalOfMatrixSIntensities, allItensities);
+    }
+
     /**
      *
      */
@@ -784,17 +801,18 @@ public class RawIntensityDataModel //
             matrixSibCovarianceBackgroundIntensities = matrixSiCovarianceIntensities//
                     .getMatrix(0, backgroundIntensityCount - 1, 0, backgroundIntensityCount - 1);
         } else {
-            vectorSviVarianceIntensities = collectorModel.buildVectorSvi(diagonalOfMatrixSIntensities, allItensities);
-            if ((correctedHg202Si != null) && rawIsotopeModelName.compareTo(IsotopeNames.Pb204) == 0) {
-                vectorSviVarianceIntensities.plusEquals(correctedHg202Si);
+            vectorSviVarianceIntensities = StructuredCovariance.diagonal(//
+                    collectorModel.buildVectorSvi(diagonalOfMatrixSIntensities, allItensities));
+            if ((correctedHg202StructuredSi != null) && rawIsotopeModelName.compareTo(IsotopeNames.Pb204) == 0) {
+                vectorSviVarianceIntensities = vectorSviVarianceIntensities.plus(correctedHg202StructuredSi);
                 //get rid of it
-                correctedHg202Si = null;
+                correctedHg202StructuredSi = null;
             }
 
             // TODO: trim matrixSibCovarianceBackgroundIntensities to reflect any de-selected data
             int backgroundIntensityCount = backgroundVirtualCollector.getIntensities().length;
             vectorSviVarianceBackgroundIntensities = vectorSviVarianceIntensities//
-                    .getMatrix(0, backgroundIntensityCount - 1, 0, backgroundIntensityCount - 1);
+                    .select(0, backgroundIntensityCount - 1);
         }
 
         normalizedBackgroundAquireTimes = getNormalizedBackgroundAquireTimes();
@@ -803,6 +821,8 @@ public class RawIntensityDataModel //
     @Override
     public void generateSetOfFitFunctions(boolean propagateUncertainties, boolean doApplyMaskingArray) {
 
+        FittingInstrumentation.Measurement measurement = FittingInstrumentation.getInstance().start(getDataModelName(), "background " + selectedFitFunctionType.getName());
+
         // June 2013 copied from RawRatioDataModel feb 2013 new strategy to do only once
         // also MEAN returns false if it had to use an arithmentic mean and stops further processing
         prepareDataForFitFunctions();
@@ -823,7 +843,7 @@ public class RawIntensityDataModel //
         matrixSibCovarianceBackgroundIntensities = null;
         vectorSviVarianceBackgroundIntensities = null;
 
-        System.gc();
+        FittingInstrumentation.getInstance().stop(measurement);
     }
 
     @Override
@@ -880,14 +900,15 @@ public class RawIntensityDataModel //
     public void propagateUnctInBaselineCorrOnPeakIntensities() {
 
         AbstractFunctionOfX backgroundFitFunction = getBackgroundFitFunctions().get(selectedFitFunctionType.getName());
+        FittingInstrumentation.Measurement measurement = FittingInstrumentation.getInstance().start(getDataModelName(), "propagateUnctInBaselineCorrOnPeakIntensities");
 
         if (backgroundFitFunction != null) { // not NONE
             // June 2013
-            Matrix matrixOrVector;
+            int countOfIntensities;
             if (USING_FULL_PROPAGATION) {
-                matrixOrVector = matrixSiCovarianceIntensities;
+                countOfIntensities = matrixSiCovarianceIntensities.getRowDimension();
             } else {
-                matrixOrVector = vectorSviVarianceIntensities;
+                countOfIntensities = vectorSviVarianceIntensities.getRowDimension();
             }
 
             double[] normalizedOnPeakAquireTimes = getNormalizedOnPeakAquireTimes();
@@ -918,18 +939,7 @@ public class RawIntensityDataModel //
 
                 J22 = backgroundFitFunction.makeMatrixJ22(countOfActiveOnPeakData, onPeakVirtualCollector.getDataActiveMap(), normalizedOnPeakAquireTimes);
 
-                Matrix JOnPeak1 = null;
                 try {
-                    JOnPeak1 = J21.times(J11);
-//                } catch (Exception e) {
-//                    System.out.println(" JOnPeak1 in RawIntensityDataModel matrix error " + e.getMessage());
-//                }
-
-                    // append J22 after JOnPeak1
-                    JOnPeak = new Matrix(countOfActiveOnPeakData, JOnPeak1.getColumnDimension() + countOfActiveOnPeakData);
-                    JOnPeak.setMatrix(0, countOfActiveOnPeakData - 1, 0, JOnPeak1.getColumnDimension() - 1, JOnPeak1);
-                    JOnPeak.setMatrix(0, countOfActiveOnPeakData - 1, JOnPeak1.getColumnDimension(), JOnPeak1.getColumnDimension() + countOfActiveOnPeakData - 1, J22);
-
                     // remove matrix entries for inactive data
                     // onpeak data is on the right of matrixSI
                     int countOfBackgroundData = backgroundVirtualCollector.getDataActiveMap().length;
@@ -941,20 +951,36 @@ public class RawIntensityDataModel //
                         }
                     }
 
-                    int[] rowColToCopy = new int[matrixOrVector.getRowDimension() - deselectedIndexes.size()];
+                    int[] rowColToCopy = new int[countOfIntensities - deselectedIndexes.size()];
 
                     // this collects indices of columns/rows of kept (selected) data for extraction
                     int count = 0;
-                    for (int j = 0; j < matrixOrVector.getRowDimension(); j++) {
+                    for (int j = 0; j < countOfIntensities; j++) {
                         if (!deselectedIndexes.contains(j)) {
                             rowColToCopy[count] = j;
                             count++;
                         }
                     }
 
-                    Matrix copymatrixSiCovarianceIntensities = matrixOrVector.getMatrix(rowColToCopy, rowColToCopy);
-
-                    Sopbc = JOnPeak.times(copymatrixSiCovarianceIntensities).times(JOnPeak.transpose());
+                    // clear results from any previous pass in the other propagation mode
+                    setJOnPeak(null);
+                    setSopbc(null);
+                    setJmat(null);
+                    setSopbclr(null);
+
+                    double[] diagonalOfJ22 = diagonalOf(J22);
+                    if (USING_FULL_PROPAGATION) {
+                        JOnPeak = assembleJOnPeak();
+                        Matrix copymatrixSiCovarianceIntensities = matrixSiCovarianceIntensities.getMatrix(rowColToCopy, rowColToCopy);
+                        Sopbc = JOnPeak.times(copymatrixSiCovarianceIntensities).times(JOnPeak.transpose());
+                    } else if (diagonalOfJ22 != null) {
+                        // oct 2026 JOnPeak = [J21*J11, J22] is never formed; Sopbc stays diagonal plus low rank
+                        structuredSopbc = vectorSviVarianceIntensities.select(rowColToCopy).propagate(J21, J11, diagonalOfJ22);
+                    } else {
+                        JOnPeak = assembleJOnPeak();
+                        Matrix copymatrixSiCovarianceIntensities = vectorSviVarianceIntensities.select(rowColToCopy).toMatrix();
+                        structuredSopbc = StructuredCovariance.dense(JOnPeak.times(copymatrixSiCovarianceIntensities).times(JOnPeak.transpose()));
+                    }
 
                     // calculate the covariance matrix for the log-ratios, Sopbclr.
                     double[][] invertedOnPeakCorrectedIntensities = new double[countOfActiveOnPeakData][1];
@@ -967,9 +993,14 @@ public class RawIntensityDataModel //
                     }
 
                     Jlogr = new Matrix(invertedOnPeakCorrectedIntensities);
-                    Jmat = Jlogr.times(Jlogr.transpose());
 
-                    Sopbclr = Jmat.arrayTimes(Sopbc);
+                    if (USING_FULL_PROPAGATION) {
+                        Jmat = Jlogr.times(Jlogr.transpose());
+                        Sopbclr = Jmat.arrayTimes(Sopbc);
+                    } else {
+                        // Jmat.arrayTimes(Sopbc) is Sopbc scaled on both sides by Jlogr
+                        structuredSopbclr = structuredSopbc.scaleRowsAndColumns(Jlogr.getColumnPackedCopy());
+                    }
 
 //                System.out.println("CheckPoint Sopbclr uncertainty propagation for " + this.getDataModelName());
                 } catch (Exception e) {
@@ -982,6 +1013,33 @@ public class RawIntensityDataModel //
 //        else {
 ////            System.out.println("no background fit function for " + this.getDataModelName());
 //        }
+
+        FittingInstrumentation.getInstance().stop(measurement);
+    }
+
+    private Matrix assembleJOnPeak() {
+        Matrix JOnPeak1 = J21.times(J11);
+        int countOfActiveOnPeakData = J22.getRowDimension();
+
+        // append J22 after JOnPeak1
+        Matrix retVal = new Matrix(countOfActiveOnPeakData, JOnPeak1.getColumnDimension() + countOfActiveOnPeakData);
+        retVal.setMatrix(0, countOfActiveOnPeakData - 1, 0, JOnPeak1.getColumnDimension() - 1, JOnPeak1);
+        retVal.setMatrix(0, countOfActiveOnPeakData - 1, JOnPeak1.getColumnDimension(), JOnPeak1.getColumnDimension() + countOfActiveOnPeakData - 1, J22);
+
+        return retVal;
+    }
+
+    private static double[] diagonalOf(Matrix squareMatrix) {
+        double[] diagonal = new double[squareMatrix.getRowDimension()];
+        for (int i = 0; i < diagonal.length; i++) {
+            for (int j = 0; j < squareMatrix.getColumnDimension(); j++) {
+                if ((i != j) && (squareMatrix.get(i, j) != 0.0)) {
+                    return null;
+                }
+            }
+            diagonal[i] = squareMatrix.get(i, i);
+        }
+        return diagonal;
     }
 
     /**
@@ -1052,17 +1110,44 @@ public class RawIntensityDataModel //
     }
 
     /**
+     * Under fast propagation the matrix is built from its structured form on
+     * each call; use getStructuredSopbclr to avoid this.
+     *
      * @return the Sopbclr
      */
     public Matrix getSopbclr() {
+        if ((Sopbclr == null) && (structuredSopbclr != null)) {
+            return structuredSopbclr.toMatrix();
+        }
         return Sopbclr;
     }
 
+    /**
+     *
+     * @return the Sopbclr in structured form, wrapping the dense matrix under
+     * full propagation
+     */
+    public StructuredCovariance getStructuredSopbclr() {
+        if ((structuredSopbclr == null) && (Sopbclr != null)) {
+            return StructuredCovariance.dense(Sopbclr);
+        }
+        return structuredSopbclr;
+    }
+
+    /**
+     *
+     * @return true if Sopbclr is available in either form
+     */
+    public boolean hasSopbclr() {
+        return (Sopbclr != null) || (structuredSopbclr != null);
+    }
+
     /**
      * @param Sopbclr the Sopbclr to set
      */
     public void setSopbclr(Matrix Sopbclr) {
         this.Sopbclr = Sopbclr;
+        this.structuredSopbclr = null;
     }
 
     /**
@@ -1112,6 +1197,7 @@ public class RawIntensityDataModel //
      */
     public void setSopbc(Matrix Sopbc) {
         this.Sopbc = Sopbc;
+        this.structuredSopbc = null;
     }
 
     /**
@@ -1153,6 +1239,9 @@ public class RawIntensityDataModel //
      * @return the JOnPeak
      */
     public Matrix getJOnPeak() {
+        if ((JOnPeak == null) && (J11 != null) && (J21 != null) && (J22 != null)) {
+            return assembleJOnPeak();
+        }
         return JOnPeak;
     }
 
@@ -1160,6 +1249,9 @@ public class RawIntensityDataModel //
      * @return the Sopbc
      */
     public Matrix getSopbc() {
+        if ((Sopbc == null) && (structuredSopbc != null)) {
+            return structuredSopbc.toMatrix();
+        }
         return Sopbc;
     }
 
@@ -1174,6 +1266,9 @@ public class RawIntensityDataModel //
      * @return the Jmat
      */
     public Matrix getJmat() {
+        if ((Jmat == null) && (Jlogr != null)) {
+            return Jlogr.times(Jlogr.transpose());
+        }
         return Jmat;
     }
 
@@ -1295,17 +1390,24 @@ public class RawIntensityDataModel //
         this.correctedHg202Si = correctedHg202Si;
     }
 
+    /**
+     * @param correctedHg202StructuredSi the correctedHg202StructuredSi to set
+     */
+    public void setCorrectedHg202StructuredSi(StructuredCovariance correctedHg202StructuredSi) {
+        this.correctedHg202StructuredSi = correctedHg202StructuredSi;
+    }
+
     /**
      * @return the vectorSviVarianceIntensities
      */
-    public Matrix getVectorSviVarianceIntensities() {
+    public StructuredCovariance getVectorSviVarianceIntensities() {
         return vectorSviVarianceIntensities;
     }
 
     /**
      * @return the vectorSviVarianceBackgroundIntensities
      */
-    public Matrix getVectorSviVarianceBackgroundIntensities() {
+    public StructuredCovariance getVectorSviVarianceBackgroundIntensities() {
         return vectorSviVarianceBackgroundIntensities;
     }
 
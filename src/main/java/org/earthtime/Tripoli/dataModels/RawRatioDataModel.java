@@ -35,6 +35,7 @@ import org.earthtime.Tripoli.fitFunctions.LevenbergMarquardGeneralSolverWithCovS
 import org.earthtime.Tripoli.fitFunctions.LevenbergMarquardGeneralSolverWithVecV;
 import org.earthtime.Tripoli.fitFunctions.LevenbergMarquardGeneralSolverWithVecV.AbstractOverDispersionLMVecAlgorithm;
 import org.earthtime.Tripoli.fitFunctions.MeanFitFunction;
+import org.earthtime.Tripoli.fitFunctions.algorithms.StructuredCovariance;
 import org.earthtime.Tripoli.fractions.TripoliFraction;
 import org.earthtime.UPb_Redux.utilities.comparators.IntuitiveStringComparator;
 import org.earthtime.dataDictionaries.FitFunctionTypeEnum;
@@ -96,6 +97,10 @@ public class RawRatioDataModel //
     // nov 2014
     private Matrix topSopbclr;
     private Matrix botSopbclr;
+    // oct 2026 fast propagation keeps these as diagonal plus low rank
+    private StructuredCovariance structuredSlogRatioX_Y;
+    private StructuredCovariance structuredTopSopbclr;
+    private StructuredCovariance structuredBotSopbclr;
 
     /**
      *
@@ -138,6 +143,7 @@ public class RawRatioDataModel //
         this.selectedFitFunctionType = FitFunctionTypeEnum.LINE;//.LINE;
         this.belowDetection = false;
         this.SlogRatioX_Y = null;
+        this.structuredSlogRatioX_Y = null;
 
         this.calculatedInitialFitFunctions = false;
 
@@ -264,6 +270,7 @@ public class RawRatioDataModel //
      *
      */
     public void propagateUnctInRatios() {
+        FittingInstrumentation.Measurement measurement = FittingInstrumentation.getInstance().start(getDataModelName(), "propagateUnctInRatios");
 
         boolean cleanTop = false;
         boolean cleanBot = false;
@@ -272,7 +279,7 @@ public class RawRatioDataModel //
         boolean[] topDataActiveMap = ((RawIntensityDataModel) topIsotope).getOnPeakVirtualCollector().getDataActiveMap();
         ((RawIntensityDataModel) topIsotope).getOnPeakVirtualCollector().setDataActiveMap(dataActiveMap.clone());
 
-        if (((RawIntensityDataModel) topIsotope).getSopbclr() == null) {
+        if (!((RawIntensityDataModel) topIsotope).hasSopbclr()) {
             cleanTop = true;
             ((RawIntensityDataModel) topIsotope).prepareDataForFitFunctions();
             ((RawIntensityDataModel) topIsotope).propagateUnctInBaselineCorrOnPeakIntensities();
@@ -283,7 +290,7 @@ public class RawRatioDataModel //
         boolean[] botDataActiveMap = ((RawIntensityDataModel) botIsotope).getOnPeakVirtualCollector().getDataActiveMap();
         ((RawIntensityDataModel) botIsotope).getOnPeakVirtualCollector().setDataActiveMap(dataActiveMap.clone());
 
-        if (((RawIntensityDataModel) botIsotope).getSopbclr() == null) {
+        if (!((RawIntensityDataModel) botIsotope).hasSopbclr()) {
             cleanBot = true;
             ((RawIntensityDataModel) botIsotope).prepareDataForFitFunctions();
             ((RawIntensityDataModel) botIsotope).propagateUnctInBaselineCorrOnPeakIntensities();
@@ -291,9 +298,30 @@ public class RawRatioDataModel //
         // restore
         ((RawIntensityDataModel) botIsotope).getOnPeakVirtualCollector().setDataActiveMap(botDataActiveMap);
 
+        if (!USING_FULL_PROPAGATION) {
+            propagateStructuredUnctInRatios();
+        } else {
+            propagateDenseUnctInRatios();
+        }
+
+        if (cleanTop) {
+            ((DataModelFitFunctionInterface) topIsotope).cleanupUnctCalcs();
+        }
+        if (cleanBot) {
+            ((DataModelFitFunctionInterface) botIsotope).cleanupUnctCalcs();
+        }
+
+        FittingInstrumentation.getInstance().stop(measurement);
+    }
+
+    private void propagateDenseUnctInRatios() {
         Matrix numerator = ((RawIntensityDataModel) topIsotope).getSopbclr();
         Matrix denominator = ((RawIntensityDataModel) botIsotope).getSopbclr();
 
+        structuredSlogRatioX_Y = null;
+        structuredTopSopbclr = null;
+        structuredBotSopbclr = null;
+
         if ((numerator != null) & (denominator != null)) {
 
             // only if both numerator and denominator are ion counters do we do matrixSxyod below       
@@ -334,15 +362,55 @@ public class RawRatioDataModel //
 
 //            System.out.println("Checkpoint for Ratio uncertainty: " + getDataModelName());
         }
+    }
 
-        if (cleanTop) {
-            ((DataModelFitFunctionInterface) topIsotope).cleanupUnctCalcs();
-        }
-        if (cleanBot) {
-            ((DataModelFitFunctionInterface) botIsotope).cleanupUnctCalcs();
-        }
+    /**
+     * Fast propagation: the log-ratio covariance is the sum of the two
+     * diagonal-plus-low-rank isotope covariances, plus a rank one dead time
+     * term for two identical ion counters, so no dense matrix is formed.
+     */
+    private void propagateStructuredUnctInRatios() {
+        StructuredCovariance numerator = ((RawIntensityDataModel) topIsotope).getStructuredSopbclr();
+        StructuredCovariance denominator = ((RawIntensityDataModel) botIsotope).getStructuredSopbclr();
+
+        SlogRatioX_Y = null;
+        matrixSxyod = null;
+        topSopbclr = null;
+        botSopbclr = null;
+
+        if ((numerator != null) & (denominator != null)) {
+
+            // only if both numerator and denominator are ion counters do we do matrixSxyod below       
+            if ((topIsotope.getCollectorModel() //
+                    instanceof IonCounterCollectorModel)//
+                    && //
+                    (botIsotope.getCollectorModel() //
+                    instanceof IonCounterCollectorModel)//
+                    &&//
+                    // v3 jan 2013 check if the SAME ion counter
+                    hasTwoIdenticalIonCounters()) {
 
-        System.gc();
+                double deadtimeOneSigmaAbsSqr = //
+                        ((IonCounterCollectorModel) botIsotope//
+                        .getCollectorModel()).getDeadTime().getOneSigmaAbs().movePointLeft(0).pow(2).doubleValue();
+
+                // matrixSxyod is the outer product of the corrected intensities scaled by the dead time variance
+                structuredSlogRatioX_Y = numerator.plus(denominator).plusLowRank(//
+                        ((RawIntensityDataModel) topIsotope).getColumnVectorOfCorrectedOnPeakIntensities().times(-2.0 * deadtimeOneSigmaAbsSqr),//
+                        ((RawIntensityDataModel) botIsotope).getColumnVectorOfCorrectedOnPeakIntensities());
+
+            } else {
+                try {
+                    structuredSlogRatioX_Y = numerator.plus(denominator);
+                } catch (Exception e) {
+                    System.out.println("slogratiox_y trouble" + e.getMessage());
+                }
+            }
+
+            // structured covariances are immutable so no copies are needed
+            structuredTopSopbclr = numerator;
+            structuredBotSopbclr = denominator;
+        }
     }
 
     /**
@@ -458,7 +526,7 @@ public class RawRatioDataModel //
                         FitFunctionTypeEnum.MEAN,//
                         activeData, //
                         null, //
-                        differences, matrixSf.plus(SlogRatioX_Y),//
+                        differences, matrixSf.plus(getSlogRatioX_Y()),//
                         false);
 
         // algorithmForMEAN contains both the non OD and OD versions
@@ -481,7 +549,7 @@ public class RawRatioDataModel //
                             activeData, //
                             activeXvalues, //
                             differences,//
-                            null, //
+                            (Matrix) null, //
                             false);
 
             fOfX_MEAN_OD = fOfX_MEAN;
@@ -524,7 +592,7 @@ public class RawRatioDataModel //
                     activeData, //
                     activeXvalues, //
                     activeYvalues, //,
-                    SlogRatioX_Y, false);
+                    structuredSlogRatioX_Y, false);
         }
 
         logRatioFitFunctionsNoOD.put(FitFunctionTypeEnum.CONSTANT.getName(), fOfX_CONSTANT);
@@ -569,7 +637,7 @@ public class RawRatioDataModel //
                     activeData, //
                     activeXvalues, //
                     forcedMeanValues, //,
-                    SlogRatioX_Y, false);
+                    structuredSlogRatioX_Y, false);
         }
 
         fOfX_FORCEDMEAN.setShortName(FitFunctionTypeEnum.MEANRATIO);
@@ -614,7 +682,7 @@ public class RawRatioDataModel //
                                 activeData, //
                                 activeXvalues, //
                                 activeYvalues, //,
-                                SlogRatioX_Y, false);
+                                structuredSlogRatioX_Y, false);
 
                 fOfX_MEAN = algorithmForMEAN.getInitialFofX();
                 fOfX_MEAN_OD = algorithmForMEAN.getFinalFofX();
@@ -699,7 +767,7 @@ public class RawRatioDataModel //
                             activeData, //
                             activeXvalues, //
                             activeYvalues, //,
-                            SlogRatioX_Y, false);
+                            structuredSlogRatioX_Y, false);
 
             fOfX_LINE = algorithmForLINE.getInitialFofX();
             fOfX_LINE_OD = algorithmForLINE.getFinalFofX();
@@ -753,7 +821,7 @@ public class RawRatioDataModel //
                     activeData, //
                     activeXvalues, //
                     activeYvalues, //,
-                    SlogRatioX_Y, false);
+                    structuredSlogRatioX_Y, false);
 
             fOfX_ExpFast = algorithmForEXPFAST.getInitialFofX();
         }
@@ -780,7 +848,7 @@ public class RawRatioDataModel //
                         activeData, //dataActiveMap, //
                         activeXvalues, //topIsotope.getNormalizedOnPeakAquireTimes(), //
                         activeYvalues, //,
-                        SlogRatioX_Y, false, //
+                        structuredSlogRatioX_Y, false, //
                         fOfX_ExpFast);
             }
 
@@ -815,7 +883,7 @@ public class RawRatioDataModel //
                                 activeData, //
                                 activeXvalues, //
                                 activeYvalues, //,
-                                SlogRatioX_Y, false,//
+                                structuredSlogRatioX_Y, false,//
                                 fOfX_ExpFast);//algorithmForEXPFAST.getInitialFofX() );
 
                         fOfX_EXPOD = algorithmForEXPOD.getFinalFofX();
@@ -881,6 +949,10 @@ public class RawRatioDataModel //
     public void cleanupUnctCalcs() {
         setSlogRatioX_Y(null);
         setMatrixSxyod(null);
+        topSopbclr = null;
+        botSopbclr = null;
+        structuredTopSopbclr = null;
+        structuredBotSopbclr = null;
     }
 
     /**
@@ -950,24 +1022,40 @@ public class RawRatioDataModel //
 
             FitFunctionTypeEnum saveSelection = selectedFitFunctionType;
             // nov 2014
+            FittingInstrumentation instrumentation = FittingInstrumentation.getInstance();
+            FittingInstrumentation.Measurement measurement;
+            boolean fitMean = false;
+            if (!isForceMeanForCommonLeadRatios()) {
+                measurement = instrumentation.start(getDataModelName(), FitFunctionTypeEnum.MEAN.getName());
+                fitMean = generateMEANfitFunctionUsingLM();
+                instrumentation.stop(measurement);
+            }
+
             if (isForceMeanForCommonLeadRatios()) {
+                measurement = instrumentation.start(getDataModelName(), FitFunctionTypeEnum.MEANRATIO.getName());
                 generateMEANfitFunctionForPbcRatiosWhereNegativeValues();
+                instrumentation.stop(measurement);
                 saveSelection = FitFunctionTypeEnum.MEANRATIO;
 
-            } else if (generateMEANfitFunctionUsingLM()) {
+            } else if (fitMean) {
 
                 // nov 2014 force mean for Pbc */204 cases where negative values (<10%) have been turned off by not proceeding
                 logRatioFitFunctionsNoOD.remove(FitFunctionTypeEnum.MEANRATIO.getName());
                 logRatioFitFunctionsWithOD.remove(FitFunctionTypeEnum.MEANRATIO.getName());
                 if (!usedForCommonLeadCorrections) {
+                    measurement = instrumentation.start(getDataModelName(), FitFunctionTypeEnum.LINE.getName());
                     try {
                         generateLINEfitFunctionUsingLM();
                     } catch (Exception e) {
                     }
+                    instrumentation.stop(measurement);
+
+                    measurement = instrumentation.start(getDataModelName(), FitFunctionTypeEnum.EXPONENTIAL.getName());
                     try {
                         generateEXPONENTIALfitFunctionUsingLM();
                     } catch (Exception e) {
                     }
+                    instrumentation.stop(measurement);
                     calculatedInitialFitFunctions = true;
 
                     if (hasTwoIdenticalIonCounters()) {
@@ -979,13 +1067,15 @@ public class RawRatioDataModel //
 
                         Matrix matrixIntDiff = new Matrix(intDiffValues, countOfActiveData);
 
+                        StructuredCovariance SlogRatioX_YStructured = getStructuredSlogRatioX_Y();
+
                         //for each of the fit functions - two cases = od and no od
                         Iterator<String> sessionFitFuncsNoOdIterator = logRatioFitFunctionsNoOD.keySet().iterator();
                         while (sessionFitFuncsNoOdIterator.hasNext()) {
                             String key = sessionFitFuncsNoOdIterator.next();
                             AbstractFunctionOfX FofX = logRatioFitFunctionsNoOD.get(key);
 
-                            Matrix JIntp = FofX.assembleMatrixJIntp(SlogRatioX_Y);
+                            Matrix JIntp = FofX.assembleMatrixJIntp(SlogRatioX_YStructured);
 
                             FofX.setdLrInt_dDt(JIntp.times(matrixIntDiff).get(0, 0));
                         }
@@ -996,9 +1086,8 @@ public class RawRatioDataModel //
                             AbstractFunctionOfX FofX = logRatioFitFunctionsWithOD.get(key);
 
                             double OD = FofX.getOverDispersion();
-                            Matrix ODdiag = Matrix.identity(countOfActiveData, countOfActiveData).times(OD);
 
-                            Matrix JIntp = FofX.assembleMatrixJIntp(SlogRatioX_Y.plus(ODdiag));
+                            Matrix JIntp = FofX.assembleMatrixJIntp(SlogRatioX_YStructured.plusDiagonal(OD));
 
                             FofX.setdLrInt_dDt(JIntp.times(matrixIntDiff).get(0, 0));
                         }
@@ -1011,8 +1100,6 @@ public class RawRatioDataModel //
             if (saveSelection != null) {
                 selectedFitFunctionType = saveSelection;
             }
-
-            System.gc();
         }
 
     }
@@ -1458,17 +1545,38 @@ public class RawRatioDataModel //
     }
 
     /**
+     * Under fast propagation the matrix is built from its structured form on
+     * each call.
+     *
      * @return the SlogRatioX_Y
      */
     public Matrix getSlogRatioX_Y() {
+        if ((SlogRatioX_Y == null) && (structuredSlogRatioX_Y != null)) {
+            return structuredSlogRatioX_Y.toMatrix();
+        }
         return SlogRatioX_Y;
     }
 
+    /**
+     * Under fast propagation this is the diagonal-plus-low-rank form, else the
+     * dense matrix wrapped without a copy.
+     *
+     * @return the SlogRatioX_Y, or null if not yet propagated
+     */
+    public StructuredCovariance getStructuredSlogRatioX_Y() {
+        StructuredCovariance retVal = structuredSlogRatioX_Y;
+        if ((retVal == null) && (SlogRatioX_Y != null)) {
+            retVal = StructuredCovariance.dense(SlogRatioX_Y);
+        }
+        return retVal;
+    }
+
     /**
      * @param SlogRatioX_Y the SlogRatioX_Y to set
      */
     public void setSlogRatioX_Y(Matrix SlogRatioX_Y) {
         this.SlogRatioX_Y = SlogRatioX_Y;
+        this.structuredSlogRatioX_Y = null;
     }
 
     /**
@@ -1640,6 +1748,9 @@ public class RawRatioDataModel //
      * @return the topSopbclr
      */
     public Matrix getTopSopbclr() {
+        if ((topSopbclr == null) && (structuredTopSopbclr != null)) {
+            return structuredTopSopbclr.toMatrix();
+        }
         return topSopbclr;
     }
 
@@ -1647,6 +1758,9 @@ public class RawRatioDataModel //
      * @return the botSopbclr
      */
     public Matrix getBotSopbclr() {
+        if ((botSopbclr == null) && (structuredBotSopbclr != null)) {
+            return structuredBotSopbclr.toMatrix();
+        }
         return botSopbclr;
     }
 
@@ -19,8 +19,13 @@
  */
 package org.earthtime.Tripoli.dataModels;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import org.earthtime.UPb_Redux.utilities.ETBinarySerializer;
+import org.earthtime.UPb_Redux.utilities.ETBinarySerializer.DeferredDoubleArray;
 
 /**
  *
@@ -30,7 +35,7 @@ public class VirtualCollectorModel implements Serializable {
 
     // Class variables
     private static final long serialVersionUID = 9205757228422225198L;
-    private final int collectorNumber;
+    private int collectorNumber;
     private boolean background;
     // starts as measured intensities then are converted to counts
     private double[] intensities;
@@ -39,8 +44,13 @@ public class VirtualCollectorModel implements Serializable {
     private double[] intensityCorrections;
     private double[] correctedIntensities;
     private double sumOfCorrectedOnPeakIntensities;
-    private double[] logCorrectedIntensities;
+    // oct 2026 not saved; recalculated from correctedIntensities when needed
+    private transient double[] logCorrectedIntensities;
     private boolean[] dataActiveMap;
+    // oct 2026 raw data left in a binary project file until first used, in
+    // the order intensities, aquireTimes, fitBackgroundIntensities,
+    // intensityCorrections, correctedIntensities
+    private transient volatile DeferredDoubleArray[] deferredArrays;
 
     /**
      *
@@ -63,6 +73,7 @@ public class VirtualCollectorModel implements Serializable {
      *
      */
     public void correctOnPeakIntensities () {
+        loadDeferredArrays();
         correctedIntensities = new double[intensities.length];
         sumOfCorrectedOnPeakIntensities = 0.0;
         if (  ! background ) {
@@ -80,6 +91,7 @@ public class VirtualCollectorModel implements Serializable {
      *
      */
     public void adjustNonPositiveCorrectedIntensities () {
+        loadDeferredArrays();
         if (  ! background ) {
             for (int i = 0; i < correctedIntensities.length; i ++) {
                 if ( correctedIntensities[i] == 0.0 ) {// changed from <= to == nov 2014 since 0 is only number undefined with log
@@ -93,6 +105,7 @@ public class VirtualCollectorModel implements Serializable {
      *
      */
     public void calculateLogOnPeakCorrectedIntensities () {
+        loadDeferredArrays();
         logCorrectedIntensities = new double[intensities.length];
         if (  ! background ) {
             for (int i = 0; i < logCorrectedIntensities.length; i ++) {
@@ -130,6 +143,7 @@ public class VirtualCollectorModel implements Serializable {
      * @return the intensities
      */
     public double[] getIntensities () {
+        loadDeferredArrays();
         return intensities;
     }
 
@@ -137,6 +151,7 @@ public class VirtualCollectorModel implements Serializable {
      * @param intensities the intensities to set
      */
     public void setIntensities ( double[] intensities ) {
+        loadDeferredArrays();
         this.intensities = intensities;
     }
 
@@ -158,6 +173,7 @@ public class VirtualCollectorModel implements Serializable {
      * @return the aquireTimes
      */
     public double[] getAquireTimes () {
+        loadDeferredArrays();
         return aquireTimes;
     }
 
@@ -166,6 +182,7 @@ public class VirtualCollectorModel implements Serializable {
      * @return
      */
     public double[] getOnPeakAquireTimes () {
+        loadDeferredArrays();
         // times shifted left to ignore background
         double[] onPeakAquireTimes = new double[aquireTimes.length];
         for (int i = 0; i < onPeakAquireTimes.length; i ++) {
@@ -180,6 +197,7 @@ public class VirtualCollectorModel implements Serializable {
      * @return
      */
     public double[] getBackgroundAquireTimes () {
+        loadDeferredArrays();
         return aquireTimes;
     }
 
@@ -187,6 +205,7 @@ public class VirtualCollectorModel implements Serializable {
      * @param aquireTimes the aquireTimes to set
      */
     public void setAquireTimes ( double[] aquireTimes ) {
+        loadDeferredArrays();
         this.aquireTimes = aquireTimes;
     }
 
@@ -194,6 +213,7 @@ public class VirtualCollectorModel implements Serializable {
      * @return the intensityCorrections
      */
     public double[] getIntensityCorrections () {
+        loadDeferredArrays();
         return intensityCorrections;
     }
 
@@ -201,6 +221,7 @@ public class VirtualCollectorModel implements Serializable {
      * @param intensityCorrections the intensityCorrections to set
      */
     public void setIntensityCorrections ( double[] intensityCorrections ) {
+        loadDeferredArrays();
         this.intensityCorrections = intensityCorrections;
     }
 
@@ -208,6 +229,7 @@ public class VirtualCollectorModel implements Serializable {
      * @return the fitBackgroundIntensities
      */
     public double[] getFitBackgroundIntensities () {
+        loadDeferredArrays();
         return fitBackgroundIntensities;
     }
 
@@ -215,6 +237,7 @@ public class VirtualCollectorModel implements Serializable {
      * @param fitBackgroundIntensities the fitBackgroundIntensities to set
      */
     public void setFitBackgroundIntensities ( double[] fitBackgroundIntensities ) {
+        loadDeferredArrays();
         this.fitBackgroundIntensities = fitBackgroundIntensities;
     }
 
@@ -236,6 +259,7 @@ public class VirtualCollectorModel implements Serializable {
      * @return the correctedIntensities
      */
     public double[] getCorrectedIntensities () {
+        loadDeferredArrays();
         return correctedIntensities;
     }
     
@@ -244,6 +268,7 @@ public class VirtualCollectorModel implements Serializable {
      * @return
      */
     public double[] getActiveCorrectedIntensities () {
+        loadDeferredArrays();
 
         ArrayList<Double> activeCorrectedintensitiesList = new ArrayList<Double>();
         for (int i = 0; i < dataActiveMap.length; i ++) {
@@ -264,6 +289,7 @@ public class VirtualCollectorModel implements Serializable {
      * @param correctedIntensities the correctedIntensities to set
      */
     public void setCorrectedIntensities ( double[] correctedIntensities ) {
+        loadDeferredArrays();
         this.correctedIntensities = correctedIntensities;
     }
 
@@ -271,6 +297,9 @@ public class VirtualCollectorModel implements Serializable {
      * @return the logCorrectedIntensities
      */
     public double[] getLogCorrectedIntensities () {
+        if ( logCorrectedIntensities == null ) {
+            calculateLogOnPeakCorrectedIntensities();
+        }
         return logCorrectedIntensities;
     }
 
@@ -280,4 +309,62 @@ public class VirtualCollectorModel implements Serializable {
     public double getSumOfCorrectedOnPeakIntensities () {
         return sumOfCorrectedOnPeakIntensities;
     }
+
+    private void loadDeferredArrays () {
+        if ( deferredArrays != null ) {
+            synchronized (this) {
+                DeferredDoubleArray[] arrays = deferredArrays;
+                if ( arrays != null ) {
+                    intensities = loadDeferredArray( arrays[0], intensities );
+                    aquireTimes = loadDeferredArray( arrays[1], aquireTimes );
+                    fitBackgroundIntensities = loadDeferredArray( arrays[2], fitBackgroundIntensities );
+                    intensityCorrections = loadDeferredArray( arrays[3], intensityCorrections );
+                    correctedIntensities = loadDeferredArray( arrays[4], correctedIntensities );
+                    deferredArrays = null;
+                }
+            }
+        }
+    }
+
+    private static double[] loadDeferredArray ( DeferredDoubleArray deferredArray, double[] array ) {
+        return (deferredArray == null) ? array : deferredArray.get();
+    }
+
+    private void readObject ( ObjectInputStream stream ) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = ETBinarySerializer.readFieldsDeferringArrays( stream );
+
+        collectorNumber = fields.get( "collectorNumber", 0 );
+        background = fields.get( "background", false );
+        sumOfCorrectedOnPeakIntensities = fields.get( "sumOfCorrectedOnPeakIntensities", 0.0 );
+        dataActiveMap = (boolean[]) fields.get( "dataActiveMap", new boolean[0] );
+
+        DeferredDoubleArray[] arrays = new DeferredDoubleArray[5];
+        intensities = readDoubleArray( fields, "intensities", arrays, 0 );
+        aquireTimes = readDoubleArray( fields, "aquireTimes", arrays, 1 );
+        fitBackgroundIntensities = readDoubleArray( fields, "fitBackgroundIntensities", arrays, 2 );
+        intensityCorrections = readDoubleArray( fields, "intensityCorrections", arrays, 3 );
+        correctedIntensities = readDoubleArray( fields, "correctedIntensities", arrays, 4 );
+
+        for (DeferredDoubleArray array : arrays) {
+            if ( array != null ) {
+                deferredArrays = arrays;
+            }
+        }
+    }
+
+    private static double[] readDoubleArray ( ObjectInputStream.GetField fields, String name, DeferredDoubleArray[] arrays, int index ) throws IOException {
+        Object value = fields.get( name, new double[0] );
+        double[] retVal = null;
+        if ( value instanceof DeferredDoubleArray ) {
+            arrays[index] = (DeferredDoubleArray) value;
+        } else {
+            retVal = (double[]) value;
+        }
+        return retVal;
+    }
+
+    private void writeObject ( ObjectOutputStream stream ) throws IOException {
+        loadDeferredArrays();
+        stream.defaultWriteObject();
+    }
 }
@@ -12,6 +12,7 @@ package org.earthtime.Tripoli.dataModels.collectorModels;
 import Jama.Matrix;
 import java.io.Serializable;
 import java.math.BigDecimal;
+import org.earthtime.Tripoli.fitFunctions.algorithms.StructuredCovariance;
 import org.earthtime.UPb_Redux.ReduxConstants;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
 
@@ -172,6 +173,16 @@ public abstract class AbstractCollectorModel implements Serializable {
      */
     
     public abstract Matrix buildMatrixSi (double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter);
+
+    /**
+     * The same covariance as buildMatrixSi, held as a diagonal or
+     * diagonal-plus-low-rank matrix.
+     *
+     * @param diagonalOfMatrixSIntensities the value of diagonalOfMatrixSIntensities
+     * @param measuredIntensityIonCounter the value of measuredIntensityIonCounter
+     * @return
+     */
+    public abstract StructuredCovariance buildStructuredSi (double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter);
     /**
      *
      *
@@ -183,7 +194,7 @@ public abstract class AbstractCollectorModel implements Serializable {
      *
      * @param diagonalOfMatrixSIntensities the value of diagonalOfMatrixSIntensities
      * @param measuredIntensityIonCounter the value of measuredIntensityIonCounter
-     * @return
+     * @return column vector of variances
      */
     public abstract Matrix buildVectorSvi(double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter);
     
@@ -21,6 +21,7 @@ package org.earthtime.Tripoli.dataModels.collectorModels;
 
 import Jama.Matrix;
 import java.math.BigDecimal;
+import org.earthtime.Tripoli.fitFunctions.algorithms.StructuredCovariance;
 import org.earthtime.UPb_Redux.ReduxConstants;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
 
@@ -146,15 +147,22 @@ public class FaradayCollectorModel extends AbstractCollectorModel {
      * @return
      */
     @Override
-    public Matrix buildVectorSvi(double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter) {
-        // TODO: to become vector 
-        Matrix Svi = new Matrix(diagonalOfMatrixSIntensities.length, diagonalOfMatrixSIntensities.length);
-        // populate diagonal
-        for (int i = 0; i < diagonalOfMatrixSIntensities.length; i++) {
-            Svi.set(i, i, diagonalOfMatrixSIntensities[i]);
-        }
+    public StructuredCovariance buildStructuredSi(double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter) {
+        return StructuredCovariance.diagonal(diagonalOfMatrixSIntensities.clone());
+    }
 
-        return Svi;
+    /**
+     *
+     *
+     * @param diagonalOfMatrixSIntensities the value of
+     * diagonalOfMatrixSIntensities
+     * @param measuredIntensityIonCounter the value of
+     * measuredIntensityIonCounter
+     * @return
+     */
+    @Override
+    public Matrix buildVectorSvi(double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter) {
+        return new Matrix(diagonalOfMatrixSIntensities.clone(), diagonalOfMatrixSIntensities.length);
     }
 
 //    @Override
@@ -21,6 +21,7 @@ package org.earthtime.Tripoli.dataModels.collectorModels;
 
 import Jama.Matrix;
 import java.math.BigDecimal;
+import org.earthtime.Tripoli.fitFunctions.algorithms.StructuredCovariance;
 import org.earthtime.UPb_Redux.ReduxConstants;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
 
@@ -154,6 +155,29 @@ public class IonCounterCollectorModel extends AbstractCollectorModel {
         return Si;
     }
 
+    /**
+     *
+     *
+     * @param diagonalOfMatrixSIntensities the value of
+     * diagonalOfMatrixSIntensities
+     * @param measuredIntensityIonCounter the value of
+     * measuredIntensityIonCounter
+     * @return
+     */
+    @Override
+    public StructuredCovariance buildStructuredSi(double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter) {
+        // the dead time term is rank one: deadUnctSquared * (I^2)*(I^2)'
+        Matrix columnVectorOfMeasuredCountsIntensityCountsSquared = new Matrix(measuredIntensityIonCounter.length, 1);
+        for (int i = 0; i < measuredIntensityIonCounter.length; i++) {
+            columnVectorOfMeasuredCountsIntensityCountsSquared.set(i, 0, measuredIntensityIonCounter[i] * measuredIntensityIonCounter[i]);
+        }
+
+        double deadUnctSquared = deadTime.getOneSigmaAbs().movePointLeft(0).pow(2).doubleValue();
+
+        return StructuredCovariance.diagonal(diagonalOfMatrixSIntensities.clone())//
+                .plusLowRank(columnVectorOfMeasuredCountsIntensityCountsSquared.times(deadUnctSquared), columnVectorOfMeasuredCountsIntensityCountsSquared);
+    }
+
     /**
      *
      *
@@ -165,14 +189,12 @@ public class IonCounterCollectorModel extends AbstractCollectorModel {
      */
     @Override
     public Matrix buildVectorSvi(double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter) {
-        // TODO: make true vector
-        Matrix Svi = new Matrix(diagonalOfMatrixSIntensities.length, diagonalOfMatrixSIntensities.length);
+        Matrix Svi = new Matrix(diagonalOfMatrixSIntensities.length, 1);
 
         double deadUnctSquared = deadTime.getOneSigmaAbs().movePointLeft(0).pow(2).doubleValue();
 
-        // populate diagonal
         for (int i = 0; i < diagonalOfMatrixSIntensities.length; i++) {
-            Svi.set(i, i, //
+            Svi.set(i, 0, //
                     diagonalOfMatrixSIntensities[i] //
                     + deadUnctSquared * Math.pow(measuredIntensityIonCounter[i], 4.0));
         }
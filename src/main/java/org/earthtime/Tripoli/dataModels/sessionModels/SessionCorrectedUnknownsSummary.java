@@ -20,6 +20,7 @@ package org.earthtime.Tripoli.dataModels.sessionModels;
 import Jama.Matrix;
 import java.io.Serializable;
 import java.util.Map;
+import org.earthtime.Tripoli.fitFunctions.algorithms.StructuredCovariance;
 import org.earthtime.dataDictionaries.RadRatios;
 
 /**
@@ -31,7 +32,9 @@ public class SessionCorrectedUnknownsSummary implements Serializable{
     // Class variables
     private static final long serialVersionUID = -5775331053687026298L;
     // instance variables
+    // before oct 2026 the covariance was saved as a dense matrix
     private Matrix unknownsAnalyticalCovarianceSu;
+    private StructuredCovariance structuredUnknownsAnalyticalCovarianceSu;
     private Map<String, Integer> unknownFractionIDs;
     private Matrix unknownsLogRatioMeans;
     private RadRatios radiogenicRatioName;
@@ -52,12 +55,13 @@ public class SessionCorrectedUnknownsSummary implements Serializable{
      * @param standardRatio
      */
     public SessionCorrectedUnknownsSummary (//
-            Matrix unknownsAnalyticalCovarianceSu,//
+            StructuredCovariance unknownsAnalyticalCovarianceSu,//
             Map<String, Integer> unknownFractionIDs,//
             Matrix unknownsLogRatioMeans, //
             RadRatios radiogenicRatioName,
             double varianceOfStandardLogRatio) {
-        this.unknownsAnalyticalCovarianceSu = unknownsAnalyticalCovarianceSu;
+        this.unknownsAnalyticalCovarianceSu = null;
+        this.structuredUnknownsAnalyticalCovarianceSu = unknownsAnalyticalCovarianceSu;
         this.unknownFractionIDs = unknownFractionIDs;
         this.unknownsLogRatioMeans = unknownsLogRatioMeans;
         this.radiogenicRatioName = radiogenicRatioName;
@@ -67,15 +71,19 @@ public class SessionCorrectedUnknownsSummary implements Serializable{
     /**
      * @return the unknownsAnalyticalCovarianceSu
      */
-    public Matrix getUnknownsAnalyticalCovarianceSu () {
-        return unknownsAnalyticalCovarianceSu;
+    public StructuredCovariance getUnknownsAnalyticalCovarianceSu () {
+        if ( (structuredUnknownsAnalyticalCovarianceSu == null) && (unknownsAnalyticalCovarianceSu != null) ) {
+            structuredUnknownsAnalyticalCovarianceSu = StructuredCovariance.dense( unknownsAnalyticalCovarianceSu );
+        }
+        return structuredUnknownsAnalyticalCovarianceSu;
     }
 
     /**
      * @param unknownsAnalyticalCovarianceSu the unknownsAnalyticalCovarianceSu to set
      */
-    public void setUnknownsAnalyticalCovarianceSu ( Matrix unknownsAnalyticalCovarianceSu ) {
-        this.unknownsAnalyticalCovarianceSu = unknownsAnalyticalCovarianceSu;
+    public void setUnknownsAnalyticalCovarianceSu ( StructuredCovariance unknownsAnalyticalCovarianceSu ) {
+        this.unknownsAnalyticalCovarianceSu = null;
+        this.structuredUnknownsAnalyticalCovarianceSu = unknownsAnalyticalCovarianceSu;
     }
 
     /**
@@ -38,6 +38,13 @@ import java.beans.PropertyChangeListener;
 import java.io.File;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
@@ -45,6 +52,7 @@ import java.util.Iterator;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.Vector;
+import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.JDialog;
@@ -53,6 +61,7 @@ import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JTabbedPane;
 import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
 import javax.swing.SwingWorker;
 import javax.swing.Timer;
 import javax.swing.WindowConstants;
@@ -106,6 +115,8 @@ public class AbstractDataMonitorView extends AbstractRawDataView implements Trip
     }
 
     private transient SwingWorker loadDataTask;
+    private transient SwingWorker<Void, Void> refitDataTask;
+    private boolean shadeChangedSinceLastLoad;
     /**
      *
      */
@@ -131,10 +142,22 @@ public class AbstractDataMonitorView extends AbstractRawDataView implements Trip
     protected AbstractRawDataFileHandler rawDataFileHandler;
 
     /**
-     *
+     * restarted by each change reported for the monitored file, so that a
+     * burst of writes by the mass spec triggers only one load
      */
     protected Timer dataMonitorTimer;
 
+    /**
+     * slow poll as a backstop for file systems, such as network shares, that
+     * do not report changes to the WatchService
+     */
+    protected Timer dataMonitorBackstopTimer;
+
+    private transient WatchService dataMonitorWatchService;
+
+    // a change arrived while loadDataTask was running
+    private boolean monitoredFileChangedDuringLoad;
+
 //    /**
 //     *
 //     */
@@ -230,13 +253,29 @@ public class AbstractDataMonitorView extends AbstractRawDataView implements Trip
 
             progressBarFactory();
 
-            dataMonitorTimer = new Timer(5000, new ActionListener() {
+            // oct 2026 replaced 5 second polling with a WatchService on the folder of the monitored file
+            dataMonitorTimer = new Timer(1000, new ActionListener() {
+
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    monitorDataFile();
+                }
+            });
+            dataMonitorTimer.setRepeats(false);
+
+            dataMonitorBackstopTimer = new Timer(60000, new ActionListener() {
 
+                @Override
                 public void actionPerformed(ActionEvent e) {
                     monitorDataFile();
                 }
             });
 
+            startWatchingDataFile();
+
+            dataMonitorBackstopTimer.start();
+
+            // initial load
             dataMonitorTimer.start();
 
         } catch (IOException ex) {
@@ -244,10 +283,83 @@ public class AbstractDataMonitorView extends AbstractRawDataView implements Trip
         }
     }
 
+    private void startWatchingDataFile() {
+        final Path monitoredPath = monitoredFile.getAbsoluteFile().toPath();
+
+        try {
+            dataMonitorWatchService = FileSystems.getDefault().newWatchService();
+            monitoredPath.getParent().register(dataMonitorWatchService, //
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException ex) {
+            System.out.println("Monitoring raw data by polling only: " + ex.getMessage());
+            dataMonitorWatchService = null;
+            dataMonitorBackstopTimer.setDelay(5000);
+        }
+
+        if (dataMonitorWatchService != null) {
+            final WatchService watchService = dataMonitorWatchService;
+            Thread dataMonitorThread = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    boolean watching = true;
+                    try {
+                        while (watching) {
+                            WatchKey watchKey = watchService.take();
+
+                            boolean monitoredFileChanged = false;
+                            for (WatchEvent<?> watchEvent : watchKey.pollEvents()) {
+                                monitoredFileChanged = monitoredFileChanged //
+                                        || (watchEvent.kind() == StandardWatchEventKinds.OVERFLOW) //
+                                        || monitoredPath.getFileName().equals(watchEvent.context());
+                            }
+
+                            if (monitoredFileChanged) {
+                                SwingUtilities.invokeLater(new Runnable() {
+                                    @Override
+                                    public void run() {
+                                        // ignore changes reported after monitoring stopped
+                                        if (dataMonitorWatchService == watchService) {
+                                            dataMonitorTimer.restart();
+                                        }
+                                    }
+                                });
+                            }
+
+                            watching = watchKey.reset();
+                        }
+                    } catch (InterruptedException | ClosedWatchServiceException ex) {
+                        // monitoring stopped
+                    }
+                }
+            }, "Raw Data Monitor");
+
+            dataMonitorThread.setDaemon(true);
+            dataMonitorThread.start();
+        }
+    }
+
+    private void stopMonitoringDataFile() {
+        dataMonitorTimer.stop();
+        dataMonitorBackstopTimer.stop();
+
+        if (dataMonitorWatchService != null) {
+            try {
+                dataMonitorWatchService.close();
+            } catch (IOException ex) {
+            }
+            dataMonitorWatchService = null;
+        }
+    }
+
     private synchronized void monitorDataFile() {
         long checkTime = monitoredFile.lastModified();
 
-        if (checkTime > saveTime) {
+        if (((loadDataTask != null) && !loadDataTask.isDone()) || ((refitDataTask != null) && !refitDataTask.isDone())) {
+            // do not overlap loads; check again when this one is done
+            monitoredFileChangedDuringLoad = true;
+
+        } else if ((checkTime > saveTime) && rawDataFileHandler.hasUnreadRawData()) {
 
             Calendar cal = Calendar.getInstance();
             cal.clear();
@@ -422,6 +534,7 @@ public class AbstractDataMonitorView extends AbstractRawDataView implements Trip
 
             @Override
             public void actionPerformed(ActionEvent ae) {
+                stopMonitoringDataFile();
                 try {
                     loadDataTask.cancel(true);
                 } catch (Exception e) {
@@ -630,13 +743,23 @@ public class AbstractDataMonitorView extends AbstractRawDataView implements Trip
     }
 
     private void loadAndShowRawDataFinishUp() {
-        SortedSet<TripoliFraction> tripoliFractionsCurrent;
+        SortedSet<TripoliFraction> tripoliFractionsCurrent = rawDataFileHandler.getTripoliFractions();
+
+        // oct 2026 handler loads only the fractions appended since the last load
+        if ((tripoliFractionsCurrent == null) || tripoliFractionsCurrent.isEmpty()) {
+            System.out.println("No new fractions in raw data file.");
+            if (savedCountOfFractions > 0) {
+                rawDataFileHandler.setTripoliFractions(tripoliFractions);
+            }
+            return;
+        }
+
+        boolean samplesPreparedForRedux = (savedCountOfFractions > 0);
 
         if (savedCountOfFractions == 0) {
 
             tripoliSamplesSorted = rawDataFileHandler.parseFractionsIntoSamples();
 
-            tripoliFractionsCurrent = rawDataFileHandler.getTripoliFractions();
             tripoliFractions.addAll(tripoliFractionsCurrent);
 
             // create session
@@ -655,7 +778,10 @@ public class AbstractDataMonitorView extends AbstractRawDataView implements Trip
             tripoliSession.setFractionationTechnique(FractionationTechniquesEnum.INTERCEPT);
         } else {
 
-            tripoliFractionsCurrent = rawDataFileHandler.getTripoliFractions();
+            // the acquisition shade may have changed since the earlier fractions were fit
+            shadeChangedSinceLastLoad = (tripoliSession.getLeftShadeCount() != project.getAcquisitionModel().getLeftShadeCount());
+            tripoliSession.setLeftShadeCount(project.getAcquisitionModel().getLeftShadeCount());
+
             tripoliFractions.addAll(tripoliFractionsCurrent);
             rawDataFileHandler.setTripoliFractions(tripoliFractions);
 
@@ -691,12 +817,27 @@ public class AbstractDataMonitorView extends AbstractRawDataView implements Trip
         } catch (Exception e) {
         }
 
-        project.prepareSamplesForRedux();
+        if (shadeChangedSinceLastLoad) {
+            // oct 2026 earlier fractions are refit to the new shade before going to Redux
+            shadeChangedSinceLastLoad = false;
+            refitDataTask = new RefitDataTask(tripoliFractionsCurrent, samplesPreparedForRedux);
+            refitDataTask.addPropertyChangeListener(new LoadRawDataPropertyChangeListener());
+            refitDataTask.execute();
+        } else {
+            prepareForReduxAndUpdateDisplays(tripoliFractionsCurrent, samplesPreparedForRedux);
+        }
 
-        getuPbReduxFrame().initializeProject();
+    }
 
-        updateDisplays();
+    private void prepareForReduxAndUpdateDisplays(SortedSet<TripoliFraction> tripoliFractionsCurrent, boolean samplesPreparedForRedux) {
+        // only the appended fractions are added to Redux unless the samples have changed
+        if (!(samplesPreparedForRedux && project.prepareAppendedFractionsForRedux(tripoliFractionsCurrent))) {
+            project.prepareSamplesForRedux();
 
+            getuPbReduxFrame().initializeProject();
+        }
+
+        updateDisplays();
     }
 
     private class LoadDataTask extends SwingWorker<Void, Void> {
@@ -744,6 +885,67 @@ public class AbstractDataMonitorView extends AbstractRawDataView implements Trip
             repaint();
             System.out.println("LOADING TASK DONE !!");
             loadAndShowRawDataFinishUp();
+
+            // unless monitoring has stopped
+            if (monitoredFileChangedDuringLoad && dataMonitorBackstopTimer.isRunning()) {
+                dataMonitorTimer.restart();
+            }
+            monitoredFileChangedDuringLoad = false;
+        }
+    }
+
+    private class RefitDataTask extends SwingWorker<Void, Void> {
+
+        private final SortedSet<TripoliFraction> tripoliFractionsCurrent;
+        private final boolean samplesPreparedForRedux;
+
+        public RefitDataTask(SortedSet<TripoliFraction> tripoliFractionsCurrent, boolean samplesPreparedForRedux) {
+            this.tripoliFractionsCurrent = tripoliFractionsCurrent;
+            this.samplesPreparedForRedux = samplesPreparedForRedux;
+        }
+
+        @Override
+        public Void doInBackground() {
+            add(loadDataTaskProgressBar);
+            loadDataTaskProgressBar.setValue(0);
+            loadDataTaskProgressBar.repaint();
+            repaint();
+
+            tripoliSession.applyMaskingArray();
+            tripoliSession.reFitAllFractions(new PropertyChangeListener() {
+                @Override
+                public void propertyChange(PropertyChangeEvent pce) {
+                    // setProgress is thread safe and notifies on the event thread
+                    setProgress((Integer) pce.getNewValue());
+                }
+            });
+
+            return null;
+        }
+
+        /*
+         * Executed in event dispatching thread
+         */
+        @Override
+        public void done() {
+            remove(loadDataTaskProgressBar);
+            loadDataTaskProgressBar.setValue(0);
+            loadDataTaskProgressBar.repaint();
+            repaint();
+
+            try {
+                get();
+            } catch (InterruptedException | ExecutionException e) {
+                System.out.println("Refit of monitored data failed: " + e.getMessage());
+            }
+
+            prepareForReduxAndUpdateDisplays(tripoliFractionsCurrent, samplesPreparedForRedux);
+
+            // unless monitoring has stopped
+            if (monitoredFileChangedDuringLoad && dataMonitorBackstopTimer.isRunning()) {
+                dataMonitorTimer.restart();
+            }
+            monitoredFileChangedDuringLoad = false;
         }
     }
 
@@ -902,6 +1104,7 @@ public class AbstractDataMonitorView extends AbstractRawDataView implements Trip
 
             @Override
             public void componentHidden(ComponentEvent e) {
+                stopMonitoringDataFile();
                 //                throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
             }
         });
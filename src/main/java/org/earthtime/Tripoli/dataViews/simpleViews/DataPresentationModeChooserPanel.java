@@ -27,13 +27,18 @@ import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.awt.font.TextLayout;
 import java.awt.geom.Rectangle2D;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.concurrent.ExecutionException;
 import javax.swing.ButtonGroup;
 import javax.swing.JButton;
 import javax.swing.JLayeredPane;
 import javax.swing.JRadioButton;
+import javax.swing.SwingWorker;
 import org.earthtime.Tripoli.dataModels.DataModelInterface;
 import org.earthtime.Tripoli.dataViews.AbstractRawDataView;
 import org.earthtime.Tripoli.dataViews.overlayViews.TripoliSessionRawDataView;
+import org.earthtime.Tripoli.sessions.TripoliSessionInterface;
 import org.earthtime.beans.ET_JButton;
 import org.earthtime.dataDictionaries.DataPresentationModeEnum;
 
@@ -48,6 +53,8 @@ public class DataPresentationModeChooserPanel extends AbstractRawDataView {
      */
     public static int DEFAULT_WIDTH_OF_PANE = 64;
 
+    private static final String APPLY_SHADE_CAPTION = "Refit all data to shades.";
+
     /**
      *
      */
@@ -157,20 +164,25 @@ public class DataPresentationModeChooserPanel extends AbstractRawDataView {
     }
 
     private JButton applyShadeButtonFactory () {
-        JButton applyShadeButton = new ET_JButton( "Refit all data to shades." );
+        final JButton applyShadeButton = new ET_JButton( APPLY_SHADE_CAPTION );
         applyShadeButton.setBounds( 15, 68, 170, 20 );
 
         applyShadeButton.addActionListener( new ActionListener() {
             @Override
             public void actionPerformed ( ActionEvent e ) {
 
-                ((TripoliSessionRawDataView) sampleSessionDataView).getTripoliSession().applyMaskingArray();
-                ((TripoliSessionRawDataView) sampleSessionDataView).getTripoliSession().reFitAllFractions();
-                
-                // jan 2015 force refit after applying shade
-                ((TripoliSessionRawDataView) sampleSessionDataView).getTripoliSession().calculateSessionFitFunctionsForPrimaryStandard();
-
-                ((AbstractRawDataView) sampleSessionDataView).refreshPanel();
+                // oct 2026 refit off the event thread and show progress on the button
+                applyShadeButton.setEnabled( false );
+                RefitToShadesTask refitToShadesTask = new RefitToShadesTask( applyShadeButton );
+                refitToShadesTask.addPropertyChangeListener( new PropertyChangeListener() {
+                    @Override
+                    public void propertyChange ( PropertyChangeEvent pce ) {
+                        if ( "progress".equalsIgnoreCase( pce.getPropertyName() ) ) {
+                            applyShadeButton.setText( "Refitting ... " + pce.getNewValue() + "%" );
+                        }
+                    }
+                } );
+                refitToShadesTask.execute();
 
             }
         } );
@@ -179,6 +191,51 @@ public class DataPresentationModeChooserPanel extends AbstractRawDataView {
         return applyShadeButton;
     }
 
+    private class RefitToShadesTask extends SwingWorker<Void, Void> {
+
+        private final JButton applyShadeButton;
+
+        public RefitToShadesTask ( JButton applyShadeButton ) {
+            this.applyShadeButton = applyShadeButton;
+        }
+
+        @Override
+        public Void doInBackground () {
+            TripoliSessionInterface tripoliSession = ((TripoliSessionRawDataView) sampleSessionDataView).getTripoliSession();
+
+            tripoliSession.applyMaskingArray();
+            tripoliSession.reFitAllFractions( new PropertyChangeListener() {
+                @Override
+                public void propertyChange ( PropertyChangeEvent pce ) {
+                    // setProgress is thread safe and notifies on the event thread
+                    setProgress( (Integer) pce.getNewValue() );
+                }
+            } );
+
+            return null;
+        }
+
+        /*
+         * Executed in event dispatching thread
+         */
+        @Override
+        public void done () {
+            applyShadeButton.setText( APPLY_SHADE_CAPTION );
+            applyShadeButton.setEnabled( true );
+
+            try {
+                get();
+            } catch (InterruptedException | ExecutionException e) {
+                System.out.println( "Refit to shades failed: " + e.getMessage() );
+            }
+
+            // jan 2015 force refit after applying shade
+            ((TripoliSessionRawDataView) sampleSessionDataView).getTripoliSession().calculateSessionFitFunctionsForPrimaryStandard();
+
+            ((AbstractRawDataView) sampleSessionDataView).refreshPanel();
+        }
+    }
+
     private JButton buttonForODChoiceFactory ( int pixelsFromTop, final String caption, final boolean setOD ) {
 
         JButton ODChoiceButton = new ET_JButton( caption );
@@ -25,6 +25,7 @@ import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Collections;
+import org.earthtime.Tripoli.fitFunctions.algorithms.StructuredCovariance;
 import org.earthtime.dataDictionaries.FitFunctionTypeEnum;
 
 /**
@@ -132,6 +133,10 @@ public abstract class AbstractFunctionOfX implements Serializable {
      *
      */
     protected Matrix matrixSf;
+    // oct 2026 matrixSf = matrixSfFactor * matrixSfCore * matrixSfFactor' as kept by the
+    // session fit functions, whose rank is at most the count of parameters or standards
+    private Matrix matrixSfFactor;
+    private Matrix matrixSfCore;
 
     // nov 2014
     protected Matrix matrixJacobianYInterceptLogRatioXY;
@@ -199,6 +204,46 @@ public abstract class AbstractFunctionOfX implements Serializable {
      */
     public abstract double[] calculateInterpolatedVariances(Matrix Jf, double[] timesForMatrix);
 
+    /**
+     * Keeps matrixSf as factor * core * factor' without forming it; getMatrixSf
+     * forms it on demand.
+     *
+     * @param factor n x k
+     * @param core k x k
+     * @return the diagonal of matrixSf
+     */
+    protected double[] setMatrixSfFactors(Matrix factor, Matrix core) {
+        matrixSf = null;
+        matrixSfFactor = factor;
+        matrixSfCore = core;
+
+        Matrix factorCore = factor.times(core);
+        double[] stdVariances = new double[factor.getRowDimension()];
+        for (int i = 0; i < stdVariances.length; i++) {
+            for (int j = 0; j < factor.getColumnDimension(); j++) {
+                stdVariances[i] += factorCore.get(i, j) * factor.get(i, j);
+            }
+        }
+
+        return stdVariances;
+    }
+
+    /**
+     * Low rank if this fit function keeps the factors of matrixSf, else dense.
+     *
+     * @return matrixSf
+     */
+    public StructuredCovariance getStructuredMatrixSf() {
+        StructuredCovariance retVal;
+        if (matrixSfFactor != null) {
+            retVal = StructuredCovariance.diagonal(new double[matrixSfFactor.getRowDimension()])//
+                    .plusLowRank(matrixSfFactor.times(matrixSfCore), matrixSfFactor);
+        } else {
+            retVal = StructuredCovariance.dense(matrixSf);
+        }
+        return retVal;
+    }
+
     /**
      *
      * @param copyFrom
@@ -228,10 +273,10 @@ public abstract class AbstractFunctionOfX implements Serializable {
             setMatrixJyp(copyFrom.getMatrixJyp().copy());
         } catch (Exception e) {
         }
-        try {
-            setMatrixSf(copyFrom.matrixSf.copy());
-        } catch (Exception e) {
-        }
+        // matrixSf may be kept only as its factors, so copy all three as they are
+        matrixSf = (copyFrom.matrixSf == null) ? null : copyFrom.matrixSf.copy();
+        matrixSfFactor = (copyFrom.matrixSfFactor == null) ? null : copyFrom.matrixSfFactor.copy();
+        matrixSfCore = (copyFrom.matrixSfCore == null) ? null : copyFrom.matrixSfCore.copy();
 
     }
 
@@ -288,6 +333,28 @@ public abstract class AbstractFunctionOfX implements Serializable {
         return Jabc;
     }
 
+    /**
+     * A dense SlrXY is handed to assembleMatrixJIntp(Matrix) unchanged. For
+     * the diagonal and low-rank forms the n x n matrix is not formed: the
+     * least-squares solve matrixJyp\SlrXY' is pinv(matrixJyp)*SlrXY', taken as
+     * the transpose of SlrXY*pinv(matrixJyp)'.
+     *
+     * @param SlrXY
+     * @return
+     */
+    public Matrix assembleMatrixJIntp(StructuredCovariance SlrXY) {
+        Matrix retVal;
+        if (SlrXY.isDense()) {
+            retVal = assembleMatrixJIntp(SlrXY.toMatrix());
+        } else {
+            Matrix pinvJypTransposed = matrixJyp.times(matrixJyp.transpose().times(matrixJyp).inverse());
+            Matrix Jpy = (matrixJyp.transpose().times(SlrXY.solve(matrixJyp)).solve(SlrXY.times(pinvJypTransposed).transpose()));
+
+            retVal = extractMatrixJIntpFromJpy(Jpy);
+        }
+        return retVal;
+    }
+
     /**
      *
      * @param Jpy
@@ -773,6 +840,9 @@ public abstract class AbstractFunctionOfX implements Serializable {
      * @return the matrixSf
      */
     public Matrix getMatrixSf() {
+        if ((matrixSf == null) && (matrixSfFactor != null)) {
+            matrixSf = matrixSfFactor.times(matrixSfCore).times(matrixSfFactor.transpose());
+        }
         return matrixSf;
     }
 
@@ -781,6 +851,8 @@ public abstract class AbstractFunctionOfX implements Serializable {
      */
     public void setMatrixSf(Matrix matrixSf) {
         this.matrixSf = matrixSf;
+        this.matrixSfFactor = null;
+        this.matrixSfCore = null;
     }
 
     /**
@@ -20,6 +20,7 @@ package org.earthtime.Tripoli.fitFunctions;
 
 import Jama.Matrix;
 import java.io.Serializable;
+import org.earthtime.Tripoli.fitFunctions.algorithms.StructuredCovariance;
 import org.earthtime.dataDictionaries.FitFunctionTypeEnum;
 
 /**
@@ -59,6 +60,21 @@ public class ConstantFitFunctionWithCovS implements FitFunctionInterface, Serial
      */
     @Override
     public AbstractFunctionOfX getFunctionOfX(boolean[] dataActiveMap, double[] xValues, double[] yValues, Matrix MeasuredCovMatrixS, boolean calculateHatMatrix) {
+        return getFunctionOfX(dataActiveMap, xValues, yValues, StructuredCovariance.dense(MeasuredCovMatrixS), calculateHatMatrix);
+    }
+
+    /**
+     *
+     *
+     * @param dataActiveMap
+     * @param xValues
+     * @param yValues
+     * @param MeasuredCovMatrixS
+     * @param calculateHatMatrix
+     * @return
+     */
+    @Override
+    public AbstractFunctionOfX getFunctionOfX(boolean[] dataActiveMap, double[] xValues, double[] yValues, StructuredCovariance MeasuredCovMatrixS, boolean calculateHatMatrix) {
 
         // Dec 2012 Modified to handle constant vs mean which is George's old data setup
         // determine count of datapoints to be used
@@ -21,6 +21,7 @@ package org.earthtime.Tripoli.fitFunctions;
 
 import Jama.Matrix;
 import java.io.Serializable;
+import org.earthtime.Tripoli.fitFunctions.algorithms.StructuredCovariance;
 import org.earthtime.dataDictionaries.FitFunctionTypeEnum;
 
 /**
@@ -58,6 +59,21 @@ public class ExponentialFitFunction implements FitFunctionInterface, Serializabl
      * @return
      */
     @Override
+    public AbstractFunctionOfX getFunctionOfX ( boolean[] dataActiveMap, double[] xValues, double[] yValues, StructuredCovariance Sib, boolean calculateHatMatrix ) {
+        // this unweighted fit does not use the covariance, so it is never expanded
+        return getFunctionOfX( dataActiveMap, xValues, yValues, (Matrix) null, calculateHatMatrix );
+    }
+
+    /**
+     *
+     * @param dataActiveMap
+     * @param xValues
+     * @param yValues
+     * @param Sib not used
+     * @param calculateHatMatrix
+     * @return
+     */
+    @Override
     public AbstractFunctionOfX getFunctionOfX ( boolean[] dataActiveMap, double[] xValues, double[] yValues, Matrix Sib, boolean calculateHatMatrix ) {
 
         // determine count of datapoints to be used
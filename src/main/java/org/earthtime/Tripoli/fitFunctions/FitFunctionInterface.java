@@ -20,6 +20,7 @@
 package org.earthtime.Tripoli.fitFunctions;
 
 import Jama.Matrix;
+import org.earthtime.Tripoli.fitFunctions.algorithms.StructuredCovariance;
 
 /**
  *
@@ -40,5 +41,21 @@ public interface FitFunctionInterface {
     
     AbstractFunctionOfX getFunctionOfX ( //
             boolean[] dataActiveMap, double[] xValues, double[] yValues, Matrix MeasuredCovMatrixS, boolean calculateHatMatrix);
-    
+
+    /**
+     * Fit functions that can work directly with a diagonal or low-rank
+     * covariance override this; the default forms the dense matrix.
+     *
+     * @param dataActiveMap
+     * @param xValues
+     * @param yValues
+     * @param MeasuredCovS
+     * @param calculateHatMatrix
+     * @return
+     */
+    default AbstractFunctionOfX getFunctionOfX ( //
+            boolean[] dataActiveMap, double[] xValues, double[] yValues, StructuredCovariance MeasuredCovS, boolean calculateHatMatrix) {
+        return getFunctionOfX(dataActiveMap, xValues, yValues, MeasuredCovS.toMatrix(), calculateHatMatrix);
+    }
+
 }
@@ -18,9 +18,10 @@
  */
 package org.earthtime.Tripoli.fitFunctions;
 
-import Jama.EigenvalueDecomposition;
 import Jama.Matrix;
 import java.io.Serializable;
+import org.earthtime.Tripoli.fitFunctions.algorithms.CovarianceFactorization;
+import org.earthtime.Tripoli.fitFunctions.algorithms.StructuredCovariance;
 import org.earthtime.dataDictionaries.FitFunctionTypeEnum;
 
 /**
@@ -33,7 +34,6 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
     // Class variables
     private static final long serialVersionUID = -7497190229192384278L;
     private static LevenbergMarquardGeneralSolverWithCovS instance = null;
-    private AbstractOverDispersionLMAlgorithm overDispersionLMAlgorithm;
 
     private LevenbergMarquardGeneralSolverWithCovS() {
         super();
@@ -52,10 +52,14 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
 
     @Override
     public AbstractFunctionOfX getFunctionOfX(boolean[] dataActiveMap, double[] xValues, double[] yValues, Matrix MeasuredCovMatrixS, boolean calculateHatMatrix) {
+        return getFunctionOfX(dataActiveMap, xValues, yValues, StructuredCovariance.dense(MeasuredCovMatrixS), calculateHatMatrix);
+    }
 
-        exerciseAlgorithm();
+    @Override
+    public AbstractFunctionOfX getFunctionOfX(boolean[] dataActiveMap, double[] xValues, double[] yValues, StructuredCovariance MeasuredCovS, boolean calculateHatMatrix) {
 
-        return overDispersionLMAlgorithm.getInitialFofX();
+        // used by the exponential algorithms to prime their parameters
+        return getSelectedLMAlgorithm(FitFunctionTypeEnum.EXPFAST, dataActiveMap, xValues, yValues, MeasuredCovS, calculateHatMatrix).getInitialFofX();
     }
 
     /**
@@ -75,16 +79,39 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
             double[] yValues, //
             Matrix MeasuredCovMatrixS,//
             boolean calculateHatMatrix) {
+        return getSelectedLMAlgorithm(fitFunctionType, dataActiveMap, xValues, yValues, StructuredCovariance.dense(MeasuredCovMatrixS), calculateHatMatrix);
+    }
+
+    /**
+     * A diagonal or low-rank MeasuredCovS is kept in that form throughout:
+     * Sod = MeasuredCovS + od*I and its solves, traces and log-determinant
+     * use the Woodbury identity.
+     *
+     * @param fitFunctionType
+     * @param dataActiveMap
+     * @param xValues
+     * @param yValues
+     * @param MeasuredCovS
+     * @param calculateHatMatrix
+     * @return
+     */
+    public AbstractOverDispersionLMAlgorithm getSelectedLMAlgorithm(//
+            FitFunctionTypeEnum fitFunctionType,//
+            boolean[] dataActiveMap, //
+            double[] xValues, //
+            double[] yValues, //
+            StructuredCovariance MeasuredCovS,//
+            boolean calculateHatMatrix) {
 
-        overDispersionLMAlgorithm = odFunctionFactory(fitFunctionType);
+        AbstractOverDispersionLMAlgorithm overDispersionLMAlgorithm = odFunctionFactory(fitFunctionType);
 
         overDispersionLMAlgorithm.coldInitializeFunctionAlgorithm(//
-                dataActiveMap, xValues, yValues, MeasuredCovMatrixS);
+                dataActiveMap, xValues, yValues, MeasuredCovS);
 
         if ((fitFunctionType.compareTo(FitFunctionTypeEnum.EXPFAST) != 0)//
                 && //
                 (overDispersionLMAlgorithm.getInitialFofX().getMSWD() >= 1.0)) {
-            exerciseAlgorithm();
+            exerciseAlgorithm(overDispersionLMAlgorithm);
         } else {
             overDispersionLMAlgorithm.assignMatrixJypToFitFunctions();
         }
@@ -111,18 +138,40 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
             Matrix MeasuredCovMatrixS,//
             boolean calculateHatMatrix,
             AbstractFunctionOfX initialFofX) {
+        return getSelectedLMAlgorithmUsingIntialFofX(fitFunctionType, dataActiveMap, xValues, yValues, StructuredCovariance.dense(MeasuredCovMatrixS), calculateHatMatrix, initialFofX);
+    }
+
+    /**
+     *
+     * @param fitFunctionType
+     * @param dataActiveMap
+     * @param xValues
+     * @param yValues
+     * @param MeasuredCovS
+     * @param calculateHatMatrix
+     * @param initialFofX
+     * @return
+     */
+    public AbstractOverDispersionLMAlgorithm getSelectedLMAlgorithmUsingIntialFofX(//
+            FitFunctionTypeEnum fitFunctionType,//
+            boolean[] dataActiveMap, //
+            double[] xValues, //
+            double[] yValues, //
+            StructuredCovariance MeasuredCovS,//
+            boolean calculateHatMatrix,
+            AbstractFunctionOfX initialFofX) {
 
-        overDispersionLMAlgorithm = odFunctionFactory(fitFunctionType);
+        AbstractOverDispersionLMAlgorithm overDispersionLMAlgorithm = odFunctionFactory(fitFunctionType);
 
         overDispersionLMAlgorithm.hotInitializeFunctionAlgorithm(//
-                dataActiveMap, xValues, yValues, MeasuredCovMatrixS, initialFofX);
+                dataActiveMap, xValues, yValues, MeasuredCovS, initialFofX);
 
-        exerciseAlgorithm();
+        exerciseAlgorithm(overDispersionLMAlgorithm);
 
         return overDispersionLMAlgorithm;
     }
 
-    private AbstractFunctionOfX exerciseAlgorithm() {
+    private AbstractFunctionOfX exerciseAlgorithm(AbstractOverDispersionLMAlgorithm overDispersionLMAlgorithm) {
 
         // determine count of datapoints to be used
         System.out.println("LM is attempting to fit using " + overDispersionLMAlgorithm.getClass().getSimpleName());
@@ -130,7 +179,7 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
 
         Matrix yHat = overDispersionLMAlgorithm.calcYHat();
 
-        Matrix Sod = overDispersionLMAlgorithm.calcSod();
+        StructuredCovariance Sod = overDispersionLMAlgorithm.calcSod();
 
         Matrix yValuesMatrix = overDispersionLMAlgorithm.makeYValuesMatrix();
         Matrix r = yValuesMatrix.minus(yHat);
@@ -179,7 +228,7 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
 
             yHat = overDispersionLMAlgorithm.calcYHat();
 
-            Matrix SodNew = overDispersionLMAlgorithm.calcSod();
+            StructuredCovariance SodNew = overDispersionLMAlgorithm.calcSod();
 
             Matrix rNew = yValuesMatrix.minus(yHat);
 
@@ -207,10 +256,10 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
 
                         FofX.setFitParameterCovarianceMatrix(H.inverse());
                         FofX.setMSWD(rNew.transpose().times(//
-                                SodNew.solve(rNew)).get(0, 0)//
+                                overDispersionLMAlgorithm.factorize(SodNew).solve(rNew)).get(0, 0)//
                                 / (double) (countOfActiveData - overDispersionLMAlgorithm.getM()));
                         // if solved use this definition of L for expMatNoOD
-                        L = r.transpose().times(SodNew.solve(rNew)).get(0, 0) + overDispersionLMAlgorithm.reduxMatrixLogDeterminant(SodNew);//            Math.log(MeasuredCovMatrixS.det());
+                        L = r.transpose().times(overDispersionLMAlgorithm.factorize(SodNew).solve(rNew)).get(0, 0) + overDispersionLMAlgorithm.reduxMatrixLogDeterminant(SodNew);//            Math.log(MeasuredCovMatrixS.det());
                         FofX.setBIC(-2.0 * L + ((double) overDispersionLMAlgorithm.getM()) * Math.log(countOfActiveData));
                         FofX.setNegativeLogLikelihood(L);
                         FofX.setOverDispersionSelected(false);
@@ -221,7 +270,7 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
                             System.out.println("LM found a fit with EXPMAT after " + iterations + "\n");
                         }
 
-                    } else if ((overDispersionLMAlgorithm.getOverDispersion() / overDispersionLMAlgorithm.getMeasuredCovMatrixS().get(0, 0)) <= 0.00010) {
+                    } else if ((overDispersionLMAlgorithm.getOverDispersion() / overDispersionLMAlgorithm.getMeasuredCovS().get(0, 0)) <= 0.00010) {
                         // no overdispersion
                         // revert to original fit function without overdispersion
                         FofX = overDispersionLMAlgorithm.getInitialFofX();
@@ -234,7 +283,7 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
 
                         FofX.setFitParameterCovarianceMatrix(H.inverse());
                         FofX.setMSWD(rNew.transpose().times(//
-                                SodNew.solve(rNew)).get(0, 0)//
+                                overDispersionLMAlgorithm.factorize(SodNew).solve(rNew)).get(0, 0)//
                                 / (double) (countOfActiveData - overDispersionLMAlgorithm.getM()));
                         FofX.setBIC(-2.0 * L + ((double) overDispersionLMAlgorithm.getM()) * Math.log(countOfActiveData));
                         FofX.setNegativeLogLikelihood(L);
@@ -324,7 +373,7 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
         /**
          *
          */
-        protected Matrix MeasuredCovMatrixS;
+        protected StructuredCovariance MeasuredCovS;
 
         /**
          *
@@ -349,12 +398,13 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
         /**
          *
          */
-        protected Matrix SodInv;
+        protected Matrix SodInvR;
 
         /**
-         *
+         * factorization of the most recent Sod, shared by calcL, calcGH and
+         * the final fit statistics
          */
-        protected Matrix SodInvR;
+        protected transient CovarianceFactorization SodFactorization;
         // the isnatnce that will cerate the fit function
 
         /**
@@ -394,17 +444,17 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
          * @param dataActiveMap
          * @param xValues
          * @param yValues
-         * @param MeasuredCovMatrixS
+         * @param MeasuredCovS
          * @param myInitialFofX
          */
-        protected void hotInitializeFunctionAlgorithm(boolean[] dataActiveMap, double[] xValues, double[] yValues, Matrix MeasuredCovMatrixS, AbstractFunctionOfX myInitialFofX) {
+        protected void hotInitializeFunctionAlgorithm(boolean[] dataActiveMap, double[] xValues, double[] yValues, StructuredCovariance MeasuredCovS, AbstractFunctionOfX myInitialFofX) {
 
-            initializeFunctionAlgorithm(dataActiveMap, xValues, yValues, MeasuredCovMatrixS);
+            initializeFunctionAlgorithm(dataActiveMap, xValues, yValues, MeasuredCovS);
 
             initialFofX = myInitialFofX;
 
             if (initialFofX != null) {
-                initializeFunctionParameters(MeasuredCovMatrixS.get(0, 0) * 0.1);
+                initializeFunctionParameters(MeasuredCovS.get(0, 0) * 0.1);
             }
         }
 
@@ -413,32 +463,33 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
          * @param dataActiveMap
          * @param xValues
          * @param yValues
-         * @param MeasuredCovMatrixS
+         * @param MeasuredCovS
          */
-        protected void coldInitializeFunctionAlgorithm(boolean[] dataActiveMap, double[] xValues, double[] yValues, Matrix MeasuredCovMatrixS) {
+        protected void coldInitializeFunctionAlgorithm(boolean[] dataActiveMap, double[] xValues, double[] yValues, StructuredCovariance MeasuredCovS) {
 
-            initializeFunctionAlgorithm(dataActiveMap, xValues, yValues, MeasuredCovMatrixS);
+            initializeFunctionAlgorithm(dataActiveMap, xValues, yValues, MeasuredCovS);
 
             if (this instanceof ExponentialFastNoOD) {
                 // this first call is to prime the pump for internal exp-fast and mat
 //                this.xValues = xValues; // needed for data count
-                initializeFunctionParameters(MeasuredCovMatrixS.get(0, 0) * 0.1);
-                initialFofX = initialFuncFit.getFunctionOfX(dataActiveMap, xValues, yValues, MeasuredCovMatrixS, false);
+                initializeFunctionParameters(MeasuredCovS.get(0, 0) * 0.1);
+                exerciseAlgorithm(this);
             } else {
 
-                initialFofX = initialFuncFit.getFunctionOfX(dataActiveMap, xValues, yValues, MeasuredCovMatrixS, false);
+                initialFofX = initialFuncFit.getFunctionOfX(dataActiveMap, xValues, yValues, MeasuredCovS, false);
                 if (initialFofX != null) {
-                    initializeFunctionParameters(MeasuredCovMatrixS.get(0, 0) * 0.1);
+                    initializeFunctionParameters(MeasuredCovS.get(0, 0) * 0.1);
                 }
             }
 
         }
 
-        private void initializeFunctionAlgorithm(boolean[] dataActiveMap, double[] xValues, double[] yValues, Matrix MeasuredCovMatrixS) {
+        private void initializeFunctionAlgorithm(boolean[] dataActiveMap, double[] xValues, double[] yValues, StructuredCovariance MeasuredCovS) {
 
             this.xValues = xValues;
             this.yValues = yValues;
-            this.MeasuredCovMatrixS = MeasuredCovMatrixS;
+            this.MeasuredCovS = MeasuredCovS;
+            this.SodFactorization = null;
 
             onesV = new Matrix(yValues.length, 1, 1.0);
 
@@ -504,16 +555,29 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
          * @param r
          * @param Sod
          */
-        protected void calcGH(Matrix r, Matrix Sod) {
-            SodInv = Sod.inverse();
-            SodInvR = Sod.solve(r);
+        protected void calcGH(Matrix r, StructuredCovariance Sod) {
+            SodInvR = factorize(Sod).solve(r);
+        }
+
+        /**
+         * Factors Sod once; later requests for the same matrix reuse the
+         * factorization.
+         *
+         * @param Sod
+         * @return
+         */
+        protected CovarianceFactorization factorize(StructuredCovariance Sod) {
+            if ((SodFactorization == null) || !SodFactorization.isFactorizationOf(Sod)) {
+                SodFactorization = CovarianceFactorization.ofStructured(Sod);
+            }
+            return SodFactorization;
         }
 
         /**
          *
          * @return
          */
-        protected abstract Matrix calcSod();
+        protected abstract StructuredCovariance calcSod();
 
         /**
          *
@@ -521,24 +585,18 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
          * @param Sod
          * @return
          */
-        protected abstract double calcL(Matrix r, Matrix Sod);
+        protected abstract double calcL(Matrix r, StructuredCovariance Sod);
 
         /**
          *
          * @param S
          * @return
          */
-        protected double reduxMatrixLogDeterminant(Matrix S) {
+        protected double reduxMatrixLogDeterminant(StructuredCovariance S) {
+            // the log-determinant term is deliberately held at zero in the likelihood;
+            // factorize(S).logDeterminant() provides it without another decomposition
             double det = 0.0;
 
-            EigenvalueDecomposition ed = S.eig();
-            double[] realEigenvalues = ed.getRealEigenvalues();
-
-            double sumOfLogEigenvalues = 0.0;
-            for (int i = 0; i < realEigenvalues.length; i++) {
-                sumOfLogEigenvalues += Math.log(realEigenvalues[i]);
-            }
-
             return det;
         }
 
@@ -591,10 +649,10 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
         }
 
         /**
-         * @return the MeasuredCovMatrixS
+         * @return the MeasuredCovS
          */
-        public Matrix getMeasuredCovMatrixS() {
-            return MeasuredCovMatrixS;
+        public StructuredCovariance getMeasuredCovS() {
+            return MeasuredCovS;
         }
     }
 
@@ -630,29 +688,29 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
          *
          */
         @Override
-        protected Matrix calcSod() {
-            return MeasuredCovMatrixS.plus( //
-                    Matrix.identity(yValues.length, yValues.length)//
-                    .times(getOverDispersion()));
+        protected StructuredCovariance calcSod() {
+            return MeasuredCovS.plusDiagonal(getOverDispersion());
         }
 
         @Override
-        protected double calcL(Matrix r, Matrix Sod) {
-            return 0.5 * (r.transpose().times(Sod.solve(r)).get(0, 0) + reduxMatrixLogDeterminant(Sod));//   Math.log(Sod.det()));
+        protected double calcL(Matrix r, StructuredCovariance Sod) {
+            return 0.5 * (factorize(Sod).quadraticForm(r) + reduxMatrixLogDeterminant(Sod));//   Math.log(Sod.det()));
         }
 
         @Override
-        protected void calcGH(Matrix r, Matrix Sod) {
+        protected void calcGH(Matrix r, StructuredCovariance Sod) {
             super.calcGH(r, Sod);
 
+            CovarianceFactorization SodFactors = factorize(Sod);
+
             G.set(0, 0, -1.0 * onesV.transpose().times(SodInvR).get(0, 0));
-            G.set(1, 0, -0.5 * ((SodInvR.times(SodInvR.transpose())).trace() - SodInv.trace()));
+            G.set(1, 0, -0.5 * (SodInvR.transpose().times(SodInvR).get(0, 0) - SodFactors.traceOfInverse()));
 
-            Matrix SodInv1 = Sod.solve(onesV);
+            Matrix SodInv1 = SodFactors.solve(onesV);
             H.set(0, 0, onesV.transpose().times(SodInv1).get(0, 0));
-            H.set(0, 1, SodInv1.times(SodInvR.transpose()).trace());
+            H.set(0, 1, SodInv1.transpose().times(SodInvR).get(0, 0));
             H.set(1, 0, H.get(0, 1));
-            H.set(1, 1, (Sod.solve(SodInvR.times(SodInvR.transpose()))).trace() - 0.5 * (SodInv.times(SodInv)).trace());
+            H.set(1, 1, SodFactors.quadraticForm(SodInvR) - 0.5 * SodFactors.traceOfInverseSquared());
 
         }
 
@@ -705,36 +763,38 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
          *
          */
         @Override
-        protected Matrix calcSod() {
-            return MeasuredCovMatrixS.plus( //
-                    Matrix.identity(yValues.length, yValues.length)//
-                    .times(getOverDispersion()));
+        protected StructuredCovariance calcSod() {
+            return MeasuredCovS.plusDiagonal(getOverDispersion());
         }
 
         @Override
-        protected double calcL(Matrix r, Matrix Sod) {
-            return 0.5 * (r.transpose().times(Sod.solve(r)).get(0, 0) + reduxMatrixLogDeterminant(Sod)); //Math.log(Sod.det()));
+        protected double calcL(Matrix r, StructuredCovariance Sod) {
+            return 0.5 * (factorize(Sod).quadraticForm(r) + reduxMatrixLogDeterminant(Sod)); //Math.log(Sod.det()));
         }
 
         @Override
-        protected void calcGH(Matrix r, Matrix Sod) {
+        protected void calcGH(Matrix r, StructuredCovariance Sod) {
             super.calcGH(r, Sod);
 
             Matrix t = new Matrix(xValues.clone(), xValues.length);
-            onesVt = new Matrix(onesV.getRowDimension(), 2, 1.0);
-            onesVt.setMatrix(0, onesV.getRowDimension() - 1, 1, 1, t);
+            int n = onesV.getRowDimension();
+            onesVt = new Matrix(n, 2, 1.0);
+            onesVt.setMatrix(0, n - 1, 1, 1, t);
+
+            CovarianceFactorization SodFactors = factorize(Sod);
 
             G.setMatrix(0, 1, 0, 0, onesVt.transpose().times(SodInvR).times(-1.0));
-            G.set(2, 0, -0.5 * ((SodInvR.times(SodInvR.transpose())).trace() - SodInv.trace()));
+            G.set(2, 0, -0.5 * (SodInvR.transpose().times(SodInvR).get(0, 0) - SodFactors.traceOfInverse()));
 
-            Matrix SodInv1 = Sod.solve(onesV);
+            // columns of SodInvOnesVt are Sod\1 and Sod\t
+            Matrix SodInvOnesVt = SodFactors.solve(onesVt);
 
-            H.setMatrix(0, 1, 0, 1, onesVt.transpose().times(Sod.solve(onesVt)));
-            H.set(0, 2, (SodInv1.times(SodInvR.transpose())).trace());
+            H.setMatrix(0, 1, 0, 1, onesVt.transpose().times(SodInvOnesVt));
+            H.set(0, 2, SodInvOnesVt.getMatrix(0, n - 1, 0, 0).transpose().times(SodInvR).get(0, 0));
             H.set(2, 0, H.get(0, 2));
-            H.set(1, 2, (Sod.solve(t).times(SodInvR.transpose())).trace());
+            H.set(1, 2, SodInvOnesVt.getMatrix(0, n - 1, 1, 1).transpose().times(SodInvR).get(0, 0));
             H.set(2, 1, H.get(1, 2));
-            H.set(2, 2, (Sod.solve(SodInvR.times(SodInvR.transpose()))).trace() - 0.5 * (SodInv.times(SodInv)).trace());
+            H.set(2, 2, SodFactors.quadraticForm(SodInvR) - 0.5 * SodFactors.traceOfInverseSquared());
 
         }
 
@@ -802,19 +862,17 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
          *
          */
         @Override
-        protected Matrix calcSod() {
-            return MeasuredCovMatrixS.plus( //
-                    Matrix.identity(yValues.length, yValues.length)//
-                    .times(getOverDispersion()));
+        protected StructuredCovariance calcSod() {
+            return MeasuredCovS.plusDiagonal(getOverDispersion());
         }
 
         @Override
-        protected double calcL(Matrix r, Matrix Sod) {
-            return 0.5 * (r.transpose().times(Sod.solve(r)).get(0, 0) + reduxMatrixLogDeterminant(Sod)); //Math.log(Sod.det()));
+        protected double calcL(Matrix r, StructuredCovariance Sod) {
+            return 0.5 * (factorize(Sod).quadraticForm(r) + reduxMatrixLogDeterminant(Sod)); //Math.log(Sod.det()));
         }
 
         @Override
-        protected void calcGH(Matrix r, Matrix Sod) {
+        protected void calcGH(Matrix r, StructuredCovariance Sod) {
             super.calcGH(r, Sod);
 
             double[] JaValues = xValues.clone();
@@ -836,10 +894,11 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
             Jabc.setMatrix(0, n - 1, 1, 1, Jb);
             Jabc.setMatrix(0, n - 1, 2, 2, onesV);
 
-            Matrix SodInvJabc = Sod.solve(Jabc);
+            CovarianceFactorization SodFactors = factorize(Sod);
+            Matrix SodInvJabc = SodFactors.solve(Jabc);
 
             G.setMatrix(0, 2, 0, 0, Jabc.transpose().times(SodInvR).times(-1.0));
-            G.set(3, 0, (-0.5) * (SodInvR.transpose().times(SodInvR).get(0, 0) - SodInv.trace()));
+            G.set(3, 0, (-0.5) * (SodInvR.transpose().times(SodInvR).get(0, 0) - SodFactors.traceOfInverse()));
 
             H.setMatrix(0, 2, 0, 2, Jabc.transpose().times(SodInvJabc));
             H.set(1, 1, H.get(1, 1) - SodInvR.transpose().times(Jbb).get(0, 0));
@@ -847,7 +906,7 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
             H.set(1, 0, H.get(0, 1));
             H.setMatrix(0, 2, 3, 3, SodInvJabc.transpose().times(SodInvR));
             H.setMatrix(3, 3, 0, 2, H.getMatrix(0, 2, 3, 3).transpose());
-            H.set(3, 3, Sod.solve(SodInvR.times(SodInvR.transpose())).trace() - (0.5) * SodInv.times(SodInv).trace());
+            H.set(3, 3, SodFactors.quadraticForm(SodInvR) - (0.5) * SodFactors.traceOfInverseSquared());
 
         }
 
@@ -875,8 +934,9 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
 
             // nov 2014
             Matrix Jyintp = new Matrix(new double[]{1.0, 0.0, 1.0}, 1);
-            Matrix SlrXY = overDispersionLMAlgorithm.getMeasuredCovMatrixS();
-            Matrix MatrixJacobianYInterceptLogRatioXY = Jyintp.times(Jabc.transpose().times(SlrXY.solve(Jabc)).solve(Jabc.transpose().times(SlrXY.inverse())));
+            // factored here rather than through factorize so Sod's shared factorization is kept
+            CovarianceFactorization SlrXYFactors = CovarianceFactorization.ofStructured(MeasuredCovS);
+            Matrix MatrixJacobianYInterceptLogRatioXY = Jyintp.times(Jabc.transpose().times(SlrXYFactors.solve(Jabc)).solve(SlrXYFactors.timesInverse(Jabc.transpose())));
 
             if (initialFofX != null) {
                 initialFofX.setMatrixJyp(Jabc);
@@ -930,17 +990,17 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
          *
          */
         @Override
-        protected Matrix calcSod() {
+        protected StructuredCovariance calcSod() {
             return null; // not used, so this should not hit
         }
 
         @Override
-        protected double calcL(Matrix r, Matrix Sod) {
+        protected double calcL(Matrix r, StructuredCovariance Sod) {
             return r.transpose().times(r).get(0, 0);
         }
 
         @Override
-        protected void calcGH(Matrix r, Matrix Sod) {
+        protected void calcGH(Matrix r, StructuredCovariance Sod) {
             double[] JaValues = xValues.clone();
             for (int i = 0; i < JaValues.length; i++) {
                 JaValues[i] = Math.exp(JaValues[i] * pod[1]);
@@ -994,8 +1054,9 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
             Jabc.setMatrix(0, n - 1, 2, 2, onesV);
 
             Matrix Jyintp = new Matrix(new double[]{1.0, 0.0, 1.0}, 1);
-            Matrix SlrXY = overDispersionLMAlgorithm.getMeasuredCovMatrixS();
-            Matrix MatrixJacobianYInterceptLogRatioXY = Jyintp.times(Jabc.transpose().times(SlrXY.solve(Jabc)).solve(Jabc.transpose().times(SlrXY.inverse())));
+            // factored here rather than through factorize so Sod's shared factorization is kept
+            CovarianceFactorization SlrXYFactors = CovarianceFactorization.ofStructured(MeasuredCovS);
+            Matrix MatrixJacobianYInterceptLogRatioXY = Jyintp.times(Jabc.transpose().times(SlrXYFactors.solve(Jabc)).solve(SlrXYFactors.timesInverse(Jabc.transpose())));
 
             if (initialFofX != null) {
                 initialFofX.setMatrixJyp(Jabc);
@@ -1048,22 +1109,22 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
          *
          */
         @Override
-        protected Matrix calcSod() {
-            return MeasuredCovMatrixS;
+        protected StructuredCovariance calcSod() {
+            return MeasuredCovS;
         }
 
         @Override
-        protected double calcL(Matrix r, Matrix Sod) {
+        protected double calcL(Matrix r, StructuredCovariance Sod) {
             double L = 0.0;
             try {
-                L = r.transpose().times(Sod.solve(r)).get(0, 0);// + Math.log(MeasuredCovMatrixS.det());
+                L = factorize(Sod).quadraticForm(r);// + Math.log(MeasuredCovMatrixS.det());
             } catch (Exception e) {
             }
             return L;
         }
 
         @Override
-        protected void calcGH(Matrix r, Matrix Sod) {
+        protected void calcGH(Matrix r, StructuredCovariance Sod) {
             double[] JaValues = xValues.clone();
             for (int i = 0; i < JaValues.length; i++) {
                 JaValues[i] = Math.exp(JaValues[i] * pod[1]);
@@ -1083,8 +1144,9 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
             Jabc.setMatrix(0, n - 1, 1, 1, Jb);
             Jabc.setMatrix(0, n - 1, 2, 2, onesV);
 
-            SodInvR = Sod.solve(r);
-            Matrix SodInvJabc = Sod.solve(Jabc);
+            CovarianceFactorization SodFactors = factorize(Sod);
+            SodInvR = SodFactors.solve(r);
+            Matrix SodInvJabc = SodFactors.solve(Jabc);
 
             G.setMatrix(0, 2, 0, 0, Jabc.transpose().times(SodInvR).times(-1.0));
 
@@ -1118,10 +1180,11 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
 
             // nov 2014
             Matrix Jyintp = new Matrix(new double[]{1.0, 0.0, 1.0}, 1);
-            Matrix SlrXY = overDispersionLMAlgorithm.getMeasuredCovMatrixS();
+            // factored here rather than through factorize so Sod's shared factorization is kept
             Matrix MatrixJacobianYInterceptLogRatioXY = new Matrix(1, n, 0.0);
             try {
-                MatrixJacobianYInterceptLogRatioXY = Jyintp.times(Jabc.transpose().times(SlrXY.solve(Jabc)).solve(Jabc.transpose().times(SlrXY.inverse())));
+                CovarianceFactorization SlrXYFactors = CovarianceFactorization.ofStructured(MeasuredCovS);
+                MatrixJacobianYInterceptLogRatioXY = Jyintp.times(Jabc.transpose().times(SlrXYFactors.solve(Jabc)).solve(SlrXYFactors.timesInverse(Jabc.transpose())));
             } catch (Exception e) {
             }
             if (initialFofX != null) {
@@ -1184,13 +1247,7 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
         public double[] calculateInterpolatedVariances(Matrix Jf, double[] timesForMatrix) {
             // Matrix Jf not used in this fitfunction
 
-            matrixSf = new Matrix(timesForMatrix.length, timesForMatrix.length, fitParameterCovarianceMatrix.get(0, 0));
-
-            double[] stdVariances = new double[matrixSf.getRowDimension()];
-            for (int i = 0; i < stdVariances.length; i++) {
-                stdVariances[i] = matrixSf.get(i, i);
-            }
-            return stdVariances;
+            return setMatrixSfFactors(new Matrix(timesForMatrix.length, 1, 1.0), fitParameterCovarianceMatrix.getMatrix(0, 0, 0, 0));
         }
 
         @Override
@@ -1295,14 +1352,7 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
         @Override
         public double[] calculateInterpolatedVariances(Matrix Jf, double[] timesForMatrix) {
 
-            matrixSf = Jf.times(fitParameterCovarianceMatrix.getMatrix(0, 1, 0, 1)).times(Jf.transpose());
-
-            double[] stdVariances = new double[matrixSf.getRowDimension()];
-            for (int i = 0; i < stdVariances.length; i++) {
-                stdVariances[i] = matrixSf.get(i, i);
-            }
-
-            return stdVariances;
+            return setMatrixSfFactors(Jf.copy(), fitParameterCovarianceMatrix.getMatrix(0, 1, 0, 1));
         }
 
         @Override
@@ -1417,14 +1467,7 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
                 Jf.set(i, 2, 1.0);
             }
 
-            matrixSf = Jf.times(fitParameterCovarianceMatrix.getMatrix(0, 2, 0, 2)).times(Jf.transpose());
-
-            double[] stdVariances = new double[matrixSf.getRowDimension()];
-            for (int i = 0; i < stdVariances.length; i++) {
-                stdVariances[i] = matrixSf.get(i, i);
-            }
-
-            return stdVariances;
+            return setMatrixSfFactors(Jf.copy(), fitParameterCovarianceMatrix.getMatrix(0, 2, 0, 2));
         }
 
         @Override
@@ -18,9 +18,10 @@
  */
 package org.earthtime.Tripoli.fitFunctions;
 
-import Jama.EigenvalueDecomposition;
 import Jama.Matrix;
 import java.io.Serializable;
+import org.earthtime.Tripoli.fitFunctions.algorithms.CovarianceFactorization;
+import org.earthtime.Tripoli.fitFunctions.algorithms.StructuredCovariance;
 import org.earthtime.dataDictionaries.FitFunctionTypeEnum;
 
 /**
@@ -33,7 +34,6 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
     // Class variables
     //private static final long serialVersionUID = -7497190229192384278L;
     private static LevenbergMarquardGeneralSolverWithVecV instance = null;
-    private AbstractOverDispersionLMVecAlgorithm overDispersionLMAlgorithm;
 
     private LevenbergMarquardGeneralSolverWithVecV () {
         super();
@@ -53,9 +53,15 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
     @Override
     public AbstractFunctionOfX getFunctionOfX ( boolean[] dataActiveMap, double[] xValues, double[] yValues, Matrix MeasuredCovMatrixS, boolean calculateHatMatrix ) {
 
-        exerciseAlgorithm();
+        // used by the exponential algorithms to prime their parameters
+        return getSelectedLMAlgorithm( FitFunctionTypeEnum.EXPFAST, dataActiveMap, xValues, yValues, MeasuredCovMatrixS, calculateHatMatrix ).getInitialFofX();
+    }
+
+    @Override
+    public AbstractFunctionOfX getFunctionOfX ( boolean[] dataActiveMap, double[] xValues, double[] yValues, StructuredCovariance MeasuredCovS, boolean calculateHatMatrix ) {
 
-        return overDispersionLMAlgorithm.getInitialFofX();
+        // used by the exponential algorithms to prime their parameters
+        return getSelectedLMAlgorithm( FitFunctionTypeEnum.EXPFAST, dataActiveMap, xValues, yValues, MeasuredCovS, calculateHatMatrix ).getInitialFofX();
     }
 
     /**
@@ -76,17 +82,38 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
             Matrix MeasuredCovMatrixS,//
             boolean calculateHatMatrix ) {
 
-        //Matrix MeasuredCovVectorV = makeMeasuredCovVectorV( MeasuredCovMatrixS );
+        return getSelectedLMAlgorithm( fitFunctionType, dataActiveMap, xValues, yValues, StructuredCovariance.dense( MeasuredCovMatrixS ), calculateHatMatrix );
+    }
+
+    /**
+     * Only the diagonal of MeasuredCovS is used by the vector algorithms, so a
+     * diagonal or low-rank covariance is never expanded to a full matrix.
+     *
+     * @param fitFunctionType
+     * @param dataActiveMap
+     * @param xValues
+     * @param yValues
+     * @param MeasuredCovS
+     * @param calculateHatMatrix
+     * @return
+     */
+    public AbstractOverDispersionLMVecAlgorithm getSelectedLMAlgorithm (//
+            FitFunctionTypeEnum fitFunctionType,//
+            boolean[] dataActiveMap, //
+            double[] xValues, //
+            double[] yValues, //
+            StructuredCovariance MeasuredCovS,//
+            boolean calculateHatMatrix ) {
 
-        overDispersionLMAlgorithm = odFunctionFactory( fitFunctionType );
+        AbstractOverDispersionLMVecAlgorithm overDispersionLMAlgorithm = odFunctionFactory( fitFunctionType );
 
         overDispersionLMAlgorithm.coldInitializeFunctionAlgorithm(//
-                dataActiveMap, xValues, yValues, MeasuredCovMatrixS );
+                dataActiveMap, xValues, yValues, MeasuredCovS );
 
         if ( (fitFunctionType.compareTo( FitFunctionTypeEnum.EXPFAST ) != 0)//
                 && //
                 (overDispersionLMAlgorithm.getInitialFofX().getMSWD() >= 1.0) ) {
-            exerciseAlgorithm();
+            exerciseAlgorithm( overDispersionLMAlgorithm );
         } else {
             overDispersionLMAlgorithm.assignMatrixJypToFitFunctions();
         }
@@ -114,17 +141,40 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
             boolean calculateHatMatrix,
             AbstractFunctionOfX initialFofX ) {
 
-        overDispersionLMAlgorithm = odFunctionFactory( fitFunctionType );
+        return getSelectedLMAlgorithmUsingIntialFofX( fitFunctionType, dataActiveMap, xValues, yValues, StructuredCovariance.dense( MeasuredCovMatrixS ), calculateHatMatrix, initialFofX );
+    }
+
+    /**
+     *
+     * @param fitFunctionType
+     * @param dataActiveMap
+     * @param xValues
+     * @param yValues
+     * @param MeasuredCovS
+     * @param calculateHatMatrix
+     * @param initialFofX
+     * @return
+     */
+    public AbstractOverDispersionLMVecAlgorithm getSelectedLMAlgorithmUsingIntialFofX (//
+            FitFunctionTypeEnum fitFunctionType,//
+            boolean[] dataActiveMap, //
+            double[] xValues, //
+            double[] yValues, //
+            StructuredCovariance MeasuredCovS,//
+            boolean calculateHatMatrix,
+            AbstractFunctionOfX initialFofX ) {
+
+        AbstractOverDispersionLMVecAlgorithm overDispersionLMAlgorithm = odFunctionFactory( fitFunctionType );
 
         overDispersionLMAlgorithm.hotInitializeFunctionAlgorithm(//
-                dataActiveMap, xValues, yValues, MeasuredCovMatrixS, initialFofX );
+                dataActiveMap, xValues, yValues, MeasuredCovS, initialFofX );
 
-        exerciseAlgorithm();
+        exerciseAlgorithm( overDispersionLMAlgorithm );
 
         return overDispersionLMAlgorithm;
     }
 
-    private AbstractFunctionOfX exerciseAlgorithm () {
+    private AbstractFunctionOfX exerciseAlgorithm ( AbstractOverDispersionLMVecAlgorithm overDispersionLMAlgorithm ) {
 
         // determine count of datapoints to be used
         System.out.println( "LM is attempting to fit using " + overDispersionLMAlgorithm.getClass().getSimpleName() );
@@ -345,7 +395,7 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
         /**
          *
          */
-        protected Matrix MeasuredCovMatrixS;
+        protected StructuredCovariance MeasuredCovS;
 
         /**
          *
@@ -381,6 +431,11 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
          *
          */
         protected Matrix VodInvR;
+
+        /**
+         * factorization of the most recent Vod, shared by calcGH and its subclasses
+         */
+        protected transient CovarianceFactorization VodFactorization;
         // the isnatnce that will cerate the fit function
 
         /**
@@ -420,17 +475,17 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
          * @param dataActiveMap
          * @param xValues
          * @param yValues
-         * @param MeasuredCovMatrixS
+         * @param MeasuredCovS
          * @param myInitialFofX
          */
-        protected void hotInitializeFunctionAlgorithm ( boolean[] dataActiveMap, double[] xValues, double[] yValues, Matrix MeasuredCovMatrixS, AbstractFunctionOfX myInitialFofX ) {
+        protected void hotInitializeFunctionAlgorithm ( boolean[] dataActiveMap, double[] xValues, double[] yValues, StructuredCovariance MeasuredCovS, AbstractFunctionOfX myInitialFofX ) {
 
-            initializeFunctionAlgorithm( dataActiveMap, xValues, yValues, MeasuredCovMatrixS );
+            initializeFunctionAlgorithm( dataActiveMap, xValues, yValues, MeasuredCovS );
 
             initialFofX = myInitialFofX;
 
             if ( initialFofX != null ) {
-                initializeFunctionParameters( MeasuredCovMatrixS.get( 0, 0 ) * 0.1 );
+                initializeFunctionParameters( MeasuredCovS.get( 0, 0 ) * 0.1 );
             }
         }
 
@@ -439,34 +494,34 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
          * @param dataActiveMap
          * @param xValues
          * @param yValues
-         * @param MeasuredCovVectorV
+         * @param MeasuredCovS
          */
-        protected void coldInitializeFunctionAlgorithm ( boolean[] dataActiveMap, double[] xValues, double[] yValues, Matrix MeasuredCovVectorV ) {
+        protected void coldInitializeFunctionAlgorithm ( boolean[] dataActiveMap, double[] xValues, double[] yValues, StructuredCovariance MeasuredCovS ) {
 
-            initializeFunctionAlgorithm( dataActiveMap, xValues, yValues, MeasuredCovVectorV );
+            initializeFunctionAlgorithm( dataActiveMap, xValues, yValues, MeasuredCovS );
 
             if ( this instanceof ExponentialFastNoOD ) {
                 // this first call is to prime the pump for internal exp-fast and mat
 //                this.xValues = xValues; // needed for data count
-                initializeFunctionParameters( MeasuredCovVectorV.get( 0, 0 ) * 0.1 );
-                initialFofX = initialFuncFit.getFunctionOfX( dataActiveMap, xValues, yValues, MeasuredCovVectorV, false );
+                initializeFunctionParameters( MeasuredCovS.get( 0, 0 ) * 0.1 );
+                exerciseAlgorithm( this );
             } else {
 
-                initialFofX = initialFuncFit.getFunctionOfX( dataActiveMap, xValues, yValues, MeasuredCovVectorV, false );
+                initialFofX = initialFuncFit.getFunctionOfX( dataActiveMap, xValues, yValues, MeasuredCovS, false );
                 if ( initialFofX != null ) {
-                    initializeFunctionParameters( MeasuredCovVectorV.get( 0, 0 ) * 0.1 );
+                    initializeFunctionParameters( MeasuredCovS.get( 0, 0 ) * 0.1 );
                 }
             }
 
         }
 
-        private void initializeFunctionAlgorithm ( boolean[] dataActiveMap, double[] xValues, double[] yValues, Matrix MeasuredCovMatrixS ) {
+        private void initializeFunctionAlgorithm ( boolean[] dataActiveMap, double[] xValues, double[] yValues, StructuredCovariance MeasuredCovS ) {
 
             this.xValues = xValues;
             this.yValues = yValues;
-            this.MeasuredCovMatrixS = MeasuredCovMatrixS;
+            this.MeasuredCovS = MeasuredCovS;
             // strip out diagonal
-            this.MeasuredCovVectorV = makeMeasuredCovVectorV( MeasuredCovMatrixS );
+            this.MeasuredCovVectorV = MeasuredCovS.getDiagonalVector();
 
             onesV = new Matrix( yValues.length, 1, 1.0 );
 
@@ -533,13 +588,23 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
          * @param Vod
          */
         protected void calcGH ( Matrix r, Matrix Vod ) {
-            VodInv = Vod.copy();
-            VodInvR = Vod.copy();
+            CovarianceFactorization VodFactors = factorize( Vod );
+            VodInv = VodFactors.solve( onesV );
+            VodInvR = VodFactors.solve( r );
+        }
 
-            for (int i = 0; i < Vod.getRowDimension(); i ++) {
-                VodInv.set( i, 0, 1.0 / Vod.get( i, 0 ) );
-                VodInvR.set( i, 0, r.get( i, 0 ) / Vod.get( i, 0 ) );
+        /**
+         * Vod is a vector of variances, so its factorization is the diagonal
+         * itself; later requests for the same vector reuse it.
+         *
+         * @param Vod
+         * @return
+         */
+        protected CovarianceFactorization factorize ( Matrix Vod ) {
+            if ( (VodFactorization == null) ||  ! VodFactorization.isFactorizationOf( Vod ) ) {
+                VodFactorization = CovarianceFactorization.ofDiagonal( Vod );
             }
+            return VodFactorization;
         }
 
         /**
@@ -562,16 +627,10 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
          * @return
          */
         protected double reduxMatrixLogDeterminant ( Matrix S ) {
+            // the log-determinant term is deliberately held at zero in the likelihood;
+            // factorize(S).logDeterminant() provides it without another decomposition
             double det = 0.0;
 
-            EigenvalueDecomposition ed = S.eig();
-            double[] realEigenvalues = ed.getRealEigenvalues();
-
-            double sumOfLogEigenvalues = 0.0;
-            for (int i = 0; i < realEigenvalues.length; i ++) {
-                sumOfLogEigenvalues += Math.log( realEigenvalues[i] );
-            }
-
             return det;
         }
 
@@ -631,11 +690,10 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
         }
 
         /**
-         *
-         * @return
+         * @return the MeasuredCovS, in the form it was given
          */
-        public Matrix getMeasuredCovMatrixS () {
-            return MeasuredCovMatrixS;
+        public StructuredCovariance getMeasuredCovS () {
+            return MeasuredCovS;
         }
     }
 
@@ -1253,13 +1311,7 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
         public double[] calculateInterpolatedVariances ( Matrix Jf, double[] timesForMatrix ) {
             // Matrix Jf not used in this fitfunction
 
-            matrixSf = new Matrix( timesForMatrix.length, timesForMatrix.length, fitParameterCovarianceMatrix.get( 0, 0 ) );
-
-            double[] stdVariances = new double[matrixSf.getRowDimension()];
-            for (int i = 0; i < stdVariances.length; i ++) {
-                stdVariances[i] = matrixSf.get( i, i );
-            }
-            return stdVariances;
+            return setMatrixSfFactors( new Matrix( timesForMatrix.length, 1, 1.0 ), fitParameterCovarianceMatrix.getMatrix( 0, 0, 0, 0 ) );
         }
 
         @Override
@@ -1364,14 +1416,7 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
         @Override
         public double[] calculateInterpolatedVariances ( Matrix Jf, double[] timesForMatrix ) {
 
-            matrixSf = Jf.times( fitParameterCovarianceMatrix.getMatrix( 0, 1, 0, 1 ) ).times( Jf.transpose() );
-
-            double[] stdVariances = new double[matrixSf.getRowDimension()];
-            for (int i = 0; i < stdVariances.length; i ++) {
-                stdVariances[i] = matrixSf.get( i, i );
-            }
-
-            return stdVariances;
+            return setMatrixSfFactors( Jf.copy(), fitParameterCovarianceMatrix.getMatrix( 0, 1, 0, 1 ) );
         }
 
         @Override
@@ -1486,14 +1531,7 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
                 Jf.set( i, 2, 1.0 );
             }
 
-            matrixSf = Jf.times( fitParameterCovarianceMatrix.getMatrix( 0, 2, 0, 2 ) ).times( Jf.transpose() );
-
-            double[] stdVariances = new double[matrixSf.getRowDimension()];
-            for (int i = 0; i < stdVariances.length; i ++) {
-                stdVariances[i] = matrixSf.get( i, i );
-            }
-
-            return stdVariances;
+            return setMatrixSfFactors( Jf.copy(), fitParameterCovarianceMatrix.getMatrix( 0, 2, 0, 2 ) );
         }
 
         @Override
@@ -1585,13 +1623,4 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
             return Jpy.getMatrix( 0, 0, 0, Jpy.getColumnDimension() - 1 ).plus( Jpy.getMatrix( 2, 2, 0, Jpy.getColumnDimension() - 1 ) );
         }
     }
-
-    private Matrix makeMeasuredCovVectorV ( Matrix MeasuredCovMatrixS ) {
-        Matrix MeasuredCovVectorV = new Matrix( MeasuredCovMatrixS.getRowDimension(), 1 );
-        for (int i = 0; i < MeasuredCovVectorV.getRowDimension(); i ++) {
-            MeasuredCovVectorV.set( i, 0, MeasuredCovMatrixS.get( i, i ) );
-        }
-
-        return MeasuredCovVectorV;
-    }
 }
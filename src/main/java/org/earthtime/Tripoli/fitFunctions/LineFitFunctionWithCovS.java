@@ -19,6 +19,7 @@ package org.earthtime.Tripoli.fitFunctions;
 
 import Jama.Matrix;
 import java.io.Serializable;
+import org.earthtime.Tripoli.fitFunctions.algorithms.StructuredCovariance;
 import org.earthtime.dataDictionaries.FitFunctionTypeEnum;
 
 /**
@@ -57,6 +58,21 @@ public class LineFitFunctionWithCovS implements FitFunctionInterface, Serializab
     @Override
     public AbstractFunctionOfX getFunctionOfX(//
             boolean[] dataActiveMap, double[] xValues, double[] yValues, Matrix MeasuredCovMatrixS, boolean calculateHatMatrix) {
+        return getFunctionOfX(dataActiveMap, xValues, yValues, StructuredCovariance.dense(MeasuredCovMatrixS), calculateHatMatrix);
+    }
+
+    /**
+     *
+     * @param dataActiveMap
+     * @param xValues
+     * @param yValues
+     * @param MeasuredCovMatrixS
+     * @param calculateHatMatrix
+     * @return
+     */
+    @Override
+    public AbstractFunctionOfX getFunctionOfX(//
+            boolean[] dataActiveMap, double[] xValues, double[] yValues, StructuredCovariance MeasuredCovMatrixS, boolean calculateHatMatrix) {
 
         // modified Nov 2012 for MeasuredCovMatrixS
         // determine count of datapoints to be used
@@ -97,7 +113,7 @@ public class LineFitFunctionWithCovS implements FitFunctionInterface, Serializab
                 fitM.get(0, 0));
 
         // nov 2014
-        Matrix JYintLR_twoRow = C.solve(aM.transpose()).times(MeasuredCovMatrixS.inverse());
+        Matrix JYintLR_twoRow = MeasuredCovMatrixS.timesInverse(C.solve(aM.transpose()));
         myFofX.setMatrixJacobianYInterceptLogRatioXY(JYintLR_twoRow.getMatrix(0, 0, 0, countOfActiveData - 1));
         
         // The covariance matrix for the y-intercept and slope, analogous to Vp from Levenberg-Marquardt
@@ -145,7 +161,7 @@ public class LineFitFunctionWithCovS implements FitFunctionInterface, Serializab
         //For the mean, without overdispersion 
         //BIC = -(r'*(Sib\r) - 2 * log(det(Sib)) + m*log(n)
         //BIC = -transpose(residuals).times( (Sib.solve(r) ) - 2 * log(det(Sib)) + m*log(n)
-        myFofX.setBIC(residuals.transpose().times(MeasuredCovMatrixS.solve(residuals)).get(0, 0) + Math.log(MeasuredCovMatrixS.det()) + 2.0 * Math.log(countOfActiveData));
+        myFofX.setBIC(residuals.transpose().times(MeasuredCovMatrixS.solve(residuals)).get(0, 0) + MeasuredCovMatrixS.logDet() + 2.0 * Math.log(countOfActiveData));
 
 
         return myFofX;
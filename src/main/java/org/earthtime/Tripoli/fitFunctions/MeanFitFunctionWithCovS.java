@@ -20,6 +20,7 @@ package org.earthtime.Tripoli.fitFunctions;
 
 import Jama.Matrix;
 import java.io.Serializable;
+import org.earthtime.Tripoli.fitFunctions.algorithms.StructuredCovariance;
 import org.earthtime.dataDictionaries.FitFunctionTypeEnum;
 
 /**
@@ -58,6 +59,20 @@ public class MeanFitFunctionWithCovS implements FitFunctionInterface, Serializab
      */
     @Override
     public AbstractFunctionOfX getFunctionOfX ( boolean[] dataActiveMap, double[] xValues, double[] yValues, Matrix MeasuredCovMatrixS, boolean calculateHatMatrix ) {
+        return getFunctionOfX( dataActiveMap, xValues, yValues, StructuredCovariance.dense( MeasuredCovMatrixS ), calculateHatMatrix );
+    }
+
+    /**
+     *
+     * @param dataActiveMap
+     * @param xValues
+     * @param yValues
+     * @param MeasuredCovMatrixS
+     * @param calculateHatMatrix
+     * @return
+     */
+    @Override
+    public AbstractFunctionOfX getFunctionOfX ( boolean[] dataActiveMap, double[] xValues, double[] yValues, StructuredCovariance MeasuredCovMatrixS, boolean calculateHatMatrix ) {
 
         // Nov 2012
         // determine count of datapoints to be used
@@ -134,7 +149,7 @@ public class MeanFitFunctionWithCovS implements FitFunctionInterface, Serializab
         //For the mean, without overdispersion 
         //BIC = -(r'*(Sib\r) - 2 * log(det(Sib)) + m*log(n)
         //BIC = -transpose(residuals).times( (Sib.solve(r) ) - 2 * log(det(Sib)) + m*log(n)
-        myFofX.setBIC( residuals.transpose().times( MeasuredCovMatrixS.solve( residuals ) ).get( 0, 0 ) + Math.log( MeasuredCovMatrixS.det() ) + Math.log( countOfActiveData ) );
+        myFofX.setBIC( residuals.transpose().times( MeasuredCovMatrixS.solve( residuals ) ).get( 0, 0 ) + MeasuredCovMatrixS.logDet() + Math.log( countOfActiveData ) );
 
         return myFofX;
     }
@@ -20,6 +20,7 @@ package org.earthtime.Tripoli.fitFunctions;
 import Jama.Matrix;
 import java.io.Serializable;
 import java.util.ArrayList;
+import org.earthtime.Tripoli.fitFunctions.algorithms.ReinschBandedSmoothingSpline;
 import org.earthtime.dataDictionaries.FitFunctionTypeEnum;
 
 /**
@@ -71,7 +72,18 @@ public class SmoothingSplineWithCov implements FitFunctionInterface, Serializabl
         // initialize working values per Noah's implementation Aug 2011
         // time
 //        double[] t = new double[countOfActiveData];
-        Matrix W = Ss.inverse();
+        // uncorrelated data use the O(n) banded Reinsch solver; full covariance uses dense matrices
+        ReinschBandedSmoothingSpline bandedSpline = null;
+        Matrix W = null;
+        if ( isDiagonal( Ss ) ) {
+            double[] variances = new double[countOfActiveData];
+            for (int i = 0; i < countOfActiveData; i ++) {
+                variances[i] = Ss.get( i, i );
+            }
+            bandedSpline = new ReinschBandedSmoothingSpline( t, variances, yValues );
+        } else {
+            W = Ss.inverse();
+        }
 
         double[][] a = new double[countOfActiveData][2];
         // y values
@@ -101,32 +113,39 @@ public class SmoothingSplineWithCov implements FitFunctionInterface, Serializabl
             h[i] = t[i + 1] - t[i];
         }
 
-        Matrix Q = new Matrix( countOfActiveData, countOfActiveData - 1 );
-        Matrix R = new Matrix( countOfActiveData - 1, countOfActiveData - 1 );
+        Matrix Q = null;
+        Matrix R = null;
+        Matrix K = null;
+        int i;
+
+        if ( bandedSpline == null ) {
+            Q = new Matrix( countOfActiveData, countOfActiveData - 1 );
+            R = new Matrix( countOfActiveData - 1, countOfActiveData - 1 );
+
+            for (int j = 2; j < countOfActiveData - 1; j ++) {
+                i = j - 1;
 
-        for (int j = 2; j < countOfActiveData - 1; j ++) {
-            int i = j - 1;
+                Q.set( i - 1, i, 1.0 / h[i - 1] );
+                Q.set( i, i,  - (1.0 / h[i - 1] + 1.0 / h[i]) );
+                Q.set( i + 1, i, 1.0 / h[i] );
 
+                R.set( i, i, (h[i - 1] + h[i]) / 3.0 );
+                R.set( i, i + 1, h[i] / 6.0 );
+                R.set( i + 1, i, h[i] / 6.0 );
+            }
+
+            i = countOfActiveData - 2;
             Q.set( i - 1, i, 1.0 / h[i - 1] );
             Q.set( i, i,  - (1.0 / h[i - 1] + 1.0 / h[i]) );
             Q.set( i + 1, i, 1.0 / h[i] );
 
             R.set( i, i, (h[i - 1] + h[i]) / 3.0 );
-            R.set( i, i + 1, h[i] / 6.0 );
-            R.set( i + 1, i, h[i] / 6.0 );
-        }
-
-        int i = countOfActiveData - 2;
-        Q.set( i - 1, i, 1.0 / h[i - 1] );
-        Q.set( i, i,  - (1.0 / h[i - 1] + 1.0 / h[i]) );
-        Q.set( i + 1, i, 1.0 / h[i] );
-
-        R.set( i, i, (h[i - 1] + h[i]) / 3.0 );
 
-        Q = Q.getMatrix( 0, Q.getRowDimension() - 1, 1, Q.getColumnDimension() - 1 );
-        R = R.getMatrix( 1, R.getRowDimension() - 1, 1, R.getColumnDimension() - 1 );
+            Q = Q.getMatrix( 0, Q.getRowDimension() - 1, 1, Q.getColumnDimension() - 1 );
+            R = R.getMatrix( 1, R.getRowDimension() - 1, 1, R.getColumnDimension() - 1 );
 
-        Matrix K = Q.times( R.solve( Q.transpose() ) );
+            K = Q.times( R.solve( Q.transpose() ) );
+        }
 
 
 
@@ -136,7 +155,6 @@ public class SmoothingSplineWithCov implements FitFunctionInterface, Serializabl
 
         // rootbracket v3 per Noah
         long starttime = System.currentTimeMillis();
-        Matrix g = null;
         double alpha = 0.0;
         boolean signChange = false;
         double redChiSqOld = 0.0;
@@ -158,35 +176,14 @@ public class SmoothingSplineWithCov implements FitFunctionInterface, Serializabl
             iExp ++;
             i = 1;
             alpha = 1.0;
-            g = (W.plus( K.times( alpha ) )).solve( W.times( Y ) );
-
-            Matrix aQtSsQinv = Q.transpose().times( Ss ).times( Q ).times( alpha );
-            ImAwAlpha = //
-                    Ss.times( Q.times(//
-                    (R.plus( aQtSsQinv )).inverse().times( Q.transpose() ) )//
-                    .times( alpha ) );
-            effectiveDegreesOfFreedom = ImAwAlpha.trace();
-
-            redChiSqNew = Y.minus( g ).transpose().times( W ).times( Y.minus( g ) ).get( 0, 0 );
-            redChiSqNew = redChiSqNew / effectiveDegreesOfFreedom - 1.0;
+            redChiSqNew = calculateReducedChiSquared( alpha, bandedSpline, W, Y, K, Ss, Q, R );
 
             if ( Math.signum( redChiSqNew ) < 1 ) {
                 while (( ! signChange) && (i <= iMax)) {
                     redChiSqOld = redChiSqNew;
                     i = i + 1;
                     alpha = Math.pow( i, iExp );
-
-                    g = (W.plus( K.times( alpha ) )).solve( W.times( Y ) );
-
-                    aQtSsQinv = Q.transpose().times( Ss ).times( Q ).times( alpha );
-                    ImAwAlpha = //
-                            Ss.times( Q.times(//
-                            (R.plus( aQtSsQinv )).inverse().times( Q.transpose() ) )//
-                            .times( alpha ) );
-                    effectiveDegreesOfFreedom = ImAwAlpha.trace();
-
-                    redChiSqNew = Y.minus( g ).transpose().times( W ).times( Y.minus( g ) ).get( 0, 0 );
-                    redChiSqNew = redChiSqNew / effectiveDegreesOfFreedom - 1.0;
+                    redChiSqNew = calculateReducedChiSquared( alpha, bandedSpline, W, Y, K, Ss, Q, R );
 
                     signChange = (Math.signum( redChiSqNew ) > -1);
                 }
@@ -223,7 +220,7 @@ public class SmoothingSplineWithCov implements FitFunctionInterface, Serializabl
                     redChiSqHigh, //
                     iMax, //
                     adiffLimit, //
-                    W, Y, K, Ss, Q, R );
+                    bandedSpline, W, Y, K, Ss, Q, R );
 
             long endtime = System.currentTimeMillis();
             System.out.println( "ROOT BRACKET plus RIDDERS TIME = " + (endtime - starttime) );
@@ -244,21 +241,33 @@ public class SmoothingSplineWithCov implements FitFunctionInterface, Serializabl
             ((FofX_SmoothingSpline) myFofX).setK( K );
             ((FofX_SmoothingSpline) myFofX).setQ( Q );
             ((FofX_SmoothingSpline) myFofX).setR( R );
+            ((FofX_SmoothingSpline) myFofX).setBandedSpline( bandedSpline );
 
             // call last so that g and gamma can be computed
             ((FofX_SmoothingSpline) myFofX).setA( alphaBest );
 
-            // q r ss
-            Matrix aQtSsQinv = Q.transpose().times( Ss ).times( Q ).times( alphaBest );
-            Matrix bracket = (R.plus( aQtSsQinv )).solve( Q.transpose() );
-            ImAwAlpha = //
-                    (Ss.times( Q ).times(//
-                    bracket ))//
-                    .times( alphaBest );
-            effectiveDegreesOfFreedom = ImAwAlpha.trace();
+            double redChiSqBest;
+            double roughness;
+            if ( bandedSpline != null ) {
+                // setA has fit the banded spline at alphaBest
+                effectiveDegreesOfFreedom = bandedSpline.calculateTraceOfImAwAlpha();
+                redChiSqBest = bandedSpline.calculateChiSquared();
+                roughness = bandedSpline.calculateRoughness();
+                ImAwAlpha = calculateHatMatrix ? new Matrix( bandedSpline.calculateImAwAlpha() ) : null;
+            } else {
+                // q r ss
+                Matrix aQtSsQinv = Q.transpose().times( Ss ).times( Q ).times( alphaBest );
+                Matrix bracket = (R.plus( aQtSsQinv )).solve( Q.transpose() );
+                ImAwAlpha = //
+                        (Ss.times( Q ).times(//
+                        bracket ))//
+                        .times( alphaBest );
+                effectiveDegreesOfFreedom = ImAwAlpha.trace();
 
-            g = (W.plus( K.times( alphaBest ) )).solve( W.times( Y ) );
-            double redChiSqBest = Y.minus( g ).transpose().times( W ).times( Y.minus( g ) ).get( 0, 0 );
+                Matrix g = (W.plus( K.times( alphaBest ) )).solve( W.times( Y ) );
+                redChiSqBest = Y.minus( g ).transpose().times( W ).times( Y.minus( g ) ).get( 0, 0 );
+                roughness = g.transpose().times( K.times( g ) ).get( 0, 0 );
+            }
 
             if ( calculateHatMatrix ) {
                 Matrix hatMatrix = //
@@ -276,7 +285,7 @@ public class SmoothingSplineWithCov implements FitFunctionInterface, Serializabl
             myFofX.setFitParameterCovarianceMatrix( new Matrix( //
                     new double[][]{{Math.pow( myFofX.getA() / 4, 2 )}} ) );
 
-            myFofX.setLogRoughness( Math.log( g.transpose().times( K.times(g) ).get( 0,0) / countOfActiveData ));
+            myFofX.setLogRoughness( Math.log( roughness / countOfActiveData ) );
 
             System.out.println( "Spline Solve: a = " + myFofX.getA() + " chiSqr = " + redChiSqBest );
         }
@@ -293,6 +302,7 @@ public class SmoothingSplineWithCov implements FitFunctionInterface, Serializabl
             double redChiSqHigh,
             int iMax,
             double adiffLimit,
+            ReinschBandedSmoothingSpline bandedSpline,
             Matrix W,
             Matrix Y,
             Matrix K,
@@ -301,22 +311,11 @@ public class SmoothingSplineWithCov implements FitFunctionInterface, Serializabl
             Matrix R ) {
 
         double alphaBest = 0.0;
-        Matrix g = null;
 
         for (int i = 1; i <= iMax; i ++) {
 
             double alphaMid = (alphaLow + alphaHigh) / 2.0;
-            g = (W.plus( K.times( alphaMid ) )).solve( W.times( Y ) );
-
-            Matrix aQtSsQinv = Q.transpose().times( Ss ).times( Q ).times( alphaMid );
-            Matrix ImAwAlpha = //
-                    Ss.times( Q.times(//
-                    (R.plus( aQtSsQinv )).inverse().times( Q.transpose() ) )//
-                    .times( alphaMid ) );
-            double effectiveDegreesOfFreedom = ImAwAlpha.trace();
-
-            double redChiSqMid = Y.minus( g ).transpose().times( W ).times( Y.minus( g ) ).get( 0, 0 );
-            redChiSqMid = redChiSqMid / effectiveDegreesOfFreedom - 1.0;
+            double redChiSqMid = calculateReducedChiSquared( alphaMid, bandedSpline, W, Y, K, Ss, Q, R );
 
             double s = Math.sqrt( redChiSqMid * redChiSqMid - redChiSqLow * redChiSqHigh );
             if ( s == 0 ) {
@@ -324,17 +323,7 @@ public class SmoothingSplineWithCov implements FitFunctionInterface, Serializabl
             } else {
                 // calculate new best guess
                 alphaBest = alphaMid + (alphaMid - alphaLow) * Math.signum( redChiSqLow - redChiSqHigh ) * redChiSqMid / s;
-                g = (W.plus( K.times( alphaBest ) )).solve( W.times( Y ) );
-
-                aQtSsQinv = Q.transpose().times( Ss ).times( Q ).times( alphaBest );
-                ImAwAlpha = //
-                        Ss.times( Q.times(//
-                        (R.plus( aQtSsQinv )).inverse().times( Q.transpose() ) )//
-                        .times( alphaBest ) );
-                effectiveDegreesOfFreedom = ImAwAlpha.trace();
-
-                double redChiSqBest = Y.minus( g ).transpose().times( W ).times( Y.minus( g ) ).get( 0, 0 );
-                redChiSqBest = redChiSqBest / effectiveDegreesOfFreedom - 1.0;
+                double redChiSqBest = calculateReducedChiSquared( alphaBest, bandedSpline, W, Y, K, Ss, Q, R );
 
                 double adiffPCT = Math.abs( alphaBest - alphaMid ) / alphaMid * 100;
                 if ( adiffPCT >= adiffLimit ) {
@@ -361,6 +350,49 @@ public class SmoothingSplineWithCov implements FitFunctionInterface, Serializabl
         return alphaBest;
     }
     
+    private double calculateReducedChiSquared (
+            double alpha,
+            ReinschBandedSmoothingSpline bandedSpline,
+            Matrix W,
+            Matrix Y,
+            Matrix K,
+            Matrix Ss,
+            Matrix Q,
+            Matrix R ) {
+
+        double chiSquared;
+        double effectiveDegreesOfFreedom;
+
+        if ( bandedSpline != null ) {
+            bandedSpline.fit( alpha );
+            chiSquared = bandedSpline.calculateChiSquared();
+            effectiveDegreesOfFreedom = bandedSpline.calculateTraceOfImAwAlpha();
+        } else {
+            Matrix g = (W.plus( K.times( alpha ) )).solve( W.times( Y ) );
+
+            Matrix aQtSsQinv = Q.transpose().times( Ss ).times( Q ).times( alpha );
+            Matrix ImAwAlpha = //
+                    Ss.times( Q.times(//
+                    (R.plus( aQtSsQinv )).inverse().times( Q.transpose() ) )//
+                    .times( alpha ) );
+            effectiveDegreesOfFreedom = ImAwAlpha.trace();
+
+            chiSquared = Y.minus( g ).transpose().times( W ).times( Y.minus( g ) ).get( 0, 0 );
+        }
+
+        return chiSquared / effectiveDegreesOfFreedom - 1.0;
+    }
+
+    private static boolean isDiagonal ( Matrix Ss ) {
+        boolean diagonal = true;
+        for (int i = 0; diagonal && (i < Ss.getRowDimension()); i ++) {
+            for (int j = 0; diagonal && (j < Ss.getColumnDimension()); j ++) {
+                diagonal = (i == j) || (Ss.get( i, j ) == 0.0);
+            }
+        }
+        return diagonal;
+    }
+
     /**
      *
      * @return
@@ -386,6 +418,8 @@ public class SmoothingSplineWithCov implements FitFunctionInterface, Serializabl
         private Matrix Y;
         private Matrix Q;
         private Matrix R;
+        // replaces W, K, Q and R when the data covariance is diagonal
+        private ReinschBandedSmoothingSpline bandedSpline;
         private double effectiveDegreesOfFreedom;
 //        private double[] gMinus;
 //        private double[] gammaMinus;
@@ -430,20 +464,20 @@ public class SmoothingSplineWithCov implements FitFunctionInterface, Serializabl
         @Override
         public double[] calculateInterpolatedVariances ( Matrix Jf, double[] timesForMatrix ) {
             // timesForMatrix not used in this fitfunction
-            matrixSf = Jf.times( hatMatrix ).times( Ss ).times( hatMatrix.transpose() ).times( Jf.transpose() );
-
-            double[] stdVariances = new double[matrixSf.getRowDimension()];
-            for (int i = 0; i < stdVariances.length; i ++) {
-                stdVariances[i] = matrixSf.get( i, i );
-            }
-
-            return stdVariances;
+            return setMatrixSfFactors( Jf.times( hatMatrix ), Ss.copy() );
         }
 
         // used to change alpha via slider in fitfunction view
         @Override
         public void setA ( double alpha ) {
             a = alpha;
+            if ( bandedSpline != null ) {
+                bandedSpline.fit( alpha );
+                g = bandedSpline.getG().clone();
+                gamma = bandedSpline.calculateGamma();
+                return;
+            }
+
             Matrix G = (W.plus( K.times( alpha ) )).solve( W.times( Y ) );
             g = G.getColumnPackedCopy();
 
@@ -472,6 +506,7 @@ public class SmoothingSplineWithCov implements FitFunctionInterface, Serializabl
                 setY( ((FofX_SmoothingSpline) copyFrom).getY() );
                 setQ( ((FofX_SmoothingSpline) copyFrom).getQ() );
                 setR( ((FofX_SmoothingSpline) copyFrom).getR() );
+                setBandedSpline( ((FofX_SmoothingSpline) copyFrom).getBandedSpline() );
             } else {
                 // line
                 setA( copyFrom.getA() );
@@ -752,6 +787,20 @@ public class SmoothingSplineWithCov implements FitFunctionInterface, Serializabl
             return R;
         }
 
+        /**
+         * @return the bandedSpline
+         */
+        public ReinschBandedSmoothingSpline getBandedSpline () {
+            return bandedSpline;
+        }
+
+        /**
+         * @param bandedSpline the bandedSpline to set
+         */
+        public void setBandedSpline ( ReinschBandedSmoothingSpline bandedSpline ) {
+            this.bandedSpline = bandedSpline;
+        }
+
         /**
          * @return the Ss
          */
@@ -0,0 +1,331 @@
+/*
+ * CovarianceFactorization.java
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.fitFunctions.algorithms;
+
+import Jama.CholeskyDecomposition;
+import Jama.LUDecomposition;
+import Jama.Matrix;
+import java.io.Serializable;
+
+/**
+ * A single factorization of a covariance matrix that is reused for every
+ * solve, inverse, trace and log-determinant needed by one Levenberg-Marquardt
+ * step. Dense matrices are factored by Cholesky; if the matrix is not
+ * symmetric positive definite (e.g. a trial over-dispersion has gone
+ * negative) the LU factorization is used instead, which is what
+ * <code>Matrix.solve</code> would have done. A column vector of variances is
+ * treated as a diagonal covariance matrix and needs no factorization. A
+ * diagonal-plus-low-rank StructuredCovariance is not factored either: its
+ * solves, traces and log-determinant come from the Woodbury identity, so the
+ * n x n matrix is formed only if inverse() is asked for.
+ *
+ * @author James F. Bowring
+ */
+public class CovarianceFactorization implements Serializable {
+
+    private static final long serialVersionUID = -2377314830262713406L;
+
+    private final Matrix covariance;
+    private final boolean diagonal;
+    // diagonal plus low rank form, else null
+    private final StructuredCovariance lowRank;
+    // the StructuredCovariance this was made from, if any
+    private final StructuredCovariance structured;
+    private final CholeskyDecomposition cholesky;
+    private final LUDecomposition lu;
+    private Matrix inverse;
+
+    private CovarianceFactorization(Matrix covariance, boolean diagonal) {
+        this(covariance, diagonal, null, null);
+    }
+
+    private CovarianceFactorization(Matrix covariance, boolean diagonal, StructuredCovariance lowRank, StructuredCovariance structured) {
+        this.covariance = covariance;
+        this.diagonal = diagonal;
+        this.lowRank = lowRank;
+        this.structured = structured;
+        this.inverse = null;
+
+        if (diagonal || (lowRank != null)) {
+            cholesky = null;
+            lu = null;
+        } else {
+            CholeskyDecomposition choleskyDecomposition = new CholeskyDecomposition(covariance);
+            if (choleskyDecomposition.isSPD()) {
+                cholesky = choleskyDecomposition;
+                lu = null;
+            } else {
+                cholesky = null;
+                lu = new LUDecomposition(covariance);
+            }
+        }
+    }
+
+    /**
+     *
+     * @param S square covariance matrix
+     * @return
+     */
+    public static CovarianceFactorization ofDense(Matrix S) {
+        return new CovarianceFactorization(S, false);
+    }
+
+    /**
+     *
+     * @param V column vector of variances
+     * @return
+     */
+    public static CovarianceFactorization ofDiagonal(Matrix V) {
+        return new CovarianceFactorization(V, true);
+    }
+
+    /**
+     * A dense StructuredCovariance is factored as its wrapped matrix, exactly
+     * as ofDense would.
+     *
+     * @param S
+     * @return
+     */
+    public static CovarianceFactorization ofStructured(StructuredCovariance S) {
+        CovarianceFactorization retVal;
+        if (S.isDense()) {
+            retVal = new CovarianceFactorization(S.toMatrix(), false, null, S);
+        } else if (S.isDiagonal()) {
+            retVal = new CovarianceFactorization(S.getDiagonalVector(), true, null, S);
+        } else {
+            retVal = new CovarianceFactorization(null, false, S, S);
+        }
+        return retVal;
+    }
+
+    /**
+     *
+     * @param S
+     * @return true if this factorization was made from exactly the matrix
+     * <code>S</code>
+     */
+    public boolean isFactorizationOf(Matrix S) {
+        return (covariance == S) && (structured == null);
+    }
+
+    /**
+     *
+     * @param S
+     * @return true if this factorization was made from exactly
+     * <code>S</code>
+     */
+    public boolean isFactorizationOf(StructuredCovariance S) {
+        return structured == S;
+    }
+
+    /**
+     *
+     * @return true if the dense matrix was factored by Cholesky
+     */
+    public boolean isSPD() {
+        return cholesky != null;
+    }
+
+    /**
+     *
+     * @param B
+     * @return S\B
+     */
+    public Matrix solve(Matrix B) {
+        Matrix retVal;
+        if (lowRank != null) {
+            retVal = lowRank.solve(B);
+        } else if (diagonal) {
+            retVal = B.copy();
+            for (int i = 0; i < retVal.getRowDimension(); i++) {
+                double v = covariance.get(i, 0);
+                for (int j = 0; j < retVal.getColumnDimension(); j++) {
+                    retVal.set(i, j, retVal.get(i, j) / v);
+                }
+            }
+        } else if (cholesky != null) {
+            retVal = cholesky.solve(B);
+        } else {
+            retVal = lu.solve(B);
+        }
+        return retVal;
+    }
+
+    /**
+     * S need not be symmetric: the Cholesky and diagonal forms are, so they
+     * solve against X', while the LU form multiplies by the inverse.
+     *
+     * @param X
+     * @return X*inv(S)
+     */
+    public Matrix timesInverse(Matrix X) {
+        Matrix retVal;
+        if (lowRank != null) {
+            retVal = lowRank.timesInverse(X);
+        } else if (diagonal || (cholesky != null)) {
+            retVal = solve(X.transpose()).transpose();
+        } else {
+            retVal = X.times(inverse());
+        }
+        return retVal;
+    }
+
+    /**
+     * The inverse is computed once and cached; callers must not modify it.
+     *
+     * @return inverse of S as a square matrix
+     */
+    public Matrix inverse() {
+        if (inverse == null) {
+            int n = (lowRank != null) ? lowRank.getRowDimension() : covariance.getRowDimension();
+            if (diagonal) {
+                inverse = new Matrix(n, n, 0.0);
+                for (int i = 0; i < n; i++) {
+                    inverse.set(i, i, 1.0 / covariance.get(i, 0));
+                }
+            } else {
+                inverse = solve(Matrix.identity(n, n));
+            }
+        }
+        return inverse;
+    }
+
+    /**
+     *
+     * @return trace of the inverse of S
+     */
+    public double traceOfInverse() {
+        double trace = 0.0;
+        if (lowRank != null) {
+            // inv(S) = inv(D) - A*B' with A = inv(D)*U*inv(C) and B = inv(D)*V
+            double[] d = lowRank.getDiagonalTerm();
+            Matrix A = woodburyLeftFactor();
+            Matrix B = lowRank.inverseDiagonalTimesV();
+            for (int i = 0; i < d.length; i++) {
+                trace += 1.0 / d[i];
+                for (int j = 0; j < A.getColumnDimension(); j++) {
+                    trace -= A.get(i, j) * B.get(i, j);
+                }
+            }
+        } else if (diagonal) {
+            for (int i = 0; i < covariance.getRowDimension(); i++) {
+                trace += 1.0 / covariance.get(i, 0);
+            }
+        } else {
+            trace = inverse().trace();
+        }
+        return trace;
+    }
+
+    /**
+     * Uses the symmetry of S: trace(inv(S) * inv(S)) is the sum of the squares
+     * of the elements of inv(S).
+     *
+     * @return trace of the square of the inverse of S
+     */
+    public double traceOfInverseSquared() {
+        double trace = 0.0;
+        if (lowRank != null) {
+            // trace((inv(D) - A*B')^2) = trace(inv(D)^2) - 2*trace(inv(D)*A*B') + trace((B'*A)^2)
+            double[] d = lowRank.getDiagonalTerm();
+            Matrix A = woodburyLeftFactor();
+            Matrix B = lowRank.inverseDiagonalTimesV();
+            for (int i = 0; i < d.length; i++) {
+                double rowProduct = 0.0;
+                for (int j = 0; j < A.getColumnDimension(); j++) {
+                    rowProduct += A.get(i, j) * B.get(i, j);
+                }
+                trace += 1.0 / (d[i] * d[i]) - 2.0 * rowProduct / d[i];
+            }
+            Matrix BtA = B.transpose().times(A);
+            trace += BtA.times(BtA).trace();
+        } else if (diagonal) {
+            for (int i = 0; i < covariance.getRowDimension(); i++) {
+                double v = covariance.get(i, 0);
+                trace += 1.0 / (v * v);
+            }
+        } else {
+            double[][] SInv = inverse().getArray();
+            for (int i = 0; i < SInv.length; i++) {
+                for (int j = 0; j < SInv[i].length; j++) {
+                    trace += SInv[i][j] * SInv[j][i];
+                }
+            }
+        }
+        return trace;
+    }
+
+    /**
+     *
+     * @param a column vector
+     * @return a' * inv(S) * a
+     */
+    public double quadraticForm(Matrix a) {
+        return a.transpose().times(solve(a)).get(0, 0);
+    }
+
+    /**
+     * The log of the determinant of S, taken from the diagonal of the Cholesky
+     * factor or of the LU factors, so no further decomposition is needed.
+     *
+     * @return log(det(S)), or NaN if det(S) is not positive
+     */
+    public double logDeterminant() {
+        double logDet = 0.0;
+        if (lowRank != null) {
+            logDet = lowRank.logDet();
+        } else if (diagonal) {
+            for (int i = 0; i < covariance.getRowDimension(); i++) {
+                logDet += Math.log(covariance.get(i, 0));
+            }
+        } else if (cholesky != null) {
+            Matrix L = cholesky.getL();
+            for (int i = 0; i < L.getRowDimension(); i++) {
+                logDet += 2.0 * Math.log(L.get(i, i));
+            }
+        } else {
+            // sign of det(S) from the parity of the row pivots and the signs of U's diagonal
+            Matrix U = lu.getU();
+            int[] pivot = lu.getPivot();
+            boolean[] visited = new boolean[pivot.length];
+            boolean negative = false;
+            for (int i = 0; i < pivot.length; i++) {
+                if (!visited[i]) {
+                    int cycleLength = 0;
+                    for (int j = i; !visited[j]; j = pivot[j]) {
+                        visited[j] = true;
+                        cycleLength++;
+                    }
+                    negative ^= (cycleLength % 2) == 0;
+                }
+                double u = U.get(i, i);
+                negative ^= u < 0.0;
+                logDet += Math.log(Math.abs(u));
+            }
+            if (negative) {
+                logDet = Double.NaN;
+            }
+        }
+        return logDet;
+    }
+
+    // inv(D)*U*inv(C), the left factor of the Woodbury correction
+    private Matrix woodburyLeftFactor() {
+        return lowRank.capacitance().solveTranspose(lowRank.inverseDiagonalTimesU()).transpose();
+    }
+}
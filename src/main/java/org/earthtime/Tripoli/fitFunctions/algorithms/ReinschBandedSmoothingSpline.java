@@ -0,0 +1,373 @@
+/*
+ * ReinschBandedSmoothingSpline.java
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.fitFunctions.algorithms;
+
+import java.io.Serializable;
+
+/**
+ * Weighted cubic smoothing spline for data with uncorrelated (diagonal)
+ * covariance, solved in O(n) with the Reinsch algorithm of Green and Silverman
+ * section 2.3 as in <code>ReinschWeightedSmoothingSpline</code>.
+ *
+ * The n x (n-2) matrix Q and the (n-2) x (n-2) matrix R of the spline are
+ * held as their bands, so that R + alpha * Q' * Ss * Q is pentadiagonal and
+ * is factored as L * D * L' (Green and Silverman 2.6). The central band of
+ * its inverse (Hutchinson and de Hoog) supplies the trace of the smoothing
+ * matrix without forming any dense matrix.
+ *
+ * @author James F. Bowring
+ */
+public class ReinschBandedSmoothingSpline implements Serializable {
+
+    private static final long serialVersionUID = 6034217708352386431L;
+    private final double[] y;
+    private final double[] variances;
+    // Q(c + k, c) = qBand[k][c]
+    private final double[][] qBand;
+    // R(c, c) = rBand[0][c] and R(c, c + 1) = R(c + 1, c) = rBand[1][c]
+    private final double[][] rBand;
+    private final double[] QTy;
+    private double alpha;
+    private double[] D;
+    private double[][] L;
+    private double[] gammaReinsch;
+    private double[] g;
+
+    /**
+     *
+     * @param t strictly increasing times
+     * @param variances diagonal of the data covariance matrix Ss
+     * @param y
+     */
+    public ReinschBandedSmoothingSpline(double[] t, double[] variances, double[] y) {
+        if (t.length < 3) {
+            throw new IllegalArgumentException("Smoothing spline requires at least three data points.");
+        }
+
+        this.y = y.clone();
+        this.variances = variances.clone();
+
+        double[] h = new double[t.length - 1];
+        for (int i = 0; i < h.length; i++) {
+            h[i] = t[i + 1] - t[i];
+        }
+
+        qBand = makeQBand(h);
+        rBand = makeRBand(h);
+        QTy = timesQTranspose(y);
+        alpha = 0.0;
+    }
+
+    private static double[][] makeQBand(double[] h) {
+        int m = h.length - 1;
+        double[][] band = new double[3][m];
+        for (int c = 0; c < m; c++) {
+            band[0][c] = 1.0 / h[c];
+            band[1][c] = -(1.0 / h[c] + 1.0 / h[c + 1]);
+            band[2][c] = 1.0 / h[c + 1];
+        }
+        return band;
+    }
+
+    private static double[][] makeRBand(double[] h) {
+        int m = h.length - 1;
+        double[][] band = new double[2][m];
+        for (int c = 0; c < m; c++) {
+            band[0][c] = (h[c] + h[c + 1]) / 3.0;
+            if (c < m - 1) {
+                band[1][c] = h[c + 1] / 6.0;
+            }
+        }
+        return band;
+    }
+
+    /**
+     * Calculates R \ Q' column by column with the tridiagonal R, for use as
+     * the Jacobian of gamma with respect to g.
+     *
+     * @param h time deltas
+     * @return (n-2) x n array equal to R.solve(Q.transpose())
+     */
+    public static double[][] calculateRinvQT(double[] h) {
+        double[][] q = makeQBand(h);
+        double[][] r = makeRBand(h);
+        int m = h.length - 1;
+        int n = h.length + 1;
+
+        double[][] RinvQT = new double[m][n];
+        double[] column = new double[m];
+        for (int j = 0; j < n; j++) {
+            for (int c = 0; c < m; c++) {
+                column[c] = 0.0;
+            }
+            // row j of Q is non-zero only in columns j-2, j-1, j
+            for (int c = Math.max(0, j - 2); c <= Math.min(m - 1, j); c++) {
+                column[c] = q[j - c][c];
+            }
+            double[] x = solveTridiagonal(r, column);
+            for (int c = 0; c < m; c++) {
+                RinvQT[c][j] = x[c];
+            }
+        }
+
+        return RinvQT;
+    }
+
+    private static double[] solveTridiagonal(double[][] band, double[] b) {
+        // Thomas algorithm for symmetric tridiagonal systems
+        int m = b.length;
+        double[] cPrime = new double[m];
+        double[] x = new double[m];
+
+        double denominator = band[0][0];
+        cPrime[0] = (m > 1) ? band[1][0] / denominator : 0.0;
+        x[0] = b[0] / denominator;
+        for (int i = 1; i < m; i++) {
+            denominator = band[0][i] - band[1][i - 1] * cPrime[i - 1];
+            cPrime[i] = (i < m - 1) ? band[1][i] / denominator : 0.0;
+            x[i] = (b[i] - band[1][i - 1] * x[i - 1]) / denominator;
+        }
+        for (int i = m - 2; i >= 0; i--) {
+            x[i] -= cPrime[i] * x[i + 1];
+        }
+
+        return x;
+    }
+
+    private double[] timesQTranspose(double[] v) {
+        int m = qBand[0].length;
+        double[] result = new double[m];
+        for (int c = 0; c < m; c++) {
+            result[c] = qBand[0][c] * v[c] + qBand[1][c] * v[c + 1] + qBand[2][c] * v[c + 2];
+        }
+        return result;
+    }
+
+    private double[] timesQ(double[] v) {
+        int m = qBand[0].length;
+        double[] result = new double[m + 2];
+        for (int c = 0; c < m; c++) {
+            result[c] += qBand[0][c] * v[c];
+            result[c + 1] += qBand[1][c] * v[c];
+            result[c + 2] += qBand[2][c] * v[c];
+        }
+        return result;
+    }
+
+    /**
+     * Fits the spline for the smoothing parameter alpha: factors R + alpha *
+     * Q' * Ss * Q and solves for gamma and g = y - alpha * Ss * Q * gamma.
+     *
+     * @param alpha
+     */
+    public void fit(double alpha) {
+        this.alpha = alpha;
+        int m = QTy.length;
+
+        // 1. non-zero diagonals of R + alpha * Q' * Ss * Q
+        double[] a0 = new double[m];
+        double[] a1 = new double[m];
+        double[] a2 = new double[m];
+        for (int c = 0; c < m; c++) {
+            a0[c] = rBand[0][c] + alpha * (//
+                    qBand[0][c] * qBand[0][c] * variances[c]//
+                    + qBand[1][c] * qBand[1][c] * variances[c + 1]//
+                    + qBand[2][c] * qBand[2][c] * variances[c + 2]);
+            if (c < m - 1) {
+                a1[c] = rBand[1][c] + alpha * (//
+                        qBand[1][c] * qBand[0][c + 1] * variances[c + 1]//
+                        + qBand[2][c] * qBand[1][c + 1] * variances[c + 2]);
+            }
+            if (c < m - 2) {
+                a2[c] = alpha * qBand[2][c] * qBand[0][c + 2] * variances[c + 2];
+            }
+        }
+
+        // 2. band Cholesky L * D * L' where L[0][i] = L(i+1,i) and L[1][i] = L(i+2,i)
+        D = new double[m];
+        L = new double[2][m];
+        for (int i = 0; i < m; i++) {
+            D[i] = a0[i];
+            if (i >= 2) {
+                L[1][i - 2] = a2[i - 2] / D[i - 2];
+                D[i] -= L[1][i - 2] * L[1][i - 2] * D[i - 2];
+            }
+            if (i >= 1) {
+                L[0][i - 1] = (a1[i - 1] - ((i >= 2) ? L[0][i - 2] * L[1][i - 2] * D[i - 2] : 0.0)) / D[i - 1];
+                D[i] -= L[0][i - 1] * L[0][i - 1] * D[i - 1];
+            }
+        }
+
+        // 3. gamma and g
+        gammaReinsch = solve(QTy);
+        double[] QGamma = timesQ(gammaReinsch);
+        g = new double[y.length];
+        for (int i = 0; i < y.length; i++) {
+            g[i] = y[i] - alpha * variances[i] * QGamma[i];
+        }
+    }
+
+    private double[] solve(double[] b) {
+        int m = b.length;
+        double[] x = new double[m];
+        for (int i = 0; i < m; i++) {
+            x[i] = b[i];
+            if (i >= 1) {
+                x[i] -= L[0][i - 1] * x[i - 1];
+            }
+            if (i >= 2) {
+                x[i] -= L[1][i - 2] * x[i - 2];
+            }
+        }
+        for (int i = 0; i < m; i++) {
+            x[i] /= D[i];
+        }
+        for (int i = m - 1; i >= 0; i--) {
+            if (i + 1 < m) {
+                x[i] -= L[0][i] * x[i + 1];
+            }
+            if (i + 2 < m) {
+                x[i] -= L[1][i] * x[i + 2];
+            }
+        }
+        return x;
+    }
+
+    /**
+     *
+     * @return (y - g)' * W * (y - g) with W = inverse of Ss
+     */
+    public double calculateChiSquared() {
+        double chiSquared = 0.0;
+        for (int i = 0; i < y.length; i++) {
+            chiSquared += (y[i] - g[i]) * (y[i] - g[i]) / variances[i];
+        }
+        return chiSquared;
+    }
+
+    /**
+     * Calculates the trace of alpha * Ss * Q * inverse(R + alpha * Q' * Ss *
+     * Q) * Q' from the central band of the inverse.
+     *
+     * @return the trace
+     */
+    public double calculateTraceOfImAwAlpha() {
+        int m = D.length;
+
+        // band of inverse(L * D * L'): s0(i) = (i,i), s1(i) = (i,i+1), s2(i) = (i,i+2)
+        double[] s0 = new double[m];
+        double[] s1 = new double[m];
+        double[] s2 = new double[m];
+        for (int i = m - 1; i >= 0; i--) {
+            double l1 = (i + 1 < m) ? L[0][i] : 0.0;
+            double l2 = (i + 2 < m) ? L[1][i] : 0.0;
+            if (i + 2 < m) {
+                s2[i] = -(l1 * s1[i + 1] + l2 * s0[i + 2]);
+            }
+            if (i + 1 < m) {
+                s1[i] = -(l1 * s0[i + 1] + ((i + 2 < m) ? l2 * s1[i + 1] : 0.0));
+            }
+            s0[i] = 1.0 / D[i] - (l1 * s1[i] + l2 * s2[i]);
+        }
+
+        double trace = 0.0;
+        for (int r = 0; r < y.length; r++) {
+            double diagonalOfQSigmaQT = 0.0;
+            for (int c = Math.max(0, r - 2); c <= Math.min(m - 1, r); c++) {
+                for (int d = Math.max(0, r - 2); d <= Math.min(m - 1, r); d++) {
+                    int low = Math.min(c, d);
+                    int offset = Math.abs(c - d);
+                    double sigma = (offset == 0) ? s0[low] : ((offset == 1) ? s1[low] : s2[low]);
+                    diagonalOfQSigmaQT += qBand[r - c][c] * qBand[r - d][d] * sigma;
+                }
+            }
+            trace += variances[r] * diagonalOfQSigmaQT;
+        }
+
+        return alpha * trace;
+    }
+
+    /**
+     * Forms alpha * Ss * Q * inverse(R + alpha * Q' * Ss * Q) * Q' densely,
+     * one banded solve per column, for the hat matrix.
+     *
+     * @return n x n array
+     */
+    public double[][] calculateImAwAlpha() {
+        int n = y.length;
+        int m = D.length;
+        double[][] ImAwAlpha = new double[n][n];
+        double[] column = new double[m];
+
+        for (int j = 0; j < n; j++) {
+            for (int c = 0; c < m; c++) {
+                column[c] = 0.0;
+            }
+            for (int c = Math.max(0, j - 2); c <= Math.min(m - 1, j); c++) {
+                column[c] = qBand[j - c][c];
+            }
+            double[] QAinvQTColumn = timesQ(solve(column));
+            for (int i = 0; i < n; i++) {
+                ImAwAlpha[i][j] = alpha * variances[i] * QAinvQTColumn[i];
+            }
+        }
+
+        return ImAwAlpha;
+    }
+
+    /**
+     *
+     * @return g' * K * g with K = Q * inverse(R) * Q'
+     */
+    public double calculateRoughness() {
+        double[] QTg = timesQTranspose(g);
+        double[] RinvQTg = solveTridiagonal(rBand, QTg);
+        double roughness = 0.0;
+        for (int c = 0; c < QTg.length; c++) {
+            roughness += QTg[c] * RinvQTg[c];
+        }
+        return roughness;
+    }
+
+    /**
+     * Calculates gamma = R \ (Q' * g), padded front and back with a zero for
+     * interpolation.
+     *
+     * @return gamma
+     */
+    public double[] calculateGamma() {
+        double[] Gamma = solveTridiagonal(rBand, timesQTranspose(g));
+        double[] gamma = new double[Gamma.length + 2];
+        System.arraycopy(Gamma, 0, gamma, 1, Gamma.length);
+        return gamma;
+    }
+
+    /**
+     * @return the g
+     */
+    public double[] getG() {
+        return g;
+    }
+
+    /**
+     * @return the alpha
+     */
+    public double getAlpha() {
+        return alpha;
+    }
+}
@@ -0,0 +1,644 @@
+/*
+ * StructuredCovariance.java
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.fitFunctions.algorithms;
+
+import Jama.Matrix;
+import java.io.Serializable;
+
+/**
+ * A covariance matrix S held in one of three forms: diagonal, diagonal plus
+ * low rank (S = D + U*V' with U and V n-by-k), or dense. The FAST uncertainty
+ * propagation builds the first two forms so that the memory per isotope or
+ * ratio is O(n*k) rather than O(n^2); solves and determinants use the
+ * Woodbury identity and the matrix determinant lemma, so the n-by-n matrix is
+ * never formed unless toMatrix() is called.
+ *
+ * The dense form delegates every operation to the identical Jama call, so
+ * code written against this class gives the same results as before for a
+ * dense matrix.
+ *
+ * @author James F. Bowring
+ */
+public class StructuredCovariance implements Serializable {
+
+    private static final long serialVersionUID = 5179683046717931745L;
+
+    private final int n;
+    // diagonal and low-rank forms
+    private final double[] diagonal;
+    private final Matrix U;
+    private final Matrix V;
+    // dense form
+    private final Matrix dense;
+
+    private StructuredCovariance(int n, double[] diagonal, Matrix U, Matrix V, Matrix dense) {
+        this.n = n;
+        this.diagonal = diagonal;
+        this.U = U;
+        this.V = V;
+        this.dense = dense;
+    }
+
+    /**
+     *
+     * @param diagonal variances
+     * @return
+     */
+    public static StructuredCovariance diagonal(double[] diagonal) {
+        return new StructuredCovariance(diagonal.length, diagonal, null, null, null);
+    }
+
+    /**
+     *
+     * @param columnVector n x 1 matrix of variances
+     * @return
+     */
+    public static StructuredCovariance diagonal(Matrix columnVector) {
+        return diagonal(columnVector.getColumnPackedCopy());
+    }
+
+    /**
+     *
+     * @param S
+     * @return
+     */
+    public static StructuredCovariance dense(Matrix S) {
+        return new StructuredCovariance(S.getRowDimension(), null, null, null, S);
+    }
+
+    /**
+     *
+     * @return true if the matrix is held as a full n x n matrix
+     */
+    public boolean isDense() {
+        return dense != null;
+    }
+
+    /**
+     *
+     * @return true if the matrix has no off-diagonal terms
+     */
+    public boolean isDiagonal() {
+        return (dense == null) && (U == null);
+    }
+
+    /**
+     *
+     * @return k, the rank of the low-rank term, or zero
+     */
+    public int getRank() {
+        return (U == null) ? 0 : U.getColumnDimension();
+    }
+
+    /**
+     *
+     * @return
+     */
+    public int getRowDimension() {
+        return n;
+    }
+
+    /**
+     *
+     * @param i
+     * @param j
+     * @return S(i, j)
+     */
+    public double get(int i, int j) {
+        double retVal;
+        if (dense != null) {
+            retVal = dense.get(i, j);
+        } else {
+            retVal = (i == j) ? diagonal[i] : 0.0;
+            for (int c = 0; c < getRank(); c++) {
+                retVal += U.get(i, c) * V.get(j, c);
+            }
+        }
+        return retVal;
+    }
+
+    /**
+     *
+     * @return the diagonal of S
+     */
+    public double[] getDiagonal() {
+        double[] retVal = new double[n];
+        for (int i = 0; i < n; i++) {
+            retVal[i] = get(i, i);
+        }
+        return retVal;
+    }
+
+    /**
+     *
+     * @return the diagonal of S as an n x 1 matrix
+     */
+    public Matrix getDiagonalVector() {
+        return new Matrix(getDiagonal(), n);
+    }
+
+    /**
+     * For the dense form this is the wrapped matrix itself, not a copy.
+     *
+     * @return S as an n x n matrix
+     */
+    public Matrix toMatrix() {
+        Matrix retVal;
+        if (dense != null) {
+            retVal = dense;
+        } else {
+            retVal = new Matrix(n, n);
+            for (int i = 0; i < n; i++) {
+                retVal.set(i, i, diagonal[i]);
+            }
+            if (U != null) {
+                retVal.plusEquals(U.times(V.transpose()));
+            }
+        }
+        return retVal;
+    }
+
+    /**
+     *
+     * @param Uk n x k
+     * @param Vk n x k
+     * @return S + Uk*Vk'
+     */
+    public StructuredCovariance plusLowRank(Matrix Uk, Matrix Vk) {
+        StructuredCovariance retVal;
+        if (dense != null) {
+            retVal = dense(dense.plus(Uk.times(Vk.transpose())));
+        } else {
+            retVal = new StructuredCovariance(n, diagonal.clone(), appendColumns(U, Uk), appendColumns(V, Vk), null);
+        }
+        return retVal;
+    }
+
+    /**
+     * Adds F*F' without its diagonal, as the dead time covariance of two
+     * identical ion counters is added between fractions whose variances
+     * already include it. The diagonal of F*F' is taken out of the diagonal
+     * term where that leaves it positive, and elsewhere is carried as one
+     * more low-rank column, so the Woodbury solves never see a diagonal
+     * that is not positive and the matrix is never formed.
+     *
+     * @param F n x k
+     * @return S + F*F' - diag(F*F')
+     */
+    public StructuredCovariance plusLowRankOffDiagonal(Matrix F) {
+        double[] diagonalOfFFt = new double[n];
+        for (int i = 0; i < n; i++) {
+            for (int c = 0; c < F.getColumnDimension(); c++) {
+                diagonalOfFFt[i] += F.get(i, c) * F.get(i, c);
+            }
+        }
+
+        StructuredCovariance retVal;
+        if (dense != null) {
+            Matrix sum = dense.plus(F.times(F.transpose()));
+            for (int i = 0; i < n; i++) {
+                sum.set(i, i, dense.get(i, i));
+            }
+            retVal = dense(sum);
+        } else {
+            double[] correctedDiagonal = diagonal.clone();
+            boolean[] isUncorrected = new boolean[n];
+            int countOfUncorrected = 0;
+            for (int i = 0; i < n; i++) {
+                if (diagonal[i] - diagonalOfFFt[i] > 0.0) {
+                    correctedDiagonal[i] = diagonal[i] - diagonalOfFFt[i];
+                } else {
+                    isUncorrected[i] = true;
+                    countOfUncorrected++;
+                }
+            }
+
+            Matrix Uk = F;
+            Matrix Vk = F;
+            if (countOfUncorrected > 0) {
+                // -diag(F*F')(i, i) as e_i*e_i' scaled, one column for each uncorrected row
+                Matrix unitColumns = new Matrix(n, countOfUncorrected);
+                Matrix scaledUnitColumns = new Matrix(n, countOfUncorrected);
+                int column = 0;
+                for (int i = 0; i < n; i++) {
+                    if (isUncorrected[i]) {
+                        unitColumns.set(i, column, 1.0);
+                        scaledUnitColumns.set(i, column, -diagonalOfFFt[i]);
+                        column++;
+                    }
+                }
+                Uk = appendColumns(F, scaledUnitColumns);
+                Vk = appendColumns(F, unitColumns);
+            }
+
+            retVal = new StructuredCovariance(n, correctedDiagonal, appendColumns(U, Uk), appendColumns(V, Vk), null);
+        }
+        return retVal;
+    }
+
+    /**
+     *
+     * @param other
+     * @return this + other
+     */
+    public StructuredCovariance plus(StructuredCovariance other) {
+        StructuredCovariance retVal;
+        if ((dense != null) || (other.dense != null)) {
+            retVal = dense(toMatrix().plus(other.toMatrix()));
+        } else {
+            double[] sumDiagonal = new double[n];
+            for (int i = 0; i < n; i++) {
+                sumDiagonal[i] = diagonal[i] + other.diagonal[i];
+            }
+            retVal = new StructuredCovariance(n, sumDiagonal, appendColumns(U, other.U), appendColumns(V, other.V), null);
+        }
+        return retVal;
+    }
+
+    /**
+     *
+     * @param s
+     * @return s * S
+     */
+    public StructuredCovariance times(double s) {
+        StructuredCovariance retVal;
+        if (dense != null) {
+            retVal = dense(dense.times(s));
+        } else {
+            double[] scaledDiagonal = new double[n];
+            for (int i = 0; i < n; i++) {
+                scaledDiagonal[i] = diagonal[i] * s;
+            }
+            retVal = new StructuredCovariance(n, scaledDiagonal, (U == null) ? null : U.times(s), V, null);
+        }
+        return retVal;
+    }
+
+    /**
+     * Scales rows and columns, equivalent to (s*s').arrayTimes(S).
+     *
+     * @param s
+     * @return diag(s) * S * diag(s)
+     */
+    public StructuredCovariance scaleRowsAndColumns(double[] s) {
+        StructuredCovariance retVal;
+        if (dense != null) {
+            Matrix sVector = new Matrix(s, s.length);
+            retVal = dense(sVector.times(sVector.transpose()).arrayTimes(dense));
+        } else {
+            double[] scaledDiagonal = new double[n];
+            for (int i = 0; i < n; i++) {
+                scaledDiagonal[i] = diagonal[i] * s[i] * s[i];
+            }
+            retVal = new StructuredCovariance(n, scaledDiagonal, scaleRows(U, s), scaleRows(V, s), null);
+        }
+        return retVal;
+    }
+
+    /**
+     *
+     * @param indices rows and columns to keep, in order
+     * @return S(indices, indices)
+     */
+    public StructuredCovariance select(int[] indices) {
+        StructuredCovariance retVal;
+        if (dense != null) {
+            retVal = dense(dense.getMatrix(indices, indices));
+        } else {
+            double[] selectedDiagonal = new double[indices.length];
+            for (int i = 0; i < indices.length; i++) {
+                selectedDiagonal[i] = diagonal[indices[i]];
+            }
+            retVal = new StructuredCovariance(indices.length, selectedDiagonal, selectRows(U, indices), selectRows(V, indices), null);
+        }
+        return retVal;
+    }
+
+    /**
+     *
+     * @param start
+     * @param end inclusive
+     * @return S(start:end, start:end)
+     */
+    public StructuredCovariance select(int start, int end) {
+        int[] indices = new int[end - start + 1];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = start + i;
+        }
+        return select(indices);
+    }
+
+    /**
+     * Propagates S through J = [L*R, diag(g)], where the first
+     * R.getColumnDimension() rows and columns of S belong to R and the rest
+     * to g. This is the form of the baseline-corrected on-peak Jacobian, with
+     * L*R the background fit contribution. L*R is never formed: the background
+     * diagonal becomes a rank p term with p = R.getRowDimension(), and any
+     * existing low-rank term keeps its rank.
+     *
+     * @param L m x p
+     * @param R p x nb
+     * @param g length m, with nb + m = n
+     * @return J*S*J'
+     */
+    public StructuredCovariance propagate(Matrix L, Matrix R, double[] g) {
+        int nb = R.getColumnDimension();
+        int m = g.length;
+        StructuredCovariance retVal;
+
+        if (dense != null) {
+            Matrix J = new Matrix(m, nb + m);
+            J.setMatrix(0, m - 1, 0, nb - 1, L.times(R));
+            for (int i = 0; i < m; i++) {
+                J.set(i, nb + i, g[i]);
+            }
+            retVal = dense(J.times(dense).times(J.transpose()));
+        } else {
+            // background diagonal: L*(R*Db*R')*L'
+            Matrix RDb = R.copy();
+            for (int j = 0; j < nb; j++) {
+                for (int i = 0; i < RDb.getRowDimension(); i++) {
+                    RDb.set(i, j, RDb.get(i, j) * diagonal[j]);
+                }
+            }
+            Matrix C = RDb.times(R.transpose());
+
+            // on-peak diagonal: diag(g)*Dop*diag(g)
+            double[] propagatedDiagonal = new double[m];
+            for (int i = 0; i < m; i++) {
+                propagatedDiagonal[i] = g[i] * g[i] * diagonal[nb + i];
+            }
+
+            Matrix propagatedU = L;
+            Matrix propagatedV = L.times(C.transpose());
+            if (U != null) {
+                propagatedU = appendColumns(propagatedU, propagateFactor(U, L, R, g));
+                propagatedV = appendColumns(propagatedV, propagateFactor(V, L, R, g));
+            }
+
+            retVal = new StructuredCovariance(m, propagatedDiagonal, propagatedU.copy(), propagatedV, null);
+        }
+
+        return retVal;
+    }
+
+    private static Matrix propagateFactor(Matrix F, Matrix L, Matrix R, double[] g) {
+        int nb = R.getColumnDimension();
+        int m = g.length;
+        int k = F.getColumnDimension();
+
+        Matrix retVal = L.times(R.times(F.getMatrix(0, nb - 1, 0, k - 1)));
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < k; j++) {
+                retVal.set(i, j, retVal.get(i, j) + g[i] * F.get(nb + i, j));
+            }
+        }
+        return retVal;
+    }
+
+    /**
+     *
+     * @return S'
+     */
+    public StructuredCovariance transpose() {
+        StructuredCovariance retVal;
+        if (dense != null) {
+            retVal = dense(dense.transpose());
+        } else {
+            retVal = new StructuredCovariance(n, diagonal, V, U, null);
+        }
+        return retVal;
+    }
+
+    /**
+     * Uses the Woodbury identity for the low-rank form: inv(D + U*V') =
+     * inv(D) - inv(D)*U*inv(I + V'*inv(D)*U)*V'*inv(D).
+     *
+     * @param B
+     * @return S\B
+     */
+    public Matrix solve(Matrix B) {
+        Matrix retVal;
+        if (dense != null) {
+            retVal = dense.solve(B);
+        } else {
+            retVal = divideRows(B, diagonal);
+            if (U != null) {
+                retVal.minusEquals(inverseDiagonalTimesU().times(capacitance().solve(V.transpose().times(retVal))));
+            }
+        }
+        return retVal;
+    }
+
+    /**
+     * Same convention as Jama's Matrix.solveTranspose: returns S'\B'.
+     *
+     * @param B
+     * @return
+     */
+    public Matrix solveTranspose(Matrix B) {
+        Matrix retVal;
+        if (dense != null) {
+            retVal = dense.solveTranspose(B);
+        } else {
+            retVal = transpose().solve(B.transpose());
+        }
+        return retVal;
+    }
+
+    /**
+     *
+     * @param X
+     * @return X*inv(S)
+     */
+    public Matrix timesInverse(Matrix X) {
+        Matrix retVal;
+        if (dense != null) {
+            retVal = X.times(dense.inverse());
+        } else {
+            retVal = solveTranspose(X).transpose();
+        }
+        return retVal;
+    }
+
+    /**
+     * Uses the matrix determinant lemma for the low-rank form: det(D + U*V') =
+     * det(D)*det(I + V'*inv(D)*U).
+     *
+     * @return det(S)
+     */
+    public double det() {
+        double retVal;
+        if (dense != null) {
+            retVal = dense.det();
+        } else {
+            retVal = 1.0;
+            for (int i = 0; i < n; i++) {
+                retVal *= diagonal[i];
+            }
+            if (U != null) {
+                retVal *= capacitance().det();
+            }
+        }
+        return retVal;
+    }
+
+    /**
+     * The log of det(S), summed term by term so that it neither underflows
+     * nor overflows for large n as det() does; this is the form the
+     * likelihoods use.
+     *
+     * @return log(det(S)), or NaN if det(S) is not positive
+     */
+    public double logDet() {
+        double retVal;
+        if (dense != null) {
+            retVal = CovarianceFactorization.ofDense(dense).logDeterminant();
+        } else {
+            retVal = 0.0;
+            for (int i = 0; i < n; i++) {
+                retVal += Math.log(diagonal[i]);
+            }
+            if (U != null) {
+                retVal += CovarianceFactorization.ofDense(capacitance()).logDeterminant();
+            }
+        }
+        return retVal;
+    }
+
+    /**
+     *
+     * @param B
+     * @return S*B
+     */
+    public Matrix times(Matrix B) {
+        Matrix retVal;
+        if (dense != null) {
+            retVal = dense.times(B);
+        } else {
+            retVal = scaleRows(B, diagonal);
+            if (U != null) {
+                retVal.plusEquals(U.times(V.transpose().times(B)));
+            }
+        }
+        return retVal;
+    }
+
+    /**
+     * Adds an overdispersion term without forming the identity matrix.
+     *
+     * @param s
+     * @return S + s*I
+     */
+    public StructuredCovariance plusDiagonal(double s) {
+        StructuredCovariance retVal;
+        if (dense != null) {
+            retVal = dense(dense.plus(Matrix.identity(n, n).times(s)));
+        } else {
+            double[] sumDiagonal = new double[n];
+            for (int i = 0; i < n; i++) {
+                sumDiagonal[i] = diagonal[i] + s;
+            }
+            retVal = new StructuredCovariance(n, sumDiagonal, U, V, null);
+        }
+        return retVal;
+    }
+
+    /**
+     * For the low-rank form only.
+     *
+     * @return inv(D)*U
+     */
+    Matrix inverseDiagonalTimesU() {
+        return divideRows(U, diagonal);
+    }
+
+    /**
+     * For the low-rank form only.
+     *
+     * @return inv(D)*V
+     */
+    Matrix inverseDiagonalTimesV() {
+        return divideRows(V, diagonal);
+    }
+
+    /**
+     * For the low-rank form only.
+     *
+     * @return the k x k capacitance matrix I + V'*inv(D)*U of the Woodbury
+     * identity
+     */
+    Matrix capacitance() {
+        return Matrix.identity(getRank(), getRank()).plus(V.transpose().times(inverseDiagonalTimesU()));
+    }
+
+    /**
+     *
+     * @return the diagonal of the diagonal and low-rank forms, not a copy
+     */
+    double[] getDiagonalTerm() {
+        return diagonal;
+    }
+
+    private static Matrix appendColumns(Matrix A, Matrix B) {
+        Matrix retVal;
+        if (A == null) {
+            retVal = (B == null) ? null : B.copy();
+        } else if (B == null) {
+            retVal = A.copy();
+        } else {
+            int rows = A.getRowDimension();
+            int columns = A.getColumnDimension();
+            retVal = new Matrix(rows, columns + B.getColumnDimension());
+            retVal.setMatrix(0, rows - 1, 0, columns - 1, A);
+            retVal.setMatrix(0, rows - 1, columns, columns + B.getColumnDimension() - 1, B);
+        }
+        return retVal;
+    }
+
+    private static Matrix scaleRows(Matrix A, double[] s) {
+        Matrix retVal = null;
+        if (A != null) {
+            retVal = A.copy();
+            for (int i = 0; i < retVal.getRowDimension(); i++) {
+                for (int j = 0; j < retVal.getColumnDimension(); j++) {
+                    retVal.set(i, j, retVal.get(i, j) * s[i]);
+                }
+            }
+        }
+        return retVal;
+    }
+
+    private static Matrix divideRows(Matrix A, double[] d) {
+        Matrix retVal = A.copy();
+        for (int i = 0; i < retVal.getRowDimension(); i++) {
+            for (int j = 0; j < retVal.getColumnDimension(); j++) {
+                retVal.set(i, j, retVal.get(i, j) / d[i]);
+            }
+        }
+        return retVal;
+    }
+
+    private static Matrix selectRows(Matrix A, int[] indices) {
+        Matrix retVal = null;
+        if (A != null) {
+            retVal = A.getMatrix(indices, 0, A.getColumnDimension() - 1);
+        }
+        return retVal;
+    }
+}
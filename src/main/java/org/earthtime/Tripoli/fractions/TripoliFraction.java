@@ -37,6 +37,7 @@ import java.util.TreeMap;
 import java.util.TreeSet;
 import org.earthtime.Tripoli.dataModels.DataModelFitFunctionInterface;
 import org.earthtime.Tripoli.dataModels.DataModelInterface;
+import org.earthtime.Tripoli.dataModels.FittingInstrumentation;
 import org.earthtime.Tripoli.dataModels.MaskingSingleton;
 import org.earthtime.Tripoli.dataModels.RawRatioDataModel;
 import org.earthtime.Tripoli.fitFunctions.AbstractFunctionOfX;
@@ -298,14 +299,23 @@ public class TripoliFraction implements //
      *
      */
     public void updateInterceptFitFunctionsIncludingCommonLead() {
-        Iterator ratiosIterator = getRatiosForFractionFitting().iterator();
-        while (ratiosIterator.hasNext()) {
-            RawRatioDataModel rr = (RawRatioDataModel) ratiosIterator.next();
-            rr.generateSetOfFitFunctions(true, false);
-        }
+        FittingInstrumentation instrumentation = FittingInstrumentation.getInstance();
+        instrumentation.beginFraction(fractionID);
+        FittingInstrumentation.Measurement measurement = instrumentation.start(fractionID, "updateInterceptFitFunctions");
+
+        try {
+            Iterator ratiosIterator = getRatiosForFractionFitting().iterator();
+            while (ratiosIterator.hasNext()) {
+                RawRatioDataModel rr = (RawRatioDataModel) ratiosIterator.next();
+                rr.generateSetOfFitFunctions(true, false);
+            }
 
-        // nov 2014
-        postProcessCommonLeadCorrectionRatios();
+            // nov 2014
+            postProcessCommonLeadCorrectionRatios();
+        } finally {
+            instrumentation.stop(measurement);
+            instrumentation.endFraction();
+        }
     }
 
     /**
@@ -527,8 +537,6 @@ public class TripoliFraction implements //
 
         Matrix Sfci = JacobianYInterceptLogRatioAll.times(SlogRatioAll).times(JacobianYInterceptLogRatioAll.transpose());
 
-        System.gc();
-
         return Sfci;
 
     }
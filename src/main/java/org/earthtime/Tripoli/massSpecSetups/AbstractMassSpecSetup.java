@@ -39,6 +39,7 @@ import java.util.TreeSet;
 import org.earthtime.Tripoli.dataModels.DataModelFitFunctionInterface;
 import org.earthtime.Tripoli.dataModels.DataModelInterface;
 import org.earthtime.Tripoli.dataModels.DownholeFractionationDataModel;
+import org.earthtime.Tripoli.dataModels.FittingInstrumentation;
 import org.earthtime.Tripoli.dataModels.MaskingSingleton;
 import org.earthtime.Tripoli.dataModels.RawIntensityDataModel;
 import org.earthtime.Tripoli.dataModels.RawRatioDataModel;
@@ -47,6 +48,7 @@ import org.earthtime.Tripoli.dataModels.aquisitionTypeDataModels.IsotopeMappingM
 import org.earthtime.Tripoli.dataModels.collectorModels.AbstractCollectorModel;
 import org.earthtime.Tripoli.dataModels.collectorModels.FaradayCollectorModel;
 import org.earthtime.Tripoli.dataModels.collectorModels.IonCounterCollectorModel;
+import org.earthtime.Tripoli.fitFunctions.algorithms.StructuredCovariance;
 import org.earthtime.Tripoli.fractions.TripoliFraction;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
 import org.earthtime.dataDictionaries.FitFunctionTypeEnum;
@@ -248,35 +250,44 @@ public abstract class AbstractMassSpecSetup implements //
      * @param ripoliFraction the value of ripoliFraction
      */
     public void reProcessFractionRawRatios(boolean usingFullPropagation, String fractionID, TripoliFraction tripoliFraction) {
-        performBackgroundFitting(usingFullPropagation);
+        FittingInstrumentation instrumentation = FittingInstrumentation.getInstance();
+        instrumentation.beginFraction(fractionID);
+        FittingInstrumentation.Measurement measurement = instrumentation.start(fractionID, "reProcessFractionRawRatios");
 
-        correctOnPeakIntensitiesWithBackFitFunction();
-        if (Pb204 != null) {
-            validateOnPeakBaselineCorrectedIsotope(Pb204, fractionID);
-        }
+        try {
+            performBackgroundFitting(usingFullPropagation);
 
-        // modification march 2014 to handle agilent see Noah email 3 mar 2014
-        // We should disregard this test if the instrument is a 'single collector ion counter', like the Agilent 7700 and Jeff's Thermo Element2.
-        if (Pb207 != null) {
-            AbstractCollectorModel collector = collectorNameToModelMap.get(Pb207.getCollectorModel().getCollectorName());//              getDataModelName());
-            if (!(massSpecType.compareTo(MassSpecTypeEnum.SINGLE) == 0) || !(collector instanceof IonCounterCollectorModel)) {
-                validateOnPeakBaselineCorrectedIsotope(Pb207, tripoliFraction.getFractionID());
+            correctOnPeakIntensitiesWithBackFitFunction();
+            if (Pb204 != null) {
+                validateOnPeakBaselineCorrectedIsotope(Pb204, fractionID);
             }
-        }
 
-        adjustNonPositiveCorrectedIntensities();
-        calculateLogOnPeakCorrectedIntensities();
+            // modification march 2014 to handle agilent see Noah email 3 mar 2014
+            // We should disregard this test if the instrument is a 'single collector ion counter', like the Agilent 7700 and Jeff's Thermo Element2.
+            if (Pb207 != null) {
+                AbstractCollectorModel collector = collectorNameToModelMap.get(Pb207.getCollectorModel().getCollectorName());//              getDataModelName());
+                if (!(massSpecType.compareTo(MassSpecTypeEnum.SINGLE) == 0) || !(collector instanceof IonCounterCollectorModel)) {
+                    validateOnPeakBaselineCorrectedIsotope(Pb207, tripoliFraction.getFractionID());
+                }
+            }
 
-        calculateRawAndLogRatios(tripoliFraction);
+            adjustNonPositiveCorrectedIntensities();
+            calculateLogOnPeakCorrectedIntensities();
 
-        // performbackgroundfitting already set the UsingFastPropagation flag
-        propagateUnctInBaselineCorrOnPeakIntensities();
+            calculateRawAndLogRatios(tripoliFraction);
 
-        propagateUnctInRatios(usingFullPropagation);
+            // performbackgroundfitting already set the UsingFastPropagation flag
+            propagateUnctInBaselineCorrOnPeakIntensities();
 
-        performInterceptFittingToRatios();
+            propagateUnctInRatios(usingFullPropagation);
 
-        cleanupUnctCalcs();
+            performInterceptFittingToRatios();
+
+            cleanupUnctCalcs();
+        } finally {
+            instrumentation.stop(measurement);
+            instrumentation.endFraction();
+        }
     }
 
     public void processFractionRawRatios(//
@@ -287,6 +298,23 @@ public abstract class AbstractMassSpecSetup implements //
         processFractionRawRatiosStageII(isStandard, fractionID, usingFullPropagation, tripoliFraction);
     }
 
+    /**
+     *
+     * @param intensitiesScan one row per acquisition of the intensities of
+     * every virtual collector, in collector number order
+     * @param isStandard the value of isStandard
+     * @param fractionID the value of fractionID
+     * @param usingFullPropagation the value of usingFullPropagation
+     * @param tripoliFraction the value of tripoliFraction
+     */
+    public void processFractionRawRatios(//
+            double[][] intensitiesScan, boolean isStandard, String fractionID, boolean usingFullPropagation, TripoliFraction tripoliFraction) {
+
+        initializeVirtualCollectorsWithData(intensitiesScan);
+
+        processFractionRawRatiosStageII(isStandard, fractionID, usingFullPropagation, tripoliFraction);
+    }
+
     public void processFractionRawRatiosTRA(//
             ArrayList<double[]> backgroundAcquisitions, ArrayList<double[]> peakAcquisitions, boolean isStandard, String fractionID, boolean usingFullPropagation, TripoliFraction tripoliFraction) {
 
@@ -306,6 +334,20 @@ public abstract class AbstractMassSpecSetup implements //
             boolean isStandard, String fractionID, boolean usingFullPropagation, TripoliFraction tripoliFraction) {
         // make fresh set of rawratios with map of collector instances
 
+        FittingInstrumentation instrumentation = FittingInstrumentation.getInstance();
+        instrumentation.beginFraction(fractionID);
+        FittingInstrumentation.Measurement measurement = instrumentation.start(fractionID, "processFractionRawRatios");
+
+        try {
+            fitFractionRawRatios(isStandard, fractionID, usingFullPropagation, tripoliFraction);
+        } finally {
+            instrumentation.stop(measurement);
+            instrumentation.endFraction();
+        }
+    }
+
+    private void fitFractionRawRatios(//
+            boolean isStandard, String fractionID, boolean usingFullPropagation, TripoliFraction tripoliFraction) {
         boolean writeReport = isStandard && isFirstReport;
         PrintWriter outputWriter = null;
 
@@ -360,11 +402,11 @@ public abstract class AbstractMassSpecSetup implements //
                         Si.print(outputWriter, new DecimalFormat("0.000000E00"), 10);
                     } else {
                         //fast uncertainty prop
-                        Si = ((RawIntensityDataModel) dm).getVectorSviVarianceIntensities();
+                        double[] Svi = ((RawIntensityDataModel) dm).getVectorSviVarianceIntensities().getDiagonal();
                         // march 2014
                         // print diagonal
-                        for (int i = 0; i < Si.getColumnDimension(); i++) {
-                            outputWriter.print(Si.get(i, i) + ", ");
+                        for (int i = 0; i < Svi.length; i++) {
+                            outputWriter.print(Svi[i] + ", ");
                         }
                         outputWriter.println();
                         outputWriter.println();
@@ -557,7 +599,6 @@ public abstract class AbstractMassSpecSetup implements //
             outputWriter.flush();
             outputWriter.close();
         }
-
     }
 
     private void cleanupUnctCalcs() {
@@ -569,7 +610,15 @@ public abstract class AbstractMassSpecSetup implements //
 //        for (DataModelInterface rr : rawRatios) {
 //            ((DataModelFitFunctionInterface) rr).cleanupUnctCalcs();
 //        }
-        System.gc();
+        // oct 2026 the fitted ratios keep SlogRatioX_Y for the pbc corrections, but matrixSxyod
+        // is already summed into it; ratios that are not fitted need none of their matrices
+        for (DataModelInterface rr : rawRatios) {
+            if (((RawRatioDataModel) rr).isUsedForFractionationCorrections() || ((RawRatioDataModel) rr).isUsedForCommonLeadCorrections()) {
+                ((RawRatioDataModel) rr).setMatrixSxyod(null);
+            } else {
+                ((DataModelFitFunctionInterface) rr).cleanupUnctCalcs();
+            }
+        }
     }
 
     private void convertRawIntensitiesToCountsPerSecond() {
@@ -699,11 +748,7 @@ public abstract class AbstractMassSpecSetup implements //
     }
 
     private void initializeVirtualCollectorsWithData(String[][] intensitiesScan) {
-        VirtualCollectorModel[] myCollectors = new VirtualCollectorModel[VIRTUAL_COLLECTOR_COUNT];
-
-        for (VirtualCollectorModel collector : virtualCollectors) {
-            myCollectors[collector.getCollectorNumber() - 1] = collector;
-        }
+        VirtualCollectorModel[] myCollectors = virtualCollectorsByNumber();
 
         // walk virtualCollectors for active virtualCollectors and create intensitySet for each
         for (int c = 0; c < myCollectors.length; c++) {
@@ -711,30 +756,12 @@ public abstract class AbstractMassSpecSetup implements //
 
                 // extract collector's column of data from scanData
                 double[] intensities = new double[countOfAcquisitions];
-                double[] aquireTimes = new double[countOfAcquisitions];
-
                 for (int row = 0; row < countOfAcquisitions; row++) {
-
                     intensities[row] = Double.parseDouble(//
                             intensitiesScan[row][myCollectors[c].getCollectorNumber() - 1].trim());
-
-                    double aquireTime;
-                    if (myCollectors[c].isBackground()) {
-                        aquireTime = (row * COLLECTOR_DATA_FREQUENCY_MILLISECS);
-                    } else {
-                        aquireTime = ((row + countOfAcquisitions) * COLLECTOR_DATA_FREQUENCY_MILLISECS);
-                    }
-                    aquireTimes[row] = aquireTime;
                 }
 
-                // isotopeMappingModel
-                myCollectors[c].setIntensities(intensities);
-                myCollectors[c].setAquireTimes(aquireTimes);
-                myCollectors[c].setDataActiveMap(AbstractMassSpecSetup.defaultDataActiveMap(countOfAcquisitions));
-
-                // initialize corrections to zeroes
-                myCollectors[c].setIntensityCorrections(new double[countOfAcquisitions]);
-                myCollectors[c].setFitBackgroundIntensities(new double[countOfAcquisitions]);
+                initializeVirtualCollectorWithData(myCollectors[c], intensities);
             }
         }
 
@@ -745,6 +772,60 @@ public abstract class AbstractMassSpecSetup implements //
 
     }
 
+    private void initializeVirtualCollectorsWithData(double[][] intensitiesScan) {
+        VirtualCollectorModel[] myCollectors = virtualCollectorsByNumber();
+
+        for (int c = 0; c < myCollectors.length; c++) {
+            if (myCollectors[c] != null) {
+
+                double[] intensities = new double[countOfAcquisitions];
+                for (int row = 0; row < countOfAcquisitions; row++) {
+                    intensities[row] = intensitiesScan[row][myCollectors[c].getCollectorNumber() - 1];
+                }
+
+                initializeVirtualCollectorWithData(myCollectors[c], intensities);
+            }
+        }
+
+        for (DataModelInterface dm : genericIsotopeModels) {
+            ((RawIntensityDataModel) dm).correctIntensitiesForResistor();
+        }
+
+    }
+
+    private VirtualCollectorModel[] virtualCollectorsByNumber() {
+        VirtualCollectorModel[] myCollectors = new VirtualCollectorModel[VIRTUAL_COLLECTOR_COUNT];
+
+        for (VirtualCollectorModel collector : virtualCollectors) {
+            myCollectors[collector.getCollectorNumber() - 1] = collector;
+        }
+
+        return myCollectors;
+    }
+
+    private void initializeVirtualCollectorWithData(VirtualCollectorModel collector, double[] intensities) {
+        double[] aquireTimes = new double[countOfAcquisitions];
+
+        for (int row = 0; row < countOfAcquisitions; row++) {
+            double aquireTime;
+            if (collector.isBackground()) {
+                aquireTime = (row * COLLECTOR_DATA_FREQUENCY_MILLISECS);
+            } else {
+                aquireTime = ((row + countOfAcquisitions) * COLLECTOR_DATA_FREQUENCY_MILLISECS);
+            }
+            aquireTimes[row] = aquireTime;
+        }
+
+        // isotopeMappingModel
+        collector.setIntensities(intensities);
+        collector.setAquireTimes(aquireTimes);
+        collector.setDataActiveMap(AbstractMassSpecSetup.defaultDataActiveMap(countOfAcquisitions));
+
+        // initialize corrections to zeroes
+        collector.setIntensityCorrections(new double[countOfAcquisitions]);
+        collector.setFitBackgroundIntensities(new double[countOfAcquisitions]);
+    }
+
     private void initializeVirtualCollectorsWithDataTRA(ArrayList<double[]> backgroundAcquisitions, ArrayList<double[]> peakAcquisitions) {
         // dec 2014 TRA version where scan data contains background then peak in columns
         // background collectors
@@ -835,6 +916,7 @@ public abstract class AbstractMassSpecSetup implements //
         // generates the fit function for the background
         Iterator<DataModelInterface> genericIsotopeModelsIterator = genericIsotopeModels.iterator();
         Matrix Hg202Si = null;
+        StructuredCovariance Hg202StructuredSi = null;
         while (genericIsotopeModelsIterator.hasNext()) {
             DataModelInterface im = genericIsotopeModelsIterator.next();
             im.setUSING_FULL_PROPAGATION(usingFullPropagation);
@@ -844,8 +926,13 @@ public abstract class AbstractMassSpecSetup implements //
             }
 
             if (im.getDataModelName().equalsIgnoreCase(IsotopesEnum.Hg202.getName())) {
-                Hg202Si = ((RawIntensityDataModel) im).specialBuildMatrixSiForHg202();//   .getCollectorModel().buildMatrixSi(diagonalOfMatrixSIntensities);
-                Hg202Si.timesEquals(1.0 / r202Hg_204Hg.getValue().pow(2).doubleValue());
+                if (usingFullPropagation) {
+                    Hg202Si = ((RawIntensityDataModel) im).specialBuildMatrixSiForHg202();//   .getCollectorModel().buildMatrixSi(diagonalOfMatrixSIntensities);
+                    Hg202Si.timesEquals(1.0 / r202Hg_204Hg.getValue().pow(2).doubleValue());
+                } else {
+                    Hg202StructuredSi = ((RawIntensityDataModel) im).specialBuildStructuredSiForHg202()//
+                            .times(1.0 / r202Hg_204Hg.getValue().pow(2).doubleValue());
+                }
 
                 ((DataModelFitFunctionInterface) im).setSelectedFitFunctionType(FitFunctionTypeEnum.NONE);
             }
@@ -854,8 +941,10 @@ public abstract class AbstractMassSpecSetup implements //
             // HG202 is first on list
             if (im.getDataModelName().equalsIgnoreCase(IsotopesEnum.Pb204.getName())) {
                 ((RawIntensityDataModel) im).setCorrectedHg202Si(Hg202Si);
+                ((RawIntensityDataModel) im).setCorrectedHg202StructuredSi(Hg202StructuredSi);
             } else {
                 ((RawIntensityDataModel) im).setCorrectedHg202Si(null);
+                ((RawIntensityDataModel) im).setCorrectedHg202StructuredSi(null);
             }
 
             //if ( im.getDataModelName().equalsIgnoreCase( IsotopesEnum.Pb204.getName() ) ) {
@@ -208,6 +208,18 @@ public final class GehrelsNUPlasmaSetupUPbFar extends AbstractMassSpecSetup impl
 
         countOfAcquisitions = intensitiesScan.length;
 
+        return rawRatiosFactoryRevised();
+    }
+
+    /**
+     * oct 2026 uses only countOfAcquisitions, so the handler can pass the
+     * intensities as doubles to processFractionRawRatios
+     *
+     * @return the
+     * java.util.SortedSet<org.earthtime.Tripoli.dataModels.DataModelInterface>
+     */
+    public SortedSet<DataModelInterface> rawRatiosFactoryRevised() {
+
         virtualCollectors = new ArrayList<>(VIRTUAL_COLLECTOR_COUNT);
         for (int i = 0; i < VIRTUAL_COLLECTOR_COUNT; i++) {
             virtualCollectors.add(new VirtualCollectorModel(i + 1));
@@ -37,6 +37,7 @@ import org.earthtime.Tripoli.rawDataFiles.templates.AbstractRawDataFileTemplate;
 import org.earthtime.Tripoli.samples.AbstractTripoliSample;
 import org.earthtime.Tripoli.samples.TripoliPrimaryStandardSample;
 import org.earthtime.Tripoli.samples.TripoliUnknownSample;
+import org.earthtime.UPb_Redux.user.ReduxPersistentState;
 import org.earthtime.dataDictionaries.AcquisitionTypesEnum;
 import org.earthtime.dataDictionaries.FileTypeEnum;
 
@@ -83,6 +84,13 @@ public abstract class AbstractRawDataFileHandler implements //
      */
     protected SortedSet<TripoliFraction> tripoliFractions;
 
+    // oct 2026 for live data monitoring of a raw data file that is still being written
+    private transient String rawDataFileLoadedPath;
+    private transient long rawDataFileLoadedLength;
+    // line where the next load may resume, and the count of fractions before it
+    private transient long rawDataFileResumePosition;
+    private transient int rawDataFileResumeCountOfFractions;
+
     /**
      *
      */
@@ -116,6 +124,122 @@ public abstract class AbstractRawDataFileHandler implements //
     public void reInitialize() {
         this.rawDataFile = null;
         this.tripoliFractions = new TreeSet<>();
+        this.rawDataFileLoadedPath = null;
+        this.rawDataFileResumePosition = -1L;
+    }
+
+    /**
+     * Records how much of the raw data file the last load read, so that live
+     * data monitoring can tell when more has been written.
+     *
+     * @param loadedLength
+     */
+    protected void setRawDataFileLoadedLength(long loadedLength) {
+        this.rawDataFileLoadedPath = rawDataFile.getAbsolutePath();
+        this.rawDataFileLoadedLength = loadedLength;
+    }
+
+    /**
+     * Records the start of the first line that the next load of the same raw
+     * data file must read again, such as the start of a last fraction that
+     * may still be being written, so that the next load need not read the
+     * fractions before it.
+     *
+     * @param resumePosition a line start from RawDataFileTokenizer, or -1 if
+     * the next load must read from the start
+     * @param countOfFractionsBefore the count of fractions the file holds
+     * before resumePosition
+     */
+    protected void setRawDataFileResumePoint(long resumePosition, int countOfFractionsBefore) {
+        this.rawDataFileResumePosition = resumePosition;
+        this.rawDataFileResumeCountOfFractions = countOfFractionsBefore;
+    }
+
+    /**
+     * A load may resume only where the file is the one last loaded, has not
+     * shrunk, and the caller already holds every fraction before the resume
+     * point, so that reading from the start would skip them anyway.
+     *
+     * @param ignoreFirstFractions the count of fractions the caller holds
+     * @return true if the load may seek to getRawDataFileResumePosition
+     */
+    protected boolean canResumeRawDataFile(int ignoreFirstFractions) {
+        return (rawDataFile != null) //
+                && (ignoreFirstFractions > 0) //
+                && (rawDataFileResumePosition > 0L) //
+                && rawDataFile.getAbsolutePath().equals(rawDataFileLoadedPath) //
+                && (rawDataFile.length() >= rawDataFileLoadedLength) //
+                && (ignoreFirstFractions >= rawDataFileResumeCountOfFractions);
+    }
+
+    /**
+     * @return the rawDataFileResumePosition
+     */
+    protected long getRawDataFileResumePosition() {
+        return rawDataFileResumePosition;
+    }
+
+    /**
+     * @return the rawDataFileResumeCountOfFractions
+     */
+    protected int getRawDataFileResumeCountOfFractions() {
+        return rawDataFileResumeCountOfFractions;
+    }
+
+    /**
+     * oct 2026 for handlers of folders with one file per analysis
+     *
+     * @param <T> the parsed form of one analysis file
+     * @return a reader using the count of threads from the user preferences
+     */
+    protected <T> ConcurrentAnalysisFileReader<T> createAnalysisFileReader() {
+        int countOfParallelThreads = 1;
+        try {
+            countOfParallelThreads = ReduxPersistentState.getExistingPersistentState().getReduxPreferences().getCountOfParallelThreads();
+        } catch (Exception e) {
+            // default to a single thread
+        }
+
+        return new ConcurrentAnalysisFileReader<>(countOfParallelThreads);
+    }
+
+    /**
+     * Builds the fraction for one parsed analysis file with the mass spec
+     * setup and adds it to tripoliFractions; must be called in file order
+     * from the loading thread.
+     *
+     * @param parsedFile
+     * @param usingFullPropagation
+     * @param leftShadeCount
+     */
+    protected void addTripoliFractionFromAnalysisFile(ConcurrentAnalysisFileReader.ParsedAnalysisFile parsedFile, boolean usingFullPropagation, int leftShadeCount) {
+        String fractionID = parsedFile.getFractionID();
+
+        // extract isStandard
+        boolean isStandard = isStandardFractionID(fractionID);
+
+        TripoliFraction tripoliFraction = //                           
+                new TripoliFraction( //
+                        fractionID, //
+                        massSpec.getCommonLeadCorrectionHighestLevel(), //
+                        isStandard,
+                        parsedFile.getFractionBackgroundTimeStamp(), //
+                        parsedFile.getFractionPeakTimeStamp(), //
+                        massSpec.rawRatiosFactory(parsedFile.getScanData(), isStandard, fractionID, usingFullPropagation, null));
+
+        tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
+        tripoliFractions.add(tripoliFraction);
+    }
+
+    /**
+     *
+     * @return true if the raw data file has changed length since it was last
+     * loaded, or was never loaded
+     */
+    public boolean hasUnreadRawData() {
+        return (rawDataFile != null) //
+                && (!rawDataFile.getAbsolutePath().equals(rawDataFileLoadedPath) //
+                || (rawDataFile.length() != rawDataFileLoadedLength));
     }
 
     /**
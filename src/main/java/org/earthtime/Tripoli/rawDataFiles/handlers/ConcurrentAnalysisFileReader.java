@@ -0,0 +1,227 @@
+/*
+ * ConcurrentAnalysisFileReader.java
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.rawDataFiles.handlers;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import javax.swing.SwingWorker;
+
+/**
+ * Reads and parses the files of a raw data folder that holds one file per
+ * analysis on a bounded pool of threads, and hands the parsed files to the
+ * caller's thread one at a time in file order. Parsing must not touch the
+ * mass spec setup, which is shared by the session and keeps the state of the
+ * fraction being built; building the fractions stays with the consumer.
+ *
+ * At most a few parsed files per thread are held ahead of the consumer, so
+ * large folders do not have to fit in memory at once.
+ *
+ * @author James F. Bowring
+ * @param <T> the parsed form of one analysis file
+ */
+public class ConcurrentAnalysisFileReader<T> {
+
+    private static final int COUNT_OF_FILES_AHEAD_PER_THREAD = 4;
+    private static final AtomicInteger threadCounter = new AtomicInteger(0);
+
+    private final int parallelism;
+
+    /**
+     *
+     * @param parallelism count of reader threads; less than one means one per
+     * available processor
+     */
+    public ConcurrentAnalysisFileReader(int parallelism) {
+        if (parallelism < 1) {
+            this.parallelism = Runtime.getRuntime().availableProcessors();
+        } else {
+            this.parallelism = parallelism;
+        }
+    }
+
+    /**
+     * Parses every file with <code>parser</code> and passes each result, in
+     * the order of <code>analysisFiles</code>, to <code>consumer</code> on
+     * the calling thread. Progress is fired on <code>loadDataTask</code> as
+     * each file is consumed, and reading stops when the task is cancelled. A
+     * failure of the parser is rethrown when its file's turn comes.
+     *
+     * @param loadDataTask
+     * @param analysisFiles
+     * @param parser may return null to skip a file; must be thread safe
+     * @param consumer
+     */
+    public void readAnalysisFiles(SwingWorker<?, ?> loadDataTask, File[] analysisFiles, Function<File, T> parser, AnalysisFileConsumer<T> consumer) {
+        int countOfFiles = analysisFiles.length;
+        int countOfThreads = Math.max(1, Math.min(parallelism, countOfFiles));
+        int countOfFilesAhead = countOfThreads * COUNT_OF_FILES_AHEAD_PER_THREAD;
+
+        ExecutorService readerPool = Executors.newFixedThreadPool(countOfThreads, new ReaderThreadFactory());
+        List<Future<T>> parsedFiles = new ArrayList<>(countOfFiles);
+        int countSubmitted = 0;
+
+        try {
+            for (int f = 0; f < countOfFiles; f++) {
+                // keep the pool busy without running far ahead of the consumer
+                while ((countSubmitted < countOfFiles) && (countSubmitted < (f + countOfFilesAhead))) {
+                    parsedFiles.add(readerPool.submit(new ParseTask<>(analysisFiles[countSubmitted], parser)));
+                    countSubmitted++;
+                }
+
+                if (loadDataTask.isCancelled()) {
+                    break;
+                }
+                loadDataTask.firePropertyChange("progress", 0, ((100 * f) / countOfFiles));
+
+                T parsedFile;
+                try {
+                    parsedFile = parsedFiles.get(f).get();
+                    parsedFiles.set(f, null);
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (ExecutionException executionException) {
+                    Throwable cause = executionException.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    } else {
+                        throw new RuntimeException(cause);
+                    }
+                }
+
+                if (parsedFile != null) {
+                    consumer.accept(f, parsedFile);
+                }
+            }
+        } finally {
+            readerPool.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     *
+     * @param <T>
+     */
+    public interface AnalysisFileConsumer<T> {
+
+        /**
+         *
+         * @param fileIndex index of the file in the array read
+         * @param parsedFile
+         */
+        void accept(int fileIndex, T parsedFile);
+    }
+
+    /**
+     * The parsed data of one analysis, ready to be turned into a
+     * TripoliFraction.
+     */
+    public static class ParsedAnalysisFile {
+
+        private final String fractionID;
+        private final long fractionBackgroundTimeStamp;
+        private final long fractionPeakTimeStamp;
+        private final String[][] scanData;
+
+        /**
+         *
+         * @param fractionID
+         * @param fractionBackgroundTimeStamp
+         * @param fractionPeakTimeStamp
+         * @param scanData
+         */
+        public ParsedAnalysisFile(String fractionID, long fractionBackgroundTimeStamp, long fractionPeakTimeStamp, String[][] scanData) {
+            this.fractionID = fractionID;
+            this.fractionBackgroundTimeStamp = fractionBackgroundTimeStamp;
+            this.fractionPeakTimeStamp = fractionPeakTimeStamp;
+            this.scanData = scanData;
+        }
+
+        /**
+         * @return the fractionID
+         */
+        public String getFractionID() {
+            return fractionID;
+        }
+
+        /**
+         * @return the fractionBackgroundTimeStamp
+         */
+        public long getFractionBackgroundTimeStamp() {
+            return fractionBackgroundTimeStamp;
+        }
+
+        /**
+         * @return the fractionPeakTimeStamp
+         */
+        public long getFractionPeakTimeStamp() {
+            return fractionPeakTimeStamp;
+        }
+
+        /**
+         * @return the scanData
+         */
+        public String[][] getScanData() {
+            return scanData;
+        }
+    }
+
+    private static class ParseTask<T> implements Callable<T> {
+
+        private final File analysisFile;
+        private final Function<File, T> parser;
+
+        ParseTask(File analysisFile, Function<File, T> parser) {
+            this.analysisFile = analysisFile;
+            this.parser = parser;
+        }
+
+        @Override
+        public T call() throws Exception {
+            return parser.apply(analysisFile);
+        }
+    }
+
+    private static class ReaderThreadFactory implements ThreadFactory {
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "Raw Data File Reader " + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
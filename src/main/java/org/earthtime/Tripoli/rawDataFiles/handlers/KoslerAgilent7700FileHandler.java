@@ -28,6 +28,7 @@ import java.util.TreeSet;
 import javax.swing.JOptionPane;
 import javax.swing.SwingWorker;
 import org.earthtime.Tripoli.fractions.TripoliFraction;
+import org.earthtime.Tripoli.rawDataFiles.handlers.ConcurrentAnalysisFileReader.ParsedAnalysisFile;
 import org.earthtime.Tripoli.sessions.TripoliSessionInterface;
 import org.earthtime.utilities.FileHelper;
 import org.earthtime.archivingTools.URIHelper;
@@ -171,122 +172,100 @@ public class KoslerAgilent7700FileHandler extends AbstractRawDataFileHandler imp
     protected SortedSet<TripoliFraction> loadRawDataFile(SwingWorker loadDataTask, boolean usingFullPropagation, int leftShadeCount, int ignoreFirstFractions) {
         tripoliFractions = new TreeSet<>();
 
-        // assume we are golden        
-        for (int f = 0; f < analysisFiles.length; f++) {
+        // oct 2026 files are read and parsed concurrently and the fractions built in file order
+        ConcurrentAnalysisFileReader<ParsedAnalysisFile> analysisFileReader = createAnalysisFileReader();
+        analysisFileReader.readAnalysisFiles(loadDataTask, analysisFiles, this::parseAnalysisFile, //
+                (int fileIndex, ParsedAnalysisFile parsedFile) -> {
+                    addTripoliFractionFromAnalysisFile(parsedFile, usingFullPropagation, leftShadeCount);
+                });
 
-            if (loadDataTask.isCancelled()) {
-                break;
-            }
-            loadDataTask.firePropertyChange("progress", 0, ((100 * f) / analysisFiles.length));
-
-            // there should be one only .csv file per folder
-            String fractionID = analysisFiles[f].getName().toUpperCase().replace(".CSV", "");
-
-            // get file contents
-            String fractionFileContents = URIHelper.getTextFromURI(analysisFiles[f].getAbsolutePath());
-            String[] fractionFileRows = fractionFileContents.split("\n");
-
-            // first get time stamp for file in row 2
-            String timeStampFromRow2[] = fractionFileRows[2].split(" :")[1].split(" +");
-
-            String fractionDate = //
-                    timeStampFromRow2[1] + " " // day/month/year
-                    + timeStampFromRow2[2] + " " // hour:min:sec
-                    + timeStampFromRow2[3] + " " // AM/PM
-                    ;
-
-            // Get the default MEDIUM/SHORT DateFormat
-            DateFormat fractionTimeFormat = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.MEDIUM);
-
-            // Parse the fractionDateValue
-            Date fractionDateValue;
-            try {
-                fractionDateValue = fractionTimeFormat.parse(fractionDate);
-
-                // assume change to peak at line 119 for now
-                int assumedBackgrounRowCount = 180;
-                long fractionBackgroundTimeStamp = fractionDateValue.getTime();
-                long fractionPeakTimeStamp = fractionDateValue.getTime() + assumedBackgrounRowCount * massSpec.getCOLLECTOR_DATA_FREQUENCY_MILLISECS();
-
-                System.out.println("\n**** AGILENT FractionID " + fractionID + "  " + fractionDateValue.toString() + "  row count = " + fractionFileRows.length);
-
-                // then process whole file because it includes the background as well as the peak                   
-                // create background and peak 
-                // note each row has relative time stamp which we are hiding for now by using frequency of read
-                int expectedRowsOfData = rawDataFileTemplate.getBlockSize();
-                // scan data has background columns then peak columns per row
-                String[][] scanData = //
-                        new String[assumedBackgrounRowCount][massSpec.getVIRTUAL_COLLECTOR_COUNT()];
-
-                //TODO possible missing condition here if file lengths vary from template spec and fractionFileRows is too big
-                for (int i = 0; i < expectedRowsOfData; i++) {
-
-                    // handle case where there is not as many lines of data as expected
-                    String[] fractionCollectorsColumns = new String[]{"0", "0", "0", "0", "0", "0", "0", "0", "0", "0", "0", "0",};
-                    if (fractionFileRows.length > (i + rawDataFileTemplate.getBlockStartOffset())) {
-                        fractionCollectorsColumns = //
-                                fractionFileRows[i + rawDataFileTemplate.getBlockStartOffset()].split(",");
-                    }
+        if (tripoliFractions.isEmpty()) {
+            tripoliFractions = null;
+        }
 
-                    if (i < assumedBackgrounRowCount) {
-                        // column 5 is first isotope
-                        // background
-                        for (int j = 5; j < (massSpec.getVIRTUAL_COLLECTOR_COUNT() / 2) + 5; j++) {
-                            scanData[i][j - 5] = fractionCollectorsColumns[j].trim();
-                        }
-                    } else {
-                        // onpeak
-                        for (int j = 5; j < (massSpec.getVIRTUAL_COLLECTOR_COUNT() / 2) + 5; j++) {
-                            scanData[i - assumedBackgrounRowCount][(massSpec.getVIRTUAL_COLLECTOR_COUNT() / 2) + j - 5] //
-                                    = fractionCollectorsColumns[j].trim();
-                        }
-                    }
+        return tripoliFractions;
+    }
+
+    /**
+     * Called concurrently for the files of the folder, so uses the mass spec
+     * setup only for its constants.
+     *
+     * @param analysisFile
+     * @return the parsed file, or null if its time stamp cannot be read
+     */
+    private ParsedAnalysisFile parseAnalysisFile(File analysisFile) {
+        ParsedAnalysisFile retVal = null;
+
+        // there should be one only .csv file per folder
+        String fractionID = analysisFile.getName().toUpperCase().replace(".CSV", "");
+
+        // get file contents
+        String fractionFileContents = URIHelper.getTextFromURI(analysisFile.getAbsolutePath());
+        String[] fractionFileRows = fractionFileContents.split("\n");
+
+        // first get time stamp for file in row 2
+        String timeStampFromRow2[] = fractionFileRows[2].split(" :")[1].split(" +");
+
+        String fractionDate = //
+                timeStampFromRow2[1] + " " // day/month/year
+                + timeStampFromRow2[2] + " " // hour:min:sec
+                + timeStampFromRow2[3] + " " // AM/PM
+                ;
+
+        // Get the default MEDIUM/SHORT DateFormat
+        DateFormat fractionTimeFormat = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.MEDIUM);
+
+        // Parse the fractionDateValue
+        Date fractionDateValue;
+        try {
+            fractionDateValue = fractionTimeFormat.parse(fractionDate);
+
+            // assume change to peak at line 119 for now
+            int assumedBackgrounRowCount = 180;
+            long fractionBackgroundTimeStamp = fractionDateValue.getTime();
+            long fractionPeakTimeStamp = fractionDateValue.getTime() + assumedBackgrounRowCount * massSpec.getCOLLECTOR_DATA_FREQUENCY_MILLISECS();
+
+            System.out.println("\n**** AGILENT FractionID " + fractionID + "  " + fractionDateValue.toString() + "  row count = " + fractionFileRows.length);
+
+            // then process whole file because it includes the background as well as the peak                   
+            // create background and peak 
+            // note each row has relative time stamp which we are hiding for now by using frequency of read
+            int expectedRowsOfData = rawDataFileTemplate.getBlockSize();
+            // scan data has background columns then peak columns per row
+            String[][] scanData = //
+                    new String[assumedBackgrounRowCount][massSpec.getVIRTUAL_COLLECTOR_COUNT()];
+
+            //TODO possible missing condition here if file lengths vary from template spec and fractionFileRows is too big
+            for (int i = 0; i < expectedRowsOfData; i++) {
+
+                // handle case where there is not as many lines of data as expected
+                String[] fractionCollectorsColumns = new String[]{"0", "0", "0", "0", "0", "0", "0", "0", "0", "0", "0", "0",};
+                if (fractionFileRows.length > (i + rawDataFileTemplate.getBlockStartOffset())) {
+                    fractionCollectorsColumns = //
+                            fractionFileRows[i + rawDataFileTemplate.getBlockStartOffset()].split(",");
                 }
 
-                // extract isStandard
-                boolean isStandard = isStandardFractionID(fractionID);
-
-                TripoliFraction tripoliFraction = //                           
-                        new TripoliFraction( //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                fractionID, //
-                                massSpec.getCommonLeadCorrectionHighestLevel(), //
-                                isStandard,
-                                fractionBackgroundTimeStamp, //
-                                fractionPeakTimeStamp,massSpec.rawRatiosFactory(scanData, isStandard, fractionID, usingFullPropagation, null));
-
-                tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
-                tripoliFractions.add(tripoliFraction);
-//                System.out.println( "Successfully added frac " + fractionID + " >>  " + tripoliFractions.add( tripoliFraction ) );
-//
-//                System.out.println( "                                       Count of stored fractions = " + tripoliFractions.size() );
-//                System.out.println( fractionID //
-//                        + " " + isStandard + " time = " + TimeToString.secondsAsLongToTimeString( fractionPeakTimeStamp ) );
-
-                // }
-            } catch (ParseException parseException) {
-                // TODO: drop out here
+                if (i < assumedBackgrounRowCount) {
+                    // column 5 is first isotope
+                    // background
+                    for (int j = 5; j < (massSpec.getVIRTUAL_COLLECTOR_COUNT() / 2) + 5; j++) {
+                        scanData[i][j - 5] = fractionCollectorsColumns[j].trim();
+                    }
+                } else {
+                    // onpeak
+                    for (int j = 5; j < (massSpec.getVIRTUAL_COLLECTOR_COUNT() / 2) + 5; j++) {
+                        scanData[i - assumedBackgrounRowCount][(massSpec.getVIRTUAL_COLLECTOR_COUNT() / 2) + j - 5] //
+                                = fractionCollectorsColumns[j].trim();
+                    }
+                }
             }
-        }
 
-        if (tripoliFractions.isEmpty()) {
-            tripoliFractions = null;
+            retVal = new ParsedAnalysisFile(fractionID, fractionBackgroundTimeStamp, fractionPeakTimeStamp, scanData);
+
+        } catch (ParseException parseException) {
+            // TODO: drop out here
         }
 
-        return tripoliFractions;
+        return retVal;
     }
 }
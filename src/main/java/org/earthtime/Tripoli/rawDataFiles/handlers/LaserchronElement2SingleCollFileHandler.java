@@ -25,6 +25,7 @@ import java.util.TreeSet;
 import javax.swing.JOptionPane;
 import javax.swing.SwingWorker;
 import org.earthtime.Tripoli.fractions.TripoliFraction;
+import org.earthtime.Tripoli.rawDataFiles.handlers.ConcurrentAnalysisFileReader.ParsedAnalysisFile;
 import org.earthtime.Tripoli.sessions.TripoliSessionInterface;
 import org.earthtime.utilities.FileHelper;
 import org.earthtime.archivingTools.URIHelper;
@@ -170,105 +171,81 @@ public class LaserchronElement2SingleCollFileHandler extends AbstractRawDataFile
     protected SortedSet<TripoliFraction> loadRawDataFile(SwingWorker loadDataTask, boolean usingFullPropagation, int leftShadeCount, int ignoreFirstFractions) {
         tripoliFractions = new TreeSet<>();
 
-        // assume we are golden        
-        for (int f = 0; f < analysisFiles.length; f++) {
+        // oct 2026 files are read and parsed concurrently and the fractions built in file order
+        ConcurrentAnalysisFileReader<ParsedAnalysisFile> analysisFileReader = createAnalysisFileReader();
+        analysisFileReader.readAnalysisFiles(loadDataTask, analysisFiles, this::parseAnalysisFile, //
+                (int fileIndex, ParsedAnalysisFile parsedFile) -> {
+                    addTripoliFractionFromAnalysisFile(parsedFile, usingFullPropagation, leftShadeCount);
+                });
 
-            if (loadDataTask.isCancelled()) {
-                break;
-            }
-            loadDataTask.firePropertyChange("progress", 0, ((100 * f) / analysisFiles.length));
-
-            String fractionID = analysisFiles[f].getName().toUpperCase().replace(".TXT", "");
-            long fractionPeakTimeStamp = analysisFiles[f].lastModified();
+        if (tripoliFractions.isEmpty()) {
+            tripoliFractions = null;
+        }
 
-            String onPeakFileContents = URIHelper.getTextFromURI(analysisFiles[f].getAbsolutePath());
-            String[] onPeakFileRows = onPeakFileContents.split("\n");
+        return tripoliFractions;
+    }
 
-            // check for background file
-            File backgroundFile = new File(analysisFiles[f].getAbsolutePath().replace(".TXT", "_b.TXT"));
-            System.out.println("Background exists = " + backgroundFile.exists());
-            if (backgroundFile.exists()) {
-                String backgroundFileContents = URIHelper.getTextFromURI(backgroundFile.getAbsolutePath());
-                String[] backgroundFileRows = backgroundFileContents.split("\n");
-                long fractionBackgroundTimeStamp = backgroundFile.lastModified();
+    /**
+     * Called concurrently for the on peak files of the folder, so uses the
+     * mass spec setup only for its constants.
+     *
+     * @param analysisFile the on peak file
+     * @return the parsed on peak and background files, or null if there is
+     * no background file
+     */
+    private ParsedAnalysisFile parseAnalysisFile(File analysisFile) {
+        ParsedAnalysisFile retVal = null;
+
+        String fractionID = analysisFile.getName().toUpperCase().replace(".TXT", "");
+        long fractionPeakTimeStamp = analysisFile.lastModified();
+
+        String onPeakFileContents = URIHelper.getTextFromURI(analysisFile.getAbsolutePath());
+        String[] onPeakFileRows = onPeakFileContents.split("\n");
+
+        // check for background file
+        File backgroundFile = new File(analysisFile.getAbsolutePath().replace(".TXT", "_b.TXT"));
+        System.out.println("Background exists = " + backgroundFile.exists());
+        if (backgroundFile.exists()) {
+            String backgroundFileContents = URIHelper.getTextFromURI(backgroundFile.getAbsolutePath());
+            String[] backgroundFileRows = backgroundFileContents.split("\n");
+            long fractionBackgroundTimeStamp = backgroundFile.lastModified();
+
+            // note each row has relative time stamp which we are hiding for now by using frequency
+            int expectedRowsOfData = rawDataFileTemplate.getBlockSize();
+            String[][] scanData = //
+                    new String[expectedRowsOfData][massSpec.getVIRTUAL_COLLECTOR_COUNT()];
+
+            System.out.println("Fract named  " + analysisFile.getName() + "  row count = " + onPeakFileRows.length);
+            //TODO possible missing condition here if file lengths vary from template spec and onPeakFileRows is too big
+            for (int i = 0; i < rawDataFileTemplate.getBlockSize(); i++) {
+
+                String[] onPeakCollectorsColumns = new String[]{"0", "0", "0", "0", "0", "0", "0", "0", "0", "0",};
+                String[] backgroundCollectorsColumns = new String[]{"0", "0", "0", "0", "0", "0", "0", "0", "0", "0",};
+                // handle case where there is not as many lines of data as expected
+                if (onPeakFileRows.length > (i + rawDataFileTemplate.getBlockStartOffset())) {
+                    onPeakCollectorsColumns = //
+                            onPeakFileRows[i + rawDataFileTemplate.getBlockStartOffset()].split("\t");
+                }
 
-                // note each row has relative time stamp which we are hiding for now by using frequency
-                int expectedRowsOfData = rawDataFileTemplate.getBlockSize();
-                String[][] scanData = //
-                        new String[expectedRowsOfData][massSpec.getVIRTUAL_COLLECTOR_COUNT()];
+                // handle case where there is not as many lines of data as expected
+                if (backgroundFileRows.length > (i + rawDataFileTemplate.getBlockStartOffset())) {
+                    backgroundCollectorsColumns =//
+                            backgroundFileRows[i + rawDataFileTemplate.getBlockStartOffset()].split("\t");
+                }
 
-                if (f == 137) {
-                    System.out.println();
+                // background
+                for (int j = 1; j < 9; j++) {
+                    scanData[i][j - 1] = backgroundCollectorsColumns[j].trim();
                 }
-                System.out.println("Fract # " + f + "   named  " + analysisFiles[f].getName() + "  row count = " + onPeakFileRows.length);
-                //TODO possible missing condition here if file lengths vary from template spec and onPeakFileRows is too big
-                for (int i = 0; i < rawDataFileTemplate.getBlockSize(); i++) {
-
-                    String[] onPeakCollectorsColumns = new String[]{"0", "0", "0", "0", "0", "0", "0", "0", "0", "0",};
-                    String[] backgroundCollectorsColumns = new String[]{"0", "0", "0", "0", "0", "0", "0", "0", "0", "0",};
-                    // handle case where there is not as many lines of data as expected
-                    if (onPeakFileRows.length > (i + rawDataFileTemplate.getBlockStartOffset())) {
-                        onPeakCollectorsColumns = //
-                                onPeakFileRows[i + rawDataFileTemplate.getBlockStartOffset()].split("\t");
-                    }
-
-                    // handle case where there is not as many lines of data as expected
-                    if (backgroundFileRows.length > (i + rawDataFileTemplate.getBlockStartOffset())) {
-                        backgroundCollectorsColumns =//
-                                backgroundFileRows[i + rawDataFileTemplate.getBlockStartOffset()].split("\t");
-                    }
-
-                    // background
-                    for (int j = 1; j < 9; j++) {
-                        scanData[i][j - 1] = backgroundCollectorsColumns[j].trim();
-                    }
-                    // onpeak
-                    for (int j = 1; j < 9; j++) {
-                        scanData[i][8 + j - 1] = onPeakCollectorsColumns[j].trim();
-                    }
+                // onpeak
+                for (int j = 1; j < 9; j++) {
+                    scanData[i][8 + j - 1] = onPeakCollectorsColumns[j].trim();
                 }
-
-                // extract isStandard
-                boolean isStandard = isStandardFractionID(fractionID);
-
-                TripoliFraction tripoliFraction = //                           
-                        new TripoliFraction( //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                //
-                                fractionID, //
-                                massSpec.getCommonLeadCorrectionHighestLevel(), //
-                                isStandard,
-                                fractionBackgroundTimeStamp, //
-                                fractionPeakTimeStamp,massSpec.rawRatiosFactory(scanData, isStandard, fractionID, usingFullPropagation, null));
-
-                tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
-                tripoliFractions.add(tripoliFraction);
-//                System.out.println( "Successfully added frac " + fractionID + " >>  " + tripoliFractions.add( tripoliFraction ) );
-//
-//                System.out.println( "                                       Count of stored fractions = " + tripoliFractions.size() );
-//                System.out.println( fractionID //
-//                        + " " + isStandard + " time = " + TimeToString.secondsAsLongToTimeString( fractionPeakTimeStamp ) );
-
             }
-        }
 
-        if (tripoliFractions.isEmpty()) {
-            tripoliFractions = null;
+            retVal = new ParsedAnalysisFile(fractionID, fractionBackgroundTimeStamp, fractionPeakTimeStamp, scanData);
         }
 
-        return tripoliFractions;
+        return retVal;
     }
 }
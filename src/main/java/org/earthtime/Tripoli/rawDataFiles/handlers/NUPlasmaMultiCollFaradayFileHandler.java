@@ -42,6 +42,7 @@ import org.earthtime.Tripoli.dataModels.DataModelInterface;
 import org.earthtime.Tripoli.dataModels.inputParametersModels.AbstractAcquisitionModel;
 import org.earthtime.Tripoli.dataModels.inputParametersModels.StaticAcquisition;
 import org.earthtime.Tripoli.fractions.TripoliFraction;
+import org.earthtime.Tripoli.massSpecSetups.multiCollector.NUPlasma.GehrelsNUPlasmaSetupUPbFar;
 import org.earthtime.Tripoli.massSpecSetups.multiCollector.NUPlasma.NUPlasmaCollectorsEnum;
 import static org.earthtime.UPb_Redux.ReduxConstants.getMonthConversions;
 import org.earthtime.UPb_Redux.filters.txtFileFilter;
@@ -61,6 +62,9 @@ public class NUPlasmaMultiCollFaradayFileHandler extends AbstractRawDataFileHand
     private static final long serialVersionUID = 4104909666221641003L;
     private static NUPlasmaMultiCollFaradayFileHandler instance = null;
     private static String dataDelimiter;
+    // header state restored when a live load resumes past the header
+    private transient Calendar resumeCalendar;
+    private transient int resumeBlockSize;
 
     /**
      *
@@ -353,186 +357,217 @@ public class NUPlasmaMultiCollFaradayFileHandler extends AbstractRawDataFileHand
 
         tripoliFractions = new TreeSet<>();
 
-        String fileContents = URIHelper.getTextFromURI(rawDataFile.getAbsolutePath());
-
-        // remove all quotes
-        fileContents = fileContents.replaceAll("\"", "");
-
-        // split off header
-        String[] headerData = fileContents.split( //
-                rawDataFileTemplate.getStartOfDataSectionFirstLine().trim());
-
-        // split data into fractions
-        String[] rawFractions = headerData[1].split(//
-                rawDataFileTemplate.getStartOfEachBlockFirstLine().trim());
-
-        String savedSampleName = null;
-
-        // rawFractions[0] contains our time stamp and we want the date part
-        String dateMY = rawFractions[0].substring(rawFractions[0].indexOf("on the") + 7).trim();
-        // now check for the added day of week that someone put into these files
-        String year = "";
-        String month = "";
-        String day = "";
-
-        if (dateMY.matches("\\w+, \\w+ \\d+, \\d+")) {
-            // this is of newer form Saturday, December 21, 2013
-            String dateMYParts[] = dateMY.split(",");
-            year = dateMYParts[2].trim();
-            month = dateMYParts[1].trim().split(" ")[0].trim();
-            day = dateMYParts[1].trim().split(" ")[1].trim();
-        } else if (dateMY.matches("\\d+ \\w+ \\d+")) {
-            // this is older form of 24 June 2011
-            String dateMYParts[] = dateMY.split(" ");
-            year = dateMYParts[2].trim();
-            month = dateMYParts[1].trim().substring(0, 3);
-            day = dateMYParts[0].trim();
-        }
+        // oct 2026 streamed block by block instead of read whole and split
+        try (RawDataFileTokenizer rawDataTokenizer = new RawDataFileTokenizer(rawDataFile)) {
 
-        calendar.set(Integer.parseInt(year), getMonthConversions(month), Integer.parseInt(day));
+            String startOfEachBlock = rawDataFileTemplate.getStartOfEachBlockFirstLine().trim();
+            int myBlockSize = -1;
+            int i = 0;
 
-        Map<String, Integer> repeatedFractionNames = new HashMap<>();
-//        DateFormat fractionTimeFormat = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.MEDIUM);
+            if (canResumeRawDataFile(ignoreFirstFractions)) {
+                // live data monitoring: continue at the last block read, which may have been incomplete
+                rawDataTokenizer.seek(getRawDataFileResumePosition());
+                rawDataTokenizer.skipPastMarker(startOfEachBlock);
+                calendar = (Calendar) resumeCalendar.clone();
+                myBlockSize = resumeBlockSize;
+                i = getRawDataFileResumeCountOfFractions();
+            } else {
+                // skip header
+                rawDataTokenizer.skipPastMarker(rawDataFileTemplate.getStartOfDataSectionFirstLine().trim());
+
+                rawDataTokenizer.readBlock(startOfEachBlock);
+
+                // text before first block contains our time stamp and we want the date part
+                String firstBlockText = rawDataTokenizer.getBlockText();
+                String dateMY = firstBlockText.substring(firstBlockText.indexOf("on the") + 7).trim();
+                // now check for the added day of week that someone put into these files
+                String year = "";
+                String month = "";
+                String day = "";
+
+                if (dateMY.matches("\\w+, \\w+ \\d+, \\d+")) {
+                    // this is of newer form Saturday, December 21, 2013
+                    String dateMYParts[] = dateMY.split(",");
+                    year = dateMYParts[2].trim();
+                    month = dateMYParts[1].trim().split(" ")[0].trim();
+                    day = dateMYParts[1].trim().split(" ")[1].trim();
+                } else if (dateMY.matches("\\d+ \\w+ \\d+")) {
+                    // this is older form of 24 June 2011
+                    String dateMYParts[] = dateMY.split(" ");
+                    year = dateMYParts[2].trim();
+                    month = dateMYParts[1].trim().substring(0, 3);
+                    day = dateMYParts[0].trim();
+                }
 
-        // split first block to get block size
-        String[] fractionBlockOfScans = rawFractions[1].split("\n");
-        int myBlockSize = fractionBlockOfScans.length - 2;
+                calendar.set(Integer.parseInt(year), getMonthConversions(month), Integer.parseInt(day));
+                resumeCalendar = (Calendar) calendar.clone();
+            }
 
-        for (int i = ignoreFirstFractions + 1; i < rawFractions.length; i++) {
+            String savedSampleName = null;
 
-            if (loadDataTask.isCancelled()) {
-                break;
-            }
+            Map<String, Integer> repeatedFractionNames = new HashMap<>();
+//        DateFormat fractionTimeFormat = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.MEDIUM);
 
-            final int limit = ((100 * (i - ignoreFirstFractions)) / (rawFractions.length - ignoreFirstFractions));
-            loadDataTask.firePropertyChange("progress", 0, limit);
+            char delimiter = dataDelimiter.charAt(0);
+
+            long blockStartPosition = rawDataTokenizer.getLineStartPosition();
+            long lastBlockStartPosition = -1L;
+            int countOfBlocksBeforeLast = 0;
+            while (rawDataTokenizer.readBlock(startOfEachBlock)) {
+                // the last block read ends the file and may still be being written
+                lastBlockStartPosition = blockStartPosition;
+                countOfBlocksBeforeLast = i;
+                blockStartPosition = rawDataTokenizer.getLineStartPosition();
+                i++;
+
+                // first block gives block size
+                int countOfBlockLines = rawDataTokenizer.getCountOfBlockElements();
+                if (i == 1) {
+                    myBlockSize = countOfBlockLines - 2;
+                }
 
-            // split fractions into scans
-            fractionBlockOfScans = rawFractions[i].split("\n");
+                if (i <= ignoreFirstFractions) {
+                    continue;
+                }
 
-            // test is number of scans correct allowing for 2 extra lines = first and last
-            if ((fractionBlockOfScans.length - 2) == myBlockSize) {//rawDataFileTemplate.getBlockSize()) {
-                // get fraction name and analysis start time
-                // extract sample name from first fraction, and monitor for changes
-                // "<>" is delimiter betwee name and aquisition time
-                String[] sampleFractionTime = fractionBlockOfScans[0].split("<>");
+                if (loadDataTask.isCancelled()) {
+                    break;
+                }
 
-                // sept 2012
-                // find last "-" as delimeter to fractionID = number or standard name
-                // split on "-" and find last one, then combine rest with trim for sample name
-                String[] sampleFraction = sampleFractionTime[0].trim().split("-");
+                final int limit = (int) ((100 * rawDataTokenizer.getPosition()) / Math.max(1L, rawDataTokenizer.getLength()));
+                loadDataTask.firePropertyChange("progress", 0, limit);
 
-                int lengthSampleFraction = sampleFraction.length;
-                String fractionID = sampleFraction[lengthSampleFraction - 1].trim();
+                // test is number of scans correct allowing for 2 extra lines = first and last
+                if ((countOfBlockLines - 2) == myBlockSize) {//rawDataFileTemplate.getBlockSize()) {
+                    // get fraction name and analysis start time
+                    // extract sample name from first fraction, and monitor for changes
+                    // "<>" is delimiter betwee name and aquisition time
+                    String[] sampleFractionTime = rawDataTokenizer.getBlockElement(0).split("<>");
 
-                String sampleName = "";
-                for (int j = 0; j < (lengthSampleFraction - 1); j++) {
-                    sampleName += sampleFraction[j].trim();
-                }
+                    // sept 2012
+                    // find last "-" as delimeter to fractionID = number or standard name
+                    // split on "-" and find last one, then combine rest with trim for sample name
+                    String[] sampleFraction = sampleFractionTime[0].trim().split("-");
 
-                // TODO: ask George about multiple samples 
-                if (savedSampleName == null) {
-                    savedSampleName = sampleName;
-                }
+                    int lengthSampleFraction = sampleFraction.length;
+                    String fractionID = sampleFraction[lengthSampleFraction - 1].trim();
 
-                // extract time stamp : nonexistent before March 2011 see above definition of hs
-                Date fractionDate = null;
-                int AMPMval = 1;//PM
-                if (sampleFractionTime.length > 1) {
-
-                    String hms = sampleFractionTime[1].substring(20).trim();
-                    // check for am or pm or nothing at end
-                    if (hms.endsWith("AM")) {
-                        //hms += " AM";
-                        AMPMval = 0;
-                    } else if (!hms.endsWith("M")) {
-                        AMPMval = -1; // 24 hour clock
+                    String sampleName = "";
+                    for (int j = 0; j < (lengthSampleFraction - 1); j++) {
+                        sampleName += sampleFraction[j].trim();
                     }
 
-                    // april 2014 midnight problem
-                    String[] hmsAMPM = hms.split(":");
-                    String[] AMPM = hmsAMPM[2].split(" ");
+                    // TODO: ask George about multiple samples 
+                    if (savedSampleName == null) {
+                        savedSampleName = sampleName;
+                    }
 
-                    // jan 2015 another change in output ??
-                    // calendar roll over when no am pm present
-                    if (AMPMval == -1) {
-                        if (calendar.get(Calendar.HOUR_OF_DAY) > Integer.valueOf(hmsAMPM[0])) {
-                            // we have rolled to new day
-                            calendar.add(Calendar.DATE, 1);
+                    // extract time stamp : nonexistent before March 2011 see above definition of hs
+                    Date fractionDate = null;
+                    int AMPMval = 1;//PM
+                    if (sampleFractionTime.length > 1) {
+
+                        String hms = sampleFractionTime[1].substring(20).trim();
+                        // check for am or pm or nothing at end
+                        if (hms.endsWith("AM")) {
+                            //hms += " AM";
+                            AMPMval = 0;
+                        } else if (!hms.endsWith("M")) {
+                            AMPMval = -1; // 24 hour clock
                         }
 
-                        calendar.set(Calendar.SECOND, Integer.valueOf(AMPM[0]));
-                        calendar.set(Calendar.MINUTE, Integer.valueOf(hmsAMPM[1]));
+                        // april 2014 midnight problem
+                        String[] hmsAMPM = hms.split(":");
+                        String[] AMPM = hmsAMPM[2].split(" ");
 
-                        calendar.set(Calendar.HOUR_OF_DAY, Integer.valueOf(hmsAMPM[0]));
+                        // jan 2015 another change in output ??
+                        // calendar roll over when no am pm present
+                        if (AMPMval == -1) {
+                            if (calendar.get(Calendar.HOUR_OF_DAY) > Integer.valueOf(hmsAMPM[0])) {
+                                // we have rolled to new day
+                                calendar.add(Calendar.DATE, 1);
+                            }
 
-                    } else {
-                        calendar.set(Calendar.SECOND, Integer.valueOf(AMPM[0]));
-                        calendar.set(Calendar.MINUTE, Integer.valueOf(hmsAMPM[1]));
+                            calendar.set(Calendar.SECOND, Integer.valueOf(AMPM[0]));
+                            calendar.set(Calendar.MINUTE, Integer.valueOf(hmsAMPM[1]));
 
-                        calendar.set(Calendar.HOUR, Integer.valueOf(hmsAMPM[0]) % 12);
+                            calendar.set(Calendar.HOUR_OF_DAY, Integer.valueOf(hmsAMPM[0]));
 
-                        if (i == (ignoreFirstFractions + 1)) {
-                            calendar.set(Calendar.AM_PM, AMPMval);
                         } else {
-                            // check for rollover
-                            if (calendar.get(Calendar.AM_PM) > AMPMval) {
-                                // we have rolled to new day
-                                calendar.add(Calendar.DATE, 1);
+                            calendar.set(Calendar.SECOND, Integer.valueOf(AMPM[0]));
+                            calendar.set(Calendar.MINUTE, Integer.valueOf(hmsAMPM[1]));
+
+                            calendar.set(Calendar.HOUR, Integer.valueOf(hmsAMPM[0]) % 12);
+
+                            if (i == (ignoreFirstFractions + 1)) {
+                                calendar.set(Calendar.AM_PM, AMPMval);
+                            } else {
+                                // check for rollover
+                                if (calendar.get(Calendar.AM_PM) > AMPMval) {
+                                    // we have rolled to new day
+                                    calendar.add(Calendar.DATE, 1);
+                                }
                             }
+                            calendar.set(Calendar.AM_PM, AMPMval);
                         }
-                        calendar.set(Calendar.AM_PM, AMPMval);
+
+                        fractionDate = calendar.getTime();//   fractionTimeFormat.parse(fractionDateString);
+
                     }
 
-                    fractionDate = calendar.getTime();//   fractionTimeFormat.parse(fractionDateString);
+                    // extract isStandard
+                    boolean isStandard = isStandardFractionID(fractionID);
+
+                    // check number of columns against number of collectors
+                    // last entry is a counter
+                    if (rawDataTokenizer.splitBlockElement(1, delimiter) == (getMassSpec().getVIRTUAL_COLLECTOR_COUNT() + 1)) {
+                        // prepare block of scans straight into doubles
+                        double[][] scanData = new double[myBlockSize][getMassSpec().getVIRTUAL_COLLECTOR_COUNT()];
+                        for (int row = 1; row < countOfBlockLines - 1; row++) {
+                            rawDataTokenizer.splitBlockElement(row, delimiter);
+                            rawDataTokenizer.parseFields(scanData[row - 1]);
+                        }
+
+                        String fullFractionId = sampleName + "-" + fractionID;
+                        int count = 0;
+                        if (repeatedFractionNames.containsKey(fullFractionId)) {
+                            // increment count
+                            count = repeatedFractionNames.get(fullFractionId);
+                            count++;
+                        }
+                        repeatedFractionNames.put(fullFractionId, count);
 
-                }
+                        String theFractionID = fullFractionId + ((count == 0) ? "" : "." + String.valueOf(count));
 
-                // extract isStandard
-                boolean isStandard = isStandardFractionID(fractionID);
-
-                // check number of columns against number of collectors
-                String[] columns = fractionBlockOfScans[1].split(dataDelimiter);
-                // last entry is a counter
-                if (columns.length == (getMassSpec().getVIRTUAL_COLLECTOR_COUNT() + 1)) {
-                    // prepare block of scans
-                    String[][] scanData = new String[myBlockSize][getMassSpec().getVIRTUAL_COLLECTOR_COUNT()];
-                    for (int row = 1; row < fractionBlockOfScans.length - 1; row++) {
-                        columns = fractionBlockOfScans[row].split(dataDelimiter);
-                        System.arraycopy(columns, 0, scanData[row - 1], 0, getMassSpec().getVIRTUAL_COLLECTOR_COUNT());
-                    }
+                        // nov 2014 broke into steps to provide cleaner logic
+                        TripoliFraction tripoliFraction = //                           
+                                new TripoliFraction( //
+                                        theFractionID, //
+                                        massSpec.getCommonLeadCorrectionHighestLevel(), //
+                                        isStandard,
+                                        fractionDate.getTime(), //
+                                        fractionDate.getTime(),//
+                                        myBlockSize);//, 
 
-                    String fullFractionId = sampleName + "-" + fractionID;
-                    int count = 0;
-                    if (repeatedFractionNames.containsKey(fullFractionId)) {
-                        // increment count
-                        count = repeatedFractionNames.get(fullFractionId);
-                        count++;
+                        massSpec.setCountOfAcquisitions(myBlockSize);
+                        SortedSet<DataModelInterface> rawRatios = ((GehrelsNUPlasmaSetupUPbFar) massSpec).rawRatiosFactoryRevised();
+                        tripoliFraction.setRawRatios(rawRatios);
+                        massSpec.processFractionRawRatios(scanData, isStandard, fractionID, usingFullPropagation, tripoliFraction);
+
+                        tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
+                        tripoliFractions.add(tripoliFraction);
+
+                        System.out.println(sampleName + "   " + theFractionID + " " + isStandard + "  \t" + TimeToString.timeStampString(fractionDate.getTime()));
                     }
-                    repeatedFractionNames.put(fullFractionId, count);
-
-                    String theFractionID = fullFractionId + ((count == 0) ? "" : "." + String.valueOf(count));
-
-                    // nov 2014 broke into steps to provide cleaner logic
-                    TripoliFraction tripoliFraction = //                           
-                            new TripoliFraction( //
-                                    theFractionID, //
-                                    massSpec.getCommonLeadCorrectionHighestLevel(), //
-                                    isStandard,
-                                    fractionDate.getTime(), //
-                                    fractionDate.getTime(),//
-                                    myBlockSize);//, 
-                    
-                    SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactory(scanData, isStandard, theFractionID, usingFullPropagation, tripoliFraction);
-                    tripoliFraction.setRawRatios(rawRatios);
-                    massSpec.processFractionRawRatios(scanData, isStandard, fractionID, usingFullPropagation, tripoliFraction);
-
-                    tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
-                    tripoliFractions.add(tripoliFraction);
-
-                    System.out.println(sampleName + "   " + theFractionID + " " + isStandard + "  \t" + TimeToString.timeStampString(fractionDate.getTime()));
                 }
             }
+
+            resumeBlockSize = myBlockSize;
+            setRawDataFileResumePoint(lastBlockStartPosition, countOfBlocksBeforeLast);
+            setRawDataFileLoadedLength(rawDataTokenizer.getPosition());
+
+        } catch (IOException iOException) {
+            System.out.println("Could not read raw data file " + rawDataFile.getAbsolutePath() + ": " + iOException.getMessage());
         }
 
         if (tripoliFractions.isEmpty()) {
@@ -20,6 +20,7 @@
 package org.earthtime.Tripoli.rawDataFiles.handlers;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
 import java.text.DateFormat;
 import java.text.ParseException;
@@ -58,6 +59,10 @@ public class NUPlasmaMultiCollFaradayTRAFileHandler extends AbstractRawDataFileH
     private static final long serialVersionUID = 4617107661618798359L;
     private static NUPlasmaMultiCollFaradayTRAFileHandler instance = null;
 //    private static String dataDelimiter;
+    // run state restored when a live load resumes at the last completed fraction
+    private transient int resumeLineIndex;
+    private transient long resumeFractionBackgroundStartTime;
+    private transient String resumeSampleRunName;
 
     /**
      *
@@ -355,150 +360,178 @@ public class NUPlasmaMultiCollFaradayTRAFileHandler extends AbstractRawDataFileH
 
         tripoliFractions = new TreeSet<>();
 
-        String fileContents = URIHelper.getTextFromURI(rawDataFile.getAbsolutePath());
-
-        // remove all quotes
-        fileContents = fileContents.replaceAll("\"", "");
-
-        // split off header
-        String[] headerData = fileContents.split( //
-                rawDataFileTemplate.getStartOfDataSectionFirstLine().trim());
-
-        // split header to get sample name and date time
-        String[] headerDetails = headerData[0].split("\n");
-
-        // time stamp in form of 06/05/2014,01:27:57 PM
-        Date runDate = null;
-        DateFormat runDateFormatter = new SimpleDateFormat("MM/dd/yyyy,hh:mm:ss aa");// z");
-        String runDateText = headerDetails[headerDetails.length - 1];
-        long runStartTime = 0l;
-        long fractionBackgroundStartTime = 0l;
-
-        try {
-            runDate = runDateFormatter.parse(runDateText);// + " " + rawDataFileTemplate.getTimeZone().getID());
-            runStartTime = runDate.getTime();
-            fractionBackgroundStartTime = runStartTime;
-        } catch (ParseException parseException) {
-        }
+        // oct 2026 streamed line by line instead of read whole and split
+        try (RawDataFileTokenizer rawDataTokenizer = new RawDataFileTokenizer(rawDataFile)) {
+
+            long fractionBackgroundStartTime = 0l;
+            String sampleRunName;
+            int fractionCounter = 0;
+            // first acquisition is blank; line 0 is the rest of the marker line
+            int i = 0;
+            boolean moreLines = true;
+
+            if (canResumeRawDataFile(ignoreFirstFractions)) {
+                // live data monitoring: continue at the line that completed the last fraction read
+                rawDataTokenizer.seek(getRawDataFileResumePosition());
+                moreLines = rawDataTokenizer.nextLine();
+                fractionBackgroundStartTime = resumeFractionBackgroundStartTime;
+                sampleRunName = resumeSampleRunName;
+                fractionCounter = getRawDataFileResumeCountOfFractions();
+                i = resumeLineIndex;
+            } else {
+                setRawDataFileResumePoint(-1L, 0);
 
-        String sampleRunName = headerDetails[headerDetails.length - 2];
+                // header is the block before the data section
+                rawDataTokenizer.readBlock(rawDataFileTemplate.getStartOfDataSectionFirstLine().trim());
+                int countOfHeaderLines = rawDataTokenizer.getCountOfBlockElements();
 
-        // split data into fractions consisting of background and peak
-        // here the key is in knowing that the voltages of U238 go negative for background according to Gehrels
-        // rawAcquisitions has one line for each set of readings
-        String[] rawAcquisitions = headerData[1].split("\n");
-        // each fraction has a run of background and then a run of peak acquisitions
+                // time stamp in form of 06/05/2014,01:27:57 PM
+                Date runDate = null;
+                DateFormat runDateFormatter = new SimpleDateFormat("MM/dd/yyyy,hh:mm:ss aa");// z");
+                String runDateText = rawDataTokenizer.getBlockElement(countOfHeaderLines - 1);
+                long runStartTime = 0l;
 
-        int fractionCounter = 0;
-        boolean readingPeaks = false;
-        ArrayList<double[]> backgroundAcquisitions = new ArrayList<>();
-        ArrayList<double[]> peakAcquisitions = new ArrayList<>();
+                try {
+                    runDate = runDateFormatter.parse(runDateText);// + " " + rawDataFileTemplate.getTimeZone().getID());
+                    runStartTime = runDate.getTime();
+                    fractionBackgroundStartTime = runStartTime;
+                } catch (ParseException parseException) {
+                }
 
-        // first acquisition is blank
-        for (int i = 150; i < rawAcquisitions.length; i++) {
-            if (loadDataTask.isCancelled()) {
-                break;
+                sampleRunName = rawDataTokenizer.getBlockElement(countOfHeaderLines - 2);
             }
 
-            final int limit = ((100 * (i)) / (rawAcquisitions.length));
-            loadDataTask.firePropertyChange("progress", 0, limit);
-
-            // this hard-wired specification from the lab dated july 21 2014
-            if (fractionCounter < 133) {
-                String[] rawIntensities = rawAcquisitions[i].split(",");
-                double i238 = Double.parseDouble(rawIntensities[0]);
-                boolean isStandard = false;
-                if (fractionCounter < 5) {
-                    isStandard = true;
-                } else if (((fractionCounter - 4) % 6) == 0){//          (fractionCounter == 124) {
-                    isStandard = true;
-                } else if (fractionCounter >= 130) {
-                    isStandard = true;
+            // split data into fractions consisting of background and peak
+            // here the key is in knowing that the voltages of U238 go negative for background according to Gehrels
+            // each line after the data section marker has one set of readings
+            // each fraction has a run of background and then a run of peak acquisitions
+            boolean readingPeaks = false;
+            ArrayList<double[]> backgroundAcquisitions = new ArrayList<>();
+            ArrayList<double[]> peakAcquisitions = new ArrayList<>();
+
+            while (moreLines) {
+                if (loadDataTask.isCancelled()) {
+                    break;
                 }
 
-                
-                // test if have  pair of background and peak = completed fraction
-                if (readingPeaks && (i238 <= 0.001)) {
-                    // process new fraction and reset data collectors *************
-
-                    int readCountBackgroundAcquisitions = backgroundAcquisitions.size();
-                    int readCountPeakAcquisitions = peakAcquisitions.size();
-                    // trim front and back of data
-                    int trimCountFront = 5;
-                    for (int c = 0; c < trimCountFront; c++) {
-                        backgroundAcquisitions.remove(0);
-                        peakAcquisitions.remove(0);
-                    }
-                    int trimCountBack =15;
-                    for (int c = 0; c < trimCountBack; c++) {
-                        backgroundAcquisitions.remove(backgroundAcquisitions.size() - 1);
-                        peakAcquisitions.remove(peakAcquisitions.size() - 1);
-                    }
-                    System.out.println("read in fraction " + fractionCounter + "  " + backgroundAcquisitions.size() + "   " + peakAcquisitions.size());
-
-                    String theFractionID;
-                    if (isStandard) {
-                        theFractionID = sampleRunName + "-STD." + String.valueOf(fractionCounter);
-                    } else {
-                        theFractionID = sampleRunName + "-" + String.valueOf(fractionCounter);
+                // blank lines carry no readings
+                if ((i >= 150) && (rawDataTokenizer.splitLine(',') > 1)) {
+                    final int limit = (int) ((100 * rawDataTokenizer.getPosition()) / Math.max(1L, rawDataTokenizer.getLength()));
+                    loadDataTask.firePropertyChange("progress", 0, limit);
+
+                    // this hard-wired specification from the lab dated july 21 2014
+                    if (fractionCounter < 133) {
+                        double i238 = rawDataTokenizer.parseField(0);
+                        boolean isStandard = false;
+                        if (fractionCounter < 5) {
+                            isStandard = true;
+                        } else if (((fractionCounter - 4) % 6) == 0){//          (fractionCounter == 124) {
+                            isStandard = true;
+                        } else if (fractionCounter >= 130) {
+                            isStandard = true;
+                        }
+
+                        // test if have  pair of background and peak = completed fraction
+                        if (readingPeaks && (i238 <= 0.001)) {
+                            // process new fraction and reset data collectors *************
+
+                            int readCountBackgroundAcquisitions = backgroundAcquisitions.size();
+                            int readCountPeakAcquisitions = peakAcquisitions.size();
+                            // trim front and back of data
+                            int trimCountFront = 5;
+                            for (int c = 0; c < trimCountFront; c++) {
+                                backgroundAcquisitions.remove(0);
+                                peakAcquisitions.remove(0);
+                            }
+                            int trimCountBack =15;
+                            for (int c = 0; c < trimCountBack; c++) {
+                                backgroundAcquisitions.remove(backgroundAcquisitions.size() - 1);
+                                peakAcquisitions.remove(peakAcquisitions.size() - 1);
+                            }
+                            System.out.println("read in fraction " + fractionCounter + "  " + backgroundAcquisitions.size() + "   " + peakAcquisitions.size());
+
+                            String theFractionID;
+                            if (isStandard) {
+                                theFractionID = sampleRunName + "-STD." + String.valueOf(fractionCounter);
+                            } else {
+                                theFractionID = sampleRunName + "-" + String.valueOf(fractionCounter);
+                            }
+
+                            // fractions already loaded by data monitoring are not repeated
+                            if (fractionCounter >= ignoreFirstFractions) {
+                                // nov 2014 broke into steps to provide cleaner logic
+                                TripoliFraction tripoliFraction = //                           
+                                        new TripoliFraction( //
+                                                //
+                                                theFractionID, //
+                                                massSpec.getCommonLeadCorrectionHighestLevel(), //
+                                                isStandard,
+                                                fractionBackgroundStartTime, //
+                                                fractionBackgroundStartTime + readCountBackgroundAcquisitions * massSpec.getCOLLECTOR_DATA_FREQUENCY_MILLISECS(),
+                                                peakAcquisitions.size());
+
+                                SortedSet<DataModelInterface> rawRatios = ((GehrelsNUPlasmaSetupUPbFarTRA) massSpec).rawRatiosFactoryRevised();
+                                tripoliFraction.setRawRatios(rawRatios);
+
+                                massSpec.setCountOfAcquisitions(peakAcquisitions.size());
+                                massSpec.processFractionRawRatiosTRA(backgroundAcquisitions, peakAcquisitions, isStandard, theFractionID, usingFullPropagation, tripoliFraction);
+
+                                tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
+                                tripoliFractions.add(tripoliFraction);
+
+                                System.out.println(theFractionID + " " + isStandard + "  \t" + TimeToString.timeStampString(fractionBackgroundStartTime) + "\n\n<><><><><><><><><><><><><><><><><><><><><><><>");
+                            }
+
+                            // update time
+                            fractionBackgroundStartTime += massSpec.getCOLLECTOR_DATA_FREQUENCY_MILLISECS() * (readCountBackgroundAcquisitions + readCountPeakAcquisitions);
+                            // reset data collectors
+                            fractionCounter++;
+                            readingPeaks = false;
+                            backgroundAcquisitions = new ArrayList<>();
+                            peakAcquisitions = new ArrayList<>();
+
+                            // this line opens the next fraction, so a later load can resume here
+                            setRawDataFileResumePoint(rawDataTokenizer.getLineStartPosition(), fractionCounter);
+                            resumeLineIndex = i;
+                            resumeFractionBackgroundStartTime = fractionBackgroundStartTime;
+                            resumeSampleRunName = sampleRunName;
+                        }
+
+                        // we want 238, 232, skip, 208, 207, 206, 204, skip, 202
+                        if (i238 <= 0.001) {
+                            double[] backgroundIntensities = new double[7];
+                            backgroundAcquisitions.add(backgroundIntensities);
+                            backgroundIntensities[0] = i238;
+                            backgroundIntensities[1] = rawDataTokenizer.parseField(1);
+                            backgroundIntensities[2] = rawDataTokenizer.parseField(3);
+                            backgroundIntensities[3] = rawDataTokenizer.parseField(4);
+                            backgroundIntensities[4] = rawDataTokenizer.parseField(5);
+                            backgroundIntensities[5] = rawDataTokenizer.parseField(6);
+                            backgroundIntensities[6] = rawDataTokenizer.parseField(8);
+                        } else {
+                            double[] peakIntensities = new double[7];
+                            peakAcquisitions.add(peakIntensities);
+                            peakIntensities[0] = i238;
+                            peakIntensities[1] = rawDataTokenizer.parseField(1);
+                            peakIntensities[2] = rawDataTokenizer.parseField(3);
+                            peakIntensities[3] = rawDataTokenizer.parseField(4);
+                            peakIntensities[4] = rawDataTokenizer.parseField(5);
+                            peakIntensities[5] = rawDataTokenizer.parseField(6);
+                            peakIntensities[6] = rawDataTokenizer.parseField(8);
+
+                            readingPeaks = true;
+                        }
                     }
-
-                    // nov 2014 broke into steps to provide cleaner logic
-                    TripoliFraction tripoliFraction = //                           
-                            new TripoliFraction( //
-                                    //
-                                    theFractionID, //
-                                    massSpec.getCommonLeadCorrectionHighestLevel(), //
-                                    isStandard,
-                                    fractionBackgroundStartTime, //
-                                    fractionBackgroundStartTime + readCountBackgroundAcquisitions * massSpec.getCOLLECTOR_DATA_FREQUENCY_MILLISECS(),
-                                    peakAcquisitions.size());
-
-                    SortedSet<DataModelInterface> rawRatios = ((GehrelsNUPlasmaSetupUPbFarTRA) massSpec).rawRatiosFactoryRevised();
-                    tripoliFraction.setRawRatios(rawRatios);
-
-                    massSpec.setCountOfAcquisitions(peakAcquisitions.size());
-                    massSpec.processFractionRawRatiosTRA(backgroundAcquisitions, peakAcquisitions, isStandard, theFractionID, usingFullPropagation, tripoliFraction);
-
-                    tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
-                    tripoliFractions.add(tripoliFraction);
-
-                    System.out.println(theFractionID + " " + isStandard + "  \t" + TimeToString.timeStampString(fractionBackgroundStartTime) + "\n\n<><><><><><><><><><><><><><><><><><><><><><><>");
-
-                    // update time
-                    fractionBackgroundStartTime += massSpec.getCOLLECTOR_DATA_FREQUENCY_MILLISECS() * (readCountBackgroundAcquisitions + readCountPeakAcquisitions);
-                    // reset data collectors
-                    fractionCounter++;
-                    readingPeaks = false;
-                    backgroundAcquisitions = new ArrayList<>();
-                    peakAcquisitions = new ArrayList<>();
                 }
 
-                // we want 238, 232, skip, 208, 207, 206, 204, skip, 202
-                if (i238 <= 0.001) {
-                    double[] backgroundIntensities = new double[7];
-                    backgroundAcquisitions.add(backgroundIntensities);
-                    backgroundIntensities[0] = i238;
-                    backgroundIntensities[1] = Double.parseDouble(rawIntensities[1]);
-                    backgroundIntensities[2] = Double.parseDouble(rawIntensities[3]);
-                    backgroundIntensities[3] = Double.parseDouble(rawIntensities[4]);
-                    backgroundIntensities[4] = Double.parseDouble(rawIntensities[5]);
-                    backgroundIntensities[5] = Double.parseDouble(rawIntensities[6]);
-                    backgroundIntensities[6] = Double.parseDouble(rawIntensities[8]);
-                } else {
-                    double[] peakIntensities = new double[7];
-                    peakAcquisitions.add(peakIntensities);
-                    peakIntensities[0] = i238;
-                    peakIntensities[1] = Double.parseDouble(rawIntensities[1]);
-                    peakIntensities[2] = Double.parseDouble(rawIntensities[3]);
-                    peakIntensities[3] = Double.parseDouble(rawIntensities[4]);
-                    peakIntensities[4] = Double.parseDouble(rawIntensities[5]);
-                    peakIntensities[5] = Double.parseDouble(rawIntensities[6]);
-                    peakIntensities[6] = Double.parseDouble(rawIntensities[8]);
-
-                    readingPeaks = true;
-                }
+                moreLines = rawDataTokenizer.nextLine();
+                i++;
             }
+
+            setRawDataFileLoadedLength(rawDataTokenizer.getPosition());
+
+        } catch (IOException iOException) {
+            System.out.println("Could not read raw data file " + rawDataFile.getAbsolutePath() + ": " + iOException.getMessage());
         }
 
         if (tripoliFractions.isEmpty()) {
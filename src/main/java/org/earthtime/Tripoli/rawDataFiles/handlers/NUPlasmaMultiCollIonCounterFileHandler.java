@@ -18,6 +18,7 @@
 package org.earthtime.Tripoli.rawDataFiles.handlers;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.Calendar;
 import java.util.Date;
@@ -52,6 +53,9 @@ public class NUPlasmaMultiCollIonCounterFileHandler extends AbstractRawDataFileH
     // Class variables
     // private static final long serialVersionUID = 4104909666221641003L;
     private static NUPlasmaMultiCollIonCounterFileHandler instance = null;
+    // header state restored when a live load resumes past the header
+    private transient Calendar resumeCalendar;
+    private transient int resumeBlockSize;
 
     /**
      *
@@ -267,180 +271,195 @@ public class NUPlasmaMultiCollIonCounterFileHandler extends AbstractRawDataFileH
 
         tripoliFractions = new TreeSet<>();
 
-        // if ( isValidRawDataFileType( rawDataFile ) ) {
-        String fileContents = URIHelper.getTextFromURI(rawDataFile.getAbsolutePath());
-        //if ( areKeyWordsPresent( fileContents ) ) {
-
-        // remove all quotes
-        fileContents = fileContents.replaceAll("\"", "");
-
-        // split off header
-        String[] headerData = fileContents.split( //
-                rawDataFileTemplate.getStartOfDataSectionFirstLine().trim());
-
-        // split data into fractions
-        String[] rawFractions = headerData[1].split(//
-                rawDataFileTemplate.getStartOfEachBlockFirstLine().trim());
-
-        String savedSampleName = null;
-
-        // rawFractions[0] contains our time stamp and we want the date part
-        String dateMY = rawFractions[0].substring(rawFractions[0].indexOf("on the") + 7).trim();
-        // now check for the added day of week that someone put into these files
-        String year = "";
-        String month = "";
-        String day = "";
-
-        if (dateMY.matches("\\w+, \\w+ \\d+, \\d+")) {
-            // this is of newer form Saturday, December 21, 2013
-            String dateMYParts[] = dateMY.split(",");
-            year = dateMYParts[2].trim();
-            month = dateMYParts[1].trim().split(" ")[0].trim();
-            day = dateMYParts[1].trim().split(" ")[1].trim();
-        } else if (dateMY.matches("\\d+ \\w+ \\d+")) {
-            // this is older form of 24 June 2011
-            String dateMYParts[] = dateMY.split(" ");
-            year = dateMYParts[2].trim();
-            month = dateMYParts[1].trim().substring(0, 3);
-            day = dateMYParts[0].trim();
-        }
-
-        calendar.set(Integer.parseInt(year), getMonthConversions(month), Integer.parseInt(day));
-
-        Map<String, Integer> repeatedFractionNames = new HashMap<>();
-//        DateFormat fractionTimeFormat = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.MEDIUM);
+        // oct 2026 streamed block by block instead of read whole and split
+        try (RawDataFileTokenizer rawDataTokenizer = new RawDataFileTokenizer(rawDataFile)) {
 
-        // split first block to get block size
-        String[] fractionBlockOfScans = rawFractions[1].split("\n");
-        int myBlockSize = fractionBlockOfScans.length - 2;
+            String startOfEachBlock = rawDataFileTemplate.getStartOfEachBlockFirstLine().trim();
+            int myBlockSize = -1;
+            int i = 0;
 
-        for (int i = ignoreFirstFractions + 1; i < rawFractions.length; i++) {
+            if (canResumeRawDataFile(ignoreFirstFractions)) {
+                // live data monitoring: continue at the last block read, which may have been incomplete
+                rawDataTokenizer.seek(getRawDataFileResumePosition());
+                rawDataTokenizer.skipPastMarker(startOfEachBlock);
+                calendar = (Calendar) resumeCalendar.clone();
+                myBlockSize = resumeBlockSize;
+                i = getRawDataFileResumeCountOfFractions();
+            } else {
+                // skip header
+                rawDataTokenizer.skipPastMarker(rawDataFileTemplate.getStartOfDataSectionFirstLine().trim());
+
+                rawDataTokenizer.readBlock(startOfEachBlock);
+
+                // text before first block contains our time stamp and we want the date part
+                String firstBlockText = rawDataTokenizer.getBlockText();
+                String dateMY = firstBlockText.substring(firstBlockText.indexOf("on the") + 7).trim();
+                // now check for the added day of week that someone put into these files
+                String year = "";
+                String month = "";
+                String day = "";
+
+                if (dateMY.matches("\\w+, \\w+ \\d+, \\d+")) {
+                    // this is of newer form Saturday, December 21, 2013
+                    String dateMYParts[] = dateMY.split(",");
+                    year = dateMYParts[2].trim();
+                    month = dateMYParts[1].trim().split(" ")[0].trim();
+                    day = dateMYParts[1].trim().split(" ")[1].trim();
+                } else if (dateMY.matches("\\d+ \\w+ \\d+")) {
+                    // this is older form of 24 June 2011
+                    String dateMYParts[] = dateMY.split(" ");
+                    year = dateMYParts[2].trim();
+                    month = dateMYParts[1].trim().substring(0, 3);
+                    day = dateMYParts[0].trim();
+                }
 
-            if (loadDataTask.isCancelled()) {
-                break;
+                calendar.set(Integer.parseInt(year), getMonthConversions(month), Integer.parseInt(day));
+                resumeCalendar = (Calendar) calendar.clone();
             }
 
-            loadDataTask.firePropertyChange("progress", 0, ((100 * i) / rawFractions.length));
-            // split fractions into scans
-            fractionBlockOfScans = rawFractions[i].split("\n");
-
-            // test is number of scans correct allowing for 2 extra lines = first and last
-            if ((fractionBlockOfScans.length - 2) == myBlockSize) {//rawDataFileTemplate.getBlockSize()) {
-                // get fraction name and analysis start time
-                // extract sample name from first fraction, and monitor for changes
-                // "<>" is delimiter betwee name and aquisition time
-                String[] sampleFractionTime = fractionBlockOfScans[0].split("<>");
+            String savedSampleName = null;
 
-                // sept 2012
-                // find last "-" as delimeter to fractionID = number or standard name
-                // split on "-" and find last one, then combine rest with trim for sample name
-                String[] sampleFraction = sampleFractionTime[0].trim().split("-");
+            Map<String, Integer> repeatedFractionNames = new HashMap<>();
+//        DateFormat fractionTimeFormat = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.MEDIUM);
 
-                int lengthSampleFraction = sampleFraction.length;
-                String fractionID = sampleFraction[lengthSampleFraction - 1].trim();
+            long blockStartPosition = rawDataTokenizer.getLineStartPosition();
+            long lastBlockStartPosition = -1L;
+            int countOfBlocksBeforeLast = 0;
+            while (rawDataTokenizer.readBlock(startOfEachBlock)) {
+                // the last block read ends the file and may still be being written
+                lastBlockStartPosition = blockStartPosition;
+                countOfBlocksBeforeLast = i;
+                blockStartPosition = rawDataTokenizer.getLineStartPosition();
+                i++;
+
+                // first block gives block size
+                int countOfBlockLines = rawDataTokenizer.getCountOfBlockElements();
+                if (i == 1) {
+                    myBlockSize = countOfBlockLines - 2;
+                }
 
-                String sampleName = "";
-                for (int j = 0; j < (lengthSampleFraction - 1); j++) {
-                    sampleName += sampleFraction[j].trim();
+                if (i <= ignoreFirstFractions) {
+                    continue;
                 }
 
-                // TODO: ask George about multiple samples 
-                if (savedSampleName == null) {
-                    savedSampleName = sampleName;
+                if (loadDataTask.isCancelled()) {
+                    break;
                 }
 
-                // extract time stamp : nonexistent before March 2011 see above definition of hs
-                Date fractionDate = null;
-                int AMPMval = 1;//PM
-                if (sampleFractionTime.length > 1) {
+                loadDataTask.firePropertyChange("progress", 0, (int) ((100 * rawDataTokenizer.getPosition()) / Math.max(1L, rawDataTokenizer.getLength())));
+
+                // test is number of scans correct allowing for 2 extra lines = first and last
+                if ((countOfBlockLines - 2) == myBlockSize) {//rawDataFileTemplate.getBlockSize()) {
+                    // get fraction name and analysis start time
+                    // extract sample name from first fraction, and monitor for changes
+                    // "<>" is delimiter betwee name and aquisition time
+                    String[] sampleFractionTime = rawDataTokenizer.getBlockElement(0).split("<>");
+
+                    // sept 2012
+                    // find last "-" as delimeter to fractionID = number or standard name
+                    // split on "-" and find last one, then combine rest with trim for sample name
+                    String[] sampleFraction = sampleFractionTime[0].trim().split("-");
 
-                    String hms = sampleFractionTime[1].substring(20).trim();
-                    // check for am or pm or nothing at end
-                    if (hms.endsWith("AM") || !hms.endsWith("M")) {
-                        //hms += " AM";
-                        AMPMval = 0;
+                    int lengthSampleFraction = sampleFraction.length;
+                    String fractionID = sampleFraction[lengthSampleFraction - 1].trim();
+
+                    String sampleName = "";
+                    for (int j = 0; j < (lengthSampleFraction - 1); j++) {
+                        sampleName += sampleFraction[j].trim();
                     }
 
-                    // april 2014 midnight problem
-                    String[] hmsAMPM = hms.split(":");
-                    String[] AMPM = hmsAMPM[2].split(" ");
+                    // TODO: ask George about multiple samples 
+                    if (savedSampleName == null) {
+                        savedSampleName = sampleName;
+                    }
 
-                    calendar.set(Calendar.HOUR, Integer.valueOf(hmsAMPM[0]) % 12);
-                    calendar.set(Calendar.MINUTE, Integer.valueOf(hmsAMPM[1]));
-                    calendar.set(Calendar.SECOND, Integer.valueOf(AMPM[0]));
+                    // extract time stamp : nonexistent before March 2011 see above definition of hs
+                    Date fractionDate = null;
+                    int AMPMval = 1;//PM
+                    if (sampleFractionTime.length > 1) {
 
-                    if (i == (ignoreFirstFractions + 1)) {
-                        calendar.set(Calendar.AM_PM, AMPMval);
-                    } else {
-                        // check for rollover
-                        if (calendar.get(Calendar.AM_PM) > AMPMval) {
-                            // we have rolled to new day
-                            calendar.add(Calendar.DATE, 1);
+                        String hms = sampleFractionTime[1].substring(20).trim();
+                        // check for am or pm or nothing at end
+                        if (hms.endsWith("AM") || !hms.endsWith("M")) {
+                            //hms += " AM";
+                            AMPMval = 0;
                         }
-                    }
-                    calendar.set(Calendar.AM_PM, AMPMval);
-                    fractionDate = calendar.getTime();//   fractionTimeFormat.parse(fractionDateString);
 
-                }
+                        // april 2014 midnight problem
+                        String[] hmsAMPM = hms.split(":");
+                        String[] AMPM = hmsAMPM[2].split(" ");
+
+                        calendar.set(Calendar.HOUR, Integer.valueOf(hmsAMPM[0]) % 12);
+                        calendar.set(Calendar.MINUTE, Integer.valueOf(hmsAMPM[1]));
+                        calendar.set(Calendar.SECOND, Integer.valueOf(AMPM[0]));
+
+                        if (i == (ignoreFirstFractions + 1)) {
+                            calendar.set(Calendar.AM_PM, AMPMval);
+                        } else {
+                            // check for rollover
+                            if (calendar.get(Calendar.AM_PM) > AMPMval) {
+                                // we have rolled to new day
+                                calendar.add(Calendar.DATE, 1);
+                            }
+                        }
+                        calendar.set(Calendar.AM_PM, AMPMval);
+                        fractionDate = calendar.getTime();//   fractionTimeFormat.parse(fractionDateString);
 
-                // extract isStandard
-                boolean isStandard = isStandardFractionID(fractionID);
-
-                // check number of columns against number of collectors
-                String[] columns = fractionBlockOfScans[1].split(",");
-                // last entry is a counter
-                if (columns.length == (getMassSpec().getVIRTUAL_COLLECTOR_COUNT() + 1)) {
-                    // prepare block of scans
-                    String[][] scanData = new String[myBlockSize][getMassSpec().getVIRTUAL_COLLECTOR_COUNT()];
-                    for (int row = 1; row < fractionBlockOfScans.length - 1; row++) {
-                        columns = fractionBlockOfScans[row].split(",");
-                        System.arraycopy(columns, 0, scanData[row - 1], 0, getMassSpec().getVIRTUAL_COLLECTOR_COUNT());
                     }
 
-                    String fullFractionId = sampleName + "-" + fractionID;
-                    int count = 0;
-                    if (repeatedFractionNames.containsKey(fullFractionId)) {
-                        // increment count
-                        count = repeatedFractionNames.get(fullFractionId);
-                        count++;
+                    // extract isStandard
+                    boolean isStandard = isStandardFractionID(fractionID);
+
+                    // check number of columns against number of collectors
+                    // last entry is a counter
+                    if (rawDataTokenizer.splitBlockElement(1, ',') == (getMassSpec().getVIRTUAL_COLLECTOR_COUNT() + 1)) {
+                        // prepare block of scans straight into doubles
+                        double[][] scanData = new double[myBlockSize][getMassSpec().getVIRTUAL_COLLECTOR_COUNT()];
+                        for (int row = 1; row < countOfBlockLines - 1; row++) {
+                            rawDataTokenizer.splitBlockElement(row, ',');
+                            rawDataTokenizer.parseFields(scanData[row - 1]);
+                        }
+
+                        String fullFractionId = sampleName + "-" + fractionID;
+                        int count = 0;
+                        if (repeatedFractionNames.containsKey(fullFractionId)) {
+                            // increment count
+                            count = repeatedFractionNames.get(fullFractionId);
+                            count++;
+                        }
+                        repeatedFractionNames.put(fullFractionId, count);
+
+                        String theFractionID = fullFractionId + ((count == 0) ? "" : "." + String.valueOf(count));
+
+                        // nov 2014 broke into steps to provide cleaner logic
+                        TripoliFraction tripoliFraction = //                           
+                                new TripoliFraction( //
+                                        theFractionID, //
+                                        massSpec.getCommonLeadCorrectionHighestLevel(), //
+                                        isStandard,
+                                        fractionDate.getTime(), //
+                                        fractionDate.getTime(),//
+                                        myBlockSize);//, 
+
+                        massSpec.setCountOfAcquisitions(myBlockSize);
+                        SortedSet<DataModelInterface> rawRatios = ((GehrelsNUPlasmaSetupUPbIonCounter) massSpec).rawRatiosFactoryRevised();
+                        tripoliFraction.setRawRatios(rawRatios);
+                        massSpec.processFractionRawRatios(scanData, isStandard, fractionID, usingFullPropagation, tripoliFraction);
+
+                        tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
+                        tripoliFractions.add(tripoliFraction);
+
+                        System.out.println(sampleName + "   " + theFractionID + " " + isStandard + "  \t" + TimeToString.timeStampString(fractionDate.getTime()));
                     }
-                    repeatedFractionNames.put(fullFractionId, count);
-
-                    String theFractionID = fullFractionId + ((count == 0) ? "" : "." + String.valueOf(count));
-
-//                    TripoliFraction tripoliFraction = //                           
-//                            new TripoliFraction( //
-//                                    theFractionID, //
-//                                    massSpec.getCommonLeadCorrectionHighestLevel(), //
-//                                    isStandard,
-//                                    fractionDate.getTime(), //
-//                                    fractionDate.getTime(), massSpec.rawRatiosFactory(scanData, isStandard, theFractionID, usingFullPropagation, null));
-//
-//                    tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
-//                    tripoliFractions.add(tripoliFraction);
-//
-//                    System.out.println(sampleName + "   " + fractionID + " " + isStandard + "  \t" + TimeToString.timeStampString(fractionDate.getTime()));
-
-                    // nov 2014 broke into steps to provide cleaner logic
-                    TripoliFraction tripoliFraction = //                           
-                            new TripoliFraction( //
-                                    theFractionID, //
-                                    massSpec.getCommonLeadCorrectionHighestLevel(), //
-                                    isStandard,
-                                    fractionDate.getTime(), //
-                                    fractionDate.getTime(),//
-                                    myBlockSize);//, 
-
-                    SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactory(scanData, isStandard, theFractionID, usingFullPropagation, tripoliFraction);
-                    tripoliFraction.setRawRatios(rawRatios);
-                    massSpec.processFractionRawRatios(scanData, isStandard, fractionID, usingFullPropagation, tripoliFraction);
-
-                    tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
-                    tripoliFractions.add(tripoliFraction);
-
-                    System.out.println(sampleName + "   " + theFractionID + " " + isStandard + "  \t" + TimeToString.timeStampString(fractionDate.getTime()));
                 }
             }
+
+            resumeBlockSize = myBlockSize;
+            setRawDataFileResumePoint(lastBlockStartPosition, countOfBlocksBeforeLast);
+            setRawDataFileLoadedLength(rawDataTokenizer.getPosition());
+
+        } catch (IOException iOException) {
+            System.out.println("Could not read raw data file " + rawDataFile.getAbsolutePath() + ": " + iOException.getMessage());
         }
 
         if (tripoliFractions.isEmpty()) {
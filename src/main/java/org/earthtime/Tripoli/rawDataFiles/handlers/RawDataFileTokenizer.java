@@ -0,0 +1,574 @@
+/*
+ * RawDataFileTokenizer.java
+ *
+ * Created Oct 18, 2026
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.rawDataFiles.handlers;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Streams a raw data file through one small buffer instead of reading it into
+ * a single String, and parses intensities straight into doubles without
+ * making a String for each line or field. Quotes are dropped as they are read.
+ *
+ * Text is returned exactly as the handlers saw it when they read the file with
+ * URIHelper.getTextFromURI and split it: a block is the text between two
+ * occurrences of a marker, such as "Sample Name is ", and its elements are
+ * what String.split("\n") made of that text, including the trailing "\r" of
+ * each line where the platform line separator is "\r\n". Fields are what
+ * String.split on a one character delimiter made of an element or line.
+ *
+ * @author James F. Bowring
+ */
+public class RawDataFileTokenizer implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    // largest count of significant digits for which the mantissa is exact
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {//
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,//
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private final FileChannel rawDataChannel;
+    private final ByteBuffer readBuffer;
+    private final long length;
+    private final Charset charset;
+    private final boolean linesKeepCarriageReturn;
+
+    private long position;
+    private long lineStartPosition;
+    private boolean endOfFile;
+    private boolean skipLineFeed;
+
+    // current line, without its line terminator
+    private byte[] line;
+    private int lineLength;
+    private boolean hasLine;
+
+    // elements of the current block stored end to end
+    private byte[] blockText;
+    private int blockTextLength;
+    private int[] elementStarts;
+    private int[] elementEnds;
+    private int countOfElements;
+    private int countOfSplitElements;
+
+    // fields of the element or line last split
+    private byte[] fieldText;
+    private int[] fieldStarts;
+    private int[] fieldEnds;
+    private int countOfFields;
+
+    /**
+     *
+     * @param rawDataFile
+     * @throws IOException
+     */
+    public RawDataFileTokenizer(File rawDataFile) throws IOException {
+        this(rawDataFile, System.getProperty("line.separator"));
+    }
+
+    /**
+     *
+     * @param rawDataFile
+     * @param lineSeparator the line separator that URIHelper.getTextFromURI
+     * would have used
+     * @throws IOException
+     */
+    RawDataFileTokenizer(File rawDataFile, String lineSeparator) throws IOException {
+        this.rawDataChannel = FileChannel.open(rawDataFile.toPath(), StandardOpenOption.READ);
+        this.readBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.readBuffer.flip();
+        this.length = rawDataChannel.size();
+        this.charset = Charset.defaultCharset();
+        this.linesKeepCarriageReturn = !"\n".equals(lineSeparator);
+
+        this.position = 0L;
+        this.lineStartPosition = 0L;
+        this.endOfFile = false;
+        this.skipLineFeed = false;
+
+        this.line = new byte[256];
+        this.lineLength = 0;
+        this.hasLine = false;
+
+        this.blockText = new byte[4096];
+        this.blockTextLength = 0;
+        this.elementStarts = new int[64];
+        this.elementEnds = new int[64];
+        this.countOfElements = 0;
+        this.countOfSplitElements = 0;
+
+        this.fieldText = line;
+        this.fieldStarts = new int[64];
+        this.fieldEnds = new int[64];
+        this.countOfFields = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        rawDataChannel.close();
+    }
+
+    /**
+     *
+     * @return the size of the file when opened
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     *
+     * @return the count of bytes read so far
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     *
+     * @return the position of the first byte of the current line, which
+     * seek accepts to read that line again
+     */
+    public long getLineStartPosition() {
+        return lineStartPosition;
+    }
+
+    /**
+     * Continues reading at <code>linePosition</code>, which must be the start
+     * of a line, such as a position from getLineStartPosition. There is no
+     * current line or block until the next read.
+     *
+     * @param linePosition
+     * @throws IOException
+     */
+    public void seek(long linePosition) throws IOException {
+        rawDataChannel.position(linePosition);
+        readBuffer.clear();
+        readBuffer.flip();
+
+        position = linePosition;
+        lineStartPosition = linePosition;
+        endOfFile = false;
+        skipLineFeed = false;
+
+        lineLength = 0;
+        hasLine = false;
+        blockTextLength = 0;
+        countOfElements = 0;
+        countOfSplitElements = 0;
+        countOfFields = 0;
+    }
+
+    /**
+     * Reads the next line, with the line terminator semantics of
+     * BufferedReader.readLine.
+     *
+     * @return false at the end of the file
+     * @throws IOException
+     */
+    public boolean nextLine() throws IOException {
+        lineLength = 0;
+        lineStartPosition = position;
+        boolean readAny = false;
+        boolean endOfLine = false;
+
+        while (!endOfLine && fillReadBuffer()) {
+            byte b = readBuffer.get();
+            position++;
+
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (b == '\n') {
+                    lineStartPosition = position;
+                    continue;
+                }
+            }
+
+            readAny = true;
+            if (b == '\n') {
+                endOfLine = true;
+            } else if (b == '\r') {
+                skipLineFeed = true;
+                endOfLine = true;
+            } else if (b != '"') {
+                if (lineLength == line.length) {
+                    line = Arrays.copyOf(line, 2 * line.length);
+                }
+                line[lineLength++] = b;
+            }
+        }
+
+        hasLine = readAny;
+        return hasLine;
+    }
+
+    private boolean fillReadBuffer() throws IOException {
+        if (!readBuffer.hasRemaining() && !endOfFile) {
+            readBuffer.clear();
+            int countRead = 0;
+            while (countRead == 0) {
+                countRead = rawDataChannel.read(readBuffer);
+            }
+            readBuffer.flip();
+            endOfFile = (countRead < 0);
+        }
+        return readBuffer.hasRemaining();
+    }
+
+    /**
+     * Reads lines until one contains <code>marker</code>, and leaves the rest
+     * of that line after the marker as the current line.
+     *
+     * @param marker
+     * @return false if the end of the file was reached first
+     * @throws IOException
+     */
+    public boolean skipPastMarker(String marker) throws IOException {
+        byte[] markerBytes = marker.getBytes(charset);
+        int markerIndex = -1;
+        while ((markerIndex < 0) && nextLine()) {
+            markerIndex = indexOf(line, lineLength, markerBytes);
+        }
+
+        if (markerIndex >= 0) {
+            removeFromLine(0, markerIndex + markerBytes.length);
+        }
+        return markerIndex >= 0;
+    }
+
+    /**
+     * Reads the block that ends at the next occurrence of
+     * <code>marker</code> or at the end of the file. The block begins with
+     * the current line, if any, which is the rest of the line where
+     * the previous marker was found. The rest of the line after the marker
+     * becomes the current line.
+     *
+     * @param marker
+     * @return false if there was no block to read
+     * @throws IOException
+     */
+    public boolean readBlock(String marker) throws IOException {
+        byte[] markerBytes = marker.getBytes(charset);
+        blockTextLength = 0;
+        countOfElements = 0;
+
+        boolean readAny = hasLine;
+        if (hasLine) {
+            addElement(line, 0, lineLength, linesKeepCarriageReturn);
+        }
+
+        boolean foundMarker = false;
+        while (!foundMarker && nextLine()) {
+            readAny = true;
+            int markerIndex = indexOf(line, lineLength, markerBytes);
+            if (markerIndex >= 0) {
+                foundMarker = true;
+                addElement(line, 0, markerIndex, false);
+                removeFromLine(0, markerIndex + markerBytes.length);
+                hasLine = true;
+            } else {
+                addElement(line, 0, lineLength, linesKeepCarriageReturn);
+            }
+        }
+
+        if (!foundMarker) {
+            // the text ended with a line separator
+            addElement(line, 0, 0, false);
+        }
+
+        // String.split removes trailing empty strings, unless there is no "\n"
+        countOfSplitElements = countOfElements;
+        while ((countOfSplitElements > ((countOfElements > 1) ? 0 : 1)) //
+                && (elementStarts[countOfSplitElements - 1] == elementEnds[countOfSplitElements - 1])) {
+            countOfSplitElements--;
+        }
+
+        return readAny;
+    }
+
+    private void addElement(byte[] text, int start, int end, boolean addCarriageReturn) {
+        int elementLength = (end - start) + (addCarriageReturn ? 1 : 0);
+        if (blockTextLength + elementLength > blockText.length) {
+            blockText = Arrays.copyOf(blockText, Math.max(2 * blockText.length, blockTextLength + elementLength));
+        }
+        if (countOfElements == elementStarts.length) {
+            elementStarts = Arrays.copyOf(elementStarts, 2 * countOfElements);
+            elementEnds = Arrays.copyOf(elementEnds, 2 * countOfElements);
+        }
+
+        System.arraycopy(text, start, blockText, blockTextLength, end - start);
+        elementStarts[countOfElements] = blockTextLength;
+        blockTextLength += end - start;
+        if (addCarriageReturn) {
+            blockText[blockTextLength++] = '\r';
+        }
+        elementEnds[countOfElements] = blockTextLength;
+        countOfElements++;
+    }
+
+    private void removeFromLine(int start, int end) {
+        System.arraycopy(line, end, line, start, lineLength - end);
+        lineLength -= end - start;
+    }
+
+    private static int indexOf(byte[] text, int textLength, byte[] target) {
+        int retVal = -1;
+        for (int i = 0; (retVal < 0) && (i <= textLength - target.length); i++) {
+            int j = 0;
+            while ((j < target.length) && (text[i + j] == target[j])) {
+                j++;
+            }
+            if (j == target.length) {
+                retVal = i;
+            }
+        }
+        return retVal;
+    }
+
+    /**
+     *
+     * @return the current line
+     */
+    public String getLine() {
+        return new String(line, 0, lineLength, charset);
+    }
+
+    /**
+     *
+     * @return the count of elements String.split("\n") would return for the
+     * current block
+     */
+    public int getCountOfBlockElements() {
+        return countOfSplitElements;
+    }
+
+    /**
+     *
+     * @param element
+     * @return
+     */
+    public String getBlockElement(int element) {
+        return new String(blockText, elementStarts[element], elementEnds[element] - elementStarts[element], charset);
+    }
+
+    /**
+     *
+     * @return the text of the current block
+     */
+    public String getBlockText() {
+        StringBuilder text = new StringBuilder(blockTextLength + countOfElements);
+        for (int element = 0; element < countOfElements; element++) {
+            if (element > 0) {
+                text.append('\n');
+            }
+            text.append(getBlockElement(element));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Splits the current line into fields.
+     *
+     * @param delimiter
+     * @return the count of fields String.split would return
+     */
+    public int splitLine(char delimiter) {
+        return split(line, 0, lineLength, delimiter);
+    }
+
+    /**
+     * Splits an element of the current block into fields.
+     *
+     * @param element
+     * @param delimiter
+     * @return the count of fields String.split would return
+     */
+    public int splitBlockElement(int element, char delimiter) {
+        return split(blockText, elementStarts[element], elementEnds[element], delimiter);
+    }
+
+    private int split(byte[] text, int start, int end, char delimiter) {
+        fieldText = text;
+        countOfFields = 0;
+
+        boolean foundDelimiter = false;
+        int fieldStart = start;
+        for (int i = start; i <= end; i++) {
+            boolean isDelimiter = (i < end) && (text[i] == delimiter);
+            foundDelimiter = foundDelimiter || isDelimiter;
+            if ((i == end) || isDelimiter) {
+                if (countOfFields == fieldStarts.length) {
+                    fieldStarts = Arrays.copyOf(fieldStarts, 2 * countOfFields);
+                    fieldEnds = Arrays.copyOf(fieldEnds, 2 * countOfFields);
+                }
+                fieldStarts[countOfFields] = fieldStart;
+                fieldEnds[countOfFields] = i;
+                countOfFields++;
+                fieldStart = i + 1;
+            }
+        }
+
+        // String.split removes trailing empty strings, unless there is no delimiter
+        while ((countOfFields > (foundDelimiter ? 0 : 1)) //
+                && (fieldStarts[countOfFields - 1] == fieldEnds[countOfFields - 1])) {
+            countOfFields--;
+        }
+
+        return countOfFields;
+    }
+
+    /**
+     *
+     * @return the count of fields from the last split
+     */
+    public int getCountOfFields() {
+        return countOfFields;
+    }
+
+    /**
+     *
+     * @param field
+     * @return the field from the last split
+     */
+    public String getField(int field) {
+        return new String(fieldText, fieldStarts[field], fieldEnds[field] - fieldStarts[field], charset);
+    }
+
+    /**
+     * Parses a field from the last split as Double.parseDouble would, which
+     * ignores leading and trailing whitespace.
+     *
+     * @param field
+     * @return
+     * @throws NumberFormatException
+     */
+    public double parseField(int field) {
+        if (field >= countOfFields) {
+            throw new NumberFormatException("Missing field " + field);
+        }
+        return parseDouble(fieldText, fieldStarts[field], fieldEnds[field], charset);
+    }
+
+    /**
+     * Parses the first <code>intensities.length</code> fields from the last
+     * split into <code>intensities</code>.
+     *
+     * @param intensities
+     * @throws NumberFormatException
+     */
+    public void parseFields(double[] intensities) {
+        for (int field = 0; field < intensities.length; field++) {
+            intensities[field] = parseField(field);
+        }
+    }
+
+    /**
+     * Decimal numbers with at most 15 significant digits and a decimal
+     * exponent of at most 22 are exactly one correctly rounded
+     * multiplication or division of two exact doubles, so the result equals
+     * that of Double.parseDouble; anything else is passed to
+     * Double.parseDouble.
+     *
+     * @param text
+     * @param start
+     * @param end
+     * @param charset
+     * @return
+     * @throws NumberFormatException
+     */
+    static double parseDouble(byte[] text, int start, int end, Charset charset) {
+        // trim as String.trim
+        while ((start < end) && ((text[start] & 0xff) <= ' ')) {
+            start++;
+        }
+        while ((end > start) && ((text[end - 1] & 0xff) <= ' ')) {
+            end--;
+        }
+
+        int i = start;
+        boolean negative = false;
+        if ((i < end) && ((text[i] == '-') || (text[i] == '+'))) {
+            negative = (text[i] == '-');
+            i++;
+        }
+
+        long mantissa = 0L;
+        int countOfSignificantDigits = 0;
+        int countOfDigits = 0;
+        int exponent = 0;
+        boolean seenPoint = false;
+        boolean exact = true;
+
+        while (exact && (i < end) && (((text[i] >= '0') && (text[i] <= '9')) || ((text[i] == '.') && !seenPoint))) {
+            if (text[i] == '.') {
+                seenPoint = true;
+            } else {
+                countOfDigits++;
+                mantissa = mantissa * 10L + (text[i] - '0');
+                if (mantissa != 0L) {
+                    countOfSignificantDigits++;
+                }
+                if (seenPoint) {
+                    exponent--;
+                }
+                exact = (countOfSignificantDigits <= MAX_EXACT_DIGITS);
+            }
+            i++;
+        }
+
+        if (exact && (i < end) && ((text[i] == 'e') || (text[i] == 'E'))) {
+            i++;
+            boolean negativeExponent = false;
+            if ((i < end) && ((text[i] == '-') || (text[i] == '+'))) {
+                negativeExponent = (text[i] == '-');
+                i++;
+            }
+            int decimalExponent = 0;
+            int countOfExponentDigits = 0;
+            while ((i < end) && (text[i] >= '0') && (text[i] <= '9') && (countOfExponentDigits < 4)) {
+                decimalExponent = decimalExponent * 10 + (text[i] - '0');
+                countOfExponentDigits++;
+                i++;
+            }
+            exact = (countOfExponentDigits > 0);
+            exponent += negativeExponent ? -decimalExponent : decimalExponent;
+        }
+
+        exact = exact && (countOfDigits > 0) && (i == end) && (exponent >= -22) && (exponent <= 22);
+
+        double retVal;
+        if (!exact) {
+            retVal = Double.parseDouble(new String(text, start, end - start, charset));
+        } else if (exponent >= 0) {
+            retVal = (double) mantissa * POWERS_OF_TEN[exponent];
+        } else {
+            retVal = (double) mantissa / POWERS_OF_TEN[-exponent];
+        }
+
+        return (exact && negative) ? -retVal : retVal;
+    }
+}
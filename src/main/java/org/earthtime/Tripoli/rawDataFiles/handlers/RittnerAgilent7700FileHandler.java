@@ -28,6 +28,7 @@ import java.util.TreeSet;
 import javax.swing.JOptionPane;
 import javax.swing.SwingWorker;
 import org.earthtime.Tripoli.fractions.TripoliFraction;
+import org.earthtime.Tripoli.rawDataFiles.handlers.ConcurrentAnalysisFileReader.ParsedAnalysisFile;
 import org.earthtime.utilities.FileHelper;
 import org.earthtime.archivingTools.URIHelper;
 
@@ -178,117 +179,110 @@ public class RittnerAgilent7700FileHandler extends AbstractRawDataFileHandler im
     protected SortedSet<TripoliFraction> loadRawDataFile(SwingWorker loadDataTask, boolean usingFullPropagation, int leftShadeCount, int ignoreFirstFractions) {
         tripoliFractions = new TreeSet<>();
 
-        // assume we are golden        
-        for (int f = 0; f < analysisFiles.length; f++) {
+        // oct 2026 files are read and parsed concurrently and the fractions built in file order
+        ConcurrentAnalysisFileReader<ParsedAnalysisFile> analysisFileReader = createAnalysisFileReader();
+        analysisFileReader.readAnalysisFiles(loadDataTask, analysisFiles, this::parseAnalysisFolder, //
+                (int fileIndex, ParsedAnalysisFile parsedFile) -> {
+                    addTripoliFractionFromAnalysisFile(parsedFile, usingFullPropagation, leftShadeCount);
+                });
 
-            if (loadDataTask.isCancelled()) {
-                break;
+        if (tripoliFractions.isEmpty()) {
+            tripoliFractions = null;
+        }
+
+        return tripoliFractions;
+    }
+
+    /**
+     * Called concurrently for the analysis folders, so uses the mass spec
+     * setup only for its constants.
+     *
+     * @param analysisFolder
+     * @return the parsed file, or null if the folder does not hold exactly
+     * one .csv file or its time stamp cannot be read
+     */
+    private ParsedAnalysisFile parseAnalysisFolder(File analysisFolder) {
+        ParsedAnalysisFile retVal = null;
+
+        File[] analysisFileCSV = analysisFolder.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return (name.toLowerCase().endsWith(".csv"));
             }
-            loadDataTask.firePropertyChange("progress", 0, ((100 * f) / analysisFiles.length));
+        });
 
-            File[] analysisFileCSV = analysisFiles[f].listFiles(new FilenameFilter() {
-                @Override
-                public boolean accept(File dir, String name) {
-                    return (name.toLowerCase().endsWith(".csv"));
-                }
-            });
-
-            // there should be one only .csv file per folder
-            if (analysisFileCSV.length == 1) {
-                String fractionID = analysisFileCSV[0].getName().toUpperCase().replace(".CSV", "");
-
-                // get file contents
-                String fractionFileContents = URIHelper.getTextFromURI(analysisFileCSV[0].getAbsolutePath());
-                String[] fractionFileRows = fractionFileContents.split("\n");
-
-                // first get time stamp for file in row 2
-                String timeStampFromRow2[] = fractionFileRows[2].split(" :")[1].split(" +");
-                String fractionDate = //
-                        timeStampFromRow2[1] + " " //month
-                        + timeStampFromRow2[2] + ", " //day
-                        + timeStampFromRow2[3] + " " // year
-                        + timeStampFromRow2[4] + " " // hour:min
-                        + timeStampFromRow2[5] + " " // AM/PM
-                        ;
-
-                // Get the default MEDIUM/SHORT DateFormat
-                DateFormat fractionTimeFormat = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.SHORT);
-
-                // Parse the fractionDateValue
-                Date fractionDateValue;
-                try {
-                    fractionDateValue = fractionTimeFormat.parse(fractionDate);
-
-                    // assume change to peak at line 119 for now
-                    int assumedBackgroundRowCount = 106;// per Noah May 2014 until we get continuous mode 111;//119; // half of 236
-                    long fractionBackgroundTimeStamp = fractionDateValue.getTime();
-                    long fractionPeakTimeStamp = fractionDateValue.getTime() + assumedBackgroundRowCount * massSpec.getCOLLECTOR_DATA_FREQUENCY_MILLISECS();
-
-                    System.out.println("\n**** AGILENT FractionID " + fractionID + "  " + fractionDateValue.toString() + "  row count = " + fractionFileRows.length);
-
-                    // then process whole file because it includes the background as well as the peak                   
-                    // create background and peak 
-                    // note each row has relative time stamp which we are hiding for now by using frequency of read
-                    int expectedRowsOfData = rawDataFileTemplate.getBlockSize();
-                    // scan data has background columns then peak columns per row
-                    String[][] scanData =  new String[assumedBackgroundRowCount][massSpec.getVIRTUAL_COLLECTOR_COUNT()];
-
-                    //TODO possible missing condition here if file lengths vary from template spec and fractionFileRows is too big
-                    for (int i = 0; i < expectedRowsOfData; i++) {
-
-                        // handle case where there is not as many lines of data as expected
-                        String[] fractionCollectorsColumns = new String[]{"0", "0", "0", "0", "0", "0", "0", "0", "0", "0", "0",};
-                        if (fractionFileRows.length > (i + rawDataFileTemplate.getBlockStartOffset())) {
-                            fractionCollectorsColumns = //
-                                    fractionFileRows[i + rawDataFileTemplate.getBlockStartOffset()].split(",");
-                        }
+        // there should be one only .csv file per folder
+        if (analysisFileCSV.length == 1) {
+            String fractionID = analysisFileCSV[0].getName().toUpperCase().replace(".CSV", "");
+
+            // get file contents
+            String fractionFileContents = URIHelper.getTextFromURI(analysisFileCSV[0].getAbsolutePath());
+            String[] fractionFileRows = fractionFileContents.split("\n");
+
+            // first get time stamp for file in row 2
+            String timeStampFromRow2[] = fractionFileRows[2].split(" :")[1].split(" +");
+            String fractionDate = //
+                    timeStampFromRow2[1] + " " //month
+                    + timeStampFromRow2[2] + ", " //day
+                    + timeStampFromRow2[3] + " " // year
+                    + timeStampFromRow2[4] + " " // hour:min
+                    + timeStampFromRow2[5] + " " // AM/PM
+                    ;
+
+            // Get the default MEDIUM/SHORT DateFormat
+            DateFormat fractionTimeFormat = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.SHORT);
+
+            // Parse the fractionDateValue
+            Date fractionDateValue;
+            try {
+                fractionDateValue = fractionTimeFormat.parse(fractionDate);
+
+                // assume change to peak at line 119 for now
+                int assumedBackgroundRowCount = 106;// per Noah May 2014 until we get continuous mode 111;//119; // half of 236
+                long fractionBackgroundTimeStamp = fractionDateValue.getTime();
+                long fractionPeakTimeStamp = fractionDateValue.getTime() + assumedBackgroundRowCount * massSpec.getCOLLECTOR_DATA_FREQUENCY_MILLISECS();
+
+                System.out.println("\n**** AGILENT FractionID " + fractionID + "  " + fractionDateValue.toString() + "  row count = " + fractionFileRows.length);
+
+                // then process whole file because it includes the background as well as the peak                   
+                // create background and peak 
+                // note each row has relative time stamp which we are hiding for now by using frequency of read
+                int expectedRowsOfData = rawDataFileTemplate.getBlockSize();
+                // scan data has background columns then peak columns per row
+                String[][] scanData =  new String[assumedBackgroundRowCount][massSpec.getVIRTUAL_COLLECTOR_COUNT()];
+
+                //TODO possible missing condition here if file lengths vary from template spec and fractionFileRows is too big
+                for (int i = 0; i < expectedRowsOfData; i++) {
+
+                    // handle case where there is not as many lines of data as expected
+                    String[] fractionCollectorsColumns = new String[]{"0", "0", "0", "0", "0", "0", "0", "0", "0", "0", "0",};
+                    if (fractionFileRows.length > (i + rawDataFileTemplate.getBlockStartOffset())) {
+                        fractionCollectorsColumns = //
+                                fractionFileRows[i + rawDataFileTemplate.getBlockStartOffset()].split(",");
+                    }
 
-                        if (i < assumedBackgroundRowCount) {
-                            // column 5 is first isotope
-                            // background
-                            for (int j = 5; j < (massSpec.getVIRTUAL_COLLECTOR_COUNT() / 2) + 5; j++) {
-                                scanData[i][j - 5] = fractionCollectorsColumns[j].trim();
-                            }
-                        } else {
-                            // onpeak
-                            for (int j = 5; j < (massSpec.getVIRTUAL_COLLECTOR_COUNT() / 2) + 5; j++) {
-                                scanData[i - assumedBackgroundRowCount][(massSpec.getVIRTUAL_COLLECTOR_COUNT() / 2) + j - 5] //
-                                        = fractionCollectorsColumns[j].trim();
-                            }
+                    if (i < assumedBackgroundRowCount) {
+                        // column 5 is first isotope
+                        // background
+                        for (int j = 5; j < (massSpec.getVIRTUAL_COLLECTOR_COUNT() / 2) + 5; j++) {
+                            scanData[i][j - 5] = fractionCollectorsColumns[j].trim();
+                        }
+                    } else {
+                        // onpeak
+                        for (int j = 5; j < (massSpec.getVIRTUAL_COLLECTOR_COUNT() / 2) + 5; j++) {
+                            scanData[i - assumedBackgroundRowCount][(massSpec.getVIRTUAL_COLLECTOR_COUNT() / 2) + j - 5] //
+                                    = fractionCollectorsColumns[j].trim();
                         }
                     }
-
-                    // extract isStandard
-                    boolean isStandard = isStandardFractionID(fractionID);
-
-                    TripoliFraction tripoliFraction = //                           
-                            new TripoliFraction( //                     
-                                    //                     
-                                    fractionID, //
-                                    massSpec.getCommonLeadCorrectionHighestLevel(), //
-                                    isStandard,
-                                    fractionBackgroundTimeStamp, //
-                                    fractionPeakTimeStamp,massSpec.rawRatiosFactory(scanData, isStandard, fractionID, usingFullPropagation, null));
-
-                    tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
-                    tripoliFractions.add(tripoliFraction);
-//                System.out.println( "Successfully added frac " + fractionID + " >>  " + tripoliFractions.add( tripoliFraction ) );
-//
-//                System.out.println( "                                       Count of stored fractions = " + tripoliFractions.size() );
-//                System.out.println( fractionID //
-//                        + " " + isStandard + " time = " + TimeToString.secondsAsLongToTimeString( fractionPeakTimeStamp ) );
-
-                    // }
-                } catch (ParseException parseException) {
-                    // TODO: drop out here
                 }
-            }
-        }
 
-        if (tripoliFractions.isEmpty()) {
-            tripoliFractions = null;
+                retVal = new ParsedAnalysisFile(fractionID, fractionBackgroundTimeStamp, fractionPeakTimeStamp, scanData);
+
+            } catch (ParseException parseException) {
+                // TODO: drop out here
+            }
         }
 
-        return tripoliFractions;
+        return retVal;
     }
 }
@@ -0,0 +1,172 @@
+/*
+ * TripoliFractionRefitEngine.java
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.sessions;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.earthtime.Tripoli.fractions.TripoliFraction;
+
+/**
+ * Applies a per-fraction operation, such as refitting intercept fit
+ * functions, across a set of fractions using a fork-join pool. Each fraction
+ * owns its raw ratios and isotopes, so fractions can be processed
+ * independently; the ratios within one fraction share isotope models and are
+ * processed serially by the supplied operation.
+ *
+ * Progress is reported as "progress" property change events carrying the
+ * percentage of fractions completed, in the same form as the SwingWorker
+ * progress events used by the data loading tasks.
+ *
+ * @author James F. Bowring
+ */
+public class TripoliFractionRefitEngine {
+
+    private final int parallelism;
+
+    /**
+     *
+     * @param parallelism count of worker threads; less than one means one per
+     * available processor
+     */
+    public TripoliFractionRefitEngine(int parallelism) {
+        if (parallelism < 1) {
+            this.parallelism = Runtime.getRuntime().availableProcessors();
+        } else {
+            this.parallelism = parallelism;
+        }
+    }
+
+    /**
+     * Applies <code>operation</code> to every fraction. Fractions are
+     * partitioned in iteration order, so the work done for each fraction is
+     * independent of the pool size. If any operation fails, the remaining
+     * fractions are still processed and the failure of the earliest fraction
+     * in iteration order is rethrown.
+     *
+     * @param fractions
+     * @param operation
+     * @param progressListener may be null
+     */
+    public void processFractions(Collection<TripoliFraction> fractions, Consumer<TripoliFraction> operation, PropertyChangeListener progressListener) {
+        TripoliFraction[] fractionsArray = fractions.toArray(new TripoliFraction[fractions.size()]);
+        RuntimeException[] failures = new RuntimeException[fractionsArray.length];
+        ProgressReporter progressReporter = new ProgressReporter(fractionsArray.length, progressListener);
+
+        if ((parallelism == 1) || (fractionsArray.length < 2)) {
+            for (int i = 0; i < fractionsArray.length; i++) {
+                processFraction(fractionsArray, i, operation, failures, progressReporter);
+            }
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, fractionsArray.length));
+            try {
+                pool.invoke(new FractionsAction(fractionsArray, 0, fractionsArray.length, operation, failures, progressReporter));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        for (RuntimeException failure : failures) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    private static void processFraction(TripoliFraction[] fractionsArray, int index, Consumer<TripoliFraction> operation, RuntimeException[] failures, ProgressReporter progressReporter) {
+        try {
+            operation.accept(fractionsArray[index]);
+        } catch (RuntimeException e) {
+            failures[index] = e;
+        }
+        progressReporter.fractionCompleted();
+    }
+
+    /**
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    private static class FractionsAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 4417650926417837025L;
+        private final TripoliFraction[] fractionsArray;
+        private final int start;
+        private final int end;
+        private final Consumer<TripoliFraction> operation;
+        private final RuntimeException[] failures;
+        private final ProgressReporter progressReporter;
+
+        FractionsAction(TripoliFraction[] fractionsArray, int start, int end, Consumer<TripoliFraction> operation, RuntimeException[] failures, ProgressReporter progressReporter) {
+            this.fractionsArray = fractionsArray;
+            this.start = start;
+            this.end = end;
+            this.operation = operation;
+            this.failures = failures;
+            this.progressReporter = progressReporter;
+        }
+
+        @Override
+        protected void compute() {
+            // a single fraction refit is coarse enough to be its own task
+            if ((end - start) == 1) {
+                processFraction(fractionsArray, start, operation, failures, progressReporter);
+            } else {
+                int middle = (start + end) >>> 1;
+                invokeAll(//
+                        new FractionsAction(fractionsArray, start, middle, operation, failures, progressReporter),//
+                        new FractionsAction(fractionsArray, middle, end, operation, failures, progressReporter));
+            }
+        }
+    }
+
+    private class ProgressReporter {
+
+        private final int countOfFractions;
+        private final PropertyChangeListener progressListener;
+        private final AtomicInteger countCompleted;
+        private int lastProgress;
+
+        ProgressReporter(int countOfFractions, PropertyChangeListener progressListener) {
+            this.countOfFractions = countOfFractions;
+            this.progressListener = progressListener;
+            this.countCompleted = new AtomicInteger(0);
+            this.lastProgress = 0;
+        }
+
+        void fractionCompleted() {
+            int completed = countCompleted.incrementAndGet();
+            if (progressListener != null) {
+                int progress = (100 * completed) / countOfFractions;
+                synchronized (this) {
+                    if (progress > lastProgress) {
+                        progressListener.propertyChange(//
+                                new PropertyChangeEvent(TripoliFractionRefitEngine.this, "progress", lastProgress, progress));
+                        lastProgress = progress;
+                    }
+                }
+            }
+        }
+    }
+}
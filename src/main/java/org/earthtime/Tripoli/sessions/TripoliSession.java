@@ -20,6 +20,7 @@
 package org.earthtime.Tripoli.sessions;
 
 import Jama.Matrix;
+import java.beans.PropertyChangeListener;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -34,6 +35,7 @@ import java.util.TreeSet;
 import org.earthtime.Tripoli.dataModels.DataModelFitFunctionInterface;
 import org.earthtime.Tripoli.dataModels.DataModelInterface;
 import org.earthtime.Tripoli.dataModels.DownholeFractionationDataModel;
+import org.earthtime.Tripoli.dataModels.FittingInstrumentation;
 import org.earthtime.Tripoli.dataModels.MaskingSingleton;
 import org.earthtime.Tripoli.dataModels.RawRatioDataModel;
 import org.earthtime.Tripoli.dataModels.collectorModels.IonCounterCollectorModel;
@@ -42,6 +44,8 @@ import org.earthtime.Tripoli.dataModels.sessionModels.SessionCorrectedUnknownsSu
 import org.earthtime.Tripoli.dataModels.sessionModels.SessionForStandardDataModelDownholeFractionation;
 import org.earthtime.Tripoli.dataModels.sessionModels.SessionForStandardDataModelInterceptFractionation;
 import org.earthtime.Tripoli.fitFunctions.AbstractFunctionOfX;
+import org.earthtime.Tripoli.fitFunctions.algorithms.ReinschBandedSmoothingSpline;
+import org.earthtime.Tripoli.fitFunctions.algorithms.StructuredCovariance;
 import org.earthtime.Tripoli.fractions.TripoliFraction;
 import org.earthtime.Tripoli.massSpecSetups.AbstractMassSpecSetup;
 import org.earthtime.Tripoli.rawDataFiles.handlers.AbstractRawDataFileHandler;
@@ -51,6 +55,7 @@ import org.earthtime.UPb_Redux.exceptions.BadLabDataException;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFractionI;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbLAICPMSFraction;
 import org.earthtime.UPb_Redux.reduxLabData.ReduxLabData;
+import org.earthtime.UPb_Redux.user.ReduxPersistentState;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
 import org.earthtime.dataDictionaries.FitFunctionTypeEnum;
 import org.earthtime.dataDictionaries.FractionSelectionTypeEnum;
@@ -90,8 +95,6 @@ public class TripoliSession implements
     private Matrix matrixJgammag;
     private ArrayList<Double> tList;
     double[] h;
-    private Matrix Q;
-    private Matrix R;
     private Map<FitFunctionTypeEnum, Matrix> matrixJfMapPlotting;
     private Map<FitFunctionTypeEnum, Matrix> matrixJfMapUnknowns;
     // mar 2013 
@@ -387,32 +390,8 @@ public class TripoliSession implements
             for (int i = 0; i < (countOfStandards - 1); i++) {
                 h[i] = timesForStandards[i + 1] - timesForStandards[i];
             }
-            Q = new Matrix(countOfStandards, countOfStandards - 1);
-            R = new Matrix(countOfStandards - 1, countOfStandards - 1);
-
-            for (int j = 2; j < countOfStandards - 1; j++) {
-                int i = j - 1;
-
-                Q.set(i - 1, i, 1.0 / h[i - 1]);
-                Q.set(i, i, -(1.0 / h[i - 1] + 1.0 / h[i]));
-                Q.set(i + 1, i, 1.0 / h[i]);
-
-                R.set(i, i, (h[i - 1] + h[i]) / 3.0);
-                R.set(i, i + 1, h[i] / 6.0);
-                R.set(i + 1, i, h[i] / 6.0);
-            }
-
-            int i = countOfStandards - 2;
-            Q.set(i - 1, i, 1.0 / h[i - 1]);
-            Q.set(i, i, -(1.0 / h[i - 1] + 1.0 / h[i]));
-            Q.set(i + 1, i, 1.0 / h[i]);
-
-            R.set(i, i, (h[i - 1] + h[i]) / 3.0);
-
-            Q = Q.getMatrix(0, Q.getRowDimension() - 1, 1, Q.getColumnDimension() - 1);
-            R = R.getMatrix(1, R.getRowDimension() - 1, 1, R.getColumnDimension() - 1);
-
-            Matrix JgammagSmall = R.solve(Q.transpose());
+            // R is tridiagonal and Q is banded, so R \ Q' is solved column by column in O(n) each
+            Matrix JgammagSmall = new Matrix(ReinschBandedSmoothingSpline.calculateRinvQT(h));
 
             // need to add row of zeros to top and bottom
             matrixJgammag = new Matrix(JgammagSmall.getRowDimension() + 2, JgammagSmall.getColumnDimension());
@@ -956,9 +935,8 @@ public class TripoliSession implements
                     sessionFofX.calculateInterpolatedVariances(matrixJfUnknownsActiveStandards, timesForStandards);
                 }
 
-                Matrix matrixSf = sessionFofX.getMatrixSf();
-
-                Matrix unknownsAnalyticalCovarianceSu = new Matrix(countOfUnknowns, countOfUnknowns);
+                // oct 2026 Su is kept as diagonal plus the low rank Jf*Sf*Jf' and dead time terms
+                double[] diagonalOfSu = new double[countOfUnknowns];
                 double[] dLrInt_dDt_Unknowns = new double[countOfUnknowns];
                 Map<String, Integer> unknownFractionIDs = new HashMap<>();
 
@@ -972,39 +950,26 @@ public class TripoliSession implements
 
                     AbstractFunctionOfX FofX = ((DataModelFitFunctionInterface) tf.getRawRatioDataModelByName(rrName)).getSelectedFitFunction();
 
-                    unknownsAnalyticalCovarianceSu.set(index, index, FofX.getYInterceptVariance() + sessionFofX.getOverDispersion());
+                    diagonalOfSu[index] = FofX.getYInterceptVariance() + sessionFofX.getOverDispersion();
 
                     dLrInt_dDt_Unknowns[index] = ((DataModelFitFunctionInterface) tf.getRawRatioDataModelByName(rrName)).getSelectedFitFunction().getdLrInt_dDt();
 
                     index++;
                 }
 
-                unknownsAnalyticalCovarianceSu.plusEquals(matrixSf);
-
+                double deadTimeOneSigmaAbsSqr = 0.0;
                 // check for identical ioncounters
                 if (((RawRatioDataModel) unknownFractions.first().getRawRatioDataModelByName(rrName)).hasTwoIdenticalIonCounters()) {
-
-                    double deadTimeOneSigmaAbsSqr = ((IonCounterCollectorModel) ((RawRatioDataModel) unknownFractions.first().getRawRatioDataModelByName(rrName)).getBotIsotope()//
+                    deadTimeOneSigmaAbsSqr = ((IonCounterCollectorModel) ((RawRatioDataModel) unknownFractions.first().getRawRatioDataModelByName(rrName)).getBotIsotope()//
                             .getCollectorModel()).getDeadTime().getOneSigmaAbs().movePointLeft(0).pow(2).doubleValue();
-
-                    Matrix matrixdLrInt_dDt_Unkowns = new Matrix(dLrInt_dDt_Unknowns, dLrInt_dDt_Unknowns.length);
-
-                    Matrix matrixSuod = matrixdLrInt_dDt_Unkowns.times(matrixdLrInt_dDt_Unkowns.transpose().times(deadTimeOneSigmaAbsSqr));
-
-                    // zero diagonal
-                    for (int i = 0; i < countOfUnknowns; i++) {
-                        matrixSuod.set(i, i, 0.0);
-                    }
-
-                    unknownsAnalyticalCovarianceSu.plusEquals(matrixSuod);
                 }
 
+                StructuredCovariance unknownsAnalyticalCovarianceSu = //
+                        assembleUnknownsAnalyticalCovarianceSu(diagonalOfSu, sessionFofX.getStructuredMatrixSf(), dLrInt_dDt_Unknowns, deadTimeOneSigmaAbsSqr);
+
                 // nov 2014 finally the math to calculate the rhos and Pbc correction uncertainties.
                 // save Matrix unknownsAnalyticalCovarianceSu DIAGONAL for use in common lead corrections etc
-                double[] diagonalOfSessionUnknownsAnalyticalCovarianceSu = new double[countOfUnknowns];
-                for (int i = 0; i < countOfUnknowns; i++) {
-                    diagonalOfSessionUnknownsAnalyticalCovarianceSu[i] = unknownsAnalyticalCovarianceSu.get(i, i);
-                }
+                double[] diagonalOfSessionUnknownsAnalyticalCovarianceSu = unknownsAnalyticalCovarianceSu.getDiagonal();
 
                 if (fractionSelectionTypeEnum.compareTo(FractionSelectionTypeEnum.UNKNOWN) == 0) {
                     sessionFofX.setDiagonalOfSessionUnknownsAnalyticalCovarianceSu(diagonalOfSessionUnknownsAnalyticalCovarianceSu);
@@ -1041,6 +1006,30 @@ public class TripoliSession implements
         }
     }
 
+    /**
+     * Su = D + Jf*Sf*Jf' + Suod, where D holds the intercept variances plus
+     * over-dispersion and Suod = deadTimeOneSigmaAbsSqr * dLrInt_dDt *
+     * dLrInt_dDt' with zero diagonal, the dead time covariance between
+     * fractions measured on two identical ion counters.
+     *
+     * @param interceptVariancesPlusOD D
+     * @param structuredMatrixSf Jf*Sf*Jf' of the session fit
+     * @param dLrInt_dDt_Unknowns
+     * @param deadTimeOneSigmaAbsSqr zero unless the ion counters are identical
+     * @return Su as diagonal plus low rank
+     */
+    static StructuredCovariance assembleUnknownsAnalyticalCovarianceSu(//
+            double[] interceptVariancesPlusOD, StructuredCovariance structuredMatrixSf, double[] dLrInt_dDt_Unknowns, double deadTimeOneSigmaAbsSqr) {
+
+        StructuredCovariance retVal = StructuredCovariance.diagonal(interceptVariancesPlusOD).plus(structuredMatrixSf);
+        if (deadTimeOneSigmaAbsSqr > 0.0) {
+            Matrix matrixSuodFactor = new Matrix(dLrInt_dDt_Unknowns, dLrInt_dDt_Unknowns.length).times(Math.sqrt(deadTimeOneSigmaAbsSqr));
+            retVal = retVal.plusLowRankOffDiagonal(matrixSuodFactor);
+        }
+
+        return retVal;
+    }
+
     /**
      *
      * @param fractionSelectionTypeEnum the value of fractionSelectionTypeEnum
@@ -1055,7 +1044,7 @@ public class TripoliSession implements
      */
     private void applyFractionationCorrectionToUnknownRatios(//
             FractionSelectionTypeEnum fractionSelectionTypeEnum, AbstractFunctionOfX sessionFofX, //
-            Map<String, Integer> unknownFractionIDs, int countOfUnknowns, Matrix unknownsAnalyticalCovarianceSu, double sessionStandardValue, RawRatioNames rrName, String standardRatioName) {
+            Map<String, Integer> unknownFractionIDs, int countOfUnknowns, StructuredCovariance unknownsAnalyticalCovarianceSu, double sessionStandardValue, RawRatioNames rrName, String standardRatioName) {
 
         Matrix unknownsLogRatioMeans = new Matrix(countOfUnknowns, 1);
 
@@ -1509,10 +1498,32 @@ public class TripoliSession implements
      */
     @Override
     public void reFitAllFractions() {
-        Iterator<TripoliFraction> fractionIterator = tripoliFractions.iterator();
-        while (fractionIterator.hasNext()) {
-            TripoliFraction tf = fractionIterator.next();
-            tf.updateInterceptFitFunctionsIncludingCommonLead();//updateInterceptFitFunctions();
+        reFitAllFractions(null);
+    }
+
+    /**
+     * Refits all fractions concurrently using a worker pool sized by the
+     * user preferences.
+     *
+     * @param progressListener receives "progress" events from the worker
+     * threads; may be null
+     */
+    @Override
+    public void reFitAllFractions(PropertyChangeListener progressListener) {
+        int countOfParallelThreads = 1;
+        try {
+            countOfParallelThreads = ReduxPersistentState.getExistingPersistentState().getReduxPreferences().getCountOfParallelThreads();
+        } catch (Exception e) {
+            // default to a single thread
+        }
+
+        FittingInstrumentation instrumentation = FittingInstrumentation.getInstance();
+        instrumentation.beginRefit();
+        try {
+            new TripoliFractionRefitEngine(countOfParallelThreads).processFractions(//
+                    tripoliFractions, TripoliFraction::updateInterceptFitFunctionsIncludingCommonLead, progressListener);
+        } finally {
+            instrumentation.endRefit();
         }
     }
 
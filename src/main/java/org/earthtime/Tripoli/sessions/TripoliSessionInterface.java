@@ -20,6 +20,7 @@
 package org.earthtime.Tripoli.sessions;
 
 import Jama.Matrix;
+import java.beans.PropertyChangeListener;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.SortedMap;
@@ -226,6 +227,12 @@ public interface TripoliSessionInterface extends TripoliSessionFractionationCalc
      */
     public void reFitAllFractions ();
 
+    /**
+     *
+     * @param progressListener
+     */
+    public void reFitAllFractions ( PropertyChangeListener progressListener );
+
     /**
      *
      * @param setOD
@@ -252,6 +259,8 @@ public interface TripoliSessionInterface extends TripoliSessionFractionationCalc
     
     public void prepareForReductionAndCommonLeadCorrection();
     
+    public int getLeftShadeCount();
+    
     public void setLeftShadeCount(int leftShadeCount);
     
     public boolean isFitFunctionsUpToDate();
@@ -23,6 +23,7 @@ package org.earthtime.UPb_Redux.aliquots;
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.converters.ConversionException;
 import com.thoughtworks.xstream.io.xml.DomDriver;
+import com.thoughtworks.xstream.io.xml.DomReader;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -80,6 +81,8 @@ import org.earthtime.ratioDataModels.tracers.TracerUPbModel;
 import org.earthtime.ratioDataModels.tracers.TracerUPbModelXMLConverter;
 import org.earthtime.archivingTools.URIHelper;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
+import org.w3c.dom.Document;
 
 /**
  * Working version of Aliquot for interactive calculations prior to publication.
@@ -353,12 +356,22 @@ public class UPbReduxAliquot extends Aliquot
      *
      */
     public void reduceData() {
-        // may 2014 modified to determine best date  
-        ArrayList<Double> sorted206_238 = new ArrayList<>();
         for (Fraction f : getAliquotFractions()) {
             // APRIL 2014 WARNING FOR NOW DO NOT MAKE CALL TO STATIC METHOD DIRECTLY so that parameters can be assembled ... need to refactor
             UPbFractionReducer.getInstance().fullFractionReduce(f, true);
+        }
+
+        determineBestAgeDivider();
+    }
 
+    /**
+     * Determines the best age divider from the reduced fractions, if not done
+     * previously; called after the fractions of this aliquot are reduced.
+     */
+    public void determineBestAgeDivider() {
+        // may 2014 modified to determine best date  
+        ArrayList<Double> sorted206_238 = new ArrayList<>();
+        for (Fraction f : getAliquotFractions()) {
             ValueModel date206_238r = f.getRadiogenicIsotopeDateByName(RadDates.age206_238r);
             // pick out the dates in the likely range for spliting 500 - 1100 MA
             if ((date206_238r.getValue().movePointLeft(6).compareTo(new BigDecimal(500)) > 0)//8
@@ -457,10 +470,13 @@ public class UPbReduxAliquot extends Aliquot
      * @see XStream
      */
     public XStream getXStreamWriter() {
+        XStream xstream = XStreamRegistry.getXStream(getClass(), XStreamRegistry.WRITER, () -> {
+            XStream configured = new XStream();
+            customizeXstream(configured);
+            return configured;
+        });
 
-        XStream xstream = new XStream();//new Sun14ReflectionProvider(new FieldDictionary(sorter)));
-
-        customizeXstream(xstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -563,10 +579,13 @@ public class UPbReduxAliquot extends Aliquot
      * @return
      */
     public XStream getXStreamReader() {
+        XStream xstream = XStreamRegistry.getXStream(getClass(), XStreamRegistry.READER, () -> {
+            XStream configured = new XStream(new DomDriver());
+            customizeXstream(configured);
+            return configured;
+        });
 
-        XStream xstream = new XStream(new DomDriver());
-
-        customizeXstream(xstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -591,27 +610,25 @@ public class UPbReduxAliquot extends Aliquot
         BufferedReader reader = URIHelper.getBufferedReader(filename);
 
         if (reader != null) {
-            boolean isValidOrAirplaneMode = !doValidate;
-
             XStream xstream = getXStreamReader();
 
+            // oct 2026 a validated file is read and parsed once and XStream unmarshals its DOM tree
+            Document document = null;
             if (doValidate) {
-                isValidOrAirplaneMode = URIHelper.validateXML(reader, filename, aliquotXMLSchemaURL);
+                document = URIHelper.parseValidatedXML(reader, aliquotXMLSchemaURL);
+                if (document == null) {
+                    throw new ETException(null, "XML data file does not conform to schema.");
+                }
             }
-//            else {
-//                isValidOrAirplaneMode = true;
-//            }
-
-            if (isValidOrAirplaneMode) {
-                // re-create reader
-                reader = URIHelper.getBufferedReader(filename);
-                try {
+
+            try {
+                if (document != null) {
+                    myAliquot = (Aliquot) xstream.unmarshal(new DomReader(document));
+                } else {
                     myAliquot = (Aliquot) xstream.fromXML(reader);
-                } catch (ConversionException e) {
-                    throw new ETException(null, e.getMessage());
                 }
-            } else {
-                throw new ETException(null, "XML data file does not conform to schema.");
+            } catch (ConversionException e) {
+                throw new ETException(null, e.getMessage());
             }
         } else {
             throw new FileNotFoundException("Missing XML data file.");
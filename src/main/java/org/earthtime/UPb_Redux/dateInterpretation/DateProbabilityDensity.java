@@ -0,0 +1,481 @@
+/*
+ * DateProbabilityDensity.java
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.dateInterpretation;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.earthtime.UPb_Redux.fractions.Fraction;
+import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFractionI;
+import org.earthtime.UPb_Redux.valueModels.ValueModel;
+
+/**
+ * The stacked Gaussian kernels of fraction dates plotted by
+ * <code>DateProbabilityDensityPanel</code>, held in primitive arrays. Each
+ * kernel is evaluated only within <code>KERNEL_WINDOW_SIGMAS</code> standard
+ * deviations of its date, both on a uniform mesh of dates in Ma and at the
+ * dates of the fractions themselves. Row 0 stacks the whole sample and row
+ * <i>n</i> the fractions of aliquot <i>n</i>.
+ *
+ * When the fractions passed to <code>update</code> differ from the last ones
+ * by a few, as when a fraction is toggled, only their kernels are subtracted
+ * and added.
+ *
+ * @author James F. Bowring
+ */
+public class DateProbabilityDensity {
+
+    /**
+     * beyond this many standard deviations a kernel is taken to be zero
+     */
+    public static final double KERNEL_WINDOW_SIGMAS = 10.0;
+    // when more than this share of the kernels change, the stacks are rebuilt
+    private static final double MAX_INCREMENTAL_SHARE = 0.25;
+    private static final int MIN_INCREMENTAL_CHANGES = 8;
+
+    private final double meshMinDate;
+    private final double meshStepDate;
+    private final int meshCount;
+
+    private String dateName;
+    private int countOfRows;
+    private Map<Fraction, DateKernel> kernels;
+    // one entry per occurrence of a fraction, in order of date
+    private DateKernel[] dataKernels;
+    private double[] dataDates;
+    private double[][] meshDensities;
+    private double[][] dataDensities;
+
+    // the mesh and the data merged in order of date, built when asked for
+    private double[] dates;
+    private boolean[] dataPoints;
+    private double[][] densities;
+    private double maxDensity;
+
+    /**
+     *
+     * @param meshMinDate first date of the mesh in Ma
+     * @param meshMaxDate last date of the mesh in Ma
+     * @param meshStepDate spacing of the mesh in Ma
+     */
+    public DateProbabilityDensity(double meshMinDate, double meshMaxDate, double meshStepDate) {
+        if (!(meshStepDate > 0.0) || !(meshMaxDate >= meshMinDate)) {
+            throw new IllegalArgumentException("Mesh from " + meshMinDate + " to " + meshMaxDate + " by " + meshStepDate);
+        }
+        this.meshMinDate = meshMinDate;
+        this.meshStepDate = meshStepDate;
+        this.meshCount = (int) Math.floor((meshMaxDate - meshMinDate) / meshStepDate + 1.0e-9) + 1;
+
+        this.dateName = "";
+        this.countOfRows = 1;
+        this.kernels = new IdentityHashMap<>();
+        this.dataKernels = new DateKernel[0];
+        this.dataDates = new double[0];
+        this.meshDensities = new double[countOfRows][meshCount];
+        this.dataDensities = new double[countOfRows][0];
+        this.dates = null;
+    }
+
+    /**
+     * Stacks the kernels of <code>fractions</code>, reusing those of the last
+     * update whose dates have not changed.
+     *
+     * @param fractions
+     * @param dateName the radiogenic isotope date plotted
+     * @param countOfAliquots
+     */
+    public void update(List<Fraction> fractions, String dateName, int countOfAliquots) {
+        Map<Fraction, Integer> occurrences = new IdentityHashMap<>();
+        for (Fraction f : fractions) {
+            occurrences.merge(f, 1, Integer::sum);
+        }
+
+        Map<Fraction, DateKernel> currentKernels = new IdentityHashMap<>();
+        List<DateKernel> addedKernels = new ArrayList<>();
+        for (Map.Entry<Fraction, Integer> occurrence : occurrences.entrySet()) {
+            Fraction f = occurrence.getKey();
+            ValueModel date = f.getRadiogenicIsotopeDateByName(dateName);
+            int aliquotNumber = ((UPbFractionI) f).getAliquotNumber();
+
+            DateKernel kernel = kernels.get(f);
+            if ((kernel == null) || !kernel.isCurrent(date, aliquotNumber, occurrence.getValue())) {
+                kernel = new DateKernel(date, aliquotNumber, occurrence.getValue());
+                addedKernels.add(kernel);
+            }
+            currentKernels.put(f, kernel);
+        }
+
+        List<DateKernel> removedKernels = new ArrayList<>();
+        for (Map.Entry<Fraction, DateKernel> previous : kernels.entrySet()) {
+            if (currentKernels.get(previous.getKey()) != previous.getValue()) {
+                removedKernels.add(previous.getValue());
+            }
+        }
+
+        boolean rebuild = !dateName.equals(this.dateName)//
+                || (countOfAliquots + 1 != countOfRows)//
+                || (addedKernels.size() + removedKernels.size()//
+                > Math.max(MIN_INCREMENTAL_CHANGES, MAX_INCREMENTAL_SHARE * currentKernels.size()));
+
+        this.dateName = dateName;
+        this.countOfRows = countOfAliquots + 1;
+        this.kernels = currentKernels;
+
+        if (rebuild) {
+            stackAllKernels();
+        } else {
+            for (DateKernel kernel : removedKernels) {
+                removeKernel(kernel);
+            }
+            for (DateKernel kernel : addedKernels) {
+                addKernel(kernel);
+            }
+        }
+
+        dates = null;
+    }
+
+    private void stackAllKernels() {
+        meshDensities = new double[countOfRows][meshCount];
+
+        List<DateKernel> occurrences = new ArrayList<>();
+        for (DateKernel kernel : kernels.values()) {
+            if (kernel.isPlotted()) {
+                for (int i = 0; i < kernel.count; i++) {
+                    occurrences.add(kernel);
+                }
+            }
+        }
+        dataKernels = occurrences.toArray(new DateKernel[occurrences.size()]);
+        Arrays.sort(dataKernels, (DateKernel k1, DateKernel k2) -> Double.compare(k1.meanDate, k2.meanDate));
+        dataDates = new double[dataKernels.length];
+        for (int i = 0; i < dataKernels.length; i++) {
+            dataDates[i] = dataKernels[i].meanDate;
+        }
+        dataDensities = new double[countOfRows][dataKernels.length];
+
+        for (DateKernel kernel : kernels.values()) {
+            if (kernel.isPlotted()) {
+                stackOnMesh(kernel, kernel.count);
+                stackOnDataPoints(kernel, kernel.count);
+            }
+        }
+    }
+
+    private void removeKernel(DateKernel kernel) {
+        if (kernel.isPlotted()) {
+            stackOnMesh(kernel, -kernel.count);
+
+            int kept = 0;
+            for (int i = 0; i < dataKernels.length; i++) {
+                if (dataKernels[i] != kernel) {
+                    dataKernels[kept] = dataKernels[i];
+                    dataDates[kept] = dataDates[i];
+                    for (int row = 0; row < countOfRows; row++) {
+                        dataDensities[row][kept] = dataDensities[row][i];
+                    }
+                    kept++;
+                }
+            }
+            dataKernels = Arrays.copyOf(dataKernels, kept);
+            dataDates = Arrays.copyOf(dataDates, kept);
+            for (int row = 0; row < countOfRows; row++) {
+                dataDensities[row] = Arrays.copyOf(dataDensities[row], kept);
+            }
+
+            stackOnDataPoints(kernel, -kernel.count);
+        }
+    }
+
+    private void addKernel(DateKernel kernel) {
+        if (kernel.isPlotted()) {
+            stackOnMesh(kernel, kernel.count);
+            stackOnDataPoints(kernel, kernel.count);
+
+            // the densities at the new date, from the kernels already stacked and this one
+            double[] densitiesAtDate = new double[countOfRows];
+            for (DateKernel stacked : dataKernels) {
+                stacked.stackAt(kernel.meanDate, 1, densitiesAtDate);
+            }
+            kernel.stackAt(kernel.meanDate, kernel.count, densitiesAtDate);
+
+            int index = upperBound(dataDates, kernel.meanDate);
+            int count = dataKernels.length + kernel.count;
+            dataKernels = insert(dataKernels, new DateKernel[count], index, kernel, kernel.count);
+            double[] newDataDates = new double[count];
+            System.arraycopy(dataDates, 0, newDataDates, 0, index);
+            Arrays.fill(newDataDates, index, index + kernel.count, kernel.meanDate);
+            System.arraycopy(dataDates, index, newDataDates, index + kernel.count, dataDates.length - index);
+            dataDates = newDataDates;
+            for (int row = 0; row < countOfRows; row++) {
+                double[] newDensities = new double[count];
+                System.arraycopy(dataDensities[row], 0, newDensities, 0, index);
+                Arrays.fill(newDensities, index, index + kernel.count, densitiesAtDate[row]);
+                System.arraycopy(dataDensities[row], index, newDensities, index + kernel.count, dataDensities[row].length - index);
+                dataDensities[row] = newDensities;
+            }
+        }
+    }
+
+    private static DateKernel[] insert(DateKernel[] from, DateKernel[] to, int index, DateKernel kernel, int count) {
+        System.arraycopy(from, 0, to, 0, index);
+        Arrays.fill(to, index, index + count, kernel);
+        System.arraycopy(from, index, to, index + count, from.length - index);
+        return to;
+    }
+
+    private void stackOnMesh(DateKernel kernel, int weight) {
+        int first = Math.max(0, (int) Math.ceil((kernel.lowerDate - meshMinDate) / meshStepDate));
+        int last = Math.min(meshCount - 1, (int) Math.floor((kernel.upperDate - meshMinDate) / meshStepDate));
+        int aliquotRow = kernel.rowIn(countOfRows);
+
+        for (int i = first; i <= last; i++) {
+            double eval = weight * kernel.densityAt(meshDate(i));
+            meshDensities[0][i] += eval;
+            if (aliquotRow > 0) {
+                meshDensities[aliquotRow][i] += eval;
+            }
+        }
+    }
+
+    private void stackOnDataPoints(DateKernel kernel, int weight) {
+        int first = lowerBound(dataDates, kernel.lowerDate);
+        int last = upperBound(dataDates, kernel.upperDate);
+        int aliquotRow = kernel.rowIn(countOfRows);
+
+        for (int i = first; i < last; i++) {
+            double eval = weight * kernel.densityAt(dataDates[i]);
+            dataDensities[0][i] += eval;
+            if (aliquotRow > 0) {
+                dataDensities[aliquotRow][i] += eval;
+            }
+        }
+    }
+
+    private double meshDate(int index) {
+        return meshMinDate + index * meshStepDate;
+    }
+
+    // first index whose date is not below date
+    private static int lowerBound(double[] sortedDates, double date) {
+        int low = 0;
+        int high = sortedDates.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedDates[mid] < date) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // first index whose date is above date
+    private static int upperBound(double[] sortedDates, double date) {
+        int low = 0;
+        int high = sortedDates.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedDates[mid] <= date) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void mergeMeshAndData() {
+        int count = meshCount + dataDates.length;
+        dates = new double[count];
+        dataPoints = new boolean[count];
+        densities = new double[countOfRows][count];
+
+        int meshIndex = 0;
+        int dataIndex = 0;
+        for (int i = 0; i < count; i++) {
+            if ((dataIndex == dataDates.length)//
+                    || ((meshIndex < meshCount) && (meshDate(meshIndex) <= dataDates[dataIndex]))) {
+                dates[i] = meshDate(meshIndex);
+                for (int row = 0; row < countOfRows; row++) {
+                    densities[row][i] = meshDensities[row][meshIndex];
+                }
+                meshIndex++;
+            } else {
+                dates[i] = dataDates[dataIndex];
+                dataPoints[i] = true;
+                for (int row = 0; row < countOfRows; row++) {
+                    densities[row][i] = dataDensities[row][dataIndex];
+                }
+                dataIndex++;
+            }
+        }
+
+        maxDensity = 0.0;
+        for (int i = 0; i < count; i++) {
+            maxDensity = Math.max(maxDensity, densities[0][i]);
+        }
+    }
+
+    /**
+     * @return the dates of the mesh and of the fractions, in Ma and in order
+     */
+    public double[] getDates() {
+        if (dates == null) {
+            mergeMeshAndData();
+        }
+        return dates;
+    }
+
+    /**
+     * @return whether each of <code>getDates()</code> is a fraction's date
+     */
+    public boolean[] getDataPoints() {
+        if (dates == null) {
+            mergeMeshAndData();
+        }
+        return dataPoints;
+    }
+
+    /**
+     * @return the stacked densities at <code>getDates()</code>, row 0 for the
+     * sample and row <i>n</i> for aliquot <i>n</i>
+     */
+    public double[][] getDensities() {
+        if (dates == null) {
+            mergeMeshAndData();
+        }
+        return densities;
+    }
+
+    /**
+     * @return the greatest density of the sample
+     */
+    public double getMaxDensity() {
+        if (dates == null) {
+            mergeMeshAndData();
+        }
+        return maxDensity;
+    }
+
+    /**
+     *
+     * @param row
+     * @param fractions stacked fractions to leave out
+     * @return a copy of row <code>row</code> of <code>getDensities()</code>
+     * less one kernel for each of <code>fractions</code>
+     */
+    public double[] getDensitiesWithout(int row, Collection<Fraction> fractions) {
+        double[] mergedDates = getDates();
+        double[] rowDensities = densities[row].clone();
+
+        for (Fraction f : fractions) {
+            DateKernel kernel = kernels.get(f);
+            if ((kernel != null) && kernel.isPlotted()) {
+                int last = upperBound(mergedDates, kernel.upperDate);
+                for (int i = lowerBound(mergedDates, kernel.lowerDate); i < last; i++) {
+                    rowDensities[i] -= kernel.densityAt(mergedDates[i]);
+                }
+            }
+        }
+
+        return rowDensities;
+    }
+
+    /**
+     * The Gaussian kernel of a fraction's date in Ma, with the value model
+     * state it was made from.
+     */
+    private static final class DateKernel {
+
+        private final ValueModel date;
+        private final BigDecimal value;
+        private final BigDecimal oneSigma;
+        private final String uncertaintyType;
+        private final int aliquotNumber;
+        // the times the fraction is listed
+        private final int count;
+
+        private final double meanDate;
+        private final double twiceVariance;
+        private final double normalization;
+        private final double lowerDate;
+        private final double upperDate;
+
+        DateKernel(ValueModel date, int aliquotNumber, int count) {
+            this.date = date;
+            this.value = date.getValue();
+            this.oneSigma = date.getOneSigma();
+            this.uncertaintyType = date.getUncertaintyType();
+            this.aliquotNumber = aliquotNumber;
+            this.count = count;
+
+            this.meanDate = value.movePointLeft(6).doubleValue();
+            double variance = Math.pow(date.getOneSigmaAbs().movePointLeft(6).doubleValue(), 2);
+
+            // temp hack for missing laicpms uncertainty
+            if (variance == 0.0) {
+                variance = 0.01 * meanDate;
+            }
+
+            this.twiceVariance = 2.0 * variance;
+            this.normalization = 1.0 / Math.sqrt(2.0 * Math.PI * variance);
+            double halfWidth = KERNEL_WINDOW_SIGMAS * Math.sqrt(variance);
+            this.lowerDate = meanDate - halfWidth;
+            this.upperDate = meanDate + halfWidth;
+        }
+
+        boolean isCurrent(ValueModel date, int aliquotNumber, int count) {
+            return (date == this.date)//
+                    && (date.getValue() == value)//
+                    && (date.getOneSigma() == oneSigma)//
+                    && date.getUncertaintyType().equals(uncertaintyType)//
+                    && (aliquotNumber == this.aliquotNumber)//
+                    && (count == this.count);
+        }
+
+        boolean isPlotted() {
+            return Double.isFinite(lowerDate) && Double.isFinite(upperDate) && (twiceVariance > 0.0);
+        }
+
+        int rowIn(int countOfRows) {
+            return ((aliquotNumber > 0) && (aliquotNumber < countOfRows)) ? aliquotNumber : 0;
+        }
+
+        double densityAt(double x) {
+            double deviation = x - meanDate;
+            return normalization * Math.exp(-deviation * deviation / twiceVariance);
+        }
+
+        void stackAt(double x, int weight, double[] densitiesAtX) {
+            if ((x >= lowerDate) && (x <= upperDate)) {
+                double eval = weight * densityAt(x);
+                densitiesAtX[0] += eval;
+                int aliquotRow = rowIn(densitiesAtX.length);
+                if (aliquotRow > 0) {
+                    densitiesAtX[aliquotRow] += eval;
+                }
+            }
+        }
+    }
+}
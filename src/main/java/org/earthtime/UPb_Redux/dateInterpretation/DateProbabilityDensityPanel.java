@@ -48,7 +48,6 @@ import java.io.Writer;
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -68,7 +67,6 @@ import org.earthtime.UPb_Redux.dateInterpretation.vermeeschKDE.KDE;
 import org.earthtime.UPb_Redux.dateInterpretation.vermeeschKDE.OtherData;
 import org.earthtime.UPb_Redux.dateInterpretation.vermeeschKDE.Preferences;
 import org.earthtime.UPb_Redux.fractions.Fraction;
-import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFractionI;
 import org.earthtime.UPb_Redux.samples.Sample;
 import org.earthtime.UPb_Redux.user.SampleDateInterpretationGUIOptions;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
@@ -117,7 +115,11 @@ public class DateProbabilityDensityPanel extends JLayeredPane
     /**
      *
      */
-    protected ArrayList<Double> pdfPoints;
+    protected double[] pdfPoints;
+    // oct 2026 whether each pdfPoint is a fraction's date
+    private boolean[] pdfDataPoints;
+    private double maxDateProbability;
+    private DateProbabilityDensity dateProbabilityDensity;
     private double minX;
     private double maxX;
     private double minY;
@@ -136,6 +138,8 @@ public class DateProbabilityDensityPanel extends JLayeredPane
      *
      */
     public final static double DEFAULT_DISPLAY_MAXX = 4050;//4100.0;
+    // peaks below this share of the highest are not labeled
+    private final static double MIN_PEAK_SHARE = 1.0e-9;
     private boolean mouseInside;
     private Line2D cursorBar;
     private Rectangle2D cursorLabel;
@@ -180,6 +184,10 @@ public class DateProbabilityDensityPanel extends JLayeredPane
         stackedAliquotKernels = new double[0][0];
         activeStackedAliquotKernels = new double[0];
 
+        // one mesh point per Ma from 0 to 4000 Ma
+        dateProbabilityDensity = new DateProbabilityDensity(0.0, 4000.0, 1.0);
+        maxDateProbability = 0.0;
+
         minX = DEFAULT_DISPLAY_MINX;
         maxX = DEFAULT_DISPLAY_MAXX;
         minY = 0.0;
@@ -238,7 +246,7 @@ public class DateProbabilityDensityPanel extends JLayeredPane
         rh.put(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
         g2d.setRenderingHints(rh);
 
-        if (stackedAliquotKernels[0][pdfPoints.size()] > 0) {
+        if (maxDateProbability > 0) {
             g2d.setFont(new Font(
                     "SansSerif",
                     Font.PLAIN,
@@ -250,8 +258,8 @@ public class DateProbabilityDensityPanel extends JLayeredPane
 
             // handle zoom
             int startX = 0;
-            for (int i = 0; i < pdfPoints.size(); i++) {
-                if (mapX(pdfPoints.get(i)) <= 0.0) {
+            for (int i = 0; i < pdfPoints.length; i++) {
+                if (mapX(pdfPoints[i]) <= 0.0) {
                     startX++;
                 } else {
                     break;
@@ -259,8 +267,8 @@ public class DateProbabilityDensityPanel extends JLayeredPane
             }
 
             int endX = startX;
-            for (int i = startX; i < pdfPoints.size(); i++) {
-                if (mapX(pdfPoints.get(i)) <= (getGraphWidth()) + (double) getLeftMargin()) {
+            for (int i = startX; i < pdfPoints.length; i++) {
+                if (mapX(pdfPoints[i]) <= (getGraphWidth()) + (double) getLeftMargin()) {
                     endX++;
                 } else {
                     break;
@@ -269,19 +277,19 @@ public class DateProbabilityDensityPanel extends JLayeredPane
             endX--;
 
 //            sampleProbabilities.moveTo( mapX( getMinX_Display() ), mapY( 0.01 ) );
-            sampleProbabilities.moveTo(Math.max(leftMargin, mapX(pdfPoints.get(startX))), mapY(0.01));
+            sampleProbabilities.moveTo(Math.max(leftMargin, mapX(pdfPoints[startX])), mapY(0.01));
             sampleKDE.moveTo(Math.max(leftMargin, mapX(timescale[startX])), mapY(0.01));
 
             double scale = 0.96/*
                      * 8
-                     */ * maxY / stackedAliquotKernels[0][pdfPoints.size()];
+                     */ * maxY / maxDateProbability;
 
             double scaleKDE = 0.96 / maxKDE;
 
             // startx and endx bound the viewport and hence the data points for which we want histograms
             for (int i = startX; i <= endX; i++) {
                 sampleProbabilities.lineTo(//
-                        Math.max(leftMargin, mapX(pdfPoints.get(i))),//
+                        Math.max(leftMargin, mapX(pdfPoints[i])),//
                         mapY(stackedAliquotKernels[0][i] * scale + .01));
 
                 try {
@@ -292,7 +300,7 @@ public class DateProbabilityDensityPanel extends JLayeredPane
                 }
             }
 
-            sampleProbabilities.lineTo(mapX(pdfPoints.get(endX)), mapY(0.01));
+            sampleProbabilities.lineTo(mapX(pdfPoints[endX]), mapY(0.01));
             // sampleProbabilities.moveTo( mapX( 4000.0 ), mapY( 0.01 ) );
 
             ArrayList<Double> visibleSample = new ArrayList<Double>();
@@ -312,12 +320,12 @@ public class DateProbabilityDensityPanel extends JLayeredPane
                 selectedAliquotProbabilities.moveTo(mapX(getMinX_Display()), mapY(0.01));
                 // selectedAliquotProbabilities.moveTo( mapX( 0.0 ), mapY( 0.01 ) );
 
-                for (int i = startX; i <= endX; i++) {//int i = 0; i < pdfPoints.size(); i ++) {
+                for (int i = startX; i <= endX; i++) {//int i = 0; i < pdfPoints.length; i ++) {
                     selectedAliquotProbabilities.lineTo(//
-                            mapX(pdfPoints.get(i)), mapY(stackedAliquotKernels[selectedAliquotNumber][i] * scale + .01));
+                            mapX(pdfPoints[i]), mapY(stackedAliquotKernels[selectedAliquotNumber][i] * scale + .01));
                 }
 
-                selectedAliquotProbabilities.lineTo(mapX(pdfPoints.get(endX)), mapY(0.01));
+                selectedAliquotProbabilities.lineTo(mapX(pdfPoints[endX]), mapY(0.01));
                 // selectedAliquotProbabilities.moveTo( mapX( 4000.0 ), mapY( 0.01 ) );
 
                 // determine aliquot for colors etc.
@@ -348,27 +356,20 @@ public class DateProbabilityDensityPanel extends JLayeredPane
                     g2d.setComposite(originalComposite);
 
                     // now remove the deselected fractions
-                    activeStackedAliquotKernels = stackedAliquotKernels[selectedAliquotNumber].clone();
-                    for (Fraction f : deSelectedFractions) {
-                        ValueModel date = f.getRadiogenicIsotopeDateByName(getChosenDateName());
-                        KernelF myKernel = new KernelF(date);
-                        for (int i = 0; i < pdfPoints.size(); i++) {
-                            double eval = evalKernelAt(myKernel, pdfPoints.get(i));
-                            activeStackedAliquotKernels[i] -= eval;
-                        }
-                    }
+                    activeStackedAliquotKernels = //
+                            dateProbabilityDensity.getDensitiesWithout(selectedAliquotNumber, deSelectedFractions);
 
                     Path2D selectedFractionProbabilities = new Path2D.Double(Path2D.WIND_NON_ZERO);
 
                     selectedFractionProbabilities.moveTo(mapX(getMinX_Display()), mapY(0.01));
                     // selectedFractionProbabilities.moveTo( mapX( 0.0 ), mapY( 0.01 ) );
 
-                    for (int i = startX; i <= endX; i++) {//for (int i = 0; i < pdfPoints.size(); i ++) {
+                    for (int i = startX; i <= endX; i++) {//for (int i = 0; i < pdfPoints.length; i ++) {
                         selectedFractionProbabilities.lineTo(//
-                                mapX(pdfPoints.get(i)), mapY(activeStackedAliquotKernels[i] * scale + .01));
+                                mapX(pdfPoints[i]), mapY(activeStackedAliquotKernels[i] * scale + .01));
                     }
 
-                    selectedFractionProbabilities.lineTo(mapX(pdfPoints.get(endX)), mapY(0.01));
+                    selectedFractionProbabilities.lineTo(mapX(pdfPoints[endX]), mapY(0.01));
                     // selectedFractionProbabilities.moveTo( mapX( 4000.0 ), mapY( 0.01 ) );
 
                     // paint the active fractions full color
@@ -398,13 +399,13 @@ public class DateProbabilityDensityPanel extends JLayeredPane
                 g2d.setPaint(Color.red);
                 for (int i = startX; i <= endX; i++) {
                     // test for actual data point
-                    if (((pdfPoints.get(i) - Math.floor(pdfPoints.get(i))) > 0.0)//
+                    if (pdfDataPoints[i]//
                             &&//
-                            (mapX(pdfPoints.get(i)) >= leftMargin)) {
+                            (mapX(pdfPoints[i]) >= leftMargin)) {
                         Ellipse2D selectedPoint = new Ellipse2D.Double( //
-                                mapX(pdfPoints.get(i)), mapY(stackedAliquotKernels[0][i] * scale + .01), 2, 2);
+                                mapX(pdfPoints[i]), mapY(stackedAliquotKernels[0][i] * scale + .01), 2, 2);
 
-                        visibleSample.add(pdfPoints.get(i));
+                        visibleSample.add(pdfPoints[i]);
                         g2d.fill(selectedPoint);
                     }
                 }
@@ -738,20 +739,15 @@ public class DateProbabilityDensityPanel extends JLayeredPane
         }
 
         // modified to include actual measured data
-        // there is one point for each of 0 to 4000 inclusive plus a point for each of the actual data
-        pdfPoints = new ArrayList<Double>();
-        for (double i = 0; i < 4001; i++) {
-            pdfPoints.add(i);
-        }
-        for (Fraction f : selectedFractions) {
-            // nov 2011 add in tiny amount so that grapher can distinguish between annum and dates based on aaaa.0  vs aaaa.0000001
-            pdfPoints.add(f.getRadiogenicIsotopeDateByName(getChosenDateName()).getValue().movePointLeft(6).doubleValue() + 0.0000001);
-        }
-        Collections.sort(pdfPoints);
-
+        // there is one point for each date of the mesh plus a point for each of the actual data
         // one row for each aliquot even though some may be dummy aliquots, based on count
-        // row zero for sample totals and [0][size -+ 1] stores max for plotting scale
-        stackedAliquotKernels = new double[sample.getAliquots().size() + 1][pdfPoints.size() + 1];
+        // row zero for sample totals
+        // oct 2026 only the kernels of fractions changed since the last preparation are restacked
+        dateProbabilityDensity.update(selectedFractions, chosenDateName, sample.getAliquots().size());
+        pdfPoints = dateProbabilityDensity.getDates();
+        pdfDataPoints = dateProbabilityDensity.getDataPoints();
+        stackedAliquotKernels = dateProbabilityDensity.getDensities();
+        maxDateProbability = dateProbabilityDensity.getMaxDensity();
 
         // June 2013 experiment with Vermeesch KDE
         ArrayList<Double> X = new ArrayList<>();
@@ -773,14 +769,6 @@ public class DateProbabilityDensityPanel extends JLayeredPane
             Y.add(Math.pow(date.getOneSigmaAbs().movePointLeft(6).doubleValue(), 2));
             Z.add(Double.NaN);
             // end June 2013 experiment with Vermeesch KDE
-
-            int aliquotNumber = ((UPbFractionI) f).getAliquotNumber();
-            KernelF myKernel = new KernelF(date);
-            for (int i = 0; i < pdfPoints.size(); i++) {
-                double eval = evalKernelAt(myKernel, pdfPoints.get(i));
-                stackedAliquotKernels[0][i] += eval;
-                stackedAliquotKernels[aliquotNumber][i] += eval;
-            }
         }
 
         // more vermeesch ************************
@@ -800,14 +788,6 @@ public class DateProbabilityDensityPanel extends JLayeredPane
         }
         // end vermeesch ************************
 
-        double maxDateProb = 0.0;
-        for (int i = 0; i < pdfPoints.size(); i++) {
-            if (stackedAliquotKernels[0][i] > maxDateProb) {
-                maxDateProb = stackedAliquotKernels[0][i];
-            }
-        }
-        stackedAliquotKernels[0][pdfPoints.size()] = maxDateProb;
-
         // april 2012 experiment to detect maxima on curve
         // this simplistic technique leverages what we know about this pdf
         maxima = new HashMap<>();
@@ -816,19 +796,22 @@ public class DateProbabilityDensityPanel extends JLayeredPane
         int currentMaxIndex = 0;
         int currentMinIndex = 0;
         boolean uphill = true;
-        for (int i = 1; i < pdfPoints.size(); i++) {
+        for (int i = 1; i < pdfPoints.length; i++) {
             if (uphill) {
                 if (stackedAliquotKernels[0][i] < stackedAliquotKernels[0][currentMaxIndex]) {
-//                    System.out.println( //
-//                            "PEAK = " //
-//                            + (int) Math.round( pdfPoints.get( currentMaxIndex ) ) );
-
-                    maxima.put( //
-                            (int) Math.round(pdfPoints.get(currentMaxIndex)),//
-                            stackedAliquotKernels[0][currentMaxIndex]);
-                    maximaShown.put(//
-                            (int) Math.round(pdfPoints.get(currentMaxIndex)),//
-                            true);
+                    // oct 2026 skip peaks of the rounding left where kernels were restacked
+                    if (stackedAliquotKernels[0][currentMaxIndex] > MIN_PEAK_SHARE * maxDateProbability) {
+//                        System.out.println( //
+//                                "PEAK = " //
+//                                + (int) Math.round( pdfPoints[ currentMaxIndex ] ) );
+
+                        maxima.put( //
+                                (int) Math.round(pdfPoints[currentMaxIndex]),//
+                                stackedAliquotKernels[0][currentMaxIndex]);
+                        maximaShown.put(//
+                                (int) Math.round(pdfPoints[currentMaxIndex]),//
+                                true);
+                    }
 
                     uphill = false;
                     currentMinIndex = i;
@@ -855,16 +838,16 @@ public class DateProbabilityDensityPanel extends JLayeredPane
     public void showTight() {
         refreshPanel();
 
-        for (int i = 0; i < pdfPoints.size(); i++) {
+        for (int i = 0; i < pdfPoints.length; i++) {
             if (stackedAliquotKernels[0][i] > 0.01) {
-                minX = Math.max(i - 100, DEFAULT_DISPLAY_MINX);
+                minX = Math.max(pdfPoints[i] - 100, DEFAULT_DISPLAY_MINX);
                 break;
             }
         }
 
-        for (int i = pdfPoints.size() - 1; i > -1; i--) {
+        for (int i = pdfPoints.length - 1; i > -1; i--) {
             if (stackedAliquotKernels[0][i] > 0.01) {
-                maxX = Math.min(i + 100, DEFAULT_DISPLAY_MAXX);
+                maxX = Math.min(pdfPoints[i] + 100, DEFAULT_DISPLAY_MAXX);
                 break;
             }
         }
@@ -996,33 +979,6 @@ public class DateProbabilityDensityPanel extends JLayeredPane
         this.graphPanelModeChanger = graphPanelModeChanger;
     }
 
-    class KernelF implements Comparable<KernelF> {
-
-        protected double meanDate;
-        protected double variance;
-
-        KernelF(ValueModel date) {
-            this.meanDate = date.getValue().movePointLeft(6).doubleValue();
-            this.variance = Math.pow(date.getOneSigmaAbs().movePointLeft(6).doubleValue(), 2);
-
-            // temp hack for missing laicpms uncertainty    
-            if (this.variance == 0.0) {
-                this.variance = 0.01 * this.meanDate;
-            }
-        }
-
-        public int compareTo(KernelF o) {
-            return Double.compare(meanDate, ((KernelF) o).meanDate);
-        }
-    }
-
-    private double evalKernelAt(KernelF k, double x) {
-        double retval = (1.0 / Math.sqrt(2.0 * Math.PI * k.variance)) //
-                * Math.exp(-1.0 * Math.pow((x - k.meanDate), 2) / (2 * k.variance));
-
-        return retval;
-    }
-
     /**
      * @return the minX
      */
@@ -1134,6 +1090,19 @@ public class DateProbabilityDensityPanel extends JLayeredPane
         this.chosenDateName = chosenDateName;
     }
 
+    /**
+     * Sets the dates in Ma at which the densities are evaluated, besides the
+     * dates of the fractions; takes effect at the next
+     * <code>preparePanel</code>.
+     *
+     * @param minDate
+     * @param maxDate
+     * @param stepDate
+     */
+    public void setDensityMesh(double minDate, double maxDate, double stepDate) {
+        this.dateProbabilityDensity = new DateProbabilityDensity(minDate, maxDate, stepDate);
+    }
+
     /**
      *
      * @param e
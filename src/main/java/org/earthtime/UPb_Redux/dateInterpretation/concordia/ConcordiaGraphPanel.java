@@ -29,6 +29,7 @@ import java.awt.Cursor;
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.Shape;
 import java.awt.event.ActionEvent;
@@ -50,6 +51,9 @@ import java.io.UnsupportedEncodingException;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Vector;
 import javax.swing.JDialog;
@@ -491,39 +495,33 @@ public class ConcordiaGraphPanel extends JLayeredPane
                     concordiaLineWeight);
         }
 
+        // oct 2026 each aliquot's options are parsed once per paint; each fraction's ellipse
+        // is rebuilt only when its ratios or display choices change, and re-projected when the axes do
+        Map<Integer, AliquotEllipseStyle> aliquotEllipseStyles = new HashMap<>();
+        prepareFractionEllipses(ellipseSize);
+        double[] ellipseProjection = new double[]{mapX(0.0), mapX(1.0), mapY(0.0), mapY(1.0)};
+
         // paint de-selected fractions first 
         // paint fills first
         if (showExcludedEllipses) {
             for (Fraction f : excludedFractions) {
                 if (!((UPbFractionI) f).isRejected() && !(isDisplay_PbcCorr() && !((UPbFractionI) f).isCommonLeadLossCorrected())) {
                     // determine aliquot for colors etc.
-                    String aliquotName = sample.getNameOfAliquotFromSample(((UPbFractionI) f).getAliquotNumber());
-                    Map<String, String> myAliquotOptions = getAliquotOptions().get(aliquotName);
-
-                    Color excludedFillColor = new Color(255, 255, 255);
-                    if (myAliquotOptions.containsKey("excludedFillColor")) {
-                        String[] temp = //
-                                myAliquotOptions.get("excludedFillColor").split(",");
-                        excludedFillColor = buildRGBColor(temp);
-                    }
-
-                    float excludedFillTransparencyPCT = 20.0f;
-                    if (myAliquotOptions.containsKey("excludedFillTransparencyPCT")) {
-                        excludedFillTransparencyPCT = Float.valueOf(myAliquotOptions.get("excludedFillTransparencyPCT"));
-                    }
+                    AliquotEllipseStyle style = determineAliquotEllipseStyle(aliquotEllipseStyles, f);
 
                     // first pass, generate ellipsePath
                     generateEllipsePathIII(//
                             f,
-                            ellipseSize);
+                            ellipseSize,
+                            ellipseProjection);
 
                     if (((UPbFractionI) f).getErrorEllipsePath() != null) {
                         plotAFractionFillOnly(
                                 g2d,
                                 svgStyle,
                                 f,
-                                excludedFillTransparencyPCT / 100.0f,
-                                excludedFillColor);
+                                style.excludedFillTransparencyPCT / 100.0f,
+                                style.excludedFillColor);
                     }
                 }
 
@@ -535,42 +533,17 @@ public class ConcordiaGraphPanel extends JLayeredPane
             for (Fraction f : excludedFractions) {
                 if (!((UPbFractionI) f).isRejected() && !(isDisplay_PbcCorr() && !((UPbFractionI) f).isCommonLeadLossCorrected())) {
                     // determine aliquot for colors etc.
-                    String aliquotName = sample.getNameOfAliquotFromSample(((UPbFractionI) f).getAliquotNumber());
-                    Map<String, String> myAliquotOptions = getAliquotOptions().get(aliquotName);
-
-                    float excludedBorderWeight = 1.5f;
-                    if (myAliquotOptions.containsKey("excludedBorderWeight")) {
-                        excludedBorderWeight = Float.valueOf(myAliquotOptions.get("excludedBorderWeight"));
-                    }
-
-                    Color excludedBorderColor = new Color(0, 0, 0);
-                    if (myAliquotOptions.containsKey("excludedBorderColor")) {
-                        String[] temp = //
-                                myAliquotOptions.get("excludedBorderColor").split(",");
-                        excludedBorderColor = buildRGBColor(temp);
-                    }
-
-                    Color excludedCenterColor = new Color(0, 0, 0);
-                    if (myAliquotOptions.containsKey("excludedCenterColor")) {
-                        String[] temp = //
-                                myAliquotOptions.get("excludedCenterColor").split(",");
-                        excludedCenterColor = buildRGBColor(temp);
-                    }
-
-                    float excludedCenterSize = 3.0f;
-                    if (myAliquotOptions.containsKey("excludedCenterSize")) {
-                        excludedCenterSize = Float.valueOf(myAliquotOptions.get("excludedCenterSize"));
-                    }
+                    AliquotEllipseStyle style = determineAliquotEllipseStyle(aliquotEllipseStyles, f);
 
                     if (((UPbFractionI) f).getErrorEllipsePath() != null) {
                         plotAFraction(
                                 g2d,
                                 svgStyle,
                                 f,
-                                excludedBorderColor,
-                                isFadedDeselectedFractions() ? 0.5f : excludedBorderWeight,
-                                excludedCenterColor,
-                                excludedCenterSize,
+                                style.excludedBorderColor,
+                                isFadedDeselectedFractions() ? 0.5f : style.excludedBorderWeight,
+                                style.excludedCenterColor,
+                                style.excludedCenterSize,
                                 ellipseLabelFont,
                                 ellipseLabelFontSize);
 
@@ -583,37 +556,26 @@ public class ConcordiaGraphPanel extends JLayeredPane
         for (Fraction f : selectedFractions) {
             if (!((UPbFractionI) f).isRejected() && !(isDisplay_PbcCorr() && !((UPbFractionI) f).isCommonLeadLossCorrected())) {
                 // determine aliquot for colors etc.
-                String aliquotName = sample.getNameOfAliquotFromSample(((UPbFractionI) f).getAliquotNumber());
-                Map<String, String> myAliquotOptions = (Map<String, String>) getAliquotOptions().get(aliquotName);
-
-                Color includedFillColor = new Color(255, 255, 255);
-                if (myAliquotOptions.containsKey("includedFillColor")) {
-                    String[] temp = //
-                            myAliquotOptions.get("includedFillColor").split(",");
-                    includedFillColor = buildRGBColor(temp);
-
-                    // april 2014 experiment
-                    if (f.getRgbColor() != 0) {
-                        includedFillColor = new Color(f.getRgbColor());
-                    }
-                }
+                AliquotEllipseStyle style = determineAliquotEllipseStyle(aliquotEllipseStyles, f);
 
-                float includedFillTransparencyPCT = 20.0f;
-                if (myAliquotOptions.containsKey("includedFillTransparencyPCT")) {
-                    includedFillTransparencyPCT = Float.valueOf(myAliquotOptions.get("includedFillTransparencyPCT"));
+                Color includedFillColor = style.includedFillColor;
+                // april 2014 experiment
+                if (style.hasIncludedFillColor && (f.getRgbColor() != 0)) {
+                    includedFillColor = new Color(f.getRgbColor());
                 }
 
                 // first pass, generate ellipsePath
                 generateEllipsePathIII(//
                         f,
-                        ellipseSize);
+                        ellipseSize,
+                        ellipseProjection);
 
                 if (((UPbFractionI) f).getErrorEllipsePath() != null) {
                     plotAFractionFillOnly(
                             g2d,
                             svgStyle,
                             f,
-                            includedFillTransparencyPCT / 100.0f,
+                            style.includedFillTransparencyPCT / 100.0f,
                             includedFillColor);
 
                 }
@@ -623,33 +585,9 @@ public class ConcordiaGraphPanel extends JLayeredPane
         for (Fraction f : selectedFractions) {
             if (!((UPbFractionI) f).isRejected() && !(isDisplay_PbcCorr() && !((UPbFractionI) f).isCommonLeadLossCorrected())) {
                 // determine aliquot for colors etc.
-                String aliquotName = sample.getNameOfAliquotFromSample(((UPbFractionI) f).getAliquotNumber());
-                Map<String, String> myAliquotOptions = getAliquotOptions().get(aliquotName);
-
-                float includedBorderWeight = 1.5f;
-                if (myAliquotOptions.containsKey("includedBorderWeight")) {
-                    includedBorderWeight = Float.valueOf(myAliquotOptions.get("includedBorderWeight"));
-                }
-
-                Color includedBorderColor = new Color(0, 0, 0);
-                if (myAliquotOptions.containsKey("includedBorderColor")) {
-                    String[] temp = //
-                            myAliquotOptions.get("includedBorderColor").split(",");
-                    includedBorderColor = buildRGBColor(temp);
-                }
-
-                Color includedCenterColor = new Color(0, 0, 0);
-                if (myAliquotOptions.containsKey("includedCenterColor")) {
-                    String[] temp = //
-                            myAliquotOptions.get("includedCenterColor").split(",");
-                    includedCenterColor = buildRGBColor(temp);
-                }
-
-                float includedCenterSize = 3.0f;
-                if (myAliquotOptions.containsKey("includedCenterSize")) {
-                    includedCenterSize = Float.valueOf(myAliquotOptions.get("includedCenterSize"));
-                }
+                AliquotEllipseStyle style = determineAliquotEllipseStyle(aliquotEllipseStyles, f);
 
+                Color includedBorderColor = style.includedBorderColor;
                 // april 2014 experiment
                 if (f.getRgbColor() != 0) {
                     includedBorderColor = new Color(f.getRgbColor());
@@ -661,9 +599,9 @@ public class ConcordiaGraphPanel extends JLayeredPane
                             svgStyle,
                             f,
                             includedBorderColor,
-                            includedBorderWeight,
-                            includedCenterColor,
-                            includedCenterSize,
+                            style.includedBorderWeight,
+                            style.includedCenterColor,
+                            style.includedCenterSize,
                             ellipseLabelFont,
                             ellipseLabelFontSize);
                 }
@@ -996,6 +934,74 @@ public class ConcordiaGraphPanel extends JLayeredPane
                 (int) Integer.parseInt(rgbComponents[2].trim()));
     }
 
+    /**
+     * The fraction colors and weights of one aliquot's options, parsed once
+     * per paint rather than once per fraction.
+     */
+    private final class AliquotEllipseStyle {
+
+        private Color excludedFillColor = new Color(255, 255, 255);
+        private float excludedFillTransparencyPCT = 20.0f;
+        private float excludedBorderWeight = 1.5f;
+        private Color excludedBorderColor = new Color(0, 0, 0);
+        private Color excludedCenterColor = new Color(0, 0, 0);
+        private float excludedCenterSize = 3.0f;
+        private boolean hasIncludedFillColor = false;
+        private Color includedFillColor = new Color(255, 255, 255);
+        private float includedFillTransparencyPCT = 20.0f;
+        private float includedBorderWeight = 1.5f;
+        private Color includedBorderColor = new Color(0, 0, 0);
+        private Color includedCenterColor = new Color(0, 0, 0);
+        private float includedCenterSize = 3.0f;
+
+        AliquotEllipseStyle(Map<String, String> myAliquotOptions) {
+            if (myAliquotOptions.containsKey("excludedFillColor")) {
+                excludedFillColor = buildRGBColor(myAliquotOptions.get("excludedFillColor").split(","));
+            }
+            if (myAliquotOptions.containsKey("excludedFillTransparencyPCT")) {
+                excludedFillTransparencyPCT = Float.valueOf(myAliquotOptions.get("excludedFillTransparencyPCT"));
+            }
+            if (myAliquotOptions.containsKey("excludedBorderWeight")) {
+                excludedBorderWeight = Float.valueOf(myAliquotOptions.get("excludedBorderWeight"));
+            }
+            if (myAliquotOptions.containsKey("excludedBorderColor")) {
+                excludedBorderColor = buildRGBColor(myAliquotOptions.get("excludedBorderColor").split(","));
+            }
+            if (myAliquotOptions.containsKey("excludedCenterColor")) {
+                excludedCenterColor = buildRGBColor(myAliquotOptions.get("excludedCenterColor").split(","));
+            }
+            if (myAliquotOptions.containsKey("excludedCenterSize")) {
+                excludedCenterSize = Float.valueOf(myAliquotOptions.get("excludedCenterSize"));
+            }
+
+            if (myAliquotOptions.containsKey("includedFillColor")) {
+                hasIncludedFillColor = true;
+                includedFillColor = buildRGBColor(myAliquotOptions.get("includedFillColor").split(","));
+            }
+            if (myAliquotOptions.containsKey("includedFillTransparencyPCT")) {
+                includedFillTransparencyPCT = Float.valueOf(myAliquotOptions.get("includedFillTransparencyPCT"));
+            }
+            if (myAliquotOptions.containsKey("includedBorderWeight")) {
+                includedBorderWeight = Float.valueOf(myAliquotOptions.get("includedBorderWeight"));
+            }
+            if (myAliquotOptions.containsKey("includedBorderColor")) {
+                includedBorderColor = buildRGBColor(myAliquotOptions.get("includedBorderColor").split(","));
+            }
+            if (myAliquotOptions.containsKey("includedCenterColor")) {
+                includedCenterColor = buildRGBColor(myAliquotOptions.get("includedCenterColor").split(","));
+            }
+            if (myAliquotOptions.containsKey("includedCenterSize")) {
+                includedCenterSize = Float.valueOf(myAliquotOptions.get("includedCenterSize"));
+            }
+        }
+    }
+
+    private AliquotEllipseStyle determineAliquotEllipseStyle(Map<Integer, AliquotEllipseStyle> aliquotEllipseStyles, Fraction f) {
+        return aliquotEllipseStyles.computeIfAbsent(((UPbFractionI) f).getAliquotNumber(), //
+                (Integer aliquotNumber) -> new AliquotEllipseStyle(//
+                        getAliquotOptions().get(sample.getNameOfAliquotFromSample(aliquotNumber))));
+    }
+
     private void plotYorkBestFitLineAndUncertainty(
             Aliquot curAliquot,
             Graphics2D g2d,
@@ -1181,8 +1187,18 @@ public class ConcordiaGraphPanel extends JLayeredPane
             String ellipseLabelFontSize) {
 
         Path2D ellipse = ((UPbFractionI) f).getErrorEllipsePath();
+        Rectangle ellipseBounds = ellipse.getBounds();
         if (svgStyle) {
             // generate file if necessary to handle weakness in Batik
+        } else if (isBelowEllipseDetail(ellipseBounds)) {
+            // oct 2026 an ellipse smaller than a few pixels is drawn as its centroid
+            float pointSize = Math.max(2.0f, borderWeight + 1.0f);
+            g2d.setPaint(borderColor);
+            g2d.fill(new Rectangle2D.Double(
+                    ellipseBounds.getCenterX() - pointSize / 2.0,
+                    ellipseBounds.getCenterY() - pointSize / 2.0,
+                    pointSize,
+                    pointSize));
         } else {
             // draw ellipse
             g2d.setStroke(new BasicStroke(borderWeight));
@@ -1193,8 +1209,8 @@ public class ConcordiaGraphPanel extends JLayeredPane
         // draw ellipse centers
         if (isShowEllipseCenters()) {
 
-            float centerXbox = (float) (ellipse.getBounds().x + ellipse.getBounds().width / 2.0 - centerSize / 2.0);
-            float centerYbox = (float) (ellipse.getBounds().y + ellipse.getBounds().height / 2.0 - centerSize / 2.0);
+            float centerXbox = (float) (ellipseBounds.x + ellipseBounds.width / 2.0 - centerSize / 2.0);
+            float centerYbox = (float) (ellipseBounds.y + ellipseBounds.height / 2.0 - centerSize / 2.0);
 
             Ellipse2D fractionbox = new Ellipse2D.Double(
                     centerXbox,
@@ -1230,13 +1246,13 @@ public class ConcordiaGraphPanel extends JLayeredPane
             float labelY;
             float labelX;
             if (((UPbFractionI) f).getEllipseRho() < 0) {
-                labelY = (float) (ellipse.getBounds().getY() //
-                        + ellipse.getBounds().getHeight() - (1.0 + ((UPbFractionI) f).getEllipseRho()) * ellipse.getBounds().getHeight() / 4.0 + 15f);
-                labelX = (float) (ellipse.getBounds().getX() + ellipse.getBounds().getWidth() - 6f);
+                labelY = (float) (ellipseBounds.getY() //
+                        + ellipseBounds.getHeight() - (1.0 + ((UPbFractionI) f).getEllipseRho()) * ellipseBounds.getHeight() / 4.0 + 15f);
+                labelX = (float) (ellipseBounds.getX() + ellipseBounds.getWidth() - 6f);
             } else {
-                labelY = (float) (ellipse.getBounds().getY() //
-                        + (1.0 - ((UPbFractionI) f).getEllipseRho()) * ellipse.getBounds().getHeight() / 2.0);
-                labelX = (float) (ellipse.getBounds().getX() + ellipse.getBounds().getWidth() + 2f);
+                labelY = (float) (ellipseBounds.getY() //
+                        + (1.0 - ((UPbFractionI) f).getEllipseRho()) * ellipseBounds.getHeight() / 2.0);
+                labelX = (float) (ellipseBounds.getX() + ellipseBounds.getWidth() + 2f);
             }
 
             g2d.drawString(f.getFractionID(), labelX, labelY);
@@ -1244,9 +1260,70 @@ public class ConcordiaGraphPanel extends JLayeredPane
 
     }
 
+    /**
+     * A fraction's ellipse, or uncertainty crosses, in data space, with the
+     * ratios it was built from and its most recent projection to the panel.
+     */
+    private static final class FractionEllipse {
+
+        private final ValueModel[] sourceRatios;
+        private final BigDecimal[] sourceValues;
+        private final String[] sourceUncertaintyTypes;
+        // 13 control points as x, y pairs, or for crosses x, y, xOneSigmaAbs, yOneSigmaAbs;
+        // null if rho is not in [-1,1]
+        private double[] dataPoints;
+        private double rho;
+        // mapX(0), mapX(1), mapY(0), mapY(1) when the path was projected
+        private double[] projection;
+        private Path2D path;
+        private Rectangle bounds;
+
+        FractionEllipse(ValueModel[] sourceRatios) {
+            this.sourceRatios = sourceRatios;
+            this.sourceValues = new BigDecimal[2 * sourceRatios.length];
+            this.sourceUncertaintyTypes = new String[sourceRatios.length];
+            for (int i = 0; i < sourceRatios.length; i++) {
+                sourceValues[2 * i] = sourceRatios[i].getValue();
+                sourceValues[2 * i + 1] = sourceRatios[i].getOneSigma();
+                sourceUncertaintyTypes[i] = sourceRatios[i].getUncertaintyType();
+            }
+        }
+
+        // reduction replaces the values of the ratios, so identity tells whether they changed
+        boolean isBuiltFrom(ValueModel[] ratios) {
+            boolean retVal = true;
+            for (int i = 0; retVal && (i < ratios.length); i++) {
+                retVal = (ratios[i] == sourceRatios[i])//
+                        && (ratios[i].getValue() == sourceValues[2 * i])//
+                        && (ratios[i].getOneSigma() == sourceValues[2 * i + 1])//
+                        && ratios[i].getUncertaintyType().equals(sourceUncertaintyTypes[i]);
+            }
+            return retVal;
+        }
+    }
+
+    // ellipses narrower and shorter than this are drawn as points
+    private static final int ELLIPSE_DETAIL_PIXELS = 3;
+    // oct 2026 fraction ellipses are kept until the ratios they plot or their display choices change
+    private transient Map<Fraction, FractionEllipse> fractionEllipses;
+    private transient String fractionEllipsesSettings;
+
+    private void prepareFractionEllipses(double ellipseSize) {
+        String settings = getConcordiaFlavor() + isDisplay_r206_238r_Th() + isDisplay_r206_238r_Pa() + isDisplay_PbcCorr()//
+                + useUncertaintyCrosses + ellipseSize;
+
+        if ((fractionEllipses == null)//
+                || !settings.equals(fractionEllipsesSettings)//
+                || (fractionEllipses.size() > 2 * (selectedFractions.size() + excludedFractions.size()) + 64)) {
+            fractionEllipses = new IdentityHashMap<>();
+            fractionEllipsesSettings = settings;
+        }
+    }
+
     private void generateEllipsePathIII(
             Fraction f,
-            double ellipseSize) {
+            double ellipseSize,
+            double[] ellipseProjection) {
 
         ValueModel xAxisRatio = null;
         ValueModel yAxisRatio = null;
@@ -1285,135 +1362,96 @@ public class ConcordiaGraphPanel extends JLayeredPane
             rhoTW = "rhoR207_206PbcCorr__r238_206PbcCorr";
         }
 
+        // the ratios read from the fraction; Tera-Wasserburg inverts the first
+        ValueModel[] sourceRatios;
         if (getConcordiaFlavor().equalsIgnoreCase("T-W")) {
-            xAxisRatio = new ValueModel(r206_238r_corrected);
-            try {
-                xAxisRatio.setValue(BigDecimal.ONE.//
-                        divide(f.getRadiogenicIsotopeRatioByName(r206_238r_corrected).getValue(),//
-                                ReduxConstants.mathContext15));
-                xAxisRatio.setUncertaintyType("ABS");
-                xAxisRatio.setOneSigma(f.getRadiogenicIsotopeRatioByName(r206_238r_corrected).getOneSigmaAbs().//
-                        divide(f.getRadiogenicIsotopeRatioByName(r206_238r_corrected).getValue().pow(2),//
-                                ReduxConstants.mathContext15));
-            } catch (Exception e) {
-                xAxisRatio = new ValueModel(r206_238r_corrected);
-            }
-
-            yAxisRatio = f.getRadiogenicIsotopeRatioByName(r207_206r_corrected);
-            correlationCoefficient = f.getRadiogenicIsotopeRatioByName(rhoTW);
-
+            sourceRatios = new ValueModel[]{//
+                f.getRadiogenicIsotopeRatioByName(r206_238r_corrected),
+                f.getRadiogenicIsotopeRatioByName(r207_206r_corrected),
+                f.getRadiogenicIsotopeRatioByName(rhoTW)};
         } else if (getConcordiaFlavor().equalsIgnoreCase("Th")) {
-            xAxisRatio = f.getRadiogenicIsotopeRatioByName(r208_232r_corrected);
-            yAxisRatio = f.getRadiogenicIsotopeRatioByName(r206_238r_corrected);
-
-            correlationCoefficient = f.getRadiogenicIsotopeRatioByName(rhoConcordiaThorium);
-            correlationCoefficient.setValue(BigDecimal.ZERO);
+            sourceRatios = new ValueModel[]{//
+                f.getRadiogenicIsotopeRatioByName(r208_232r_corrected),
+                f.getRadiogenicIsotopeRatioByName(r206_238r_corrected),
+                f.getRadiogenicIsotopeRatioByName(rhoConcordiaThorium)};
         } else {
-            xAxisRatio = f.getRadiogenicIsotopeRatioByName(r207_235r_corrected);
-            yAxisRatio = f.getRadiogenicIsotopeRatioByName(r206_238r_corrected);
-
-            correlationCoefficient = f.getRadiogenicIsotopeRatioByName(rhoConcordia);
+            sourceRatios = new ValueModel[]{//
+                f.getRadiogenicIsotopeRatioByName(r207_235r_corrected),
+                f.getRadiogenicIsotopeRatioByName(r206_238r_corrected),
+                f.getRadiogenicIsotopeRatioByName(rhoConcordia)};
         }
 
-        Path2D ellipse = new Path2D.Double(Path2D.WIND_NON_ZERO);// null;
-
-        double aspectRatio = ((getRangeY_Display() / (double) getGraphHeight()) / (getRangeX_Display() / (double) getGraphWidth()));
-
-        if ((correlationCoefficient.getValue().doubleValue() >= -1.0)
-                && (correlationCoefficient.getValue().doubleValue() <= 1.0)) {
-            if (!useUncertaintyCrosses) {
-                ErrorEllipse ee = new ErrorEllipse(
-                        xAxisRatio,
-                        yAxisRatio,
-                        correlationCoefficient,
-                        aspectRatio,
-                        ellipseSize);
+        FractionEllipse fractionEllipse = fractionEllipses.get(f);
+        if ((fractionEllipse == null) || !fractionEllipse.isBuiltFrom(sourceRatios)) {
+            if (getConcordiaFlavor().equalsIgnoreCase("T-W")) {
+                xAxisRatio = new ValueModel(r206_238r_corrected);
+                try {
+                    xAxisRatio.setValue(BigDecimal.ONE.//
+                            divide(sourceRatios[0].getValue(),//
+                                    ReduxConstants.mathContext15));
+                    xAxisRatio.setUncertaintyType("ABS");
+                    xAxisRatio.setOneSigma(sourceRatios[0].getOneSigmaAbs().//
+                            divide(sourceRatios[0].getValue().pow(2),//
+                                    ReduxConstants.mathContext15));
+                } catch (Exception e) {
+                    xAxisRatio = new ValueModel(r206_238r_corrected);
+                }
+            } else {
+                xAxisRatio = sourceRatios[0];
+            }
+            yAxisRatio = sourceRatios[1];
+            correlationCoefficient = sourceRatios[2];
+            if (getConcordiaFlavor().equalsIgnoreCase("Th")) {
+                correlationCoefficient.setValue(BigDecimal.ZERO);
+            }
 
-                int pointCount = 13;
+            fractionEllipse = new FractionEllipse(sourceRatios);
+            fractionEllipse.rho = correlationCoefficient.getValue().doubleValue();
 
-                Matrix ellipseXY = ee.getEllipseControlPoints();
+            if ((fractionEllipse.rho >= -1.0)
+                    && (fractionEllipse.rho <= 1.0)) {
+                if (!useUncertaintyCrosses) {
+                    double aspectRatio = ((getRangeY_Display() / (double) getGraphHeight()) / (getRangeX_Display() / (double) getGraphWidth()));
 
-                //ellipse = new Path2D.Double ( Path2D.WIND_NON_ZERO );
-                ellipse.moveTo(
-                        mapX(ellipseXY.get(0, 0)),
-                        mapY(ellipseXY.get(0, 1)));
+                    ErrorEllipse ee = new ErrorEllipse(
+                            xAxisRatio,
+                            yAxisRatio,
+                            correlationCoefficient,
+                            aspectRatio,
+                            ellipseSize);
 
-                for (int i = 1; i < pointCount; i += 3) {
-                    ellipse.curveTo(
-                            mapX(ellipseXY.get(i, 0)),
-                            mapY(ellipseXY.get(i, 1)),
-                            mapX(ellipseXY.get(i + 1, 0)),
-                            mapY(ellipseXY.get(i + 1, 1)),
-                            mapX(ellipseXY.get(i + 2, 0)),
-                            mapY(ellipseXY.get(i + 2, 1)));
+                    Matrix ellipseXY = ee.getEllipseControlPoints();
+                    fractionEllipse.dataPoints = new double[2 * ellipseXY.getRowDimension()];
+                    for (int i = 0; i < ellipseXY.getRowDimension(); i++) {
+                        fractionEllipse.dataPoints[2 * i] = ellipseXY.get(i, 0);
+                        fractionEllipse.dataPoints[2 * i + 1] = ellipseXY.get(i, 1);
+                    }
+                } else {
+                    fractionEllipse.dataPoints = new double[]{
+                        xAxisRatio.getValue().doubleValue(),
+                        yAxisRatio.getValue().doubleValue(),
+                        xAxisRatio.getOneSigmaAbs().doubleValue(),
+                        yAxisRatio.getOneSigmaAbs().doubleValue()};
                 }
-                ellipse.closePath();
+            }
 
-            } else {
+            fractionEllipses.put(f, fractionEllipse);
+        }
 
-                // june 2014 play with crosses
-                double xValue = xAxisRatio.getValue().doubleValue();
-                double yValue = yAxisRatio.getValue().doubleValue();
-                double xOneSigmaAbs = xAxisRatio.getOneSigmaAbs().doubleValue();
-                double yOneSigmaAbs = yAxisRatio.getOneSigmaAbs().doubleValue();
-
-                ellipse = new Path2D.Double(Path2D.WIND_NON_ZERO);
-
-                int halfTip = 5;
-                // y-tip
-                ellipse.moveTo(
-                        mapX(xValue) - halfTip,
-                        mapY(yValue - 2 * yOneSigmaAbs));
-                ellipse.lineTo(
-                        mapX(xValue) + halfTip,
-                        mapY(yValue - 2 * yOneSigmaAbs));
-                // y-bar
-                ellipse.moveTo(
-                        mapX(xValue),
-                        mapY(yValue - 2 * yOneSigmaAbs));
-                ellipse.lineTo(
-                        mapX(xValue),
-                        mapY(yValue + 2 * yOneSigmaAbs));
-                //y-tip
-                ellipse.moveTo(
-                        mapX(xValue) - halfTip,
-                        mapY(yValue + 2 * yOneSigmaAbs));
-                ellipse.lineTo(
-                        mapX(xValue) + halfTip,
-                        mapY(yValue + 2 * yOneSigmaAbs));
-
-                // x-tip
-                ellipse.moveTo(
-                        mapX(xValue - 2 * xOneSigmaAbs),
-                        mapY(yValue) - halfTip);
-                ellipse.lineTo(
-                        mapX(xValue - 2 * xOneSigmaAbs),
-                        mapY(yValue) + halfTip);
-
-                // x-bar
-                ellipse.moveTo(
-                        mapX(xValue - 2 * xOneSigmaAbs),
-                        mapY(yValue));
-                ellipse.lineTo(
-                        mapX(xValue + 2 * xOneSigmaAbs),
-                        mapY(yValue));
-
-                // x-tip
-                ellipse.moveTo(
-                        mapX(xValue + 2 * xOneSigmaAbs),
-                        mapY(yValue) - halfTip);
-                ellipse.lineTo(
-                        mapX(xValue + 2 * xOneSigmaAbs),
-                        mapY(yValue) + halfTip);
+        if (fractionEllipse.dataPoints != null) {
+            if (!Arrays.equals(ellipseProjection, fractionEllipse.projection)) {
+                fractionEllipse.path = projectFractionEllipse(fractionEllipse.dataPoints);
+                fractionEllipse.bounds = fractionEllipse.path.getBounds();
+                fractionEllipse.projection = ellipseProjection;
             }
 
             // june 2010 if any part of bounds in view, then display
-            if (ellipse.getBounds().intersects(//
+            if (fractionEllipse.bounds.intersects(//
                     getLeftMargin() - 1, getTopMargin() - 1, (int) getGraphWidth() + 2, (int) getGraphHeight() + 2)) {
 
-                ((UPbFractionI) f).setErrorEllipsePath(ellipse);
+                ((UPbFractionI) f).setErrorEllipsePath(fractionEllipse.path);
                 // used for placing ellipse label
-                ((UPbFractionI) f).setEllipseRho(correlationCoefficient.getValue().doubleValue());
+                ((UPbFractionI) f).setEllipseRho(fractionEllipse.rho);
 
             } else {
                 ((UPbFractionI) f).setErrorEllipsePath(null);
@@ -1421,6 +1459,92 @@ public class ConcordiaGraphPanel extends JLayeredPane
         }
     }
 
+    private Path2D projectFractionEllipse(double[] dataPoints) {
+        Path2D ellipse = new Path2D.Double(Path2D.WIND_NON_ZERO);
+
+        if (!useUncertaintyCrosses) {
+            int pointCount = 13;
+
+            ellipse.moveTo(
+                    mapX(dataPoints[0]),
+                    mapY(dataPoints[1]));
+
+            for (int i = 1; i < pointCount; i += 3) {
+                ellipse.curveTo(
+                        mapX(dataPoints[2 * i]),
+                        mapY(dataPoints[2 * i + 1]),
+                        mapX(dataPoints[2 * i + 2]),
+                        mapY(dataPoints[2 * i + 3]),
+                        mapX(dataPoints[2 * i + 4]),
+                        mapY(dataPoints[2 * i + 5]));
+            }
+            ellipse.closePath();
+
+        } else {
+
+            // june 2014 play with crosses
+            double xValue = dataPoints[0];
+            double yValue = dataPoints[1];
+            double xOneSigmaAbs = dataPoints[2];
+            double yOneSigmaAbs = dataPoints[3];
+
+            int halfTip = 5;
+            // y-tip
+            ellipse.moveTo(
+                    mapX(xValue) - halfTip,
+                    mapY(yValue - 2 * yOneSigmaAbs));
+            ellipse.lineTo(
+                    mapX(xValue) + halfTip,
+                    mapY(yValue - 2 * yOneSigmaAbs));
+            // y-bar
+            ellipse.moveTo(
+                    mapX(xValue),
+                    mapY(yValue - 2 * yOneSigmaAbs));
+            ellipse.lineTo(
+                    mapX(xValue),
+                    mapY(yValue + 2 * yOneSigmaAbs));
+            //y-tip
+            ellipse.moveTo(
+                    mapX(xValue) - halfTip,
+                    mapY(yValue + 2 * yOneSigmaAbs));
+            ellipse.lineTo(
+                    mapX(xValue) + halfTip,
+                    mapY(yValue + 2 * yOneSigmaAbs));
+
+            // x-tip
+            ellipse.moveTo(
+                    mapX(xValue - 2 * xOneSigmaAbs),
+                    mapY(yValue) - halfTip);
+            ellipse.lineTo(
+                    mapX(xValue - 2 * xOneSigmaAbs),
+                    mapY(yValue) + halfTip);
+
+            // x-bar
+            ellipse.moveTo(
+                    mapX(xValue - 2 * xOneSigmaAbs),
+                    mapY(yValue));
+            ellipse.lineTo(
+                    mapX(xValue + 2 * xOneSigmaAbs),
+                    mapY(yValue));
+
+            // x-tip
+            ellipse.moveTo(
+                    mapX(xValue + 2 * xOneSigmaAbs),
+                    mapY(yValue) - halfTip);
+            ellipse.lineTo(
+                    mapX(xValue + 2 * xOneSigmaAbs),
+                    mapY(yValue) + halfTip);
+        }
+
+        return ellipse;
+    }
+
+    private boolean isBelowEllipseDetail(Rectangle ellipseBounds) {
+        return !useUncertaintyCrosses//
+                && (ellipseBounds.width < ELLIPSE_DETAIL_PIXELS)//
+                && (ellipseBounds.height < ELLIPSE_DETAIL_PIXELS);
+    }
+
     /**
      * This method allows the painting of fills first and borders later for a
      * better look
@@ -1434,6 +1558,8 @@ public class ConcordiaGraphPanel extends JLayeredPane
         Path2D ellipse = ((UPbFractionI) f).getErrorEllipsePath();
         if (svgStyle) {
             // generate file if necessary to handle weakness in Batik
+        } else if (isBelowEllipseDetail(ellipse.getBounds())) {
+            // oct 2026 too small to show a fill; plotAFraction draws its centroid
         } else {
             // draw ellipse
             // http://www.informit.com/articles/article.aspx?errorEnvelope=26349&seqNum=5
@@ -36,8 +36,7 @@ import org.earthtime.UPb_Redux.ReduxConstants;
 import org.earthtime.UPb_Redux.dateInterpretation.concordia.ConcordiaLine;
 import org.earthtime.UPb_Redux.dateInterpretation.concordia.ConcordiaLineSegment;
 import org.earthtime.UPb_Redux.dateInterpretation.concordia.TeraWasserburgLineSegment;
-import org.earthtime.UPb_Redux.valueModels.ValueModel;
-import org.earthtime.UPb_Redux.valueModels.definedValueModels.Age207_206r;
+import org.earthtime.UPb_Redux.valueModels.RadiometricDateSolver;
 import org.earthtime.utilities.TicGeneratorForAxes;
 
 /**
@@ -885,34 +884,26 @@ public class GraphAxesSetup implements
             getYaxisSetup().setMax_T(Math.log1p(getYaxisSetup().getMax_Display()) / getLambda238());
         } else {
             // T-W
-            ValueModel tempDate207_206r = createAge207_206r();
+            RadiometricDateSolver dateSolver = RadiometricDateSolver.forDecayConstants(getLambda235(), getLambda238());
 
             getXaxisSetup().setMin_T( //
                     (Math.log1p(getXaxisSetup().getMax_Display()) //
                     - Math.log(getXaxisSetup().getMax_Display())) //
                     / getLambda238());
 
-            getYaxisSetup().setMin_T(((Age207_206r) tempDate207_206r).calculateDate(//
+            getYaxisSetup().setMin_T(dateSolver.date207_206r(//
                     137.88, getYaxisSetup().getMin_Display(), 0.0));
 
             getXaxisSetup().setMax_T(//
                     (Math.log1p(getXaxisSetup().getMin_Display()) //
                     - Math.log(getXaxisSetup().getMin_Display())) //
                     / getLambda238());
-            getYaxisSetup().setMax_T(((Age207_206r) tempDate207_206r).calculateDate(//
+            getYaxisSetup().setMax_T(dateSolver.date207_206r(//
                     137.88, getYaxisSetup().getMax_Display(), 0.0));
 
         }
     }
 
-    private ValueModel createAge207_206r() {
-        // may 2010 part of refactoring temporarily requires this workaround of lambdas
-        ValueModel tempVMlambda235 = new ValueModel("", new BigDecimal(getLambda235(), ReduxConstants.mathContext15), "", BigDecimal.ZERO, BigDecimal.ZERO);
-        ValueModel tempVMlambda238 = new ValueModel("", new BigDecimal(getLambda238(), ReduxConstants.mathContext15), "", BigDecimal.ZERO, BigDecimal.ZERO);
-
-        return new Age207_206r(tempVMlambda235, tempVMlambda238);
-    }
-
     /**
      *
      * @param xRatio
@@ -929,12 +920,12 @@ public class GraphAxesSetup implements
 
         } else {
             // T-W
-            ValueModel tempDate207_206r = createAge207_206r();
+            RadiometricDateSolver dateSolver = RadiometricDateSolver.forDecayConstants(getLambda235(), getLambda238());
 
             retVal = retVal && ((Math.log1p(xRatio) //
                     - Math.log(xRatio)) //
                     / getLambda238() <= ReduxConstants.MAX_DATE_ANNUM)
-                    && (((Age207_206r) tempDate207_206r).calculateDate(//
+                    && (dateSolver.date207_206r(//
                             137.88, yRatio, 0.0) <= ReduxConstants.MAX_DATE_ANNUM);
 
         }
@@ -1,5 +1,8 @@
 package org.earthtime.UPb_Redux.dateInterpretation.vermeeschKDE;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /*************************************************************************
  *  Compilation:  javac FFT.java
  *  Execution:    java FFT N
@@ -18,10 +21,101 @@ package org.earthtime.UPb_Redux.dateInterpretation.vermeeschKDE;
  *      it re-allocates memory for the subarray, instead of doing
  *      in-place or reusing a single temporary array)
  *
+ *  oct 2026 fft(double[], double[]) and ifft(double[], double[]) are
+ *  iterative and in place over the real and imaginary parts, with the
+ *  twiddle factors of each length computed once
+ *
  *************************************************************************/
 
 public class FFT {
 
+    // cos and sin of -2 pi k / N for k < N/2, by N
+    private static final Map<Integer, double[][]> twiddleTables = new ConcurrentHashMap<>();
+
+    /**
+     * Replaces re and im by their FFT, assuming their length is a power of
+     * 2.
+     *
+     * @param re
+     * @param im
+     */
+    public static void fft(double[] re, double[] im) {
+        int N = re.length;
+        if (im.length != N) { throw new RuntimeException("Dimensions don't agree"); }
+        if (Integer.bitCount(N) != 1) { throw new RuntimeException("N is not a power of 2"); }
+
+        // bit-reversal permutation
+        for (int i = 1, j = 0; i < N; i++) {
+            int bit = N >> 1;
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+            j ^= bit;
+            if (i < j) {
+                double temp = re[i];
+                re[i] = re[j];
+                re[j] = temp;
+                temp = im[i];
+                im[i] = im[j];
+                im[j] = temp;
+            }
+        }
+
+        // radix 2 Cooley-Tukey butterflies, doubling the length of the transforms
+        double[][] twiddles = twiddleTables.computeIfAbsent(N, FFT::twiddleTable);
+        double[] cos = twiddles[0];
+        double[] sin = twiddles[1];
+        for (int length = 2; length <= N; length <<= 1) {
+            int half = length >> 1;
+            int stride = N / length;
+            for (int start = 0; start < N; start += length) {
+                for (int k = 0; k < half; k++) {
+                    double wr = cos[k * stride];
+                    double wi = sin[k * stride];
+                    int even = start + k;
+                    int odd = even + half;
+                    double tr = wr * re[odd] - wi * im[odd];
+                    double ti = wr * im[odd] + wi * re[odd];
+                    re[odd] = re[even] - tr;
+                    im[odd] = im[even] - ti;
+                    re[even] += tr;
+                    im[even] += ti;
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces re and im by their inverse FFT, assuming their length is a
+     * power of 2.
+     *
+     * @param re
+     * @param im
+     */
+    public static void ifft(double[] re, double[] im) {
+        int N = re.length;
+
+        // take conjugate, compute forward FFT, take conjugate again and divide by N
+        for (int i = 0; i < N; i++) {
+            im[i] = -im[i];
+        }
+        fft(re, im);
+        for (int i = 0; i < N; i++) {
+            re[i] /= N;
+            im[i] = -im[i] / N;
+        }
+    }
+
+    private static double[][] twiddleTable(int N) {
+        double[][] twiddles = new double[2][N / 2];
+        for (int k = 0; k < N / 2; k++) {
+            double kth = -2 * k * Math.PI / N;
+            twiddles[0][k] = Math.cos(kth);
+            twiddles[1][k] = Math.sin(kth);
+        }
+        return twiddles;
+    }
+
     // compute the FFT of x[], assuming its length is a power of 2
 
     /**
@@ -1,6 +1,8 @@
 package org.earthtime.UPb_Redux.dateInterpretation.vermeeschKDE;
 
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 // based on Zdravko Botev's kde.m Matlab function from MATLAB Central
 
@@ -62,18 +64,10 @@ public class KDE {
         this.bandwidth = bandwidth;
     }
 
-    private static Complex[] real2complex(double[] in) throws Exception {
-        Complex[] out = new Complex[in.length];
-        for (int i=0; i<in.length; i++){
-            out[i] = new Complex(in[i],0);
-        }
-        return out;
-    }
-
     private static double[] get_a_t(double[] a, int n, double tstar) throws Exception {
         double[] a_t = new double[n];
         for (int i=0; i<n; i++){
-            a_t[i] = a[i]*Math.exp(-i*i*Math.PI*Math.PI*tstar/2);
+            a_t[i] = a[i]*Math.exp(-(double)i*i*Math.PI*Math.PI*tstar/2);
         }
         return a_t;
     }
@@ -100,23 +94,6 @@ public class KDE {
         return out;
     }
 
-    private static Complex[] arrayMultiply(Complex[] array1, Complex[] array2) throws Exception {
-        Complex[] out = new Complex[array1.length];
-        for (int i=0; i<array1.length; i++){
-            out[i] = array1[i].times(array2[i]);
-        }
-        return out;
-    }
-
-    private static double[] arrayReal(Complex[] array) throws Exception {
-        int n = array.length;
-        double[] out = new double[n];
-        for (int i=0; i<n; i++){
-            out[i] = array[i].re();
-        }
-        return out;
-    }
-
     private static double[] histc(double[] data, double[] xmesh) throws Exception {
         int ii, n = xmesh.length;
         double min = xmesh[0], max = xmesh[n-1];
@@ -142,7 +119,7 @@ public class KDE {
     private static double[] getI(int n) throws Exception {
         double[] I = new double[n-1];
         for (int i=1; i<n; i++){
-            I[i-1] = i*i;
+            I[i-1] = (double)i*i;
         }
         return I;
     }
@@ -204,7 +181,12 @@ public class KDE {
         int n = I.length;
         double sum = 0d;
         for (int i=0; i<n; i++){
-            sum += Math.pow(I[i],l)*a2[i]*Math.exp(-I[i]*Math.PI*Math.PI*t);
+            double exponent = -I[i]*Math.PI*Math.PI*t;
+            // I increases, so once exp underflows to zero so do the remaining terms
+            if (exponent < EXP_UNDERFLOW) {
+                break;
+            }
+            sum += Math.pow(I[i],l)*a2[i]*Math.exp(exponent);
         }
         return 2*Math.pow(Math.PI,2*l)*sum;
     }
@@ -212,53 +194,59 @@ public class KDE {
     private static double[] dct1d(double[] data) throws Exception {
         // computes the discrete cosine transform of the column vector data
         int n = data.length;
-        double gamma = 0d;
-        Complex[] data2 = new Complex[n];
-        // Compute weights to multiply DFT coefficients
-        Complex[] weight = new Complex[n];
-        weight[0] = new Complex(1,0);
-        for (int i=1; i<n; i++){
-            gamma = -i*Math.PI/(2*n);
-            weight[i] = new Complex(2*Math.cos(gamma),2*Math.sin(gamma));
-        }
+        double[] re = new double[n];
+        double[] im = new double[n];
         // Re-order the elements of the columns of x
         for (int i=0; i<n/2; i++){
-            data2[i] = new Complex(data[2*i],0);
-            data2[n/2+i] = new Complex(data[n-1-2*i],0);
+            re[i] = data[2*i];
+            re[n/2+i] = data[n-1-2*i];
         }
-        // Multiply FFT by weights:
-        Complex[] fft = FFT.fft(data2);
-        Complex[] weightedData = arrayMultiply(weight,fft);
-        return arrayReal(weightedData);
+        // Multiply FFT by weights 2*exp(-i*pi*i/(2n)), the first by 1, keeping the real part
+        FFT.fft(re,im);
+        double[][] weights = quarterTurnTables.computeIfAbsent(n, KDE::quarterTurnTable);
+        for (int i=1; i<n; i++){
+            re[i] = 2*(weights[0][i]*re[i] + weights[1][i]*im[i]);
+        }
+        return re;
     }
 
     private static double[] idct1d(double[] data) throws Exception {
         // computes the inverse discrete cosine transform
         // Reference: A. K. Jain, "Fundamentals of Digital Image Processing", pp. 150-153
         int n = data.length;
-        double gamma = 0d;
-        // Compute weights
-        Complex[] weight = new Complex[n];
-        for (int i=0; i<n; i++){
-            gamma = i*Math.PI/(2*n);
-            weight[i] = new Complex(n*Math.cos(gamma),n*Math.sin(gamma));
-        }
-        // Compute x tilde using equation (5.93) in Jain
-        Complex[] data2 = real2complex(data);
-        Complex[] weightsXdata = arrayMultiply(weight,data2);
-        Complex[] ifft = FFT.ifft(weightsXdata);
+        // Compute x tilde using equation (5.93) in Jain, with weights n*exp(i*pi*i/(2n))
+        double[][] weights = quarterTurnTables.computeIfAbsent(n, KDE::quarterTurnTable);
+        double[] re = new double[n];
+        double[] im = new double[n];
         for (int i=0; i<n; i++){
-            data[i] = ifft[i].re();
+            re[i] = n*weights[0][i]*data[i];
+            im[i] = n*weights[1][i]*data[i];
         }
+        FFT.ifft(re,im);
         // Re-order elements of each column according to equations (5.93) and (5.94) in Jain
-        double[] out = new double[n];
+        double[] out = im;
         for (int i=0; i<n/2; i++){
-            out[2*i] = data[i];
-            out[1+2*i] = data[n-i-1];
+            out[2*i] = re[i];
+            out[1+2*i] = re[n-i-1];
         }
         return out;
     }
 
+    // cos and sin of i*pi/(2n) for i < n, by n
+    private static double[][] quarterTurnTable(int n) {
+        double[][] weights = new double[2][n];
+        for (int i=0; i<n; i++){
+            double gamma = i*Math.PI/(2*n);
+            weights[0][i] = Math.cos(gamma);
+            weights[1][i] = Math.sin(gamma);
+        }
+        return weights;
+    }
+
+    private static final Map<Integer, double[][]> quarterTurnTables = new ConcurrentHashMap<>();
+    // Math.exp is zero below this
+    private static final double EXP_UNDERFLOW = -746d;
+
     private double bandwidth;
 
 }
@@ -43,6 +43,7 @@ import javax.swing.SwingWorker;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import org.earthtime.Tripoli.dataModels.DataModelInterface;
+import org.earthtime.Tripoli.dataModels.FittingInstrumentation;
 import org.earthtime.Tripoli.dataModels.MaskingSingleton;
 import org.earthtime.Tripoli.dataModels.RawIntensityDataModel;
 import org.earthtime.Tripoli.dataModels.inputParametersModels.AbstractAcquisitionModel;
@@ -557,11 +558,17 @@ public class ProjectManagerFor_LAICPMS_FromRawData extends DialogEditor implemen
 
         SortedSet<TripoliFraction> tripoliFractions = project.getTripoliSession().getTripoliFractions();
 
-        Iterator<TripoliFraction> tripoliFractionsIterator = tripoliFractions.iterator();
-        while (tripoliFractionsIterator.hasNext()) {
-            TripoliFraction tf = tripoliFractionsIterator.next();
-            myMassSpec.setRawRatios(tf.getRawRatios());
-            myMassSpec.reProcessFractionRawRatios(usingFullPropagation, tf.getFractionID(), tf);
+        FittingInstrumentation instrumentation = FittingInstrumentation.getInstance();
+        instrumentation.beginRefit();
+        try {
+            Iterator<TripoliFraction> tripoliFractionsIterator = tripoliFractions.iterator();
+            while (tripoliFractionsIterator.hasNext()) {
+                TripoliFraction tf = tripoliFractionsIterator.next();
+                myMassSpec.setRawRatios(tf.getRawRatios());
+                myMassSpec.reProcessFractionRawRatios(usingFullPropagation, tf.getFractionID(), tf);
+            }
+        } finally {
+            instrumentation.endRefit();
         }
 
         tripoliSession.calculateSessionFitFunctionsForPrimaryStandard();
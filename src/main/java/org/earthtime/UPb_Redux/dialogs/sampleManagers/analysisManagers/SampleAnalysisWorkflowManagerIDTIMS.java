@@ -370,7 +370,7 @@ public class SampleAnalysisWorkflowManagerIDTIMS extends DialogEditor implements
                         ((UPbFraction) addedFraction)//
                                 .setPbBlank(labData.getAPbBlankModel((String) masterPbBlankChooser.getSelectedItem()));
                         ((UPbFraction) addedFraction)//
-                                .setInitialPbModel(labData.getAnInitialPbModel((String) masterInitialPbModelChooser.getSelectedItem()));//march 2012 update.copy());
+                                .setInitialPbModel(initialPbModelForFraction(labData.getAnInitialPbModel((String) masterInitialPbModelChooser.getSelectedItem())));
                         ((UPbFraction) addedFraction)//
                                 .setPhysicalConstantsModel(mySample.getPhysicalConstantsModel());
                     } catch (BadLabDataException badLabDataException) {
@@ -1774,6 +1774,20 @@ public class SampleAnalysisWorkflowManagerIDTIMS extends DialogEditor implements
 
     }
 
+    /**
+     * Stacey-Kramers initial Pb is calculated from each fraction's estimated
+     * date, so each fraction gets its own copy of that model.
+     *
+     * @param initialPbModel
+     * @return
+     */
+    private static AbstractRatiosDataModel initialPbModelForFraction(AbstractRatiosDataModel initialPbModel) {
+        if (initialPbModel instanceof StaceyKramersInitialPbModelET) {
+            return ((StaceyKramersInitialPbModelET) initialPbModel).copyForFraction();
+        }
+        return initialPbModel;
+    }
+
     private void saveAliquotFraction(Aliquot aliquot, Fraction tempFrac)
             throws NumberFormatException {
 
@@ -1862,7 +1876,7 @@ public class SampleAnalysisWorkflowManagerIDTIMS extends DialogEditor implements
         try {
             AbstractRatiosDataModel initialPbModel = ((UPbFraction) tempFrac).getMyLabData().//
                     getAnInitialPbModel((String) fractionInitialPbChoice.get(row).getSelectedItem());
-            ((UPbFraction) tempFrac).setInitialPbModel(initialPbModel);
+            ((UPbFraction) tempFrac).setInitialPbModel(initialPbModelForFraction(initialPbModel));
 
             ((UPbFraction) tempFrac).calculateStaceyKramersInitialPbModelValues();
 
@@ -39,6 +39,7 @@ import org.earthtime.ratioDataModels.initialPbModelsET.InitialPbModelET;
 import org.earthtime.ratioDataModels.initialPbModelsET.InitialPbModelETXMLConverter;
 import org.earthtime.archivingTools.URIHelper;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 
 /**
  *
@@ -201,10 +202,13 @@ public class AnalysisFraction extends Fraction implements
      * @return
      */
     public XStream getXStreamWriter () {
+        XStream xstream = XStreamRegistry.getXStream( getClass(), XStreamRegistry.WRITER, () -> {
+            XStream configured = new XStream();
+            customizeXstream( configured );
+            return configured;
+        } );
 
-        XStream xstream = new XStream();
-
-        customizeXstream( xstream );
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -236,10 +240,13 @@ public class AnalysisFraction extends Fraction implements
      * @return
      */
     public XStream getXStreamReader () {
+        XStream xstream = XStreamRegistry.getXStream( getClass(), XStreamRegistry.READER, () -> {
+            XStream configured = new XStream( new DomDriver() );
+            customizeXstream( configured );
+            return configured;
+        } );
 
-        XStream xstream = new XStream( new DomDriver() );
-
-        customizeXstream( xstream );
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -31,12 +31,14 @@ import org.earthtime.UPb_Redux.reduxLabData.ReduxLabData;
 import org.earthtime.UPb_Redux.utilities.comparators.IntuitiveStringComparator;
 import org.earthtime.UPb_Redux.valueModels.MeasuredRatioModel;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
+import org.earthtime.UPb_Redux.valueModels.ValueModelNameIndex;
 import org.earthtime.dataDictionaries.AnalysisMeasures;
 import org.earthtime.dataDictionaries.DataDictionary;
 import org.earthtime.dataDictionaries.Lambdas;
 import org.earthtime.dataDictionaries.MeasuredRatios;
 import org.earthtime.dataDictionaries.MineralTypes;
 import org.earthtime.dataDictionaries.RadDates;
+import org.earthtime.dataDictionaries.RadRatios;
 import org.earthtime.dataDictionaries.TraceElements;
 import org.earthtime.ratioDataModels.AbstractRatiosDataModel;
 import org.earthtime.ratioDataModels.initialPbModelsET.InitialPbModelET;
@@ -115,6 +117,11 @@ public abstract class Fraction implements
     private int rgbColor;
     // june 2014
     private ValueModel[] traceElements;
+    // oct 2026 name to slot indexes for the lookups by name
+    private transient ValueModelNameIndex analysisMeasuresIndex;
+    private transient ValueModelNameIndex radiogenicIsotopeRatiosIndex;
+    private transient ValueModelNameIndex radiogenicIsotopeDatesIndex;
+    private transient ValueModelNameIndex compositionalMeasuresIndex;
 
     /**
      * Creates a new instance of Fraction
@@ -717,12 +724,10 @@ public abstract class Fraction implements
      * @return
      */
     public ValueModel getAnalysisMeasure(String amName) {
-        ValueModel amModel = null;
-        for (int i = 0; i < getAnalysisMeasures().length; i++) {
-            if (getAnalysisMeasures()[i].getName().equalsIgnoreCase(amName)) {
-                amModel = getAnalysisMeasures()[i];
-            }
+        if (analysisMeasuresIndex == null) {
+            analysisMeasuresIndex = new ValueModelNameIndex(true, false);
         }
+        ValueModel amModel = analysisMeasuresIndex.find(getAnalysisMeasures(), amName);
 
         if (amModel == null) {
             // return a new model - handles backwards compatible
@@ -744,6 +749,15 @@ public abstract class Fraction implements
         return amModel;
     }
 
+    /**
+     *
+     * @param amName
+     * @return
+     */
+    public ValueModel getAnalysisMeasure(AnalysisMeasures amName) {
+        return getAnalysisMeasure(amName.getName());
+    }
+
     /**
      *
      * @param amName
@@ -752,11 +766,7 @@ public abstract class Fraction implements
     public void setAnalysisMeasureByName(String amName, ValueModel valueModel) {
         // make sure it exists
         getAnalysisMeasure(amName.trim());
-        for (int i = 0; i < getAnalysisMeasures().length; i++) {
-            if (getAnalysisMeasures()[i].getName().equalsIgnoreCase(amName.trim())) {
-                getAnalysisMeasures()[i] = valueModel;
-            }
-        }
+        getAnalysisMeasures()[analysisMeasuresIndex.slotOf(getAnalysisMeasures(), amName.trim())] = valueModel;
     }
 
     /**
@@ -891,11 +901,7 @@ public abstract class Fraction implements
         // make sure it exists
         getRadiogenicIsotopeRatioByName(riaName.trim());
 
-        for (int i = 0; i < getRadiogenicIsotopeRatios().length; i++) {
-            if (getRadiogenicIsotopeRatios()[i].getName().equalsIgnoreCase(riaName.trim())) {
-                getRadiogenicIsotopeRatios()[i] = valueModel;
-            }
-        }
+        getRadiogenicIsotopeRatios()[radiogenicIsotopeRatiosIndex.slotOf(getRadiogenicIsotopeRatios(), riaName.trim())] = valueModel;
     }
 
     /**
@@ -904,10 +910,12 @@ public abstract class Fraction implements
      * @return
      */
     public ValueModel getRadiogenicIsotopeRatioByName(String ratioName) {
-        for (ValueModel radiogenicIsotopeRatio : getRadiogenicIsotopeRatios()) {
-            if (radiogenicIsotopeRatio.getName().equalsIgnoreCase(ratioName.trim())) {
-                return radiogenicIsotopeRatio;
-            }
+        if (radiogenicIsotopeRatiosIndex == null) {
+            radiogenicIsotopeRatiosIndex = new ValueModelNameIndex(true, true);
+        }
+        ValueModel radiogenicIsotopeRatio = radiogenicIsotopeRatiosIndex.find(getRadiogenicIsotopeRatios(), ratioName.trim());
+        if (radiogenicIsotopeRatio != null) {
+            return radiogenicIsotopeRatio;
         }
 
         // return a new model - handles backwards compatible
@@ -930,6 +938,15 @@ public abstract class Fraction implements
         return rirModel;
     }
 
+    /**
+     *
+     * @param ratioName
+     * @return
+     */
+    public ValueModel getRadiogenicIsotopeRatioByName(RadRatios ratioName) {
+        return getRadiogenicIsotopeRatioByName(ratioName.getName());
+    }
+
     /**
      *
      * @return
@@ -967,11 +984,7 @@ public abstract class Fraction implements
         // make sure it exists
         getRadiogenicIsotopeDateByName(riaName.trim());
 
-        for (int i = 0; i < getRadiogenicIsotopeDates().length; i++) {
-            if (getRadiogenicIsotopeDates()[i].getName().equalsIgnoreCase(riaName.trim())) {
-                getRadiogenicIsotopeDates()[i] = valueModel;
-            }
-        }
+        getRadiogenicIsotopeDates()[radiogenicIsotopeDatesIndex.slotOf(getRadiogenicIsotopeDates(), riaName.trim())] = valueModel;
     }
 
     /**
@@ -993,10 +1006,12 @@ public abstract class Fraction implements
 //            System.out.println("HEY");
 //        }
 
-        for (ValueModel radiogenicIsotopeDate : getRadiogenicIsotopeDates()) {
-            if (radiogenicIsotopeDate.getName().equalsIgnoreCase(ratioName.trim())) {
-                return radiogenicIsotopeDate;
-            }
+        if (radiogenicIsotopeDatesIndex == null) {
+            radiogenicIsotopeDatesIndex = new ValueModelNameIndex(true, true);
+        }
+        ValueModel radiogenicIsotopeDate = radiogenicIsotopeDatesIndex.find(getRadiogenicIsotopeDates(), ratioName.trim());
+        if (radiogenicIsotopeDate != null) {
+            return radiogenicIsotopeDate;
         }
 
         // return a new model - handles backwards compatible
@@ -1061,10 +1076,12 @@ public abstract class Fraction implements
      * @return
      */
     public ValueModel getCompositionalMeasureByName(String cmName) {
-        for (int i = 0; i < getCompositionalMeasures().length; i++) {
-            if (getCompositionalMeasures()[i].getName().equalsIgnoreCase(cmName.trim())) {
-                return getCompositionalMeasures()[i];
-            }
+        if (compositionalMeasuresIndex == null) {
+            compositionalMeasuresIndex = new ValueModelNameIndex(true, true);
+        }
+        ValueModel compositionalMeasure = compositionalMeasuresIndex.find(getCompositionalMeasures(), cmName.trim());
+        if (compositionalMeasure != null) {
+            return compositionalMeasure;
         }
         // return a new model - handles backwards compatible
         // have to add element to array
@@ -1093,11 +1110,7 @@ public abstract class Fraction implements
         // make sure it exists
         getCompositionalMeasureByName(cmName.trim());
         //find it
-        for (int i = 0; i < getCompositionalMeasures().length; i++) {
-            if (getCompositionalMeasures()[i].getName().equalsIgnoreCase(cmName.trim())) {
-                getCompositionalMeasures()[i] = valueModel;
-            }
-        }
+        getCompositionalMeasures()[compositionalMeasuresIndex.slotOf(getCompositionalMeasures(), cmName.trim())] = valueModel;
     }
 
     /**
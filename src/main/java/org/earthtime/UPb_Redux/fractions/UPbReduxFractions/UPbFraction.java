@@ -23,6 +23,7 @@ package org.earthtime.UPb_Redux.fractions.UPbReduxFractions;
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.converters.ConversionException;
 import com.thoughtworks.xstream.io.xml.DomDriver;
+import com.thoughtworks.xstream.io.xml.DomReader;
 import java.awt.geom.Path2D;
 import java.io.BufferedReader;
 import java.io.File;
@@ -86,6 +87,8 @@ import org.earthtime.ratioDataModels.tracers.TracerUPbModelXMLConverter;
 import org.earthtime.utilities.CollectionHelpers;
 import org.earthtime.archivingTools.URIHelper;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
+import org.w3c.dom.Document;
 
 /**
  *
@@ -1456,35 +1459,47 @@ public class UPbFraction extends Fraction implements
             FileNotFoundException,
             BadOrMissingXMLSchemaException {
 
+        try {
+            return unmarshalXMLFraction( filename, doValidate );
+        } catch (ETException ex) {
+            throw new ETException( null, ex.getMessage() );
+        }
+    }
+
+    // oct 2026 reads without showing warnings so that files can be read off the event dispatch thread
+    private UPbFraction unmarshalXMLFraction ( String filename, boolean doValidate )
+            throws FileNotFoundException,
+            ETException,
+            BadOrMissingXMLSchemaException {
+
         Fraction myUPbReduxFraction = null;
 
         BufferedReader reader = URIHelper.getBufferedReader( filename );
 
         if ( reader != null ) {
-            boolean isValidOrAirplaneMode = !doValidate;
-            
             XStream xstream = getXStreamReader();
 
+            // oct 2026 a validated file is read and parsed once and XStream unmarshals its DOM tree
+            Document document = null;
             if ( doValidate ) {
-                isValidOrAirplaneMode = URIHelper.validateXML( reader, filename, XMLSchemaURL );
-            } 
-            
-            if ( isValidOrAirplaneMode ) {
-                // re-create reader
-                reader = URIHelper.getBufferedReader( filename );
-                try {
-                    myUPbReduxFraction = (UPbFraction) xstream.fromXML( reader );
-                } catch (ConversionException e) {
-                    throw new ETException( null, e.getMessage() );
+                document = URIHelper.parseValidatedXML( reader, XMLSchemaURL );
+                if ( document == null ) {
+                    throw new ETException( "XML data file does not conform to schema." );
                 }
-            } else {
-                throw new ETException( null, "XML data file does not conform to schema." );
+            }
+
+            try {
+                if ( document != null ) {
+                    myUPbReduxFraction = (UPbFraction) xstream.unmarshal( new DomReader( document ), this );
+                } else {
+                    myUPbReduxFraction = (UPbFraction) xstream.fromXML( reader, this );
+                }
+            } catch (ConversionException e) {
+                throw new ETException( e.getMessage() );
             }
         } else {
             throw new FileNotFoundException( "Missing XML data file." );
         }
-               
-        
 
         return (UPbFraction) myUPbReduxFraction;
 
@@ -1498,10 +1513,19 @@ public class UPbFraction extends Fraction implements
      */
     public XStream getXStreamWriter ( boolean omitTracer ) {
 
-        XStream xstream = getXStreamWriter();
+        XStream xstream;
 
         if ( omitTracer ) {
-            xstream.omitField( UPbFraction.class, "Tracer" );
+            // oct 2026 registered apart because omitting a field reconfigures the shared XStream
+            xstream = XStreamRegistry.getXStream( getClass(), XStreamRegistry.WRITER + "-omitTracer", () -> {
+                XStream configured = new XStream();
+                customizeXstream( configured );
+                configured.omitField( UPbFraction.class, "Tracer" );
+                return configured;
+            } );
+            setClassXMLSchemaURL();
+        } else {
+            xstream = getXStreamWriter();
         }
 
         return xstream;
@@ -1523,9 +1547,13 @@ public class UPbFraction extends Fraction implements
      * @return
      */
     private XStream getXStreamWriter () {
-        XStream xstream = new XStream();
+        XStream xstream = XStreamRegistry.getXStream( getClass(), XStreamRegistry.WRITER, () -> {
+            XStream configured = new XStream();
+            customizeXstream( configured );
+            return configured;
+        } );
 
-        customizeXstream( xstream );
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -1536,7 +1564,7 @@ public class UPbFraction extends Fraction implements
      */
     private void customizeXstream ( XStream xstream ) {
 
-        xstream.registerConverter( new UPbFractionXMLConverter( this ) );
+        xstream.registerConverter( new UPbFractionXMLConverter() );
         xstream.registerConverter( new TracerXMLConverter() );
         xstream.registerConverter( new TracerUPbModelXMLConverter() );
         xstream.registerConverter( new ValueModelXMLConverter() );
@@ -1556,10 +1584,13 @@ public class UPbFraction extends Fraction implements
      * @return
      */
     private XStream getXStreamReader () {
+        XStream xstream = XStreamRegistry.getXStream( getClass(), XStreamRegistry.READER, () -> {
+            XStream configured = new XStream( new DomDriver() );
+            customizeXstream( configured );
+            return configured;
+        } );
 
-        XStream xstream = new XStream( new DomDriver() );
-
-        customizeXstream( xstream );
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -1576,97 +1607,122 @@ public class UPbFraction extends Fraction implements
     public UPbFraction readXMLFraction ( String filename, int aliquotNumber, boolean doValidate )
             throws BadOrMissingXMLSchemaException {
 
-        Fraction myUPbReduxFraction = null;
+        UPbFraction myUPbReduxFraction = null;
 
         try {
-            myUPbReduxFraction = (Fraction) readXMLObject( filename, doValidate );
+            myUPbReduxFraction = importXMLFraction( filename, aliquotNumber, doValidate );
+        } catch (FileNotFoundException ex) {
+            Logger.getLogger( UPbFraction.class.getName() ).log( Level.SEVERE, null, ex );
+        } catch (ETException ex) {
+            Logger.getLogger( UPbFraction.class.getName() ).log( Level.SEVERE, null, new ETException( null, ex.getMessage() ) );
+        }
 
-            // set LabData
-            ((UPbFraction) myUPbReduxFraction).setMyLabData( this.getMyLabData() );
+        return myUPbReduxFraction;
+    }
 
-            // fill missing fields
-            ((UPbFractionI) myUPbReduxFraction).setAliquotNumber( aliquotNumber );
+    /**
+     * Reads in a standard UPbReduxFraction and post-processes it for analysis
+     * without showing any warnings, so that many files can be read at once on
+     * worker threads. This fraction is the one that is read into and it
+     * touches no shared state beyond reading its lab data.
+     *
+     * @param filename
+     * @param aliquotNumber
+     * @param doValidate
+     * @return
+     * @throws FileNotFoundException
+     * @throws ETException whose message says why the file was not read
+     * @throws BadOrMissingXMLSchemaException
+     */
+    public UPbFraction importXMLFraction ( String filename, int aliquotNumber, boolean doValidate )
+            throws FileNotFoundException,
+            ETException,
+            BadOrMissingXMLSchemaException {
 
-            ((UPbFraction) myUPbReduxFraction).setPedigreePb( "" );
-            ((UPbFraction) myUPbReduxFraction).setPedigreeU( "" );
+        Fraction myUPbReduxFraction = unmarshalXMLFraction( filename, doValidate );
 
-            ((UPbFractionI) myUPbReduxFraction).setChanged( true );
-            ((UPbFractionI) myUPbReduxFraction).setDeleted( false );
+        // set LabData
+        ((UPbFraction) myUPbReduxFraction).setMyLabData( this.getMyLabData() );
 
-            ((UPbFraction) myUPbReduxFraction).setNotesPb( "" );
-            ((UPbFraction) myUPbReduxFraction).setNotesU( "" );
-            ((UPbFraction) myUPbReduxFraction).setSourceFilePb( "NONE" );
-            ((UPbFraction) myUPbReduxFraction).setSourceFileU( "NONE" );
+        // fill missing fields
+        ((UPbFractionI) myUPbReduxFraction).setAliquotNumber( aliquotNumber );
 
+        ((UPbFraction) myUPbReduxFraction).setPedigreePb( "" );
+        ((UPbFraction) myUPbReduxFraction).setPedigreeU( "" );
 
-            // AUG 2011 Big BUG
-            // Tracer is used for either case now that Bariatric etc corrections are made
-            // this slipped though the cracks since it wasn't ever really used
-            // the following is wrong and replaced with correct logic
-            // in calling method Sample.processXMLFractionFile
-            //
-            // assumption = only U or UPb fractions have tracers (for U)
-            // therefore if this is U or UPb and no tracer is specified, we use
-            // the default otherwise it is Pb only and we use <none>
+        ((UPbFractionI) myUPbReduxFraction).setChanged( true );
+        ((UPbFractionI) myUPbReduxFraction).setDeleted( false );
 
-            /*
-             * WRONG if ( ((UPbFraction) myUPbReduxFraction).getTracer() == null
-             * ) { if ( (((UPbFraction)
-             * myUPbReduxFraction).getRatioType().equalsIgnoreCase( "U" )) || //
-             * (((UPbFraction)
-             * myUPbReduxFraction).getRatioType().equalsIgnoreCase( "UPb" )) ) {
-             * ((UPbFraction) myUPbReduxFraction).setTracer( this.getTracer() );
-             * } else { try { ((UPbFraction) myUPbReduxFraction).setTracer(
-             * getMyLabData().getFirstTracer() ); } catch (BadLabDataException
-             * ex) { } } }
-             */
+        ((UPbFraction) myUPbReduxFraction).setNotesPb( "" );
+        ((UPbFraction) myUPbReduxFraction).setNotesU( "" );
+        ((UPbFraction) myUPbReduxFraction).setSourceFilePb( "NONE" );
+        ((UPbFraction) myUPbReduxFraction).setSourceFileU( "NONE" );
 
 
+        // AUG 2011 Big BUG
+        // Tracer is used for either case now that Bariatric etc corrections are made
+        // this slipped though the cracks since it wasn't ever really used
+        // the following is wrong and replaced with correct logic
+        // in calling method Sample.processXMLFractionFile
+        //
+        // assumption = only U or UPb fractions have tracers (for U)
+        // therefore if this is U or UPb and no tracer is specified, we use
+        // the default otherwise it is Pb only and we use <none>
 
-            ((UPbFractionI) myUPbReduxFraction).setAlphaPbModel( this.getAlphaPbModel() );
-            ((UPbFractionI) myUPbReduxFraction).setAlphaUModel( this.getAlphaUModel() );
-            ((UPbFractionI) myUPbReduxFraction).setPbBlank( this.getPbBlank() );
+        /*
+         * WRONG if ( ((UPbFraction) myUPbReduxFraction).getTracer() == null
+         * ) { if ( (((UPbFraction)
+         * myUPbReduxFraction).getRatioType().equalsIgnoreCase( "U" )) || //
+         * (((UPbFraction)
+         * myUPbReduxFraction).getRatioType().equalsIgnoreCase( "UPb" )) ) {
+         * ((UPbFraction) myUPbReduxFraction).setTracer( this.getTracer() );
+         * } else { try { ((UPbFraction) myUPbReduxFraction).setTracer(
+         * getMyLabData().getFirstTracer() ); } catch (BadLabDataException
+         * ex) { } } }
+         */
 
-            ((UPbFractionI) myUPbReduxFraction).setPhysicalConstantsModel( this.getPhysicalConstantsModel() );
 
-            // initialize parent fields
-            myUPbReduxFraction.GetValuesFrom( this, false );
 
+        ((UPbFractionI) myUPbReduxFraction).setAlphaPbModel( this.getAlphaPbModel() );
+        ((UPbFractionI) myUPbReduxFraction).setAlphaUModel( this.getAlphaUModel() );
+        ((UPbFractionI) myUPbReduxFraction).setPbBlank( this.getPbBlank() );
 
-            // may 2008 discovered that reading u first did not set analysis measures
-            populateAnalysisMeasuresFromImportedFraction( myUPbReduxFraction, myUPbReduxFraction );
+        ((UPbFractionI) myUPbReduxFraction).setPhysicalConstantsModel( this.getPhysicalConstantsModel() );
 
+        // initialize parent fields
+        myUPbReduxFraction.GetValuesFrom( this, false );
 
-            // aug 2010
-            myUPbReduxFraction.setFractionationCorrectedU( //
-                    ((UPbFraction) myUPbReduxFraction).getMeanAlphaU().compareTo( BigDecimal.ZERO ) == 1 );
-            // aug 2010
-            myUPbReduxFraction.setFractionationCorrectedPb(//
-                    ((UPbFraction) myUPbReduxFraction).getMeanAlphaPb().compareTo( BigDecimal.ZERO ) == 1 );
 
+        // may 2008 discovered that reading u first did not set analysis measures
+        populateAnalysisMeasuresFromImportedFraction( myUPbReduxFraction, myUPbReduxFraction );
 
-            // check ratio_type and set source file
-            if (  ! ((((UPbFractionI) myUPbReduxFraction).getRatioType().equalsIgnoreCase( "U" ))//
-                    || (((UPbFractionI) myUPbReduxFraction).getRatioType().equalsIgnoreCase( "Pb" )) //
-                    || (((UPbFractionI) myUPbReduxFraction).getRatioType().equalsIgnoreCase( "UPb" ))) ) {
-                throw new ETException( null, "RatioType is NOT recognized." );
-            }
 
-            if ( ((UPbFractionI) myUPbReduxFraction).getRatioType().equalsIgnoreCase( "U" )//
-                    || ((UPbFractionI) myUPbReduxFraction).getRatioType().equalsIgnoreCase( "UPb" ) ) {
-                ((UPbFraction) myUPbReduxFraction).setSourceFileU( filename );
-                ((UPbFraction) myUPbReduxFraction).setPedigreeU( getPedigree() );
+        // aug 2010
+        myUPbReduxFraction.setFractionationCorrectedU( //
+                ((UPbFraction) myUPbReduxFraction).getMeanAlphaU().compareTo( BigDecimal.ZERO ) == 1 );
+        // aug 2010
+        myUPbReduxFraction.setFractionationCorrectedPb(//
+                ((UPbFraction) myUPbReduxFraction).getMeanAlphaPb().compareTo( BigDecimal.ZERO ) == 1 );
 
-            }
 
-            if ( ((UPbFractionI) myUPbReduxFraction).getRatioType().equalsIgnoreCase( "Pb" ) //
-                    || ((UPbFractionI) myUPbReduxFraction).getRatioType().equalsIgnoreCase( "UPb" ) ) {
-                ((UPbFraction) myUPbReduxFraction).setSourceFilePb( filename );
-                ((UPbFraction) myUPbReduxFraction).setPedigreePb( getPedigree() );
-            }
+        // check ratio_type and set source file
+        if (  ! ((((UPbFractionI) myUPbReduxFraction).getRatioType().equalsIgnoreCase( "U" ))//
+                || (((UPbFractionI) myUPbReduxFraction).getRatioType().equalsIgnoreCase( "Pb" )) //
+                || (((UPbFractionI) myUPbReduxFraction).getRatioType().equalsIgnoreCase( "UPb" ))) ) {
+            throw new ETException( "RatioType is NOT recognized." );
+        }
 
-        } catch (FileNotFoundException | ETException ex) {
-            Logger.getLogger( UPbFraction.class.getName() ).log( Level.SEVERE, null, ex );
+        if ( ((UPbFractionI) myUPbReduxFraction).getRatioType().equalsIgnoreCase( "U" )//
+                || ((UPbFractionI) myUPbReduxFraction).getRatioType().equalsIgnoreCase( "UPb" ) ) {
+            ((UPbFraction) myUPbReduxFraction).setSourceFileU( filename );
+            ((UPbFraction) myUPbReduxFraction).setPedigreeU( getPedigree() );
+
+        }
+
+        if ( ((UPbFractionI) myUPbReduxFraction).getRatioType().equalsIgnoreCase( "Pb" ) //
+                || ((UPbFractionI) myUPbReduxFraction).getRatioType().equalsIgnoreCase( "UPb" ) ) {
+            ((UPbFraction) myUPbReduxFraction).setSourceFilePb( filename );
+            ((UPbFraction) myUPbReduxFraction).setPedigreePb( getPedigree() );
         }
 
         return (UPbFraction) myUPbReduxFraction;
@@ -45,14 +45,12 @@ import org.earthtime.ratioDataModels.tracers.TracerUPbModelXMLConverter;
  */
 public class UPbFractionXMLConverter implements Converter {
 
-    private UPbFraction uPbFraction;
-
     /**
-     *
-     * @param uPbFraction
+     * Keeps no fraction between calls so that one converter can be shared by
+     * every fraction read or written. A fraction is read into the root object
+     * passed to <code>XStream</code>, if any.
      */
-    public UPbFractionXMLConverter ( UPbFraction uPbFraction ) {
-        this.uPbFraction = uPbFraction;
+    public UPbFractionXMLConverter () {
     }
 
     /**
@@ -75,7 +73,7 @@ public class UPbFractionXMLConverter implements Converter {
     public void marshal ( Object value, HierarchicalStreamWriter writer,
             MarshallingContext context ) {
 
-        uPbFraction = (UPbFraction) value;
+        UPbFraction uPbFraction = (UPbFraction) value;
 
         writer.startNode( "sampleName" );
         writer.setValue( uPbFraction.getSampleName() );
@@ -174,6 +172,14 @@ public class UPbFractionXMLConverter implements Converter {
     public Object unmarshal ( HierarchicalStreamReader reader,
             UnmarshallingContext context ) {
 
+        // oct 2026 reads into the root object given to XStream so that the converter is stateless
+        UPbFraction uPbFraction;
+        if ( context.currentObject() instanceof UPbFraction ) {
+            uPbFraction = (UPbFraction) context.currentObject();
+        } else {
+            uPbFraction = new UPbFraction();
+        }
+
         reader.moveDown();
         uPbFraction.setSampleName( reader.getValue() );
         reader.moveUp();
@@ -22,13 +22,19 @@ package org.earthtime.UPb_Redux.fractions.UPbReduxFractions.fractionReduction;
 import Jama.Matrix;
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import org.earthtime.Tripoli.dataModels.sessionModels.SessionCorrectedUnknownsSummary;
 import org.earthtime.UPb_Redux.ReduxConstants;
 import org.earthtime.UPb_Redux.fractions.Fraction;
@@ -138,6 +144,7 @@ import org.earthtime.dataDictionaries.RadRatiosPbcCorrected;
 import org.earthtime.dataDictionaries.TracerUPbRatiosAndConcentrations;
 import org.earthtime.matrices.matrixModels.AbstractMatrixModel;
 import org.earthtime.ratioDataModels.AbstractRatiosDataModel;
+import org.earthtime.ratioDataModels.initialPbModelsET.StaceyKramersInitialPbModelET;
 import org.earthtime.ratioDataModels.physicalConstantsModels.PhysicalConstantsModel;
 
 /**
@@ -147,142 +154,148 @@ import org.earthtime.ratioDataModels.physicalConstantsModels.PhysicalConstantsMo
 public class UPbFractionReducer {
 
     private static UPbFractionReducer instance;
+    // supplies decay constants to the public date calculations used by weighted means
+    private static volatile UPbFractionReducer latestReduction;
     // Instance variablesInOrder
     // 0. lab constants
-    private static ValueModel lambda230;
-    private static ValueModel lambda231;
-    private static ValueModel lambda232;
-    private static ValueModel lambda234;
-    private static ValueModel lambda235;
-    private static ValueModel lambda238;
-    private static ValueModel gmol204;
-    private static ValueModel gmol206;
-    private static ValueModel gmol207;
-    private static ValueModel gmol208;
-    private static ValueModel gmol235;
-    private static ValueModel gmol238;
+    private ValueModel lambda230;
+    private ValueModel lambda231;
+    private ValueModel lambda232;
+    private ValueModel lambda234;
+    private ValueModel lambda235;
+    private ValueModel lambda238;
+    private ValueModel gmol204;
+    private ValueModel gmol206;
+    private ValueModel gmol207;
+    private ValueModel gmol208;
+    private ValueModel gmol235;
+    private ValueModel gmol238;
     // 1. Pb
     // 1a. tracer *****************************************************
-    private static ValueModel alphaPb;
-    private static ValueModel molPb205t;
+    private ValueModel alphaPb;
+    private ValueModel molPb205t;
     // 1b. Pb  Blank *************************************************
-    private static ValueModel r204_205fc;
-    private static ValueModel molPb204tc;
-    private static ValueModel molPb204b;
-    private static ValueModel molPb206b;
-    private static ValueModel molPb207b;
-    private static ValueModel molPb208b;
-    private static ValueModel molPb204c;
-    private static ValueModel molPb206c;
-    private static ValueModel molPb207c;
-    private static ValueModel molPb208c;
-    private static ValueModel blankPbGramsMol;
-    private static ValueModel blankPbMass;
+    private ValueModel r204_205fc;
+    private ValueModel molPb204tc;
+    private ValueModel molPb204b;
+    private ValueModel molPb206b;
+    private ValueModel molPb207b;
+    private ValueModel molPb208b;
+    private ValueModel molPb204c;
+    private ValueModel molPb206c;
+    private ValueModel molPb207c;
+    private ValueModel molPb208c;
+    private ValueModel blankPbGramsMol;
+    private ValueModel blankPbMass;
     // 1c radiogenic Pb, sample Pb *******************************************
-    private static ValueModel molPb206r;
-    private static ValueModel molPb207r;
-    private static ValueModel molPb208r;
-    private static ValueModel molPb206s;
-    private static ValueModel molPb207s;
-    private static ValueModel molPb208s;
+    private ValueModel molPb206r;
+    private ValueModel molPb207r;
+    private ValueModel molPb208r;
+    private ValueModel molPb206s;
+    private ValueModel molPb207s;
+    private ValueModel molPb208s;
     // 2. U *******************************************************************
-    //  private static ValueModel r270_265m;
+    //  private ValueModel r270_265m;
     // 2a. tracer
-    private static ValueModel molU235b;
-    private static ValueModel molU238b;
-    private static ValueModel molU235t;
-    private static ValueModel molU236t;
-    private static ValueModel molU238t;
+    private ValueModel molU235b;
+    private ValueModel molU238b;
+    private ValueModel molU235t;
+    private ValueModel molU236t;
+    private ValueModel molU238t;
     // 2b. sample U *********************************************************
-    private static ValueModel molU233t;
-    private static ValueModel molU235s;
-    private static ValueModel molU238s;
+    private ValueModel molU233t;
+    private ValueModel molU235s;
+    private ValueModel molU238s;
     // 3. Ages
     // 3a. radiogenic isotope ratios
-    private static ValueModel r206_238r;
-    private static ValueModel r207_235r;
-    private static ValueModel r207_206r;
-    private static ValueModel r206_204r;
-    private static ValueModel r208_206r;
-    private static ValueModel r208_232r;
-    private static ValueModel r206_238r_Th;
+    private ValueModel r206_238r;
+    private ValueModel r207_235r;
+    private ValueModel r207_206r;
+    private ValueModel r206_204r;
+    private ValueModel r208_206r;
+    private ValueModel r208_232r;
+    private ValueModel r206_238r_Th;
     // 3b. radiogenic isotope ages ********************************************
-    private static ValueModel age206_238r;
-    private static ValueModel age207_235r;
-    private static ValueModel age207_206r;
-    private static ValueModel age208_232r;
+    private ValueModel age206_238r;
+    private ValueModel age207_235r;
+    private ValueModel age207_206r;
+    private ValueModel age208_232r;
     // 3c. Th and Pa correction ***********************************************
-    private static ValueModel age206_238r_Th;
-    private static ValueModel molTh232s;
-    private static ValueModel molPb206r_Th;
-    private static ValueModel r207_206r_Th;
-    private static ValueModel age207_206r_Th;
-    private static ValueModel age207_235r_Pa;
-    private static ValueModel molPb207r_Pa;
-    private static ValueModel r207_206r_Pa;
-    private static ValueModel r207_235r_Pa;
-    private static ValueModel age207_206r_Pa;
-    private static ValueModel r207_206r_ThPa;
-    private static ValueModel age207_206r_ThPa;
-    private static ValueModel molsU;
+    private ValueModel age206_238r_Th;
+    private ValueModel molTh232s;
+    private ValueModel molPb206r_Th;
+    private ValueModel r207_206r_Th;
+    private ValueModel age207_206r_Th;
+    private ValueModel age207_235r_Pa;
+    private ValueModel molPb207r_Pa;
+    private ValueModel r207_206r_Pa;
+    private ValueModel r207_235r_Pa;
+    private ValueModel age207_206r_Pa;
+    private ValueModel r207_206r_ThPa;
+    private ValueModel age207_206r_ThPa;
+    private ValueModel molsU;
     // 4. Isochron Ratios ********************************************
-    private static ValueModel r206_204tfc;
-    private static ValueModel r204_206s;
-    private static ValueModel r238_204s;
-    private static ValueModel rhoR238_204s__r206_204s;
-    private static ValueModel r235_204s;
-    private static ValueModel r204_207s;
-    private static ValueModel rhoR235_204s__r207_204s;
-    private static ValueModel r232_204s;
-    private static ValueModel r208_204s;
-    private static ValueModel rhoR202_204s__r208_204s;
-    private static ValueModel r238_206s;
-    private static ValueModel r207_206s;
-    private static ValueModel rhoR238_206s__r207_206s;
-    private static ValueModel rhoR207_206s__r204_206s;
-    private static ValueModel r238_207s;
-    private static ValueModel r235_207s;
+    private ValueModel r206_204tfc;
+    private ValueModel r204_206s;
+    private ValueModel r238_204s;
+    private ValueModel rhoR238_204s__r206_204s;
+    private ValueModel r235_204s;
+    private ValueModel r204_207s;
+    private ValueModel rhoR235_204s__r207_204s;
+    private ValueModel r232_204s;
+    private ValueModel r208_204s;
+    private ValueModel rhoR202_204s__r208_204s;
+    private ValueModel r238_206s;
+    private ValueModel r207_206s;
+    private ValueModel rhoR238_206s__r207_206s;
+    private ValueModel rhoR207_206s__r204_206s;
+    private ValueModel r238_207s;
+    private ValueModel r235_207s;
     // 5. Outputs **********************************************************
     // 5a. Pb Calculations // 5b. U calculations
-    private static ValueModel initCommonPbMass;
-    private static ValueModel totCommonPbMass;
-    private static ValueModel radToCommonPb206;
-    private static ValueModel radToCommonPb207;
-    private static ValueModel radToCommonPb208;
-    private static ValueModel percentDiscordance;
-    private static ValueModel alphaU;
-    private static ValueModel massU;
-    private static ValueModel concU;
-    private static ValueModel concTh;
-    private static ValueModel rTh_Usample;
-    private static ValueModel massPb_rib;
-    private static ValueModel concPb_rib;
-    private static ValueModel concPb_r;
-    private static ValueModel concPb_i;
-    private static ValueModel concPb_ib;
-    private static ValueModel concPb206_rib;
-    private static ValueModel concPb206_r;
-    private static ValueModel concPb206_ib;
-    private static ValueModel radToCommonTotal;
+    private ValueModel initCommonPbMass;
+    private ValueModel totCommonPbMass;
+    private ValueModel radToCommonPb206;
+    private ValueModel radToCommonPb207;
+    private ValueModel radToCommonPb208;
+    private ValueModel percentDiscordance;
+    private ValueModel alphaU;
+    private ValueModel massU;
+    private ValueModel concU;
+    private ValueModel concTh;
+    private ValueModel rTh_Usample;
+    private ValueModel massPb_rib;
+    private ValueModel concPb_rib;
+    private ValueModel concPb_r;
+    private ValueModel concPb_i;
+    private ValueModel concPb_ib;
+    private ValueModel concPb206_rib;
+    private ValueModel concPb206_r;
+    private ValueModel concPb206_ib;
+    private ValueModel radToCommonTotal;
     // 6. helpers
-//    private static Map<String, String> outputTable;
+//    private Map<String, String> outputTable;
     private final static MathContext mathContext15 = ReduxConstants.mathContext15;
     // temp partial results for new oxidation correction
-    private static ValueModel r238_235oc;
-    private static ValueModel r233_235oc;
+    private ValueModel r238_235oc;
+    private ValueModel r233_235oc;
     // jan 2011 for tracer type 236
-    private static ValueModel r238_236oc;
-    private static ValueModel r233_236oc;
-    private static ValueModel totRadiogenicPbMass;// intermediate
+    private ValueModel r238_236oc;
+    private ValueModel r233_236oc;
+    private ValueModel totRadiogenicPbMass;// intermediate
     // store partial derivatives
-    private static ConcurrentMap<String, BigDecimal> parDerivTerms;
-    private static Map<String, BigDecimal> coVariances;
-    private static Map<String, BigDecimal> inputVariances;
-    private static SortedMap<Integer, ValueModel> variablesInOrder;
-    private static SortedMap<Integer, ValueModel> specialInputVariablesInOrder;
-    private static boolean treatFractionAsZircon;
+    private ConcurrentMap<String, BigDecimal> parDerivTerms;
+    private Map<String, BigDecimal> coVariances;
+    private Map<String, BigDecimal> inputVariances;
+    private SortedMap<Integer, ValueModel> variablesInOrder;
+    private SortedMap<Integer, ValueModel> specialInputVariablesInOrder;
+    private boolean treatFractionAsZircon;
     // march 2013 modernizing approach to encapsulate what is sent to redux
     private SortedMap<RadRatios, SessionCorrectedUnknownsSummary> sessionCorrectedUnknownsSummaries;
+    // oct 2026 value models with a double precision path skip BigDecimal arithmetic and value trees
+    private boolean doublePrecision;
+    // oct 2026 the shared tracer and physical constants models were initialized before a concurrent reduction
+    private boolean sharedModelsPrepared;
 
     /**
      *
@@ -321,6 +334,135 @@ public class UPbFractionReducer {
     public static void fullFractionReduce(
             Fraction fraction,
             boolean calculateCovariances) {
+        fullFractionReduce(fraction, calculateCovariances, false);
+    }
+
+    /**
+     *
+     * @param fraction
+     * @param calculateCovariances
+     * @param doublePrecision value models with a double precision path
+     * calculate in primitive doubles and do not build value trees; values and
+     * partial derivatives agree with the default to better than 1e-12
+     * relative
+     */
+    public static void fullFractionReduce(
+            Fraction fraction,
+            boolean calculateCovariances,
+            boolean doublePrecision) {
+
+        reduceWithOwnReducer(fraction, calculateCovariances, doublePrecision, false);
+    }
+
+    private static void reduceWithOwnReducer(
+            Fraction fraction,
+            boolean calculateCovariances,
+            boolean doublePrecision,
+            boolean sharedModelsPrepared) {
+
+        // each reduction owns its working state so that fractions can be reduced concurrently
+        UPbFractionReducer reducer = new UPbFractionReducer();
+        reducer.doublePrecision = doublePrecision;
+        reducer.sharedModelsPrepared = sharedModelsPrepared;
+        reducer.reduceFraction(fraction, calculateCovariances);
+    }
+
+    /**
+     * Reduces each fraction independently using a pool of
+     * <code>parallelism</code> worker threads. Results are identical to
+     * reducing the fractions one at a time in order.
+     *
+     * @param fractions
+     * @param calculateCovariances
+     * @param parallelism count of worker threads; less than one means one per
+     * available processor
+     */
+    public static void fullFractionReduce(
+            List<Fraction> fractions,
+            boolean calculateCovariances,
+            int parallelism) {
+        fullFractionReduce(fractions, calculateCovariances, parallelism, false);
+    }
+
+    /**
+     *
+     * @param fractions
+     * @param calculateCovariances
+     * @param parallelism count of worker threads; less than one means one per
+     * available processor
+     * @param doublePrecision as for reducing a single fraction
+     */
+    public static void fullFractionReduce(
+            List<Fraction> fractions,
+            boolean calculateCovariances,
+            int parallelism,
+            boolean doublePrecision) {
+
+        if (parallelism < 1) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+
+        if ((parallelism == 1) || (fractions.size() < 2)) {
+            for (Fraction fraction : fractions) {
+                fullFractionReduce(fraction, calculateCovariances, doublePrecision);
+            }
+        } else {
+            prepareSharedModels(fractions);
+
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.submit(() -> fractions.parallelStream().forEach(//
+                        (Fraction fraction) -> reduceWithOwnReducer(fraction, calculateCovariances, doublePrecision, true))).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new RuntimeException(e.getCause());
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Fractions share their tracer, physical constants and initial Pb models.
+     * Before they are reduced concurrently, each distinct tracer and physical
+     * constants model is initialized here once, on the calling thread, and the
+     * reductions then only read them. Stacey-Kramers initial Pb values depend
+     * on each fraction's estimated date, so a Stacey-Kramers model shared by
+     * more than one fraction is replaced by a copy for each further fraction.
+     *
+     * @param fractions
+     */
+    private static void prepareSharedModels(List<Fraction> fractions) {
+        Set<AbstractRatiosDataModel> initializedModels = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<AbstractRatiosDataModel> staceyKramersModels = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (Fraction fraction : fractions) {
+            if ((fraction instanceof UPbFraction) && !fraction.isLegacy()) {
+                AbstractRatiosDataModel tracer = ((UPbFraction) fraction).getTracer();
+                if ((tracer != null) && initializedModels.add(tracer)) {
+                    tracer.initializeModel();
+                }
+
+                AbstractRatiosDataModel physicalConstantsModel = ((UPbFraction) fraction).getPhysicalConstantsModel();
+                if ((physicalConstantsModel != null) && initializedModels.add(physicalConstantsModel)) {
+                    physicalConstantsModel.initializeModel();
+                }
+
+                AbstractRatiosDataModel initialPbModel = fraction.getInitialPbModel();
+                if ((initialPbModel instanceof StaceyKramersInitialPbModelET) && !staceyKramersModels.add(initialPbModel)) {
+                    fraction.setInitialPbModel(((StaceyKramersInitialPbModelET) initialPbModel).copyForFraction());
+                }
+            }
+        }
+    }
+
+    private void reduceFraction(
+            Fraction fraction,
+            boolean calculateCovariances) {
 
         if (fraction instanceof UPbFraction) {
             fullFractionReduce_IDTIMS(fraction, calculateCovariances);
@@ -342,9 +484,11 @@ public class UPbFractionReducer {
             fraction.setParDerivTerms(parDerivTermsCopy);
         } catch (Exception e) {
         }
+
+        latestReduction = this;
     }
 
-    private static void fullFractionReduce_LAICPMS(
+    private void fullFractionReduce_LAICPMS(
             Fraction fraction,
             boolean calculateCovariances) {
 //        System.out.println( "LAICPMS REDUCER" );
@@ -462,7 +606,9 @@ public class UPbFractionReducer {
         calculateDate206_238r( //
                 age206_238r, //
                 r206_238r.getValue().doubleValue(), //
-                r206_238r.getValue().doubleValue() + r206_238r.getOneSigmaAbs().doubleValue() * 2.0);
+                r206_238r.getValue().doubleValue() + r206_238r.getOneSigmaAbs().doubleValue() * 2.0,
+                lambda238,
+                parDerivTerms, doublePrecision);
 
         age208_232r = new Age208_232r();
         fraction.setRadiogenicIsotopeDateByName(RadDates.age208_232r, age208_232r);
@@ -470,14 +616,18 @@ public class UPbFractionReducer {
         calculateDate208_232r( //
                 age208_232r, //
                 r208_232r.getValue().doubleValue(), //
-                r208_232r.getValue().doubleValue() + r208_232r.getOneSigmaAbs().doubleValue() * 2.0);
+                r208_232r.getValue().doubleValue() + r208_232r.getOneSigmaAbs().doubleValue() * 2.0,
+                lambda232,
+                parDerivTerms, doublePrecision);
 
         age207_235r = new Age207_235r();
         fraction.setRadiogenicIsotopeDateByName(RadDates.age207_235r, age207_235r);
         calculateDate207_235r(//
                 age207_235r,//
                 r207_235r.getValue().doubleValue(),//
-                r207_235r.getValue().doubleValue() + r207_235r.getOneSigmaAbs().doubleValue() * 2.0);
+                r207_235r.getValue().doubleValue() + r207_235r.getOneSigmaAbs().doubleValue() * 2.0,
+                lambda235,
+                parDerivTerms, doublePrecision);
 
         age207_206r = new Age207_206r();
         fraction.setRadiogenicIsotopeDateByName(RadDates.age207_206r, age207_206r);
@@ -487,7 +637,10 @@ public class UPbFractionReducer {
                 age207_206r, //
                 age206_238r,
                 r207_206r.getValue().doubleValue(), //
-                r207_206r.getValue().doubleValue() + r207_206r.getOneSigmaAbs().doubleValue() * 2.0);
+                r207_206r.getValue().doubleValue() + r207_206r.getOneSigmaAbs().doubleValue() * 2.0,
+                lambda235,
+                lambda238,
+                parDerivTerms, doublePrecision);
 
         percentDiscordance = new PercentDiscordance();
         fraction.setRadiogenicIsotopeDateByName(RadDates.percentDiscordance, percentDiscordance);
@@ -495,7 +648,7 @@ public class UPbFractionReducer {
                 new ValueModel[]{
                     age206_238r,
                     age207_206r},
-                null);
+                null, doublePrecision);
 
         // june 2013 reject bad fractions
         if (fraction.getRadiogenicIsotopeRatioByName(//
@@ -737,19 +890,25 @@ public class UPbFractionReducer {
                     calculateDate206_238r( //
                             age206_238_PbcCorr, //
                             r206_238_PbcCorr.getValue().doubleValue(), //
-                            r206_238_PbcCorr.getValue().doubleValue() + r206_238_PbcCorr.getOneSigmaAbs().doubleValue() * 2.0);
+                            r206_238_PbcCorr.getValue().doubleValue() + r206_238_PbcCorr.getOneSigmaAbs().doubleValue() * 2.0,
+                            lambda238,
+                            parDerivTerms, doublePrecision);
 
                     // mar 2013 a little hack till we get logratios directly
                     calculateDate208_232r( //
                             age208_232_PbcCorr, //
                             r208_232_PbcCorr.getValue().doubleValue(), //
-                            r208_232_PbcCorr.getValue().doubleValue() + r208_232_PbcCorr.getOneSigmaAbs().doubleValue() * 2.0);
+                            r208_232_PbcCorr.getValue().doubleValue() + r208_232_PbcCorr.getOneSigmaAbs().doubleValue() * 2.0,
+                            lambda232,
+                            parDerivTerms, doublePrecision);
 
                     // mar 2013 a little hack till we get logratios directly
                     calculateDate207_235r(//
                             age207_235_PbcCorr,//
                             r207_235_PbcCorr.getValue().doubleValue(),//
-                            r207_235_PbcCorr.getValue().doubleValue() + r207_235_PbcCorr.getOneSigmaAbs().doubleValue() * 2.0);
+                            r207_235_PbcCorr.getValue().doubleValue() + r207_235_PbcCorr.getOneSigmaAbs().doubleValue() * 2.0,
+                            lambda235,
+                            parDerivTerms, doublePrecision);
 
                     // mar 2013 a little hack till we get logratios directly
                     calculateDate207_206r( //
@@ -757,13 +916,16 @@ public class UPbFractionReducer {
                             age207_206_PbcCorr, //
                             age206_238_PbcCorr,
                             r207_206_PbcCorr.getValue().doubleValue(), //
-                            r207_206_PbcCorr.getValue().doubleValue() + r207_206_PbcCorr.getOneSigmaAbs().doubleValue() * 2.0);
+                            r207_206_PbcCorr.getValue().doubleValue() + r207_206_PbcCorr.getOneSigmaAbs().doubleValue() * 2.0,
+                            lambda235,
+                            lambda238,
+                            parDerivTerms, doublePrecision);
 
                     percentDiscordance_PbCorr.calculateValue(
                             new ValueModel[]{
                                 age206_238_PbcCorr,
                                 age207_206_PbcCorr},
-                            null);
+                            null, doublePrecision);
 
                 }
             }
@@ -782,12 +944,17 @@ public class UPbFractionReducer {
      * @return
      */
     public static ValueModel calculateDate206_238r(ValueModel date206_238r, double ratio, double ratioPlustwoSigma) {
+        UPbFractionReducer reducer = (latestReduction == null) ? new UPbFractionReducer() : latestReduction;
+        return calculateDate206_238r(date206_238r, ratio, ratioPlustwoSigma, reducer.lambda238, new ConcurrentHashMap<String, BigDecimal>(), false);
+    }
+
+    private static ValueModel calculateDate206_238r(ValueModel date206_238r, double ratio, double ratioPlustwoSigma, ValueModel lambda238, ConcurrentMap<String, BigDecimal> parDerivTerms, boolean doublePrecision) {
 
         date206_238r.calculateValue(
                 new ValueModel[]{
                     new ValueModel("r206_238r", new BigDecimal(ratio), "ABS", BigDecimal.ZERO, BigDecimal.ZERO),
                     lambda238},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         // feb 2013 per section 12 - temp hack until measured ratios handle upper and lower sigmas
         // using the ratio plus 2sigma
@@ -797,7 +964,7 @@ public class UPbFractionReducer {
                 new ValueModel[]{
                     new ValueModel("r206_238rPlusTwoSigma", new BigDecimal(ratioPlustwoSigma), "ABS", BigDecimal.ZERO, BigDecimal.ZERO),
                     lambda238},
-                null); //dont overwrite deriv
+                null, doublePrecision); //dont overwrite deriv
 
         // for now take half the distance from the upper 2 sigma to the mean
         date206_238r.setOneSigma(date206_238rPlusTwoSigma.getValue().subtract(date206_238r.getValue()).multiply(new BigDecimal(0.5)));
@@ -813,12 +980,17 @@ public class UPbFractionReducer {
      * @return
      */
     public static ValueModel calculateDate208_232r(ValueModel date208_232r, double ratio, double ratioPlustwoSigma) {
+        UPbFractionReducer reducer = (latestReduction == null) ? new UPbFractionReducer() : latestReduction;
+        return calculateDate208_232r(date208_232r, ratio, ratioPlustwoSigma, reducer.lambda232, new ConcurrentHashMap<String, BigDecimal>(), false);
+    }
+
+    private static ValueModel calculateDate208_232r(ValueModel date208_232r, double ratio, double ratioPlustwoSigma, ValueModel lambda232, ConcurrentMap<String, BigDecimal> parDerivTerms, boolean doublePrecision) {
 
         date208_232r.calculateValue(
                 new ValueModel[]{
                     new ValueModel("r208_232r", new BigDecimal(ratio), "ABS", BigDecimal.ZERO, BigDecimal.ZERO),
                     lambda232},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         // feb 2013 per section 12 - temp hack until measured ratios handle upper and lower sigmas
         // using the ratio plus 2sigma
@@ -828,7 +1000,7 @@ public class UPbFractionReducer {
                 new ValueModel[]{
                     new ValueModel("r208_232rPlusTwoSigma", new BigDecimal(ratioPlustwoSigma), "ABS", BigDecimal.ZERO, BigDecimal.ZERO),
                     lambda232},
-                null);
+                null, doublePrecision);
 
         // for now take half the distance from the upper 2 sigma to the mean
         date208_232r.setOneSigma(date208_232rPlusTwoSigma.getValue().subtract(date208_232r.getValue()).multiply(new BigDecimal(0.5)));
@@ -844,12 +1016,17 @@ public class UPbFractionReducer {
      * @return
      */
     public static ValueModel calculateDate207_235r(ValueModel date207_235r, double ratio, double ratioPlustwoSigma) {
+        UPbFractionReducer reducer = (latestReduction == null) ? new UPbFractionReducer() : latestReduction;
+        return calculateDate207_235r(date207_235r, ratio, ratioPlustwoSigma, reducer.lambda235, new ConcurrentHashMap<String, BigDecimal>(), false);
+    }
+
+    private static ValueModel calculateDate207_235r(ValueModel date207_235r, double ratio, double ratioPlustwoSigma, ValueModel lambda235, ConcurrentMap<String, BigDecimal> parDerivTerms, boolean doublePrecision) {
 
         date207_235r.calculateValue(
                 new ValueModel[]{
                     new ValueModel("r207_235r", new BigDecimal(ratio), "ABS", BigDecimal.ZERO, BigDecimal.ZERO),
                     lambda235},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         // feb 2013 per section 12 - temp hack until measured ratios handle upper and lower sigmas
         // using the ratio plus 2sigma
@@ -859,7 +1036,7 @@ public class UPbFractionReducer {
                 new ValueModel[]{
                     new ValueModel("r207_235rPlusTwoSigma", new BigDecimal(ratioPlustwoSigma), "ABS", BigDecimal.ZERO, BigDecimal.ZERO),
                     lambda235},
-                null);
+                null, doublePrecision);
 
         // for now take half the distance from the upper 2 sigma to the mean
         date207_235r.setOneSigma(date207_235rPlusTwoSigma.getValue().subtract(date207_235r.getValue()).multiply(new BigDecimal(0.5)));
@@ -877,6 +1054,11 @@ public class UPbFractionReducer {
      * @return
      */
     public static ValueModel calculateDate207_206r(ValueModel r238_235s, ValueModel date207_206r, ValueModel date206_238r, double ratio, double ratioPlustwoSigma) {
+        UPbFractionReducer reducer = (latestReduction == null) ? new UPbFractionReducer() : latestReduction;
+        return calculateDate207_206r(r238_235s, date207_206r, date206_238r, ratio, ratioPlustwoSigma, reducer.lambda235, reducer.lambda238, new ConcurrentHashMap<String, BigDecimal>(), false);
+    }
+
+    private static ValueModel calculateDate207_206r(ValueModel r238_235s, ValueModel date207_206r, ValueModel date206_238r, double ratio, double ratioPlustwoSigma, ValueModel lambda235, ValueModel lambda238, ConcurrentMap<String, BigDecimal> parDerivTerms, boolean doublePrecision) {
 
         date207_206r.calculateValue(
                 new ValueModel[]{
@@ -885,7 +1067,7 @@ public class UPbFractionReducer {
                     date206_238r,
                     lambda235,
                     lambda238},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         // feb 2013 per section 12 - temp hack until measured ratios handle upper and lower sigmas
         // using the ratio plus 2sigma
@@ -898,7 +1080,7 @@ public class UPbFractionReducer {
                     date206_238r,
                     lambda235,
                     lambda238},
-                null);
+                null, doublePrecision);
 
         // for now take half the distance from the upper 2 sigma to the mean
         date207_206r.setOneSigma(date207_206rPlusTwoSigma.getValue().subtract(date207_206r.getValue()).multiply(new BigDecimal(0.5)));
@@ -906,7 +1088,7 @@ public class UPbFractionReducer {
         return date207_206r;
     }
 
-    private static void fullFractionReduce_IDTIMS(
+    private void fullFractionReduce_IDTIMS(
             Fraction fraction,
             boolean calculateCovariances) {
 
@@ -1009,7 +1191,7 @@ public class UPbFractionReducer {
         }
     }
 
-    private static void evaluateVariablesInOrderI(Fraction fraction) {
+    private void evaluateVariablesInOrderI(Fraction fraction) {
 
         AbstractRatiosDataModel fractionTracer = ((UPbFraction) fraction).getTracer();
 
@@ -1027,7 +1209,7 @@ public class UPbFractionReducer {
                     new ValueModel[]{
                         ((UPbFraction) fraction).getMeasuredRatioByName(MeasuredRatios.r202_205m.getName()),
                         fractionTracer.getDatumByName(TracerUPbRatiosAndConcentrations.r202_205t.getName())},
-                    parDerivTerms);
+                    parDerivTerms, doublePrecision);
             fraction.setAnalysisMeasureByName(AnalysisMeasures.alphaPb.getName(), alphaPb);
         }
 
@@ -1037,29 +1219,29 @@ public class UPbFractionReducer {
                 new ValueModel[]{
                     fractionTracer.getDatumByName(TracerUPbRatiosAndConcentrations.concPb205t.getName()),
                     fraction.getAnalysisMeasure(AnalysisMeasures.tracerMassInGrams.getName())},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         // 1b. Pb blank ****************************************************!!!
         r204_205fc.calculateValue(
                 new ValueModel[]{
                     fraction.getMeasuredRatioByName(MeasuredRatios.r204_205m.getName()),
                     alphaPb},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         molPb204tc.calculateValue(
                 new ValueModel[]{
                     fractionTracer.getDatumByName(TracerUPbRatiosAndConcentrations.r204_205t.getName()),
                     r204_205fc,
                     molPb205t},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         blankPbGramsMol.calculateValue(
                 null,
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
     }
 
-    private static void evaluateVariablesInOrderII(Fraction fraction) {
+    private void evaluateVariablesInOrderII(Fraction fraction) {
 
         AbstractRatiosDataModel fractionTracer = ((UPbFractionI) fraction).getTracer();
         String tracerType = ((UPbFraction) fraction).getTracerType().trim();
@@ -1073,7 +1255,7 @@ public class UPbFractionReducer {
                     new ValueModel[]{
                         fraction.getAnalysisMeasure(AnalysisMeasures.pbBlankMassInGrams.getName()),
                         blankPbGramsMol},
-                    parDerivTerms);
+                    parDerivTerms, doublePrecision);
 
             ((MolPb206b) molPb206b).setZircon(false);
             molPb206b.calculateValue(
@@ -1084,7 +1266,7 @@ public class UPbFractionReducer {
                         //                        ((UPbFraction) fraction).getPbBlank().getDatumByName( "r207_204b" ),
                         //                        ((UPbFraction) fraction).getPbBlank().getDatumByName( "r208_204b" ),
                         molPb204b},
-                    parDerivTerms);
+                    parDerivTerms, doublePrecision);
 
             ((MolPb207b) molPb207b).setZircon(false);
             molPb207b.calculateValue(
@@ -1093,7 +1275,7 @@ public class UPbFractionReducer {
                         blankPbGramsMol,
                         ((UPbFractionI) fraction).getPbBlank().getDatumByName("r207_204b"),
                         molPb204b},
-                    parDerivTerms);
+                    parDerivTerms, doublePrecision);
 
             ((MolPb208b) molPb208b).setZircon(false);
             molPb208b.calculateValue(
@@ -1102,35 +1284,35 @@ public class UPbFractionReducer {
                         blankPbGramsMol,
                         ((UPbFractionI) fraction).getPbBlank().getDatumByName("r208_204b"),
                         molPb204b},
-                    parDerivTerms);
+                    parDerivTerms, doublePrecision);
 
             ((MolPb204c) molPb204c).setZircon(false);
             molPb204c.calculateValue(
                     new ValueModel[]{
                         molPb204tc,
                         molPb204b},
-                    parDerivTerms);
+                    parDerivTerms, doublePrecision);
 
             ((MolPb206c) molPb206c).setZircon(false);
             molPb206c.calculateValue(
                     new ValueModel[]{
                         fraction.getInitialPbModel().getDatumByName("r206_204c"),
                         molPb204c},
-                    parDerivTerms);
+                    parDerivTerms, doublePrecision);
 
             ((MolPb207c) molPb207c).setZircon(false);
             molPb207c.calculateValue(
                     new ValueModel[]{
                         fraction.getInitialPbModel().getDatumByName("r207_204c"),
                         molPb204c},
-                    parDerivTerms);
+                    parDerivTerms, doublePrecision);
 
             ((MolPb208c) molPb208c).setZircon(false);
             molPb208c.calculateValue(
                     new ValueModel[]{
                         fraction.getInitialPbModel().getDatumByName("r208_204c"),
                         molPb204c},
-                    parDerivTerms);
+                    parDerivTerms, doublePrecision);
 
             blankPbMass = fraction.getAnalysisMeasure(AnalysisMeasures.pbBlankMassInGrams.getName()).copy();
             // convert name for output table
@@ -1144,7 +1326,7 @@ public class UPbFractionReducer {
                         r204_205fc,
                         fractionTracer.getDatumByName(TracerUPbRatiosAndConcentrations.r204_205t.getName()),
                         molPb205t},
-                    parDerivTerms);
+                    parDerivTerms, doublePrecision);
 
             ((MolPb206b) molPb206b).setZircon(true);
             molPb206b.calculateValue(
@@ -1153,7 +1335,7 @@ public class UPbFractionReducer {
                         fractionTracer.getDatumByName(TracerUPbRatiosAndConcentrations.r204_205t.getName()),
                         molPb205t,
                         ((UPbFractionI) fraction).getPbBlank().getDatumByName("r206_204b")},
-                    parDerivTerms);
+                    parDerivTerms, doublePrecision);
 
             ((MolPb207b) molPb207b).setZircon(true);
             molPb207b.calculateValue(
@@ -1162,7 +1344,7 @@ public class UPbFractionReducer {
                         fractionTracer.getDatumByName(TracerUPbRatiosAndConcentrations.r204_205t.getName()),
                         molPb205t,
                         ((UPbFractionI) fraction).getPbBlank().getDatumByName("r207_204b")},
-                    parDerivTerms);
+                    parDerivTerms, doublePrecision);
             ((MolPb208b) molPb208b).setZircon(true);
             molPb208b.calculateValue(
                     new ValueModel[]{
@@ -1170,7 +1352,7 @@ public class UPbFractionReducer {
                         fractionTracer.getDatumByName(TracerUPbRatiosAndConcentrations.r204_205t.getName()),
                         molPb205t,
                         ((UPbFractionI) fraction).getPbBlank().getDatumByName("r208_204b")},
-                    parDerivTerms);
+                    parDerivTerms, doublePrecision);
 
             ((MolPb204c) molPb204c).setZircon(true);
 
@@ -1199,7 +1381,7 @@ public class UPbFractionReducer {
                     alphaPb,
                     molPb206b,
                     molPb206c},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         molPb207r.calculateValue(
                 new ValueModel[]{
@@ -1209,7 +1391,7 @@ public class UPbFractionReducer {
                     alphaPb,
                     molPb207b,
                     molPb207c},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         molPb208r.calculateValue(
                 new ValueModel[]{
@@ -1219,7 +1401,7 @@ public class UPbFractionReducer {
                     alphaPb,
                     molPb208b,
                     molPb208c},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         molPb206s.calculateValue(
                 new ValueModel[]{
@@ -1228,7 +1410,7 @@ public class UPbFractionReducer {
                     molPb205t,
                     alphaPb,
                     molPb206b},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         molPb207s.calculateValue(
                 new ValueModel[]{
@@ -1237,7 +1419,7 @@ public class UPbFractionReducer {
                     molPb205t,
                     alphaPb,
                     molPb207b},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         molPb208s.calculateValue(
                 new ValueModel[]{
@@ -1246,7 +1428,7 @@ public class UPbFractionReducer {
                     molPb205t,
                     alphaPb,
                     molPb208b},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         // 2a. tracer
         molU235b.calculateValue(
@@ -1255,38 +1437,38 @@ public class UPbFractionReducer {
                     gmol238,
                     gmol235,
                     fraction.getAnalysisMeasure(AnalysisMeasures.uBlankMassInGrams.getName())},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         molU238b.calculateValue(
                 new ValueModel[]{
                     fraction.getAnalysisMeasure(AnalysisMeasures.r238_235b.getName()),
                     molU235b},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         molU235t.calculateValue(
                 new ValueModel[]{
                     fractionTracer.getDatumByName(TracerUPbRatiosAndConcentrations.concU235t.getName()),
                     fraction.getAnalysisMeasure(AnalysisMeasures.tracerMassInGrams.getName())},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         molU236t.calculateValue(
                 new ValueModel[]{
                     fractionTracer.getDatumByName(TracerUPbRatiosAndConcentrations.concU236t.getName()),
                     fraction.getAnalysisMeasure(AnalysisMeasures.tracerMassInGrams.getName())},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         molU238t.calculateValue(
                 new ValueModel[]{
                     fractionTracer.getDatumByName(TracerUPbRatiosAndConcentrations.r238_235t.getName()),
                     molU235t},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         // determine sampleU alphaU ********************************************
         // aug 2010 force a calculation to set alphaU to meanAlphaU if it exits
         // need to test here too ... refactor?
         if (((AlphaU) alphaU).getFractionMeanAlphaU().compareTo(BigDecimal.ZERO) == 1) {
             ((AlphaU) alphaU).setModelCopy(false);
-            alphaU.calculateValue(null, null);
+            alphaU.calculateValue(null, null, doublePrecision);
             fraction.setAnalysisMeasureByName(AnalysisMeasures.alphaU.getName(), alphaU);
         }
 
@@ -1301,7 +1483,7 @@ public class UPbFractionReducer {
                         new ValueModel[]{
                             fractionTracer.getDatumByName(TracerUPbRatiosAndConcentrations.r233_236t.getName()),
                             r233_236oc},//((UPbFraction) fraction).getMeasuredRatioByName( MeasuredRatios.r233_236m.getName() )},
-                        parDerivTerms);
+                        parDerivTerms, doublePrecision);
                 fraction.setAnalysisMeasureByName(AnalysisMeasures.alphaU.getName(), alphaU);
 
                 // jan 2011 new math for molu238 here
@@ -1314,7 +1496,7 @@ public class UPbFractionReducer {
                             r238_236oc,//fraction.getMeasuredRatioByName( MeasuredRatios.r238_236m.getName() ),
                             fractionTracer.getDatumByName(TracerUPbRatiosAndConcentrations.r238_233t.getName()),
                             fractionTracer.getDatumByName(TracerUPbRatiosAndConcentrations.r233_236t.getName())},
-                        parDerivTerms);
+                        parDerivTerms, doublePrecision);
                 ((UPbFraction) fraction).setOutputByName("molU238s", molU238s);
 
                 // jan 2011 new math for molu235 here
@@ -1323,7 +1505,7 @@ public class UPbFractionReducer {
                         new ValueModel[]{
                             molU238s,
                             fraction.getAnalysisMeasure(AnalysisMeasures.r238_235s.getName())},
-                        parDerivTerms);
+                        parDerivTerms, doublePrecision);
                 ((UPbFraction) fraction).setOutputByName("molU235s", molU235s);
             }
         }
@@ -1339,7 +1521,7 @@ public class UPbFractionReducer {
                         new ValueModel[]{
                             fractionTracer.getDatumByName(TracerUPbRatiosAndConcentrations.r233_235t.getName()),
                             molU235t},
-                        parDerivTerms);
+                        parDerivTerms, doublePrecision);
                 ((UPbFraction) fraction).setOutputByName("molU233t", molU233t);
 
                 if (((UPbFractionI) fraction).hasMeasuredUranium()) {//********************************* ?? URANIUM
@@ -1360,7 +1542,7 @@ public class UPbFractionReducer {
                                 molU238t,
                                 ((UPbFraction) fraction).getOutputsByName("molU233t"),
                                 fraction.getMeasuredRatioByName(MeasuredRatios.r233_235m.getName())},
-                            parDerivTerms);
+                            parDerivTerms, doublePrecision);
                     ((UPbFraction) fraction).setOutputByName("molU235s", molU235s);
                 }
 
@@ -1377,20 +1559,20 @@ public class UPbFractionReducer {
                             molU238b,
                             molU238t,
                             molU235s},
-                        parDerivTerms);
+                        parDerivTerms, doublePrecision);
                 fraction.setAnalysisMeasureByName(AnalysisMeasures.alphaU.getName(), alphaU);
                 // jan 2011 moved here because now tracer as a metal calculates molu238s and molu235s differently
                 molU238s.calculateValue(
                         new ValueModel[]{
                             ((UPbFraction) fraction).getOutputsByName("molU235s"),
                             fraction.getAnalysisMeasure(AnalysisMeasures.r238_235s.getName())},
-                        parDerivTerms);
+                        parDerivTerms, doublePrecision);
                 ((UPbFraction) fraction).setOutputByName("molU238s", molU238s);
             } // else { // modifed jan 2011 to simplify logic
             else if (tracerType.equalsIgnoreCase("mixed 205-235")
                     || tracerType.equalsIgnoreCase("mixed 208-235")) {
                 ((MolU233t) molU233t).setDoubleSpike(false);
-                molU233t.calculateValue(null, null);
+                molU233t.calculateValue(null, null, doublePrecision);
                 ((UPbFraction) fraction).setOutputByName("molU233t", molU233t);
 
                 ((MolU235s) molU235s).setDoubleSpike(false);
@@ -1405,7 +1587,7 @@ public class UPbFractionReducer {
                             //fraction.getAnalysisMeasure( AnalysisMeasures.r238_235b.getName() ),
                             r238_235oc,
                             fraction.getAnalysisMeasure(AnalysisMeasures.r238_235s.getName())},
-                        parDerivTerms);
+                        parDerivTerms, doublePrecision);
                 ((UPbFraction) fraction).setOutputByName("molU235s", molU235s);
 
                 // jan 2011 moved here because now tracer as a metal calculates molu238s and molu235s differently
@@ -1413,7 +1595,7 @@ public class UPbFractionReducer {
                         new ValueModel[]{
                             ((UPbFraction) fraction).getOutputsByName("molU235s"),
                             fraction.getAnalysisMeasure(AnalysisMeasures.r238_235s.getName())},
-                        parDerivTerms);
+                        parDerivTerms, doublePrecision);
                 ((UPbFraction) fraction).setOutputByName("molU238s", molU238s);
             }
         }
@@ -1424,46 +1606,46 @@ public class UPbFractionReducer {
                 new ValueModel[]{
                     molPb206r,
                     ((UPbFraction) fraction).getOutputsByName("molU238s")},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r207_235r.calculateValue(
                 new ValueModel[]{
                     molPb207r,
                     ((UPbFraction) fraction).getOutputsByName("molU235s")},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r207_206r.calculateValue(
                 new ValueModel[]{
                     molPb207r,
                     molPb206r},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r208_206r.calculateValue(
                 new ValueModel[]{
                     molPb208r,
                     molPb206r},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r206_204r.calculateValue(
                 new ValueModel[]{},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r208_232r.calculateValue(
                 new ValueModel[]{},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         // 3b. radiogenic isotope ages
         age206_238r.calculateValue(
                 new ValueModel[]{
                     r206_238r,
                     lambda238},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         age207_235r.calculateValue(
                 new ValueModel[]{
                     r207_235r,
                     lambda235},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         age207_206r.calculateValue(
                 new ValueModel[]{
@@ -1472,13 +1654,13 @@ public class UPbFractionReducer {
                     age206_238r,
                     lambda235,
                     lambda238},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         age208_232r.calculateValue(
                 new ValueModel[]{
                     r208_232r,
                     lambda232},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         // 3c. Th and Pa correction ****************************************
         if (((UPbFraction) fraction).hasMeasuredUranium()) {//********************************* ?? URANIUM
@@ -1494,7 +1676,7 @@ public class UPbFractionReducer {
                         fraction.getMeasuredRatioByName(MeasuredRatios.r238_233m.getName()),
                         fraction.getMeasuredRatioByName(MeasuredRatios.r238_235m.getName()),
                         fraction.getAnalysisMeasure(AnalysisMeasures.r238_235s.getName())},
-                    parDerivTerms);
+                    parDerivTerms, doublePrecision);
         }
 
         age206_238r_Th.calculateValue(
@@ -1514,33 +1696,33 @@ public class UPbFractionReducer {
                     alphaPb,
                     r204_205fc,
                     fractionTracer.getDatumByName(TracerUPbRatiosAndConcentrations.r204_205t.getName()),},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         molTh232s.calculateValue(
                 new ValueModel[]{
                     lambda232,
                     age206_238r_Th,
                     molPb208r},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         molPb206r_Th.calculateValue(
                 new ValueModel[]{
                     lambda238,
                     age206_238r_Th,
                     ((UPbFraction) fraction).getOutputsByName("molU238s")},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r206_238r_Th.calculateValue(
                 new ValueModel[]{
                     molPb206r_Th,
                     ((UPbFraction) fraction).getOutputsByName("molU238s")},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r207_206r_Th.calculateValue(
                 new ValueModel[]{
                     molPb207r,
                     molPb206r_Th},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         age207_206r_Th.calculateValue(
                 new ValueModel[]{
@@ -1549,7 +1731,7 @@ public class UPbFractionReducer {
                     age207_206r,
                     lambda235,
                     lambda238},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         age207_235r_Pa.calculateValue(
                 new ValueModel[]{
@@ -1557,7 +1739,7 @@ public class UPbFractionReducer {
                     r207_235r,
                     lambda235,
                     lambda231},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         molPb207r_Pa.calculateValue(
                 new ValueModel[]{
@@ -1566,21 +1748,21 @@ public class UPbFractionReducer {
                     lambda235,
                     //jan 2011 lambda231,
                     ((UPbFraction) fraction).getOutputsByName("molU235s")},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r207_206r_Pa.calculateValue(
                 new ValueModel[]{
                     //jan 2011 molPb207r,
                     molPb207r_Pa,
                     molPb206r},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r207_235r_Pa.calculateValue(
                 new ValueModel[]{
                     //jan 2011 molPb207r,
                     ((UPbFraction) fraction).getOutputsByName("molU235s"),
                     molPb207r_Pa},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         age207_206r_Pa.calculateValue(
                 new ValueModel[]{
@@ -1589,14 +1771,14 @@ public class UPbFractionReducer {
                     age207_206r,
                     lambda235,
                     lambda238},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r207_206r_ThPa.calculateValue(
                 new ValueModel[]{
                     //jan 2011 molPb207r,
                     molPb206r_Th,
                     molPb207r_Pa},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         age207_206r_ThPa.calculateValue(
                 new ValueModel[]{
@@ -1605,7 +1787,7 @@ public class UPbFractionReducer {
                     age207_206r,
                     lambda235,
                     lambda238},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         // 4. Isochron Ratios ********************************************
         r206_204tfc.calculateValue(
@@ -1616,83 +1798,83 @@ public class UPbFractionReducer {
                     fractionTracer.getDatumByName(TracerUPbRatiosAndConcentrations.r206_205t.getName()),
                     molPb204c,
                     molPb204b},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r204_206s.calculateValue(
                 new ValueModel[]{
                     molPb204c,
                     molPb206s},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r238_204s.calculateValue(
                 new ValueModel[]{
                     molPb204c,
                     ((UPbFraction) fraction).getOutputsByName("molU238s")},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         rhoR238_204s__r206_204s.calculateValue(
                 new ValueModel[]{},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r235_204s.calculateValue(
                 new ValueModel[]{
                     molPb204c,
                     ((UPbFraction) fraction).getOutputsByName("molU235s")},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r204_207s.calculateValue(
                 new ValueModel[]{
                     molPb204c,
                     molPb207s},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         rhoR235_204s__r207_204s.calculateValue(
                 new ValueModel[]{},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r232_204s.calculateValue(
                 new ValueModel[]{},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r208_204s.calculateValue(
                 new ValueModel[]{},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         rhoR202_204s__r208_204s.calculateValue(
                 new ValueModel[]{},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r238_206s.calculateValue(
                 new ValueModel[]{
                     ((UPbFraction) fraction).getOutputsByName("molU238s"),
                     molPb206s},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r207_206s.calculateValue(
                 new ValueModel[]{
                     molPb207s,
                     molPb206s},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         rhoR238_206s__r207_206s.calculateValue(
                 new ValueModel[]{},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         rhoR207_206s__r204_206s.calculateValue(
                 new ValueModel[]{},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r238_207s.calculateValue(
                 new ValueModel[]{
                     ((UPbFraction) fraction).getOutputsByName("molU238s"),
                     molPb207s},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         r235_207s.calculateValue(
                 new ValueModel[]{
                     ((UPbFraction) fraction).getOutputsByName("molU235s"),
                     molPb207s},
-                parDerivTerms);
+                parDerivTerms, doublePrecision);
 
         // 5. Outputs
         // 5a. Pb calculations
@@ -1706,13 +1888,13 @@ public class UPbFractionReducer {
                     gmol207,
                     ((UPbFraction) fraction).getInitialPbModel().getDatumByName("r208_204c"),
                     gmol204},
-                null);
+                null, doublePrecision);
 
         totCommonPbMass.calculateValue(
                 new ValueModel[]{
                     blankPbMass,
                     initCommonPbMass},
-                null);
+                null, doublePrecision);
 
         totRadiogenicPbMass.calculateValue(
                 new ValueModel[]{
@@ -1723,7 +1905,7 @@ public class UPbFractionReducer {
                     molPb208r,
                     gmol208
                 },
-                null);
+                null, doublePrecision);
 
         try {
             radToCommonPb206.calculateValue(
@@ -1738,7 +1920,7 @@ public class UPbFractionReducer {
                                 multiply(molPb205t.getValue()),
                                 "ABS",
                                 BigDecimal.ZERO, BigDecimal.ZERO)},
-                    null);
+                    null, doublePrecision);
         } catch (Exception e) {
         }
         try {
@@ -1754,7 +1936,7 @@ public class UPbFractionReducer {
                                 multiply(molPb205t.getValue()),
                                 "ABS",
                                 BigDecimal.ZERO, BigDecimal.ZERO)},
-                    null);
+                    null, doublePrecision);
         } catch (Exception e) {
         }
 
@@ -1771,7 +1953,7 @@ public class UPbFractionReducer {
                                 multiply(molPb205t.getValue()),
                                 "ABS",
                                 BigDecimal.ZERO, BigDecimal.ZERO)},
-                    null);
+                    null, doublePrecision);
         } catch (Exception e) {
         }
 
@@ -1779,7 +1961,7 @@ public class UPbFractionReducer {
                 new ValueModel[]{
                     age206_238r,
                     age207_206r},
-                null);
+                null, doublePrecision);
 
         massU.calculateValue(
                 new ValueModel[]{
@@ -1787,55 +1969,55 @@ public class UPbFractionReducer {
                     gmol235,
                     ((UPbFraction) fraction).getOutputsByName("molU238s"),
                     gmol238},
-                null);
+                null, doublePrecision);
 
         concU.calculateValue(
                 new ValueModel[]{
                     massU,
                     fraction.getAnalysisMeasure(AnalysisMeasures.fractionMass.getName())},
-                null);
+                null, doublePrecision);
 
         concTh.calculateValue(
                 new ValueModel[]{},
-                null);
+                null, doublePrecision);
 
         rTh_Usample.calculateValue(
                 new ValueModel[]{
                     molTh232s,
                     ((UPbFraction) fraction).getOutputsByName("molU238s"),
                     ((UPbFraction) fraction).getOutputsByName("molU235s")},
-                null);
+                null, doublePrecision);
 
         massPb_rib.calculateValue(
                 new ValueModel[]{
                     totRadiogenicPbMass,
                     totCommonPbMass},
-                null);
+                null, doublePrecision);
 
         concPb_rib.calculateValue(
                 new ValueModel[]{
                     massPb_rib,
                     fraction.getAnalysisMeasure(AnalysisMeasures.fractionMass.getName())},
-                null);
+                null, doublePrecision);
 
         concPb_r.calculateValue(
                 new ValueModel[]{
                     totRadiogenicPbMass,
                     fraction.getAnalysisMeasure(AnalysisMeasures.fractionMass.getName())},
-                null);
+                null, doublePrecision);
 
         concPb_i.calculateValue(
                 new ValueModel[]{
                     initCommonPbMass,
                     fraction.getAnalysisMeasure(AnalysisMeasures.fractionMass.getName())},
-                null);
+                null, doublePrecision);
 
         concPb_ib.calculateValue(
                 new ValueModel[]{
                     blankPbMass,
                     initCommonPbMass,
                     fraction.getAnalysisMeasure(AnalysisMeasures.fractionMass.getName())},
-                null);
+                null, doublePrecision);
 
         concPb206_rib.calculateValue(
                 new ValueModel[]{
@@ -1844,14 +2026,14 @@ public class UPbFractionReducer {
                     molPb206b,
                     molPb206c,
                     fraction.getAnalysisMeasure(AnalysisMeasures.fractionMass.getName())},
-                null);
+                null, doublePrecision);
 
         concPb206_r.calculateValue(
                 new ValueModel[]{
                     gmol206,
                     molPb206r,
                     fraction.getAnalysisMeasure(AnalysisMeasures.fractionMass.getName())},
-                null);
+                null, doublePrecision);
 
         concPb206_ib.calculateValue(
                 new ValueModel[]{
@@ -1859,13 +2041,13 @@ public class UPbFractionReducer {
                     molPb206b,
                     molPb206c,
                     fraction.getAnalysisMeasure(AnalysisMeasures.fractionMass.getName())},
-                null);
+                null, doublePrecision);
 
         radToCommonTotal.calculateValue(
                 new ValueModel[]{
                     totRadiogenicPbMass,
                     totCommonPbMass},
-                null);
+                null, doublePrecision);
 
         ValueModel uTracerMassInGrams = new ValueModel("uTracerMassInGrams", "ABS");
 //        BigDecimal molU236txxx = BigDecimal.ZERO;
@@ -1905,7 +2087,7 @@ public class UPbFractionReducer {
 
     } // end evaluateVariablesInOrderII
 
-    private static void initializeAndEvalSpecialInputVariablesInOrder(Fraction fraction) {
+    private void initializeAndEvalSpecialInputVariablesInOrder(Fraction fraction) {
 
         specialInputVariablesInOrder = new TreeMap<>();
 
@@ -1931,31 +2113,31 @@ public class UPbFractionReducer {
                         fraction.getAnalysisMeasure(AnalysisMeasures.r265_267m.getName()),
                         fraction.getAnalysisMeasure(AnalysisMeasures.r270_267m.getName()),
                         fraction.getAnalysisMeasure(AnalysisMeasures.r270_265m.getName())},
-                    parDerivTerms);
+                    parDerivTerms, doublePrecision);
 
             r233_235oc.calculateValue(
                     new ValueModel[]{
                         fraction.getAnalysisMeasure(AnalysisMeasures.r18O_16O_revised.getName()),
                         fraction.getAnalysisMeasure(AnalysisMeasures.r265_267m.getName())},
-                    parDerivTerms);
+                    parDerivTerms, doublePrecision);
 
             // jan 2011 for tracer type 236
             r238_236oc.calculateValue(
                     new ValueModel[]{
                         fraction.getAnalysisMeasure(AnalysisMeasures.r18O_16O_revised.getName()),
                         fraction.getAnalysisMeasure(AnalysisMeasures.r270_268m.getName())},
-                    parDerivTerms);
+                    parDerivTerms, doublePrecision);
 
             r233_236oc.calculateValue(
                     new ValueModel[]{
                         fraction.getAnalysisMeasure(AnalysisMeasures.r265_268m.getName())},
-                    parDerivTerms);
+                    parDerivTerms, doublePrecision);
 
         }
 
     }
 
-    private static void initializeVariablesInOrder(Fraction fraction) {
+    private void initializeVariablesInOrder(Fraction fraction) {
 
         variablesInOrder = new TreeMap<Integer, ValueModel>();
         int index = 0;
@@ -2305,7 +2487,7 @@ public class UPbFractionReducer {
 
     }
 
-    private static void initializeInputVariances(Fraction fraction) {
+    private void initializeInputVariances(Fraction fraction) {
         inputVariances = new HashMap<String, BigDecimal>();
 
         // June 2012 
@@ -2353,13 +2535,17 @@ public class UPbFractionReducer {
         }
     }
 
-    private static void calculateCovariancesMap(Fraction fraction) {
+    private void calculateCovariancesMap(Fraction fraction) {
         coVariances = new HashMap<String, BigDecimal>();
 
         //***********************************************************************
         //TODO:  may 2012 use tracer's new cov matrix ... needs to be refactored more elegantly, but for now to test is ok
-        ((UPbFraction) fraction).getTracer().initializeModel();
-        AbstractMatrixModel tracerCovariances = ((UPbFraction) fraction).getTracer().getDataCovariancesVarUnct();
+        // tracers are shared among fractions; concurrent reductions find them already initialized
+        AbstractRatiosDataModel tracer = ((UPbFraction) fraction).getTracer();
+        if (!sharedModelsPrepared) {
+            tracer.initializeModel();
+        }
+        AbstractMatrixModel tracerCovariances = tracer.getDataCovariancesVarUnct();
         // build and add non-diagonal cov (bottom half)
         Iterator<Integer> rowIterator = tracerCovariances.getRows().keySet().iterator();
         while (rowIterator.hasNext()) {
@@ -2382,7 +2568,9 @@ public class UPbFractionReducer {
         }
 
         // physical constants covariances here ...waiting on Noah
-        ((UPbFraction) fraction).getPhysicalConstantsModel().initializeModel();
+        if (!sharedModelsPrepared) {
+            ((UPbFraction) fraction).getPhysicalConstantsModel().initializeModel();
+        }
         AbstractMatrixModel lambdaCovariances = ((UPbFraction) fraction).getPhysicalConstantsModel().getDataCovariancesVarUnct();
         // build and add non-diagonal cov (bottom half)
         rowIterator = lambdaCovariances.getRows().keySet().iterator();
@@ -2578,7 +2766,7 @@ public class UPbFractionReducer {
 
     }
 
-    private static void initializeAtomicMolarMasses(
+    private void initializeAtomicMolarMasses(
             AbstractRatiosDataModel physicalConstants) {
 
         gmol204 = ((PhysicalConstantsModel) physicalConstants).getAtomicMolarMassByName("gmol204");
@@ -2591,7 +2779,7 @@ public class UPbFractionReducer {
         gmol238 = ((PhysicalConstantsModel) physicalConstants).getAtomicMolarMassByName("gmol238");
     }
 
-    private static void initializeDecayConstants(
+    private void initializeDecayConstants(
             AbstractRatiosDataModel physicalConstants,
             boolean lambdaUncertaintiesOn) {
 
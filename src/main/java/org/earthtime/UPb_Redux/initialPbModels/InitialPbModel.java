@@ -41,6 +41,7 @@ import org.earthtime.ratioDataModels.initialPbModelsET.InitialPbModelET;
 import org.earthtime.utilities.DateHelpers;
 import org.earthtime.archivingTools.URIHelper;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 
 /**
  * Deprecated June 2012.  Needed for compatibility with legacy serializations (archives).
@@ -414,9 +415,13 @@ public class InitialPbModel implements
      * @return
      */
     public XStream getXStreamWriter () {
-        XStream xstream = new XStream();
+        XStream xstream = XStreamRegistry.getXStream( getClass(), XStreamRegistry.WRITER, () -> {
+            XStream configured = new XStream();
+            customizeXstream( configured );
+            return configured;
+        } );
 
-        customizeXstream( xstream );
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -426,9 +431,13 @@ public class InitialPbModel implements
      * @return
      */
     public XStream getXStreamReader () {
-        XStream xstream = new XStream( new DomDriver() );
+        XStream xstream = XStreamRegistry.getXStream( getClass(), XStreamRegistry.READER, () -> {
+            XStream configured = new XStream( new DomDriver() );
+            customizeXstream( configured );
+            return configured;
+        } );
 
-        customizeXstream( xstream );
+        setClassXMLSchemaURL();
 
         return xstream;
     }
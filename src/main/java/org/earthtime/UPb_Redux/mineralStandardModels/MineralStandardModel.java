@@ -47,6 +47,7 @@ import org.earthtime.ratioDataModels.mineralStandardModels.MineralStandardUPbMod
 import org.earthtime.utilities.DateHelpers;
 import org.earthtime.archivingTools.URIHelper;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 
 /**
  * Deprecated June 2012.  Needed for compatibility with legacy serializations (archives).
@@ -290,9 +291,13 @@ public class MineralStandardModel implements
      * @return
      */
     private XStream getXStreamWriter () {
-        XStream xstream = new XStream();
+        XStream xstream = XStreamRegistry.getXStream( getClass(), XStreamRegistry.WRITER, () -> {
+            XStream configured = new XStream();
+            customizeXstream( configured );
+            return configured;
+        } );
 
-        customizeXstream( xstream );
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -302,9 +307,13 @@ public class MineralStandardModel implements
      * @return
      */
     private XStream getXStreamReader () {
-        XStream xstream = new XStream( new DomDriver() );
+        XStream xstream = XStreamRegistry.getXStream( getClass(), XStreamRegistry.READER, () -> {
+            XStream configured = new XStream( new DomDriver() );
+            customizeXstream( configured );
+            return configured;
+        } );
 
-        customizeXstream( xstream );
+        setClassXMLSchemaURL();
 
         return xstream;
     }
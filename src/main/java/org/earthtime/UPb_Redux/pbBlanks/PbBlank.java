@@ -41,6 +41,7 @@ import org.earthtime.ratioDataModels.pbBlankICModels.PbBlankICModel;
 import org.earthtime.utilities.DateHelpers;
 import org.earthtime.archivingTools.URIHelper;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 
 /**
  * Deprecated June 2012.  Needed for compatibility with legacy serializations (archives).
@@ -522,9 +523,13 @@ public class PbBlank implements
      * <code>XStream</code> - for XML serialization encoding
      */
     public XStream getXStreamWriter () {
-        XStream xstream = new XStream();
+        XStream xstream = XStreamRegistry.getXStream( getClass(), XStreamRegistry.WRITER, () -> {
+            XStream configured = new XStream();
+            customizeXstream( configured );
+            return configured;
+        } );
 
-        customizeXstream( xstream );
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -542,10 +547,13 @@ public class PbBlank implements
      * <code>XStream</code> - for XML serialization decoding
      */
     public XStream getXStreamReader () {
+        XStream xstream = XStreamRegistry.getXStream( getClass(), XStreamRegistry.READER, () -> {
+            XStream configured = new XStream( new DomDriver() );
+            customizeXstream( configured );
+            return configured;
+        } );
 
-        XStream xstream = new XStream( new DomDriver() );
-
-        customizeXstream( xstream );
+        setClassXMLSchemaURL();
 
         return xstream;
     }
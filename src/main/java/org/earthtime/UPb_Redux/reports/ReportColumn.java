@@ -22,6 +22,7 @@ package org.earthtime.UPb_Redux.reports;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.util.function.Function;
 import org.earthtime.UPb_Redux.ReduxConstants;
 import org.earthtime.UPb_Redux.fractions.Fraction;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFractionI;
@@ -60,6 +61,10 @@ public class ReportColumn implements
     private boolean needsU;
     private boolean legacyData;
     private boolean amUncertaintyColumn;
+    // oct 2026 bound once to the retrieve method rather than found by reflection for every cell
+    private transient boolean fractionAccessorBound;
+    private transient Function<Fraction, String> fractionStringAccessor;
+    private transient Function<Fraction, ValueModel> fractionValueModelAccessor;
 
     /**
      * Creates a new instance of ReportColumn
@@ -190,121 +195,102 @@ public class ReportColumn implements
             retVal[0] = defaultContents.replace('0', '-');
             retVal[1] = retVal[0];
         } else {
-            if (!getRetrieveMethodName().equals("")) {
-                // get fraction field by using reflection
-                //String retrieveVariableName = getRetrieveVariableName();
+            if (!fractionAccessorBound) {
+                bindFractionAccessor();
+            }
+
+            // this is the case of fractionID, the only string returned
+            if (fractionStringAccessor != null) {
                 try {
-                    Class<?> fractionClass =//
-                            Class.forName(Fraction.class.getCanonicalName()); // APRIL 2014 ????Class.forName( UPbFraction.class.getCanonicalName() );
-
-                    // this is the case of fractionID, the only string returned
-                    if (retrieveVariableName.length() == 0) {
-                        try {
-                            Method meth
-                                    = fractionClass.getMethod(//
-                                            getRetrieveMethodName(),
-                                            new Class[0]);
-
-                            Object o = meth.invoke(fraction, new Object[0]);
-
-                            retVal[0] = o.toString();
-                        } catch (Throwable e) {
-                            System.err.println(e);
-                        }
+                    retVal[0] = fractionStringAccessor.apply(fraction);
+                } catch (Throwable e) {
+                    System.err.println(e);
+                }
+            } else if (fractionValueModelAccessor != null) {
+                try {
+                    ValueModel vm = fractionValueModelAccessor.apply(fraction);
+
+                    // nov 2014 to show when rhos not calculated
+                    if (retrieveVariableName.startsWith("rhoR") && vm.getValue().doubleValue() == ReduxConstants.NO_RHO_FLAG) {
+                        retVal[0] = "   not calc";
+                    } else if (vm.amPositiveAndLessThanTolerance()) {
+                        // may 2013 for tiny numbers due to below detection
+                        retVal[0] = " bd "; // below detection
+
+                    } else if (vm.hasZeroValue()) {//oct 2014
+                        retVal[0] = " - ";
+
+                    } else if (isNumeric) {
+                        retVal[0]
+                                = vm.getValueInUnits(getUnits()).toPlainString().trim();
+                    } else if (isDisplayedWithArbitraryDigitCount()) {
+                        retVal[0]
+                                = ValueModel.formatBigDecimalForPublicationArbitraryMode(//
+                                        vm.getValueInUnits(getUnits()),
+                                        getCountOfSignificantDigits());
                     } else {
-                        try {
-                            Method meth
-                                    = fractionClass.getMethod(//
-                                            getRetrieveMethodName(),
-                                            new Class[]{String.class});
-
-                            ValueModel vm = (ValueModel) meth.invoke(fraction, new Object[]{retrieveVariableName});
-
-                            // nov 2014 to show when rhos not calculated
-                            if (retrieveVariableName.startsWith("rhoR") && vm.getValue().doubleValue() == ReduxConstants.NO_RHO_FLAG) {
-                                retVal[0] = "   not calc";
-                            } else if (vm.amPositiveAndLessThanTolerance()) {
+                        // value is in sigfig mode = two flavors
+                        // if there is no uncertainty column, then show the value with
+                        // normal sigfig formatting
+                        // if there is an uncertainty column and it is in arbitrary mode, then
+                        // also show value with normal sigfig formatting
+
+                        retVal[0] = ValueModel.formatBigDecimalForPublicationSigDigMode(vm.getValue().movePointRight(ReduxConstants.getUnitConversionMoveCount(getUnits())),//
+                                getCountOfSignificantDigits());
+
+                        // however, if uncertainty column is in sigfig mode, then
+                        // use special algorithm to format value per the digits of
+                        // the formatted uncertainty column
+                        if (getUncertaintyColumn() != null) {
+                            if (!getUncertaintyColumn().isDisplayedWithArbitraryDigitCount()) {
+                                // uncertainty column is in sigfig mode
+                                retVal[0] = vm.formatValueFromTwoSigmaForPublicationSigDigMode(//
+                                        getUncertaintyType(), ReduxConstants.getUnitConversionMoveCount(getUnits()),//
+                                        getUncertaintyColumn().getCountOfSignificantDigits());
+                            }
+                        }
+//                            // in either case, we have a sigfig mode for the value
+//                            retVal[0] = FormatNumericStringAlignDecimalPoint(retVal[0]);
+                    }
+                    // in nonnumeric case, we need to format string
+                    if (!isNumeric) {
+                        retVal[0] = FormatNumericStringAlignDecimalPoint(retVal[0]);
+                    }
+
+                    // report 2-sigma uncertainty
+                    if (getUncertaintyColumn() != null) {
+                        if (getUncertaintyColumn().isVisible()) {
+                            // check for reporting mode
+
+                            if (vm.amPositiveAndLessThanTolerance()) {
                                 // may 2013 for tiny numbers due to below detection
-                                retVal[0] = " bd "; // below detection
+                                retVal[1] = " bd "; // below detection
 
                             } else if (vm.hasZeroValue()) {//oct 2014
-                                retVal[0] = " - ";
+                                retVal[1] = " - ";
 
                             } else if (isNumeric) {
-                                retVal[0]
-                                        = vm.getValueInUnits(getUnits()).toPlainString().trim();
-                            } else if (isDisplayedWithArbitraryDigitCount()) {
-                                retVal[0]
+                                retVal[1]
+                                        = vm.getTwoSigma(getUncertaintyType(), getUnits()).toPlainString().trim();
+                            } else if (getUncertaintyColumn().isDisplayedWithArbitraryDigitCount()) {
+                                retVal[1]
                                         = ValueModel.formatBigDecimalForPublicationArbitraryMode(//
-                                                vm.getValueInUnits(getUnits()),
-                                                getCountOfSignificantDigits());
-                            } else {
-                                // value is in sigfig mode = two flavors
-                                // if there is no uncertainty column, then show the value with
-                                // normal sigfig formatting
-                                // if there is an uncertainty column and it is in arbitrary mode, then
-                                // also show value with normal sigfig formatting
-
-                                retVal[0] = ValueModel.formatBigDecimalForPublicationSigDigMode(vm.getValue().movePointRight(ReduxConstants.getUnitConversionMoveCount(getUnits())),//
-                                        getCountOfSignificantDigits());
-
-                                // however, if uncertainty column is in sigfig mode, then
-                                // use special algorithm to format value per the digits of
-                                // the formatted uncertainty column
-                                if (getUncertaintyColumn() != null) {
-                                    if (!getUncertaintyColumn().isDisplayedWithArbitraryDigitCount()) {
-                                        // uncertainty column is in sigfig mode
-                                        retVal[0] = vm.formatValueFromTwoSigmaForPublicationSigDigMode(//
-                                                getUncertaintyType(), ReduxConstants.getUnitConversionMoveCount(getUnits()),//
-                                                getUncertaintyColumn().getCountOfSignificantDigits());
-                                    }
-                                }
-//                            // in either case, we have a sigfig mode for the value
-//                            retVal[0] = FormatNumericStringAlignDecimalPoint(retVal[0]);
-                            }
-                            // in nonnumeric case, we need to format string
-                            if (!isNumeric) {
-                                retVal[0] = FormatNumericStringAlignDecimalPoint(retVal[0]);
-                            }
-
-                            // report 2-sigma uncertainty
-                            if (getUncertaintyColumn() != null) {
-                                if (getUncertaintyColumn().isVisible()) {
-                                    // check for reporting mode
-
-                                    if (vm.amPositiveAndLessThanTolerance()) {
-                                        // may 2013 for tiny numbers due to below detection
-                                        retVal[1] = " bd "; // below detection
-
-                                    } else if (vm.hasZeroValue()) {//oct 2014
-                                        retVal[1] = " - ";
-
-                                    } else if (isNumeric) {
-                                        retVal[1]
-                                                = vm.getTwoSigma(getUncertaintyType(), getUnits()).toPlainString().trim();
-                                    } else if (getUncertaintyColumn().isDisplayedWithArbitraryDigitCount()) {
-                                        retVal[1]
-                                                = ValueModel.formatBigDecimalForPublicationArbitraryMode(//
-                                                        vm.getTwoSigma(getUncertaintyType(), getUnits()),
-                                                        getUncertaintyColumn().getCountOfSignificantDigits());
-                                    } else {
-                                        retVal[1] = vm.formatTwoSigmaForPublicationSigDigMode(//
-                                                getUncertaintyType(),
-                                                ReduxConstants.getUnitConversionMoveCount(getUnits()),
+                                                vm.getTwoSigma(getUncertaintyType(), getUnits()),
                                                 getUncertaintyColumn().getCountOfSignificantDigits());
-                                    }
-                                    retVal[1] = FormatNumericStringAlignDecimalPoint(retVal[1]);
-                                    // }
-                                }
+                            } else {
+                                retVal[1] = vm.formatTwoSigmaForPublicationSigDigMode(//
+                                        getUncertaintyType(),
+                                        ReduxConstants.getUnitConversionMoveCount(getUnits()),
+                                        getUncertaintyColumn().getCountOfSignificantDigits());
                             }
-
-                        } catch (Throwable e) {
-                            System.err.println("problem formatting " + retrieveVariableName + " for " + fraction.getFractionID() + " >> " + e);
-                            e.printStackTrace();
+                            retVal[1] = FormatNumericStringAlignDecimalPoint(retVal[1]);
+                            // }
                         }
                     }
 
-                } catch (ClassNotFoundException classNotFoundException) {
+                } catch (Throwable e) {
+                    System.err.println("problem formatting " + retrieveVariableName + " for " + fraction.getFractionID() + " >> " + e);
+                    e.printStackTrace();
                 }
             }
         }
@@ -312,6 +298,93 @@ public class ReportColumn implements
         return retVal;
     }
 
+    /**
+     * Binds this column to the <code>Fraction</code> method named by
+     * <code>retrieveMethodName</code>, so that report rows do not look it up by
+     * reflection for every cell. The getters named in
+     * <code>ReportSpecifications</code> are bound directly; any other method is
+     * found by reflection once. Called when report settings are loaded and
+     * whenever the retrieve method or variable changes.
+     */
+    public void bindFractionAccessor() {
+        fractionStringAccessor = null;
+        fractionValueModelAccessor = null;
+
+        String methodName = (retrieveMethodName == null) ? "" : retrieveMethodName;
+        final String variableName = retrieveVariableName;
+
+        if (methodName.length() == 0) {
+            // nothing to retrieve
+        } else if ((variableName == null) || (variableName.length() == 0)) {
+            switch (methodName) {
+                case "getFractionID":
+                    fractionStringAccessor = (Fraction fraction) -> fraction.getFractionID();
+                    break;
+                case "getNumberOfGrains":
+                    fractionStringAccessor = (Fraction fraction) -> Integer.toString(fraction.getNumberOfGrains());
+                    break;
+                default:
+                    try {
+                        final Method meth = Fraction.class.getMethod(methodName, new Class[0]);
+                        fractionStringAccessor = (Fraction fraction) -> invokeRetrieveMethod(meth, fraction).toString();
+                    } catch (NoSuchMethodException | SecurityException e) {
+                        System.err.println(e);
+                    }
+            }
+        } else {
+            switch (methodName) {
+                case "getRadiogenicIsotopeRatioByName":
+                    fractionValueModelAccessor = (Fraction fraction) -> fraction.getRadiogenicIsotopeRatioByName(variableName);
+                    break;
+                case "getRadiogenicIsotopeDateByName":
+                    fractionValueModelAccessor = (Fraction fraction) -> fraction.getRadiogenicIsotopeDateByName(variableName);
+                    break;
+                case "getCompositionalMeasureByName":
+                    fractionValueModelAccessor = (Fraction fraction) -> fraction.getCompositionalMeasureByName(variableName);
+                    break;
+                case "getTraceElementByName":
+                    fractionValueModelAccessor = (Fraction fraction) -> fraction.getTraceElementByName(variableName);
+                    break;
+                case "getAnalysisMeasure":
+                    fractionValueModelAccessor = (Fraction fraction) -> fraction.getAnalysisMeasure(variableName);
+                    break;
+                case "getSampleIsochronRatiosByName":
+                    fractionValueModelAccessor = (Fraction fraction) -> fraction.getSampleIsochronRatiosByName(variableName);
+                    break;
+                default:
+                    try {
+                        final Method meth = Fraction.class.getMethod(methodName, new Class[]{String.class});
+                        fractionValueModelAccessor = (Fraction fraction) -> (ValueModel) invokeRetrieveMethod(meth, fraction, variableName);
+                    } catch (NoSuchMethodException | SecurityException e) {
+                        System.err.println("problem formatting " + variableName + " >> " + e);
+                    }
+            }
+        }
+
+        fractionAccessorBound = true;
+    }
+
+    private static Object invokeRetrieveMethod(Method meth, Fraction fraction, Object... args) {
+        try {
+            return meth.invoke(fraction, args);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     *
+     * @param fraction
+     * @return the <code>ValueModel</code> of <code>fraction</code> shown in
+     * this column, or null if this column does not show one
+     */
+    public ValueModel retrieveValueModel(Fraction fraction) {
+        if (!fractionAccessorBound) {
+            bindFractionAccessor();
+        }
+        return (fractionValueModelAccessor == null) ? null : fractionValueModelAccessor.apply(fraction);
+    }
+
     /**
      *
      * @param numericString
@@ -452,6 +525,7 @@ public class ReportColumn implements
      */
     public void setRetrieveMethodName(String retrieveMethodName) {
         this.retrieveMethodName = retrieveMethodName;
+        this.fractionAccessorBound = false;
     }
 
     /**
@@ -468,6 +542,7 @@ public class ReportColumn implements
      */
     public void setRetrieveVariableName(String retrieveVariableName) {
         this.retrieveVariableName = retrieveVariableName;
+        this.fractionAccessorBound = false;
     }
 
     /**
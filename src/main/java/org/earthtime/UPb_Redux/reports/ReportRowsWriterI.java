@@ -0,0 +1,54 @@
+/*
+ * ReportRowsWriterI.java
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.reports;
+
+import java.io.IOException;
+
+/**
+ * Receives a report table one row at a time, so that a report can be written
+ * out without holding the whole table. The rows are laid out as in the table
+ * returned by <code>ReportSettings.reportActiveFractionsByNumberStyle</code>.
+ *
+ * @author James F. Bowring
+ */
+public interface ReportRowsWriterI {
+
+    /**
+     * Called first with the <code>ReportSettings.FRACTION_DATA_START_ROW</code>
+     * rows of headings; row 6 holds the footnotes.
+     *
+     * @param headerRows
+     * @throws IOException
+     */
+    abstract void writeHeaderRows(String[][] headerRows) throws IOException;
+
+    /**
+     * Called once per fraction, in report order.
+     *
+     * @param fractionRow
+     * @throws IOException
+     */
+    abstract void writeFractionRow(String[] fractionRow) throws IOException;
+
+    /**
+     * Called after the last fraction.
+     *
+     * @throws IOException
+     */
+    abstract void finishReport() throws IOException;
+}
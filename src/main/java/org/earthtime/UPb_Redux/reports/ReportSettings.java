@@ -23,6 +23,7 @@ package org.earthtime.UPb_Redux.reports;
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.converters.ConversionException;
 import com.thoughtworks.xstream.io.xml.DomDriver;
+import com.thoughtworks.xstream.io.xml.DomReader;
 import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
@@ -31,6 +32,7 @@ import java.io.PrintWriter;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Vector;
@@ -39,6 +41,7 @@ import org.earthtime.UPb_Redux.exceptions.BadLabDataException;
 import org.earthtime.UPb_Redux.fractions.Fraction;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFractionI;
 import org.earthtime.UPb_Redux.reduxLabData.ReduxLabDataListElementI;
+import org.earthtime.UPb_Redux.reports.reportViews.ReportAliquotFractionsView;
 import org.earthtime.UPb_Redux.samples.Sample;
 import org.earthtime.UPb_Redux.user.UPbReduxConfigurator;
 import org.earthtime.UPb_Redux.valueModels.ValueModelReferenced;
@@ -50,6 +53,8 @@ import org.earthtime.dataDictionaries.ReportSpecifications;
 import org.earthtime.exceptions.ETException;
 import org.earthtime.archivingTools.URIHelper;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
+import org.w3c.dom.Document;
 
 /**
  *
@@ -69,6 +74,8 @@ public class ReportSettings implements
      * report models upon opening inU-Pb_Redux.
      */
     public final static transient int FRACTION_DATA_START_ROW = 8;
+    // holds "leading&trailing&padLeft&padRightToWidth" for each trimmed column
+    private final static transient int TRIMMED_SPACES_ROW = FRACTION_DATA_START_ROW - 1;
     private static transient int CURRENT_VERSION_REPORT_SETTINGS = 276;
     private static transient String activityFootnoteEntry = "";
     private static transient String thU_MagmaFootnoteEntry = "";
@@ -246,15 +253,7 @@ public class ReportSettings implements
             final Sample sample,
             boolean numberStyleIsNumeric) {
 
-        // compatibility repair april 2012
-        if (fractionCategory2 == null) {
-            setFractionCategory2(new ReportCategory(//
-                    //
-                    "Fraction",
-                    8,//oct 2014 was 5 before traceelements and pc corrections
-                    ReportSpecifications.ReportCategory_Fraction2, true));
-
-        }
+        prepareCategoriesForFractions(uPbFractions);
 
         // the first six (FRACTION_DATA_START_ROW) rows are provided for naming and formats
         String[][] retVal
@@ -262,143 +261,6 @@ public class ReportSettings implements
         // column 0 will contain true for included fractions and false for rejected fractions
         // column 1 will contain aliquot name
 
-        // special case oct 2009 to see if we force the display of <ar231_235Pa> and Th_Umagma columns
-        if (uPbFractions.size() > 0) {
-            // check whether all values are equal in displayed fractions
-
-            // force to not visible
-            getCompositionCategory().setVisibleCategoryColumn(AnalysisMeasures.ar231_235sample.getName(), false);
-            getCompositionCategory().setVisibleCategoryColumn(AnalysisMeasures.rTh_Umagma.getName(), false);
-
-            // get first activityValue and first Th_Umagma value and set standard footnote entries
-            BigDecimal savedActivityValue = //
-                    uPbFractions.get(0).getAnalysisMeasure(AnalysisMeasures.ar231_235sample.getName()).getValue();
-            BigDecimal savedMagmaValue = //
-                    uPbFractions.get(0).getAnalysisMeasure(AnalysisMeasures.rTh_Umagma.getName()).getValue();
-
-            activityFootnoteEntry = "= " + savedActivityValue.toString();
-            thU_MagmaFootnoteEntry = "= " + savedMagmaValue.toString();
-
-            // modified april 2010 to account for zircon population
-            int zirconCount = 0;
-            int fractionCount = 0;
-            for (Fraction f : uPbFractions) {
-                if (!((UPbFractionI) f).isRejected()) {
-
-                    BigDecimal activityValue = f.getAnalysisMeasure(AnalysisMeasures.ar231_235sample.getName()).getValue();
-                    if (activityValue.compareTo(savedActivityValue) != 0) {
-                        getCompositionCategory().setVisibleCategoryColumn(AnalysisMeasures.ar231_235sample.getName(), true);
-                        // change footnote
-                        activityFootnoteEntry = "specified";
-                    }
-                    BigDecimal magmaValue = f.getAnalysisMeasure(AnalysisMeasures.rTh_Umagma.getName()).getValue();
-                    if (magmaValue.compareTo(savedMagmaValue) != 0) {
-                        getCompositionCategory().setVisibleCategoryColumn(AnalysisMeasures.rTh_Umagma.getName(), true);
-                        // change footnote
-                        thU_MagmaFootnoteEntry = "specified";
-                    }
-
-                    fractionCount++;
-                    if (f.isZircon()) {
-                        zirconCount++;
-                    }
-                }
-            }
-
-            // zirconPopulationType = 0 is default condition = no zircons
-            zirconPopulationType = 0;
-            if ((zirconCount > 0) && (zirconCount < fractionCount)) {
-                zirconPopulationType = 2; // mixed
-            } else if (zirconCount == fractionCount) {
-                zirconPopulationType = 1; // zircon
-            }
-
-        } // end special case **************************************************
-
-        // a special case oct 2009 to decide if units of dates is Ma or ka or auto
-        // repeated oct 2014 to handle Pbc corrected dates category also
-        if (uPbFractions.size() > 0) {
-            if (getDatesCategory().getCategoryColumns().length > 0) {
-                // first get the unittype of the first date (all will be set the same so this is a flag)
-                String currentDateUnit = getDatesCategory().getCategoryColumns()[0].getUnits();
-                boolean isAuto = false;
-                // the default is ka, though it will usually be overwritten by Ma
-                if (currentDateUnit.equalsIgnoreCase("Auto")) {
-                    currentDateUnit = "ka";
-                    isAuto = true;
-                }
-                getDatesCategory().setDisplayName("Dates (" + currentDateUnit + ")");
-                for (ReportColumn rc : getDatesCategory().getCategoryColumns()) {
-                    if (!rc.getUnits().equalsIgnoreCase("")) {
-                        rc.setUnits(currentDateUnit);
-                    }
-                }
-
-                if (isAuto) {
-                    // let's find out
-                    BigDecimal threshold = new BigDecimal(1000000);
-                    for (Fraction f : uPbFractions) {
-                        if (!((UPbFractionI) f).isRejected()) {
-                            BigDecimal date206_238Value = f.getRadiogenicIsotopeDateByName(RadDates.age206_238r).getValue();
-                            if (date206_238Value.compareTo(threshold) > 0) {
-                                // we have Ma when any value is greater than threshold
-                                getDatesCategory().setDisplayName("Dates (Ma)");
-                                // now set units correctly
-                                for (ReportColumn rc : getDatesCategory().getCategoryColumns()) {
-                                    if (!rc.getUnits().equalsIgnoreCase("")) {
-                                        rc.setUnits("Ma");
-                                    }
-                                }
-                                break;
-                            }
-
-                        }
-
-                    }
-                }
-            }
-
-            if (getDatesPbcCorrCategory().getCategoryColumns().length > 0) {
-                // first get the unittype of the first date (all will be set the same so this is a flag)
-                String currentDateUnit = getDatesPbcCorrCategory().getCategoryColumns()[0].getUnits();
-                boolean isAuto = false;
-                // the default is ka, though it will usually be overwritten by Ma
-                if (currentDateUnit.equalsIgnoreCase("Auto")) {
-                    currentDateUnit = "ka";
-                    isAuto = true;
-                }
-                getDatesPbcCorrCategory().setDisplayName("PbcCorr Dates (" + currentDateUnit + ")");
-                for (ReportColumn rc : getDatesPbcCorrCategory().getCategoryColumns()) {
-                    if (!rc.getUnits().equalsIgnoreCase("")) {
-                        rc.setUnits(currentDateUnit);
-                    }
-                }
-
-                if (isAuto) {
-                    // let's find out
-                    BigDecimal threshold = new BigDecimal(1000000);
-                    for (Fraction f : uPbFractions) {
-                        if (!((UPbFractionI) f).isRejected()) {
-                            BigDecimal date206_238Value = f.getRadiogenicIsotopeDateByName(RadDates.age206_238_PbcCorr).getValue();
-                            if (date206_238Value.compareTo(threshold) > 0) {
-                                // we have Ma when any value is greater than threshold
-                                getDatesPbcCorrCategory().setDisplayName("PbcCorr Dates (Ma)");
-                                // now set units correctly
-                                for (ReportColumn rc : getDatesPbcCorrCategory().getCategoryColumns()) {
-                                    if (!rc.getUnits().equalsIgnoreCase("")) {
-                                        rc.setUnits("Ma");
-                                    }
-                                }
-                                break;
-                            }
-
-                        }
-
-                    }
-                }
-            }
-        }
-
         // end of special case for units of date
         int countOfAllColumns = getCountOfAllColumns() + 2;
 
@@ -420,6 +282,7 @@ public class ReportSettings implements
         // modified below oct 2009
         // row 5 is reserved for column footnotes as reference letters
         // row 6 is reserved for storage of actual footnotes in the correct order
+        // row 7 records the spaces trimmed from each column (see trimColumn)
         // fraction data starts at col 2, row FRACTION_DATA_START_ROW
         // FRACTION_DATA_START_ROW is stored in 0,0
         retVal[0][0] = Integer.toString(FRACTION_DATA_START_ROW);
@@ -431,6 +294,9 @@ public class ReportSettings implements
 
         Map<Integer, ReportCategory> categories = getReportCategoriesInOrder();
 
+        // oct 2026 getAliquotByNumber walks every fraction of the sample, so look each aliquot up once
+        Map<Integer, String> aliquotNames = new HashMap<>();
+
         for (int c = 0; c < categories.size(); c++) {
             try {
                 if (categories.get(c).isVisible()) {
@@ -502,7 +368,8 @@ public class ReportSettings implements
                                     }
 
                                     retVal[fractionRowCount][1] = //
-                                            sample.getAliquotByNumber(((UPbFractionI) f).getAliquotNumber()).getAliquotName();
+                                            aliquotNames.computeIfAbsent(((UPbFractionI) f).getAliquotNumber(), //
+                                                    (Integer aliquotNumber) -> sample.getAliquotByNumber(aliquotNumber).getAliquotName());
                                 }
 
                                 // field contains the Value in field[0]
@@ -639,6 +506,511 @@ public class ReportSettings implements
 
     }
 
+    /**
+     * Writes the numeric style report of <code>uPbFractions</code> row by
+     * row, building each fraction's row only as it is written, so that large
+     * compilations are exported without the whole table in memory. The rows
+     * are those of the numeric style table, ordered as
+     * <code>ReportAliquotFractionsView.sortReportColumn</code> orders it, and
+     * padded as its columns are padded, for which a first pass over the
+     * fractions finds the spaces common to each column.
+     *
+     * @param sample
+     * @param uPbFractions
+     * @param sortedColumn the table column to order by, or -1 for the order of
+     * <code>uPbFractions</code>
+     * @param sortedColumnDirection
+     * @param writer
+     * @throws IOException
+     */
+    public void writeFractionsNumericStyle(//
+            final Sample sample,
+            Vector<Fraction> uPbFractions,
+            int sortedColumn,
+            int sortedColumnDirection,
+            ReportRowsWriterI writer) throws IOException {
+
+        prepareCategoriesForFractions(uPbFractions);
+
+        // the header rows and footnotes do not depend on the fractions once the categories are prepared
+        String[][] headerRows = new String[FRACTION_DATA_START_ROW][];
+        System.arraycopy(reportFractionsByNumberStyle(new Vector<>(), sample, true), 0, headerRows, 0, FRACTION_DATA_START_ROW);
+        ReportColumn[] reportedColumns = determineReportedColumns(headerRows[0].length);
+
+        writer.writeHeaderRows(headerRows);
+
+        Map<Integer, String> aliquotNames = new HashMap<>();
+        String[] trimmedSpacesRow = determineTrimmedSpaces(uPbFractions, sample, headerRows, reportedColumns, aliquotNames);
+
+        for (int index : orderFractionsForReport(uPbFractions, sample, headerRows, reportedColumns, aliquotNames, sortedColumn, sortedColumnDirection)) {
+            String[] fractionRow = reportFractionRow(sample, uPbFractions.get(index), reportedColumns, aliquotNames);
+
+            for (int columnCount = 2; columnCount < fractionRow.length; columnCount++) {
+                if (trimmedSpacesRow[columnCount].length() > 0) {
+                    String entry = layOutAsTrimmed(fractionRow[columnCount], trimmedSpacesRow[columnCount]);
+                    if (entry != null) {
+                        fractionRow[columnCount] = entry;
+                    }
+                }
+            }
+
+            writer.writeFractionRow(fractionRow);
+        }
+
+        writer.finishReport();
+    }
+
+    /**
+     * Determines whether the headings and footnotes of <code>reportTable</code>
+     * are still those of a table of <code>uPbFractions</code>, as they are
+     * unless a change to a fraction changes the special cases of the
+     * composition and date columns.
+     *
+     * @param sample
+     * @param uPbFractions
+     * @param reportTable a table built by
+     * <code>reportActiveFractionsByNumberStyle</code> or its siblings
+     * @param numberStyleIsNumeric
+     * @return
+     */
+    public boolean isReportTableHeadingCurrent(//
+            final Sample sample,
+            Vector<Fraction> uPbFractions,
+            String[][] reportTable,
+            boolean numberStyleIsNumeric) {
+
+        prepareCategoriesForFractions(uPbFractions);
+        String[][] headerRows = reportFractionsByNumberStyle(new Vector<>(), sample, numberStyleIsNumeric);
+
+        boolean retVal = (reportTable.length >= FRACTION_DATA_START_ROW);
+        for (int row = 0; retVal && (row < TRIMMED_SPACES_ROW); row++) {
+            retVal = Arrays.equals(headerRows[row], reportTable[row]);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Lays out the row of <code>fraction</code> as it appears in
+     * <code>reportTable</code>, so that a change to one fraction does not
+     * rebuild the table. The row is trimmed as its column was trimmed, which
+     * may leave spaces that a rebuilt table would trim.
+     *
+     * @param sample
+     * @param uPbFractions the fractions of the table, including
+     * <code>fraction</code>
+     * @param fraction
+     * @param reportTable a table built by
+     * <code>reportActiveFractionsByNumberStyle</code> or its siblings
+     * @param numberStyleIsNumeric as the table was built
+     * @return the row, or null if the table must be rebuilt for this fraction
+     */
+    public String[] reportFractionRowAsInTable(//
+            final Sample sample,
+            Vector<Fraction> uPbFractions,
+            Fraction fraction,
+            String[][] reportTable,
+            boolean numberStyleIsNumeric) {
+
+        if ((reportTable.length <= FRACTION_DATA_START_ROW)//
+                || !isReportTableHeadingCurrent(sample, uPbFractions, reportTable, numberStyleIsNumeric)) {
+            return null;
+        }
+
+        ReportColumn[] reportedColumns = determineReportedColumns(reportTable[0].length);
+
+        String[] retVal = new String[reportTable[0].length];
+        Arrays.fill(retVal, "");
+
+        retVal[0] = ((UPbFractionI) fraction).isRejected() ? "false" : "true";
+        retVal[1] = sample.getAliquotByNumber(((UPbFractionI) fraction).getAliquotNumber()).getAliquotName();
+
+        for (int columnCount = 2; columnCount < reportedColumns.length; columnCount++) {
+            if (reportedColumns[columnCount] != null) {
+                String[] field = reportedColumns[columnCount].getReportRecordByColumnSpec(fraction, numberStyleIsNumeric);
+                retVal[columnCount] = field[0];
+                if (!field[1].equals("") && (retVal.length > (columnCount + 1))) {
+                    retVal[columnCount + 1] = field[1];
+                }
+            }
+        }
+
+        for (int columnCount = 2; columnCount < retVal.length; columnCount++) {
+            if (reportTable[TRIMMED_SPACES_ROW][columnCount].length() > 0) {
+                String entry = layOutAsTrimmed(retVal[columnCount], reportTable[TRIMMED_SPACES_ROW][columnCount]);
+                if (entry == null) {
+                    return null;
+                }
+                retVal[columnCount] = entry;
+            }
+        }
+
+        return retVal;
+    }
+
+    // lays out entry as trimColumn laid out its column, or null if the column would be trimmed less
+    private static String layOutAsTrimmed(String entry, String trimmedSpacesOfColumn) {
+        String[] trimmedSpaces = trimmedSpacesOfColumn.split("&");
+        int minLeading = Integer.parseInt(trimmedSpaces[0]);
+        int minTrailing = Integer.parseInt(trimmedSpaces[1]);
+        int padLeft = Integer.parseInt(trimmedSpaces[2]);
+        int padRightToWidth = Integer.parseInt(trimmedSpaces[3]);
+
+        if ((entry.length() < minLeading + minTrailing)//
+                || (entry.substring(0, minLeading).trim().length() > 0)//
+                || (entry.substring(entry.length() - minTrailing).trim().length() > 0)) {
+            return null;
+        }
+        String retVal = entry.substring(minLeading, entry.length() - minTrailing);
+
+        if (padLeft > 0) {
+            retVal = new String(new char[padLeft]).replace('\0', ' ') + retVal;
+        }
+        if (padRightToWidth > 0) {
+            if (retVal.trim().length() > padRightToWidth) {
+                return null;
+            }
+            retVal += new String(new char[padRightToWidth - retVal.trim().length()]).replace('\0', ' ');
+        }
+
+        return retVal;
+    }
+
+    // finds, in a pass over the fractions, the spaces trimColumn records for each column of their table
+    private String[] determineTrimmedSpaces(//
+            Vector<Fraction> uPbFractions,
+            final Sample sample,
+            String[][] headerRows,
+            ReportColumn[] reportedColumns,
+            Map<Integer, String> aliquotNames) {
+
+        int countOfColumns = headerRows[0].length;
+        String[] retVal = new String[countOfColumns];
+        Arrays.fill(retVal, "");
+
+        if (uPbFractions.isEmpty()) {
+            return retVal;
+        }
+
+        // the value columns and their visible uncertainty columns are trimmed
+        boolean[] isTrimmed = new boolean[countOfColumns];
+        for (int columnCount = 2; columnCount < countOfColumns; columnCount++) {
+            if (reportedColumns[columnCount] != null) {
+                isTrimmed[columnCount] = true;
+                if ((reportedColumns[columnCount].getUncertaintyColumn() != null)//
+                        && reportedColumns[columnCount].getUncertaintyColumn().isVisible()//
+                        && (columnCount + 1 < countOfColumns)) {
+                    isTrimmed[columnCount + 1] = true;
+                }
+            }
+        }
+
+        int[] minLeading = new int[countOfColumns];
+        int[] minTrailing = new int[countOfColumns];
+        int[] maxLength = new int[countOfColumns];
+        int[] firstLength = new int[countOfColumns];
+        Arrays.fill(minLeading, 10);
+        Arrays.fill(minTrailing, 15);
+
+        boolean isFirstRow = true;
+        for (Fraction f : uPbFractions) {
+            String[] fractionRow = reportFractionRow(sample, f, reportedColumns, aliquotNames);
+            for (int columnCount = 2; columnCount < countOfColumns; columnCount++) {
+                if (isTrimmed[columnCount]) {
+                    String entry = fractionRow[columnCount];
+                    int lbCount = 0;
+                    while ((lbCount < entry.length()) && (entry.charAt(lbCount) == ' ')) {
+                        lbCount++;
+                    }
+                    int tbCount = 0;
+                    while ((tbCount < entry.length()) && (entry.charAt(entry.length() - 1 - tbCount) == ' ')) {
+                        tbCount++;
+                    }
+                    minLeading[columnCount] = Math.min(minLeading[columnCount], lbCount);
+                    minTrailing[columnCount] = Math.min(minTrailing[columnCount], tbCount);
+                    maxLength[columnCount] = Math.max(maxLength[columnCount], entry.length());
+                    if (isFirstRow) {
+                        firstLength[columnCount] = entry.length();
+                    }
+                }
+            }
+            isFirstRow = false;
+        }
+
+        // as in trimColumn, every entry of a column loses the same count of spaces
+        for (int columnCount = 2; columnCount < countOfColumns; columnCount++) {
+            if (isTrimmed[columnCount]) {
+                int trimmedSpaces = minLeading[columnCount] + minTrailing[columnCount];
+                int padLeft = 0;
+                int padRightToWidth = 0;
+                if (!headerRows[3][columnCount].trim().equalsIgnoreCase("Fraction")) {
+                    padLeft
+                            = Math.max(3,//
+                                    Math.max(headerRows[1][columnCount].trim().length(), //
+                                            Math.max(headerRows[2][columnCount].trim().length(), //
+                                                    headerRows[3][columnCount].trim().length() + headerRows[5][columnCount].trim().length() / 2)))//
+                            - (firstLength[columnCount] - trimmedSpaces);
+                } else {
+                    padRightToWidth = Math.max("Fraction".length(), maxLength[columnCount] - trimmedSpaces);
+                }
+
+                retVal[columnCount] = //
+                        minLeading[columnCount] + "&" + minTrailing[columnCount] + "&" + Math.max(0, padLeft) + "&" + padRightToWidth;
+            }
+        }
+
+        return retVal;
+    }
+
+    // the row of fraction in the report table before its columns are trimmed
+    private String[] reportFractionRow(//
+            final Sample sample,
+            Fraction f,
+            ReportColumn[] reportedColumns,
+            Map<Integer, String> aliquotNames) {
+
+        String[] retVal = new String[reportedColumns.length];
+        Arrays.fill(retVal, "");
+
+        retVal[0] = ((UPbFractionI) f).isRejected() ? "false" : "true";
+        retVal[1] = aliquotNames.computeIfAbsent(((UPbFractionI) f).getAliquotNumber(), //
+                (Integer aliquotNumber) -> sample.getAliquotByNumber(aliquotNumber).getAliquotName());
+
+        for (int columnCount = 2; columnCount < reportedColumns.length; columnCount++) {
+            if (reportedColumns[columnCount] != null) {
+                String[] field = reportedColumns[columnCount].getReportRecordByColumnSpec(f, true);
+                retVal[columnCount] = field[0];
+                if (!field[1].equals("") && (retVal.length > (columnCount + 1))) {
+                    retVal[columnCount + 1] = field[1];
+                }
+            }
+        }
+
+        return retVal;
+    }
+
+    // the column shown at each column of the report table, null for aliquot, uncertainty and unused columns
+    private ReportColumn[] determineReportedColumns(int countOfAllColumns) {
+        ReportColumn[] retVal = new ReportColumn[countOfAllColumns];
+
+        int columnCount = 2;
+        Map<Integer, ReportCategory> categories = getReportCategoriesInOrder();
+        for (int c = 0; c < categories.size(); c++) {
+            try {
+                if (categories.get(c).isVisible()) {
+                    Map<Integer, ReportColumn> cat = categories.get(c).getCategoryColumnOrder();
+                    for (int col = 0; col < cat.size(); col++) {
+                        ReportColumn myCol = cat.get(col);
+                        if (myCol.isVisible()) {
+                            retVal[columnCount] = myCol;
+                            columnCount++;
+                            if ((myCol.getUncertaintyColumn() != null) && myCol.getUncertaintyColumn().isVisible()) {
+                                columnCount++;
+                            }
+                        }
+                    }
+                }
+            } catch (Exception e) {
+            }
+        }
+
+        return retVal;
+    }
+
+    // sorts only the cells of the sorted column, leaving the rows to be built as they are written
+    private int[] orderFractionsForReport(//
+            Vector<Fraction> uPbFractions,
+            final Sample sample,
+            String[][] headerRows,
+            ReportColumn[] reportedColumns,
+            Map<Integer, String> aliquotNames,
+            int sortedColumn,
+            int sortedColumnDirection) {
+
+        int[] retVal = new int[uPbFractions.size()];
+        for (int i = 0; i < retVal.length; i++) {
+            retVal[i] = i;
+        }
+
+        if ((sortedColumn >= 2) && (sortedColumn < headerRows[0].length)) {
+            // the sorted column is a value column or the uncertainty column following one
+            boolean sortByUncertainty = (reportedColumns[sortedColumn] == null);
+            ReportColumn sortingColumn = sortByUncertainty ? reportedColumns[sortedColumn - 1] : reportedColumns[sortedColumn];
+
+            if (sortingColumn != null) {
+                String[][] sortKeys = new String[FRACTION_DATA_START_ROW + retVal.length][];
+                System.arraycopy(headerRows, 0, sortKeys, 0, FRACTION_DATA_START_ROW);
+                for (int i = 0; i < retVal.length; i++) {
+                    Fraction f = uPbFractions.get(i);
+                    String[] sortKey = new String[headerRows[0].length];
+                    sortKey[0] = Integer.toString(i);
+                    sortKey[1] = aliquotNames.computeIfAbsent(((UPbFractionI) f).getAliquotNumber(), //
+                            (Integer aliquotNumber) -> sample.getAliquotByNumber(aliquotNumber).getAliquotName());
+                    sortKey[sortedColumn] = sortingColumn.getReportRecordByColumnSpec(f, true)[sortByUncertainty ? 1 : 0];
+                    sortKeys[FRACTION_DATA_START_ROW + i] = sortKey;
+                }
+
+                ReportAliquotFractionsView.sortReportColumn(sortKeys, sortedColumn, sortedColumnDirection);
+
+                for (int i = 0; i < retVal.length; i++) {
+                    retVal[i] = Integer.parseInt(sortKeys[FRACTION_DATA_START_ROW + i][0]);
+                }
+            }
+        }
+
+        return retVal;
+    }
+
+    // special cases that depend on the fractions reported
+    private void prepareCategoriesForFractions(Vector<Fraction> uPbFractions) {
+        // compatibility repair april 2012
+        if (fractionCategory2 == null) {
+            setFractionCategory2(new ReportCategory(//
+                    //
+                    "Fraction",
+                    8,//oct 2014 was 5 before traceelements and pc corrections
+                    ReportSpecifications.ReportCategory_Fraction2, true));
+
+        }
+
+        // special case oct 2009 to see if we force the display of <ar231_235Pa> and Th_Umagma columns
+        if (uPbFractions.size() > 0) {
+            // check whether all values are equal in displayed fractions
+
+            // force to not visible
+            getCompositionCategory().setVisibleCategoryColumn(AnalysisMeasures.ar231_235sample.getName(), false);
+            getCompositionCategory().setVisibleCategoryColumn(AnalysisMeasures.rTh_Umagma.getName(), false);
+
+            // get first activityValue and first Th_Umagma value and set standard footnote entries
+            BigDecimal savedActivityValue = //
+                    uPbFractions.get(0).getAnalysisMeasure(AnalysisMeasures.ar231_235sample.getName()).getValue();
+            BigDecimal savedMagmaValue = //
+                    uPbFractions.get(0).getAnalysisMeasure(AnalysisMeasures.rTh_Umagma.getName()).getValue();
+
+            activityFootnoteEntry = "= " + savedActivityValue.toString();
+            thU_MagmaFootnoteEntry = "= " + savedMagmaValue.toString();
+
+            // modified april 2010 to account for zircon population
+            int zirconCount = 0;
+            int fractionCount = 0;
+            for (Fraction f : uPbFractions) {
+                if (!((UPbFractionI) f).isRejected()) {
+
+                    BigDecimal activityValue = f.getAnalysisMeasure(AnalysisMeasures.ar231_235sample.getName()).getValue();
+                    if (activityValue.compareTo(savedActivityValue) != 0) {
+                        getCompositionCategory().setVisibleCategoryColumn(AnalysisMeasures.ar231_235sample.getName(), true);
+                        // change footnote
+                        activityFootnoteEntry = "specified";
+                    }
+                    BigDecimal magmaValue = f.getAnalysisMeasure(AnalysisMeasures.rTh_Umagma.getName()).getValue();
+                    if (magmaValue.compareTo(savedMagmaValue) != 0) {
+                        getCompositionCategory().setVisibleCategoryColumn(AnalysisMeasures.rTh_Umagma.getName(), true);
+                        // change footnote
+                        thU_MagmaFootnoteEntry = "specified";
+                    }
+
+                    fractionCount++;
+                    if (f.isZircon()) {
+                        zirconCount++;
+                    }
+                }
+            }
+
+            // zirconPopulationType = 0 is default condition = no zircons
+            zirconPopulationType = 0;
+            if ((zirconCount > 0) && (zirconCount < fractionCount)) {
+                zirconPopulationType = 2; // mixed
+            } else if (zirconCount == fractionCount) {
+                zirconPopulationType = 1; // zircon
+            }
+
+        } // end special case **************************************************
+
+        // a special case oct 2009 to decide if units of dates is Ma or ka or auto
+        // repeated oct 2014 to handle Pbc corrected dates category also
+        if (uPbFractions.size() > 0) {
+            if (getDatesCategory().getCategoryColumns().length > 0) {
+                // first get the unittype of the first date (all will be set the same so this is a flag)
+                String currentDateUnit = getDatesCategory().getCategoryColumns()[0].getUnits();
+                boolean isAuto = false;
+                // the default is ka, though it will usually be overwritten by Ma
+                if (currentDateUnit.equalsIgnoreCase("Auto")) {
+                    currentDateUnit = "ka";
+                    isAuto = true;
+                }
+                getDatesCategory().setDisplayName("Dates (" + currentDateUnit + ")");
+                for (ReportColumn rc : getDatesCategory().getCategoryColumns()) {
+                    if (!rc.getUnits().equalsIgnoreCase("")) {
+                        rc.setUnits(currentDateUnit);
+                    }
+                }
+
+                if (isAuto) {
+                    // let's find out
+                    BigDecimal threshold = new BigDecimal(1000000);
+                    for (Fraction f : uPbFractions) {
+                        if (!((UPbFractionI) f).isRejected()) {
+                            BigDecimal date206_238Value = f.getRadiogenicIsotopeDateByName(RadDates.age206_238r).getValue();
+                            if (date206_238Value.compareTo(threshold) > 0) {
+                                // we have Ma when any value is greater than threshold
+                                getDatesCategory().setDisplayName("Dates (Ma)");
+                                // now set units correctly
+                                for (ReportColumn rc : getDatesCategory().getCategoryColumns()) {
+                                    if (!rc.getUnits().equalsIgnoreCase("")) {
+                                        rc.setUnits("Ma");
+                                    }
+                                }
+                                break;
+                            }
+
+                        }
+
+                    }
+                }
+            }
+
+            if (getDatesPbcCorrCategory().getCategoryColumns().length > 0) {
+                // first get the unittype of the first date (all will be set the same so this is a flag)
+                String currentDateUnit = getDatesPbcCorrCategory().getCategoryColumns()[0].getUnits();
+                boolean isAuto = false;
+                // the default is ka, though it will usually be overwritten by Ma
+                if (currentDateUnit.equalsIgnoreCase("Auto")) {
+                    currentDateUnit = "ka";
+                    isAuto = true;
+                }
+                getDatesPbcCorrCategory().setDisplayName("PbcCorr Dates (" + currentDateUnit + ")");
+                for (ReportColumn rc : getDatesPbcCorrCategory().getCategoryColumns()) {
+                    if (!rc.getUnits().equalsIgnoreCase("")) {
+                        rc.setUnits(currentDateUnit);
+                    }
+                }
+
+                if (isAuto) {
+                    // let's find out
+                    BigDecimal threshold = new BigDecimal(1000000);
+                    for (Fraction f : uPbFractions) {
+                        if (!((UPbFractionI) f).isRejected()) {
+                            BigDecimal date206_238Value = f.getRadiogenicIsotopeDateByName(RadDates.age206_238_PbcCorr).getValue();
+                            if (date206_238Value.compareTo(threshold) > 0) {
+                                // we have Ma when any value is greater than threshold
+                                getDatesPbcCorrCategory().setDisplayName("PbcCorr Dates (Ma)");
+                                // now set units correctly
+                                for (ReportColumn rc : getDatesPbcCorrCategory().getCategoryColumns()) {
+                                    if (!rc.getUnits().equalsIgnoreCase("")) {
+                                        rc.setUnits("Ma");
+                                    }
+                                }
+                                break;
+                            }
+
+                        }
+
+                    }
+                }
+            }
+        }
+    }
+
     private String determineFootNoteLetter(
             int location) {
         return "abcdefghijklmnopqrstuvwxyz".substring(location, location + 1);
@@ -700,9 +1072,11 @@ public class ReportSettings implements
         // walk the column and padleft to meet width of displayname the strings
         // except for fraction name always in first col (0)
         int minWide = 3;
+        int padLeft = 0;
+        int padRightToWidth = 0;
         if (!retVal[3][columnCount].trim().equalsIgnoreCase("Fraction")) {// (columnCount > 2) {
 
-            int padLeft
+            padLeft
                     = Math.max(minWide,//
                             Math.max(retVal[1][columnCount].trim().length(), //
                                     Math.max(retVal[2][columnCount].trim().length(), //
@@ -746,6 +1120,7 @@ public class ReportSettings implements
                 }
 
             }
+            padRightToWidth = maxWidth;
 
 //
 //            int padRight =
@@ -770,6 +1145,9 @@ public class ReportSettings implements
 //            }
         }
 
+        // oct 2026 recorded so that a single fraction's row can be laid out as in this table
+        retVal[TRIMMED_SPACES_ROW][columnCount] = //
+                minLeading + "&" + minTrailing + "&" + Math.max(0, padLeft) + "&" + padRightToWidth;
     }
 
     private int getCountOfAllColumns() {
@@ -829,6 +1207,18 @@ public class ReportSettings implements
         return retVal;
     }
 
+    /**
+     * Binds every column to its <code>Fraction</code> accessor ahead of
+     * reporting; columns changed later rebind themselves on first use.
+     */
+    public void bindFractionAccessors() {
+        getReportCategoriesInOrder().values().stream().forEach((rc) -> {
+            for (ReportColumn rcol : rc.getCategoryColumns()) {
+                rcol.bindFractionAccessor();
+            }
+        });
+    }
+
 //  accessors
     /**
      *
@@ -1005,9 +1395,13 @@ public class ReportSettings implements
      * @return
      */
     public XStream getXStreamWriter() {
-        XStream xstream = new XStream();
+        XStream xstream = XStreamRegistry.getXStream(getClass(), XStreamRegistry.WRITER, () -> {
+            XStream configured = new XStream();
+            customizeXstream(configured);
+            return configured;
+        });
 
-        customizeXstream(xstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -1017,10 +1411,13 @@ public class ReportSettings implements
      * @return
      */
     public XStream getXStreamReader() {
+        XStream xstream = XStreamRegistry.getXStream(getClass(), XStreamRegistry.READER, () -> {
+            XStream configured = new XStream(new DomDriver());
+            customizeXstream(configured);
+            return configured;
+        });
 
-        XStream xstream = new XStream(new DomDriver());
-
-        customizeXstream(xstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -1112,27 +1509,18 @@ public class ReportSettings implements
         BufferedReader reader = URIHelper.getBufferedReader(filename);
 
         if (reader != null) {
-            boolean isValidOrAirplaneMode = !doValidate;
-
             XStream xstream = getXStreamReader();
 
-            isValidOrAirplaneMode = URIHelper.validateXML(reader, filename, reportSettingsXMLSchemaURL);
+            // oct 2026 the file is read and parsed once, validated, and XStream unmarshals its DOM tree
+            Document document = URIHelper.parseValidatedXML(reader, reportSettingsXMLSchemaURL);
 
-            if (isValidOrAirplaneMode) {
-                // re-create reader
-                reader = URIHelper.getBufferedReader(filename);
+            if (document != null) {
                 try {
-                    myReportSettings = (ReportSettings) xstream.fromXML(reader);
+                    myReportSettings = (ReportSettings) xstream.unmarshal(new DomReader(document));
+                    myReportSettings.bindFractionAccessors();
                 } catch (ConversionException e) {
                     throw new ETException(null, e.getMessage());
                 }
-
-////                System.out.println("This is your ReportSettings that was just read successfully:\n");
-////
-////                String xml2 = getXStreamWriter().toXML(myReportSettings);
-////
-////                System.out.println(xml2);
-////                System.out.flush();
             } else {
                 throw new ETException(null, "XML data file does not conform to schema.");
             }
@@ -22,8 +22,14 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Vector;
 import javax.swing.JOptionPane;
 import org.earthtime.UPb_Redux.filters.CSVFileFilter;
+import org.earthtime.UPb_Redux.fractions.Fraction;
+import org.earthtime.UPb_Redux.reports.ReportRowsWriterI;
+import org.earthtime.UPb_Redux.samples.Sample;
 import org.earthtime.UPb_Redux.utilities.BrowserControl;
 import org.earthtime.utilities.FileHelper;
 
@@ -45,13 +51,7 @@ public class CsvResultsTable {
         sampleName = mySampleName;
         reportFractions = myReportFractions;
 
-        File excelFile = FileHelper.AllPlatformSaveAs(
-                new Frame(),
-                "Save Report Table as '.csv' File: *.csv",
-                null,
-                ".csv",
-                sampleName + "_ReportTable" + ".csv",
-                new CSVFileFilter() );
+        File excelFile = chooseCSVFile();
 
         if ( excelFile != null ) {
             writeCSVReport( excelFile );
@@ -62,6 +62,42 @@ public class CsvResultsTable {
         }
     }
 
+    /**
+     * Writes the numeric report of <code>fractions</code> row by row without
+     * building the report table first.
+     *
+     * @param sample
+     * @param fractions
+     * @param sortedColumn
+     * @param sortedColumnDirection
+     */
+    public static void produceCSVResultsTable ( Sample sample, Vector<Fraction> fractions, int sortedColumn, int sortedColumnDirection ) {
+        sampleName = sample.getSampleName();
+
+        File excelFile = chooseCSVFile();
+
+        if ( excelFile != null ) {
+            try (PrintWriter outputWriter = new PrintWriter( new FileWriter( excelFile ) )) {
+                writeCSVReport( outputWriter, sample, fractions, sortedColumn, sortedColumnDirection );
+            } catch (IOException iOException) {
+            }
+            try {
+                loadCSVFileAfterCreation( excelFile );
+            } catch (IOException iOException) {
+            }
+        }
+    }
+
+    private static File chooseCSVFile () {
+        return FileHelper.AllPlatformSaveAs(
+                new Frame(),
+                "Save Report Table as '.csv' File: *.csv",
+                null,
+                ".csv",
+                sampleName + "_ReportTable" + ".csv",
+                new CSVFileFilter() );
+    }
+
     /**
      * 
      * @param csvFile
@@ -70,19 +106,73 @@ public class CsvResultsTable {
 
         int firstDataRow = Integer.parseInt( reportFractions[0][0] );
 
-        PrintWriter outputWriter = null;
-        try {
-            outputWriter = new PrintWriter( new FileWriter( csvFile ) );
+        try (PrintWriter outputWriter = new PrintWriter( new FileWriter( csvFile ) )) {
+            ReportRowsWriterI csvWriter = new CsvReportRowsWriter( outputWriter, sampleName );
+
+            csvWriter.writeHeaderRows( Arrays.copyOf( reportFractions, firstDataRow ) );
+            for (int row = firstDataRow; row < reportFractions.length; row ++) {
+                csvWriter.writeFractionRow( reportFractions[row] );
+            }
+            csvWriter.finishReport();
+
+        } catch (IOException iOException) {
+        }
+
+//        try {
+//            BrowserControl.displayURL( csvFile.getCanonicalPath() );
+//        } catch (IOException ex) {
+//        }
+    }
+
+    /**
+     * Streams the numeric report of <code>fractions</code> to
+     * <code>outputWriter</code>, one fraction at a time.
+     *
+     * @param outputWriter
+     * @param sample
+     * @param fractions
+     * @param sortedColumn
+     * @param sortedColumnDirection
+     * @throws IOException
+     */
+    public static void writeCSVReport ( Writer outputWriter, Sample sample, Vector<Fraction> fractions, int sortedColumn, int sortedColumnDirection )
+            throws IOException {
+        sample.getReportSettingsModel().writeFractionsNumericStyle(//
+                sample, fractions, sortedColumn, sortedColumnDirection, //
+                new CsvReportRowsWriter( outputWriter, sample.getSampleName() ) );
+    }
+
+    // writes each row as it arrives
+    private static class CsvReportRowsWriter implements ReportRowsWriterI {
+
+        private final Writer outputWriter;
+        private final String reportSampleName;
+        private String[] footNotes;
+        private int countOfColumns;
+        private String saveAliquotName;
+
+        CsvReportRowsWriter ( Writer outputWriter, String reportSampleName ) {
+            this.outputWriter = outputWriter;
+            this.reportSampleName = reportSampleName;
+            this.footNotes = new String[0];
+            this.countOfColumns = 0;
+            this.saveAliquotName = "";
+        }
+
+        @Override
+        public void writeHeaderRows ( String[][] headerRows ) throws IOException {
+            countOfColumns = headerRows[0].length;
+            footNotes = headerRows[6];
 
             // Sample
-            outputWriter.write( sampleName + "\n" );
+            outputWriter.write( reportSampleName + "\n" );
 
             // category titles 
             String catName = "Fraction";
             String savedCatName = catName;
             // starts after Fraction column = 2
-            for (int c = 2; c < reportFractions[0].length; c ++) {
-                catName = reportFractions[0][c].trim();
+            for (int c = 2; c < countOfColumns; c ++) {
+                catName = headerRows[0][c].trim();
                 if (  ! catName.equalsIgnoreCase( savedCatName ) ) {
                     outputWriter.write( catName + "," );
                     savedCatName = catName;
@@ -94,85 +184,63 @@ public class CsvResultsTable {
             outputWriter.write( "\n" );
             // column titles
             for (int row = 1; row < 4; row ++) {
-                for (int c = 2; c < reportFractions[0].length; c ++) {
+                for (int c = 2; c < countOfColumns; c ++) {
 
                     // footnote
                     if ( row == 3 ) {
-                        outputWriter.write( replaceUnicodes(reportFractions[row][c]) + " " + reportFractions[5][c] + "," );
+                        outputWriter.write( replaceUnicodes(headerRows[row][c]) + " " + headerRows[5][c] + "," );
                     } else {
-                        outputWriter.write( replaceUnicodes(reportFractions[row][c]) + "," );
+                        outputWriter.write( replaceUnicodes(headerRows[row][c]) + "," );
                     }
                 }
                 outputWriter.write( "\n" );
 
             }
+        }
 
-            String saveAliquotName = "";
-
-            // reportRowAdvance accounts for 6 rows of header info
-            int reportRowAdvance = 6 - firstDataRow;
-            // footnotes start with no data and advance as rows are added
-            int footNoteStartRow = firstDataRow;
-
-            for (int row = firstDataRow - 1; row < reportFractions.length; row ++) {
-
-                // check whether fraction is included
-                if ( reportFractions[row][0].equalsIgnoreCase( "TRUE" ) ) {
-                    footNoteStartRow ++;
-                    // for each aliquot
-                    if (  ! reportFractions[row][1].equalsIgnoreCase( saveAliquotName ) ) {
-                        saveAliquotName = reportFractions[row][1];
-                        footNoteStartRow ++;
-                        outputWriter.write( reportFractions[row][1] + "\n" );
-                        reportRowAdvance ++;
-                    }
-
-                    // fraction data
-                    for (int c = 2; c < reportFractions[0].length; c ++) {
-                        outputWriter.write( reportFractions[row][c] + "," );
-                    }
-
-                    outputWriter.write( "\n" );
+        @Override
+        public void writeFractionRow ( String[] fractionRow ) throws IOException {
+            // check whether fraction is included
+            if ( fractionRow[0].equalsIgnoreCase( "TRUE" ) ) {
+                // for each aliquot
+                if (  ! fractionRow[1].equalsIgnoreCase( saveAliquotName ) ) {
+                    saveAliquotName = fractionRow[1];
+                    outputWriter.write( fractionRow[1] + "\n" );
+                }
 
-                } else {
-                    reportRowAdvance --;
+                // fraction data
+                for (int c = 2; c < countOfColumns; c ++) {
+                    outputWriter.write( fractionRow[c] + "," );
                 }
 
+                outputWriter.write( "\n" );
             }
+        }
 
-
+        @Override
+        public void finishReport () throws IOException {
             // write out footnotes
             outputWriter.write( "\n" );
             outputWriter.write( "\n" );
 
-            for (int i = 0; i < reportFractions[6].length; i ++) {
-                if (  ! reportFractions[6][i].equals( "" ) ) {
+            for (int i = 0; i < footNotes.length; i ++) {
+                if (  ! footNotes[i].equals( "" ) ) {
                     // strip out footnote letter
-                    String[] footNote = reportFractions[6][i].split( "&" );
+                    String[] footNote = footNotes[i].split( "&" );
                     String footNoteLine = //
                             " " //
                             + footNote[0] //
                             + "  " //
                             + footNote[1] + "\n";
                     outputWriter.write( replaceUnicodes(footNoteLine) );
-                    footNoteStartRow ++;
                 }
             }
 
             outputWriter.write( "\n" );
             outputWriter.write( "\n" );
 
-
             outputWriter.flush();
-            outputWriter.close();
-
-        } catch (IOException iOException) {
         }
-
-//        try {
-//            BrowserControl.displayURL( csvFile.getCanonicalPath() );
-//        } catch (IOException ex) {
-//        }
     }
     
     private static String replaceUnicodes(String text){
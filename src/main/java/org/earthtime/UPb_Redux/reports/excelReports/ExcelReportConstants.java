@@ -39,6 +39,10 @@ public class ExcelReportConstants {
      * 
      */
     protected static final int SHEET_INDEX = 0;
+    /**
+     * rows in an Excel 97-2003 sheet
+     */
+    protected static final int MAX_ROWS_PER_SHEET = 65536;
 
     /** Excel Format Options **/
     protected static final int EXCEL_FONT_SIZE = 10,
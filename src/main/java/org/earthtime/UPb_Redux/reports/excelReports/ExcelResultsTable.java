@@ -23,6 +23,8 @@ package org.earthtime.UPb_Redux.reports.excelReports;
 import java.awt.Frame;
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Vector;
 import javax.swing.JOptionPane;
 import jxl.SheetSettings;
 import jxl.Workbook;
@@ -38,6 +40,9 @@ import jxl.write.WritableSheet;
 import jxl.write.WritableWorkbook;
 import jxl.write.WriteException;
 import org.earthtime.UPb_Redux.filters.XLSFileFilter;
+import org.earthtime.UPb_Redux.fractions.Fraction;
+import org.earthtime.UPb_Redux.reports.ReportRowsWriterI;
+import org.earthtime.UPb_Redux.samples.Sample;
 import org.earthtime.UPb_Redux.utilities.BrowserControl;
 import org.earthtime.utilities.FileHelper;
 
@@ -61,13 +66,7 @@ public final class ExcelResultsTable {
         sampleName = mySampleName;
         reportFractions = myReportFractions;
 
-        File excelFile = FileHelper.AllPlatformSaveAs(
-                new Frame(),
-                "Save Report Table as Excel File: *" + ExcelReportConstants.FILE_EXTENSION,
-                null,
-                ExcelReportConstants.FILE_EXTENSION,
-                sampleName + "_ReportTable" + ExcelReportConstants.FILE_EXTENSION,
-                new XLSFileFilter() );
+        File excelFile = chooseExcelFile();
 
         if ( excelFile != null ) {
             writeExcelReport( excelFile, isNumeric );
@@ -78,30 +77,132 @@ public final class ExcelResultsTable {
         }
     }
 
+    /**
+     * Writes the numeric report of <code>fractions</code> row by row without
+     * building the report table first. Rows beyond the capacity of a sheet
+     * continue on further sheets.
+     *
+     * @param sample
+     * @param fractions
+     * @param sortedColumn
+     * @param sortedColumnDirection
+     */
+    public static void produceExcelResultsTable ( Sample sample, Vector<Fraction> fractions, int sortedColumn, int sortedColumnDirection ) {
 
-    private static void writeExcelReport ( File excelFile, boolean isNumeric ) {
+        sampleName = sample.getSampleName();
+
+        File excelFile = chooseExcelFile();
+
+        if ( excelFile != null ) {
+            try {
+                WritableWorkbook workbook = createWorkbook( excelFile );
+                sample.getReportSettingsModel().writeFractionsNumericStyle(//
+                        sample, fractions, sortedColumn, sortedColumnDirection, //
+                        new ExcelReportRowsWriter( workbook, sampleName, true ) );
+            } catch (IOException iOException) {
+            }
+            try {
+                loadExcelFileAfterCreation( excelFile );
+            } catch (IOException iOException) {
+            }
+        }
+    }
+
+    private static File chooseExcelFile () {
+        return FileHelper.AllPlatformSaveAs(
+                new Frame(),
+                "Save Report Table as Excel File: *" + ExcelReportConstants.FILE_EXTENSION,
+                null,
+                ExcelReportConstants.FILE_EXTENSION,
+                sampleName + "_ReportTable" + ExcelReportConstants.FILE_EXTENSION,
+                new XLSFileFilter() );
+    }
+
+    private static WritableWorkbook createWorkbook ( File excelFile ) throws IOException {
         WorkbookSettings ws = new WorkbookSettings();
         ws.setSuppressWarnings( ExcelReportConstants.SUPPRESS_WARNINGS );
 
+        return Workbook.createWorkbook( excelFile, ws );
+    }
+
+    private static void writeExcelReport ( File excelFile, boolean isNumeric ) {
+
         int firstDataRow = Integer.parseInt( reportFractions[0][0] );
 
-        WritableWorkbook workbook = null;
         try {
-            workbook = Workbook.createWorkbook( excelFile, ws );
-            WritableSheet sheet = workbook.createSheet( ExcelReportConstants.SHEET_NAME,
-                    ExcelReportConstants.SHEET_INDEX );
-            setExcelPrintPageFormat( sheet );
+            ReportRowsWriterI excelWriter = new ExcelReportRowsWriter( createWorkbook( excelFile ), sampleName, isNumeric );
+
+            excelWriter.writeHeaderRows( Arrays.copyOf( reportFractions, firstDataRow ) );
+            for (int row = firstDataRow; row < reportFractions.length; row ++) {
+                excelWriter.writeFractionRow( reportFractions[row] );
+            }
+            excelWriter.finishReport();
 
-            WritableCellFormat cellFormat = new WritableCellFormat();
-            cellFormat.setBorder( Border.BOTTOM, BorderLineStyle.THIN );
-            cellFormat.setWrap( false );
+        } catch (IOException iOException) {
+        }
+
+    }
+
+    // writes each row as it arrives, continuing on a new sheet when one is full
+    private static class ExcelReportRowsWriter implements ReportRowsWriterI {
+
+        // header rows of each sheet precede the first aliquot name
+        private static final int FIRST_ALIQUOT_ROW = 5;
+        // footnotes are separated from the data by this many rows
+        private static final int FOOTNOTE_ROW_OFFSET = 3;
+
+        private final WritableWorkbook workbook;
+        private final String reportSampleName;
+        private final boolean isNumeric;
+        private WritableCellFormat cellFormat;
+        private WritableCellFormat cellFormat2;
+        private String[][] headerRows;
+        private int[] columnWidths;
+        private WritableSheet sheet;
+        private int countOfSheets;
+        private int sheetRow;
+        private String saveAliquotName;
+
+        ExcelReportRowsWriter ( WritableWorkbook workbook, String reportSampleName, boolean isNumeric ) {
+            this.workbook = workbook;
+            this.reportSampleName = reportSampleName;
+            this.isNumeric = isNumeric;
+            this.countOfSheets = 0;
+            this.saveAliquotName = "";
+        }
+
+        @Override
+        public void writeHeaderRows ( String[][] headerRows ) throws IOException {
+            this.headerRows = headerRows;
+            try {
+                cellFormat = new WritableCellFormat();
+                cellFormat.setBorder( Border.BOTTOM, BorderLineStyle.THIN );
+                cellFormat.setWrap( false );
+
+                WritableFont cellFont =
+                        new WritableFont( WritableFont.createFont( ExcelReportConstants.EXCEL_FONT ),
+                        ExcelReportConstants.EXCEL_FONT_SIZE );
+                cellFormat2 = new WritableCellFormat( cellFont );
+                cellFormat2.setAlignment( Alignment.RIGHT );
+
+                addSheet();
+            } catch (WriteException writeException) {
+                throw new IOException( writeException );
+            }
+        }
+
+        private void addSheet () throws WriteException {
+            sheet = workbook.createSheet( ExcelReportConstants.SHEET_NAME + ((countOfSheets > 0) ? " " + (countOfSheets + 1) : ""),
+                    ExcelReportConstants.SHEET_INDEX + countOfSheets );
+            countOfSheets ++;
+            setExcelPrintPageFormat( sheet );
 
             // category titles with bottom border
             String catName = "Fraction";
             String savedCatName = catName;
             // starts after Fraction column = 2
-            for (int c = 3; c < reportFractions[0].length; c ++) {
-                catName = reportFractions[0][c].trim();
+            for (int c = 3; c < headerRows[0].length; c ++) {
+                catName = headerRows[0][c].trim();
                 if (  ! catName.equalsIgnoreCase( savedCatName ) ) {
                     sheet.addCell( new Label( c - 2, 1, catName, cellFormat ) );
                     sheet.mergeCells( c - 2, 1, c - 1, 1 );
@@ -112,123 +213,141 @@ public final class ExcelResultsTable {
             }
 
             // column titles
-            for (int c = 2; c < reportFractions[0].length; c ++) {
-                sheet.addCell( new Label( c - 2, 2, reportFractions[1][c] ) );
-                sheet.addCell( new Label( c - 2, 3, reportFractions[2][c] ) );
+            for (int c = 2; c < headerRows[0].length; c ++) {
+                sheet.addCell( new Label( c - 2, 2, headerRows[1][c] ) );
+                sheet.addCell( new Label( c - 2, 3, headerRows[2][c] ) );
                 // write third header row
-                sheet.addCell( new Label( c - 2, 4, reportFractions[3][c] + " " + /*footnote*/reportFractions[5][c], cellFormat ) );
+                sheet.addCell( new Label( c - 2, 4, headerRows[3][c] + " " + /*footnote*/headerRows[5][c], cellFormat ) );
 
                 // write sample name row = 1 and underlined
                 if ( c == 2 ) {
-                    sheet.addCell( new Label( c - 2, 0, sampleName, cellFormat ) );
+                    sheet.addCell( new Label( c - 2, 0, reportSampleName, cellFormat ) );
                 } else {
                     sheet.addCell( new Label( c - 2, 0, "", cellFormat ) );
                 }
             }
 
-            String saveAliquotName = "";
-
-            // reportRowAdvance accounts for 6 rows of header info
-            int reportRowAdvance = 6 - firstDataRow;
-            // footnotes start with no data and advance as rows are added
-            int footNoteStartRow = firstDataRow;
+            if ( columnWidths != null ) {
+                setColumnWidths();
+            }
 
-            for (int row = firstDataRow - 1; row < reportFractions.length; row ++) {
+            sheetRow = FIRST_ALIQUOT_ROW;
+            // each sheet names its first aliquot
+            saveAliquotName = "";
+        }
 
-                // check whether fraction is included
-                if ( reportFractions[row][0].equalsIgnoreCase( "TRUE" ) ) {
-                    footNoteStartRow ++;
-                    // for each aliquot
-                    if (  ! reportFractions[row][1].equalsIgnoreCase( saveAliquotName ) ) {
-                        saveAliquotName = reportFractions[row][1];
-                        footNoteStartRow ++;
-                        WritableCell writableCell = new Label( 0, row + reportRowAdvance ++, reportFractions[row][1] );
-                        sheet.addCell( writableCell );
+        @Override
+        public void writeFractionRow ( String[] fractionRow ) throws IOException {
+            if ( columnWidths == null ) {
+                // set column widths based on isNumeric and/or first row of data
+                columnWidths = new int[headerRows[0].length];
+                for (int col = 2; col < headerRows[0].length; col ++) {
+                    int colWidth = //
+                            Math.max( headerRows[2][col].trim().length(),
+                            headerRows[3][col].trim().length() );
+                    if ( isNumeric ) {
+                        colWidth = //
+                                Math.max( ExcelReportConstants.STANDARD_COLUMN_WIDTH,
+                                colWidth );
+                    } else {
+                        colWidth = //
+                                Math.max( fractionRow[col].trim().length(),
+                                colWidth );
                     }
+                    columnWidths[col] = colWidth;
+                }
+                setColumnWidths();
+            }
 
-                    // fraction data
-                    WritableFont cellFont =
-                            new WritableFont( WritableFont.createFont( ExcelReportConstants.EXCEL_FONT ),
-                            ExcelReportConstants.EXCEL_FONT_SIZE );
-                    WritableCellFormat cellFormat2 = new WritableCellFormat( cellFont );
-                    cellFormat2.setAlignment( Alignment.RIGHT );
-
-                    WritableCell writableCell = null;
-                    for (int c = 2; c < reportFractions[0].length; c ++) {
-
-                        // decide on number or string contents if c > 2 = data column (2 = fractionID)
-                        // nov 2009 also detect "-" for not appropriate data item
-                        if ( isNumeric &&//
-                                // (c > 2) && //
-                                ( ! reportFractions[row][c].trim().equalsIgnoreCase( "-" )) &&//
-                                ( ! reportFractions[3][c].trim().equalsIgnoreCase( "Fraction" )) ) {
-                            try {
-                                writableCell = //
-                                        new jxl.write.Number(c - 2, row + reportRowAdvance, Double.valueOf(reportFractions[row][c]), cellFormat2);
-                            } catch (NumberFormatException numberFormatException) {
-                                // case of non-number where there should be one
-                                System.out.println("CELL = " + reportFractions[row][c]);
-                                writableCell = //
-                                        new jxl.write.Number(c - 2, row + reportRowAdvance, 0.0);
-                            }
-                        } else {
-                            writableCell = //
-                                    new Label( c - 2, row + reportRowAdvance, reportFractions[row][c], cellFormat2 );
-                        }
-
-                        sheet.addCell( writableCell );
-
-                    }
+            // check whether fraction is included
+            if (  ! fractionRow[0].equalsIgnoreCase( "TRUE" ) ) {
+                return;
+            }
 
-                } else {
-                    reportRowAdvance --;
+            try {
+                // room for this row and perhaps its aliquot name
+                if ( sheetRow + 2 > ExcelReportConstants.MAX_ROWS_PER_SHEET ) {
+                    addSheet();
                 }
-            }
 
-            // set column widths based on isNumeric and/or first row of data
-            // detect column width and then iterate through cells to set as this API has no useful range object
-            for (int col = 2; col < reportFractions[0].length; col ++) {
-                int colWidth = //
-                        Math.max( reportFractions[2][col].trim().length(),
-                        reportFractions[3][col].trim().length() );
-                if ( isNumeric ) {
-                    colWidth = //
-                            Math.max( ExcelReportConstants.STANDARD_COLUMN_WIDTH,
-                            colWidth );
-                } else {
-                    colWidth = //
-                            Math.max( reportFractions[firstDataRow][col].trim().length(),
-                            colWidth );
+                // for each aliquot
+                if (  ! fractionRow[1].equalsIgnoreCase( saveAliquotName ) ) {
+                    saveAliquotName = fractionRow[1];
+                    WritableCell writableCell = new Label( 0, sheetRow ++, fractionRow[1] );
+                    sheet.addCell( writableCell );
                 }
 
-                sheet.setColumnView( col - 2, colWidth + 3 );
-            }
+                // fraction data
+                WritableCell writableCell = null;
+                for (int c = 2; c < headerRows[0].length; c ++) {
+
+                    // decide on number or string contents if c > 2 = data column (2 = fractionID)
+                    // nov 2009 also detect "-" for not appropriate data item
+                    if ( isNumeric &&//
+                            // (c > 2) && //
+                            ( ! fractionRow[c].trim().equalsIgnoreCase( "-" )) &&//
+                            ( ! headerRows[3][c].trim().equalsIgnoreCase( "Fraction" )) ) {
+                        try {
+                            writableCell = //
+                                    new jxl.write.Number(c - 2, sheetRow, Double.valueOf(fractionRow[c]), cellFormat2);
+                        } catch (NumberFormatException numberFormatException) {
+                            // case of non-number where there should be one
+                            System.out.println("CELL = " + fractionRow[c]);
+                            writableCell = //
+                                    new jxl.write.Number(c - 2, sheetRow, 0.0);
+                        }
+                    } else {
+                        writableCell = //
+                                new Label( c - 2, sheetRow, fractionRow[c], cellFormat2 );
+                    }
 
+                    sheet.addCell( writableCell );
 
-            // write out footnotes
-            for (int i = 0; i < reportFractions[6].length; i ++) {
-                if (  ! reportFractions[6][i].equals( "" ) ) {
-                    // strip out footnote letter
-                    String[] footNote = reportFractions[6][i].split( "&" );
-                    String footNoteLine = //
-                            " " //
-                            + footNote[0] //
-                            + "  " //
-                            + footNote[1];
-                    sheet.addCell( new Label( 0, footNoteStartRow ++, footNoteLine ) );
                 }
+                sheetRow ++;
+            } catch (WriteException writeException) {
+                throw new IOException( writeException );
             }
-            workbook.write();
+        }
 
+        private void setColumnWidths () {
+            // detect column width and then iterate through cells to set as this API has no useful range object
+            for (int col = 2; col < columnWidths.length; col ++) {
+                sheet.setColumnView( col - 2, columnWidths[col] + 3 );
+            }
+        }
 
+        @Override
+        public void finishReport () throws IOException {
+            try {
+                String[] footNotes = headerRows[6];
+                int footNoteRow = sheetRow + FOOTNOTE_ROW_OFFSET;
+                if ( footNoteRow + footNotes.length > ExcelReportConstants.MAX_ROWS_PER_SHEET ) {
+                    addSheet();
+                    footNoteRow = sheetRow;
+                }
 
-            workbook.close();
+                // write out footnotes
+                for (int i = 0; i < footNotes.length; i ++) {
+                    if (  ! footNotes[i].equals( "" ) ) {
+                        // strip out footnote letter
+                        String[] footNote = footNotes[i].split( "&" );
+                        String footNoteLine = //
+                                " " //
+                                + footNote[0] //
+                                + "  " //
+                                + footNote[1];
+                        sheet.addCell( new Label( 0, footNoteRow ++, footNoteLine ) );
+                    }
+                }
+                workbook.write();
 
+                workbook.close();
 
-        } catch (IOException iOException) {
-        } catch (WriteException writeException) {
+            } catch (WriteException writeException) {
+                throw new IOException( writeException );
+            }
         }
-
     }
 
     private static void setExcelPrintPageFormat ( WritableSheet sheet ) {
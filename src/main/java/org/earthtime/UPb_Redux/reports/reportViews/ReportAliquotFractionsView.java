@@ -25,6 +25,7 @@ import java.awt.Font;
 import java.awt.Frame;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
@@ -49,7 +50,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.Vector;
 import javax.swing.JButton;
 import javax.swing.JDialog;
 import javax.swing.JLayeredPane;
@@ -76,6 +80,7 @@ import org.earthtime.UPb_Redux.fractions.Fraction;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFraction;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFractionI;
 import org.earthtime.UPb_Redux.reports.ReportRowGUIInterface;
+import org.earthtime.UPb_Redux.reports.ReportSettings;
 import org.earthtime.UPb_Redux.samples.Sample;
 import org.earthtime.UPb_Redux.utilities.BrowserControl;
 import org.earthtime.UPb_Redux.utilities.comparators.IntuitiveStringComparator;
@@ -126,6 +131,16 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
      */
     private int leftMargin = 5;
     private int fractionButtonMargin = 20;
+    // oct 2026 the rows are laid out when reportFractions changes so that painting
+    // visits only the rows in view; rowOffsets[i] is where data row i starts below the
+    // header, and the last entry is the height of all rows
+    private int[] rowOffsets = new int[]{0};
+    private boolean[] rowStartsAliquot = new boolean[0];
+    private Fraction[] rowFractions = new Fraction[0];
+    private Aliquot[] rowAliquots = new Aliquot[0];
+    private ArrayList<TableRowObject> verticalPixelFractionMap = new ArrayList<>();
+    // sort keys by column and row, parsed once per row rather than per comparison
+    private final Map<Integer, Map<String[], Object>> sortKeysByColumn = new HashMap<>();
 
     /**
      *
@@ -174,7 +189,9 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
             reportFractions = sample.reportRejectedFractionsByNumberStyle(false);
         }
 
-        sortReportColumn(reportFractions, sortedColumnNumber, sortedColumnDirection);
+        sortKeysByColumn.clear();
+        sortReportColumn(reportFractions, sortedColumnNumber, sortedColumnDirection, sortKeysOfColumn(sortedColumnNumber));
+        layoutReportRows();
     }
 
     /**
@@ -183,17 +200,157 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
      */
     @Override
     public void updateReportTable(boolean performReduction) {
+        // the parent frame prepares this view again along with the other report views
         parentFrame.updateReportTable(performReduction);
-        prepareReportFractionsArrayForDisplay();
-        reSizeSortButtons();
         repaint();
     }
 
+    /**
+     * Brings the row of <code>fraction</code> up to date in place, adding or
+     * removing it as its rejected status requires, rather than rebuilding the
+     * report table.
+     *
+     * @param fraction
+     * @return false if the change alters more than this row and the view must
+     * be prepared again
+     */
+    public synchronized boolean updateReportTableRow(Fraction fraction) {
+        if ((sample == null) || (reportFractions.length == 0) || (upperLeftCorner == null)) {
+            return false;
+        }
+
+        // an empty table is laid out from its headings
+        int fractionDataStartRow = Integer.parseInt(reportFractions[0][0]);
+        if (reportFractions.length <= fractionDataStartRow) {
+            return false;
+        }
+        Vector<Fraction> viewFractions = activeTrueRejectsFalse ? sample.getUpbFractionsActive() : sample.getUpbFractionsRejected();
+        ReportSettings reportSettings = sample.getReportSettingsModel();
+
+        String[] fractionRow = null;
+        if (viewFractions.contains(fraction)) {
+            fractionRow = reportSettings.reportFractionRowAsInTable(sample, viewFractions, fraction, reportFractions, false);
+            if (fractionRow == null) {
+                return false;
+            }
+        } else if (viewFractions.isEmpty() || !reportSettings.isReportTableHeadingCurrent(sample, viewFractions, reportFractions, false)) {
+            return false;
+        }
+
+        ArrayList<String[]> rows = new ArrayList<>(Arrays.asList(reportFractions));
+        String[] replacedRow = null;
+        for (int i = 0; i < rowFractions.length; i++) {
+            if (rowFractions[i] == fraction) {
+                replacedRow = rows.remove(fractionDataStartRow + i);
+                break;
+            }
+        }
+
+        if (fractionRow != null) {
+            // rows are grouped by aliquot, so the row joins the end of its aliquot
+            int insertionRow = -1;
+            for (int row = fractionDataStartRow; row < rows.size(); row++) {
+                if (rows.get(row)[1].equalsIgnoreCase(fractionRow[1])) {
+                    insertionRow = row + 1;
+                }
+            }
+            if (insertionRow < 0) {
+                return false;
+            }
+            rows.add(insertionRow, fractionRow);
+        }
+
+        if (rows.size() <= fractionDataStartRow) {
+            return false;
+        }
+
+        String[][] updatedReportFractions = rows.toArray(new String[rows.size()][]);
+        sortReportColumn(updatedReportFractions, sortedColumnNumber, sortedColumnDirection, sortKeysOfColumn(sortedColumnNumber));
+
+        // column widths are taken from the first row
+        for (int c = 2; c < reportFractions[0].length; c++) {
+            if (reportFractions[fractionDataStartRow][c].length() != updatedReportFractions[fractionDataStartRow][c].length()) {
+                return false;
+            }
+        }
+
+        if (replacedRow != null) {
+            for (Map<String[], Object> sortKeys : sortKeysByColumn.values()) {
+                sortKeys.remove(replacedRow);
+            }
+        }
+
+        reportFractions = updatedReportFractions;
+        layoutReportRows();
+
+        reportFractionIDs.setPreferredSize(new Dimension(fractionColumnWidth, reportBodyHeight()));
+        reportBody.setPreferredSize(new Dimension(reportWidth - fractionColumnWidth + fractionButtonMargin, reportBodyHeight()));
+        reportFractionIDsScrollPane.revalidate();
+        reportBodyScrollPane.revalidate();
+        repaint();
+
+        return true;
+    }
+
+    private Map<String[], Object> sortKeysOfColumn(int columnNumber) {
+        return sortKeysByColumn.computeIfAbsent(columnNumber, (Integer column) -> new IdentityHashMap<>());
+    }
+
+    // the position of each data row and the fraction or aliquot each row or aliquot heading shows
+    private void layoutReportRows() {
+        int fractionDataStartRow = (reportFractions.length > 0) ? Integer.parseInt(reportFractions[0][0]) : 0;
+        int countOfRows = Math.max(0, reportFractions.length - fractionDataStartRow);
+
+        rowOffsets = new int[countOfRows + 1];
+        rowStartsAliquot = new boolean[countOfRows];
+        rowFractions = new Fraction[countOfRows];
+        rowAliquots = new Aliquot[countOfRows];
+        verticalPixelFractionMap = new ArrayList<>();
+
+        Map<String, Fraction> fractionsByID = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (sample != null) {
+            for (Fraction f : sample.getUPbFractions()) {
+                fractionsByID.putIfAbsent(f.getFractionID(), f);
+            }
+        }
+
+        int topMargin = -2;
+        int drawnHeight = 0;
+        String saveAliquotName = "";
+        for (int i = 0; i < countOfRows; i++) {
+            String[] reportRow = reportFractions[fractionDataStartRow + i];
+            rowOffsets[i] = drawnHeight;
+
+            if (!reportRow[1].equalsIgnoreCase(saveAliquotName)) {
+                saveAliquotName = reportRow[1];
+                rowStartsAliquot[i] = true;
+                if (sample != null) {
+                    rowAliquots[i] = sample.getAliquotByName(reportRow[1].trim());
+                    verticalPixelFractionMap.add(new TableRowObject(drawnHeight + topMargin + lineHeight + 1, rowAliquots[i]));
+                }
+                drawnHeight += lineHeight + 5;
+            }
+
+            if (sample != null) {
+                rowFractions[i] = fractionsByID.get(reportRow[2].trim());
+                verticalPixelFractionMap.add(new TableRowObject(drawnHeight + topMargin + lineHeight + 1, rowFractions[i]));
+            }
+            drawnHeight += lineHeight;
+        }
+        rowOffsets[countOfRows] = drawnHeight;
+    }
+
+    private int reportBodyHeight() {
+        return (reportFractions.length + aliquotCount * 2) * lineHeight + 150;
+    }
+
     /**
      * @param reportFractions the reportFractions to set
      */
     public void setReportFractions(String[][] reportFractions) {
         this.reportFractions = reportFractions;
+        sortKeysByColumn.clear();
+        layoutReportRows();
     }
 
     /**
@@ -407,7 +564,7 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
         reportFractionIDs.setBackground(Color.white);
         reportFractionIDs.setOpaque(true);
         reportFractionIDs.setPreferredSize(new Dimension(//
-                fractionColumnWidth, (reportFractions.length + aliquotCount * 2) * lineHeight + 150));
+                fractionColumnWidth, reportBodyHeight()));
 
         reportFractionIDsScrollPane = new JScrollPane(reportFractionIDs);
         reportFractionIDsScrollPane.setBorder(null);
@@ -438,7 +595,7 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
         reportBody.setOpaque(true);
         reportBody.setPreferredSize(new Dimension(//
                 reportWidth - fractionColumnWidth + fractionButtonMargin, //
-                (reportFractions.length + aliquotCount * 2) * lineHeight + 150));
+                reportBodyHeight()));
 
         reportBodyScrollPane = new JScrollPane(reportBody);
         reportBodyScrollPane.setBorder(null);
@@ -502,7 +659,8 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
             }
 
             sortedColumnNumber = columnNumber;
-            sortReportColumn(getReportFractions(), columnNumber, sortedColumnDirection);
+            sortReportColumn(getReportFractions(), columnNumber, sortedColumnDirection, sortKeysOfColumn(columnNumber));
+            layoutReportRows();
             repaint();
         }
     }
@@ -517,15 +675,39 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
             final String[][] reportFractions, //
             final int columnNumber, //
             final int sortedColumnDirection) {
+        sortReportColumn(reportFractions, columnNumber, sortedColumnDirection, new IdentityHashMap<>());
+    }
+
+    /**
+     * Sorts the fractions of each aliquot by <code>columnNumber</code>, parsing
+     * the sort key of a row only if <code>sortKeys</code> does not hold it.
+     *
+     * @param reportFractions
+     * @param columnNumber
+     * @param sortedColumnDirection
+     * @param sortKeys the keys of <code>columnNumber</code> by row, kept
+     * across sorts of the same rows
+     */
+    public static void sortReportColumn( //
+            final String[][] reportFractions, //
+            final int columnNumber, //
+            final int sortedColumnDirection, //
+            final Map<String[], Object> sortKeys) {
         int fractionDataStartRow = Integer.parseInt(reportFractions[0][0]);
 
-        String[][] reportFractionsSorted = new String[reportFractions.length - fractionDataStartRow][reportFractions[0].length];
-        for (int i = 0; i < reportFractionsSorted.length; i++) {
-            for (int j = 0; j < reportFractionsSorted[i].length; j++) {
-                reportFractionsSorted[i][j] = reportFractions[i + fractionDataStartRow][j];
-            }
+        String[][] reportFractionsSorted = new String[reportFractions.length - fractionDataStartRow][];
+        if (reportFractionsSorted.length < 2) {
+            return;
+        }
+        System.arraycopy(reportFractions, fractionDataStartRow, reportFractionsSorted, 0, reportFractionsSorted.length);
+
+        // entry1[1] is aliquot name and entry1[2] is fraction name or columnNumber is for secondary Fraction column
+        final boolean sortsByFractionName = (columnNumber == 2) || reportFractions[0][columnNumber].trim().equalsIgnoreCase("Fraction");
+        for (String[] entry : reportFractionsSorted) {
+            sortKeys.computeIfAbsent(entry, (String[] row) -> determineSortKey(row, columnNumber, sortsByFractionName));
         }
 
+        final Comparator<String> forNoah = new IntuitiveStringComparator<String>();
         Arrays.sort(reportFractionsSorted, new Comparator<String[]>() {
             @Override
             public int compare(final String[] entry1, final String[] entry2) {
@@ -534,49 +716,21 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
                 // aliquots have been ordered in manager by number regardless of name
                 // so these sorts are within each aliquot
                 // compare aliquot name
-                // entry1[1] is aliquot name and entry1[2] is fraction name or columnNumber is for secondary Fraction column
                 if (entry1[1].trim().equalsIgnoreCase(entry2[1].trim())) {
-                    if ((columnNumber == 2) || reportFractions[0][columnNumber].trim().equalsIgnoreCase("Fraction")) {
+                    Object field1 = sortKeys.get(entry1);
+                    Object field2 = sortKeys.get(entry2);
 
-                        String field1;
-                        try {
-                            field1 = entry1[columnNumber].trim();
-                        } catch (Exception e) {
-                            field1 = "";
-                        }
-                        String field2;
-                        try {
-                            field2 = entry2[columnNumber].trim();
-                        } catch (Exception e) {
-                            field2 = "";
-                        }
-                        Comparator<String> forNoah = new IntuitiveStringComparator<String>();
+                    if (sortsByFractionName) {
                         if (sortedColumnDirection == 1) {
-                            retVal = forNoah.compare(field1, field2);
+                            retVal = forNoah.compare((String) field1, (String) field2);
                         } else {
-                            retVal = forNoah.compare(field2, field1);
+                            retVal = forNoah.compare((String) field2, (String) field1);
                         }
-
                     } else {
-
-                        BigDecimal field1;
-                        try {
-                            field1 = new BigDecimal(entry1[columnNumber].trim());
-                        } catch (Exception e) {
-                            field1 = BigDecimal.ZERO;
-                        }
-
-                        BigDecimal field2;
-                        try {
-                            field2 = new BigDecimal(entry2[columnNumber].trim());
-                        } catch (Exception e) {
-                            field2 = BigDecimal.ZERO;
-                        }
-
                         if (sortedColumnDirection == 1) {
-                            retVal = field1.compareTo(field2);
+                            retVal = ((BigDecimal) field1).compareTo((BigDecimal) field2);
                         } else {
-                            retVal = field2.compareTo(field1);
+                            retVal = ((BigDecimal) field2).compareTo((BigDecimal) field1);
                         }
                     }
                 } //            }
@@ -591,6 +745,27 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
         System.arraycopy(reportFractionsSorted, 0, reportFractions, fractionDataStartRow, reportFractionsSorted.length);
     }
 
+    // the trimmed fraction name, or the value of a numeric column with zero for blanks
+    private static Object determineSortKey(String[] entry, int columnNumber, boolean sortsByFractionName) {
+        String field;
+        try {
+            field = entry[columnNumber].trim();
+        } catch (Exception e) {
+            field = "";
+        }
+
+        Object retVal = field;
+        if (!sortsByFractionName) {
+            try {
+                retVal = new BigDecimal(field);
+            } catch (NumberFormatException e) {
+                retVal = BigDecimal.ZERO;
+            }
+        }
+
+        return retVal;
+    }
+
     /**
      * @return the displayMessage
      */
@@ -652,7 +827,6 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
         private final ReportUpdaterInterface parent;
         private final boolean showFractions;
         private final String paintType; // "BOTH", "HEADER", "BODY", "FRACTION", "FRACTION_HEADER"
-        private ArrayList<TableRowObject> verticalPixelFractionMap;
         private TableRowObject lastSelectedTableRowObject;
 
         public ReportPainter(ReportUpdaterInterface parent, String paintType, boolean showFractions) {
@@ -661,7 +835,6 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
             this.paintType = paintType;
             this.showFractions = showFractions;
 
-            verticalPixelFractionMap = new ArrayList<TableRowObject>();
             this.lastSelectedTableRowObject = new TableRowObject(0, new UPbFraction());
 
             setOpaque(true);
@@ -689,8 +862,6 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
          */
         public void paint(Graphics2D g2D) {
 
-            verticalPixelFractionMap = new ArrayList<>();
-
             RenderingHints rh = g2D.getRenderingHints();
             rh.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
             rh.put(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
@@ -856,11 +1027,25 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
                                 12,
                                 (drawnHeight + topMargin + lineHeight));
                     } else {
-                        String saveAliquotName = "";
+                        // oct 2026 paint only the rows that intersect the clip, except when painting to file
+                        int rowsTop = drawnHeight;
+                        int firstRow = 0;
+                        int lastRow = rowStartsAliquot.length - 1;
+                        Rectangle clip = g2D.getClipBounds();
+                        if ((clip != null) && !paintType.equalsIgnoreCase("BOTH")) {
+                            firstRow = Math.max(0, rowAtOffset(clip.y - rowsTop - lineHeight) - 1);
+                            lastRow = Math.min(lastRow, rowAtOffset(clip.y + clip.height - rowsTop + lineHeight) + 1);
+                        }
+                        if ((firstRow > 0) && (paintType.equalsIgnoreCase("BODY") || paintType.equalsIgnoreCase("BOTH"))) {
+                            // as set on reaching the first aliquot
+                            leftMargin = 3;
+                        }
 
-                        int grayRow = 0;
+                        int grayRow = firstRow;
 
-                        for (int row = fractionDataStartRow; row < getReportFractions().length; row++) {
+                        for (int i = firstRow; i <= lastRow; i++) {
+                            int row = fractionDataStartRow + i;
+                            drawnHeight = rowsTop + rowOffsets[i];
                             drawnWidth = leftMargin;
 
                             // april 2012 reportFractions will contain only accepted OR rejected, thus here check for printing fractions
@@ -868,9 +1053,7 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
                             if (showFractions) {
                                 grayRow++;
                                 // for each aliquot
-                                if (!reportFractions[row][1].equalsIgnoreCase(saveAliquotName)) {
-                                    saveAliquotName = getReportFractions()[row][1];
-
+                                if (rowStartsAliquot[i]) {
                                     g2D.setColor(ReduxConstants.myAliquotGrayColor);
 
                                     g2D.fillRect(0, drawnHeight + 2 + topMargin + 0, reportWidth - 1, lineHeight + 2);
@@ -884,13 +1067,9 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
                                                 drawnHeight + topMargin + lineHeight);
                                     }
 
-                                    // build map of row to fraction objects and aliquot objects
+                                    // the map of row to fraction objects and aliquot objects is built by layoutReportRows
                                     if ((sample != null) && paintType.equalsIgnoreCase("FRACTION")) {
-                                        Aliquot aliquot = sample.getAliquotByName(getReportFractions()[row][1].trim());
-                                        verticalPixelFractionMap.add( //
-                                                new TableRowObject( //
-                                                        drawnHeight + topMargin + lineHeight + 1,//
-                                                        aliquot));
+                                        Aliquot aliquot = rowAliquots[i];
 
                                         if (((ReportRowGUIInterface) aliquot).isSelectedInDataTable()) {
                                             // dec 2011 give some button characteristics for selected aliquot 
@@ -927,22 +1106,13 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
                                     columnStart = 3;
                                 }
 
-                                // build map of row to fraction objects and aliquot objects
                                 if ((sample != null) && paintType.equalsIgnoreCase("FRACTION")) {
                                     // april 2012
                                     //right shift text in fraction column to allow for fractionButtonMargin
                                     drawnWidth += fractionButtonMargin;
 
-                                    Fraction fraction = null;
+                                    Fraction fraction = rowFractions[i];
                                     try {
-                                        fraction = sample.getFractionByID(getReportFractions()[row][2].trim());
-                                        verticalPixelFractionMap.add( //
-                                                new TableRowObject( //
-                                                        drawnHeight + topMargin + lineHeight + 1,//
-                                                        fraction));
-//                                    } catch (Exception e) {
-//                                    }
-
                                         if (((ReportRowGUIInterface) fraction).isSelectedInDataTable()) {
                                             // dec 2011 give some button characteristics for selected fraction 
                                             g2D.setColor(Color.red);
@@ -1020,6 +1190,7 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
                             }
                         }
 
+                        drawnHeight = rowsTop + rowOffsets[rowOffsets.length - 1];
                     }
 
                     // list out footnotes
@@ -1083,7 +1254,11 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
 
                             ((UPbFractionI) verticalPixelFractionMap.get(row).rowObject).setRejected(//
                                     !((UPbFractionI) verticalPixelFractionMap.get(row).rowObject).isRejected());
-                            parent.updateReportTable(false);
+                            // oct 2026 moves just this row between the active and rejected views
+                            sample.deselectAllFractions();
+                            lastSelectedTableRowObject = new TableRowObject(-1, lastSelectedTableRowObject.rowObject);
+                            parentFrame.updateReportTableForFraction((Fraction) fractionOrAliquot);
+                            repaint();
                         }
                     }
 
@@ -1185,6 +1360,15 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
             }
         }
 
+        // the index of the last row starting at or above offset
+        private int rowAtOffset(int offset) {
+            int retVal = Arrays.binarySearch(rowOffsets, 0, rowOffsets.length - 1, offset);
+            if (retVal < 0) {
+                retVal = -retVal - 2;
+            }
+            return Math.max(0, retVal);
+        }
+
         private void repaintTableRowElementButtonArea(TableRowObject tableRowObject) {
             repaint(0, tableRowObject.bottomPixelCount - lineHeight + 2, getWidth(), lineHeight + 3);
         }
@@ -24,6 +24,7 @@ import javax.swing.JTabbedPane;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 import org.earthtime.ETReduxFrame;
+import org.earthtime.UPb_Redux.fractions.Fraction;
 import org.earthtime.UPb_Redux.reports.ReportSettings;
 import org.earthtime.UPb_Redux.samples.Sample;
 import org.earthtime.exceptions.ETException;
@@ -118,13 +119,36 @@ public class TabbedReportViews extends JTabbedPane {
     public void refreshTabs() {
         if (sample != null) {
             ((ReportAliquotFractionsView) viewTabulatedAliquotActiveFractions).refreshPanel();
-            this.setTitleAt(0, "Active Fractions (" + Integer.toString(((ReportAliquotFractionsView) viewTabulatedAliquotActiveFractions).getReportFractions().length - ReportSettings.FRACTION_DATA_START_ROW) + ")");
-
             ((ReportAliquotFractionsView) viewTabulatedAliquotRejectedFractions).refreshPanel();
-            this.setTitleAt(1, "Rejected Fractions (" + Integer.toString(((ReportAliquotFractionsView) viewTabulatedAliquotRejectedFractions).getReportFractions().length - ReportSettings.FRACTION_DATA_START_ROW) + ")");
+            refreshTabTitles();
         }
     }
 
+    /**
+     * Updates the row of <code>fraction</code> in both views without
+     * preparing them again.
+     *
+     * @param fraction
+     * @return false if the views must be prepared again with
+     * <code>prepareTabs</code>
+     */
+    public boolean updateFractionRows(Fraction fraction) {
+        boolean retVal = (sample != null)//
+                && ((ReportAliquotFractionsView) viewTabulatedAliquotActiveFractions).updateReportTableRow(fraction)//
+                && ((ReportAliquotFractionsView) viewTabulatedAliquotRejectedFractions).updateReportTableRow(fraction);
+
+        if (retVal) {
+            refreshTabTitles();
+        }
+
+        return retVal;
+    }
+
+    private void refreshTabTitles() {
+        this.setTitleAt(0, "Active Fractions (" + Integer.toString(((ReportAliquotFractionsView) viewTabulatedAliquotActiveFractions).getReportFractions().length - ReportSettings.FRACTION_DATA_START_ROW) + ")");
+        this.setTitleAt(1, "Rejected Fractions (" + Integer.toString(((ReportAliquotFractionsView) viewTabulatedAliquotRejectedFractions).getReportFractions().length - ReportSettings.FRACTION_DATA_START_ROW) + ")");
+    }
+
     /**
      * @param sample the sample to set
      */
@@ -36,6 +36,7 @@ import org.earthtime.XMLExceptions.BadOrMissingXMLSchemaException;
 import org.earthtime.exceptions.ETException;
 import org.earthtime.archivingTools.URIHelper;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 
 /**
  *
@@ -158,9 +159,13 @@ public class SESARSampleMetadata
      * @return  <code>XStream</code> - for XML serialization encoding
      */
     public XStream getXStreamWriter() {
-        XStream xstream = new XStream();
+        XStream xstream = XStreamRegistry.getXStream(getClass(), XStreamRegistry.WRITER, () -> {
+            XStream configured = new XStream();
+            customizeXstream(configured);
+            return configured;
+        });
 
-        customizeXstream(xstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -174,10 +179,13 @@ public class SESARSampleMetadata
      * @return  <code>XStream</code> - for XML serialization decoding
      */
     public XStream getXStreamReader() {
+        XStream xstream = XStreamRegistry.getXStream(getClass(), XStreamRegistry.READER, () -> {
+            XStream configured = new XStream(new DomDriver());
+            customizeXstream(configured);
+            return configured;
+        });
 
-        XStream xstream = new XStream(new DomDriver());
-
-        customizeXstream(xstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
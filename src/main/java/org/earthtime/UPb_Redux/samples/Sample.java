@@ -24,12 +24,18 @@ import java.awt.Frame;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Vector;
 import java.util.logging.Level;
@@ -65,6 +71,8 @@ import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbLegacyFraction;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.fractionReduction.UPbFractionReducer;
 import org.earthtime.UPb_Redux.reduxLabData.ReduxLabData;
 import org.earthtime.UPb_Redux.reports.ReportSettings;
+import org.earthtime.UPb_Redux.user.ReduxPersistentState;
+import org.earthtime.UPb_Redux.user.ReduxPreferences;
 import org.earthtime.UPb_Redux.user.SampleDateInterpretationGUIOptions;
 import org.earthtime.UPb_Redux.utilities.ETSerializer;
 import org.earthtime.UPb_Redux.valueModels.SampleDateInterceptModel;
@@ -100,6 +108,9 @@ public class Sample implements
      * identifies object in binary serialization
      */
     private static final long serialVersionUID = 1691080926513942156L;
+    // oct 2026 failed fraction files named in the one warning after an import
+    private static final int MAXIMUM_FAILED_IMPORTS_LISTED = 20;
+
     /**
      * used to flag current execution of saving dialog to prevent multiple
      * windows from being opened at the same time. Implemented for
@@ -1261,35 +1272,11 @@ public class Sample implements
                     null, "Cannot import " + fractionFile.getName());
         }
         if (!badFile) {
-            if (validateSampleName
-                    && !((UPbFraction) fractionFromFile).getSampleName().equalsIgnoreCase(getSampleName())) {
-                throw new ETException(
-                        null,
-                        new String[]{"The sample name: " + ((UPbFraction) fractionFromFile).getSampleName() + "\n",
-                            "specified in the Fraction File:\n",
-                            fractionFile.getName() + "\n",
-                            "differs from the open Sample's name: " + getSampleName() + ".\n",
-                            "\nPlease correct the discrepancy and try again."
-                        });
-            }// else {
-            Fraction existingFraction = getFractionByID(fractionFromFile.getFractionID());
-            if (existingFraction == null) {
-                System.out.println("New UPbReduxFraction");
-                // AUG 2011 moved this improved logic here from readXMLFraction
-                if (((UPbFraction) fractionFromFile).getTracer() == null) {
-                    ((UPbFraction) fractionFromFile)//
-                            .setTracer(((UPbFraction) fractionFromFile).getMyLabData().getNoneTracer());
-                }
-                addUPbFraction(fractionFromFile);
-            } else {
-                System.out.println("Existing Fraction = " + existingFraction.getFractionID() + " updating type = " + ((UPbFraction) fractionFromFile).getRatioType());
-                boolean didUpdate
-                        = ((UPbFraction) existingFraction).updateUPbFraction(fractionFromFile, isFractionDataOverriddenOnImport());
-
-                setChanged(didUpdate);
+            try {
+                addXMLFraction(fractionFile, fractionFromFile, validateSampleName);
+            } catch (ETException ex) {
+                throw new ETException(null, ex.getMessage());
             }
-
-            //  }
         } else {
             // do nothing
         }
@@ -1298,6 +1285,103 @@ public class Sample implements
         return ((UPbFraction) fractionFromFile).getSampleName();
     }
 
+    /**
+     * adds the <code>Fraction</code> read from <code>fractionFile</code> to
+     * this <code>Sample</code> or updates the existing <code>Fraction</code>
+     * with the same ID.
+     *
+     * @param fractionFile
+     * @param fractionFromFile
+     * @param validateSampleName
+     * @throws ETException without showing a warning if the file names another
+     * sample
+     * @throws BadLabDataException
+     */
+    private void addXMLFraction(File fractionFile, Fraction fractionFromFile, boolean validateSampleName)
+            throws ETException, BadLabDataException {
+
+        if (validateSampleName
+                && !((UPbFraction) fractionFromFile).getSampleName().equalsIgnoreCase(getSampleName())) {
+            throw new ETException(
+                    "The sample name: " + ((UPbFraction) fractionFromFile).getSampleName() + "\n"
+                    + "specified in the Fraction File:\n"
+                    + fractionFile.getName() + "\n"
+                    + "differs from the open Sample's name: " + getSampleName() + ".\n"
+                    + "\nPlease correct the discrepancy and try again.");
+        }
+
+        Fraction existingFraction = getFractionByID(fractionFromFile.getFractionID());
+        if (existingFraction == null) {
+            System.out.println("New UPbReduxFraction");
+            // AUG 2011 moved this improved logic here from readXMLFraction
+            if (((UPbFraction) fractionFromFile).getTracer() == null) {
+                ((UPbFraction) fractionFromFile)//
+                        .setTracer(((UPbFraction) fractionFromFile).getMyLabData().getNoneTracer());
+            }
+            addUPbFraction(fractionFromFile);
+        } else {
+            System.out.println("Existing Fraction = " + existingFraction.getFractionID() + " updating type = " + ((UPbFraction) fractionFromFile).getRatioType());
+            boolean didUpdate
+                    = ((UPbFraction) existingFraction).updateUPbFraction(fractionFromFile, isFractionDataOverriddenOnImport());
+
+            setChanged(didUpdate);
+        }
+    }
+
+    /**
+     * reads the fraction files on a pool of worker threads and adds their
+     * <code>Fractions</code> to the <code>Aliquot</code> specified by
+     * <code>aliquotNumber</code> in file order on this thread, then warns once
+     * about every file that could not be imported.
+     *
+     * @param fractionFiles
+     * @param aliquotNumber
+     * @param doValidate
+     * @return count of files imported
+     */
+    private int importXMLFractionFiles(List<File> fractionFiles, int aliquotNumber, boolean doValidate) {
+        int[] countOfImported = new int[]{0};
+
+        List<String> failures = new SampleImportPipeline<File, UPbFraction>(0).importSources(//
+                fractionFiles,
+                File::getName,
+                (File fractionFile) -> {
+                    // the fraction read into draws on the lab data, so it is made here
+                    UPbFraction fractionReadInto = new UPbFraction("NONE");
+                    return () -> fractionReadInto.importXMLFraction(fractionFile.getCanonicalPath(), aliquotNumber, doValidate);
+                },
+                (File fractionFile, UPbFraction fractionFromFile) -> {
+                    try {
+                        addXMLFraction(fractionFile, fractionFromFile, true);
+                    } catch (BadLabDataException badLabDataException) {
+                        throw new ETException(badLabDataException.getMessage());
+                    }
+                    countOfImported[0]++;
+                });
+
+        if (!failures.isEmpty()) {
+            warnOfFailedImports(failures);
+        }
+
+        return countOfImported[0];
+    }
+
+    private static void warnOfFailedImports(List<String> failures) {
+        List<String> warning = new ArrayList<>();
+        warning.add("These files could not be imported:\n\n");
+        for (int i = 0; i < Math.min(failures.size(), MAXIMUM_FAILED_IMPORTS_LISTED); i++) {
+            warning.add(failures.get(i) + "\n");
+        }
+        if (failures.size() > MAXIMUM_FAILED_IMPORTS_LISTED) {
+            warning.add("... and " + (failures.size() - MAXIMUM_FAILED_IMPORTS_LISTED) + " more.");
+        }
+
+        JOptionPane.showMessageDialog(null,
+                warning.toArray(new String[warning.size()]),
+                "ET Redux Warning",
+                JOptionPane.WARNING_MESSAGE);
+    }
+
     /**
      * retrieves the <code>Fraction</code> specified by argument <code>ID</code>
      * from this <code>Sample</code>'s set of <code>Fractions</code>.
@@ -1440,53 +1524,83 @@ public class Sample implements
                 "U-Pb_Redux for Geochron", 1);
 
         if (aliquotIGSNs != null) {
-            String aliquotList[] = aliquotIGSNs.split(",");
-            for (int i = 0; i < aliquotList.length; i++) {
-                String aliquotIGSN = aliquotList[i].trim();
-                if (aliquotIGSN.length() > 0) {
-                    retval += retrieveGeochronAliquotFile(aliquotIGSN) + "\n";
+            List<String> aliquotList = new ArrayList<>();
+            for (String aliquotIGSN : aliquotIGSNs.split(",")) {
+                if (aliquotIGSN.trim().length() > 0) {
+                    aliquotList.add(aliquotIGSN.trim());
                 }
             }
+
+            // oct 2026 aliquots are downloaded in parallel, then read and added here in the order given
+            StringBuilder found = new StringBuilder();
+            List<String> failures = new SampleImportPipeline<String, File>(0).importSources(//
+                    aliquotList,
+                    (String aliquotIGSN) -> aliquotIGSN,
+                    (String aliquotIGSN) -> {
+                        String downloadURL = geochronAliquotDownloadURL(aliquotIGSN);
+                        return () -> downloadGeochronAliquotFile(downloadURL, aliquotIGSN);
+                    },
+                    (String aliquotIGSN, File aliquotFile) -> {
+                        found.append(processGeochronAliquotFile(aliquotIGSN, aliquotFile)).append("\n");
+                    });
+
+            retval += found.toString();
+            for (String failure : failures) {
+                retval += "Missing (or private) aliquot: " + failure + "\n";
+            }
         }
 
         return retval;
     }
 
-    private String retrieveGeochronAliquotFile(String aliquotIGSN) {
-        Aliquot myDownAliquot = new UPbReduxAliquot();
-
+    private String geochronAliquotDownloadURL(String aliquotIGSN) {
         String userName = ((ETReduxFrame) parentFrame).getMyState().getReduxPreferences().getGeochronUserName();
         String password = ((ETReduxFrame) parentFrame).getMyState().getReduxPreferences().getGeochronPassWord();
 
-        String downloadURL = //
+        return //
                 "http://www.geochron.org/getxml.php?igsn="//
                 + aliquotIGSN.toUpperCase().trim()//
                 + "&username="//
                 + userName//
                 + "&password="//
                 + password;
+    }
+
+    // runs on a worker thread and so shows no warnings
+    private static File downloadGeochronAliquotFile(String downloadURL, String aliquotIGSN)
+            throws IOException {
+        File aliquotFile = File.createTempFile("GeochronDownloadOfAliquot_" + aliquotIGSN.toUpperCase().trim() + "_", ".xml");
+        aliquotFile.deleteOnExit();
+
+        try (InputStream aliquotStream = new URL(downloadURL).openStream()) {
+            Files.copy(aliquotStream, aliquotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            aliquotFile.delete();
+            throw ex;
+        }
+
+        return aliquotFile;
+    }
+
+    private String processGeochronAliquotFile(String aliquotIGSN, File aliquotFile)
+            throws ETException {
+        Aliquot myDownAliquot = new UPbReduxAliquot();
 
         try {
             myDownAliquot
                     = (Aliquot) ((UPbReduxAliquot) myDownAliquot).readXMLObject(
-                            downloadURL, true);
-            if (myDownAliquot != null) {
-                // xml is added here for consistency and because we test whether aliquot source file is xml ... probably
-                // should get rid of xml test and just make it aliquot non-zero length string
-                processXMLAliquot(myDownAliquot, "GeochronDownloadOfAliquot_" + aliquotIGSN.toUpperCase().trim() + ".xml");
-                System.out.println("got one " + myDownAliquot.getAnalystName());
-            } else {
-                return "Missing (or private) aliquot: " + aliquotIGSN;
+                            aliquotFile.getCanonicalPath(), true);
+            if (myDownAliquot == null) {
+                throw new ETException("no aliquot was found");
             }
-        } catch (IOException ex) {
-//            ex.printStackTrace();
-            myDownAliquot = null;
-        } catch (ETException ex) {
-//            ex.printStackTrace();
-            myDownAliquot = null;
-        } catch (BadOrMissingXMLSchemaException ex) {
-//            ex.printStackTrace();
-            myDownAliquot = null;
+            // xml is added here for consistency and because we test whether aliquot source file is xml ... probably
+            // should get rid of xml test and just make it aliquot non-zero length string
+            processXMLAliquot(myDownAliquot, "GeochronDownloadOfAliquot_" + aliquotIGSN.toUpperCase().trim() + ".xml");
+            System.out.println("got one " + myDownAliquot.getAnalystName());
+        } catch (IOException | BadLabDataException | BadOrMissingXMLSchemaException ex) {
+            throw new ETException(ex.getMessage());
+        } finally {
+            aliquotFile.delete();
         }
 
         return "Found: " + myDownAliquot.getAliquotIGSN();
@@ -1542,14 +1656,9 @@ public class Sample implements
                 }
             }
 
-            for (int i = successCount; i < returnFile.length; i++) {
-                try {
-                    processXMLFractionFile(returnFile[i], aliquotNumber, true, doValidate);
-                    successCount++;
-                } catch (ETException ex) {
-                    //ex.printStackTrace();
-                }
-            }
+            // oct 2026 the remaining files are read in parallel
+            successCount += importXMLFractionFiles(//
+                    Arrays.asList(returnFile).subList(successCount, returnFile.length), aliquotNumber, doValidate);
             // return folder for persistent state 
             if (successCount > 0) {
                 retval = returnFile[0].getParent();
@@ -1588,6 +1697,7 @@ public class Sample implements
         }
 
         long latestFractionFileModified = 0L;
+        List<File> freshFractions = new ArrayList<>();
         for (int f = 0; f < fractions.length; f++) {
             // test if fractionFile is newer than last update to Aliquot
             // or whether we are in auto-update mode versu live-update
@@ -1597,25 +1707,13 @@ public class Sample implements
                 if (fractions[f].lastModified() > latestFractionFileModified) {
                     latestFractionFileModified = fractions[f].lastModified();
                 }
-                try {
-                    processXMLFractionFile(fractions[f], aliquotNumber, true, doValidate);
-                    retval = true;
-                } catch (ETException ex) {
-                    // Modal dialog with OK/cancel and aliquot text field
-                    if (f < (fractions.length - 1)) {
-                        int response = JOptionPane.showConfirmDialog(null,
-                                new String[]{"Continue to process folder?"},
-                                "ET Redux Warning",
-                                JOptionPane.YES_NO_OPTION,
-                                JOptionPane.WARNING_MESSAGE);
-                        if (response == JOptionPane.NO_OPTION) {
-                            break;
-                        }
-                    }
-                }
+                freshFractions.add(fractions[f]);
             }
         }
 
+        // oct 2026 fresh files are read in parallel and the files that fail are reported together at the end
+        retval = importXMLFractionFiles(freshFractions, aliquotNumber, doValidate) > 0;
+
         //  stamp the aliquot
         if (latestFractionFileModified > 0) {
             ((UPbReduxAliquot) getAliquotByNumber(aliquotNumber)).setAliquotFolderTimeStamp(new Date(latestFractionFileModified));
@@ -2635,11 +2733,51 @@ public class Sample implements
      *
      */
     public void reduceSampleData() {
-        for (Aliquot aliquot : aliquots) {
-            ((UPbReduxAliquot) aliquot).reduceData();
+        int countOfParallelThreads = 1;
+        boolean reduceInDoublePrecision = false;
+        try {
+            ReduxPreferences reduxPreferences = ReduxPersistentState.getExistingPersistentState().getReduxPreferences();
+            countOfParallelThreads = reduxPreferences.getCountOfParallelThreads();
+            reduceInDoublePrecision = reduxPreferences.isReduceInDoublePrecision();
+        } catch (Exception e) {
+        }
 
-            // oct 2014 
-            ((UPbReduxAliquot) aliquot).updateBestAge();
+        reduceSampleData(countOfParallelThreads, reduceInDoublePrecision);
+    }
+
+    /**
+     * Reduces every fraction of every aliquot. With more than one thread the
+     * fractions of all aliquots are reduced concurrently, then each aliquot
+     * determines its best ages in order; in the default precision the results
+     * do not depend on the count of threads.
+     *
+     * @param countOfParallelThreads one reduces the aliquots one at a time;
+     * less than one means one thread per available processor
+     * @param reduceInDoublePrecision reduce through the double precision path
+     * of the value models, which does not keep their BigDecimal value trees;
+     * results agree with the default reduction to 1e-12 relative
+     */
+    public void reduceSampleData(int countOfParallelThreads, boolean reduceInDoublePrecision) {
+        if ((countOfParallelThreads != 1) || reduceInDoublePrecision) {
+            List<Fraction> sampleFractions = new ArrayList<>();
+            for (Aliquot aliquot : aliquots) {
+                sampleFractions.addAll(((UPbReduxAliquot) aliquot).getAliquotFractions());
+            }
+            UPbFractionReducer.fullFractionReduce(sampleFractions, true, countOfParallelThreads, reduceInDoublePrecision);
+
+            for (Aliquot aliquot : aliquots) {
+                ((UPbReduxAliquot) aliquot).determineBestAgeDivider();
+
+                // oct 2014 
+                ((UPbReduxAliquot) aliquot).updateBestAge();
+            }
+        } else {
+            for (Aliquot aliquot : aliquots) {
+                ((UPbReduxAliquot) aliquot).reduceData();
+
+                // oct 2014 
+                ((UPbReduxAliquot) aliquot).updateBestAge();
+            }
         }
     }
 
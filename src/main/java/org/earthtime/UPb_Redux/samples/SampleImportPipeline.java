@@ -0,0 +1,185 @@
+/*
+ * SampleImportPipeline.java
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.samples;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import org.earthtime.exceptions.ETException;
+
+/**
+ * Imports a list of sources, such as fraction files, into a
+ * <code>Sample</code> in two stages. Sources are read on a pool of worker
+ * threads, a bounded number ahead of the second stage, and what was read is
+ * handed back to the calling thread in the order of the sources, so that only
+ * the calling thread changes the <code>Sample</code>.
+ *
+ * A source that cannot be read or handed off does not stop the import; the
+ * reasons are collected so that the caller can warn about all of them at
+ * once.
+ *
+ * @param <S> the type of source
+ * @param <T> the type of what is read from a source
+ * @author James F. Bowring
+ */
+public class SampleImportPipeline<S, T> {
+
+    // reads queued per worker ahead of the hand-off
+    private static final int READS_AHEAD_PER_WORKER = 4;
+
+    private final int parallelism;
+
+    /**
+     * Prepares the read of a source. It is called on the calling thread, so
+     * it may draw on shared state such as the lab data, and the reader it
+     * returns is called on a worker thread, so it must not.
+     *
+     * @param <S> the type of source
+     * @param <T> the type of what is read from a source
+     */
+    public interface ReaderFactory<S, T> {
+
+        /**
+         *
+         * @param source
+         * @return
+         */
+        Callable<T> readerFor(S source);
+    }
+
+    /**
+     * Receives what was read from a source on the calling thread, in the
+     * order of the sources.
+     *
+     * @param <S> the type of source
+     * @param <T> the type of what is read from a source
+     */
+    public interface HandOff<S, T> {
+
+        /**
+         *
+         * @param source
+         * @param read
+         * @throws ETException whose message says why the source was not
+         * imported
+         */
+        void accept(S source, T read) throws ETException;
+    }
+
+    /**
+     *
+     * @param parallelism count of worker threads; less than one means one per
+     * available processor
+     */
+    public SampleImportPipeline(int parallelism) {
+        if (parallelism < 1) {
+            this.parallelism = Runtime.getRuntime().availableProcessors();
+        } else {
+            this.parallelism = parallelism;
+        }
+    }
+
+    /**
+     * Reads every source and hands each one read to <code>handOff</code> in
+     * the order of the sources.
+     *
+     * @param sources
+     * @param nameOfSource names a source in the reasons for failures
+     * @param readerFactory
+     * @param handOff
+     * @return the reasons, in the order of the sources, that sources were not
+     * imported, each prefixed by the name of its source
+     */
+    public List<String> importSources(List<S> sources, Function<S, String> nameOfSource, ReaderFactory<S, T> readerFactory, HandOff<S, T> handOff) {
+        List<String> failures = new ArrayList<>();
+
+        if ((parallelism == 1) || (sources.size() < 2)) {
+            for (S source : sources) {
+                try {
+                    handOff.accept(source, readerFactory.readerFor(source).call());
+                } catch (Exception e) {
+                    failures.add(describeFailure(nameOfSource.apply(source), e));
+                }
+            }
+        } else {
+            ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, sources.size()));
+            try {
+                Deque<Future<T>> reads = new ArrayDeque<>();
+                int countSubmitted = 0;
+
+                for (S source : sources) {
+                    while ((countSubmitted < sources.size()) && (reads.size() < (parallelism * READS_AHEAD_PER_WORKER))) {
+                        reads.add(submitRead(pool, readerFactory, sources.get(countSubmitted)));
+                        countSubmitted++;
+                    }
+
+                    try {
+                        handOff.accept(source, reads.remove().get());
+                    } catch (ExecutionException e) {
+                        failures.add(describeFailure(nameOfSource.apply(source), e.getCause()));
+                    } catch (ETException | RuntimeException e) {
+                        failures.add(describeFailure(nameOfSource.apply(source), e));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        failures.add(describeFailure(nameOfSource.apply(source), e));
+                        break;
+                    }
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        return failures;
+    }
+
+    private Future<T> submitRead(ExecutorService pool, ReaderFactory<S, T> readerFactory, S source) {
+        Callable<T> reader;
+        try {
+            reader = readerFactory.readerFor(source);
+        } catch (RuntimeException e) {
+            // reported when its turn comes to be handed off
+            reader = () -> {
+                throw e;
+            };
+        }
+        return pool.submit(reader);
+    }
+
+    private static String describeFailure(String name, Throwable failure) {
+        String reason = failure.getMessage();
+        if ((reason == null) || (reason.trim().length() == 0)) {
+            reason = failure.getClass().getSimpleName();
+        }
+        return name + ": " + reason;
+    }
+
+    /**
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+}
@@ -45,6 +45,7 @@ import org.earthtime.ratioDataModels.tracers.TracerUPbModel;
 import org.earthtime.utilities.DateHelpers;
 import org.earthtime.archivingTools.URIHelper;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 
 /**
  * Deprecated June 2012.  Needed for compatibility with legacy serializations (archives).
@@ -787,9 +788,13 @@ public class Tracer implements
      * <code>XStream</code> - for XML serialization encoding
      */
     private XStream getXStreamWriter () {
-        XStream xstream = new XStream( new DomDriver() );
+        XStream xstream = XStreamRegistry.getXStream( getClass(), XStreamRegistry.WRITER, () -> {
+            XStream configured = new XStream( new DomDriver() );
+            customizeXstream( configured );
+            return configured;
+        } );
 
-        customizeXstream( xstream );
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -807,10 +812,13 @@ public class Tracer implements
      * <code>XStream</code> - for XML serialization decoding
      */
     private XStream getXStreamReader () {
+        XStream xstream = XStreamRegistry.getXStream( getClass(), XStreamRegistry.READER, () -> {
+            XStream configured = new XStream( new DomDriver() );
+            customizeXstream( configured );
+            return configured;
+        } );
 
-        XStream xstream = new XStream( new DomDriver() );
-
-        customizeXstream( xstream );
+        setClassXMLSchemaURL();
 
         return xstream;
     }
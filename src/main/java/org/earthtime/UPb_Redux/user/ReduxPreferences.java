@@ -38,6 +38,10 @@ public class ReduxPreferences implements Serializable {
     private String geochronUserName;
     private String geochronPassWord;
     private ANALYSIS_PURPOSE defaultSampleAnalysisPurpose;
+    // size of worker pool for parallel fitting and reduction; zero means one thread per processor
+    private int countOfParallelThreads;
+    // bulk reductions through the double precision path of the value models
+    private boolean reduceInDoublePrecision;
 
     /**
      * Creates a new instance of ReduxPreferences
@@ -52,6 +56,10 @@ public class ReduxPreferences implements Serializable {
         this.geochronPassWord = "longpassword";
 
         this.defaultSampleAnalysisPurpose = ANALYSIS_PURPOSE.NONE;
+
+        this.countOfParallelThreads = 1;
+
+        this.reduceInDoublePrecision = false;
     }
 
     /**
@@ -135,4 +143,45 @@ public class ReduxPreferences implements Serializable {
     public void setDefaultSampleAnalysisPurpose(ANALYSIS_PURPOSE defaultSampleAnalysisPurpose) {
         this.defaultSampleAnalysisPurpose = defaultSampleAnalysisPurpose;
     }
+
+    /**
+     * Returns the number of worker threads to use for parallel fitting and
+     * reduction. Values less than one, including those from preferences
+     * serialized before this field existed, mean a single thread, so work is
+     * parallel only when chosen.
+     *
+     * @return the countOfParallelThreads, always at least one
+     */
+    public int getCountOfParallelThreads() {
+        if (countOfParallelThreads < 1) {
+            return 1;
+        }
+        return countOfParallelThreads;
+    }
+
+    /**
+     * @param countOfParallelThreads the countOfParallelThreads to set; less
+     * than one selects a single thread
+     */
+    public void setCountOfParallelThreads(int countOfParallelThreads) {
+        this.countOfParallelThreads = countOfParallelThreads;
+    }
+
+    /**
+     * Returns whether sample reductions use the double precision path of the
+     * value models. That path does not keep the BigDecimal value trees and
+     * agrees with the default reduction to 1e-12 relative.
+     *
+     * @return the reduceInDoublePrecision
+     */
+    public boolean isReduceInDoublePrecision() {
+        return reduceInDoublePrecision;
+    }
+
+    /**
+     * @param reduceInDoublePrecision the reduceInDoublePrecision to set
+     */
+    public void setReduceInDoublePrecision(boolean reduceInDoublePrecision) {
+        this.reduceInDoublePrecision = reduceInDoublePrecision;
+    }
 }
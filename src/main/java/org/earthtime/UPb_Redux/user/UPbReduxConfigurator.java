@@ -33,6 +33,7 @@ public final class UPbReduxConfigurator {
     // Fields
     private static Preferences myPreferences = null;
     private static Class myClass = null;
+    private static volatile boolean configurationInitialized = false;
     /**
      *
      */
@@ -151,12 +152,18 @@ public final class UPbReduxConfigurator {
         // initialize a preferences object
         myClass = this.getClass();
         myPreferences = Preferences.userNodeForPackage( myClass );
-        try {
-            InitializeConfiguration();
-        } catch (InvalidPreferencesFormatException ex) {
-            ex.printStackTrace();
-        } catch (IOException ex) {
-            ex.printStackTrace();
+
+        // oct 2026 the configuration is constant, so it is stored once per session
+        // rather than each time a model looks up its XML schema
+        if (  ! configurationInitialized ) {
+            try {
+                InitializeConfiguration();
+                configurationInitialized = true;
+            } catch (InvalidPreferencesFormatException ex) {
+                ex.printStackTrace();
+            } catch (IOException ex) {
+                ex.printStackTrace();
+            }
         }
     }
 
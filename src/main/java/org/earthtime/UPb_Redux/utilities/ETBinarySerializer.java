@@ -0,0 +1,613 @@
+/*
+ * ETBinarySerializer.java
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.utilities;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * oct 2026 versioned binary container for large serialized files such as
+ * projects. The object graph is still written with Java serialization, but
+ * every double array of at least <code>MIN_EXTERNAL_ARRAY_LENGTH</code>
+ * elements, which includes the rows of Jama matrices and the raw intensity
+ * and ratio arrays of the Tripoli fractions, is written as its own chunk of
+ * little-endian doubles and read back in one block.
+ *
+ * Layout, all integers little-endian:
+ * <pre>
+ * header   MAGIC, int version, int flags
+ * chunks   int type, int flags, long storedLength, int rawLength, payload
+ *          (double arrays first, then the object graph, then the index)
+ * trailer  long indexChunkPosition, MAGIC
+ * </pre>
+ * The index holds the position of the graph chunk and of each array chunk.
+ * Chunks are optionally compressed with Deflater.
+ *
+ * A reader may leave the arrays of classes that read their fields with
+ * <code>readFieldsDeferringArrays</code>, such as the raw data of
+ * VirtualCollectorModel, in the file until they are first used.
+ *
+ * @author James F. Bowring
+ */
+public final class ETBinarySerializer {
+
+    /**
+     * First bytes of every binary container.
+     */
+    public static final byte[] MAGIC = {'E', 'T', 'R', 'B', '\r', '\n', 0x1A, '\n'};
+    /**
+     * Version written by this class.
+     */
+    public static final int FORMAT_VERSION = 1;
+    /**
+     * Shorter double arrays stay inside the object graph.
+     */
+    public static final int MIN_EXTERNAL_ARRAY_LENGTH = 32;
+
+    private static final int FLAG_COMPRESSED = 1;
+
+    private static final int CHUNK_DOUBLE_ARRAY = 1;
+    private static final int CHUNK_OBJECT_GRAPH = 2;
+    private static final int CHUNK_INDEX = 3;
+
+    private static final int HEADER_LENGTH = MAGIC.length + 8;
+    private static final int CHUNK_HEADER_LENGTH = 20;
+    private static final int TRAILER_LENGTH = 8 + MAGIC.length;
+
+    // readers whose files still hold deferred arrays
+    private static final Map<ContainerReader, Boolean> DEFERRING_READERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private ETBinarySerializer() {
+    }
+
+    /**
+     *
+     * @param file
+     * @return true if the file starts with MAGIC
+     */
+    public static boolean isBinaryContainer(File file) {
+        boolean retVal = false;
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] start = new byte[MAGIC.length];
+            int countRead = 0;
+            int count = 0;
+            while ((countRead < start.length) && (count >= 0)) {
+                count = in.read(start, countRead, start.length - countRead);
+                countRead += Math.max(0, count);
+            }
+            retVal = Arrays.equals(MAGIC, start);
+        } catch (IOException iOException) {
+        }
+        return retVal;
+    }
+
+    /**
+     *
+     * @param o
+     * @param file
+     * @param compressed compress each chunk with Deflater
+     * @throws IOException
+     */
+    public static void writeObject(Object o, File file, boolean compressed) throws IOException {
+        // the file may be the one the deferred arrays of o are in
+        loadDeferredArrays(file);
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), //
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ContainerWriter containerWriter = new ContainerWriter(channel, compressed);
+            containerWriter.writeHeader();
+
+            // arrays are written to the file as the graph is serialized
+            ByteArrayOutputStream graphBytes = new ByteArrayOutputStream(1 << 16);
+            try (ArrayExternalizingOutputStream graphStream = new ArrayExternalizingOutputStream(graphBytes, containerWriter)) {
+                graphStream.writeObject(o);
+            }
+
+            long graphChunkPosition = containerWriter.writeChunk(CHUNK_OBJECT_GRAPH, graphBytes.toByteArray());
+            long indexChunkPosition = containerWriter.writeIndex(graphChunkPosition);
+            containerWriter.writeTrailer(indexChunkPosition);
+        }
+    }
+
+    /**
+     *
+     * @param file
+     * @return the object read
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    public static Object readObject(File file) throws IOException, ClassNotFoundException {
+        return readObject(file, false);
+    }
+
+    /**
+     *
+     * @param file
+     * @param deferringArrays leave the arrays read by
+     * readFieldsDeferringArrays in the file until first used
+     * @return the object read
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    public static Object readObject(File file, boolean deferringArrays) throws IOException, ClassNotFoundException {
+        Object retVal;
+        ContainerReader containerReader;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            containerReader = new ContainerReader(file, channel);
+
+            byte[] graphBytes = containerReader.readChunk(containerReader.graphChunkPosition, CHUNK_OBJECT_GRAPH);
+            try (ArrayResolvingInputStream graphStream = new ArrayResolvingInputStream(new ByteArrayInputStream(graphBytes), containerReader, deferringArrays)) {
+                retVal = graphStream.readObject();
+            }
+        }
+
+        if (containerReader.hasDeferredArrays()) {
+            DEFERRING_READERS.put(containerReader, Boolean.TRUE);
+        }
+        return retVal;
+    }
+
+    /**
+     * For the readObject method of a class whose double arrays may stay in
+     * the file: each double[] field is then read as either a double[] or a
+     * DeferredDoubleArray. The class must have only primitive and array
+     * fields, and must not share these arrays with other objects.
+     *
+     * @param in
+     * @return the fields read
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    public static ObjectInputStream.GetField readFieldsDeferringArrays(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField retVal;
+        if (in instanceof ArrayResolvingInputStream) {
+            ArrayResolvingInputStream graphStream = (ArrayResolvingInputStream) in;
+            boolean savedDeferringNow = graphStream.deferringNow;
+            graphStream.deferringNow = graphStream.deferringArrays;
+            try {
+                retVal = in.readFields();
+            } finally {
+                graphStream.deferringNow = savedDeferringNow;
+            }
+        } else {
+            retVal = in.readFields();
+        }
+        return retVal;
+    }
+
+    /**
+     * Loads every array still deferred in the file, so that the file can be
+     * overwritten.
+     *
+     * @param file
+     * @throws IOException
+     */
+    public static void loadDeferredArrays(File file) throws IOException {
+        List<ContainerReader> containerReaders;
+        synchronized (DEFERRING_READERS) {
+            containerReaders = new ArrayList<>(DEFERRING_READERS.keySet());
+        }
+        for (ContainerReader containerReader : containerReaders) {
+            if (containerReader.isReaderOf(file)) {
+                containerReader.loadDeferredArrays();
+                DEFERRING_READERS.remove(containerReader);
+            }
+        }
+    }
+
+    /**
+     * Converts a file written by ObjectOutputStream, such as a .redux file
+     * saved by earlier versions, to a binary container.
+     *
+     * @param serializedFile
+     * @param binaryFile may be the same as serializedFile
+     * @param compressed
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    public static void convertSerializedFile(File serializedFile, File binaryFile, boolean compressed) throws IOException, ClassNotFoundException {
+        Object o;
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(serializedFile), 1 << 16))) {
+            o = in.readObject();
+        }
+        writeObject(o, binaryFile, compressed);
+    }
+
+    /**
+     * Converts serialized files from the command line.
+     *
+     * @param args serialized file, binary file and optionally "-compress"
+     * @throws Exception
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Usage: ETBinarySerializer serializedFile binaryFile [-compress]");
+        } else {
+            convertSerializedFile(new File(args[0]), new File(args[1]), (args.length > 2) && args[2].equals("-compress"));
+        }
+    }
+
+    /**
+     * A double array left in a binary container until first used.
+     */
+    public static final class DeferredDoubleArray {
+
+        private final ContainerReader containerReader;
+        private final int arrayIndex;
+        private double[] array;
+
+        private DeferredDoubleArray(ContainerReader containerReader, int arrayIndex) {
+            this.containerReader = containerReader;
+            this.arrayIndex = arrayIndex;
+            this.array = null;
+        }
+
+        /**
+         *
+         * @return the array, read from the file on the first call
+         * @throws UncheckedIOException if the file cannot be read or has
+         * changed since it was opened
+         */
+        public synchronized double[] get() {
+            if (array == null) {
+                try {
+                    array = containerReader.readDeferredDoubleArray(arrayIndex);
+                } catch (IOException iOException) {
+                    throw new UncheckedIOException(iOException);
+                }
+            }
+            return array;
+        }
+    }
+
+    /**
+     * Stands in the object graph for an array written as its own chunk.
+     */
+    private static final class ExternalDoubleArray implements Serializable {
+
+        private static final long serialVersionUID = 4017295612389144217L;
+        private final int arrayIndex;
+
+        ExternalDoubleArray(int arrayIndex) {
+            this.arrayIndex = arrayIndex;
+        }
+    }
+
+    private static final class ArrayExternalizingOutputStream extends ObjectOutputStream {
+
+        private final ContainerWriter containerWriter;
+
+        ArrayExternalizingOutputStream(OutputStream out, ContainerWriter containerWriter) throws IOException {
+            super(out);
+            this.containerWriter = containerWriter;
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) throws IOException {
+            Object retVal = obj;
+            // a shared array is replaced once; later references are handles
+            if ((obj instanceof double[]) && (((double[]) obj).length >= MIN_EXTERNAL_ARRAY_LENGTH)) {
+                retVal = new ExternalDoubleArray(containerWriter.writeDoubleArray((double[]) obj));
+            }
+            return retVal;
+        }
+    }
+
+    private static final class ArrayResolvingInputStream extends ObjectInputStream {
+
+        private final ContainerReader containerReader;
+        private final boolean deferringArrays;
+        // set while readFieldsDeferringArrays reads the fields of one object
+        private boolean deferringNow;
+
+        ArrayResolvingInputStream(InputStream in, ContainerReader containerReader, boolean deferringArrays) throws IOException {
+            super(in);
+            this.containerReader = containerReader;
+            this.deferringArrays = deferringArrays;
+            this.deferringNow = false;
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Object resolveObject(Object obj) throws IOException {
+            Object retVal = obj;
+            if (obj instanceof ExternalDoubleArray) {
+                int arrayIndex = ((ExternalDoubleArray) obj).arrayIndex;
+                if (deferringNow) {
+                    retVal = containerReader.deferDoubleArray(arrayIndex);
+                } else {
+                    retVal = containerReader.readDoubleArray(arrayIndex);
+                }
+            }
+            return retVal;
+        }
+    }
+
+    private static final class ContainerWriter {
+
+        private final FileChannel channel;
+        private final boolean compressed;
+        private long[] arrayChunkPositions;
+        private int countOfArrays;
+
+        ContainerWriter(FileChannel channel, boolean compressed) {
+            this.channel = channel;
+            this.compressed = compressed;
+            this.arrayChunkPositions = new long[256];
+            this.countOfArrays = 0;
+        }
+
+        void writeHeader() throws IOException {
+            ByteBuffer header = newBuffer(HEADER_LENGTH);
+            header.put(MAGIC);
+            header.putInt(FORMAT_VERSION);
+            header.putInt(compressed ? FLAG_COMPRESSED : 0);
+            header.flip();
+            writeFully(header);
+        }
+
+        int writeDoubleArray(double[] array) throws IOException {
+            ByteBuffer payload = newBuffer(8 * array.length);
+            payload.asDoubleBuffer().put(array);
+
+            if (countOfArrays == arrayChunkPositions.length) {
+                arrayChunkPositions = Arrays.copyOf(arrayChunkPositions, 2 * countOfArrays);
+            }
+            arrayChunkPositions[countOfArrays] = writeChunk(CHUNK_DOUBLE_ARRAY, payload.array());
+
+            return countOfArrays++;
+        }
+
+        long writeIndex(long graphChunkPosition) throws IOException {
+            ByteBuffer index = newBuffer(12 + 8 * countOfArrays);
+            index.putLong(graphChunkPosition);
+            index.putInt(countOfArrays);
+            index.asLongBuffer().put(arrayChunkPositions, 0, countOfArrays);
+            return writeChunk(CHUNK_INDEX, index.array());
+        }
+
+        void writeTrailer(long indexChunkPosition) throws IOException {
+            ByteBuffer trailer = newBuffer(TRAILER_LENGTH);
+            trailer.putLong(indexChunkPosition);
+            trailer.put(MAGIC);
+            trailer.flip();
+            writeFully(trailer);
+        }
+
+        long writeChunk(int chunkType, byte[] payload) throws IOException {
+            long chunkPosition = channel.position();
+
+            byte[] storedPayload = payload;
+            int storedLength = payload.length;
+            if (compressed) {
+                Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+                try {
+                    deflater.setInput(payload);
+                    deflater.finish();
+                    storedPayload = new byte[Math.max(64, payload.length + (payload.length >> 3) + 64)];
+                    storedLength = 0;
+                    while (!deflater.finished()) {
+                        if (storedLength == storedPayload.length) {
+                            storedPayload = Arrays.copyOf(storedPayload, 2 * storedPayload.length);
+                        }
+                        storedLength += deflater.deflate(storedPayload, storedLength, storedPayload.length - storedLength);
+                    }
+                } finally {
+                    deflater.end();
+                }
+            }
+
+            ByteBuffer chunkHeader = newBuffer(CHUNK_HEADER_LENGTH);
+            chunkHeader.putInt(chunkType);
+            chunkHeader.putInt(compressed ? FLAG_COMPRESSED : 0);
+            chunkHeader.putLong(storedLength);
+            chunkHeader.putInt(payload.length);
+            chunkHeader.flip();
+            writeFully(chunkHeader);
+            writeFully(ByteBuffer.wrap(storedPayload, 0, storedLength));
+
+            return chunkPosition;
+        }
+
+        private void writeFully(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private static final class ContainerReader {
+
+        private final File file;
+        private final long fileLength;
+        private final long fileLastModified;
+        // open while the graph is read and while a deferred array is read
+        private FileChannel channel;
+        private final long graphChunkPosition;
+        private final long[] arrayChunkPositions;
+        private final List<WeakReference<DeferredDoubleArray>> deferredArrays;
+
+        ContainerReader(File file, FileChannel channel) throws IOException {
+            this.file = file.getCanonicalFile();
+            this.fileLength = channel.size();
+            this.fileLastModified = file.lastModified();
+            this.channel = channel;
+            this.deferredArrays = new ArrayList<>();
+
+            ByteBuffer header = readFully(0L, HEADER_LENGTH);
+            byte[] magic = new byte[MAGIC.length];
+            header.get(magic);
+            int version = header.getInt();
+            if (!Arrays.equals(MAGIC, magic)) {
+                throw new IOException("Not an ET Redux binary file.");
+            } else if (version > FORMAT_VERSION) {
+                throw new IOException("This file was written by a newer version of ET Redux (format " + version + ").");
+            }
+
+            ByteBuffer trailer = readFully(channel.size() - TRAILER_LENGTH, TRAILER_LENGTH);
+            long indexChunkPosition = trailer.getLong();
+            trailer.get(magic);
+            if (!Arrays.equals(MAGIC, magic)) {
+                throw new IOException("The ET Redux binary file is incomplete.");
+            }
+
+            ByteBuffer index = ByteBuffer.wrap(readChunk(indexChunkPosition, CHUNK_INDEX)).order(ByteOrder.LITTLE_ENDIAN);
+            this.graphChunkPosition = index.getLong();
+            this.arrayChunkPositions = new long[index.getInt()];
+            index.asLongBuffer().get(arrayChunkPositions);
+        }
+
+        DeferredDoubleArray deferDoubleArray(int arrayIndex) {
+            DeferredDoubleArray retVal = new DeferredDoubleArray(this, arrayIndex);
+            synchronized (deferredArrays) {
+                deferredArrays.add(new WeakReference<>(retVal));
+            }
+            return retVal;
+        }
+
+        boolean hasDeferredArrays() {
+            synchronized (deferredArrays) {
+                return !deferredArrays.isEmpty();
+            }
+        }
+
+        boolean isReaderOf(File otherFile) throws IOException {
+            return file.equals(otherFile.getCanonicalFile());
+        }
+
+        void loadDeferredArrays() throws IOException {
+            List<WeakReference<DeferredDoubleArray>> arrays;
+            synchronized (deferredArrays) {
+                arrays = new ArrayList<>(deferredArrays);
+                deferredArrays.clear();
+            }
+            try {
+                for (WeakReference<DeferredDoubleArray> array : arrays) {
+                    DeferredDoubleArray deferredArray = array.get();
+                    if (deferredArray != null) {
+                        deferredArray.get();
+                    }
+                }
+            } catch (UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+        }
+
+        synchronized double[] readDeferredDoubleArray(int arrayIndex) throws IOException {
+            if ((file.length() != fileLength) || (file.lastModified() != fileLastModified)) {
+                throw new IOException("The ET Redux binary file " + file.getPath() + " has changed since it was opened.");
+            }
+            try (FileChannel deferredChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                channel = deferredChannel;
+                return readDoubleArray(arrayIndex);
+            } finally {
+                channel = null;
+            }
+        }
+
+        double[] readDoubleArray(int arrayIndex) throws IOException {
+            if ((arrayIndex < 0) || (arrayIndex >= arrayChunkPositions.length)) {
+                throw new IOException("Missing array " + arrayIndex + " in ET Redux binary file.");
+            }
+            byte[] payload = readChunk(arrayChunkPositions[arrayIndex], CHUNK_DOUBLE_ARRAY);
+            double[] retVal = new double[payload.length / 8];
+            ByteBuffer.wrap(payload).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(retVal);
+            return retVal;
+        }
+
+        byte[] readChunk(long chunkPosition, int expectedChunkType) throws IOException {
+            ByteBuffer chunkHeader = readFully(chunkPosition, CHUNK_HEADER_LENGTH);
+            int chunkType = chunkHeader.getInt();
+            int chunkFlags = chunkHeader.getInt();
+            long storedLength = chunkHeader.getLong();
+            int rawLength = chunkHeader.getInt();
+            if ((chunkType != expectedChunkType) || (storedLength < 0) || (storedLength > Integer.MAX_VALUE) || (rawLength < 0)) {
+                throw new IOException("Corrupt chunk in ET Redux binary file.");
+            }
+
+            ByteBuffer storedPayload = readFully(chunkPosition + CHUNK_HEADER_LENGTH, (int) storedLength);
+            byte[] retVal;
+            if ((chunkFlags & FLAG_COMPRESSED) != 0) {
+                retVal = new byte[rawLength];
+                Inflater inflater = new Inflater();
+                try {
+                    inflater.setInput(storedPayload.array(), 0, (int) storedLength);
+                    int countInflated = 0;
+                    while ((countInflated < rawLength) && !inflater.finished()) {
+                        int count = inflater.inflate(retVal, countInflated, rawLength - countInflated);
+                        if ((count == 0) && (inflater.needsInput() || inflater.needsDictionary())) {
+                            throw new EOFException("Truncated chunk in ET Redux binary file.");
+                        }
+                        countInflated += count;
+                    }
+                } catch (DataFormatException dataFormatException) {
+                    throw new IOException("Corrupt chunk in ET Redux binary file.", dataFormatException);
+                } finally {
+                    inflater.end();
+                }
+            } else {
+                retVal = storedPayload.array();
+            }
+            return retVal;
+        }
+
+        private ByteBuffer readFully(long position, int length) throws IOException {
+            if ((position < 0) || ((position + length) > channel.size())) {
+                throw new EOFException("Truncated ET Redux binary file.");
+            }
+            ByteBuffer buffer = newBuffer(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new EOFException("Truncated ET Redux binary file.");
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    private static ByteBuffer newBuffer(int length) {
+        return ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -29,6 +29,8 @@ import org.earthtime.exceptions.ETException;
  */
 public final class ETSerializer {
 
+    private static final int BUFFER_SIZE = 1 << 16;
+
     /**
      * Creates a new instance of ETSerializer
      */
@@ -43,9 +45,12 @@ public final class ETSerializer {
      */
     public static void SerializeObjectToFile(Object o, String filename) throws ETException {
         try {
+            // the file may be the one the deferred arrays of o are in
+            ETBinarySerializer.loadDeferredArrays(new File(filename));
+
             // Serialize to a file
             FileOutputStream out = new FileOutputStream(filename);
-            try (ObjectOutputStream s = new ObjectOutputStream(out)) {
+            try (ObjectOutputStream s = new ObjectOutputStream(new BufferedOutputStream(out, BUFFER_SIZE))) {
                 s.writeObject(o);
                 s.flush();
             }
@@ -57,6 +62,22 @@ public final class ETSerializer {
         }
     }
 
+    /**
+     * oct 2026 writes the versioned binary container of ETBinarySerializer,
+     * which GetSerializedObjectFromFile also reads
+     *
+     * @param o
+     * @param filename
+     * @throws org.earthtime.exceptions.ETException
+     */
+    public static void SerializeObjectToBinaryFile(Object o, String filename) throws ETException {
+        try {
+            ETBinarySerializer.writeObject(o, new File(filename), false);
+        } catch (IOException ex) {
+            throw new ETException(null, "Cannot serialize to: " + filename);
+        }
+    }
+
     /**
      *
      * @param filename
@@ -68,9 +89,18 @@ public final class ETSerializer {
         Object o = null;
 
         try {
-            in = new FileInputStream(filename);
-            s = new ObjectInputStream(in);
-            o = s.readObject();
+            if (ETBinarySerializer.isBinaryContainer(new File(filename))) {
+                // raw data stays in the file until first used
+                o = ETBinarySerializer.readObject(new File(filename), true);
+            } else {
+                in = new FileInputStream(filename);
+                s = new ObjectInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+                try {
+                    o = s.readObject();
+                } finally {
+                    s.close();
+                }
+            }
         } catch (FileNotFoundException ex) {
             System.out.println(ex.getMessage());
         } catch (IOException ex) {
@@ -135,7 +135,7 @@ public class MeasuredRatioModel extends ValueModel implements
         this.setValue( valueModel.getValue() );
         this.setUncertaintyType( valueModel.getUncertaintyType() );
         this.setOneSigma( valueModel.getOneSigma() );
-        this.setValueTree( valueModel.getValueTree() );
+        this.copyValueTreeFrom( valueModel );
         this.setFracCorr( ((MeasuredRatioModel) valueModel).fracCorr );
         this.setOxideCorr( ((MeasuredRatioModel) valueModel).oxideCorr );
     }
@@ -140,7 +140,7 @@ public class MineralStandardUPbRatioModel extends ValueModel implements
         this.value = valueModel.value;
         this.uncertaintyType = valueModel.uncertaintyType;
         this.oneSigma = valueModel.oneSigma;
-        this.setValueTree( valueModel.getValueTree() );
+        this.copyValueTreeFrom( valueModel );
         try {
             this.measured = ((MineralStandardUPbRatioModel) valueModel).measured;
         } catch (Exception e) {
@@ -0,0 +1,222 @@
+/*
+ * RadiometricDateSolver.java
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.valueModels;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.DoubleUnaryOperator;
+import org.earthtime.dataDictionaries.Lambdas;
+import org.earthtime.ratioDataModels.AbstractRatiosDataModel;
+
+/**
+ * Newton's method for the dates that have no closed form: the 207Pb/206Pb
+ * date, its Th and Pa corrected variants, and the discordia intercepts.
+ * Iteration stops once a step changes the date by less than
+ * <code>DATE_TOLERANCE_ANNUM</code> or by less than a few units in the last
+ * place, rather than after a fixed count.
+ *
+ * A solver holds the decay constants it was made with as doubles; the
+ * solvers of a physical constants model are cached and replaced when its
+ * lambdas are edited.
+ *
+ * @author James F. Bowring
+ */
+public final class RadiometricDateSolver {
+
+    /**
+     * a step below this many years ends the iteration
+     */
+    public static final double DATE_TOLERANCE_ANNUM = 1.0e-6;
+    /**
+     * a step below this fraction of the date ends the iteration
+     */
+    public static final double DATE_TOLERANCE_RELATIVE = 1.0e-15;
+    /**
+     * iteration stops here whether or not it converged
+     */
+    public static final int MAX_ITERATIONS = 100;
+
+    private static final Map<AbstractRatiosDataModel, RadiometricDateSolver> solversOfPhysicalConstants = new WeakHashMap<>();
+    private static volatile RadiometricDateSolver latestSolver = new RadiometricDateSolver(0.0, 0.0);
+
+    private final double lambda235;
+    private final double lambda238;
+
+    /**
+     *
+     * @param lambda235
+     * @param lambda238
+     */
+    public RadiometricDateSolver(double lambda235, double lambda238) {
+        this.lambda235 = lambda235;
+        this.lambda238 = lambda238;
+    }
+
+    /**
+     *
+     * @param physicalConstants
+     * @return the solver for the lambdas of <code>physicalConstants</code>
+     */
+    public static RadiometricDateSolver forPhysicalConstants(AbstractRatiosDataModel physicalConstants) {
+        BigDecimal lambda235 = physicalConstants.getDatumByName(Lambdas.lambda235.getName()).getValue();
+        BigDecimal lambda238 = physicalConstants.getDatumByName(Lambdas.lambda238.getName()).getValue();
+
+        synchronized (solversOfPhysicalConstants) {
+            RadiometricDateSolver solver = solversOfPhysicalConstants.get(physicalConstants);
+            if ((solver == null) || !solver.isFor(lambda235.doubleValue(), lambda238.doubleValue())) {
+                solver = new RadiometricDateSolver(lambda235.doubleValue(), lambda238.doubleValue());
+                solversOfPhysicalConstants.put(physicalConstants, solver);
+            }
+            return solver;
+        }
+    }
+
+    /**
+     *
+     * @param lambda235
+     * @param lambda238
+     * @return a solver for these lambdas, reused while they do not change
+     */
+    public static RadiometricDateSolver forDecayConstants(double lambda235, double lambda238) {
+        RadiometricDateSolver solver = latestSolver;
+        if (!solver.isFor(lambda235, lambda238)) {
+            solver = new RadiometricDateSolver(lambda235, lambda238);
+            latestSolver = solver;
+        }
+        return solver;
+    }
+
+    /**
+     *
+     * @param lambda235
+     * @param lambda238
+     * @return a solver for these lambdas, reused while they do not change
+     */
+    public static RadiometricDateSolver forDecayConstants(ValueModel lambda235, ValueModel lambda238) {
+        return forDecayConstants(lambda235.getValue().doubleValue(), lambda238.getValue().doubleValue());
+    }
+
+    private boolean isFor(double lambda235, double lambda238) {
+        return (this.lambda235 == lambda235) && (this.lambda238 == lambda238);
+    }
+
+    /**
+     * @return the lambda235
+     */
+    public double getLambda235() {
+        return lambda235;
+    }
+
+    /**
+     * @return the lambda238
+     */
+    public double getLambda238() {
+        return lambda238;
+    }
+
+    /**
+     * Iterates <code>xn -= newtonStep(xn)</code> from
+     * <code>startDate</code> until the step falls within tolerance.
+     *
+     * @param startDate
+     * @param newtonStep f(xn) / f'(xn)
+     * @return the date, or NaN if a step is not finite
+     */
+    public static double solve(double startDate, DoubleUnaryOperator newtonStep) {
+        double xn = startDate;
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            double step = newtonStep.applyAsDouble(xn);
+            xn -= step;
+            if (!Double.isFinite(xn)) {
+                return Double.NaN;
+            }
+            if (Math.abs(step) <= Math.max(DATE_TOLERANCE_ANNUM, DATE_TOLERANCE_RELATIVE * Math.abs(xn))) {
+                break;
+            }
+        }
+        return xn;
+    }
+
+    /**
+     *
+     * @param r207_206r
+     * @return Noah's starting date for the 207Pb/206Pb solution (sept 2013)
+     */
+    public static double startDate207_206r(double r207_206r) {
+        // xn = 10^9 * (4.5695 - 5.3011*exp(-5.4731*r207_206r) )
+        return 10.0e9 * (4.5695 - 5.3011 * (Math.exp(-5.4731 * r207_206r)));
+    }
+
+    /**
+     *
+     * @param r238_235s
+     * @param r207_206r
+     * @param startDate if not positive, Noah's starting date is used
+     * @return the 207Pb/206Pb date
+     */
+    public double date207_206r(double r238_235s, double r207_206r, double startDate) {
+        return solve(//
+                (startDate <= 0.0) ? startDate207_206r(r207_206r) : startDate, //
+                newtonStep207_206r(r238_235s, r207_206r));
+    }
+
+    /**
+     *
+     * @param r238_235s
+     * @param r207_206r
+     * @return the Newton step of the 207Pb/206Pb date, also used for the Th
+     * and Pa corrected ratios
+     */
+    public DoubleUnaryOperator newtonStep207_206r(double r238_235s, double r207_206r) {
+        return (double xn) -> {
+            double expLambda238xnMinus1 = Math.expm1(lambda238 * xn);
+            double expLambda235xnMinus1 = Math.expm1(lambda235 * xn);
+
+            double new10 = (expLambda235xnMinus1 / expLambda238xnMinus1 / r238_235s) - r207_206r;
+
+            double new11 = ((r238_235s * expLambda238xnMinus1 * lambda235 * (1.0 + expLambda235xnMinus1))//
+                    - (expLambda235xnMinus1 * r238_235s * lambda238 * (1.0 + expLambda238xnMinus1)))//
+                    / r238_235s / r238_235s / expLambda238xnMinus1 / expLambda238xnMinus1;
+
+            return new10 / new11;
+        };
+    }
+
+    /**
+     * Solves for the date where a discordia line in Wetherill space crosses
+     * concordia.
+     *
+     * @param yIntercept
+     * @param slope
+     * @param startDate
+     * @return the intercept date nearest <code>startDate</code>
+     */
+    public double discordiaIntercept(double yIntercept, double slope, double startDate) {
+        return solve(startDate, (double xn) -> {
+            double expLambda235xnMinus1 = Math.expm1(lambda235 * xn);
+            double expLambda238xnMinus1 = Math.expm1(lambda238 * xn);
+
+            double new10 = yIntercept + slope * expLambda235xnMinus1 - expLambda238xnMinus1;
+            double new11 = slope * lambda235 * (expLambda235xnMinus1 + 1.0)//
+                    - lambda238 * (expLambda238xnMinus1 + 1.0);
+
+            return new10 / new11;
+        });
+    }
+}
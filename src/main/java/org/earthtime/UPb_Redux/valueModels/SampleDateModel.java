@@ -43,6 +43,8 @@ import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.Vector;
 import org.earthtime.Tripoli.dataModels.sessionModels.SessionCorrectedUnknownsSummary;
+import org.earthtime.Tripoli.fitFunctions.algorithms.CovarianceFactorization;
+import org.earthtime.Tripoli.fitFunctions.algorithms.StructuredCovariance;
 import org.earthtime.UPb_Redux.ReduxConstants;
 import org.earthtime.UPb_Redux.aliquots.Aliquot;
 import org.earthtime.UPb_Redux.aliquots.UPbReduxAliquot;
@@ -985,7 +987,7 @@ public class SampleDateModel extends ValueModel implements
         this.internalTwoSigmaUnctWithStandardRatioVarUnct = internalTwoSigmaUnctWithStandardRatioVarUnct;
     }
 
-    private class LogWMresults {
+    static class LogWMresults {
 
         private double logRatioMean;
         private double logRatioMeanOneSigmaAnalytical;
@@ -1107,7 +1109,7 @@ public class SampleDateModel extends ValueModel implements
             SessionCorrectedUnknownsSummary sessionCorrectedUnknownsSummary =//
                     sessionCorrectedUnknownsSummaries.get(ratioName);
 
-            Matrix unknownsAnalyticalCovarianceSu = sessionCorrectedUnknownsSummary.getUnknownsAnalyticalCovarianceSu();
+            StructuredCovariance unknownsAnalyticalCovarianceSu = sessionCorrectedUnknownsSummary.getUnknownsAnalyticalCovarianceSu();
             Map<String, Integer> unknownFractionIDs = sessionCorrectedUnknownsSummary.getUnknownFractionIDs();
             Matrix unknownsLogRatioMeans = sessionCorrectedUnknownsSummary.getUnknownsLogRatioMeans();
             //ValueModel standardRatio = sessionCorrectedUnknownsSummary.getStandardRatio();
@@ -1131,55 +1133,14 @@ public class SampleDateModel extends ValueModel implements
             }
 
             Matrix logRatios = unknownsLogRatioMeans.getMatrix(activeIndices, 0, 0);
-            Matrix Su = unknownsAnalyticalCovarianceSu.getMatrix(activeIndices, activeIndices);
+            StructuredCovariance Su = unknownsAnalyticalCovarianceSu.select(activeIndices);
 
 //            System.out.println( "Su" );
 //            Su.print( matF, 15 );
 //
 //            System.out.println( "logRatios" );
 //            logRatios.print( matF, 15 );
-            Matrix onesV = new Matrix(activeIndices.length, 1, 1.0);
-
-            // SECTION A
-            double logRatioMean = onesV.transpose().times(Su.solve(logRatios)).get(0, 0) //
-                    / (onesV.transpose().times(Su.solve(onesV))).get(0, 0);
-
-            logWMresults.setLogRatioMean(logRatioMean);
-
-            double logRatioMeanOneSigmaAnalytical = Math.sqrt(1.0 / (onesV.transpose().times(Su.solve(onesV)).get(0, 0)));
-
-            logWMresults.setLogRatioMeanOneSigmaAnalytical(logRatioMeanOneSigmaAnalytical);
-
-            Matrix logRationResiduals = logRatios.copy();
-            for (int i = 0; i < logRatios.getRowDimension(); i++) {
-                logRationResiduals.set(i, 0, logRatios.get(i, 0) - logRatioMean);
-            }
-
-            double logRatioMSWD = 1.0 / (activeIndices.length - 1) * logRationResiduals.transpose().times(Su.solve(logRationResiduals)).get(0, 0);
-
-            logWMresults.setMSWD(logRatioMSWD);
-            // Section B
-            //TODO: provide lab data with values of ratio variability for each ratio
-            // for now all = 2%
-            Matrix SuInterStd = Su.plus(new Matrix(Su.getRowDimension(), Su.getColumnDimension(), 0.01 * 0.01));
-
-            double logRatioMeanOneSigmaAnalyticalPlusInterStd = Math.sqrt(1.0 / (onesV.transpose().times(SuInterStd.solve(onesV)).get(0, 0)));
-
-            logWMresults.setLogRatioMeanOneSigmaAnalyticalPlusInterStd(logRatioMeanOneSigmaAnalyticalPlusInterStd);
-
-            // section C
-//            double logMeanPlusOneSigma = Math.log( standardRatio.getValue().doubleValue() + standardRatio.getOneSigmaAbs().doubleValue() );
-//            double logMean = Math.log( standardRatio.getValue().doubleValue() );
-//            double logMeanMinusOneSigma = Math.log( standardRatio.getValue().doubleValue() - standardRatio.getOneSigmaAbs().doubleValue() );
-//
-//            double maxDelta = Math.max( Math.abs( logMeanPlusOneSigma - logMean ), Math.abs( logMean - logMeanMinusOneSigma ) );
-//
-//            
-            Matrix SuInterStdPlusStd = SuInterStd.plus(new Matrix(Su.getRowDimension(), Su.getColumnDimension(), varianceOfStandardLogRatio));
-
-            double logRatioMeanOneSigmaAnalyticalPlusInterStdPlusStd = Math.sqrt(1.0 / (onesV.transpose().times(SuInterStdPlusStd.solve(onesV)).get(0, 0)));
-
-            logWMresults.setLogRatioMeanOneSigmaAnalyticalPlusInterStdPlusStd(logRatioMeanOneSigmaAnalyticalPlusInterStdPlusStd);
+            logWMresults = calculateLogRatioWeightedMeans(Su, logRatios, varianceOfStandardLogRatio);
 
 //////            // section D
 //////            //TODO: Encode this in our matrix class structure
@@ -1261,6 +1222,85 @@ public class SampleDateModel extends ValueModel implements
         return logWMresults;
     }
 
+    /**
+     * Weighted mean of the log ratios of the unknowns, with its MSWD and its
+     * uncertainties without and with the inter-standard and standard
+     * variances.
+     *
+     * @param Su the analytical covariance of the log ratios
+     * @param logRatios column of log ratios
+     * @param varianceOfStandardLogRatio
+     * @return
+     */
+    static LogWMresults calculateLogRatioWeightedMeans(StructuredCovariance Su, Matrix logRatios, double varianceOfStandardLogRatio) {
+
+        LogWMresults retVal = new LogWMresults();
+
+        // oct 2026 Su is factored once; every solve below reuses the factorization
+        // solves for logRatios and the ones vector together
+        Matrix logRatiosAndOnes = new Matrix(logRatios.getRowDimension(), 2, 1.0);
+        logRatiosAndOnes.setMatrix(0, logRatios.getRowDimension() - 1, 0, 0, logRatios);
+        Matrix SuInvLogRatiosAndOnes;
+        if (Su.isDense()) {
+            SuInvLogRatiosAndOnes = CovarianceFactorization.ofDense(Su.toMatrix()).solve(logRatiosAndOnes);
+        } else {
+            // diagonal plus low rank by Woodbury
+            SuInvLogRatiosAndOnes = Su.solve(logRatiosAndOnes);
+        }
+
+        double onesSuInvLogRatios = 0.0;
+        double onesSuInvOnes = 0.0;
+        for (int i = 0; i < logRatios.getRowDimension(); i++) {
+            onesSuInvLogRatios += SuInvLogRatiosAndOnes.get(i, 0);
+            onesSuInvOnes += SuInvLogRatiosAndOnes.get(i, 1);
+        }
+
+        // SECTION A
+        double logRatioMean = onesSuInvLogRatios / onesSuInvOnes;
+
+        retVal.setLogRatioMean(logRatioMean);
+
+        double logRatioMeanOneSigmaAnalytical = Math.sqrt(1.0 / onesSuInvOnes);
+
+        retVal.setLogRatioMeanOneSigmaAnalytical(logRatioMeanOneSigmaAnalytical);
+
+        // Su\residuals = Su\logRatios - logRatioMean * Su\ones
+        double residualsSuInvResiduals = 0.0;
+        for (int i = 0; i < logRatios.getRowDimension(); i++) {
+            residualsSuInvResiduals += (logRatios.get(i, 0) - logRatioMean) //
+                    * (SuInvLogRatiosAndOnes.get(i, 0) - logRatioMean * SuInvLogRatiosAndOnes.get(i, 1));
+        }
+
+        double logRatioMSWD = 1.0 / (logRatios.getRowDimension() - 1) * residualsSuInvResiduals;
+
+        retVal.setMSWD(logRatioMSWD);
+        // Section B
+        //TODO: provide lab data with values of ratio variability for each ratio
+        // for now all = 2%
+        // SuInterStd = Su + c * ones * ones' and by Sherman-Morrison
+        // ones' * inv(SuInterStd) * ones = s / (1 + c * s) with s = ones' * inv(Su) * ones
+        double interStdVariance = 0.01 * 0.01;
+
+        double logRatioMeanOneSigmaAnalyticalPlusInterStd = Math.sqrt(1.0 / onesSuInvOnes + interStdVariance);
+
+        retVal.setLogRatioMeanOneSigmaAnalyticalPlusInterStd(logRatioMeanOneSigmaAnalyticalPlusInterStd);
+
+        // section C
+//            double logMeanPlusOneSigma = Math.log( standardRatio.getValue().doubleValue() + standardRatio.getOneSigmaAbs().doubleValue() );
+//            double logMean = Math.log( standardRatio.getValue().doubleValue() );
+//            double logMeanMinusOneSigma = Math.log( standardRatio.getValue().doubleValue() - standardRatio.getOneSigmaAbs().doubleValue() );
+//
+//            double maxDelta = Math.max( Math.abs( logMeanPlusOneSigma - logMean ), Math.abs( logMean - logMeanMinusOneSigma ) );
+//
+//            
+        // SuInterStdPlusStd = Su + (c + varianceOfStandardLogRatio) * ones * ones', as above
+        double logRatioMeanOneSigmaAnalyticalPlusInterStdPlusStd = Math.sqrt(1.0 / onesSuInvOnes + interStdVariance + varianceOfStandardLogRatio);
+
+        retVal.setLogRatioMeanOneSigmaAnalyticalPlusInterStdPlusStd(logRatioMeanOneSigmaAnalyticalPlusInterStdPlusStd);
+
+        return retVal;
+    }
+
     private void calculateWeightedMeansWithMSWDforRatioBasedData(
             Vector<Fraction> myFractions,
             String radiogenicIsotopeDateName) //
@@ -2414,27 +2454,9 @@ public class SampleDateModel extends ValueModel implements
     }
 
     private double DiscordiaInterceptNewtonMethod(double xn, AbstractRatiosDataModel physicalConstants) {
-
-        ValueModel lambda235 = physicalConstants.getDatumByName(Lambdas.lambda235.getName()).copy();
-        ValueModel lambda238 = physicalConstants.getDatumByName(Lambdas.lambda238.getName()).copy();
-
-        double yIntercept = getYorkLineFit().getYIntercept();
-        double slope = getYorkLineFit().getSlope();
-
-        for (int i = 0; i < 100; i++) {
-
-            double expLambda235xnMinus1 = Math.expm1(lambda235.getValue().doubleValue() * xn);
-            double expLambda238xnMinus1 = Math.expm1(lambda238.getValue().doubleValue() * xn);
-
-            double new10 = yIntercept + slope * expLambda235xnMinus1 - expLambda238xnMinus1;
-            double new11 = slope * lambda235.getValue().doubleValue() * (expLambda235xnMinus1 + 1.0)//
-                    - lambda238.getValue().doubleValue() * (expLambda238xnMinus1 + 1.0);
-
-            xn = xn - new10 / new11;
-
-        }
-
-        return xn;
+        // oct 2026 shared solver converges on tolerance
+        return RadiometricDateSolver.forPhysicalConstants(physicalConstants).//
+                discordiaIntercept(getYorkLineFit().getYIntercept(), getYorkLineFit().getSlope(), xn);
     }
 
     private double DiscordiaUncertaintyInterceptNewtonMethod(
@@ -2442,8 +2464,9 @@ public class SampleDateModel extends ValueModel implements
             int sign,
             AbstractRatiosDataModel physicalConstants) {
 
-        ValueModel lambda235 = physicalConstants.getDatumByName(Lambdas.lambda235.getName()).copy();
-        ValueModel lambda238 = physicalConstants.getDatumByName(Lambdas.lambda238.getName()).copy();
+        RadiometricDateSolver solver = RadiometricDateSolver.forPhysicalConstants(physicalConstants);
+        double lambda235 = solver.getLambda235();
+        double lambda238 = solver.getLambda238();
 
         double yIntercept = getYorkLineFit().getYIntercept();
         double slope = getYorkLineFit().getSlope();
@@ -2451,10 +2474,11 @@ public class SampleDateModel extends ValueModel implements
         double sigmaSlope = getYorkLineFit().getOneSigmaSlope();
         double sigmaYInterceptSlope = getYorkLineFit().getCovYIntercept__slope();
 
-        for (int i = 0; i < 100; i++) {
+        // oct 2026 shared solver converges on tolerance
+        return RadiometricDateSolver.solve(xn, (double t) -> {
 
-            double expLambda235xnMinus1 = Math.expm1(lambda235.getValue().doubleValue() * xn);
-            double expLambda238xnMinus1 = Math.expm1(lambda238.getValue().doubleValue() * xn);
+            double expLambda235xnMinus1 = Math.expm1(lambda235 * t);
+            double expLambda238xnMinus1 = Math.expm1(lambda238 * t);
             double new10 = yIntercept + slope * expLambda235xnMinus1 - expLambda238xnMinus1//
                     + sign * 2.0 * Math.sqrt(//
                             (sigmaYIntercept * sigmaYIntercept) //
@@ -2462,21 +2486,19 @@ public class SampleDateModel extends ValueModel implements
                             + sigmaSlope * sigmaSlope * expLambda235xnMinus1 * expLambda235xnMinus1);
 
             double new11 = //
-                    slope * lambda235.getValue().doubleValue() //
+                    slope * lambda235 //
                     * (expLambda235xnMinus1 + 1.0)//
-                    - lambda238.getValue().doubleValue() //
+                    - lambda238 //
                     * (expLambda238xnMinus1 + 1.0)//
-                    + sign * 2.0 * lambda235.getValue().doubleValue() * (expLambda235xnMinus1 + 1.0)//
+                    + sign * 2.0 * lambda235 * (expLambda235xnMinus1 + 1.0)//
                     * (sigmaYInterceptSlope + sigmaSlope * sigmaSlope * expLambda235xnMinus1)//
                     / Math.sqrt(//
                             (sigmaYIntercept * sigmaYIntercept) //
                             + (2.0 * sigmaYInterceptSlope * expLambda235xnMinus1)//
                             + sigmaSlope * sigmaSlope * expLambda235xnMinus1 * expLambda235xnMinus1);
 
-            xn = xn - new10 / new11;
-        }
-
-        return xn;
+            return new10 / new11;
+        });
     }
 
     /**
@@ -39,6 +39,7 @@ import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -59,6 +60,7 @@ import org.earthtime.dataDictionaries.RatioNamePrettyPrinter;
 import org.earthtime.exceptions.ETException;
 import org.earthtime.archivingTools.URIHelper;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
@@ -100,6 +102,8 @@ public class ValueModel implements
      */
     private transient String valueModelXMLSchemaURL;
     private transient ExpTreeII valueTree;
+    // oct 2026 builds valueTree when it is first asked for
+    private transient Supplier<ExpTreeII> valueTreeBuilder;
     // Instance variables
     /**
      * name of <code>ValueModel</code>, such as ratio name. Lists of 'name' are
@@ -136,7 +140,8 @@ public class ValueModel implements
         this.uncertaintyType = DEFAULT_UNCERTAINTY_TYPE;
         this.oneSigma = BigDecimal.ZERO;
         this.oneSigmaSys = BigDecimal.ZERO;
-        this.valueTree = new ExpTreeII();
+        // oct 2026 valueTree is created when first asked for
+        this.valueTree = null;
     }
 
     /**
@@ -151,7 +156,6 @@ public class ValueModel implements
     public ValueModel(String name) {
         this();
         this.name = name.trim();
-        this.valueTree.setNodeName(name.trim());
     }
 
     /**
@@ -191,7 +195,6 @@ public class ValueModel implements
         this.value = value;
         this.oneSigma = oneSigma.abs();
         this.oneSigmaSys = oneSigmaSys.abs();
-        this.valueTree.setNodeValue(value);
     }
 
     /**
@@ -214,7 +217,7 @@ public class ValueModel implements
                         getUncertaintyType(),
                         getOneSigma(), getOneSigmaSys());
 
-        retval.setValueTree(getValueTree());
+        retval.copyValueTreeFrom(this);
 
         return retval;
     }
@@ -229,6 +232,51 @@ public class ValueModel implements
             ConcurrentMap<String, BigDecimal> parDerivTerms) {
     }
 
+    /**
+     * oct 2026 calculates as above or, when <code>doublePrecision</code> is
+     * true, in primitive doubles with <code>BigDecimal</code> materialized
+     * only for the value and partial derivatives and no value tree built; the
+     * value tree then reads as a leaf holding the new value.
+     *
+     * @param inputValueModels
+     * @param parDerivTerms
+     * @param doublePrecision
+     */
+    public void calculateValue(
+            ValueModel[] inputValueModels,
+            ConcurrentMap<String, BigDecimal> parDerivTerms,
+            boolean doublePrecision) {
+        if (doublePrecision) {
+            calculateValueInDoublePrecision(inputValueModels, parDerivTerms);
+            valueTree = null;
+            valueTreeBuilder = null;
+        } else {
+            calculateValue(inputValueModels, parDerivTerms);
+        }
+    }
+
+    /**
+     * Models without a double precision path calculate as before.
+     *
+     * @param inputValueModels
+     * @param parDerivTerms
+     */
+    protected void calculateValueInDoublePrecision(
+            ValueModel[] inputValueModels,
+            ConcurrentMap<String, BigDecimal> parDerivTerms) {
+        calculateValue(inputValueModels, parDerivTerms);
+    }
+
+    /**
+     *
+     * @param value
+     * @return <code>value</code> rounded to
+     * <code>ReduxConstants.mathContext15</code> or zero if it is not finite
+     */
+    protected static BigDecimal toBigDecimal15(double value) {
+        return Double.isFinite(value) ? new BigDecimal(value, ReduxConstants.mathContext15) : BigDecimal.ZERO;
+    }
+
     /**
      * sets the <code>value</code>, <code>uncertainty type</code>, and
      * <code>one sigma</code> of this <code>ValueModel</code> to those of the
@@ -247,7 +295,7 @@ public class ValueModel implements
         this.setUncertaintyType(valueModel.getUncertaintyType());
         this.setOneSigma(valueModel.getOneSigma());
         this.setOneSigmaSys(valueModel.getOneSigmaSys());
-        this.setValueTree(valueModel.getValueTree());
+        this.copyValueTreeFrom(valueModel);
     }
 
     /**
@@ -362,7 +410,9 @@ public class ValueModel implements
     @Override
     public void setName(String name) {
         this.name = name.trim();
-        getValueTree().setNodeName(name.trim());
+        if (valueTree != null) {
+            valueTree.setNodeName(this.name);
+        }
     }
 
     /**
@@ -936,9 +986,13 @@ public class ValueModel implements
      * @return <code>XStream</code> - for XML serialization encoding
      */
     public XStream getXStreamWriter() {
-        XStream xstream = new XStream();
+        XStream xstream = XStreamRegistry.getXStream(getClass(), XStreamRegistry.WRITER, () -> {
+            XStream configured = new XStream();
+            customizeXstream(configured);
+            return configured;
+        });
 
-        customizeXstream(xstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -953,10 +1007,13 @@ public class ValueModel implements
      * @return <code>XStream</code> - for XML serialization decoding
      */
     public XStream getXStreamReader() {
+        XStream xstream = XStreamRegistry.getXStream(getClass(), XStreamRegistry.READER, () -> {
+            XStream configured = new XStream(new DomDriver());
+            customizeXstream(configured);
+            return configured;
+        });
 
-        XStream xstream = new XStream(new DomDriver());
-
-        customizeXstream(xstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -1267,6 +1324,16 @@ public class ValueModel implements
      * @return the valueTree
      */
     public ExpTreeII getValueTree() {
+        if ((valueTree == null) && (valueTreeBuilder != null)) {
+            Supplier<ExpTreeII> builder = valueTreeBuilder;
+            valueTreeBuilder = null;
+            try {
+                setValueTree(builder.get());
+            } catch (Exception e) {
+                valueTree = null;
+            }
+        }
+
         // valueTree is transient, so need to ensure its initialization
         if (valueTree == null) {
             valueTree = new ExpTreeII();
@@ -1283,10 +1350,37 @@ public class ValueModel implements
      * @param valueTree the valueTree to set
      */
     public void setValueTree(ExpTreeII valueTree) {
+        this.valueTreeBuilder = null;
         this.valueTree = valueTree;
         this.valueTree.setNodeName(name);
     }
 
+    /**
+     * oct 2026 the value tree is only read by the expression views, so
+     * calculateValue records how to build it and getValueTree builds it when
+     * first asked for
+     *
+     * @param valueTreeBuilder builds the valueTree from the input value models
+     */
+    public void setValueTree(Supplier<ExpTreeII> valueTreeBuilder) {
+        this.valueTree = null;
+        this.valueTreeBuilder = valueTreeBuilder;
+    }
+
+    /**
+     * shares the value tree of <code>valueModel</code> or, if it has not been
+     * built yet, how to build it
+     *
+     * @param valueModel
+     */
+    protected void copyValueTreeFrom(ValueModel valueModel) {
+        if (valueModel.valueTreeBuilder != null) {
+            setValueTree(valueModel.valueTreeBuilder);
+        } else {
+            setValueTree(valueModel.getValueTree());
+        }
+    }
+
     /**
      *
      * @return
@@ -0,0 +1,128 @@
+/*
+ * ValueModelNameIndex.java
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.valueModels;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the names of the <code>ValueModel</code>s in an array to their slots,
+ * so that lookups by name, such as those keyed by the RadRatios, RadDates and
+ * AnalysisMeasures dictionaries, do not scan the array on every call.
+ *
+ * The owner keeps the array; the index is rebuilt whenever it is handed a
+ * different array, and every hit is checked against the name found in the
+ * slot, so elements replaced, renamed or re-sorted in place are caught and
+ * the array is rescanned. A name not in the index is always confirmed by a
+ * scan, which keeps the results identical to the former linear searches.
+ *
+ * @author James F. Bowring
+ */
+public class ValueModelNameIndex {
+
+    private final boolean ignoreCase;
+    private final boolean firstMatchWins;
+    private final Map<String, Integer> slots;
+    private ValueModel[] indexedModels;
+
+    /**
+     *
+     * @param ignoreCase names match as with <code>equalsIgnoreCase</code>
+     * @param firstMatchWins when duplicates exist, the first rather than the
+     * last match is found
+     */
+    public ValueModelNameIndex(boolean ignoreCase, boolean firstMatchWins) {
+        this.ignoreCase = ignoreCase;
+        this.firstMatchWins = firstMatchWins;
+        this.slots = new HashMap<>();
+        this.indexedModels = null;
+    }
+
+    /**
+     *
+     * @param models
+     * @param name
+     * @return the <code>ValueModel</code> in <code>models</code> named
+     * <code>name</code>, or null
+     */
+    public ValueModel find(ValueModel[] models, String name) {
+        int slot = slotOf(models, name);
+        return (slot < 0) ? null : models[slot];
+    }
+
+    /**
+     *
+     * @param models
+     * @param name
+     * @return the slot in <code>models</code> of the <code>ValueModel</code>
+     * named <code>name</code>, or -1
+     */
+    public synchronized int slotOf(ValueModel[] models, String name) {
+        if (models != indexedModels) {
+            rebuild(models);
+        }
+
+        Integer slot = slots.get(name);
+        if ((slot != null) && (slot < models.length) && nameMatches(models[slot], name)) {
+            return slot;
+        }
+
+        // not indexed or stale - confirm with a scan
+        int foundSlot = -1;
+        for (int i = 0; i < models.length; i++) {
+            if (nameMatches(models[i], name)) {
+                foundSlot = i;
+                if (firstMatchWins) {
+                    break;
+                }
+            }
+        }
+
+        if (foundSlot >= 0) {
+            if (slot != null) {
+                // the array has changed in place
+                rebuild(models);
+            }
+            // also covers names differing only in case and models placed in the array in place
+            slots.put(name, foundSlot);
+        }
+
+        return foundSlot;
+    }
+
+    private boolean nameMatches(ValueModel model, String name) {
+        if ((model == null) || (model.getName() == null)) {
+            return false;
+        }
+        return ignoreCase ? model.getName().equalsIgnoreCase(name) : model.getName().equals(name);
+    }
+
+    private void rebuild(ValueModel[] models) {
+        slots.clear();
+        for (int i = 0; i < models.length; i++) {
+            if ((models[i] != null) && (models[i].getName() != null)) {
+                if (firstMatchWins) {
+                    slots.putIfAbsent(models[i].getName(), i);
+                } else {
+                    slots.put(models[i].getName(), i);
+                }
+            }
+        }
+        indexedModels = models;
+    }
+}
@@ -137,7 +137,7 @@ public class ValueModelReferenced extends ValueModel implements
         this.setUncertaintyType( valueModel.getUncertaintyType() );
         this.setOneSigma( valueModel.getOneSigma() );
         this.setOneSigmaSys( valueModel.getOneSigmaSys() );
-        this.setValueTree( valueModel.getValueTree() );
+        this.copyValueTreeFrom( valueModel );
         this.setReference( ((ValueModelReferenced) valueModel).reference );
     }
 
@@ -76,7 +76,7 @@ public class Age206_238r extends ValueModel implements
 
 
         try {
-            setValueTree(//
+            setValueTree(() -> //
                     r206_238r.getValueTree().add( ExpTreeII.ONE ).log(). //
                     divide( lambda238.getValueTree() ) );
         } catch (Exception e) {
@@ -107,4 +107,33 @@ public class Age206_238r extends ValueModel implements
             }
         }
     }
+
+    /**
+     * oct 2026 as calculateValue, in primitive doubles and without the value
+     * tree.
+     *
+     * @param inputValueModels
+     * @param parDerivTerms
+     */
+    @Override
+    protected void calculateValueInDoublePrecision(
+            ValueModel[] inputValueModels,
+            ConcurrentMap<String, BigDecimal> parDerivTerms) {
+
+        r206_238r = inputValueModels[0];
+        lambda238 = inputValueModels[1];
+
+        double r206_238rDouble = r206_238r.getValue().doubleValue();
+        double lambda238Double = lambda238.getValue().doubleValue();
+        double log1pR206_238r = Math.log1p(r206_238rDouble);
+
+        setValue(toBigDecimal15(log1pR206_238r / lambda238Double));
+
+        if (parDerivTerms != null) {
+            parDerivTerms.put("dA" + name.substring(1) + "__dLambda238", //
+                    toBigDecimal15(-log1pR206_238r / (lambda238Double * lambda238Double)));
+            parDerivTerms.put("dA" + name.substring(1) + "__dR" + r206_238r.getName().substring(1), //
+                    toBigDecimal15(1.0 / lambda238Double / (r206_238rDouble + 1.0)));
+        }
+    }
 }
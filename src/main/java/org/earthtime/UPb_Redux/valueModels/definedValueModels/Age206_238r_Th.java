@@ -25,6 +25,7 @@ import java.math.BigDecimal;
 import java.util.concurrent.ConcurrentMap;
 import org.earthtime.UPb_Redux.ReduxConstants;
 import org.earthtime.UPb_Redux.expressions.ExpTreeII;
+import org.earthtime.UPb_Redux.valueModels.RadiometricDateSolver;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
 import org.earthtime.dataDictionaries.RadDates;
 
@@ -90,40 +91,46 @@ public class Age206_238r_Th extends ValueModel implements
 
 
 
-        double xn = age206_238r.getValue().doubleValue();
+        // oct 2026 inputs read once; shared solver converges on tolerance
+        double lambda238Double = lambda238.getValue().doubleValue();
+        double lambda232Double = lambda232.getValue().doubleValue();
+        double lambda230Double = lambda230.getValue().doubleValue();
+        double r206_238rDouble = r206_238r.getValue().doubleValue();
+        double molPb208rDouble = molPb208r.getValue().doubleValue();
+        double molUsDouble = molU238s.getValue().doubleValue() + molU235s.getValue().doubleValue();
+        double rTh_UmagmaDouble = rTh_Umagma.getValue().doubleValue();
 
-        for (int i = 0; i < 100; i ++) {
+        double xn = RadiometricDateSolver.solve(age206_238r.getValue().doubleValue(), (double t) -> {
 
-            double expLambda238xnMinus1 = Math.expm1( lambda238.getValue().doubleValue() * xn );
-            double expLambda232xnMinus1 = Math.expm1( lambda232.getValue().doubleValue() * xn );
+            double expLambda238xnMinus1 = Math.expm1( lambda238Double * t );
+            double expLambda232xnMinus1 = Math.expm1( lambda232Double * t );
 
             double new10 =
-                    r206_238r.getValue().doubleValue() //
+                    r206_238rDouble //
                     - (expLambda238xnMinus1 //
-                    + lambda238.getValue().doubleValue()//
-                    / lambda230.getValue().doubleValue()//
-                    * (molPb208r.getValue().doubleValue() //
+                    + lambda238Double//
+                    / lambda230Double//
+                    * (molPb208rDouble //
                     / expLambda232xnMinus1 //
-                    / (molU238s.getValue().doubleValue() + molU235s.getValue().doubleValue()) //
-                    / rTh_Umagma.getValue().doubleValue() //
+                    / molUsDouble //
+                    / rTh_UmagmaDouble //
                     - 1.0));
 
             double new11 =
                     (expLambda232xnMinus1 + 1.0) //
-                    * lambda232.getValue().doubleValue() //
-                    * lambda238.getValue().doubleValue() //
-                    * molPb208r.getValue().doubleValue() //
+                    * lambda232Double //
+                    * lambda238Double //
+                    * molPb208rDouble //
                     / expLambda232xnMinus1 //
                     / expLambda232xnMinus1 //
-                    / lambda230.getValue().doubleValue() //
-                    / (molU238s.getValue().doubleValue() + molU235s.getValue().doubleValue()) //
-                    / rTh_Umagma.getValue().doubleValue() //
-                    - lambda238.getValue().doubleValue()//
+                    / lambda230Double //
+                    / molUsDouble //
+                    / rTh_UmagmaDouble //
+                    - lambda238Double//
                     * (1.0 + expLambda238xnMinus1);
 
-            xn = xn - (new10 / new11);
-
-        }
+            return new10 / new11;
+        });
 
         try {
             setValue(new BigDecimal( xn, ReduxConstants.mathContext15  ) );
@@ -25,6 +25,7 @@ import java.math.BigDecimal;
 import java.util.concurrent.ConcurrentMap;
 import org.earthtime.UPb_Redux.ReduxConstants;
 import org.earthtime.UPb_Redux.expressions.ExpTreeII;
+import org.earthtime.UPb_Redux.valueModels.RadiometricDateSolver;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
 import org.earthtime.dataDictionaries.RadDates;
 
@@ -76,44 +77,9 @@ public class Age207_206r extends ValueModel implements
             double r238_235sDouble,
             double r207_206rDouble,
             double startDate) {
-        double xn = startDate;
-
-        if (xn <= 0.0) {
-            // xn = 5.0e8;
-            // Noah correction sept 2013
-            // xn = 10^9 * (4.5695 - 5.3011*exp(-5.4731*r207_206r) )
-            xn = 10.0e9 * (4.5695 - 5.3011 * (Math.exp(-5.4731 * r207_206rDouble)));
-        }
-
-        for (int i = 0; i
-                < 35; i++) {
-
-            double expLambda238xnMinus1 = Math.expm1(lambda238.getValue().doubleValue() * xn);
-            double expLambda235xnMinus1 = Math.expm1(lambda235.getValue().doubleValue() * xn);
-
-            double new10
-                    = (expLambda235xnMinus1
-                    / expLambda238xnMinus1
-                    / r238_235sDouble)
-                    - r207_206rDouble;
-
-            double new11
-                    = ((r238_235sDouble
-                    * expLambda238xnMinus1
-                    * lambda235.getValue().doubleValue()
-                    * (1.0 + expLambda235xnMinus1))
-                    - (expLambda235xnMinus1
-                    * r238_235sDouble
-                    * lambda238.getValue().doubleValue()
-                    * (1.0 + expLambda238xnMinus1)))
-                    / r238_235sDouble
-                    / r238_235sDouble
-                    / expLambda238xnMinus1
-                    / expLambda238xnMinus1;
-
-            xn -= (new10 / new11);
-        }
-        return xn;
+        // oct 2026 shared solver converges on tolerance with the lambdas held as doubles
+        return RadiometricDateSolver.forDecayConstants(lambda235, lambda238).//
+                date207_206r(r238_235sDouble, r207_206rDouble, startDate);
     }
 
     /**
@@ -134,17 +100,16 @@ public class Age207_206r extends ValueModel implements
 
         double r238_235sDouble = r238_235s.getValue().doubleValue();
         double xn = age206_238r.getValue().doubleValue();
+        double date = calculateDate(r238_235sDouble, r207_206r.getValue().doubleValue(), xn);
 
         try {
-            setValue(new BigDecimal(calculateDate(//
-                    r238_235sDouble, r207_206r.getValue().doubleValue(), xn), ReduxConstants.mathContext15));
+            setValue(new BigDecimal(date, ReduxConstants.mathContext15));
         } catch (Exception e) {
             setValue(BigDecimal.ZERO);
         }
 
         try {
-            setValueTree(new ExpTreeII(calculateDate(//
-                    r238_235sDouble, r207_206r.getValue().doubleValue(), xn)));
+            setValueTree(() -> new ExpTreeII(date));
         } catch (Exception e) {
             setValueTree(ExpTreeII.ZERO);
         }
@@ -225,4 +190,51 @@ public class Age207_206r extends ValueModel implements
 
         }
     }
+
+    /**
+     * oct 2026 as calculateValue, in primitive doubles and without the value
+     * tree; the date is solved once rather than again for the tree.
+     *
+     * @param inputValueModels
+     * @param parDerivTerms
+     */
+    @Override
+    protected void calculateValueInDoublePrecision(
+            ValueModel[] inputValueModels,
+            ConcurrentMap<String, BigDecimal> parDerivTerms) {
+
+        r238_235s = inputValueModels[0];
+        r207_206r = inputValueModels[1];
+        age206_238r = inputValueModels[2];
+        lambda235 = inputValueModels[3];
+        lambda238 = inputValueModels[4];
+
+        double r238_235sDouble = r238_235s.getValue().doubleValue();
+        double r207_206rDouble = r207_206r.getValue().doubleValue();
+        double lambda235Double = lambda235.getValue().doubleValue();
+        double lambda238Double = lambda238.getValue().doubleValue();
+
+        setValue(toBigDecimal15(calculateDate(//
+                r238_235sDouble, r207_206rDouble, age206_238r.getValue().doubleValue())));
+
+        // as in calculateValue, the partials use the value as materialized
+        double age = getValue().doubleValue();
+        double expLambda238xnMinus1 = Math.expm1(lambda238Double * age);
+        double expLambda235xnMinus1 = Math.expm1(lambda235Double * age);
+
+        double denominator = //
+                lambda235Double * (1.0 + expLambda235xnMinus1)//
+                - r238_235sDouble * r207_206rDouble * lambda238Double * (1.0 + expLambda238xnMinus1);
+
+        if (parDerivTerms != null) {
+            parDerivTerms.put("dA" + name.substring(1) + "__dR" + r207_206r.getName().substring(1), //
+                    toBigDecimal15(r238_235sDouble * expLambda238xnMinus1 / denominator));
+            parDerivTerms.put("dA" + name.substring(1) + "__dLambda235", //
+                    toBigDecimal15(-age * (1.0 + expLambda235xnMinus1) / denominator));
+            parDerivTerms.put("dA" + name.substring(1) + "__dLambda238", //
+                    toBigDecimal15(r238_235sDouble * r207_206rDouble * age * (1.0 + expLambda238xnMinus1) / denominator));
+            parDerivTerms.put("dA" + name.substring(1) + "__dR238_235s", //
+                    toBigDecimal15(r207_206rDouble * expLambda238xnMinus1 / denominator));
+        }
+    }
 }
@@ -25,6 +25,7 @@ import java.math.BigDecimal;
 import java.util.concurrent.ConcurrentMap;
 import org.earthtime.UPb_Redux.ReduxConstants;
 import org.earthtime.UPb_Redux.expressions.ExpTreeII;
+import org.earthtime.UPb_Redux.valueModels.RadiometricDateSolver;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
 import org.earthtime.dataDictionaries.RadDates;
 
@@ -68,35 +69,11 @@ public class Age207_206r_Pa extends ValueModel implements
         lambda235 = inputValueModels[3];
         lambda238 = inputValueModels[4];
 
-        double xn = age207_206r.getValue().doubleValue();
-
-        for (int i = 0; i < 100; i ++) {
-
-            double expLambda238xnMinus1 = Math.expm1( lambda238.getValue().doubleValue() * xn );
-            double expLambda235xnMinus1 = Math.expm1( lambda235.getValue().doubleValue() * xn );
-
-            double new10 =
-                    r207_206r_Pa.getValue().negate().doubleValue()//
-                    + expLambda235xnMinus1 //
-                    / r238_235s.getValue().doubleValue()//
-                    / expLambda238xnMinus1;
-
-            double new11 =
-                    (r238_235s.getValue().doubleValue() //
-                    * expLambda238xnMinus1 //
-                    * lambda235.getValue().doubleValue() //
-                    * (1.0 + expLambda235xnMinus1) //
-                    - expLambda235xnMinus1 //
-                    * r238_235s.getValue().doubleValue() //
-                    * lambda238.getValue().doubleValue() //
-                    * (1.0 + expLambda238xnMinus1)) //
-                    / r238_235s.getValue().pow( 2 ).doubleValue()//
-                    / expLambda238xnMinus1 //
-                    / expLambda238xnMinus1;
-
-            xn = xn - (new10 / new11);
-
-        }
+        // oct 2026 shared solver converges on tolerance
+        double xn = RadiometricDateSolver.solve(//
+                age207_206r.getValue().doubleValue(), //
+                RadiometricDateSolver.forDecayConstants(lambda235, lambda238).//
+                newtonStep207_206r(r238_235s.getValue().doubleValue(), r207_206r_Pa.getValue().doubleValue()));
 
         try {
             setValue(new BigDecimal( xn, ReduxConstants.mathContext15  ) );
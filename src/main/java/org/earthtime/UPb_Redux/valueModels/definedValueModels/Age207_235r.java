@@ -77,7 +77,7 @@ public class Age207_235r extends ValueModel implements
         }
 
         try {
-            setValueTree(//
+            setValueTree(() -> //
                     r207_235r.getValueTree().add( ExpTreeII.ONE ).log(). //
                     divide( lambda235.getValueTree() ) );
         } catch (Exception e) {
@@ -108,4 +108,33 @@ public class Age207_235r extends ValueModel implements
             }
         }
     }
+
+    /**
+     * oct 2026 as calculateValue, in primitive doubles and without the value
+     * tree.
+     *
+     * @param inputValueModels
+     * @param parDerivTerms
+     */
+    @Override
+    protected void calculateValueInDoublePrecision(
+            ValueModel[] inputValueModels,
+            ConcurrentMap<String, BigDecimal> parDerivTerms) {
+
+        r207_235r = inputValueModels[0];
+        lambda235 = inputValueModels[1];
+
+        double r207_235rDouble = r207_235r.getValue().doubleValue();
+        double lambda235Double = lambda235.getValue().doubleValue();
+        double log1pR207_235r = Math.log1p(r207_235rDouble);
+
+        setValue(toBigDecimal15(log1pR207_235r / lambda235Double));
+
+        if (parDerivTerms != null) {
+            parDerivTerms.put("dA" + name.substring(1) + "__dLambda235", //
+                    toBigDecimal15(-log1pR207_235r / (lambda235Double * lambda235Double)));
+            parDerivTerms.put("dA" + name.substring(1) + "__dR" + r207_235r.getName().substring(1), //
+                    toBigDecimal15(1.0 / lambda235Double / (r207_235rDouble + 1.0)));
+        }
+    }
 }
@@ -84,7 +84,7 @@ public class Age207_235r_Pa extends ValueModel implements
                         * (ar231_235sample.getValue().doubleValue() - 1.0) ));
 
                 setValue(new BigDecimal( value, ReduxConstants.mathContext15 ) );
-                setValueTree(//
+                setValueTree(() -> //
                         ExpTreeII.ONE.//
                         divide( lambda235.getValueTree()).//
                         multiply( r207_235r.getValueTree().//
@@ -83,7 +83,7 @@ public class Age208_232r extends ValueModel implements
         }
 
         try {
-            setValueTree(//
+            setValueTree(() -> //
                     ExpTreeII.ONE.//
                     divide( lambda232.getValueTree() ).//
                     multiply( r208_232r.getValueTree().add( ExpTreeII.ONE ).log() ) );
@@ -118,4 +118,33 @@ public class Age208_232r extends ValueModel implements
 
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * oct 2026 as calculateValue, in primitive doubles and without the value
+     * tree.
+     *
+     * @param inputValueModels
+     * @param parDerivTerms
+     */
+    @Override
+    protected void calculateValueInDoublePrecision(
+            ValueModel[] inputValueModels,
+            ConcurrentMap<String, BigDecimal> parDerivTerms) {
+
+        r208_232r = inputValueModels[0];
+        lambda232 = inputValueModels[1];
+
+        double r208_232rDouble = r208_232r.getValue().doubleValue();
+        double lambda232Double = lambda232.getValue().doubleValue();
+        double log1pR208_232r = Math.log1p(r208_232rDouble);
+
+        setValue(toBigDecimal15((1.0 / lambda232Double) * log1pR208_232r));
+
+        if (parDerivTerms != null) {
+            parDerivTerms.put("dA" + name.substring(1) + "__dR" + r208_232r.getName().substring(1), //
+                    toBigDecimal15(1.0 / (lambda232Double * (1.0 + r208_232rDouble))));
+            parDerivTerms.put("dA" + name.substring(1) + "__dLambda232", //
+                    toBigDecimal15(-log1pR208_232r / (lambda232Double * lambda232Double)));
+        }
+    }
+}
@@ -68,7 +68,7 @@ public class AlphaPb extends ValueModel implements
     public void restoreValueFromFractionMeanAlphaPb() {
         if (getValue().compareTo(BigDecimal.ZERO) == 0) {
             setValue(fractionMeanAlphaPb);
-            setValueTree(new ExpTreeII(fractionMeanAlphaPb));
+            setValueTree(() -> new ExpTreeII(fractionMeanAlphaPb));
         }
     }
 
@@ -126,7 +126,7 @@ public class AlphaPb extends ValueModel implements
         }
 
         try {
-            setValueTree(//
+            setValueTree(() -> //
                     ExpTreeII.ONE.//
                     divide(ExpTreeII.THREE).//
                     multiply(ExpTreeII.ONE.//
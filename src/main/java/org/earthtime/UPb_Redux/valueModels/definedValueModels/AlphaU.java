@@ -175,7 +175,7 @@ public class AlphaU extends ValueModel implements
 
 
                     try {
-                        setValueTree(//
+                        setValueTree(() -> //
                                 bdtTerm1.//
                                 subtract( bdtTerm2 ).//
                                 add( bdtTerm3 ).//
@@ -244,7 +244,7 @@ public class AlphaU extends ValueModel implements
                     }
 
                     try {
-                        setValueTree(//
+                        setValueTree(() -> //
                                 ExpTreeII.ONE.//
                                 divide( ExpTreeII.THREE).
                                 multiply( ExpTreeII.ONE.subtract( r233_236t.getValueTree().//
@@ -273,7 +273,7 @@ public class AlphaU extends ValueModel implements
             } else {
                 // fractionation corrected from tripoli
                 setValue( fractionMeanAlphaU );
-                setValueTree( new ExpTreeII(fractionMeanAlphaU ));
+                setValueTree(() ->  new ExpTreeII(fractionMeanAlphaU ));
                 setOneSigma( BigDecimal.ZERO );
             }
         }// otherwise this was a copy so we do nothing
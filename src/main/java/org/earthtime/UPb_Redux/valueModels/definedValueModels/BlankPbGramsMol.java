@@ -85,7 +85,7 @@ public class BlankPbGramsMol extends ValueModel implements
                 pbBlank.getDatumByName( "r208_204b" ).getValue()//
                 .multiply( ((PhysicalConstantsModel)physicalConstants).getAtomicMolarMassByName( "gmol208" ).getValue() ) ) );
 
-       setValueTree(//
+       setValueTree(() -> //
                 ((PhysicalConstantsModel)physicalConstants).getAtomicMolarMassByName( "gmol204" ).getValueTree()//
                 .add(
                 pbBlank.getDatumByName( "r206_204b" ).getValueTree()//
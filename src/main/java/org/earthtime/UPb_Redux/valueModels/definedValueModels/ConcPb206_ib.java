@@ -75,7 +75,7 @@ public class ConcPb206_ib extends ValueModel implements
         }
 
         try {
-            setValueTree(//
+            setValueTree(() -> //
                     gmol206.getValueTree().//
                     multiply( molPb206b.getValueTree().//
                     add( molPb206c.getValueTree() ) ).//
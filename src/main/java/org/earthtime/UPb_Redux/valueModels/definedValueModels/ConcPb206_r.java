@@ -74,7 +74,7 @@ public class ConcPb206_r extends ValueModel implements
         }
 
        try {
-            setValueTree(//
+            setValueTree(() -> //
                     gmol206.getValueTree().//
                     multiply(molPb206r.getValueTree()).//
                     divide(fractionMass.getValueTree()));
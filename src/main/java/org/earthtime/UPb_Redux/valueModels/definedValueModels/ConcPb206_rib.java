@@ -79,7 +79,7 @@ public class ConcPb206_rib extends ValueModel implements
         }
 
         try {
-            setValueTree(//
+            setValueTree(() -> //
                     gmol206.getValueTree().//
                     multiply( molPb206r.getValueTree().//
                     add( molPb206b.getValueTree().//
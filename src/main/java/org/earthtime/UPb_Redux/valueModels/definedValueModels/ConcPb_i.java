@@ -69,7 +69,7 @@ public class ConcPb_i extends ValueModel implements
         }
 
         try {
-            setValueTree(//
+            setValueTree(() -> //
                     initCommonPbMass.getValueTree().//
                     divide(fractionMass.getValueTree()));
         } catch (Exception e) {
@@ -73,7 +73,7 @@ public class ConcPb_ib extends ValueModel implements
         }
 
         try {
-            setValueTree(//
+            setValueTree(() -> //
                     blankPbMass.getValueTree().//
                     add( initCommonPbMass.getValueTree() ).//
                     divide( fractionMass.getValueTree() ) );
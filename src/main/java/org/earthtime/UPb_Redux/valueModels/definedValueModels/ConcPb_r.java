@@ -70,7 +70,7 @@ public class ConcPb_r extends ValueModel implements
         }
 
         try {
-            setValueTree(//
+            setValueTree(() -> //
                     totRadiogenicPbMass.getValueTree().//
                     divide( fractionMass.getValueTree()) );
         } catch (Exception e) {
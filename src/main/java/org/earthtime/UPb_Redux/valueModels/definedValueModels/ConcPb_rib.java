@@ -69,7 +69,7 @@ public class ConcPb_rib extends ValueModel implements
         }
 
         try {
-            setValueTree(//
+            setValueTree(() -> //
                     massPb_rib.getValueTree().//
                     divide( fractionMass.getValueTree()) );
         } catch (Exception e) {
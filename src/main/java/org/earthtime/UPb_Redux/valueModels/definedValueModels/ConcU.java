@@ -69,7 +69,7 @@ public class ConcU extends ValueModel implements
         }
 
         try {
-            setValueTree(//
+            setValueTree(() -> //
                     massU.getValueTree().//
                     divide( fractionMass.getValueTree() ) );
         } catch (Exception e) {
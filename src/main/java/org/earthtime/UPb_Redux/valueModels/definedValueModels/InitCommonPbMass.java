@@ -82,7 +82,7 @@ public class InitCommonPbMass extends ValueModel implements
                 add( r208_204c.getValue().
                 multiply( gmol208.getValue() ) ) ) );
 
-        setValueTree(//
+        setValueTree(() -> //
                 molPb204c.getValueTree().
                 multiply( gmol204.getValueTree().
                 add( r206_204c.getValueTree().
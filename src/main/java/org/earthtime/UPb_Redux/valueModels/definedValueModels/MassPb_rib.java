@@ -70,7 +70,7 @@ public class MassPb_rib extends ValueModel implements
         }
 
         try {
-            setValueTree(//
+            setValueTree(() -> //
                     totRadiogenicPbMass.getValueTree().//
                     add( totCommonPbMass.getValueTree() ) );
         } catch (Exception e) {
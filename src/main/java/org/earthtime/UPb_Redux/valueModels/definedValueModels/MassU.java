@@ -75,7 +75,7 @@ public class MassU extends ValueModel implements
         }
 
         try {
-            setValueTree(//
+            setValueTree(() -> //
                     molU235s.getValueTree().
                     multiply( gmol235.getValueTree() )//
                     .add( molU238s.getValueTree().
@@ -80,7 +80,7 @@ public class MolPb204b extends ValueModel implements
             }
 
             try {
-                setValueTree(//
+                setValueTree(() -> //
                         r204_205fc.getValueTree().subtract( r204_205t.getValueTree() )//
                         .multiply( molPb205t.getValueTree() )//
                         );
@@ -119,7 +119,7 @@ public class MolPb204b extends ValueModel implements
             setValue(labPbBlankMass.getValue().//
                     divide(blankPbGramsMol.getValue(), ReduxConstants.mathContext15 ) );
 
-            setValueTree(//
+            setValueTree(() -> //
                     labPbBlankMass.getValueTree().//
                     divide( blankPbGramsMol.getValueTree()) );
 
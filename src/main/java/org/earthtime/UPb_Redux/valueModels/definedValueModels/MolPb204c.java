@@ -79,7 +79,7 @@ public class MolPb204c extends ValueModel implements
                     molPb204tc.getValue().//
                     subtract( molPb204b.getValue() ) );
 
-            setValueTree(//
+            setValueTree(() -> //
                     molPb204tc.getValueTree().//
                     subtract( molPb204b.getValueTree() ) );
 
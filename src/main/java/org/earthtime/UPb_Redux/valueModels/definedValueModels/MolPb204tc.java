@@ -72,7 +72,7 @@ public class MolPb204tc extends ValueModel implements
         }
         
         try {
-            setValueTree(//
+            setValueTree(() -> //
                     r204_205fc.getValueTree().//
                     subtract( r204_205t.getValueTree() ).
                     multiply( molPb205t.getValueTree() ) );
@@ -69,7 +69,7 @@ public class MolPb205t extends ValueModel implements
         }
         
         try {
-            setValueTree(//
+            setValueTree(() -> //
                     concPb205t.getValueTree()//
                     .multiply( tracerMassInGrams.getValueTree() ) );
         } catch (Exception e) {
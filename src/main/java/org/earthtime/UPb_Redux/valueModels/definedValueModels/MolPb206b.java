@@ -94,7 +94,7 @@ public class MolPb206b extends ValueModel implements
                         .multiply( molPb205t.getValue() )//
                         .multiply( r206_204b.getValue() ) );
                 
-                setValueTree(//
+                setValueTree(() -> //
                         r204_205fc.getValueTree().//
                         subtract( r204_205t.getValueTree() )//
                         .multiply( molPb205t.getValueTree() )//
@@ -156,7 +156,7 @@ public class MolPb206b extends ValueModel implements
             } catch (Exception e) {
             }
             try {
-                setValueTree(//
+                setValueTree(() -> //
                         labPbBlankMass.getValueTree().//
                         divide( blankPbGramsMol.getValueTree() )//
                         .multiply( r206_204b.getValueTree() ) );
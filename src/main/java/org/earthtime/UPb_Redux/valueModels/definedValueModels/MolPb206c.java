@@ -77,7 +77,7 @@ public class MolPb206c extends ValueModel implements
                     r206_204c.getValue().//
                     multiply(molPb204c.getValue()));
 
-            setValueTree(//
+            setValueTree(() -> //
                     r206_204c.getValueTree().//
                     multiply(molPb204c.getValueTree()));
 
@@ -83,7 +83,7 @@ public class MolPb206r extends ValueModel implements
                     subtract(molPb206b.getValue()).
                     subtract(molPb206c.getValue()));
 
-            setValueTree(//
+            setValueTree(() -> //
                     molPb205t.getValueTree().
                     multiply(r206_205m.getValueTree().
                             multiply(alphaPb.getValueTree().add(ExpTreeII.ONE)).
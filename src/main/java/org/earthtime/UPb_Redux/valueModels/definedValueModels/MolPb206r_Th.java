@@ -83,7 +83,7 @@ public class MolPb206r_Th extends ValueModel implements
         }
 
         try {
-            setValueTree(//
+            setValueTree(() -> //
                     molU238s.getValueTree().//
                     multiply( new ExpTreeII( expLambda238_Age206_238r_Th_Minus1 ) ) );
 
@@ -68,15 +68,15 @@ public class MolU233t extends ValueModel implements
                     .multiply( molU235t.getValue() ) );
 
 
-            setValueTree(//
+            setValueTree(() -> //
                     r233_235t.getValueTree()//
                     .multiply( molU235t.getValueTree() ) );
 
 
             //System.out.println(getValue().toPlainString() + "\n" + getValueTree().treeToString(1));
-            if ( getValue().compareTo( getValueTree().getNodeValue() ) != 0 ) {
+//            if ( getValue().compareTo( getValueTree().getNodeValue() ) != 0 ) {
 //                System.out.println( differenceValueCalcs() );
-            }
+//            }
 
 
 
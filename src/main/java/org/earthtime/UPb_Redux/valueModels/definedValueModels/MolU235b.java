@@ -71,7 +71,7 @@ public class MolU235b extends ValueModel implements
                 add(gmol235.getValue()), ReduxConstants.mathContext15).//
                 multiply(uBlankMassInGrams.getValue()));
 
-        setValueTree(//
+        setValueTree(() -> //
                 ExpTreeII.ONE. //
                 divide(r238_235b.getValueTree().//
                 multiply(gmol238.getValueTree()).//
@@ -80,9 +80,9 @@ public class MolU235b extends ValueModel implements
 
 
         //System.out.println(getValue().toPlainString() + "\n" + getValueTree().treeToString(1));
-        if (getValue().compareTo(getValueTree().getNodeValue()) != 0) {
+//        if (getValue().compareTo(getValueTree().getNodeValue()) != 0) {
 //            System.out.println(differenceValueCalcs());
-        }
+//        }
 
 
 
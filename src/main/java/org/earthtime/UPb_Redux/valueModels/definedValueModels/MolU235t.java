@@ -71,7 +71,7 @@ public class MolU235t extends ValueModel implements
         
 
         try {
-            setValueTree(//
+            setValueTree(() -> //
                     concU235t.getValueTree()//
                     .multiply( tracerMassInGrams.getValueTree() ) );
         } catch (Exception e) {
@@ -79,9 +79,9 @@ public class MolU235t extends ValueModel implements
         }
 
         //System.out.println(getValue().toPlainString() + "\n" + getValueTree().treeToString(1));
-        if ( getValue().compareTo( getValueTree().getNodeValue() ) != 0 ) {
+//        if ( getValue().compareTo( getValueTree().getNodeValue() ) != 0 ) {
 //            System.out.println( differenceValueCalcs() );
-        }
+//        }
 
 
         try {
@@ -80,7 +80,7 @@ public class MolU238s extends ValueModel implements
         }
 
         try {
-            setValueTree( molPb206r.getValueTree().//
+            setValueTree(() ->  molPb206r.getValueTree().//
                     divide( new ExpTreeII( expLambda238Age206_238rMinusOne ) ) );
         } catch (Exception e) {
             setValue( BigDecimal.ZERO );
@@ -105,7 +105,7 @@ public class MolU238s extends ValueModel implements
 
             setValue( molU235s.getValue().multiply( r238_235s.getValue() ) );
 
-            setValueTree( molU235s.getValueTree().multiply( r238_235s.getValueTree() ) );
+            setValueTree(() ->  molU235s.getValueTree().multiply( r238_235s.getValueTree() ) );
 
 //            System.out.println( differenceValueCalcs() );
 
@@ -145,7 +145,7 @@ public class MolU238s extends ValueModel implements
                     subtract( molU238b.getValue() ) );
 
 
-             setValueTree( //
+             setValueTree(() ->  //
                     molU236t.getValueTree().//
                     multiply( r238_236oc.getValueTree().//
                     multiply( ExpTreeII.ONE.//
@@ -68,7 +68,7 @@ public class R206_238r extends ValueModel implements
         }
 
         try {
-            setValueTree(
+            setValueTree(() -> 
                     molPb206r.getValueTree().//
                     divide( molU238s.getValueTree()) );
         } catch (Exception e) {
@@ -131,4 +131,61 @@ public class R206_238r extends ValueModel implements
         }
     }
 
+    /**
+     * oct 2026 as calculateValue, in primitive doubles and without the value
+     * tree.
+     *
+     * @param inputValueModels
+     * @param parDerivTerms
+     */
+    @Override
+    protected void calculateValueInDoublePrecision(
+            ValueModel[] inputValueModels,
+            ConcurrentMap<String, BigDecimal> parDerivTerms) {
+
+        molPb206r = inputValueModels[0];
+        molU238s = inputValueModels[1];
+
+        double molPb206rDouble = molPb206r.getValue().doubleValue();
+        double molU238sDouble = molU238s.getValue().doubleValue();
+
+        setValue(toBigDecimal15(molPb206rDouble / molU238sDouble));
+
+        double dR206_238r__dMolPb206r = 1.0 / molU238sDouble;
+        parDerivTerms.put("dR206_238r__dMolPb206r", toBigDecimal15(dR206_238r__dMolPb206r));
+
+        double dR206_238r__dMolU238s = -molPb206rDouble / (molU238sDouble * molU238sDouble);
+        parDerivTerms.put("dR206_238r__dMolU238s", toBigDecimal15(dR206_238r__dMolU238s));
+
+        try {
+            double dMolU235t__dConcU235t = parDerivTerms.get("dMolU235t__dConcU235t").doubleValue();
+            double dR206_238r__dConcU235t =//
+                    parDerivTerms.get("dR206_238r__dMolU238s").doubleValue()//
+                    * parDerivTerms.get("dMolU238s__dMolU235s").doubleValue()//
+                    * (parDerivTerms.get("dMolU235s__dMolU235t").doubleValue() * dMolU235t__dConcU235t//
+                    + parDerivTerms.get("dMolU235s__dMolU238t").doubleValue()//
+                    * parDerivTerms.get("dMolU238t__dMolU235t").doubleValue() * dMolU235t__dConcU235t//
+                    + parDerivTerms.get("dMolU235s__dMolU233t").doubleValue()//
+                    * parDerivTerms.get("dMolU233t__dMolU235t").doubleValue() * dMolU235t__dConcU235t);
+            parDerivTerms.put("dR206_238r__dConcU235t", toBigDecimal15(dR206_238r__dConcU235t));
+        } catch (Exception e) {
+            parDerivTerms.put("dR206_238r__dConcU235t", BigDecimal.ZERO);
+        }
+
+        try {
+            double dMolPb205t__dConcPb205t = parDerivTerms.get("dMolPb205t__dConcPb205t").doubleValue();
+            double dR206_238r__dConcPb205t = //
+                    parDerivTerms.get("dR206_238r__dMolPb206r").doubleValue()//
+                    * (parDerivTerms.get("dMolPb206r__dMolPb205t").doubleValue() * dMolPb205t__dConcPb205t//
+                    + parDerivTerms.get("dMolPb206r__dMolPb206b").doubleValue()//
+                    * parDerivTerms.get("dMolPb206b__dMolPb205t").doubleValue() * dMolPb205t__dConcPb205t//
+                    + parDerivTerms.get("dMolPb206r__dMolPb206c").doubleValue()//
+                    * parDerivTerms.get("dMolPb206c__dMolPb204c").doubleValue()//
+                    * parDerivTerms.get("dMolPb204c__dMolPb204tc").doubleValue()//
+                    * parDerivTerms.get("dMolPb204tc__dMolPb205t").doubleValue() * dMolPb205t__dConcPb205t);
+            parDerivTerms.put("dR206_238r__dConcPb205t", toBigDecimal15(dR206_238r__dConcPb205t));
+        } catch (Exception e) {
+            parDerivTerms.put("dR206_238r__dConcPb205t", BigDecimal.ZERO);
+        }
+    }
 }
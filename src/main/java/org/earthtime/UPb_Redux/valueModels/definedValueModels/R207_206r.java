@@ -141,5 +141,50 @@ public class R207_206r extends ValueModel implements
         }
     }
 
+    /**
+     * oct 2026 as calculateValue, in primitive doubles.
+     *
+     * @param inputValueModels
+     * @param parDerivTerms
+     */
+    @Override
+    protected void calculateValueInDoublePrecision(
+            ValueModel[] inputValueModels,
+            ConcurrentMap<String, BigDecimal> parDerivTerms) {
+
+        molPb207r = inputValueModels[0];
+        molPb206r = inputValueModels[1];
+
+        double molPb207rDouble = molPb207r.getValue().doubleValue();
+        double molPb206rDouble = molPb206r.getValue().doubleValue();
 
+        setValue(toBigDecimal15(molPb207rDouble / molPb206rDouble));
+
+        parDerivTerms.put("dR207_206r__dMolPb207r", toBigDecimal15(1.0 / molPb206rDouble));
+        double dR207_206r__dMolPb207r = parDerivTerms.get("dR207_206r__dMolPb207r").doubleValue();
+
+        parDerivTerms.put("dR207_206r__dMolPb206r", //
+                toBigDecimal15(-molPb207rDouble * dR207_206r__dMolPb207r * dR207_206r__dMolPb207r));
+        double dR207_206r__dMolPb206r = parDerivTerms.get("dR207_206r__dMolPb206r").doubleValue();
+
+        putProduct(parDerivTerms, "dR207_206r__dR206_205m", dR207_206r__dMolPb206r, "dMolPb206r__dR206_205m");
+        putProduct(parDerivTerms, "dR207_206r__dR207_205m", dR207_206r__dMolPb207r, "dMolPb207r__dR207_205m");
+        putProduct(parDerivTerms, "dR207_206r__dR206_205t", dR207_206r__dMolPb206r, "dMolPb206r__dR206_205t");
+        putProduct(parDerivTerms, "dR207_206r__dR207_205t", dR207_206r__dMolPb207r, "dMolPb207r__dR207_205t");
+        putProduct(parDerivTerms, "dR207_206r__dR206_204b", dR207_206r__dMolPb206r, "dMolPb206r__dMolPb206b", "dMolPb206b__dR206_204b");
+        putProduct(parDerivTerms, "dR207_206r__dR207_204b", dR207_206r__dMolPb207r, "dMolPb207r__dMolPb207b", "dMolPb207b__dR207_204b");
+    }
+
+    private static void putProduct(
+            ConcurrentMap<String, BigDecimal> parDerivTerms, String name, double factor, String... termNames) {
+        try {
+            double product = factor;
+            for (String termName : termNames) {
+                product *= parDerivTerms.get(termName).doubleValue();
+            }
+            parDerivTerms.put(name, toBigDecimal15(product));
+        } catch (Exception e) {
+            parDerivTerms.put(name, BigDecimal.ZERO);
+        }
+    }
 }
@@ -119,5 +119,60 @@ public class R207_235r extends ValueModel implements
         }
     }
 
+    /**
+     * oct 2026 as calculateValue, in primitive doubles and without the value
+     * tree.
+     *
+     * @param inputValueModels
+     * @param parDerivTerms
+     */
+    @Override
+    protected void calculateValueInDoublePrecision(
+            ValueModel[] inputValueModels,
+            ConcurrentMap<String, BigDecimal> parDerivTerms) {
+
+        molPb207r = inputValueModels[0];
+        molU235s = inputValueModels[1];
+
+        double molPb207rDouble = molPb207r.getValue().doubleValue();
+        double molU235sDouble = molU235s.getValue().doubleValue();
+
+        setValue(toBigDecimal15(molPb207rDouble / molU235sDouble));
 
+        double dR207_235r__dMolPb207r = 1.0 / molU235sDouble;
+        parDerivTerms.put("dR207_235r__dMolPb207r", toBigDecimal15(dR207_235r__dMolPb207r));
+
+        double dR207_235r__dMolU235s = -molPb207rDouble / (molU235sDouble * molU235sDouble);
+        parDerivTerms.put("dR207_235r__dMolU235s", toBigDecimal15(dR207_235r__dMolU235s));
+
+        try {
+            double dMolU235t__dConcU235t = parDerivTerms.get("dMolU235t__dConcU235t").doubleValue();
+            double dR207_235r__dConcU235t =//
+                    parDerivTerms.get("dR207_235r__dMolU235s").doubleValue()//
+                    * (parDerivTerms.get("dMolU235s__dMolU235t").doubleValue() * dMolU235t__dConcU235t//
+                    + parDerivTerms.get("dMolU235s__dMolU238t").doubleValue()//
+                    * parDerivTerms.get("dMolU238t__dMolU235t").doubleValue() * dMolU235t__dConcU235t//
+                    + parDerivTerms.get("dMolU235s__dMolU233t").doubleValue()//
+                    * parDerivTerms.get("dMolU233t__dMolU235t").doubleValue() * dMolU235t__dConcU235t);
+            parDerivTerms.put("dR207_235r__dConcU235t", toBigDecimal15(dR207_235r__dConcU235t));
+        } catch (Exception e) {
+            parDerivTerms.put("dR207_235r__dConcU235t", BigDecimal.ZERO);
+        }
+
+        try {
+            double dMolPb205t__dConcPb205t = parDerivTerms.get("dMolPb205t__dConcPb205t").doubleValue();
+            double dR207_235r__dConcPb205t = //
+                    parDerivTerms.get("dR207_235r__dMolPb207r").doubleValue()//
+                    * (parDerivTerms.get("dMolPb207r__dMolPb205t").doubleValue() * dMolPb205t__dConcPb205t//
+                    + parDerivTerms.get("dMolPb207r__dMolPb207b").doubleValue()//
+                    * parDerivTerms.get("dMolPb207b__dMolPb205t").doubleValue() * dMolPb205t__dConcPb205t//
+                    + parDerivTerms.get("dMolPb207r__dMolPb207c").doubleValue()//
+                    * parDerivTerms.get("dMolPb207c__dMolPb204c").doubleValue()//
+                    * parDerivTerms.get("dMolPb204c__dMolPb204tc").doubleValue()//
+                    * parDerivTerms.get("dMolPb204tc__dMolPb205t").doubleValue() * dMolPb205t__dConcPb205t);
+            parDerivTerms.put("dR207_235r__dConcPb205t", toBigDecimal15(dR207_235r__dConcPb205t));
+        } catch (Exception e) {
+            parDerivTerms.put("dR207_235r__dConcPb205t", BigDecimal.ZERO);
+        }
+    }
 }
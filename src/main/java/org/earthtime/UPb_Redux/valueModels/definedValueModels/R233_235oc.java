@@ -75,7 +75,7 @@ public class R233_235oc extends ValueModel implements
 
 //******************* experiment
         try {
-            setValueTree(//
+            setValueTree(() -> //
                     r265_267m.getValueTree().//
                     divide( ExpTreeII.ONE.//
                     subtract( ExpTreeII.TWO.//
@@ -86,9 +86,9 @@ public class R233_235oc extends ValueModel implements
         }
 
  //       System.out.println(getName() + "  " + getValue().toPlainString() + "\n" + getValueTree().treeToLaTeX(4, false));
-        if ( getValue().compareTo( getValueTree().getNodeValue() ) != 0 ) {
+//        if ( getValue().compareTo( getValueTree().getNodeValue() ) != 0 ) {
 //            System.out.println( differenceValueCalcs() );
-        }
+//        }
 
 
 
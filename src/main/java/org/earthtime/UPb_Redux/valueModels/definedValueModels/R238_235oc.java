@@ -77,7 +77,7 @@ public class R238_235oc extends ValueModel implements
             setValue( BigDecimal.ZERO );
         }
 
-        setValueTree(//
+        setValueTree(() -> //
                 r270_267m.getValueTree().//
                 divide( ExpTreeII.ONE.//
                 subtract( ExpTreeII.TWO.//
@@ -87,9 +87,9 @@ public class R238_235oc extends ValueModel implements
 
 
         //System.out.println(getValue().toPlainString() + "\n" + getValueTree().treeToString(1));
-        if ( getValue().compareTo( getValueTree().getNodeValue() ) != 0 ) {
+//        if ( getValue().compareTo( getValueTree().getNodeValue() ) != 0 ) {
 //            System.out.println( differenceValueCalcs() );
-        }
+//        }
 
 
 
@@ -85,7 +85,7 @@ public class R265_267m extends ValueModel implements
 //                    divide(denominator));
 
 
-            setValueTree(//
+            setValueTree(() -> //
                     r233_235m.getValueTree().//
                     divide(ExpTreeII.ONE.//
                     add(new ExpTreeII(2.0).//
@@ -96,9 +96,9 @@ public class R265_267m extends ValueModel implements
         }
 
  //       System.out.println(getName() + "  " + getValue().toPlainString() + "\n" + getValueTree().treeToLaTeX(1, false));
-        if (getValue().compareTo(getValueTree().getNodeValue()) != 0) {
+//        if (getValue().compareTo(getValueTree().getNodeValue()) != 0) {
 //            System.out.println( differenceValueCalcs() );
-        }
+//        }
 
     }
 
@@ -34,12 +34,13 @@ import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.swing.JOptionPane;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Source;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
@@ -49,6 +50,7 @@ import org.earthtime.XMLExceptions.BadOrMissingXMLSchemaException;
 import org.earthtime.exceptions.ETException;
 import org.w3c.dom.Document;
 import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 
@@ -58,6 +60,10 @@ import org.xml.sax.SAXParseException;
  */
 public class URIHelper {
 
+    // oct 2026 compiled XML schemas keyed by schema URI
+    private static final Map<String, Schema> compiledSchemas = new ConcurrentHashMap<>();
+    private static final String BUNDLED_XML_SCHEMA_FOLDER = "/org/earthtime/UPb_Redux/resources/xmlSchema/";
+
     /**
      * Creates a new instance of URIHelper
      */
@@ -235,37 +241,105 @@ public class URIHelper {
         boolean retVal = true;
 
         try {
-            // parse an XML document into a DOM tree
+            // oct 2026 the schema is compiled once and the document is validated as it streams by
+            Validator validator = getCompiledSchema(schemaURI).newValidator();
+            if (xmlURI.startsWith("http://")) {
+                validator.validate(new StreamSource(xmlURI));
+            } else {
+                validator.validate(new StreamSource(new File(xmlURI)));
+            }
+
+        } catch (SAXException | IOException ex) {
+            retVal = (ex instanceof UnknownHostException);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Reads and parses an XML document once and validates the parsed DOM
+     * tree against the schema at schemaURI, so that the tree can be handed
+     * straight to XStream. If the schema cannot be reached, as when off line,
+     * the document is not validated.
+     *
+     * @param reader the document, which is closed once parsed
+     * @param schemaURI
+     * @return the document, or null if it is not well formed or does not
+     * conform to the schema
+     */
+    public static Document parseValidatedXML(BufferedReader reader, String schemaURI) {
+        Document document;
+
+        try {
             DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
             dbFactory.setNamespaceAware(true);
             DocumentBuilder parser = dbFactory.newDocumentBuilder();
-            Document document = parser.parse(xmlURI);
+            parser.setErrorHandler(new SAXErrorHandler());
+            document = parser.parse(new InputSource(reader));
+        } catch (ParserConfigurationException | SAXException | IOException ex) {
+            document = null;
+        } finally {
+            try {
+                reader.close();
+            } catch (IOException iOException) {
+            }
+        }
 
-            // create a SchemaFactory capable of understanding WXS schemas
-            SchemaFactory schemaFactory
-                    = SchemaFactory.newInstance(
-                            XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        if (document != null) {
+            try {
+                // validating a DOMSource leaves the tree as parsed
+                getCompiledSchema(schemaURI).newValidator().validate(new DOMSource(document));
+            } catch (SAXException | IOException ex) {
+                if (!(ex instanceof UnknownHostException)) {
+                    document = null;
+                }
+            }
+        }
 
-            // load a WXS schema, represented by a Schema instance
-            Source schemaFile = new StreamSource(
-                    new URL(schemaURI).openStream());
-            Schema schema = schemaFactory.newSchema(schemaFile);
+        return document;
+    }
 
-            // create a Validator instance, which can be used to validate an instance document
-            Validator validator = schema.newValidator();
+    /**
+     * Compiles the XML schema at schemaURI the first time it is asked for
+     * and hands back the same thread-safe <code>Schema</code> thereafter. A
+     * copy of the schema bundled under resources/xmlSchema is preferred to
+     * the one on the web. Schemas that fail to compile are not remembered.
+     *
+     * @param schemaURI
+     * @return
+     * @throws SAXException
+     * @throws IOException
+     */
+    public static Schema getCompiledSchema(String schemaURI)
+            throws SAXException, IOException {
 
-            // validate the DOM tree
-            validator.validate(new DOMSource(document));
+        Schema schema = compiledSchemas.get(schemaURI);
 
-        } catch (ParserConfigurationException | SAXException | IOException ex) {
-            //if (ex instanceof UnknownHostException) {
-            //    retVal= true;
-            //} else {
-            retVal = (ex instanceof UnknownHostException);
-            //}
+        if (schema == null) {
+            String schemaFileName = schemaURI.substring(schemaURI.lastIndexOf('/') + 1);
+            URL schemaURL = null;
+            if (schemaFileName.endsWith(".xsd")) {
+                schemaURL = URIHelper.class.getResource(BUNDLED_XML_SCHEMA_FOLDER + schemaFileName);
+            }
+            if (schemaURL == null) {
+                schemaURL = new URL(schemaURI);
+            }
+
+            try (InputStream schemaStream = schemaURL.openStream()) {
+                // a SchemaFactory is not thread safe, so each compilation has its own
+                SchemaFactory schemaFactory
+                        = SchemaFactory.newInstance(
+                                XMLConstants.W3C_XML_SCHEMA_NS_URI);
+                schema = schemaFactory.newSchema(new StreamSource(schemaStream, schemaURL.toExternalForm()));
+            }
+
+            Schema compiledSchema = compiledSchemas.putIfAbsent(schemaURI, schema);
+            if (compiledSchema != null) {
+                schema = compiledSchema;
+            }
         }
 
-        return retVal;
+        return schema;
     }
 
     /**
@@ -46,6 +46,7 @@ import org.earthtime.dataDictionaries.SESAR_ObjectTypesEnum;
 import org.earthtime.exceptions.ETException;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 
 /**
  * Based on http://www.iedadata.org/services/sesar_api
@@ -290,9 +291,11 @@ public class SesarSample {
      * @return <code>XStream</code> - for XML serialization encoding
      */
     public static XStream getXStreamWriter() {
-        XStream xstream = new XStream();
-
-        customizeXstream(xstream);
+        XStream xstream = XStreamRegistry.getXStream(SesarSample.class, XStreamRegistry.WRITER, () -> {
+            XStream configured = new XStream();
+            customizeXstream(configured);
+            return configured;
+        });
 
         return xstream;
     }
@@ -307,10 +310,11 @@ public class SesarSample {
      * @return <code>XStream</code> - for XML serialization decoding
      */
     public static XStream getXStreamReader() {
-
-        XStream xstream = new XStream(new DomDriver());
-
-        customizeXstream(xstream);
+        XStream xstream = XStreamRegistry.getXStream(SesarSample.class, XStreamRegistry.READER, () -> {
+            XStream configured = new XStream(new DomDriver());
+            customizeXstream(configured);
+            return configured;
+        });
 
         return xstream;
     }
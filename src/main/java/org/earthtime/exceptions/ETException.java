@@ -35,8 +35,19 @@ public class ETException extends Exception{
      */
     public ETException() {
     }
-    
-    
+
+    /**
+     * Creates a new instance of ETException that carries its message without
+     * showing a warning, for work done off the event dispatch thread whose
+     * caller reports the warnings together.
+     *
+     * @param msg
+     */
+    public ETException(String msg) {
+        super(msg);
+    }
+
+
     /**
      * 
      * @param parent
@@ -48,6 +48,7 @@ import org.earthtime.ratioDataModels.physicalConstantsModels.PhysicalConstantsMo
 import org.earthtime.utilities.DateHelpers;
 import org.earthtime.archivingTools.URIHelper;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 
 /**
  *
@@ -452,9 +453,13 @@ public class PhysicalConstants implements
      * @return
      */
     private XStream getXStreamWriter () {
-        XStream xstream = new XStream();
+        XStream xstream = XStreamRegistry.getXStream( getClass(), XStreamRegistry.WRITER, () -> {
+            XStream configured = new XStream();
+            customizeXstream( configured );
+            return configured;
+        } );
 
-        customizeXstream( xstream );
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -464,10 +469,13 @@ public class PhysicalConstants implements
      * @return
      */
     private XStream getXStreamReader () {
+        XStream xstream = XStreamRegistry.getXStream( getClass(), XStreamRegistry.READER, () -> {
+            XStream configured = new XStream( new DomDriver() );
+            customizeXstream( configured );
+            return configured;
+        } );
 
-        XStream xstream = new XStream( new DomDriver() );
-
-        customizeXstream( xstream );
+        setClassXMLSchemaURL();
 
         return xstream;
     }
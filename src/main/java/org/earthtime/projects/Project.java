@@ -41,6 +41,7 @@ import org.earthtime.UPb_Redux.aliquots.UPbReduxAliquot;
 import org.earthtime.UPb_Redux.exceptions.BadLabDataException;
 import org.earthtime.UPb_Redux.filters.ReduxFileFilter;
 import org.earthtime.UPb_Redux.fractions.Fraction;
+import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFractionI;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbLAICPMSFraction;
 import org.earthtime.UPb_Redux.reduxLabData.ReduxLabData;
 import org.earthtime.UPb_Redux.samples.Sample;
@@ -153,7 +154,7 @@ public class Project implements
 
         if (locationOfProjectReduxFile != null) {
             try {
-                ETSerializer.SerializeObjectToFile(this, locationOfProjectReduxFile.getCanonicalPath());
+                ETSerializer.SerializeObjectToBinaryFile(this, locationOfProjectReduxFile.getCanonicalPath());
             } catch (IOException ex) {
                 Logger.getLogger(Project.class.getName()).log(Level.SEVERE, null, ex);
             } catch (ETException etexception) {
@@ -258,6 +259,77 @@ public class Project implements
 
     }
 
+    /**
+     * oct 2026 for live data monitoring: instead of rebuilding every Sample
+     * and UPbLAICPMSFraction, adds Redux fractions for just the appended
+     * tripoli fractions to the samples already prepared, provided the
+     * tripoli samples still match them one for one.
+     *
+     * @param appendedFractions tripoli fractions that have no Redux fraction
+     * yet
+     * @return false, with nothing changed, if the samples must be prepared
+     * again with prepareSamplesForRedux
+     */
+    @Override
+    public boolean prepareAppendedFractionsForRedux(SortedSet<TripoliFraction> appendedFractions) {
+        System.out.println("Preparing appended Fractions for Redux");
+
+        ArrayList<AbstractTripoliSample> tripoliSamples = tripoliSession.getTripoliSamples();
+
+        boolean samplesMatch = (compiledSuperSample != null) //
+                && (projectSamples != null) //
+                && (projectSamples.size() == tripoliSamples.size()) //
+                && (compiledSuperSample.getAliquots().size() == tripoliSamples.size());
+
+        // first pass only checks, so that a mismatch leaves the project untouched
+        for (int i = 0; samplesMatch && (i < tripoliSamples.size()); i++) {
+            AbstractTripoliSample tripoliSample = tripoliSamples.get(i);
+            SampleI sample = projectSamples.get(i);
+
+            samplesMatch = tripoliSample.getSampleName().equals(sample.getSampleName());
+
+            int countOfPreparedFractions = 0;
+            for (Iterator<TripoliFraction> it = tripoliSample.getSampleFractions().iterator(); samplesMatch && it.hasNext();) {
+                TripoliFraction tf = it.next();
+                if (!appendedFractions.contains(tf)) {
+                    samplesMatch = (tf.getuPbFraction() != null) //
+                            && tripoliSample.getSampleName().equals(tf.getuPbFraction().getSampleName());
+                    countOfPreparedFractions++;
+                }
+            }
+
+            samplesMatch = samplesMatch && (countOfPreparedFractions == sample.getUPbFractions().size());
+        }
+
+        if (samplesMatch) {
+            for (int i = 0; i < tripoliSamples.size(); i++) {
+                AbstractTripoliSample tripoliSample = tripoliSamples.get(i);
+                SampleI sample = projectSamples.get(i);
+                // one aliquot per sample, imported into the super-sample in the same order
+                UPbReduxAliquot aliquot = (UPbReduxAliquot) sample.getAliquotByNumber(1);
+                UPbReduxAliquot superSampleAliquot = (UPbReduxAliquot) compiledSuperSample.getAliquotByNumber(i + 1);
+
+                for (TripoliFraction tf : tripoliSample.getSampleFractions()) {
+                    if (appendedFractions.contains(tf)) {
+                        Fraction uPbLAICPMSFraction = new UPbLAICPMSFraction(tf.getFractionID());
+                        uPbLAICPMSFraction.setSampleName(tripoliSample.getSampleName());
+                        tf.setuPbFraction(uPbLAICPMSFraction);
+
+                        sample.addUPbFraction(uPbLAICPMSFraction);
+                        aliquot.getAliquotFractions().add(uPbLAICPMSFraction);
+
+                        // as done by importAliquotFromAnotherSample
+                        ((UPbFractionI) uPbLAICPMSFraction).setAliquotNumber(superSampleAliquot.getAliquotNumber());
+                        superSampleAliquot.getAliquotFractions().add(uPbLAICPMSFraction);
+                        compiledSuperSample.getUPbFractions().add(uPbLAICPMSFraction);
+                    }
+                }
+            }
+        }
+
+        return samplesMatch;
+    }
+
     /**
      *
      */
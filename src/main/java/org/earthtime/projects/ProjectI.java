@@ -7,7 +7,9 @@ package org.earthtime.projects;
 import java.io.File;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.SortedSet;
 import org.earthtime.Tripoli.dataModels.inputParametersModels.AbstractAcquisitionModel;
+import org.earthtime.Tripoli.fractions.TripoliFraction;
 import org.earthtime.Tripoli.rawDataFiles.handlers.AbstractRawDataFileHandler;
 import org.earthtime.Tripoli.sessions.TripoliSessionInterface;
 import org.earthtime.UPb_Redux.ReduxConstants.ANALYSIS_PURPOSE;
@@ -50,6 +52,13 @@ public interface ProjectI {
      */
     void prepareSamplesForRedux ();
 
+    /**
+     *
+     * @param appendedFractions
+     * @return false if the samples must be prepared again from scratch
+     */
+    boolean prepareAppendedFractionsForRedux ( SortedSet<TripoliFraction> appendedFractions );
+
     /**
      *
      * @return
@@ -33,10 +33,12 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.earthtime.UPb_Redux.ReduxConstants;
 import org.earthtime.UPb_Redux.reduxLabData.ReduxLabDataListElementI;
 import org.earthtime.UPb_Redux.user.UPbReduxConfigurator;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
+import org.earthtime.UPb_Redux.valueModels.ValueModelNameIndex;
 import org.earthtime.XMLExceptions.BadOrMissingXMLSchemaException;
 import org.earthtime.exceptions.ETException;
 import org.earthtime.matrices.matrixModels.AbstractMatrixModel;
@@ -45,6 +47,7 @@ import org.earthtime.matrices.matrixModels.CovarianceMatrixModel;
 import org.earthtime.utilities.DateHelpers;
 import org.earthtime.archivingTools.URIHelper;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 
 /**
  *
@@ -61,6 +64,7 @@ public abstract class AbstractRatiosDataModel implements
      *
      */
     protected transient String XMLSchemaURL;
+    private static final Map<Class<?>, String> classXMLSchemaURLs = new ConcurrentHashMap<>();
 
     /**
      *
@@ -115,6 +119,8 @@ public abstract class AbstractRatiosDataModel implements
      *
      */
     protected ValueModel[] ratios;
+    // oct 2026 name to slot index for getDatumByName
+    private transient ValueModelNameIndex ratiosIndex;
     /**
      *
      */
@@ -800,11 +806,12 @@ public abstract class AbstractRatiosDataModel implements
      */
     public ValueModel getDatumByName(String datumName) {
 
-        ValueModel retVal = new ValueModel(datumName);
-        for (int i = 0; i < ratios.length; i++) {
-            if (ratios[i].getName().equals(datumName)) {
-                retVal = ratios[i];
-            }
+        if (ratiosIndex == null) {
+            ratiosIndex = new ValueModelNameIndex(false, false);
+        }
+        ValueModel retVal = ratiosIndex.find(ratios, datumName);
+        if (retVal == null) {
+            retVal = new ValueModel(datumName);
         }
 
         return retVal;
@@ -975,9 +982,21 @@ public abstract class AbstractRatiosDataModel implements
      */
     protected XStream getXStream() {
 
-        XStream xstream = new XStream(new DomDriver());
+        // oct 2026 the configured XStream is shared by every model of a class, and the
+        // schema URL that customizing sets is remembered for the models that skip it
+        XStream xstream = XStreamRegistry.getXStream(getClass(), XStreamRegistry.READER, () -> {
+            XStream configured = new XStream(new DomDriver());
+            customizeXstream(configured);
+            if (XMLSchemaURL != null) {
+                classXMLSchemaURLs.put(getClass(), XMLSchemaURL);
+            }
+            return configured;
+        });
 
-        customizeXstream(xstream);
+        String classXMLSchemaURL = classXMLSchemaURLs.get(getClass());
+        if (classXMLSchemaURL != null) {
+            XMLSchemaURL = classXMLSchemaURL;
+        }
 
         return xstream;
     }
@@ -159,6 +159,21 @@ public final class StaceyKramersInitialPbModelET extends InitialPbModelET {
 
     }
 
+    /**
+     * Unlike copyModel, keeps the Stacey-Kramers behavior, so that a fraction
+     * can calculate its initial Pb ratios into its own model.
+     *
+     * @return an independent Stacey-Kramers model with these ratios and rhos
+     */
+    public StaceyKramersInitialPbModelET copyForFraction() {
+        StaceyKramersInitialPbModelET myModel = new StaceyKramersInitialPbModelET();
+        myModel.initializeModel(cloneData(), cloneRhosVarUnct(), null);
+        myModel.r207_206cUnctPCT = r207_206cUnctPCT;
+        myModel.tripoliFraction = tripoliFraction;
+
+        return myModel;
+    }
+
     /**
      *
      * @return
@@ -46,8 +46,9 @@ public class TracerUPbModel extends AbstractRatiosDataModel {
 
     // class variables
     private static final long serialVersionUID = -3351436105905394538L;
+    // oct 2026 synchronized because fraction files are unmarshalled on worker threads
     private static Map<String, AbstractRatiosDataModel> modelInstances = //
-            new HashMap<>();
+            Collections.synchronizedMap(new HashMap<>());
     private static final AbstractRatiosDataModel noneModel = //
             new TracerUPbModel( //
                     ReduxConstants.NONE, //
@@ -324,22 +325,26 @@ public class TracerUPbModel extends AbstractRatiosDataModel {
             ValueModel[] ratios,//
             Map<String, BigDecimal> rhos) {
 
-        AbstractRatiosDataModel myModel = modelInstances.get(makeNameAndVersion(modelName, versionNumber, minorVersionNumber));
+        AbstractRatiosDataModel myModel;
 
-        if (myModel == null) {
-            myModel = new TracerUPbModel(//
-                    modelName,//
-                    versionNumber, //
-                    minorVersionNumber,//
-                    tracerType,//
-                    labName, //
-                    dateCertified, //
-                    reference, //
-                    comment);
+        synchronized (modelInstances) {
+            myModel = modelInstances.get(makeNameAndVersion(modelName, versionNumber, minorVersionNumber));
 
-            myModel.initializeModel(ratios, rhos, null);
+            if (myModel == null) {
+                myModel = new TracerUPbModel(//
+                        modelName,//
+                        versionNumber, //
+                        minorVersionNumber,//
+                        tracerType,//
+                        labName, //
+                        dateCertified, //
+                        reference, //
+                        comment);
 
-            modelInstances.put(makeNameAndVersion(modelName, versionNumber, minorVersionNumber), myModel);
+                myModel.initializeModel(ratios, rhos, null);
+
+                modelInstances.put(makeNameAndVersion(modelName, versionNumber, minorVersionNumber), myModel);
+            }
         }
 
         return myModel;
@@ -411,9 +416,11 @@ public class TracerUPbModel extends AbstractRatiosDataModel {
 
         ArrayList<AbstractRatiosDataModel> arrayListOfModels = //
                 new ReduxLabDataList<>("Tracer");
-        Iterator<String> modelsKeyInterator = modelInstances.keySet().iterator();
-        while (modelsKeyInterator.hasNext()) {
-            arrayListOfModels.add(modelInstances.get(modelsKeyInterator.next()));
+        synchronized (modelInstances) {
+            Iterator<String> modelsKeyInterator = modelInstances.keySet().iterator();
+            while (modelsKeyInterator.hasNext()) {
+                arrayListOfModels.add(modelInstances.get(modelsKeyInterator.next()));
+            }
         }
 
         Collections.sort(arrayListOfModels);
@@ -427,10 +434,12 @@ public class TracerUPbModel extends AbstractRatiosDataModel {
      * @return
      */
     protected Object readResolve() {
-        if (!modelInstances.containsKey(makeNameAndVersion(modelName, versionNumber, minorVersionNumber))) {
+        synchronized (modelInstances) {
+            if (!modelInstances.containsKey(makeNameAndVersion(modelName, versionNumber, minorVersionNumber))) {
 
-            this.initializeModel();
-            modelInstances.put(makeNameAndVersion(modelName, versionNumber, minorVersionNumber), this);
+                this.initializeModel();
+                modelInstances.put(makeNameAndVersion(modelName, versionNumber, minorVersionNumber), this);
+            }
         }
 
         return getInstance(modelName, versionNumber, minorVersionNumber);
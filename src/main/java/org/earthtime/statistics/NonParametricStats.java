@@ -28,7 +28,13 @@ import org.apache.commons.math.stat.StatUtils;
  */
 public class NonParametricStats {
 
-    private static NonParametricStats instance = null;
+    // one instance per thread so that fractions can be fit concurrently
+    private static final ThreadLocal<NonParametricStats> instance = new ThreadLocal<NonParametricStats>() {
+        @Override
+        protected NonParametricStats initialValue () {
+            return new NonParametricStats();
+        }
+    };
     //
     private double sampleMean;
     private double variance;
@@ -43,10 +49,7 @@ public class NonParametricStats {
      * @return
      */
     public static NonParametricStats getInstance () {
-        if ( instance == null ) {
-            instance = new NonParametricStats();
-        }
-        return instance;
+        return instance.get();
     }
 
     /**
@@ -0,0 +1,138 @@
+/*
+ * XStreamRegistry.java
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.xmlUtilities;
+
+import com.thoughtworks.xstream.XStream;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Holds one configured <code>XStream</code> per serialized class and role,
+ * such as reader or writer, so that converters are registered and aliases
+ * processed once per session rather than on every read or write. A
+ * configured <code>XStream</code> is safe to share across threads as long as
+ * its converters keep no state between calls, and it must not be
+ * reconfigured once registered.
+ *
+ * Counts of the hits and of the builds are kept so that imports can be
+ * checked to have stopped paying for setting up <code>XStream</code>.
+ *
+ * @author James F. Bowring
+ */
+public final class XStreamRegistry {
+
+    /**
+     * role of an <code>XStream</code> that reads XML through a DOM driver
+     */
+    public static final String READER = "reader";
+    /**
+     * role of an <code>XStream</code> that writes XML
+     */
+    public static final String WRITER = "writer";
+
+    private static final Map<String, RegisteredXStream> xstreams = new ConcurrentHashMap<>();
+    private static final AtomicLong countOfHits = new AtomicLong(0);
+    private static final AtomicLong countOfBuilds = new AtomicLong(0);
+
+    private XStreamRegistry() {
+    }
+
+    /**
+     * Gets the <code>XStream</code> registered for the class and role,
+     * building and registering it with <code>builder</code> the first time.
+     *
+     * @param serializedClass the class whose instances are read or written
+     * @param role such as {@link #READER} or {@link #WRITER}, qualified by any
+     * variant in the configuration
+     * @param builder creates and configures the <code>XStream</code>
+     * @return the shared <code>XStream</code>
+     */
+    public static XStream getXStream(Class<?> serializedClass, String role, Supplier<XStream> builder) {
+        String key = serializedClass.getName() + "#" + role;
+
+        RegisteredXStream registered = xstreams.get(key);
+
+        if (registered == null) {
+            // built outside the map because a builder may itself ask for other XStreams;
+            // of two threads racing to build, the first to register wins
+            RegisteredXStream built = new RegisteredXStream(builder.get());
+            countOfBuilds.incrementAndGet();
+
+            registered = xstreams.putIfAbsent(key, built);
+            if (registered == null) {
+                registered = built;
+            }
+        } else {
+            registered.countOfHits.incrementAndGet();
+            countOfHits.incrementAndGet();
+        }
+
+        return registered.xstream;
+    }
+
+    /**
+     * @return the count of requests answered by a registered
+     * <code>XStream</code>
+     */
+    public static long getCountOfHits() {
+        return countOfHits.get();
+    }
+
+    /**
+     * @return the count of <code>XStream</code>s built
+     */
+    public static long getCountOfBuilds() {
+        return countOfBuilds.get();
+    }
+
+    /**
+     * @return the count of hits of each registered <code>XStream</code>, by
+     * class name and role
+     */
+    public static SortedMap<String, Long> getCountsOfHitsByKey() {
+        SortedMap<String, Long> countsOfHits = new TreeMap<>();
+        for (Map.Entry<String, RegisteredXStream> entry : xstreams.entrySet()) {
+            countsOfHits.put(entry.getKey(), entry.getValue().countOfHits.get());
+        }
+        return countsOfHits;
+    }
+
+    /**
+     * Forgets every registered <code>XStream</code> and resets the counts.
+     */
+    public static void clear() {
+        xstreams.clear();
+        countOfHits.set(0);
+        countOfBuilds.set(0);
+    }
+
+    private static class RegisteredXStream {
+
+        private final XStream xstream;
+        private final AtomicLong countOfHits;
+
+        RegisteredXStream(XStream xstream) {
+            this.xstream = xstream;
+            this.countOfHits = new AtomicLong(0);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * FittingInstrumentation_Test_10182026Test.java
+ *
+ * The naming of this file is the name of the .java file being tested, combined
+ * with test since this is the test file, combined with the creation date of
+ * this file. The test at the end is so that the file runs from NetBeans when
+ * testing an entire project.
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.dataModels;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Measurements are kept per fraction, survive nested fractions and are
+ * printed once per refit.
+ *
+ * @author James F. Bowring
+ */
+public class FittingInstrumentation_Test_10182026Test {
+
+    private static final String HEADER = "FRACTION\tMODEL\tOPERATION\tCOUNT\tBYTES\tMILLISECONDS";
+
+    private final FittingInstrumentation instrumentation = FittingInstrumentation.getInstance();
+    private final ByteArrayOutputStream printed = new ByteArrayOutputStream();
+    private PrintStream savedOut;
+
+    @Before
+    public void setUp() {
+        instrumentation.reset();
+        instrumentation.setEnabled(true);
+        savedOut = System.out;
+        System.setOut(new PrintStream(printed, true));
+    }
+
+    @After
+    public void tearDown() {
+        System.setOut(savedOut);
+        instrumentation.setEnabled(false);
+        instrumentation.reset();
+    }
+
+    /**
+     * Test of beginFraction and endFraction methods, of class
+     * FittingInstrumentation, when nested.
+     */
+    @Test
+    public void test_EndFraction_Nested() {
+        savedOut.println("Testing FittingInstrumentation's nested beginFraction and endFraction");
+
+        instrumentation.beginFraction("A");
+        measure("r206_238w", "MEAN");
+        instrumentation.beginFraction("A");
+        measure("r206_238w", "MEAN");
+        instrumentation.endFraction();
+        assertEquals("", printed.toString());
+
+        // still measured under A after the nested endFraction
+        measure("r206_238w", "MEAN");
+        instrumentation.endFraction();
+
+        List<String> rows = printedRows();
+        assertEquals(1, rows.size());
+        assertTrue(rows.get(0).startsWith("A\tr206_238w\tMEAN\t3\t"));
+    }
+
+    /**
+     * Test of beginRefit and endRefit methods, of class FittingInstrumentation,
+     * with fractions on several threads and refit twice.
+     */
+    @Test
+    public void test_EndRefit_PrintsOncePerRefit() throws InterruptedException {
+        savedOut.println("Testing FittingInstrumentation's beginRefit and endRefit");
+
+        for (int refit = 0; refit < 2; refit++) {
+            printed.reset();
+
+            instrumentation.beginRefit();
+            List<Thread> threads = new ArrayList<>();
+            for (String fractionID : new String[]{"A", "B", "C"}) {
+                Thread thread = new Thread(() -> {
+                    instrumentation.beginFraction(fractionID);
+                    measure("r207_206w", "LINE");
+                    instrumentation.endFraction();
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals("", printed.toString());
+            instrumentation.endRefit();
+
+            String[] lines = printed.toString().split("\\r?\\n");
+            assertEquals(HEADER, lines[0]);
+            List<String> rows = printedRows();
+            assertEquals(3, rows.size());
+            // each refit reports only its own measurements
+            assertTrue(rows.get(0).startsWith("A\tr207_206w\tLINE\t1\t"));
+            assertTrue(rows.get(1).startsWith("B\tr207_206w\tLINE\t1\t"));
+            assertTrue(rows.get(2).startsWith("C\tr207_206w\tLINE\t1\t"));
+        }
+    }
+
+    private void measure(String modelName, String operation) {
+        instrumentation.stop(instrumentation.start(modelName, operation));
+    }
+
+    private List<String> printedRows() {
+        List<String> rows = new ArrayList<>();
+        int countOfHeaders = 0;
+        for (String line : printed.toString().split("\\r?\\n")) {
+            if (line.equals(HEADER)) {
+                countOfHeaders++;
+            } else if (!line.isEmpty()) {
+                rows.add(line);
+            }
+        }
+        assertEquals(1, countOfHeaders);
+        return rows;
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * ReinschBandedSmoothingSpline_Test_10182026Test.java
+ *
+ * The naming of this file is the name of the .java file being tested, combined
+ * with test since this is the test file, combined with the creation date of
+ * this file. The test at the end is so that the file runs from NetBeans when
+ * testing an entire project.
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.fitFunctions.algorithms;
+
+import Jama.Matrix;
+import java.util.Arrays;
+import java.util.Random;
+import org.earthtime.Tripoli.fitFunctions.AbstractFunctionOfX;
+import org.earthtime.Tripoli.fitFunctions.SmoothingSplineWithCov;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * The banded Reinsch spline must reproduce the dense Q, R, K and W spline of
+ * SmoothingSplineWithCov, for typical data, for the fewest knots a spline
+ * allows and for data with repeated times.
+ *
+ * @author James F. Bowring
+ */
+public class ReinschBandedSmoothingSpline_Test_10182026Test {
+
+    private static final double TOLERANCE = 1.0e-9;
+
+    private static final double[] ALPHAS = {1.0e-2, 1.0, 1.0e2, 1.0e4};
+
+    private final Random random = new Random(11);
+
+    /**
+     * Test of fit method, of class ReinschBandedSmoothingSpline, against the
+     * dense matrices.
+     */
+    @Test
+    public void test_Fit_MatchesDenseSpline() {
+        System.out.println("Testing ReinschBandedSmoothingSpline's fit(double alpha) against the dense spline");
+
+        for (int countOfData : new int[]{3, 4, 5, 40}) {
+            double[] t = makeUnevenTimes(countOfData);
+            double[] variances = makeVariances(countOfData);
+            double[] y = makeIntensities(t, variances, 0.05);
+
+            ReinschBandedSmoothingSpline bandedSpline = new ReinschBandedSmoothingSpline(t, variances, y);
+            for (double alpha : ALPHAS) {
+                bandedSpline.fit(alpha);
+                assertMatchesDenseSpline(t, variances, y, alpha, bandedSpline);
+            }
+        }
+    }
+
+    /**
+     * Test of getFunctionOfX method, of class SmoothingSplineWithCov, with
+     * diagonal covariance (banded) and the same covariance routed through the
+     * dense path.
+     */
+    @Test
+    public void test_GetFunctionOfX_BandedMatchesDensePath() {
+        System.out.println("Testing SmoothingSplineWithCov's banded and dense paths for few knots and typical data");
+
+        for (int countOfData : new int[]{3, 4, 40}) {
+            double[] t = makeUnevenTimes(countOfData);
+            double[] variances = makeVariances(countOfData);
+            // the root bracket starts at alpha = 1, so three points need gentle
+            // curvature for their root to lie above it
+            double amplitude = (countOfData == 3) ? 0.01 : 0.05;
+            double[] y = makeIntensities(t, variances, amplitude);
+
+            assertPathsAgree(t, variances, y);
+        }
+    }
+
+    /**
+     * Test of getFunctionOfX method, of class SmoothingSplineWithCov, with
+     * repeated times, which leave a zero time delta in the spline.
+     */
+    @Test
+    public void test_GetFunctionOfX_RepeatedTimes() {
+        System.out.println("Testing SmoothingSplineWithCov's banded and dense paths for repeated times");
+
+        double[] t = makeUnevenTimes(20);
+        t[7] = t[6];
+        t[13] = t[12];
+        double[] variances = makeVariances(t.length);
+        double[] y = makeIntensities(t, variances, 0.05);
+
+        assertPathsAgree(t, variances, y);
+    }
+
+    private void assertPathsAgree(double[] t, double[] variances, double[] y) {
+        int n = t.length;
+        boolean[] dataActiveMap = new boolean[n];
+        Arrays.fill(dataActiveMap, true);
+
+        Matrix diagonalSs = new Matrix(n, n);
+        for (int i = 0; i < n; i++) {
+            diagonalSs.set(i, i, variances[i]);
+        }
+        // an off-diagonal entry far too small to matter routes the dense path
+        Matrix denseSs = diagonalSs.copy();
+        denseSs.set(0, n - 1, Double.MIN_NORMAL);
+        denseSs.set(n - 1, 0, Double.MIN_NORMAL);
+
+        AbstractFunctionOfX banded = SmoothingSplineWithCov.getInstance().getFunctionOfX(dataActiveMap, t, y, diagonalSs, true);
+        AbstractFunctionOfX dense = SmoothingSplineWithCov.getInstance().getFunctionOfX(dataActiveMap, t, y, denseSs, true);
+
+        assertSame(dense.getClass(), banded.getClass());
+        assertRelativelyEqual(dense.getA(), banded.getA());
+        assertRelativelyEqual(dense.getChiSquared(), banded.getChiSquared());
+        assertRelativelyEqual(dense.getMSWD(), banded.getMSWD());
+        assertRelativelyEqual(dense.getBIC(), banded.getBIC());
+        for (int i = 0; i < n - 1; i++) {
+            double tMid = (t[i] + t[i + 1]) / 2.0;
+            assertRelativelyEqual(dense.f(t[i]), banded.f(t[i]));
+            assertRelativelyEqual(dense.f(tMid), banded.f(tMid));
+        }
+        if (dense.getHatMatrix() != null) {
+            assertRelativelyEqual(dense.getHatMatrix(), banded.getHatMatrix());
+        }
+    }
+
+    private static void assertMatchesDenseSpline(double[] t, double[] variances, double[] y, double alpha, ReinschBandedSmoothingSpline bandedSpline) {
+        int n = t.length;
+        double[] h = new double[n - 1];
+        for (int i = 0; i < h.length; i++) {
+            h[i] = t[i + 1] - t[i];
+        }
+
+        // Q and R as assembled in SmoothingSplineWithCov
+        Matrix Q = new Matrix(n, n - 2);
+        Matrix R = new Matrix(n - 2, n - 2);
+        for (int c = 0; c < n - 2; c++) {
+            Q.set(c, c, 1.0 / h[c]);
+            Q.set(c + 1, c, -(1.0 / h[c] + 1.0 / h[c + 1]));
+            Q.set(c + 2, c, 1.0 / h[c + 1]);
+            R.set(c, c, (h[c] + h[c + 1]) / 3.0);
+            if (c < n - 3) {
+                R.set(c, c + 1, h[c + 1] / 6.0);
+                R.set(c + 1, c, h[c + 1] / 6.0);
+            }
+        }
+        Matrix Ss = new Matrix(n, n);
+        for (int i = 0; i < n; i++) {
+            Ss.set(i, i, variances[i]);
+        }
+        Matrix W = Ss.inverse();
+        Matrix K = Q.times(R.solve(Q.transpose()));
+        Matrix Y = new Matrix(y, n);
+
+        Matrix g = (W.plus(K.times(alpha))).solve(W.times(Y));
+        assertRelativelyEqual(g, new Matrix(bandedSpline.getG(), n));
+
+        double chiSquared = Y.minus(g).transpose().times(W).times(Y.minus(g)).get(0, 0);
+        assertRelativelyEqual(chiSquared, bandedSpline.calculateChiSquared());
+
+        Matrix ImAwAlpha = Ss.times(Q).times(//
+                (R.plus(Q.transpose().times(Ss).times(Q).times(alpha))).solve(Q.transpose()))//
+                .times(alpha);
+        assertRelativelyEqual(ImAwAlpha.trace(), bandedSpline.calculateTraceOfImAwAlpha());
+        assertRelativelyEqual(ImAwAlpha, new Matrix(bandedSpline.calculateImAwAlpha()));
+
+        assertRelativelyEqual(g.transpose().times(K.times(g)).get(0, 0), bandedSpline.calculateRoughness());
+
+        Matrix Gamma = R.solve(Q.transpose().times(g));
+        double[] gamma = bandedSpline.calculateGamma();
+        assertEquals(n, gamma.length);
+        assertEquals(0.0, gamma[0], 0.0);
+        assertEquals(0.0, gamma[n - 1], 0.0);
+        assertRelativelyEqual(Gamma, new Matrix(Arrays.copyOfRange(gamma, 1, n - 1), n - 2));
+    }
+
+    private double[] makeUnevenTimes(int countOfData) {
+        // acquisition times with jitter about a 0.2 second cycle
+        double[] t = new double[countOfData];
+        for (int i = 0; i < countOfData; i++) {
+            t[i] = 0.2 * i + 0.05 * random.nextDouble();
+        }
+        return t;
+    }
+
+    private double[] makeVariances(int countOfData) {
+        double[] variances = new double[countOfData];
+        for (int i = 0; i < countOfData; i++) {
+            variances[i] = 1.0e-4 * (1.0 + random.nextDouble());
+        }
+        return variances;
+    }
+
+    private double[] makeIntensities(double[] t, double[] variances, double amplitude) {
+        // log ratios drifting through a session; without curvature well above
+        // the noise there is no root in reduced chi-squared for few points
+        double[] y = new double[t.length];
+        for (int i = 0; i < t.length; i++) {
+            y[i] = -2.5 + 0.01 * t[i] + amplitude * Math.sin(5.0 * t[i]) + Math.sqrt(variances[i]) * random.nextGaussian();
+        }
+        return y;
+    }
+
+    private static void assertRelativelyEqual(double expected, double actual) {
+        assertEquals(expected, actual, TOLERANCE * Math.max(1.0, Math.abs(expected)));
+    }
+
+    private static void assertRelativelyEqual(Matrix expected, Matrix actual) {
+        assertEquals(expected.getRowDimension(), actual.getRowDimension());
+        assertEquals(expected.getColumnDimension(), actual.getColumnDimension());
+        assertEquals(0.0, expected.minus(actual).normF(), TOLERANCE * Math.max(1.0, expected.normF()));
+    }
+}
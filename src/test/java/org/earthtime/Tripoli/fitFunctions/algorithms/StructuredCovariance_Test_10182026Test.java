@@ -0,0 +1,232 @@
+/*
+ * StructuredCovariance_Test_10182026Test.java
+ *
+ * The naming of this file is the name of the .java file being tested, combined
+ * with test since this is the test file, combined with the creation date of
+ * this file. The test at the end is so that the file runs from NetBeans when
+ * testing an entire project.
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.fitFunctions.algorithms;
+
+import Jama.Matrix;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Every operation on a diagonal-plus-low-rank covariance must agree with the
+ * same operation on the equivalent dense matrix.
+ *
+ * @author James F. Bowring
+ */
+public class StructuredCovariance_Test_10182026Test {
+
+    private static final double TOLERANCE = 1.0e-10;
+
+    private static final int COUNT_OF_BACKGROUND = 7;
+    private static final int COUNT_OF_ONPEAK = 9;
+
+    private final Random random = new Random(3);
+
+    /**
+     * Test of solve, solveTranspose, timesInverse and det methods, of class
+     * StructuredCovariance.
+     */
+    @Test
+    public void test_SolveAndDet_MatchDense() {
+        System.out.println("Testing StructuredCovariance's solve, solveTranspose, timesInverse and det");
+
+        int n = COUNT_OF_BACKGROUND + COUNT_OF_ONPEAK;
+        StructuredCovariance S = makeDiagonalPlusRankOne(n);
+        Matrix denseS = S.toMatrix();
+
+        Matrix B = randomMatrix(n, 3);
+        assertRelativelyEqual(denseS.solve(B), S.solve(B));
+
+        Matrix X = randomMatrix(2, n);
+        assertRelativelyEqual(denseS.solveTranspose(X), S.solveTranspose(X));
+        assertRelativelyEqual(X.times(denseS.inverse()), S.timesInverse(X));
+
+        assertEquals(1.0, S.det() / denseS.det(), TOLERANCE);
+    }
+
+    /**
+     * Test of propagate and scaleRowsAndColumns methods, of class
+     * StructuredCovariance.
+     */
+    @Test
+    public void test_Propagate_MatchesDenseJacobian() {
+        System.out.println("Testing StructuredCovariance's propagate(Matrix L, Matrix R, double[] g) and scaleRowsAndColumns(double[] s)");
+
+        int n = COUNT_OF_BACKGROUND + COUNT_OF_ONPEAK;
+        StructuredCovariance S = makeDiagonalPlusRankOne(n);
+
+        Matrix L = randomMatrix(COUNT_OF_ONPEAK, 2);
+        Matrix R = randomMatrix(2, COUNT_OF_BACKGROUND);
+        double[] g = new double[COUNT_OF_ONPEAK];
+        for (int i = 0; i < g.length; i++) {
+            g[i] = 0.5 + random.nextDouble();
+        }
+
+        // J = [L*R, diag(g)] as built in RawIntensityDataModel
+        Matrix J = new Matrix(COUNT_OF_ONPEAK, n);
+        J.setMatrix(0, COUNT_OF_ONPEAK - 1, 0, COUNT_OF_BACKGROUND - 1, L.times(R));
+        for (int i = 0; i < COUNT_OF_ONPEAK; i++) {
+            J.set(i, COUNT_OF_BACKGROUND + i, g[i]);
+        }
+        Matrix expected = J.times(S.toMatrix()).times(J.transpose());
+
+        StructuredCovariance propagated = S.propagate(L, R, g);
+        assertRelativelyEqual(expected, propagated.toMatrix());
+        assertRelativelyEqual(expected, StructuredCovariance.dense(S.toMatrix()).propagate(L, R, g).toMatrix());
+
+        double[] s = new double[COUNT_OF_ONPEAK];
+        for (int i = 0; i < s.length; i++) {
+            s[i] = 1.0 / (1.0 + random.nextDouble());
+        }
+        Matrix columnOfS = new Matrix(s, COUNT_OF_ONPEAK);
+        assertRelativelyEqual(//
+                columnOfS.times(columnOfS.transpose()).arrayTimes(expected),//
+                propagated.scaleRowsAndColumns(s).toMatrix());
+    }
+
+    /**
+     * Test of plus, plusLowRank, select and getDiagonal methods, of class
+     * StructuredCovariance.
+     */
+    @Test
+    public void test_SumAndSelect_MatchDense() {
+        System.out.println("Testing StructuredCovariance's plus, plusLowRank, select and getDiagonal");
+
+        int n = COUNT_OF_ONPEAK;
+        StructuredCovariance top = makeDiagonalPlusRankOne(n);
+        StructuredCovariance bot = makeDiagonalPlusRankOne(n);
+        Matrix a = randomMatrix(n, 1);
+        Matrix b = randomMatrix(n, 1);
+
+        StructuredCovariance sum = top.plus(bot).plusLowRank(a.times(-0.02), b);
+        Matrix expected = top.toMatrix().plus(bot.toMatrix()).minus(a.times(b.transpose()).times(0.02));
+        assertRelativelyEqual(expected, sum.toMatrix());
+
+        double[] diagonal = sum.getDiagonal();
+        for (int i = 0; i < n; i++) {
+            assertEquals(expected.get(i, i), diagonal[i], TOLERANCE * Math.abs(expected.get(i, i)));
+        }
+
+        int[] indices = {0, 2, 3, 5, 8};
+        assertRelativelyEqual(expected.getMatrix(indices, indices), sum.select(indices).toMatrix());
+    }
+
+    /**
+     * Test of logDet, times and plusDiagonal methods, of class
+     * StructuredCovariance, and of the traces and log-determinant of its
+     * factorization, with the unsymmetric dead time term of two identical ion
+     * counters.
+     */
+    @Test
+    public void test_LogDetAndFactorization_MatchDense() {
+        System.out.println("Testing StructuredCovariance's logDet, times and plusDiagonal and CovarianceFactorization's ofStructured");
+
+        int n = COUNT_OF_ONPEAK;
+        StructuredCovariance S = makeDiagonalPlusRankOne(n)//
+                .plusLowRank(randomMatrix(n, 1).times(-0.02), randomMatrix(n, 1))//
+                .plusDiagonal(0.25);
+        Matrix denseS = S.toMatrix();
+
+        assertEquals(Math.log(denseS.det()), S.logDet(), TOLERANCE);
+        assertEquals(Math.log(denseS.det()), StructuredCovariance.dense(denseS).logDet(), TOLERANCE);
+
+        Matrix B = randomMatrix(n, 3);
+        assertRelativelyEqual(denseS.times(B), S.times(B));
+
+        CovarianceFactorization factors = CovarianceFactorization.ofStructured(S);
+        assertTrue(factors.isFactorizationOf(S));
+        Matrix denseSInv = denseS.inverse();
+        assertRelativelyEqual(denseSInv, factors.inverse());
+        assertEquals(1.0, factors.traceOfInverse() / denseSInv.trace(), TOLERANCE);
+        assertEquals(1.0, factors.traceOfInverseSquared() / denseSInv.times(denseSInv).trace(), TOLERANCE);
+        assertEquals(Math.log(denseS.det()), factors.logDeterminant(), TOLERANCE);
+
+        Matrix r = randomMatrix(n, 1);
+        assertEquals(1.0, factors.quadraticForm(r) / r.transpose().times(denseS.solve(r)).get(0, 0), TOLERANCE);
+
+        // X*inv(S) for an unsymmetric S, held structured, dense and symmetrized
+        Matrix X = randomMatrix(3, n);
+        assertRelativelyEqual(X.times(denseSInv), factors.timesInverse(X));
+        assertRelativelyEqual(X.times(denseSInv), CovarianceFactorization.ofDense(denseS).timesInverse(X));
+        Matrix symmetricS = denseS.plus(denseS.transpose()).times(0.5);
+        assertRelativelyEqual(X.times(symmetricS.inverse()), CovarianceFactorization.ofDense(symmetricS).timesInverse(X));
+    }
+
+    /**
+     * Test of plusLowRankOffDiagonal method, of class StructuredCovariance,
+     * including rows whose diagonal would not stay positive.
+     */
+    @Test
+    public void test_PlusLowRankOffDiagonal_MatchesDense() {
+        System.out.println("Testing StructuredCovariance's plusLowRankOffDiagonal(Matrix F)");
+
+        int n = COUNT_OF_ONPEAK;
+        StructuredCovariance S = makeDiagonalPlusRankOne(n);
+        Matrix F = randomMatrix(n, 1).times(0.3);
+        // the diagonal of F*F' exceeds that of S in two rows
+        F.set(1, 0, 3.0);
+        F.set(6, 0, -3.0);
+
+        Matrix expected = F.times(F.transpose());
+        for (int i = 0; i < n; i++) {
+            expected.set(i, i, 0.0);
+        }
+        expected.plusEquals(S.toMatrix());
+
+        StructuredCovariance sum = S.plusLowRankOffDiagonal(F);
+        assertTrue(!sum.isDense());
+        assertEquals(S.getRank() + 3, sum.getRank());
+        assertRelativelyEqual(expected, sum.toMatrix());
+        assertRelativelyEqual(expected, StructuredCovariance.dense(S.toMatrix()).plusLowRankOffDiagonal(F).toMatrix());
+
+        Matrix B = randomMatrix(n, 2);
+        assertRelativelyEqual(expected.solve(B), sum.solve(B));
+    }
+
+    private StructuredCovariance makeDiagonalPlusRankOne(int n) {
+        double[] diagonal = new double[n];
+        for (int i = 0; i < n; i++) {
+            diagonal[i] = 1.0 + random.nextDouble();
+        }
+        Matrix q = randomMatrix(n, 1);
+
+        return StructuredCovariance.diagonal(diagonal).plusLowRank(q.times(0.3), q);
+    }
+
+    private Matrix randomMatrix(int rows, int cols) {
+        Matrix retVal = new Matrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                retVal.set(i, j, random.nextGaussian());
+            }
+        }
+        return retVal;
+    }
+
+    private static void assertRelativelyEqual(Matrix expected, Matrix actual) {
+        assertEquals(expected.getRowDimension(), actual.getRowDimension());
+        assertEquals(expected.getColumnDimension(), actual.getColumnDimension());
+        assertEquals(0.0, expected.minus(actual).normF() / expected.normF(), TOLERANCE);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * ConcurrentAnalysisFileReader_Test_10182026Test.java
+ *
+ * The naming of this file is the name of the .java file being tested, combined
+ * with test since this is the test file, combined with the creation date of
+ * this file. The test at the end is so that the file runs from NetBeans when
+ * testing an entire project.
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.rawDataFiles.handlers;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.SwingWorker;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Files parsed concurrently must reach the consumer in file order.
+ *
+ * @author James F. Bowring
+ */
+public class ConcurrentAnalysisFileReader_Test_10182026Test {
+
+    private static final int COUNT_OF_FILES = 200;
+
+    /**
+     * Test of readAnalysisFiles method, of class ConcurrentAnalysisFileReader.
+     */
+    @Test
+    public void test_ReadAnalysisFiles_ConsumesInFileOrder() {
+        System.out.println("Testing ConcurrentAnalysisFileReader's readAnalysisFiles(SwingWorker loadDataTask, File[] analysisFiles, Function parser, AnalysisFileConsumer consumer)");
+
+        File[] analysisFiles = new File[COUNT_OF_FILES];
+        for (int f = 0; f < COUNT_OF_FILES; f++) {
+            analysisFiles[f] = new File("analysis" + f + ".csv");
+        }
+
+        final List<Integer> consumedIndices = new ArrayList<>();
+        final List<String> consumedNames = new ArrayList<>();
+
+        new ConcurrentAnalysisFileReader<String>(4).readAnalysisFiles(new LoadDataTask(), analysisFiles, //
+                (File analysisFile) -> {
+                    int f = Integer.parseInt(analysisFile.getName().replaceAll("\\D", ""));
+                    try {
+                        // later files finish first
+                        Thread.sleep((COUNT_OF_FILES - f) % 7);
+                    } catch (InterruptedException interruptedException) {
+                    }
+                    // every tenth file is skipped
+                    return ((f % 10) == 3) ? null : analysisFile.getName();
+                }, //
+                (int fileIndex, String parsedFile) -> {
+                    consumedIndices.add(fileIndex);
+                    consumedNames.add(parsedFile);
+                });
+
+        assertEquals(COUNT_OF_FILES - (COUNT_OF_FILES / 10), consumedIndices.size());
+        int expectedIndex = 0;
+        for (int i = 0; i < consumedIndices.size(); i++) {
+            if ((expectedIndex % 10) == 3) {
+                expectedIndex++;
+            }
+            assertEquals(expectedIndex, (int) consumedIndices.get(i));
+            assertEquals("analysis" + expectedIndex + ".csv", consumedNames.get(i));
+            expectedIndex++;
+        }
+    }
+
+    private static class LoadDataTask extends SwingWorker<Void, Void> {
+
+        @Override
+        protected Void doInBackground() throws Exception {
+            return null;
+        }
+    }
+}
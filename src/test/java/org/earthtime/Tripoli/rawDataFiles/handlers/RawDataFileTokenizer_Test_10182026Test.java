@@ -0,0 +1,173 @@
+/*
+ * RawDataFileTokenizer_Test_10182026Test.java
+ *
+ * The naming of this file is the name of the .java file being tested, combined
+ * with test since this is the test file, combined with the creation date of
+ * this file. The test at the end is so that the file runs from NetBeans when
+ * testing an entire project.
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.rawDataFiles.handlers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * The tokenizer must reproduce what the NU Plasma handlers formerly obtained
+ * by reading the whole file, removing quotes and splitting on the markers,
+ * on "\n" and on the data delimiter.
+ *
+ * @author James F. Bowring
+ */
+public class RawDataFileTokenizer_Test_10182026Test {
+
+    private static final String DATA_MARKER = "Spare text";
+    private static final String BLOCK_MARKER = "Sample Name is ";
+
+    /**
+     * Test of readBlock and splitBlockElement methods, of class
+     * RawDataFileTokenizer.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void test_ReadBlock_MatchesSplit() throws IOException {
+        System.out.println("Testing RawDataFileTokenizer's readBlock(String marker) and splitBlockElement(int element, char delimiter)");
+
+        String fileContents = "Header line\r\n\"Run\" on the 24 June 2011\r\n" //
+                + "Spare text on the Saturday, December 21, 2013\r\n" //
+                + "Sample Name is A-1<>Analysis started at 01:02:03 PM\r\n" //
+                + "1.5,2.25E-3,-3,1\r\n4,5,6,2\r\n\r\n" //
+                + "Sample Name is A-2<>\r\n" //
+                + "7,8,9,1\r\n,,\r\n";
+
+        File rawDataFile = File.createTempFile("RawDataFileTokenizer", ".txt");
+        rawDataFile.deleteOnExit();
+        Files.write(rawDataFile.toPath(), fileContents.getBytes(Charset.defaultCharset()));
+
+        // as URIHelper.getTextFromURI with "\n" as line separator
+        String text = fileContents.replace("\r\n", "\n").replaceAll("\"", "");
+        String[] rawFractions = text.split(DATA_MARKER)[1].split(BLOCK_MARKER);
+
+        try (RawDataFileTokenizer rawDataTokenizer = new RawDataFileTokenizer(rawDataFile, "\n")) {
+            assertTrue(rawDataTokenizer.skipPastMarker(DATA_MARKER));
+
+            for (String rawFraction : rawFractions) {
+                assertTrue(rawDataTokenizer.readBlock(BLOCK_MARKER));
+
+                String[] lines = rawFraction.split("\n");
+                assertEquals(lines.length, rawDataTokenizer.getCountOfBlockElements());
+                for (int i = 0; i < lines.length; i++) {
+                    assertEquals(lines[i], rawDataTokenizer.getBlockElement(i));
+
+                    String[] columns = lines[i].split(",");
+                    assertEquals(columns.length, rawDataTokenizer.splitBlockElement(i, ','));
+                    for (int j = 0; j < columns.length; j++) {
+                        assertEquals(columns[j], rawDataTokenizer.getField(j));
+                    }
+                }
+            }
+            assertFalse(rawDataTokenizer.readBlock(BLOCK_MARKER));
+
+            assertEquals(rawDataFile.length(), rawDataTokenizer.getPosition());
+        }
+    }
+
+    /**
+     * Test of getLineStartPosition and seek methods, of class
+     * RawDataFileTokenizer, resuming at a block after more text is appended.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void test_Seek_ResumesAtBlock() throws IOException {
+        System.out.println("Testing RawDataFileTokenizer's getLineStartPosition() and seek(long linePosition)");
+
+        String fileContents = "Spare text\r\n" //
+                + "Sample Name is A-1<>\r\n1,2\r\n" //
+                + "Sample Name is A-2<>\r\n3,4\r\n";
+        String appendedContents = "5,6\r\nSample Name is A-3<>\r\n7,8\r\n";
+
+        File rawDataFile = File.createTempFile("RawDataFileTokenizer", ".txt");
+        rawDataFile.deleteOnExit();
+        Files.write(rawDataFile.toPath(), fileContents.getBytes(Charset.defaultCharset()));
+
+        long lastBlockStartPosition;
+        try (RawDataFileTokenizer rawDataTokenizer = new RawDataFileTokenizer(rawDataFile, "\n")) {
+            assertTrue(rawDataTokenizer.skipPastMarker(DATA_MARKER));
+            assertTrue(rawDataTokenizer.readBlock(BLOCK_MARKER));
+            assertTrue(rawDataTokenizer.readBlock(BLOCK_MARKER));
+            lastBlockStartPosition = rawDataTokenizer.getLineStartPosition();
+            assertEquals(fileContents.indexOf("Sample Name is A-2"), lastBlockStartPosition);
+            assertTrue(rawDataTokenizer.readBlock(BLOCK_MARKER));
+            assertFalse(rawDataTokenizer.readBlock(BLOCK_MARKER));
+        }
+
+        // the last block was incomplete when read
+        Files.write(rawDataFile.toPath(), (fileContents + appendedContents).getBytes(Charset.defaultCharset()));
+
+        try (RawDataFileTokenizer rawDataTokenizer = new RawDataFileTokenizer(rawDataFile, "\n")) {
+            rawDataTokenizer.seek(lastBlockStartPosition);
+            assertTrue(rawDataTokenizer.skipPastMarker(BLOCK_MARKER));
+
+            assertTrue(rawDataTokenizer.readBlock(BLOCK_MARKER));
+            assertEquals(3, rawDataTokenizer.getCountOfBlockElements());
+            assertEquals("A-2<>", rawDataTokenizer.getBlockElement(0));
+            assertEquals("3,4", rawDataTokenizer.getBlockElement(1));
+            assertEquals("5,6", rawDataTokenizer.getBlockElement(2));
+
+            assertTrue(rawDataTokenizer.readBlock(BLOCK_MARKER));
+            assertEquals("A-3<>", rawDataTokenizer.getBlockElement(0));
+            assertEquals("7,8", rawDataTokenizer.getBlockElement(1));
+            assertFalse(rawDataTokenizer.readBlock(BLOCK_MARKER));
+        }
+    }
+
+    /**
+     * Test of parseDouble method, of class RawDataFileTokenizer.
+     */
+    @Test
+    public void test_ParseDouble_MatchesDoubleParseDouble() {
+        System.out.println("Testing RawDataFileTokenizer's parseDouble(byte[] text, int start, int end, Charset charset)");
+
+        String[] texts = {"0", "-0", " 12.5 ", "1e-3", "-4.2E+07", "0.000123456789012345", //
+            "123456789012345678", "1.7976931348623157E308", "4.9E-324", ".5", "5.", "+3", "NaN", "-Infinity"};
+        for (String text : texts) {
+            assertParsedEqual(text);
+        }
+
+        Random random = new Random(11);
+        for (int i = 0; i < 10000; i++) {
+            double value = random.nextGaussian() * Math.pow(10.0, random.nextInt(30) - 15);
+            assertParsedEqual(Double.toString(value));
+            assertParsedEqual(String.format(Locale.ROOT, "%.6f", value));
+        }
+    }
+
+    private static void assertParsedEqual(String text) {
+        byte[] bytes = text.getBytes(Charset.defaultCharset());
+        assertEquals(Double.doubleToLongBits(Double.parseDouble(text)), //
+                Double.doubleToLongBits(RawDataFileTokenizer.parseDouble(bytes, 0, bytes.length, Charset.defaultCharset())));
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * TripoliSession_Test_10182026Test.java
+ *
+ * The naming of this file is the name of the .java file being tested, combined
+ * with test since this is the test file, combined with the creation date of
+ * this file. The test at the end is so that the file runs from NetBeans when
+ * testing an entire project.
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.sessions;
+
+import Jama.Matrix;
+import java.util.Random;
+import org.earthtime.Tripoli.fitFunctions.algorithms.StructuredCovariance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * The structured unknowns covariance Su must be the matrix the session used to
+ * assemble densely, with or without the dead time term of identical ion
+ * counters.
+ *
+ * @author James F. Bowring
+ */
+public class TripoliSession_Test_10182026Test {
+
+    private static final double TOLERANCE = 1.0e-10;
+
+    private static final int COUNT_OF_UNKNOWNS = 40;
+
+    private final Random random = new Random(7);
+
+    /**
+     * Test of assembleUnknownsAnalyticalCovarianceSu method, of class
+     * TripoliSession.
+     */
+    @Test
+    public void test_AssembleUnknownsAnalyticalCovarianceSu_MatchesDense() {
+        System.out.println("Testing TripoliSession's assembleUnknownsAnalyticalCovarianceSu against the dense assembly");
+
+        int n = COUNT_OF_UNKNOWNS;
+        double[] interceptVariancesPlusOD = new double[n];
+        double[] dLrInt_dDt_Unknowns = new double[n];
+        for (int i = 0; i < n; i++) {
+            interceptVariancesPlusOD[i] = 1.0e-7 * (1.0 + 9.0 * random.nextDouble());
+            dLrInt_dDt_Unknowns[i] = 1.0e5 * (1.0 + 9.0 * random.nextDouble());
+        }
+        // a dead time sigma of 1 ns, whose term exceeds the intercept variance of some fractions
+        double deadTimeOneSigmaAbsSqr = 1.0e-18;
+
+        // Jf*Sf*Jf' of a session line fit
+        Matrix Jf = new Matrix(n, 2);
+        for (int i = 0; i < n; i++) {
+            Jf.set(i, 0, 1.0);
+            Jf.set(i, 1, i / (double) n);
+        }
+        Matrix Sf = new Matrix(new double[][]{{4.0e-7, -1.0e-7}, {-1.0e-7, 3.0e-7}});
+        StructuredCovariance structuredMatrixSf = StructuredCovariance.diagonal(new double[n]).plusLowRank(Jf, Jf.times(Sf));
+
+        for (double deadTime : new double[]{0.0, deadTimeOneSigmaAbsSqr}) {
+            Matrix expected = denseUnknownsAnalyticalCovarianceSu(interceptVariancesPlusOD, Jf.times(Sf).times(Jf.transpose()), dLrInt_dDt_Unknowns, deadTime);
+
+            StructuredCovariance Su = TripoliSession.assembleUnknownsAnalyticalCovarianceSu(//
+                    interceptVariancesPlusOD, structuredMatrixSf, dLrInt_dDt_Unknowns, deadTime);
+            assertFalse(Su.isDense());
+            if (deadTime > 0.0) {
+                // the rank one term plus a column for each fraction whose variance it exceeds
+                assertTrue(Su.getRank() > 3);
+            }
+
+            assertEquals(0.0, expected.minus(Su.toMatrix()).normF() / expected.normF(), TOLERANCE);
+            double[] diagonal = Su.getDiagonal();
+            for (int i = 0; i < n; i++) {
+                assertEquals(expected.get(i, i), diagonal[i], TOLERANCE * expected.get(i, i));
+            }
+
+            // the weighted mean of the log ratios and its variance, as the date models use Su
+            Matrix logRatios = new Matrix(n, 1);
+            for (int i = 0; i < n; i++) {
+                logRatios.set(i, 0, Math.log(0.05 + 0.001 * random.nextGaussian()));
+            }
+            Matrix ones = new Matrix(n, 1, 1.0);
+            Matrix expectedWeights = expected.solve(ones);
+            Matrix weights = Su.solve(ones);
+            double expectedSumOfWeights = ones.transpose().times(expectedWeights).get(0, 0);
+            double sumOfWeights = ones.transpose().times(weights).get(0, 0);
+            assertEquals(1.0, sumOfWeights / expectedSumOfWeights, TOLERANCE);
+            assertEquals(//
+                    logRatios.transpose().times(expectedWeights).get(0, 0) / expectedSumOfWeights,//
+                    logRatios.transpose().times(weights).get(0, 0) / sumOfWeights, TOLERANCE);
+
+            assertEquals(Math.log(expected.det()), Su.logDet(), TOLERANCE * Math.abs(Su.logDet()));
+        }
+    }
+
+    // Su as the session assembled it before it was kept structured
+    private static Matrix denseUnknownsAnalyticalCovarianceSu(//
+            double[] interceptVariancesPlusOD, Matrix matrixSf, double[] dLrInt_dDt_Unknowns, double deadTimeOneSigmaAbsSqr) {
+
+        int n = interceptVariancesPlusOD.length;
+        Matrix retVal = new Matrix(n, n);
+        for (int i = 0; i < n; i++) {
+            retVal.set(i, i, interceptVariancesPlusOD[i]);
+        }
+        retVal.plusEquals(matrixSf);
+
+        Matrix matrixdLrInt_dDt_Unkowns = new Matrix(dLrInt_dDt_Unknowns, n);
+        Matrix matrixSuod = matrixdLrInt_dDt_Unkowns.times(matrixdLrInt_dDt_Unkowns.transpose().times(deadTimeOneSigmaAbsSqr));
+
+        // zero diagonal
+        for (int i = 0; i < n; i++) {
+            matrixSuod.set(i, i, 0.0);
+        }
+
+        retVal.plusEquals(matrixSuod);
+
+        return retVal;
+    }
+}
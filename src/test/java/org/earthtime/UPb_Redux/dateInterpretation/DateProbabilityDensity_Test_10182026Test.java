@@ -0,0 +1,150 @@
+/*
+ * DateProbabilityDensity_Test_10182026Test.java
+ *
+ * The naming of this file is the name of the .java file being tested, combined
+ * with test since this is the test file, combined with the creation date of
+ * this file. The test at the end is so that the file runs from NetBeans when
+ * testing an entire project.
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.dateInterpretation;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.Vector;
+import org.earthtime.UPb_Redux.fractions.Fraction;
+import org.earthtime.UPb_Redux.fractions.FractionFixtures;
+import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFractionI;
+import org.earthtime.UPb_Redux.valueModels.ValueModel;
+import org.earthtime.dataDictionaries.RadDates;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * The windowed kernels must stack to the densities of every kernel evaluated
+ * everywhere, whether stacked at once or a fraction at a time.
+ *
+ * @author James F. Bowring
+ */
+public class DateProbabilityDensity_Test_10182026Test {
+
+    private static final String DATE_NAME = RadDates.age207_206r.getName();
+    private static final int COUNT_OF_ALIQUOTS = 3;
+
+    /**
+     * Test of update method, of class DateProbabilityDensity.
+     */
+    @Test
+    public void test_Update_MatchesEveryKernelEverywhere() {
+        System.out.println("Testing DateProbabilityDensity's update(List<Fraction> fractions, String dateName, int countOfAliquots)");
+
+        Vector<Fraction> fractions = createFractions(300, new Random(3));
+        DateProbabilityDensity density = new DateProbabilityDensity(0.0, 4000.0, 1.0);
+        density.update(fractions, DATE_NAME, COUNT_OF_ALIQUOTS);
+
+        assertDensitiesOf(fractions, density);
+    }
+
+    /**
+     * Test of update method, of class DateProbabilityDensity, toggling one
+     * fraction at a time.
+     */
+    @Test
+    public void test_Update_ToggledFractions() {
+        System.out.println("Testing DateProbabilityDensity's update(List<Fraction> fractions, String dateName, int countOfAliquots) toggling fractions");
+
+        Random random = new Random(5);
+        Vector<Fraction> fractions = createFractions(300, random);
+        DateProbabilityDensity density = new DateProbabilityDensity(-50.0, 4050.0, 2.5);
+        density.update(fractions, DATE_NAME, COUNT_OF_ALIQUOTS);
+
+        for (int i = 0; i < 20; i++) {
+            Fraction toggled = fractions.remove(random.nextInt(fractions.size()));
+            density.update(fractions, DATE_NAME, COUNT_OF_ALIQUOTS);
+            assertDensitiesOf(fractions, density);
+
+            fractions.add(toggled);
+            density.update(fractions, DATE_NAME, COUNT_OF_ALIQUOTS);
+        }
+
+        // a changed date is restacked
+        fractions.get(7).getRadiogenicIsotopeDateByName(DATE_NAME).setValue(new BigDecimal("2.222E9"));
+        density.update(fractions, DATE_NAME, COUNT_OF_ALIQUOTS);
+        assertDensitiesOf(fractions, density);
+    }
+
+    /**
+     * Test of update method, of class DateProbabilityDensity, toggling one of
+     * 5,000 fractions: the restacked densities must be those of the remaining
+     * fractions stacked afresh.
+     */
+    @Test
+    public void test_Update_ToggledMatchesFreshlyStacked() {
+        System.out.println("Testing DateProbabilityDensity's update toggling one of 5,000 fractions");
+
+        Vector<Fraction> fractions = createFractions(5000, new Random(7));
+        DateProbabilityDensity density = new DateProbabilityDensity(0.0, 4000.0, 1.0);
+        density.update(fractions, DATE_NAME, COUNT_OF_ALIQUOTS);
+        density.getDensities();
+
+        fractions.remove(100);
+        density.update(fractions, DATE_NAME, COUNT_OF_ALIQUOTS);
+
+        DateProbabilityDensity freshDensity = new DateProbabilityDensity(0.0, 4000.0, 1.0);
+        freshDensity.update(fractions, DATE_NAME, COUNT_OF_ALIQUOTS);
+
+        assertArrayEquals(freshDensity.getDates(), density.getDates(), 0.0);
+        double[][] expected = freshDensity.getDensities();
+        double[][] actual = density.getDensities();
+        for (int row = 0; row <= COUNT_OF_ALIQUOTS; row++) {
+            assertArrayEquals(expected[row], actual[row], 1.0e-12 * freshDensity.getMaxDensity());
+        }
+    }
+
+    private static void assertDensitiesOf(Vector<Fraction> fractions, DateProbabilityDensity density) {
+        double[] dates = density.getDates();
+        boolean[] dataPoints = density.getDataPoints();
+        double[][] densities = density.getDensities();
+
+        int countOfDataPoints = 0;
+        for (int i = 0; i < dates.length; i++) {
+            countOfDataPoints += dataPoints[i] ? 1 : 0;
+            for (int row = 0; row <= COUNT_OF_ALIQUOTS; row++) {
+                assertEquals(everyKernelAt(fractions, row, dates[i]), densities[row][i], 1.0e-12 * density.getMaxDensity());
+            }
+        }
+        assertEquals(fractions.size(), countOfDataPoints);
+    }
+
+    private static double everyKernelAt(Vector<Fraction> fractions, int row, double x) {
+        double sum = 0.0;
+        for (Fraction f : fractions) {
+            if ((row == 0) || (((UPbFractionI) f).getAliquotNumber() == row)) {
+                ValueModel date = f.getRadiogenicIsotopeDateByName(DATE_NAME);
+                double meanDate = date.getValue().movePointLeft(6).doubleValue();
+                double variance = Math.pow(date.getOneSigmaAbs().movePointLeft(6).doubleValue(), 2);
+                sum += (1.0 / Math.sqrt(2.0 * Math.PI * variance)) //
+                        * Math.exp(-1.0 * Math.pow((x - meanDate), 2) / (2 * variance));
+            }
+        }
+        return sum;
+    }
+
+    private static Vector<Fraction> createFractions(int countOfFractions, Random random) {
+        return FractionFixtures.createDetritalFractions(countOfFractions, COUNT_OF_ALIQUOTS, DATE_NAME, random);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * FFT_Test_10182026Test.java
+ *
+ * The naming of this file is the name of the .java file being tested, combined
+ * with test since this is the test file, combined with the creation date of
+ * this file. The test at the end is so that the file runs from NetBeans when
+ * testing an entire project.
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.dateInterpretation.vermeeschKDE;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * The in place transforms must match the recursive ones over Complex. The
+ * benchmark reports the time of an automatic bandwidth KDE of 5,000 dates on
+ * meshes of 2^12 and 2^16 points.
+ *
+ * @author James F. Bowring
+ */
+public class FFT_Test_10182026Test {
+
+    /**
+     * Test of fft and ifft methods over double[], of class FFT.
+     */
+    @Test
+    public void test_FFT_MatchesComplexFFT() {
+        System.out.println("Testing FFT's fft(double[] re, double[] im) and ifft(double[] re, double[] im)");
+
+        Random random = new Random(1);
+        for (int N : new int[]{1, 2, 8, 1024}) {
+            double[] re = new double[N];
+            double[] im = new double[N];
+            Complex[] x = new Complex[N];
+            for (int i = 0; i < N; i++) {
+                re[i] = random.nextDouble();
+                im[i] = random.nextDouble();
+                x[i] = new Complex(re[i], im[i]);
+            }
+
+            FFT.fft(re, im);
+            Complex[] y = FFT.fft(x);
+            for (int i = 0; i < N; i++) {
+                assertEquals(y[i].re(), re[i], 1.0e-12 * N);
+                assertEquals(y[i].im(), im[i], 1.0e-12 * N);
+            }
+
+            FFT.ifft(re, im);
+            for (int i = 0; i < N; i++) {
+                assertEquals(x[i].re(), re[i], 1.0e-12);
+                assertEquals(x[i].im(), im[i], 1.0e-12);
+            }
+        }
+    }
+
+    /**
+     * Reports the time of KDE's pdf on 2^12 and 2^16 mesh points.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void test_KDEpdf_Timed() throws Exception {
+        System.out.println("Benchmarking KDE's pdf(double[] data, double[] xmesh, boolean auto) for 5,000 dates");
+
+        Random random = new Random(2);
+        double[] data = new double[5000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100.0 + random.nextDouble() * 3000.0;
+        }
+
+        for (int n : new int[]{4096, 65536}) {
+            double[] xmesh = new double[n];
+            for (int i = 0; i < n; i++) {
+                xmesh[i] = i * 4096.0 / n;
+            }
+
+            KDE kde = new KDE();
+            kde.pdf(data, xmesh, true);
+            long start = System.nanoTime();
+            double[] density = kde.pdf(data, xmesh, true);
+            long nanos = System.nanoTime() - start;
+
+            for (int i = 0; i < n; i++) {
+                assertTrue(Double.isFinite(density[i]));
+            }
+            System.out.println("   " + n + " mesh points: " + (nanos / 1000000) + " ms, bandwidth " + kde.getBandwidth());
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * FractionFixtures.java
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.fractions;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.Vector;
+import org.earthtime.UPb_Redux.aliquots.Aliquot;
+import org.earthtime.UPb_Redux.aliquots.UPbReduxAliquot;
+import org.earthtime.UPb_Redux.exceptions.BadLabDataException;
+import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFraction;
+import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbLAICPMSFraction;
+import org.earthtime.UPb_Redux.reduxLabData.ReduxLabData;
+import org.earthtime.UPb_Redux.samples.Sample;
+import org.earthtime.UPb_Redux.valueModels.ValueModel;
+import org.earthtime.dataDictionaries.AnalysisMeasures;
+import org.earthtime.dataDictionaries.Lambdas;
+import org.earthtime.dataDictionaries.MeasuredRatios;
+import org.earthtime.ratioDataModels.AbstractRatiosDataModel;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Builds the fractions and samples shared by the reduction, report and date
+ * interpretation tests. The tree holds no stored samples, so the fractions
+ * carry plausible measured ratios that vary from fraction to fraction. The
+ * ID-TIMS measured ratios are forward modeled from a known date through the
+ * lab's ET535 tracer, its example Pb blank and a little Stacey-Kramers
+ * initial Pb, so those fractions reduce to that date.
+ *
+ * @author James F. Bowring
+ */
+public final class FractionFixtures {
+
+    private FractionFixtures() {
+    }
+
+    private static final String IDTIMS_TRACER = "ET535 v.3.0";
+    private static final String IDTIMS_PB_BLANK = "EARTHTIME Example Pb Blank IC v.3.0";
+    private static final String IDTIMS_INITIAL_PB_MODEL = "StaceyKramers v.1.0";
+    private static final double IDTIMS_TRACER_MASS_IN_GRAMS = 0.005;
+    private static final double IDTIMS_FRACTION_MASS_IN_GRAMS = 5.0e-6;
+    private static final double IDTIMS_MOL_U238 = 1.0e-11;
+    private static final double IDTIMS_TH_U = 0.5;
+    // initial Pb as a fraction of the blank's 204Pb, near Stacey-Kramers composition
+    private static final double IDTIMS_INITIAL_TO_BLANK_204 = 0.5;
+    private static final double[] IDTIMS_INITIAL_PB_204 = {18.0, 15.6, 38.0};
+    // the reductions use exact Stacey-Kramers initial Pb, which the model only approximates
+    private static final double MODELED_DATE_TOLERANCE = 1e-4;
+
+    /**
+     * Creates ID-TIMS fractions whose measured ratios are forward modeled
+     * from the dates given by <code>getIDTIMSDateInMa</code>. They share the
+     * lab's tracer, Pb blank and Stacey-Kramers initial Pb models.
+     *
+     * @param countOfFractions
+     * @return ID-TIMS fractions of aliquot one with measured ratios
+     */
+    public static Vector<Fraction> createIDTIMSFractions(int countOfFractions) {
+        ReduxLabData labData = ReduxLabData.getInstance();
+        AbstractRatiosDataModel tracer;
+        AbstractRatiosDataModel pbBlank;
+        AbstractRatiosDataModel initialPbModel;
+        try {
+            tracer = labData.getATracerModel(IDTIMS_TRACER);
+            pbBlank = labData.getAPbBlankModel(IDTIMS_PB_BLANK);
+            initialPbModel = labData.getAnInitialPbModel(IDTIMS_INITIAL_PB_MODEL);
+        } catch (BadLabDataException badLabDataException) {
+            throw new IllegalStateException(badLabDataException);
+        }
+
+        Vector<Fraction> fractions = new Vector<>();
+        for (int i = 0; i < countOfFractions; i++) {
+            UPbFraction fraction = new UPbFraction("IDTIMS-" + i);
+            fraction.setAliquotNumber(1);
+            fraction.setTracer(tracer);
+            fraction.setPbBlank(pbBlank);
+            fraction.setInitialPbModel(initialPbModel);
+            fraction.setEstimatedDate(new BigDecimal(getIDTIMSDateInMa(i)));
+            fractions.add(populateIDTIMSMeasuredRatios(fraction, i));
+        }
+        return fractions;
+    }
+
+    /**
+     *
+     * @param index of the fraction made by <code>createIDTIMSFractions</code>
+     * @return the date in Ma from which the fraction's ratios were modeled
+     */
+    public static double getIDTIMSDateInMa(int index) {
+        return 400.0 + 5.0 * (index % 100);
+    }
+
+    /**
+     *
+     * @param countOfFractions
+     * @return LA-ICPMS fractions of aliquot one with measured ratios
+     */
+    public static Vector<Fraction> createLAICPMSFractions(int countOfFractions) {
+        Vector<Fraction> fractions = new Vector<>();
+        for (int i = 0; i < countOfFractions; i++) {
+            UPbLAICPMSFraction fraction = new UPbLAICPMSFraction("LAICPMS-" + i);
+            fraction.setAliquotNumber(1);
+            fractions.add(populateMeasuredRatios(fraction, i));
+        }
+        return fractions;
+    }
+
+    /**
+     * The ID-TIMS fixtures must reduce to the dates they were modeled from,
+     * with real uncertainties, before comparisons between reduction paths
+     * mean anything.
+     *
+     * @param fractions reduced from <code>createIDTIMSFractions</code>
+     */
+    public static void assertModeledIDTIMSDates(List<Fraction> fractions) {
+        for (int i = 0; i < fractions.size(); i++) {
+            Fraction fraction = fractions.get(i);
+            double modeledDate = getIDTIMSDateInMa(i) * 1.0e6;
+            for (String dateName : new String[]{"age206_238r", "age207_235r", "age207_206r"}) {
+                assertEquals(fraction.getFractionID() + " " + dateName, //
+                        modeledDate, fraction.getRadiogenicIsotopeDateByName(dateName).getValue().doubleValue(), //
+                        MODELED_DATE_TOLERANCE * modeledDate);
+            }
+            assertTrue(fraction.getFractionID() + " age206_238r one sigma", //
+                    fraction.getRadiogenicIsotopeDateByName("age206_238r").getOneSigmaAbs().signum() > 0);
+        }
+    }
+
+    /**
+     * Creates a sample holding the fractions in a single aliquot.
+     *
+     * @param fractions
+     * @return the sample
+     */
+    public static Sample createSample(Vector<Fraction> fractions) {
+        UPbReduxAliquot aliquot = new UPbReduxAliquot();
+        aliquot.setAliquotFractions(fractions);
+
+        Vector<Aliquot> aliquots = new Vector<>();
+        aliquots.add(aliquot);
+
+        Sample sample = new Sample();
+        sample.setMyReduxLabData(ReduxLabData.getInstance());
+        sample.setAliquots(aliquots);
+        sample.setUPbFractions(fractions);
+
+        return sample;
+    }
+
+    /**
+     * Creates fractions holding only a date with a one to two percent
+     * uncertainty, as from a detrital sample, spread over the aliquots.
+     *
+     * @param countOfFractions
+     * @param countOfAliquots
+     * @param dateName
+     * @param random
+     * @return the fractions
+     */
+    public static Vector<Fraction> createDetritalFractions(int countOfFractions, int countOfAliquots, String dateName, Random random) {
+        Vector<Fraction> fractions = new Vector<>();
+        for (int i = 0; i < countOfFractions; i++) {
+            UPbFraction fraction = new UPbFraction("LAICPMS-" + i);
+            fraction.setAliquotNumber(1 + random.nextInt(countOfAliquots));
+
+            double dateMa = 50.0 + random.nextDouble() * 3500.0;
+            ValueModel date = fraction.getRadiogenicIsotopeDateByName(dateName);
+            date.setValue(new BigDecimal(dateMa * 1.0e6));
+            date.setUncertaintyType("ABS");
+            date.setOneSigma(new BigDecimal(dateMa * (0.01 + 0.01 * random.nextDouble()) * 1.0e6));
+
+            fractions.add(fraction);
+        }
+        return fractions;
+    }
+
+    private static Fraction populateIDTIMSMeasuredRatios(UPbFraction fraction, int index) {
+        AbstractRatiosDataModel physicalConstantsModel = fraction.getPhysicalConstantsModel();
+        double lambda232 = physicalConstantsModel.getDatumByName(Lambdas.lambda232.getName()).getValue().doubleValue();
+        double lambda235 = physicalConstantsModel.getDatumByName(Lambdas.lambda235.getName()).getValue().doubleValue();
+        double lambda238 = physicalConstantsModel.getDatumByName(Lambdas.lambda238.getName()).getValue().doubleValue();
+        double dateInYears = getIDTIMSDateInMa(index) * 1.0e6;
+
+        // tracer
+        AbstractRatiosDataModel tracer = fraction.getTracer();
+        double molPb205t = IDTIMS_TRACER_MASS_IN_GRAMS * tracerValue(tracer, "concPb205t");
+        double molU235t = IDTIMS_TRACER_MASS_IN_GRAMS * tracerValue(tracer, "concU235t");
+        double[] tracerPb = {//
+            tracerValue(tracer, "r204_205t"), tracerValue(tracer, "r206_205t"),
+            tracerValue(tracer, "r207_205t"), tracerValue(tracer, "r208_205t")};
+
+        // sample U and its radiogenic Pb
+        double r238_235s = fraction.getAnalysisMeasure(AnalysisMeasures.r238_235s.getName()).getValue().doubleValue();
+        double molU238s = IDTIMS_MOL_U238;
+        double molU235s = molU238s / r238_235s;
+        double[] radiogenicPb = {//
+            0.0,
+            molU238s * Math.expm1(lambda238 * dateInYears),
+            molU235s * Math.expm1(lambda235 * dateInYears),
+            IDTIMS_TH_U * molU238s * Math.expm1(lambda232 * dateInYears)};
+
+        // common Pb is the lab blank plus a little initial Pb
+        double[] blankPb204 = {1.0, //
+            pbBlank(fraction, "r206_204b"), pbBlank(fraction, "r207_204b"), pbBlank(fraction, "r208_204b")};
+        double pbBlankGramsPerMol204 = 204.0 + 206.0 * blankPb204[1] + 207.0 * blankPb204[2] + 208.0 * blankPb204[3];
+        double molPb204b = fraction.getAnalysisMeasure(AnalysisMeasures.pbBlankMassInGrams.getName()).getValue().doubleValue()//
+                / pbBlankGramsPerMol204;
+        double molPb204c = IDTIMS_INITIAL_TO_BLANK_204 * molPb204b;
+
+        double[] molPb = new double[4];
+        for (int i = 0; i < 4; i++) {
+            double initialPb204 = (i == 0) ? 1.0 : IDTIMS_INITIAL_PB_204[i - 1];
+            molPb[i] = radiogenicPb[i] + molPb204b * blankPb204[i] + molPb204c * initialPb204 + molPb205t * tracerPb[i];
+        }
+
+        setMeasuredRatio(fraction, MeasuredRatios.r204_205m, molPb[0] / molPb205t, 0.5);
+        setMeasuredRatio(fraction, MeasuredRatios.r206_205m, molPb[1] / molPb205t, 0.05);
+        setMeasuredRatio(fraction, MeasuredRatios.r207_205m, molPb[2] / molPb205t, 0.05);
+        setMeasuredRatio(fraction, MeasuredRatios.r208_205m, molPb[3] / molPb205t, 0.05);
+        setMeasuredRatio(fraction, MeasuredRatios.r206_204m, molPb[1] / molPb[0], 0.5);
+        setMeasuredRatio(fraction, MeasuredRatios.r207_204m, molPb[2] / molPb[0], 0.5);
+        setMeasuredRatio(fraction, MeasuredRatios.r208_204m, molPb[3] / molPb[0], 0.5);
+        setMeasuredRatio(fraction, MeasuredRatios.r206_207m, molPb[1] / molPb[2], 0.05);
+        setMeasuredRatio(fraction, MeasuredRatios.r206_208m, molPb[1] / molPb[3], 0.05);
+
+        // U is measured as the oxide with no 18O correction
+        double molU233 = tracerValue(tracer, "r233_235t") * molU235t;
+        double molU235 = molU235t + molU235s;
+        double molU238 = tracerValue(tracer, "r238_235t") * molU235t + molU238s;
+        setMeasuredRatio(fraction, MeasuredRatios.r238_235m, molU238 / molU235, 0.02);
+        setMeasuredRatio(fraction, MeasuredRatios.r233_235m, molU233 / molU235, 0.02);
+        setMeasuredRatio(fraction, MeasuredRatios.r238_233m, molU238 / molU233, 0.02);
+        setAnalysisMeasure(fraction, AnalysisMeasures.r270_267m, molU238 / molU235, 0.02);
+        setAnalysisMeasure(fraction, AnalysisMeasures.r265_267m, molU233 / molU235, 0.02);
+        setAnalysisMeasure(fraction, AnalysisMeasures.r270_265m, molU238 / molU233, 0.02);
+
+        setAnalysisMeasure(fraction, AnalysisMeasures.tracerMassInGrams, IDTIMS_TRACER_MASS_IN_GRAMS, 0.01);
+        setAnalysisMeasure(fraction, AnalysisMeasures.fractionMass, IDTIMS_FRACTION_MASS_IN_GRAMS, 2.0);
+
+        return fraction;
+    }
+
+    private static double tracerValue(AbstractRatiosDataModel tracer, String name) {
+        return tracer.getDatumByName(name).getValue().doubleValue();
+    }
+
+    private static double pbBlank(UPbFraction fraction, String name) {
+        return fraction.getPbBlank().getDatumByName(name).getValue().doubleValue();
+    }
+
+    private static void setAnalysisMeasure(Fraction fraction, AnalysisMeasures measure, double value, double oneSigmaPct) {
+        ValueModel analysisMeasure = fraction.getAnalysisMeasure(measure.getName());
+        analysisMeasure.setValue(new BigDecimal(value));
+        analysisMeasure.setOneSigma(new BigDecimal(value * oneSigmaPct / 100.0));
+    }
+
+    private static Fraction populateMeasuredRatios(Fraction fraction, int index) {
+        // distinct but plausible measured ratios for each fraction
+        double scale = 1.0 + (index % 100) / 100.0;
+        setMeasuredRatio(fraction, MeasuredRatios.r206_204m, 1500.0 * scale, 0.1);
+        setMeasuredRatio(fraction, MeasuredRatios.r207_204m, 100.0 * scale, 0.1);
+        setMeasuredRatio(fraction, MeasuredRatios.r208_204m, 60.0 * scale, 0.1);
+        setMeasuredRatio(fraction, MeasuredRatios.r206_207m, 15.0 * scale, 0.2);
+        setMeasuredRatio(fraction, MeasuredRatios.r206_208m, 25.0 * scale, 0.2);
+        setMeasuredRatio(fraction, MeasuredRatios.r206_205m, 1.5 * scale, 0.05);
+        setMeasuredRatio(fraction, MeasuredRatios.r238_235m, 137.8 * scale, 0.05);
+        setMeasuredRatio(fraction, MeasuredRatios.r238_233m, 20.0 * scale, 0.05);
+        fraction.getMeasuredRatioByName("r206_238m").setValue(new BigDecimal(0.1 * scale));
+        fraction.getMeasuredRatioByName("r206_238m").setOneSigma(new BigDecimal(0.001 * scale));
+        fraction.getMeasuredRatioByName("r208_232m").setValue(new BigDecimal(0.03 * scale));
+        fraction.getMeasuredRatioByName("r208_232m").setOneSigma(new BigDecimal(0.0003 * scale));
+
+        return fraction;
+    }
+
+    private static void setMeasuredRatio(Fraction fraction, MeasuredRatios ratio, double value, double oneSigmaPct) {
+        ValueModel measuredRatio = fraction.getMeasuredRatioByName(ratio.getName());
+        measuredRatio.setValue(new BigDecimal(value));
+        measuredRatio.setOneSigma(new BigDecimal(value * oneSigmaPct / 100.0));
+    }
+}
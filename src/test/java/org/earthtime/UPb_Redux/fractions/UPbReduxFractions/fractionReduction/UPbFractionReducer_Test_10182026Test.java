@@ -0,0 +1,174 @@
+/*
+ * UPbFractionReducer_Test_10182026Test.java
+ *
+ * The naming of this file is the name of the .java file being tested, combined
+ * with test since this is the test file, combined with the creation date of
+ * this file. The test at the end is so that the file runs from NetBeans when
+ * testing an entire project.
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.fractions.UPbReduxFractions.fractionReduction;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.earthtime.UPb_Redux.fractions.Fraction;
+import org.earthtime.UPb_Redux.fractions.FractionFixtures;
+import org.earthtime.UPb_Redux.valueModels.ValueModel;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Reducing fractions concurrently must give exactly the same results as
+ * reducing them one at a time, and the ID-TIMS fixtures must reduce to the
+ * dates they were modeled from. Reducing them in double precision must agree
+ * with the default reduction to 1e-12 relative.
+ *
+ * @author James F. Bowring
+ */
+public class UPbFractionReducer_Test_10182026Test {
+
+    private static final int COUNT_OF_FRACTIONS = 24;
+    private static final double DOUBLE_PRECISION_TOLERANCE = 1e-12;
+
+    /**
+     * Test of fullFractionReduce method for ID-TIMS fractions, of class
+     * UPbFractionReducer.
+     */
+    @Test
+    public void test_FullFractionReduce_IDTIMS_ParallelMatchesSerial() {
+        System.out.println("Testing UPbFractionReducer's fullFractionReduce(List<Fraction> fractions, boolean calculateCovariances, int parallelism) for IDTIMS");
+
+        List<Fraction> serialFractions = FractionFixtures.createIDTIMSFractions(COUNT_OF_FRACTIONS);
+        List<Fraction> parallelFractions = FractionFixtures.createIDTIMSFractions(COUNT_OF_FRACTIONS);
+
+        UPbFractionReducer.fullFractionReduce(serialFractions, true, 1);
+        UPbFractionReducer.fullFractionReduce(parallelFractions, true, 4);
+
+        FractionFixtures.assertModeledIDTIMSDates(serialFractions);
+        assertSameReductions(serialFractions, parallelFractions);
+    }
+
+    /**
+     * Test of fullFractionReduce method for LA-ICPMS fractions, of class
+     * UPbFractionReducer.
+     */
+    @Test
+    public void test_FullFractionReduce_LAICPMS_ParallelMatchesSerial() {
+        System.out.println("Testing UPbFractionReducer's fullFractionReduce(List<Fraction> fractions, boolean calculateCovariances, int parallelism) for LAICPMS");
+
+        List<Fraction> serialFractions = FractionFixtures.createLAICPMSFractions(COUNT_OF_FRACTIONS);
+        List<Fraction> parallelFractions = FractionFixtures.createLAICPMSFractions(COUNT_OF_FRACTIONS);
+
+        UPbFractionReducer.fullFractionReduce(serialFractions, true, 1);
+        UPbFractionReducer.fullFractionReduce(parallelFractions, true, 4);
+
+        assertSameReductions(serialFractions, parallelFractions);
+    }
+
+    /**
+     * Test of fullFractionReduce method in double precision for ID-TIMS
+     * fractions, of class UPbFractionReducer.
+     */
+    @Test
+    public void test_FullFractionReduce_IDTIMS_DoublePrecisionMatchesBigDecimal() {
+        System.out.println("Testing UPbFractionReducer's fullFractionReduce(List<Fraction> fractions, boolean calculateCovariances, int parallelism, boolean doublePrecision) for IDTIMS");
+
+        List<Fraction> bigDecimalFractions = FractionFixtures.createIDTIMSFractions(COUNT_OF_FRACTIONS);
+        List<Fraction> doubleFractions = FractionFixtures.createIDTIMSFractions(COUNT_OF_FRACTIONS);
+
+        UPbFractionReducer.fullFractionReduce(bigDecimalFractions, true, 1, false);
+        UPbFractionReducer.fullFractionReduce(doubleFractions, true, 1, true);
+
+        FractionFixtures.assertModeledIDTIMSDates(bigDecimalFractions);
+        assertMatchingReductions(bigDecimalFractions, doubleFractions);
+    }
+
+    /**
+     * Test of fullFractionReduce method in double precision for LA-ICPMS
+     * fractions, of class UPbFractionReducer.
+     */
+    @Test
+    public void test_FullFractionReduce_LAICPMS_DoublePrecisionMatchesBigDecimal() {
+        System.out.println("Testing UPbFractionReducer's fullFractionReduce(List<Fraction> fractions, boolean calculateCovariances, int parallelism, boolean doublePrecision) for LAICPMS");
+
+        List<Fraction> bigDecimalFractions = FractionFixtures.createLAICPMSFractions(COUNT_OF_FRACTIONS);
+        List<Fraction> doubleFractions = FractionFixtures.createLAICPMSFractions(COUNT_OF_FRACTIONS);
+
+        UPbFractionReducer.fullFractionReduce(bigDecimalFractions, true, 1, false);
+        UPbFractionReducer.fullFractionReduce(doubleFractions, true, 1, true);
+
+        assertMatchingReductions(bigDecimalFractions, doubleFractions);
+    }
+
+    private static void assertSameReductions(List<Fraction> serialFractions, List<Fraction> parallelFractions) {
+        for (int i = 0; i < serialFractions.size(); i++) {
+            assertSameValueModels(serialFractions.get(i).getRadiogenicIsotopeRatios(), parallelFractions.get(i).getRadiogenicIsotopeRatios());
+            assertSameValueModels(serialFractions.get(i).getRadiogenicIsotopeDates(), parallelFractions.get(i).getRadiogenicIsotopeDates());
+            assertSameValueModels(serialFractions.get(i).getCompositionalMeasures(), parallelFractions.get(i).getCompositionalMeasures());
+        }
+    }
+
+    private static void assertMatchingReductions(List<Fraction> expectedFractions, List<Fraction> actualFractions) {
+        for (int i = 0; i < expectedFractions.size(); i++) {
+            Fraction expected = expectedFractions.get(i);
+            Fraction actual = actualFractions.get(i);
+            assertMatchingValueModels(expected.getRadiogenicIsotopeRatios(), actual.getRadiogenicIsotopeRatios());
+            assertMatchingValueModels(expected.getRadiogenicIsotopeDates(), actual.getRadiogenicIsotopeDates());
+            assertMatchingValueModels(expected.getCompositionalMeasures(), actual.getCompositionalMeasures());
+
+            Map<String, BigDecimal> expectedParDerivTerms = expected.getParDerivTerms();
+            Map<String, BigDecimal> actualParDerivTerms = actual.getParDerivTerms();
+            assertEquals(expectedParDerivTerms.keySet(), actualParDerivTerms.keySet());
+            for (String key : expectedParDerivTerms.keySet()) {
+                assertMatches(key, expectedParDerivTerms.get(key), actualParDerivTerms.get(key), Math.abs(expectedParDerivTerms.get(key).doubleValue()));
+            }
+        }
+    }
+
+    private static void assertMatchingValueModels(ValueModel[] expected, ValueModel[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].getName(), actual[i].getName());
+            double scale = Math.abs(expected[i].getValue().doubleValue());
+            if (expected[i].getName().startsWith("percentDiscordance")) {
+                // one minus a ratio of nearly equal dates, which the default path divides to 15 digits
+                scale = 100.0;
+            }
+            assertMatches(expected[i].getName(), expected[i].getValue(), actual[i].getValue(), scale);
+            // LA-ICPMS date sigmas are differences of two dates, so they are only as precise as the dates
+            assertMatches(expected[i].getName() + " one sigma", expected[i].getOneSigma(), actual[i].getOneSigma(), //
+                    Math.max(scale, Math.abs(expected[i].getOneSigma().doubleValue())));
+        }
+    }
+
+    private static void assertMatches(String name, BigDecimal expected, BigDecimal actual, double scale) {
+        double expectedDouble = expected.doubleValue();
+        double actualDouble = actual.doubleValue();
+        assertTrue(name + " expected " + expected + " but was " + actual, //
+                Math.abs(expectedDouble - actualDouble) <= DOUBLE_PRECISION_TOLERANCE * scale);
+    }
+
+    private static void assertSameValueModels(ValueModel[] expected, ValueModel[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].getName(), actual[i].getName());
+            assertEquals(expected[i].getName(), expected[i].getValue(), actual[i].getValue());
+            assertEquals(expected[i].getName(), expected[i].getOneSigma(), actual[i].getOneSigma());
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * ReportSettings_Test_10182026Test.java
+ *
+ * The naming of this file is the name of the .java file being tested, combined
+ * with test since this is the test file, combined with the creation date of
+ * this file. The test at the end is so that the file runs from NetBeans when
+ * testing an entire project.
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.reports;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.util.Vector;
+import org.earthtime.UPb_Redux.fractions.Fraction;
+import org.earthtime.UPb_Redux.fractions.FractionFixtures;
+import org.earthtime.UPb_Redux.reports.excelReports.CsvResultsTable;
+import org.earthtime.UPb_Redux.reports.reportViews.ReportAliquotFractionsView;
+import org.earthtime.UPb_Redux.samples.Sample;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Columns bound to their accessors must retrieve what reflection retrieved,
+ * and streamed reports must match those written from the report table. The
+ * benchmarks report the time to build the report table of samples of 100,
+ * 1,000 and 10,000 fractions, and the memory held writing 100,000 rows.
+ *
+ * @author James F. Bowring
+ */
+public class ReportSettings_Test_10182026Test {
+
+    private static final int COUNT_OF_REDUCED_FRACTIONS = 100;
+
+    /**
+     * Test of bindFractionAccessors method, of class ReportSettings.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void test_BindFractionAccessors_MatchesReflection() throws Exception {
+        System.out.println("Testing ReportSettings's bindFractionAccessors()");
+
+        ReportSettings reportSettings = ReportSettings.EARTHTIMEReportSettings();
+        reportSettings.bindFractionAccessors();
+        Fraction fraction = createSample(1).getUPbFractions().get(0);
+
+        int countOfColumns = 0;
+        for (ReportCategory category : reportSettings.getReportCategoriesInOrder().values()) {
+            for (ReportColumn column : category.getCategoryColumns()) {
+                if ((column.getRetrieveMethodName().length() > 0) && (column.getRetrieveVariableName().length() > 0)) {
+                    Method meth = Fraction.class.getMethod(column.getRetrieveMethodName(), new Class[]{String.class});
+                    assertTrue(meth.invoke(fraction, column.getRetrieveVariableName()) == column.retrieveValueModel(fraction));
+                    countOfColumns++;
+                }
+            }
+        }
+        assertTrue(countOfColumns > 0);
+
+        // changing the retrieve method rebinds the column
+        ReportColumn column = new ReportColumn("", "", "", 0, "", "getFractionID", "", "", "", true, false);
+        assertEquals(fraction.getFractionID(), column.getReportRecordByColumnSpec(fraction, true)[0]);
+        column.setRetrieveMethodName("getRadiogenicIsotopeDateByName");
+        column.setRetrieveVariableName("age206_238r");
+        assertTrue(fraction.getRadiogenicIsotopeDateByName("age206_238r") == column.retrieveValueModel(fraction));
+    }
+
+    /**
+     * Reports the time to build the report table of 100, 1,000 and 10,000
+     * fractions.
+     */
+    @Test
+    public void test_ReportActiveFractionsByNumberStyle_Timed() {
+        System.out.println("Benchmarking ReportSettings's reportActiveFractionsByNumberStyle(Sample sample, boolean numberStyleIsNumeric)");
+
+        ReportSettings reportSettings = ReportSettings.EARTHTIMEReportSettings();
+
+        // warm up
+        reportSettings.reportActiveFractionsByNumberStyle(createSample(1000), false);
+
+        for (int countOfFractions : new int[]{100, 1000, 10000}) {
+            Sample sample = createSample(countOfFractions);
+
+            long start = System.nanoTime();
+            String[][] table = reportSettings.reportActiveFractionsByNumberStyle(sample, false);
+            long nanos = System.nanoTime() - start;
+
+            assertEquals(countOfFractions + ReportSettings.FRACTION_DATA_START_ROW, table.length);
+            System.out.println("   " + countOfFractions + " fractions: " + (nanos / 1000000) + " ms");
+        }
+    }
+
+    /**
+     * Test of writeFractionsNumericStyle method, of class ReportSettings.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void test_WriteFractionsNumericStyle_MatchesReportTable() throws IOException {
+        System.out.println("Testing ReportSettings's writeFractionsNumericStyle against the csv report of the table");
+
+        Sample sample = createSample(COUNT_OF_REDUCED_FRACTIONS);
+
+        for (int sortedColumn : new int[]{-1, 2, 6, 7}) {
+            for (int sortedColumnDirection : new int[]{1, -1}) {
+                String[][] reportFractions = sample.reportActiveFractionsByNumberStyle(true);
+                if (sortedColumn >= 0) {
+                    ReportAliquotFractionsView.sortReportColumn(reportFractions, sortedColumn, sortedColumnDirection);
+                }
+                File csvFile = File.createTempFile("ReportTable", ".csv");
+                csvFile.deleteOnExit();
+                CsvResultsTable.setSampleName(sample.getSampleName());
+                CsvResultsTable.setReportFractions(reportFractions);
+                CsvResultsTable.writeCSVReport(csvFile);
+
+                StringWriter streamed = new StringWriter();
+                CsvResultsTable.writeCSVReport(streamed, sample, sample.getUpbFractionsActive(), sortedColumn, sortedColumnDirection);
+
+                assertEquals(new String(Files.readAllBytes(csvFile.toPath())), streamed.toString());
+            }
+        }
+    }
+
+    /**
+     * Test of reportFractionRowAsInTable method, of class ReportSettings.
+     */
+    @Test
+    public void test_ReportFractionRowAsInTable_MatchesReportTable() {
+        System.out.println("Testing ReportSettings's reportFractionRowAsInTable against the rows of the report table");
+
+        Sample sample = createSample(COUNT_OF_REDUCED_FRACTIONS);
+        ReportSettings reportSettings = sample.getReportSettingsModel();
+        Vector<Fraction> fractions = sample.getUpbFractionsActive();
+
+        for (boolean numberStyleIsNumeric : new boolean[]{false, true}) {
+            String[][] reportFractions = reportSettings.reportActiveFractionsByNumberStyle(sample, numberStyleIsNumeric);
+            assertTrue(reportSettings.isReportTableHeadingCurrent(sample, fractions, reportFractions, numberStyleIsNumeric));
+
+            for (int i = 0; i < fractions.size(); i++) {
+                String[] fractionRow = reportSettings.reportFractionRowAsInTable(sample, fractions, fractions.get(i), reportFractions, numberStyleIsNumeric);
+                assertArrayEquals(reportFractions[ReportSettings.FRACTION_DATA_START_ROW + i], fractionRow);
+            }
+        }
+    }
+
+    /**
+     * Streams a 100,000 row csv report and reports the memory held.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void test_WriteFractionsNumericStyle_FlatMemory() throws IOException {
+        System.out.println("Benchmarking ReportSettings's writeFractionsNumericStyle() for 100,000 fractions");
+
+        Sample sample = createSample(100000);
+        Runtime runtime = Runtime.getRuntime();
+        long[] maxUsedBytes = new long[1];
+        long[] countOfLines = new long[1];
+
+        System.gc();
+        long baseUsedBytes = runtime.totalMemory() - runtime.freeMemory();
+        long start = System.nanoTime();
+        CsvResultsTable.writeCSVReport(new java.io.Writer() {
+            private long countOfChars = 0;
+
+            @Override
+            public void write(char[] cbuf, int off, int len) {
+                countOfChars += len;
+                for (int i = off; i < off + len; i++) {
+                    countOfLines[0] += (cbuf[i] == '\n') ? 1 : 0;
+                }
+                if ((countOfChars & 0xFFFFF) < len) {
+                    maxUsedBytes[0] = Math.max(maxUsedBytes[0], runtime.totalMemory() - runtime.freeMemory());
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        }, sample, sample.getUpbFractionsActive(), 2, 1);
+        long nanos = System.nanoTime() - start;
+
+        // every fraction is written below the heading rows
+        assertTrue(countOfLines[0] > 100000);
+        System.out.println("   100000 fractions streamed in " + (nanos / 1000000) + " ms; heap in use grew by at most "//
+                + (Math.max(0, maxUsedBytes[0] - baseUsedBytes) >> 20) + " MiB");
+    }
+
+    // reduces a hundred fractions to their modeled dates and repeats them up to the count of fractions
+    private static Sample createSample(int countOfFractions) {
+        Vector<Fraction> reducedFractions = FractionFixtures.createIDTIMSFractions(Math.min(countOfFractions, COUNT_OF_REDUCED_FRACTIONS));
+
+        Sample sample = FractionFixtures.createSample(reducedFractions);
+        sample.setReportSettingsModel(ReportSettings.EARTHTIMEReportSettings());
+        sample.reduceSampleData(1, false);
+        FractionFixtures.assertModeledIDTIMSDates(reducedFractions);
+
+        Vector<Fraction> fractions = new Vector<>();
+        for (int i = 0; i < countOfFractions; i++) {
+            fractions.add(reducedFractions.get(i % reducedFractions.size()));
+        }
+        sample.setUPbFractions(fractions);
+
+        return sample;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * SampleImportPipeline_Test_10182026Test.java
+ *
+ * The naming of this file is the name of the .java file being tested, combined
+ * with test since this is the test file, combined with the creation date of
+ * this file. The test at the end is so that the file runs from NetBeans when
+ * testing an entire project.
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.samples;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.earthtime.exceptions.ETException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Sources read on the worker pool must be handed off on the calling thread in
+ * their order, and failures in either stage must be collected without
+ * stopping the import.
+ *
+ * @author James F. Bowring
+ */
+public class SampleImportPipeline_Test_10182026Test {
+
+    private static final int COUNT_OF_SOURCES = 300;
+
+    /**
+     * Test of importSources method, of class SampleImportPipeline.
+     */
+    @Test
+    public void test_ImportSources_OrderedHandOffAndFailures() {
+        System.out.println("Testing SampleImportPipeline's importSources(List<S> sources, ...)");
+
+        List<Integer> sources = new ArrayList<>();
+        for (int i = 0; i < COUNT_OF_SOURCES; i++) {
+            sources.add(i);
+        }
+        Thread callingThread = Thread.currentThread();
+
+        for (int parallelism : new int[]{1, 4, 0}) {
+            List<Integer> handedOff = new ArrayList<>();
+
+            List<String> failures = new SampleImportPipeline<Integer, Integer>(parallelism).importSources(//
+                    sources,
+                    (Integer source) -> "file" + source,
+                    (Integer source) -> () -> {
+                        // later sources finish first
+                        Thread.sleep((COUNT_OF_SOURCES - source) % 3);
+                        if ((source % 100) == 13) {
+                            throw new FileNotFoundException("missing");
+                        }
+                        return source;
+                    },
+                    (Integer source, Integer read) -> {
+                        assertTrue(Thread.currentThread() == callingThread);
+                        if (source == 42) {
+                            throw new ETException("sample name differs");
+                        }
+                        handedOff.add(read);
+                    });
+
+            assertEquals(Arrays.asList("file13: missing", "file42: sample name differs", "file113: missing", "file213: missing"), failures);
+            assertEquals(COUNT_OF_SOURCES - failures.size(), handedOff.size());
+            for (int i = 1; i < handedOff.size(); i++) {
+                assertTrue(handedOff.get(i - 1) < handedOff.get(i));
+            }
+        }
+    }
+}
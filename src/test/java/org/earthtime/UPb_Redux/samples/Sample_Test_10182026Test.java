@@ -0,0 +1,243 @@
+/*
+ * Sample_Test_10182026Test.java
+ *
+ * The naming of this file is the name of the .java file being tested, combined
+ * with test since this is the test file, combined with the creation date of
+ * this file. The test at the end is so that the file runs from NetBeans when
+ * testing an entire project.
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.samples;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.Vector;
+import org.earthtime.UPb_Redux.expressions.ExpTreeII;
+import org.earthtime.UPb_Redux.fractions.Fraction;
+import org.earthtime.UPb_Redux.fractions.FractionFixtures;
+import org.earthtime.UPb_Redux.valueModels.ValueModel;
+import org.earthtime.UPb_Redux.valueModels.definedValueModels.Age206_238r;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Value trees are built only when asked for, and a sample reduces to the same
+ * results however it is reduced. The benchmark reports the bytes allocated
+ * reducing a sample and the bytes its value trees cost when they are all built
+ * afterwards, which every reduction paid before.
+ *
+ * @author James F. Bowring
+ */
+public class Sample_Test_10182026Test {
+
+    private static final int COUNT_OF_FRACTIONS = 200;
+    private static final double DOUBLE_PRECISION_TOLERANCE = 1e-12;
+
+    /**
+     * A value tree built on demand must be the tree calculateValue used to
+     * build.
+     */
+    @Test
+    public void test_GetValueTree_BuiltOnDemand() {
+        System.out.println("Testing ValueModel's getValueTree() after calculateValue");
+
+        ValueModel r206_238r = new ValueModel("r206_238r", new BigDecimal(0.1), "ABS", BigDecimal.ZERO, BigDecimal.ZERO);
+        ValueModel lambda238 = new ValueModel("lambda238", new BigDecimal(1.55125e-10), "ABS", BigDecimal.ZERO, BigDecimal.ZERO);
+        ValueModel age206_238r = new Age206_238r();
+        age206_238r.calculateValue(new ValueModel[]{r206_238r, lambda238}, null);
+
+        ExpTreeII expResult = r206_238r.getValueTree().add(ExpTreeII.ONE).log().divide(lambda238.getValueTree());
+        ExpTreeII result = age206_238r.getValueTree();
+
+        assertFalse(result.isValueNode());
+        assertEquals(expResult.getNodeRole(), result.getNodeRole());
+        assertEquals(0, expResult.getNodeValue().compareTo(result.getNodeValue()));
+        assertEquals(age206_238r.getName(), result.getNodeName());
+
+        // copies share the recipe
+        ValueModel copy = age206_238r.copy();
+        assertEquals(0, expResult.getNodeValue().compareTo(copy.getValueTree().getNodeValue()));
+    }
+
+    /**
+     * Reducing a sample in parallel must give exactly the same results as
+     * reducing its aliquots one at a time.
+     */
+    @Test
+    public void test_ReduceSampleData_ParallelMatchesSerial() {
+        System.out.println("Testing Sample's reduceSampleData(int countOfParallelThreads, boolean reduceInDoublePrecision) in parallel");
+
+        Sample serialSample = FractionFixtures.createSample(FractionFixtures.createIDTIMSFractions(COUNT_OF_FRACTIONS));
+        serialSample.reduceSampleData(1, false);
+
+        Sample parallelSample = FractionFixtures.createSample(FractionFixtures.createIDTIMSFractions(COUNT_OF_FRACTIONS));
+        parallelSample.reduceSampleData(4, false);
+
+        Vector<Fraction> serialFractions = serialSample.getUPbFractions();
+        Vector<Fraction> parallelFractions = parallelSample.getUPbFractions();
+        FractionFixtures.assertModeledIDTIMSDates(serialFractions);
+        for (int i = 0; i < COUNT_OF_FRACTIONS; i++) {
+            assertSameValueModels(serialFractions.get(i).getRadiogenicIsotopeRatios(), parallelFractions.get(i).getRadiogenicIsotopeRatios());
+            assertSameValueModels(serialFractions.get(i).getRadiogenicIsotopeDates(), parallelFractions.get(i).getRadiogenicIsotopeDates());
+            assertSameValueModels(serialFractions.get(i).getCompositionalMeasures(), parallelFractions.get(i).getCompositionalMeasures());
+        }
+    }
+
+    /**
+     * Reducing a sample in parallel through the double precision path must
+     * agree with the default serial reduction to 1e-12 relative.
+     */
+    @Test
+    public void test_ReduceSampleData_DoublePrecisionMatchesSerial() {
+        System.out.println("Testing Sample's reduceSampleData(int countOfParallelThreads, boolean reduceInDoublePrecision)");
+
+        Sample serialSample = FractionFixtures.createSample(FractionFixtures.createIDTIMSFractions(COUNT_OF_FRACTIONS));
+        serialSample.reduceSampleData(1, false);
+
+        Sample doublePrecisionSample = FractionFixtures.createSample(FractionFixtures.createIDTIMSFractions(COUNT_OF_FRACTIONS));
+        doublePrecisionSample.reduceSampleData(4, true);
+
+        Vector<Fraction> serialFractions = serialSample.getUPbFractions();
+        Vector<Fraction> doublePrecisionFractions = doublePrecisionSample.getUPbFractions();
+        FractionFixtures.assertModeledIDTIMSDates(serialFractions);
+        for (int i = 0; i < COUNT_OF_FRACTIONS; i++) {
+            assertMatchingValueModels(serialFractions.get(i).getRadiogenicIsotopeRatios(), doublePrecisionFractions.get(i).getRadiogenicIsotopeRatios());
+            assertMatchingValueModels(serialFractions.get(i).getRadiogenicIsotopeDates(), doublePrecisionFractions.get(i).getRadiogenicIsotopeDates());
+            assertMatchingValueModels(serialFractions.get(i).getCompositionalMeasures(), doublePrecisionFractions.get(i).getCompositionalMeasures());
+        }
+    }
+
+    /**
+     * The value trees of a reduced sample are built only when first asked for,
+     * and do not depend on the count of threads that reduced the sample.
+     */
+    @Test
+    public void test_ReduceSampleData_ValueTreesBuiltOnDemand() {
+        System.out.println("Testing ValueModel's getValueTree() after Sample's reduceSampleData");
+
+        Sample serialSample = FractionFixtures.createSample(FractionFixtures.createLAICPMSFractions(COUNT_OF_FRACTIONS));
+        serialSample.reduceSampleData(1, false);
+
+        Sample parallelSample = FractionFixtures.createSample(FractionFixtures.createLAICPMSFractions(COUNT_OF_FRACTIONS));
+        parallelSample.reduceSampleData(4, false);
+
+        for (int i = 0; i < COUNT_OF_FRACTIONS; i++) {
+            assertSameValueTrees(serialSample.getUPbFractions().get(i).getRadiogenicIsotopeRatios(), //
+                    parallelSample.getUPbFractions().get(i).getRadiogenicIsotopeRatios());
+            assertSameValueTrees(serialSample.getUPbFractions().get(i).getRadiogenicIsotopeDates(), //
+                    parallelSample.getUPbFractions().get(i).getRadiogenicIsotopeDates());
+        }
+
+        ValueModel age206_238r = serialSample.getUPbFractions().get(0).getRadiogenicIsotopeDateByName("age206_238r");
+        ExpTreeII valueTree = age206_238r.getValueTree();
+        assertFalse(valueTree.isValueNode());
+        assertSame(valueTree, age206_238r.getValueTree());
+    }
+
+    /**
+     * Reports the bytes allocated by reduceSampleData and by building all the
+     * value trees afterwards.
+     */
+    @Test
+    public void test_ReduceSampleData_AllocationOfValueTrees() {
+        System.out.println("Benchmarking Sample's reduceSampleData() allocation with value trees built on demand");
+
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            System.out.println("   allocation counters not available");
+            return;
+        }
+        com.sun.management.ThreadMXBean allocationCounter = (com.sun.management.ThreadMXBean) threadMXBean;
+        long threadId = Thread.currentThread().getId();
+
+        // warm up
+        FractionFixtures.createSample(FractionFixtures.createIDTIMSFractions(COUNT_OF_FRACTIONS)).reduceSampleData(1, false);
+
+        Sample sample = FractionFixtures.createSample(FractionFixtures.createIDTIMSFractions(COUNT_OF_FRACTIONS));
+        long start = allocationCounter.getThreadAllocatedBytes(threadId);
+        sample.reduceSampleData(1, false);
+        long reductionBytes = allocationCounter.getThreadAllocatedBytes(threadId) - start;
+        FractionFixtures.assertModeledIDTIMSDates(sample.getUPbFractions());
+
+        start = allocationCounter.getThreadAllocatedBytes(threadId);
+        int countOfTrees = 0;
+        for (Fraction fraction : sample.getUPbFractions()) {
+            countOfTrees += buildValueTrees(fraction.getAnalysisMeasures());
+            countOfTrees += buildValueTrees(fraction.getRadiogenicIsotopeRatios());
+            countOfTrees += buildValueTrees(fraction.getRadiogenicIsotopeDates());
+            countOfTrees += buildValueTrees(fraction.getCompositionalMeasures());
+        }
+        long treeBytes = allocationCounter.getThreadAllocatedBytes(threadId) - start;
+
+        assertTrue(countOfTrees > 0);
+        System.out.println("   " + COUNT_OF_FRACTIONS + " fractions: reduction allocated " + (reductionBytes >> 10) + " KiB; "//
+                + "building its " + countOfTrees + " value trees allocates " + (treeBytes >> 10) + " KiB more ("//
+                + Math.round(100.0 * treeBytes / (reductionBytes + treeBytes)) + "% of the former total)");
+    }
+
+    private static int buildValueTrees(ValueModel[] valueModels) {
+        int count = 0;
+        for (ValueModel valueModel : valueModels) {
+            if (!valueModel.getValueTree().isValueNode()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void assertSameValueModels(ValueModel[] expected, ValueModel[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].getName(), actual[i].getName());
+            assertEquals(expected[i].getName(), expected[i].getValue(), actual[i].getValue());
+            assertEquals(expected[i].getName(), expected[i].getOneSigma(), actual[i].getOneSigma());
+        }
+    }
+
+    private static void assertMatchingValueModels(ValueModel[] expected, ValueModel[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].getName(), actual[i].getName());
+            double scale = Math.abs(expected[i].getValue().doubleValue());
+            if (expected[i].getName().startsWith("percentDiscordance")) {
+                // one minus a ratio of nearly equal dates, which the default path divides to 15 digits
+                scale = 100.0;
+            }
+            assertMatches(expected[i].getName(), expected[i].getValue(), actual[i].getValue(), scale);
+            // LA-ICPMS date sigmas are differences of two dates, so they are only as precise as the dates
+            assertMatches(expected[i].getName() + " one sigma", expected[i].getOneSigma(), actual[i].getOneSigma(), //
+                    Math.max(scale, Math.abs(expected[i].getOneSigma().doubleValue())));
+        }
+    }
+
+    private static void assertMatches(String name, BigDecimal expected, BigDecimal actual, double scale) {
+        double expectedDouble = expected.doubleValue();
+        double actualDouble = actual.doubleValue();
+        assertTrue(name + " expected " + expected + " but was " + actual, //
+                Math.abs(expectedDouble - actualDouble) <= DOUBLE_PRECISION_TOLERANCE * scale);
+    }
+
+    private static void assertSameValueTrees(ValueModel[] expected, ValueModel[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].getName() + " value tree", //
+                    expected[i].getValueTree().getNodeValue(), actual[i].getValueTree().getNodeValue());
+        }
+    }
+}
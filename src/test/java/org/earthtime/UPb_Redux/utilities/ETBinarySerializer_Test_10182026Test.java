@@ -0,0 +1,234 @@
+/*
+ * ETBinarySerializer_Test_10182026Test.java
+ *
+ * The naming of this file is the name of the .java file being tested, combined
+ * with test since this is the test file, combined with the creation date of
+ * this file. The test at the end is so that the file runs from NetBeans when
+ * testing an entire project.
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.utilities;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.earthtime.Tripoli.dataModels.VirtualCollectorModel;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Objects read back from the binary container must equal those written,
+ * with shared arrays still shared, whether the raw data of the collectors is
+ * read at once or when first used.
+ *
+ * @author James F. Bowring
+ */
+public class ETBinarySerializer_Test_10182026Test {
+
+    /**
+     * Test of writeObject and readObject methods, of class
+     * ETBinarySerializer.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void test_WriteAndRead_RoundTrip() throws Exception {
+        System.out.println("Testing ETBinarySerializer's writeObject(Object o, File file, boolean compressed) and readObject(File file)");
+
+        for (boolean compressed : new boolean[]{false, true}) {
+            RawData written = new RawData(new Random(5));
+            File binaryFile = newTempFile();
+            ETBinarySerializer.writeObject(written, binaryFile, compressed);
+
+            assertTrue(ETBinarySerializer.isBinaryContainer(binaryFile));
+            assertRawDataEqual(written, (RawData) ETBinarySerializer.readObject(binaryFile));
+            assertRawDataEqual(written, (RawData) ETSerializer.GetSerializedObjectFromFile(binaryFile.getPath()));
+        }
+    }
+
+    /**
+     * Test of convertSerializedFile method, of class ETBinarySerializer.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void test_ConvertSerializedFile() throws Exception {
+        System.out.println("Testing ETBinarySerializer's convertSerializedFile(File serializedFile, File binaryFile, boolean compressed)");
+
+        RawData written = new RawData(new Random(7));
+        File serializedFile = newTempFile();
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(serializedFile))) {
+            out.writeObject(written);
+        }
+        assertFalse(ETBinarySerializer.isBinaryContainer(serializedFile));
+        assertRawDataEqual(written, (RawData) ETSerializer.GetSerializedObjectFromFile(serializedFile.getPath()));
+
+        File binaryFile = newTempFile();
+        ETBinarySerializer.convertSerializedFile(serializedFile, binaryFile, false);
+        assertRawDataEqual(written, (RawData) ETSerializer.GetSerializedObjectFromFile(binaryFile.getPath()));
+    }
+
+    /**
+     * Test of readObject method, of class ETBinarySerializer, leaving the
+     * arrays of VirtualCollectorModel in the file, which is then saved over.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void test_ReadObject_DeferringArrays() throws Exception {
+        System.out.println("Testing ETBinarySerializer's readObject(File file, boolean deferringArrays)");
+
+        ArrayList<VirtualCollectorModel> written = makeCollectors(new Random(9));
+        File binaryFile = newTempFile();
+        ETBinarySerializer.writeObject(written, binaryFile, false);
+
+        @SuppressWarnings("unchecked")
+        List<VirtualCollectorModel> deferred = (List<VirtualCollectorModel>) ETBinarySerializer.readObject(binaryFile, true);
+        // saving over the file first loads what is still in it
+        ETBinarySerializer.writeObject(deferred, binaryFile, true);
+        assertCollectorsEqual(written, deferred);
+
+        @SuppressWarnings("unchecked")
+        List<VirtualCollectorModel> saved = (List<VirtualCollectorModel>) ETSerializer.GetSerializedObjectFromFile(binaryFile.getPath());
+        assertCollectorsEqual(written, saved);
+    }
+
+    /**
+     * Test of readObject method, of class ETBinarySerializer, with the file
+     * changed before the deferred arrays are used.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void test_ReadObject_DeferringArraysOfChangedFile() throws Exception {
+        System.out.println("Testing ETBinarySerializer's readObject(File file, boolean deferringArrays) for a file changed since it was read");
+
+        File binaryFile = newTempFile();
+        ETBinarySerializer.writeObject(makeCollectors(new Random(13)), binaryFile, false);
+
+        @SuppressWarnings("unchecked")
+        List<VirtualCollectorModel> deferred = (List<VirtualCollectorModel>) ETBinarySerializer.readObject(binaryFile, true);
+        try (FileOutputStream out = new FileOutputStream(binaryFile, true)) {
+            out.write(0);
+        }
+        try {
+            deferred.get(0).getIntensities();
+            fail("Read raw data from a changed file.");
+        } catch (UncheckedIOException uncheckedIOException) {
+        }
+    }
+
+    private static ArrayList<VirtualCollectorModel> makeCollectors(Random random) {
+        ArrayList<VirtualCollectorModel> collectors = new ArrayList<>();
+        for (int c = 0; c < 4; c++) {
+            VirtualCollectorModel collector = new VirtualCollectorModel(c);
+            collector.setBackground(c == 0);
+            double[] intensities = new double[100];
+            double[] fitBackgroundIntensities = new double[100];
+            double[] aquireTimes = new double[100];
+            boolean[] dataActiveMap = new boolean[100];
+            for (int i = 0; i < intensities.length; i++) {
+                intensities[i] = 1.0e5 * (1.0 + random.nextDouble());
+                fitBackgroundIntensities[i] = 1.0e3 * random.nextDouble();
+                aquireTimes[i] = 200.0 * i;
+                dataActiveMap[i] = (i % 7) != 0;
+            }
+            collector.setIntensities(intensities);
+            collector.setFitBackgroundIntensities(fitBackgroundIntensities);
+            collector.setAquireTimes(aquireTimes);
+            collector.setIntensityCorrections(new double[100]);
+            collector.setDataActiveMap(dataActiveMap);
+            collector.correctOnPeakIntensities();
+            collector.adjustNonPositiveCorrectedIntensities();
+            collector.calculateLogOnPeakCorrectedIntensities();
+            collectors.add(collector);
+        }
+        return collectors;
+    }
+
+    private static void assertCollectorsEqual(List<VirtualCollectorModel> expected, List<VirtualCollectorModel> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int c = 0; c < expected.size(); c++) {
+            VirtualCollectorModel e = expected.get(c);
+            VirtualCollectorModel a = actual.get(c);
+            assertEquals(e.getCollectorNumber(), a.getCollectorNumber());
+            assertEquals(e.isBackground(), a.isBackground());
+            assertTrue(Arrays.equals(e.getIntensities(), a.getIntensities()));
+            assertTrue(Arrays.equals(e.getAquireTimes(), a.getAquireTimes()));
+            assertTrue(Arrays.equals(e.getFitBackgroundIntensities(), a.getFitBackgroundIntensities()));
+            assertTrue(Arrays.equals(e.getIntensityCorrections(), a.getIntensityCorrections()));
+            assertTrue(Arrays.equals(e.getCorrectedIntensities(), a.getCorrectedIntensities()));
+            assertTrue(Arrays.equals(e.getLogCorrectedIntensities(), a.getLogCorrectedIntensities()));
+            assertTrue(Arrays.equals(e.getDataActiveMap(), a.getDataActiveMap()));
+            assertEquals(e.getSumOfCorrectedOnPeakIntensities(), a.getSumOfCorrectedOnPeakIntensities(), 0.0);
+        }
+    }
+
+    private static File newTempFile() throws IOException {
+        File file = File.createTempFile("ETBinarySerializer", ".redux");
+        file.deleteOnExit();
+        return file;
+    }
+
+    private static void assertRawDataEqual(RawData expected, RawData actual) {
+        assertEquals(expected.name, actual.name);
+        assertTrue(Arrays.equals(expected.intensities, actual.intensities));
+        assertTrue(Arrays.equals(expected.shortArray, actual.shortArray));
+        assertEquals(expected.matrix.length, actual.matrix.length);
+        for (int i = 0; i < expected.matrix.length; i++) {
+            assertTrue(Arrays.equals(expected.matrix[i], actual.matrix[i]));
+        }
+        assertTrue(actual.sharedIntensities == actual.intensities);
+    }
+
+    private static class RawData implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+        private final double[] intensities;
+        private final double[] sharedIntensities;
+        private final double[] shortArray;
+        private final double[][] matrix;
+
+        RawData(Random random) {
+            name = "fraction " + random.nextInt();
+            intensities = new double[1000];
+            for (int i = 0; i < intensities.length; i++) {
+                intensities[i] = random.nextGaussian() * 1.0e6;
+            }
+            intensities[3] = Double.NaN;
+            sharedIntensities = intensities;
+            shortArray = new double[]{1.0, -2.5, Double.MIN_VALUE};
+            matrix = new double[40][40];
+            for (double[] row : matrix) {
+                for (int j = 0; j < row.length; j++) {
+                    row[j] = random.nextDouble();
+                }
+            }
+        }
+    }
+}
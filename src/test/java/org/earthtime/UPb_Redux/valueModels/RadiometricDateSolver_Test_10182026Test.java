@@ -0,0 +1,142 @@
+/*
+ * RadiometricDateSolver_Test_10182026Test.java
+ *
+ * The naming of this file is the name of the .java file being tested, combined
+ * with test since this is the test file, combined with the creation date of
+ * this file. The test at the end is so that the file runs from NetBeans when
+ * testing an entire project.
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.valueModels;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * The solver must recover the dates the forward equations were evaluated at.
+ * The timing test compares it with the former fixed count of 35 iterations of
+ * the 207Pb/206Pb date on a detrital sized set of ratios, which stopped short
+ * of convergence for the oldest dates.
+ *
+ * @author James F. Bowring
+ */
+public class RadiometricDateSolver_Test_10182026Test {
+
+    private static final double LAMBDA235 = 9.8485e-10;
+    private static final double LAMBDA238 = 1.55125e-10;
+    private static final double R238_235S = 137.818;
+    private static final int COUNT_OF_RATIOS = 50000;
+
+    /**
+     * Test of date207_206r method, of class RadiometricDateSolver.
+     */
+    @Test
+    public void test_Date207_206r_RecoversDate() {
+        System.out.println("Testing RadiometricDateSolver's date207_206r(double r238_235s, double r207_206r, double startDate)");
+
+        RadiometricDateSolver solver = RadiometricDateSolver.forDecayConstants(LAMBDA235, LAMBDA238);
+        for (double date = 1.0e6; date < 4.5e9; date += 1.0e8) {
+            double result = solver.date207_206r(R238_235S, r207_206r(date), 0.0);
+            assertEquals(date, result, Math.max(1.0e-3, date * 1.0e-12));
+        }
+    }
+
+    /**
+     * Test of discordiaIntercept method, of class RadiometricDateSolver.
+     */
+    @Test
+    public void test_DiscordiaIntercept_RecoversDate() {
+        System.out.println("Testing RadiometricDateSolver's discordiaIntercept(double yIntercept, double slope, double startDate)");
+
+        RadiometricDateSolver solver = RadiometricDateSolver.forDecayConstants(LAMBDA235, LAMBDA238);
+        double upper = 2.5e9;
+        double lower = 3.0e8;
+        // the chord of concordia between the two dates
+        double slope = (Math.expm1(LAMBDA238 * upper) - Math.expm1(LAMBDA238 * lower)) //
+                / (Math.expm1(LAMBDA235 * upper) - Math.expm1(LAMBDA235 * lower));
+        double yIntercept = Math.expm1(LAMBDA238 * upper) - slope * Math.expm1(LAMBDA235 * upper);
+
+        assertEquals(upper, solver.discordiaIntercept(yIntercept, slope, 4.0e9), 1.0e-2);
+        assertEquals(lower, solver.discordiaIntercept(yIntercept, slope, 1.0), 1.0e-2);
+    }
+
+    /**
+     * Compares date207_206r with the former 35 fixed iterations.
+     */
+    @Test
+    public void test_Date207_206r_TimedAgainstFixedIterations() {
+        System.out.println("Timing RadiometricDateSolver's date207_206r against 35 fixed iterations");
+
+        RadiometricDateSolver solver = RadiometricDateSolver.forDecayConstants(LAMBDA235, LAMBDA238);
+        double[] trueDates = detritalDates();
+        double[] ratios = new double[trueDates.length];
+        for (int i = 0; i < ratios.length; i++) {
+            ratios[i] = r207_206r(trueDates[i]);
+        }
+        double[] fixedDates = new double[ratios.length];
+        double[] dates = new double[ratios.length];
+
+        // warm up both
+        for (int pass = 0; pass < 3; pass++) {
+            for (int i = 0; i < ratios.length; i++) {
+                dates[i] = solver.date207_206r(R238_235S, ratios[i], 0.0);
+                fixedDates[i] = fixedIterations(ratios[i]);
+            }
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ratios.length; i++) {
+            fixedDates[i] = fixedIterations(ratios[i]);
+        }
+        long fixedNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ratios.length; i++) {
+            dates[i] = solver.date207_206r(R238_235S, ratios[i], 0.0);
+        }
+        long solverNanos = System.nanoTime() - start;
+
+        double maxFixedError = 0.0;
+        for (int i = 0; i < ratios.length; i++) {
+            assertEquals(trueDates[i], dates[i], Math.max(1.0e-3, trueDates[i] * 1.0e-12));
+            maxFixedError = Math.max(maxFixedError, Math.abs(fixedDates[i] - trueDates[i]));
+        }
+        System.out.println("   " + COUNT_OF_RATIOS + " dates: fixed iterations " //
+                + (fixedNanos / 1000000) + " ms, to tolerance " + (solverNanos / 1000000) + " ms; " //
+                + "fixed iterations off by up to " + maxFixedError + " years");
+    }
+
+    private static double r207_206r(double date) {
+        return Math.expm1(LAMBDA235 * date) / Math.expm1(LAMBDA238 * date) / R238_235S;
+    }
+
+    private static double[] detritalDates() {
+        double[] dates = new double[COUNT_OF_RATIOS];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = 1.0e7 + i * (4.4e9 / COUNT_OF_RATIOS);
+        }
+        return dates;
+    }
+
+    private static double fixedIterations(double r207_206r) {
+        double xn = RadiometricDateSolver.startDate207_206r(r207_206r);
+        for (int i = 0; i < 35; i++) {
+            xn -= RadiometricDateSolver.forDecayConstants(LAMBDA235, LAMBDA238)//
+                    .newtonStep207_206r(R238_235S, r207_206r).applyAsDouble(xn);
+        }
+        return xn;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * SampleDateModel_Test_10182026Test.java
+ *
+ * The naming of this file is the name of the .java file being tested, combined
+ * with test since this is the test file, combined with the creation date of
+ * this file. The test at the end is so that the file runs from NetBeans when
+ * testing an entire project.
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.valueModels;
+
+import Jama.Matrix;
+import org.earthtime.Tripoli.fitFunctions.algorithms.StructuredCovariance;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * The log-ratio weighted means factor Su once and take the inter-standard and
+ * standard uncertainties by Sherman-Morrison; they must agree with the solves
+ * against Su and its sums with constant matrices that they replace.
+ *
+ * @author James F. Bowring
+ */
+public class SampleDateModel_Test_10182026Test {
+
+    private static final double TOLERANCE = 1.0e-12;
+
+    /**
+     * Test of calculateLogRatioWeightedMeans method, of class SampleDateModel,
+     * with a diagonal Su whose weighted mean is worked by hand.
+     */
+    @Test
+    public void test_CalculateLogRatioWeightedMeans_DiagonalSu() {
+        System.out.println("Testing SampleDateModel's calculateLogRatioWeightedMeans with a diagonal Su");
+
+        // weights 10000 and 2500
+        StructuredCovariance Su = StructuredCovariance.diagonal(new double[]{1.0e-4, 4.0e-4});
+        Matrix logRatios = new Matrix(new double[]{0.1, 0.2}, 2);
+
+        SampleDateModel.LogWMresults results = SampleDateModel.calculateLogRatioWeightedMeans(Su, logRatios, 2.0e-5);
+
+        assertEquals(0.12, results.getLogRatioMean(), TOLERANCE);
+        assertEquals(Math.sqrt(1.0 / 12500.0), results.getLogRatioMeanOneSigmaAnalytical(), TOLERANCE);
+        // 0.02^2 * 10000 + 0.08^2 * 2500 over one degree of freedom
+        assertEquals(20.0, results.getMSWD(), 1.0e-10);
+        assertEquals(Math.sqrt(8.0e-5 + 1.0e-4), results.getLogRatioMeanOneSigmaAnalyticalPlusInterStd(), TOLERANCE);
+        assertEquals(Math.sqrt(8.0e-5 + 1.0e-4 + 2.0e-5), results.getLogRatioMeanOneSigmaAnalyticalPlusInterStdPlusStd(), TOLERANCE);
+    }
+
+    /**
+     * Test of calculateLogRatioWeightedMeans method, of class SampleDateModel,
+     * against the per-column dense solves it replaced, for Su held as diagonal
+     * plus low rank and as a dense matrix.
+     */
+    @Test
+    public void test_CalculateLogRatioWeightedMeans_MatchesDenseSolves() {
+        System.out.println("Testing SampleDateModel's calculateLogRatioWeightedMeans against dense solves");
+
+        // intercept variances, a session line fit Jf*Sf*Jf' and a dead time term
+        double[] diagonal = {4.0e-6, 2.5e-6, 9.0e-6, 1.0e-6, 6.0e-6};
+        Matrix Jf = new Matrix(new double[][]{{1.0, 0.0}, {1.0, 0.25}, {1.0, 0.5}, {1.0, 0.75}, {1.0, 1.0}});
+        Matrix Sf = new Matrix(new double[][]{{2.0e-6, -5.0e-7}, {-5.0e-7, 1.0e-6}});
+        Matrix deadTimeFactor = new Matrix(new double[]{3.0e-4, 5.0e-4, 2.0e-4, 8.0e-4, 4.0e-4}, 5);
+        StructuredCovariance structuredSu = StructuredCovariance.diagonal(diagonal)//
+                .plusLowRank(Jf, Jf.times(Sf))//
+                .plusLowRankOffDiagonal(deadTimeFactor);
+        Matrix logRatios = new Matrix(new double[]{-2.9957, -2.9941, -2.9990, -2.9962, -2.9925}, 5);
+        double varianceOfStandardLogRatio = 3.0e-6;
+
+        Matrix denseSu = structuredSu.toMatrix();
+        for (StructuredCovariance Su : new StructuredCovariance[]{structuredSu, StructuredCovariance.dense(denseSu)}) {
+            SampleDateModel.LogWMresults results = SampleDateModel.calculateLogRatioWeightedMeans(Su, logRatios, varianceOfStandardLogRatio);
+
+            // as calculateWeightedMeansWithMSWDforLogRatioBasedData solved before Su was factored once
+            Matrix onesV = new Matrix(5, 1, 1.0);
+            double logRatioMean = onesV.transpose().times(denseSu.solve(logRatios)).get(0, 0) //
+                    / (onesV.transpose().times(denseSu.solve(onesV))).get(0, 0);
+            double logRatioMeanOneSigmaAnalytical = Math.sqrt(1.0 / (onesV.transpose().times(denseSu.solve(onesV)).get(0, 0)));
+
+            Matrix logRationResiduals = logRatios.copy();
+            for (int i = 0; i < logRatios.getRowDimension(); i++) {
+                logRationResiduals.set(i, 0, logRatios.get(i, 0) - logRatioMean);
+            }
+            double logRatioMSWD = 1.0 / (5 - 1) * logRationResiduals.transpose().times(denseSu.solve(logRationResiduals)).get(0, 0);
+
+            Matrix SuInterStd = denseSu.plus(new Matrix(5, 5, 0.01 * 0.01));
+            double logRatioMeanOneSigmaAnalyticalPlusInterStd = Math.sqrt(1.0 / (onesV.transpose().times(SuInterStd.solve(onesV)).get(0, 0)));
+
+            Matrix SuInterStdPlusStd = SuInterStd.plus(new Matrix(5, 5, varianceOfStandardLogRatio));
+            double logRatioMeanOneSigmaAnalyticalPlusInterStdPlusStd = Math.sqrt(1.0 / (onesV.transpose().times(SuInterStdPlusStd.solve(onesV)).get(0, 0)));
+
+            assertEquals(logRatioMean, results.getLogRatioMean(), TOLERANCE * Math.abs(logRatioMean));
+            assertEquals(logRatioMeanOneSigmaAnalytical, results.getLogRatioMeanOneSigmaAnalytical(), 1.0e-10 * logRatioMeanOneSigmaAnalytical);
+            assertEquals(logRatioMSWD, results.getMSWD(), 1.0e-8 * logRatioMSWD);
+            assertEquals(logRatioMeanOneSigmaAnalyticalPlusInterStd, results.getLogRatioMeanOneSigmaAnalyticalPlusInterStd(), //
+                    1.0e-10 * logRatioMeanOneSigmaAnalyticalPlusInterStd);
+            assertEquals(logRatioMeanOneSigmaAnalyticalPlusInterStdPlusStd, results.getLogRatioMeanOneSigmaAnalyticalPlusInterStdPlusStd(), //
+                    1.0e-10 * logRatioMeanOneSigmaAnalyticalPlusInterStdPlusStd);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * ValueModelNameIndex_Test_10182026Test.java
+ *
+ * The naming of this file is the name of the .java file being tested, combined
+ * with test since this is the test file, combined with the creation date of
+ * this file. The test at the end is so that the file runs from NetBeans when
+ * testing an entire project.
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.valueModels;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.earthtime.dataDictionaries.AnalysisMeasures;
+import org.earthtime.dataDictionaries.RadDates;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Lookups through the index must find what the former linear scans found,
+ * also after the arrays are changed in place. The timing test compares both
+ * on the lookups made while reducing and reporting a 2,000 fraction detrital
+ * sample.
+ *
+ * @author James F. Bowring
+ */
+public class ValueModelNameIndex_Test_10182026Test {
+
+    private static final int COUNT_OF_FRACTIONS = 2000;
+    private static final int LOOKUPS_PER_NAME_PER_FRACTION = 50;
+
+    /**
+     * Test of find method, of class ValueModelNameIndex.
+     */
+    @Test
+    public void test_Find_MatchesLinearScan() {
+        System.out.println("Testing ValueModelNameIndex's find(ValueModel[] models, String name)");
+
+        ValueModel[] models = radDatesModels();
+        ValueModelNameIndex firstMatchIndex = new ValueModelNameIndex(true, true);
+        ValueModelNameIndex lastMatchIndex = new ValueModelNameIndex(true, false);
+
+        for (RadDates radDate : RadDates.values()) {
+            assertTrue(firstMatchIndex.find(models, radDate.getName()) == scan(models, radDate.getName(), true));
+            assertTrue(firstMatchIndex.find(models, radDate.getName().toUpperCase()) == scan(models, radDate.getName(), true));
+        }
+        assertTrue(firstMatchIndex.find(models, "noSuchDate") == null);
+
+        // duplicates
+        models[models.length - 1] = new ValueModel(models[0].getName());
+        assertTrue(firstMatchIndex.find(models, models[0].getName()) == models[0]);
+        assertTrue(lastMatchIndex.find(models, models[0].getName()) == models[models.length - 1]);
+
+        // replaced, renamed and re-sorted in place
+        models = radDatesModels();
+        models[3] = new ValueModel(models[3].getName());
+        assertTrue(firstMatchIndex.find(models, models[3].getName()) == models[3]);
+        String oldName = models[4].getName();
+        models[4].setName("renamed");
+        assertTrue(firstMatchIndex.find(models, oldName) == null);
+        assertTrue(firstMatchIndex.find(models, "renamed") == models[4]);
+        Collections.reverse(Arrays.asList(models));
+        for (ValueModel model : models) {
+            assertTrue(firstMatchIndex.find(models, model.getName()) == model);
+        }
+
+        // exact names only
+        ValueModelNameIndex exactIndex = new ValueModelNameIndex(false, false);
+        assertTrue(exactIndex.find(models, models[0].getName().toUpperCase()) == null);
+        assertEquals(models.length - 1, exactIndex.slotOf(models, models[models.length - 1].getName()));
+    }
+
+    /**
+     * Compares the time spent finding every date and analysis measure of a
+     * 2,000 fraction sample with the index and with a linear scan.
+     */
+    @Test
+    public void test_Find_TimedAgainstLinearScan() {
+        System.out.println("Timing ValueModelNameIndex's find(ValueModel[] models, String name) against a linear scan");
+
+        ValueModel[][] datesOfFractions = new ValueModel[COUNT_OF_FRACTIONS][];
+        ValueModel[][] measuresOfFractions = new ValueModel[COUNT_OF_FRACTIONS][];
+        ValueModelNameIndex[] datesIndexes = new ValueModelNameIndex[COUNT_OF_FRACTIONS];
+        ValueModelNameIndex[] measuresIndexes = new ValueModelNameIndex[COUNT_OF_FRACTIONS];
+        for (int f = 0; f < COUNT_OF_FRACTIONS; f++) {
+            datesOfFractions[f] = radDatesModels();
+            measuresOfFractions[f] = analysisMeasuresModels();
+            datesIndexes[f] = new ValueModelNameIndex(true, true);
+            measuresIndexes[f] = new ValueModelNameIndex(true, false);
+        }
+
+        // warm up both
+        for (int pass = 0; pass < 3; pass++) {
+            scanAll(datesOfFractions, measuresOfFractions);
+            findAll(datesOfFractions, measuresOfFractions, datesIndexes, measuresIndexes);
+        }
+
+        long start = System.nanoTime();
+        long foundByScan = scanAll(datesOfFractions, measuresOfFractions);
+        long scanNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long foundByIndex = findAll(datesOfFractions, measuresOfFractions, datesIndexes, measuresIndexes);
+        long indexNanos = System.nanoTime() - start;
+
+        assertEquals(foundByScan, foundByIndex);
+        System.out.println("   " + foundByScan + " lookups over " + COUNT_OF_FRACTIONS + " fractions: linear scan " //
+                + (scanNanos / 1000000) + " ms, index " + (indexNanos / 1000000) + " ms");
+    }
+
+    private static long scanAll(ValueModel[][] datesOfFractions, ValueModel[][] measuresOfFractions) {
+        long found = 0;
+        for (int f = 0; f < COUNT_OF_FRACTIONS; f++) {
+            for (int l = 0; l < LOOKUPS_PER_NAME_PER_FRACTION; l++) {
+                for (RadDates radDate : RadDates.values()) {
+                    found += (scan(datesOfFractions[f], radDate.getName(), true) != null) ? 1 : 0;
+                }
+                for (AnalysisMeasures analysisMeasure : AnalysisMeasures.values()) {
+                    found += (scan(measuresOfFractions[f], analysisMeasure.getName(), false) != null) ? 1 : 0;
+                }
+            }
+        }
+        return found;
+    }
+
+    private static long findAll(ValueModel[][] datesOfFractions, ValueModel[][] measuresOfFractions, //
+            ValueModelNameIndex[] datesIndexes, ValueModelNameIndex[] measuresIndexes) {
+        long found = 0;
+        for (int f = 0; f < COUNT_OF_FRACTIONS; f++) {
+            for (int l = 0; l < LOOKUPS_PER_NAME_PER_FRACTION; l++) {
+                for (RadDates radDate : RadDates.values()) {
+                    found += (datesIndexes[f].find(datesOfFractions[f], radDate.getName()) != null) ? 1 : 0;
+                }
+                for (AnalysisMeasures analysisMeasure : AnalysisMeasures.values()) {
+                    found += (measuresIndexes[f].find(measuresOfFractions[f], analysisMeasure.getName()) != null) ? 1 : 0;
+                }
+            }
+        }
+        return found;
+    }
+
+    private static ValueModel scan(ValueModel[] models, String name, boolean firstMatchWins) {
+        ValueModel retVal = null;
+        for (ValueModel model : models) {
+            if (model.getName().equalsIgnoreCase(name)) {
+                retVal = model;
+                if (firstMatchWins) {
+                    break;
+                }
+            }
+        }
+        return retVal;
+    }
+
+    private static ValueModel[] radDatesModels() {
+        ValueModel[] models = new ValueModel[RadDates.values().length];
+        for (int i = 0; i < models.length; i++) {
+            models[i] = new ValueModel(RadDates.values()[i].getName());
+        }
+        return models;
+    }
+
+    private static ValueModel[] analysisMeasuresModels() {
+        ValueModel[] models = new ValueModel[AnalysisMeasures.values().length];
+        for (int i = 0; i < models.length; i++) {
+            models[i] = new ValueModel(AnalysisMeasures.values()[i].getName());
+        }
+        return models;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * XStreamRegistry_Test_10182026Test.java
+ *
+ * The naming of this file is the name of the .java file being tested, combined
+ * with test since this is the test file, combined with the creation date of
+ * this file. The test at the end is so that the file runs from NetBeans when
+ * testing an entire project.
+ *
+ * Copyright 2006-2015 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.xmlUtilities;
+
+import com.thoughtworks.xstream.XStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * An <code>XStream</code> must be built once per class and role and then
+ * shared, with its hits counted.
+ *
+ * @author James F. Bowring
+ */
+public class XStreamRegistry_Test_10182026Test {
+
+    /**
+     * Test of getXStream method, of class XStreamRegistry.
+     */
+    @Test
+    public void test_GetXStream_BuildsOncePerClassAndRole() {
+        System.out.println("Testing XStreamRegistry's getXStream(Class<?> serializedClass, String role, Supplier<XStream> builder)");
+
+        XStreamRegistry.clear();
+        AtomicInteger countOfBuilds = new AtomicInteger(0);
+
+        XStream reader = null;
+        for (int i = 0; i < 5; i++) {
+            XStream xstream = XStreamRegistry.getXStream(String.class, XStreamRegistry.READER, () -> {
+                countOfBuilds.incrementAndGet();
+                return new XStream();
+            });
+            if (reader == null) {
+                reader = xstream;
+            }
+            assertSame(reader, xstream);
+        }
+
+        XStream writer = XStreamRegistry.getXStream(String.class, XStreamRegistry.WRITER, () -> {
+            countOfBuilds.incrementAndGet();
+            return new XStream();
+        });
+        assertNotSame(reader, writer);
+
+        assertEquals(2, countOfBuilds.get());
+        assertEquals(2, XStreamRegistry.getCountOfBuilds());
+        assertEquals(4, XStreamRegistry.getCountOfHits());
+        assertEquals(Long.valueOf(4), XStreamRegistry.getCountsOfHitsByKey().get(String.class.getName() + "#" + XStreamRegistry.READER));
+        assertEquals(Long.valueOf(0), XStreamRegistry.getCountsOfHitsByKey().get(String.class.getName() + "#" + XStreamRegistry.WRITER));
+
+        XStreamRegistry.clear();
+    }
+}